@@ -0,0 +1,13 @@
+package com.snoworca.fxstore.api;
+
+/**
+ * Kind of a captured change.
+ *
+ * @since 0.10
+ * @see FxChange
+ */
+public enum ChangeOp {
+    INSERT,
+    UPDATE,
+    DELETE
+}
@@ -7,5 +7,15 @@ public enum FileLockMode {
     /** No file locking */
     NONE,
     /** Process-level exclusive lock */
-    PROCESS
+    PROCESS,
+    /**
+     * Process-level shared reader lock (read-only storage only).
+     *
+     * <p>Compatible with one {@link #PROCESS} writer and any number of other
+     * shared readers, so several processes can read a file while one process
+     * commits to it.</p>
+     *
+     * @since 0.10
+     */
+    SHARED_READER
 }
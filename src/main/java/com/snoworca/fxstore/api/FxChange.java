@@ -0,0 +1,122 @@
+package com.snoworca.fxstore.api;
+
+/**
+ * One committed mutation of a collection, as delivered by a change subscription.
+ *
+ * <p>Keys and values are the encoded bytes stored in the file; decode them with
+ * the collection's codecs ({@link #key(Class)} etc. use {@link FxCodecs#global()}).
+ * What the fields hold depends on the collection kind:</p>
+ * <ul>
+ *   <li>MAP: key, old value (UPDATE/DELETE), new value (INSERT/UPDATE); index -1</li>
+ *   <li>SET: the element as key, no values; index -1</li>
+ *   <li>LIST: index at which the change applies, old/new element. Applying the
+ *       changes of a batch in order to the previous list yields the new list.</li>
+ *   <li>DEQUE: index is the element's stable position (it grows towards the tail
+ *       and does not shift when other elements are removed), old/new element.
+ *       Ordering elements by position yields the deque.</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public final class FxChange {
+
+    private final ChangeOp op;
+    private final long index;
+    private final byte[] key;
+    private final byte[] oldValue;
+    private final byte[] newValue;
+
+    /**
+     * @param op kind of change
+     * @param index list index or deque position (-1 for MAP and SET)
+     * @param key encoded key (null for LIST and DEQUE)
+     * @param oldValue encoded previous value (null for INSERT and SET)
+     * @param newValue encoded new value (null for DELETE and SET)
+     */
+    public FxChange(ChangeOp op, long index, byte[] key, byte[] oldValue, byte[] newValue) {
+        if (op == null) {
+            throw FxException.illegalArgument("op cannot be null");
+        }
+        this.op = op;
+        this.index = index;
+        this.key = key;
+        this.oldValue = oldValue;
+        this.newValue = newValue;
+    }
+
+    /**
+     * Kind of change
+     */
+    public ChangeOp op() {
+        return op;
+    }
+
+    /**
+     * List index or deque position (-1 for MAP and SET)
+     */
+    public long index() {
+        return index;
+    }
+
+    /**
+     * Encoded key, or null (not copied)
+     */
+    public byte[] keyBytes() {
+        return key;
+    }
+
+    /**
+     * Encoded previous value, or null (not copied)
+     */
+    public byte[] oldValueBytes() {
+        return oldValue;
+    }
+
+    /**
+     * Encoded new value, or null (not copied)
+     */
+    public byte[] newValueBytes() {
+        return newValue;
+    }
+
+    /**
+     * Key decoded with the registered codec of the given type
+     *
+     * @return decoded key, or null if the change has no key
+     */
+    public <T> T key(Class<T> type) {
+        return decode(key, type);
+    }
+
+    /**
+     * Previous value decoded with the registered codec of the given type
+     *
+     * @return decoded value, or null if the change has no previous value
+     */
+    public <T> T oldValue(Class<T> type) {
+        return decode(oldValue, type);
+    }
+
+    /**
+     * New value decoded with the registered codec of the given type
+     *
+     * @return decoded value, or null if the change has no new value
+     */
+    public <T> T newValue(Class<T> type) {
+        return decode(newValue, type);
+    }
+
+    private static <T> T decode(byte[] bytes, Class<T> type) {
+        return bytes == null ? null : FxCodecs.global().get(type).decode(bytes);
+    }
+
+    @Override
+    public String toString() {
+        return "FxChange{" + op + ", index=" + index
+            + ", key=" + length(key) + "B, old=" + length(oldValue) + "B, new=" + length(newValue) + "B}";
+    }
+
+    private static String length(byte[] bytes) {
+        return bytes == null ? "-" : String.valueOf(bytes.length);
+    }
+}
@@ -0,0 +1,250 @@
+package com.snoworca.fxstore.api;
+
+import com.snoworca.fxstore.util.CRC32C;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Changes of one collection between two commits, as delivered to a
+ * {@link FxChangeListener}.
+ *
+ * <p>A batch covers the commits (fromSeqNo, seqNo]. Normally that is a single
+ * commit; when a listener falls behind, consecutive commits are merged into one
+ * range, and the changes then describe the net difference. Large ranges are split
+ * into several batches with the same seqNos; only the final one has
+ * {@link #isLast()} set. A consumer that persists seqNo as its cursor should do so
+ * after the last batch of a range, and treat a batch whose fromSeqNo differs from
+ * its cursor as a gap (resync from a full scan).</p>
+ *
+ * <p>Binary layout of {@link #encode()} (little-endian): magic "FXCB", fromSeqNo,
+ * seqNo, flags, kind ordinal, name length + UTF-8 bytes, change count, per change
+ * op ordinal, index, key/old/new as length (-1 for null) + bytes, CRC32C of
+ * everything before it.</p>
+ *
+ * @since 0.10
+ */
+public final class FxChangeBatch {
+
+    private static final int MAGIC = 0x42435846;  // "FXCB"
+
+    private static final int FLAG_LAST = 1;
+    private static final int FLAG_DROPPED = 2;
+
+    private final String collection;
+    private final CollectionKind kind;
+    private final long fromSeqNo;
+    private final long seqNo;
+    private final boolean last;
+    private final boolean dropped;
+    private final List<FxChange> changes;
+
+    /**
+     * @param collection name the subscription was registered with
+     * @param kind collection kind
+     * @param fromSeqNo commit the changes are relative to (exclusive)
+     * @param seqNo commit the changes lead to (inclusive)
+     * @param last whether this is the final batch of the range
+     * @param dropped whether the collection was dropped (no changes, subscription ends)
+     * @param changes changes in application order
+     */
+    public FxChangeBatch(String collection, CollectionKind kind, long fromSeqNo, long seqNo,
+                         boolean last, boolean dropped, List<FxChange> changes) {
+        if (collection == null || kind == null || changes == null) {
+            throw FxException.illegalArgument("collection, kind and changes cannot be null");
+        }
+        this.collection = collection;
+        this.kind = kind;
+        this.fromSeqNo = fromSeqNo;
+        this.seqNo = seqNo;
+        this.last = last;
+        this.dropped = dropped;
+        this.changes = Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Name the subscription was registered with
+     */
+    public String collection() {
+        return collection;
+    }
+
+    /**
+     * Collection kind
+     */
+    public CollectionKind kind() {
+        return kind;
+    }
+
+    /**
+     * Commit the changes are relative to (exclusive)
+     */
+    public long fromSeqNo() {
+        return fromSeqNo;
+    }
+
+    /**
+     * Commit the changes lead to (inclusive)
+     */
+    public long seqNo() {
+        return seqNo;
+    }
+
+    /**
+     * Whether this is the final batch for (fromSeqNo, seqNo]
+     */
+    public boolean isLast() {
+        return last;
+    }
+
+    /**
+     * Whether the collection was dropped at seqNo. Such a batch carries no
+     * changes and is the last one of the subscription.
+     */
+    public boolean isDropped() {
+        return dropped;
+    }
+
+    /**
+     * Changes in application order (unmodifiable)
+     */
+    public List<FxChange> changes() {
+        return changes;
+    }
+
+    /**
+     * Serialize for a durable log or transport
+     */
+    public byte[] encode() {
+        byte[] name = collection.getBytes(StandardCharsets.UTF_8);
+        long size = 4 + 8 + 8 + 4 + 4 + 4 + name.length + 4 + 4;
+        for (FxChange change : changes) {
+            size += 1 + 8 + 12 + length(change.keyBytes()) + length(change.oldValueBytes())
+                + length(change.newValueBytes());
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw FxException.illegalArgument("Change batch too large: " + size + " bytes");
+        }
+        ByteBuffer buf = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC);
+        buf.putLong(fromSeqNo);
+        buf.putLong(seqNo);
+        buf.putInt((last ? FLAG_LAST : 0) | (dropped ? FLAG_DROPPED : 0));
+        buf.putInt(kind.ordinal());
+        buf.putInt(name.length);
+        buf.put(name);
+        buf.putInt(changes.size());
+        for (FxChange change : changes) {
+            buf.put((byte) change.op().ordinal());
+            buf.putLong(change.index());
+            putBytes(buf, change.keyBytes());
+            putBytes(buf, change.oldValueBytes());
+            putBytes(buf, change.newValueBytes());
+        }
+        buf.putInt(CRC32C.compute(buf.array(), 0, buf.position()));
+        return buf.array();
+    }
+
+    /**
+     * Deserialize a batch produced by {@link #encode()}
+     *
+     * @throws FxException CORRUPTION if the bytes are truncated or fail the checksum
+     */
+    public static FxChangeBatch decode(byte[] bytes) {
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            if (bytes.length < 4 || buf.getInt() != MAGIC) {
+                throw FxException.corruption("Invalid change batch magic");
+            }
+            int crcOffset = bytes.length - 4;
+            int storedCrc = ByteBuffer.wrap(bytes, crcOffset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            if (storedCrc != CRC32C.compute(bytes, 0, crcOffset)) {
+                throw FxException.corruption("Change batch checksum mismatch");
+            }
+            long fromSeqNo = buf.getLong();
+            long seqNo = buf.getLong();
+            int flags = buf.getInt();
+            CollectionKind kind = CollectionKind.values()[buf.getInt()];
+            byte[] name = new byte[buf.getInt()];
+            buf.get(name);
+            int count = buf.getInt();
+            List<FxChange> changes = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                ChangeOp op = ChangeOp.values()[buf.get()];
+                long index = buf.getLong();
+                changes.add(new FxChange(op, index, getBytes(buf), getBytes(buf), getBytes(buf)));
+            }
+            if (buf.position() != crcOffset) {
+                throw FxException.corruption("Change batch has trailing bytes");
+            }
+            return new FxChangeBatch(new String(name, StandardCharsets.UTF_8), kind, fromSeqNo, seqNo,
+                (flags & FLAG_LAST) != 0, (flags & FLAG_DROPPED) != 0, changes);
+        } catch (RuntimeException e) {
+            if (e instanceof FxException) {
+                throw e;
+            }
+            throw FxException.corruption("Truncated change batch: " + e);
+        }
+    }
+
+    /**
+     * seqNo of an encoded batch without decoding the changes
+     *
+     * @param bytes at least the first 20 bytes of an encoded batch
+     * @throws FxException CORRUPTION if the magic does not match
+     */
+    public static long peekSeqNo(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < 20 || buf.getInt() != MAGIC) {
+            throw FxException.corruption("Invalid change batch magic");
+        }
+        return buf.getLong(12);
+    }
+
+    /**
+     * Whether an encoded batch ends its range, without decoding the changes
+     *
+     * @param bytes at least the first 24 bytes of an encoded batch
+     * @throws FxException CORRUPTION if the magic does not match
+     */
+    public static boolean peekLast(byte[] bytes) {
+        ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+        if (bytes.length < 24 || buf.getInt() != MAGIC) {
+            throw FxException.corruption("Invalid change batch magic");
+        }
+        return (buf.getInt(20) & FLAG_LAST) != 0;
+    }
+
+    private static int length(byte[] bytes) {
+        return bytes == null ? 0 : bytes.length;
+    }
+
+    private static void putBytes(ByteBuffer buf, byte[] bytes) {
+        if (bytes == null) {
+            buf.putInt(-1);
+            return;
+        }
+        buf.putInt(bytes.length);
+        buf.put(bytes);
+    }
+
+    private static byte[] getBytes(ByteBuffer buf) {
+        int length = buf.getInt();
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buf.get(bytes);
+        return bytes;
+    }
+
+    @Override
+    public String toString() {
+        return "FxChangeBatch{" + collection + ", seqNo=" + fromSeqNo + ".." + seqNo
+            + ", changes=" + changes.size() + (last ? ", last" : "") + (dropped ? ", dropped" : "") + '}';
+    }
+}
@@ -0,0 +1,43 @@
+package com.snoworca.fxstore.api;
+
+/**
+ * 커밋된 변경 수신자
+ *
+ * <p>{@link FxStore#subscribe}로 등록하면 구독한 컬렉션을 바꾼 커밋마다
+ * {@link FxChangeBatch}를 커밋 순서대로 받습니다. 호출은 Store의 변경 전달
+ * 스레드에서 일어나며 어떤 Lock도 잡지 않은 상태이므로, 느린 처리는 뒤따르는
+ * 커밋을 막지 않고 다음 배치에 합쳐질 뿐입니다.</p>
+ *
+ * <p>onChanges가 예외를 던지면 구독은 해제됩니다. 이후 변경을 받지 못한
+ * 소비자는 fromSeqNo 공백으로 이를 감지합니다.</p>
+ *
+ * <p>변경을 영속 기록하는 수신자는 {@link #isDurable()}을 true로 돌려줍니다. 그러면
+ * 커밋이 이 수신자를 한 커밋보다 앞서지 않도록 기다리므로, 작성자가 중단되어도
+ * 재시작 후 {@link FxStore#subscribe(String, FxChangeListener, long)}로 이어 받을 수
+ * 있습니다. 대신 느린 처리는 커밋을 늦춥니다.</p>
+ *
+ * @since 0.10
+ * @see FxSubscription
+ */
+@FunctionalInterface
+public interface FxChangeListener {
+
+    /**
+     * 변경 배치 전달
+     *
+     * @param batch 변경 배치 (seqNo 오름차순)
+     */
+    void onChanges(FxChangeBatch batch);
+
+    /**
+     * 커밋이 이 수신자를 기다려야 하는지 여부 (영속 기록용)
+     *
+     * <p>true이면 각 커밋은 이 수신자가 이전 커밋까지 모두 받은 뒤에 진행합니다.
+     * 수신자 안에서 다른 스레드의 커밋을 기다리면 교착되므로 피해야 합니다.</p>
+     *
+     * @return 기본값 false
+     */
+    default boolean isDurable() {
+        return false;
+    }
+}
@@ -37,6 +37,42 @@ public interface FxCodec<T> {
      */
     T decode(byte[] bytes);
 
+    /**
+     * Encode value by appending to a reusable buffer.
+     * Must append exactly the bytes {@link #encode(Object)} would return.
+     *
+     * <p>The default implementation delegates to {@code encode} and copies;
+     * built-in codecs write directly into the buffer.</p>
+     *
+     * @param value the value to encode
+     * @param out buffer to append to
+     * @throws NullPointerException if value is null
+     * @since 0.10
+     */
+    default void encodeTo(T value, FxEncodeBuffer out) {
+        out.write(encode(value));
+    }
+
+    /**
+     * Decode a value stored inside a larger array, without copying it out first.
+     * Must return the same value as {@link #decode(byte[])} on the slice.
+     *
+     * <p>The default implementation copies the slice and delegates.</p>
+     *
+     * @param bytes array holding the encoded value
+     * @param offset offset of the encoded value
+     * @param length length of the encoded value
+     * @return decoded value
+     * @throws NullPointerException if bytes is null
+     * @since 0.10
+     */
+    default T decode(byte[] bytes, int offset, int length) {
+        if (offset == 0 && length == bytes.length) {
+            return decode(bytes);
+        }
+        return decode(java.util.Arrays.copyOfRange(bytes, offset, offset + length));
+    }
+
     /**
      * Compare two byte arrays for ordering (total order).
      *
@@ -46,6 +82,62 @@ public interface FxCodec<T> {
      */
     int compareBytes(byte[] a, byte[] b);
 
+    /**
+     * Compare two encoded keys located inside larger arrays, without copying.
+     * Must order exactly like {@link #compareBytes(byte[], byte[])}.
+     *
+     * <p>The default implementation copies both ranges and delegates;
+     * built-in codecs override it to compare in place.</p>
+     *
+     * @param a array holding the first key
+     * @param aOffset offset of the first key
+     * @param aLength length of the first key
+     * @param b array holding the second key
+     * @param bOffset offset of the second key
+     * @param bLength length of the second key
+     * @return negative if a &lt; b, zero if equal, positive if a &gt; b
+     * @since 0.10
+     */
+    default int compareBytes(byte[] a, int aOffset, int aLength,
+                             byte[] b, int bOffset, int bLength) {
+        byte[] left = (aOffset == 0 && aLength == a.length)
+                ? a : java.util.Arrays.copyOfRange(a, aOffset, aOffset + aLength);
+        byte[] right = (bOffset == 0 && bLength == b.length)
+                ? b : java.util.Arrays.copyOfRange(b, bOffset, bOffset + bLength);
+        return compareBytes(left, right);
+    }
+
+    /**
+     * Whether the encoded form orders as plain unsigned lexicographic bytes
+     * (shorter prefix first).
+     *
+     * <p>When true, the store may compare keys with a word-at-a-time unsigned
+     * comparison instead of calling {@link #compareBytes(byte[], byte[])},
+     * and may shorten B+Tree separator keys. Return true only if
+     * {@code compareBytes} is exactly that ordering.</p>
+     *
+     * @return true if the encoding is byte-comparable
+     * @since 0.10
+     */
+    default boolean isByteComparable() {
+        return false;
+    }
+
+    /**
+     * Length of every encoded value, if the encoding is fixed-width.
+     *
+     * <p>Lists of values whose width is at most 8 bytes can be stored inline
+     * in OST leaves instead of as separate value records. Return a positive
+     * width only if {@link #encode(Object)} always returns exactly that
+     * many bytes.</p>
+     *
+     * @return encoded width in bytes, or -1 if values vary in length
+     * @since 0.10
+     */
+    default int fixedWidth() {
+        return -1;
+    }
+
     /**
      * Check equality of two byte arrays.
      *
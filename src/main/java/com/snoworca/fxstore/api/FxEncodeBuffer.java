@@ -0,0 +1,190 @@
+package com.snoworca.fxstore.api;
+
+import java.util.Arrays;
+
+/**
+ * Growable byte buffer that codecs encode into.
+ *
+ * <p>The store keeps one buffer per thread and reuses it across calls, so
+ * {@link FxCodec#encodeTo(Object, FxEncodeBuffer)} can write encoded bytes
+ * without allocating an exact-size array for every value.
+ *
+ * <p>Not thread-safe. Bytes are appended at {@link #length()}; the backing
+ * array returned by {@link #array()} is only valid until the next write.
+ *
+ * @since 0.10
+ */
+public final class FxEncodeBuffer {
+
+    private static final int DEFAULT_CAPACITY = 256;
+
+    private byte[] data;
+    private int length;
+
+    public FxEncodeBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public FxEncodeBuffer(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity: " + initialCapacity);
+        }
+        this.data = new byte[initialCapacity];
+    }
+
+    /**
+     * Discard contents (capacity is kept).
+     */
+    public void reset() {
+        length = 0;
+    }
+
+    /**
+     * Number of bytes written.
+     */
+    public int length() {
+        return length;
+    }
+
+    /**
+     * Backing array; valid bytes are {@code [0, length())}.
+     */
+    public byte[] array() {
+        return data;
+    }
+
+    public int capacity() {
+        return data.length;
+    }
+
+    /**
+     * Make room for {@code additional} more bytes.
+     */
+    public void ensureWritable(int additional) {
+        int required = length + additional;
+        if (required < 0) {
+            throw new OutOfMemoryError("Encode buffer too large");
+        }
+        if (required > data.length) {
+            int newCapacity = Math.max(required, data.length * 2);
+            if (newCapacity < 0) {
+                newCapacity = required;
+            }
+            data = Arrays.copyOf(data, newCapacity);
+        }
+    }
+
+    public void writeByte(int value) {
+        ensureWritable(1);
+        data[length++] = (byte) value;
+    }
+
+    public void write(byte[] bytes) {
+        write(bytes, 0, bytes.length);
+    }
+
+    public void write(byte[] bytes, int offset, int len) {
+        ensureWritable(len);
+        System.arraycopy(bytes, offset, data, length, len);
+        length += len;
+    }
+
+    public void writeIntLE(int value) {
+        ensureWritable(4);
+        setIntLE(length, value);
+        length += 4;
+    }
+
+    public void writeLongLE(long value) {
+        ensureWritable(8);
+        int p = length;
+        data[p] = (byte) value;
+        data[p + 1] = (byte) (value >> 8);
+        data[p + 2] = (byte) (value >> 16);
+        data[p + 3] = (byte) (value >> 24);
+        data[p + 4] = (byte) (value >> 32);
+        data[p + 5] = (byte) (value >> 40);
+        data[p + 6] = (byte) (value >> 48);
+        data[p + 7] = (byte) (value >> 56);
+        length += 8;
+    }
+
+    /**
+     * Overwrite 4 bytes at an already written position (e.g. a length header).
+     */
+    public void setIntLE(int position, int value) {
+        data[position] = (byte) value;
+        data[position + 1] = (byte) (value >> 8);
+        data[position + 2] = (byte) (value >> 16);
+        data[position + 3] = (byte) (value >> 24);
+    }
+
+    /**
+     * Append the UTF-8 encoding of {@code s}.
+     *
+     * <p>Produces the same bytes as {@code s.getBytes(UTF_8)}, including the
+     * {@code '?'} replacement for unpaired surrogates.
+     */
+    public void writeUtf8(CharSequence s) {
+        int n = s.length();
+        ensureWritable(n);
+        int i = 0;
+        // ASCII fast path
+        while (i < n) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                break;
+            }
+            data[length++] = (byte) c;
+            i++;
+        }
+        for (; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                ensureWritable(1);
+                data[length++] = (byte) c;
+            } else if (c < 0x800) {
+                ensureWritable(2);
+                data[length++] = (byte) (0xC0 | (c >> 6));
+                data[length++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                char next = (i + 1 < n) ? s.charAt(i + 1) : 0;
+                if (Character.isHighSurrogate(c) && Character.isLowSurrogate(next)) {
+                    int cp = Character.toCodePoint(c, next);
+                    ensureWritable(4);
+                    data[length++] = (byte) (0xF0 | (cp >> 18));
+                    data[length++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                    data[length++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                    data[length++] = (byte) (0x80 | (cp & 0x3F));
+                    i++;
+                } else {
+                    ensureWritable(1);
+                    data[length++] = (byte) '?';
+                }
+            } else {
+                ensureWritable(3);
+                data[length++] = (byte) (0xE0 | (c >> 12));
+                data[length++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                data[length++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Exact-size copy of the written bytes.
+     */
+    public byte[] toByteArray() {
+        return Arrays.copyOf(data, length);
+    }
+
+    /**
+     * Drop the backing array if it grew beyond {@code maxRetained} bytes,
+     * so a single large value does not stay pinned in a pooled buffer.
+     */
+    public void trim(int maxRetained) {
+        length = 0;
+        if (data.length > maxRetained) {
+            data = new byte[Math.min(DEFAULT_CAPACITY, maxRetained)];
+        }
+    }
+}
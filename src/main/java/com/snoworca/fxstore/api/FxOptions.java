@@ -25,6 +25,13 @@ public final class FxOptions {
     private final boolean allowCodecUpgrade;
     private final FxCodecUpgradeHook codecUpgradeHook;
     private final boolean autoMigrateDeque;
+    private final boolean keyCompression;
+    private final boolean inlineListElements;
+    private final boolean segmentRingDeques;
+    private final double compactionDeadRatio;
+    private final long compactionRetentionMillis;
+    private final int compactionParallelism;
+    private final int verifyParallelism;
 
     private FxOptions(Builder builder) {
         this.commitMode = builder.commitMode;
@@ -38,6 +45,13 @@ public final class FxOptions {
         this.allowCodecUpgrade = builder.allowCodecUpgrade;
         this.codecUpgradeHook = builder.codecUpgradeHook;
         this.autoMigrateDeque = builder.autoMigrateDeque;
+        this.keyCompression = builder.keyCompression;
+        this.inlineListElements = builder.inlineListElements;
+        this.segmentRingDeques = builder.segmentRingDeques;
+        this.compactionDeadRatio = builder.compactionDeadRatio;
+        this.compactionRetentionMillis = builder.compactionRetentionMillis;
+        this.compactionParallelism = builder.compactionParallelism;
+        this.verifyParallelism = builder.verifyParallelism;
     }
     
     /**
@@ -52,6 +66,13 @@ public final class FxOptions {
      * - memoryLimitBytes: Long.MAX_VALUE (unlimited)
      * - allowCodecUpgrade: false
      * - codecUpgradeHook: null
+     * - keyCompression: false
+     * - inlineListElements: false
+     * - segmentRingDeques: false
+     * - compactionDeadRatio: 0.5
+     * - compactionRetentionMillis: 45000
+     * - compactionParallelism: 0 (available processors)
+     * - verifyParallelism: 0 (available processors)
      */
     public static FxOptions defaults() {
         return new Builder().build();
@@ -82,6 +103,90 @@ public final class FxOptions {
      */
     public boolean autoMigrateDeque() { return autoMigrateDeque; }
 
+    /**
+     * B+Tree 키 압축 활성화 여부 (새 Store 생성 시에만 적용)
+     *
+     * <p>true면 Superblock에 키 압축 기능 플래그를 기록하고, 리프 페이지는
+     * 공통 prefix를 한 번만 저장하며 내부 노드는 최단 분리자 키를 사용합니다.
+     * 기존 Store는 생성 시 기록된 플래그를 따릅니다.</p>
+     *
+     * @return 키 압축 활성화 여부 (기본값: false)
+     * @since 0.10
+     */
+    public boolean keyCompression() { return keyCompression; }
+
+    /**
+     * 고정 폭 List 요소 인라인 저장 여부 (새 Store 생성 시에만 적용)
+     *
+     * <p>true면 Superblock에 기능 플래그를 기록하고, 코덱이 8바이트 이하의
+     * 고정 폭({@link FxCodec#fixedWidth()})을 보고하는 List는 요소를 별도
+     * 레코드 페이지 대신 OST 리프에 직접 저장합니다. 기존 Store는 생성 시
+     * 기록된 플래그를 따릅니다.</p>
+     *
+     * @return 인라인 저장 활성화 여부 (기본값: false)
+     * @since 0.10
+     */
+    public boolean inlineListElements() { return inlineListElements; }
+
+    /**
+     * Deque 세그먼트 링 저장 사용 여부
+     *
+     * <p>true면 Superblock에 기능 플래그를 기록하고, 새 Deque를 시퀀스 키
+     * BTree 대신 고정 크기 세그먼트 페이지의 체인으로 저장합니다. 뒤쪽 추가와
+     * 앞쪽 제거가 트리 경로 COW 없이 슬롯 쓰기 하나로 끝나며, 모두 소비된
+     * 세그먼트는 통째로 해제됩니다. 기존 Store는 생성 시 기록된 플래그를 따릅니다.</p>
+     *
+     * @return 세그먼트 링 활성화 여부 (기본값: false)
+     * @since 0.10
+     */
+    public boolean segmentRingDeques() { return segmentRingDeques; }
+
+    /**
+     * 온라인 컴팩션 시작 기준 dead 비율
+     *
+     * <p>{@link FxStore#compactStep(int)}은 allocTail까지의 페이지 중 dead 페이지
+     * 비율이 이 값 이상일 때만 새 주기를 시작합니다.</p>
+     *
+     * @return dead 비율 기준 (0.0 ~ 1.0, 기본값: 0.5)
+     * @since 0.10
+     */
+    public double compactionDeadRatio() { return compactionDeadRatio; }
+
+    /**
+     * 온라인 컴팩션 페이지 보존 시간 (밀리초)
+     *
+     * <p>읽기 트랜잭션 없이 스냅샷을 읽는 스레드를 위해, 컴팩션이 빈 페이지를
+     * 재사용하거나 파일 끝을 자르기 전에 마지막으로 발행된 스냅샷 이후 이 시간
+     * 동안 기다립니다. 열린 읽기 트랜잭션은 시간과 관계없이 기다립니다.</p>
+     *
+     * @return 보존 시간 (기본값: 45000)
+     * @since 0.10
+     */
+    public long compactionRetentionMillis() { return compactionRetentionMillis; }
+
+    /**
+     * compactTo 병렬 복사 스레드 수
+     *
+     * <p>{@link FxStore#compactTo(java.nio.file.Path)}는 구조 복사가 가능한 컬렉션을
+     * 컬렉션마다 하나의 fork/join 작업으로 동시에 복사합니다. 1이면 호출 스레드에서
+     * 차례로 복사합니다.</p>
+     *
+     * @return 스레드 수 (기본값: 0, 사용 가능한 프로세서 수)
+     * @since 0.10
+     */
+    public int compactionParallelism() { return compactionParallelism; }
+
+    /**
+     * verify(DEEP) 병렬 검증 스레드 수
+     *
+     * <p>{@link FxStore#verify(VerifyMode)}의 DEEP 모드는 모든 트리를 fork/join
+     * 작업으로 나눠 동시에 순회합니다. 1이면 호출 스레드에서 차례로 검증합니다.</p>
+     *
+     * @return 스레드 수 (기본값: 0, 사용 가능한 프로세서 수)
+     * @since 0.10
+     */
+    public int verifyParallelism() { return verifyParallelism; }
+
     // Builder methods (return new Builder initialized with current values)
     public Builder withCommitMode(CommitMode commitMode) {
         return toBuilder().commitMode(commitMode);
@@ -134,6 +239,83 @@ public final class FxOptions {
         return toBuilder().autoMigrateDeque(autoMigrateDeque);
     }
 
+    /**
+     * B+Tree 키 압축 활성화 설정
+     *
+     * @param keyCompression true면 새 Store를 키 압축 형식으로 생성
+     * @return Builder
+     * @since 0.10
+     */
+    public Builder withKeyCompression(boolean keyCompression) {
+        return toBuilder().keyCompression(keyCompression);
+    }
+
+    /**
+     * 고정 폭 List 요소 인라인 저장 설정
+     *
+     * @param inlineListElements true면 새 Store를 인라인 List 형식으로 생성
+     * @return Builder
+     * @since 0.10
+     */
+    public Builder withInlineListElements(boolean inlineListElements) {
+        return toBuilder().inlineListElements(inlineListElements);
+    }
+
+    /**
+     * Deque 세그먼트 링 저장 설정
+     *
+     * @param segmentRingDeques true면 새 Store의 Deque를 세그먼트 링으로 생성
+     * @return Builder
+     * @since 0.10
+     */
+    public Builder withSegmentRingDeques(boolean segmentRingDeques) {
+        return toBuilder().segmentRingDeques(segmentRingDeques);
+    }
+
+    /**
+     * 온라인 컴팩션 시작 기준 dead 비율 설정
+     *
+     * @param compactionDeadRatio dead 비율 기준 (0.0 ~ 1.0)
+     * @return Builder
+     * @since 0.10
+     */
+    public Builder withCompactionDeadRatio(double compactionDeadRatio) {
+        return toBuilder().compactionDeadRatio(compactionDeadRatio);
+    }
+
+    /**
+     * 온라인 컴팩션 페이지 보존 시간 설정
+     *
+     * @param compactionRetentionMillis 보존 시간 (밀리초)
+     * @return Builder
+     * @since 0.10
+     */
+    public Builder withCompactionRetentionMillis(long compactionRetentionMillis) {
+        return toBuilder().compactionRetentionMillis(compactionRetentionMillis);
+    }
+
+    /**
+     * compactTo 병렬 복사 스레드 수 설정
+     *
+     * @param compactionParallelism 스레드 수 (0이면 사용 가능한 프로세서 수)
+     * @return Builder
+     * @since 0.10
+     */
+    public Builder withCompactionParallelism(int compactionParallelism) {
+        return toBuilder().compactionParallelism(compactionParallelism);
+    }
+
+    /**
+     * verify(DEEP) 병렬 검증 스레드 수 설정
+     *
+     * @param verifyParallelism 스레드 수 (0이면 사용 가능한 프로세서 수)
+     * @return Builder
+     * @since 0.10
+     */
+    public Builder withVerifyParallelism(int verifyParallelism) {
+        return toBuilder().verifyParallelism(verifyParallelism);
+    }
+
     private Builder toBuilder() {
         return new Builder()
             .commitMode(commitMode)
@@ -146,7 +328,14 @@ public final class FxOptions {
             .memoryLimitBytes(memoryLimitBytes)
             .allowCodecUpgrade(allowCodecUpgrade)
             .codecUpgradeHook(codecUpgradeHook)
-            .autoMigrateDeque(autoMigrateDeque);
+            .autoMigrateDeque(autoMigrateDeque)
+            .keyCompression(keyCompression)
+            .inlineListElements(inlineListElements)
+            .segmentRingDeques(segmentRingDeques)
+            .compactionDeadRatio(compactionDeadRatio)
+            .compactionRetentionMillis(compactionRetentionMillis)
+            .compactionParallelism(compactionParallelism)
+            .verifyParallelism(verifyParallelism);
     }
     
     /**
@@ -164,6 +353,13 @@ public final class FxOptions {
         private boolean allowCodecUpgrade = false;
         private FxCodecUpgradeHook codecUpgradeHook = null;
         private boolean autoMigrateDeque = false;
+        private boolean keyCompression = false;
+        private boolean inlineListElements = false;
+        private boolean segmentRingDeques = false;
+        private double compactionDeadRatio = 0.5;
+        private long compactionRetentionMillis = 45_000L;
+        private int compactionParallelism = 0;
+        private int verifyParallelism = 0;
 
         private Builder() {}
         
@@ -274,6 +470,109 @@ public final class FxOptions {
             return this;
         }
 
+        /**
+         * B+Tree 키 압축 활성화 설정
+         *
+         * <p>새 Store 생성 시에만 적용되며, Superblock 기능 플래그로 기록됩니다.</p>
+         *
+         * @param keyCompression 키 압축 활성화 여부
+         * @since 0.10
+         */
+        public Builder keyCompression(boolean keyCompression) {
+            this.keyCompression = keyCompression;
+            return this;
+        }
+
+        /**
+         * 고정 폭 List 요소 인라인 저장 설정
+         *
+         * <p>새 Store 생성 시에만 적용되며, Superblock 기능 플래그로 기록됩니다.</p>
+         *
+         * @param inlineListElements 인라인 저장 활성화 여부
+         * @since 0.10
+         */
+        public Builder inlineListElements(boolean inlineListElements) {
+            this.inlineListElements = inlineListElements;
+            return this;
+        }
+
+        /**
+         * Deque 세그먼트 링 저장 설정
+         *
+         * <p>새 Store 생성 시에만 적용되며, Superblock 기능 플래그로 기록됩니다.</p>
+         *
+         * @param segmentRingDeques 세그먼트 링 활성화 여부
+         * @since 0.10
+         */
+        public Builder segmentRingDeques(boolean segmentRingDeques) {
+            this.segmentRingDeques = segmentRingDeques;
+            return this;
+        }
+
+        /**
+         * 온라인 컴팩션 시작 기준 dead 비율 설정
+         *
+         * @param compactionDeadRatio dead 비율 기준 (0.0 ~ 1.0)
+         * @throws FxException 범위를 벗어난 경우
+         * @since 0.10
+         */
+        public Builder compactionDeadRatio(double compactionDeadRatio) {
+            if (!(compactionDeadRatio >= 0.0 && compactionDeadRatio <= 1.0)) {
+                throw FxException.illegalArgument(
+                    "compactionDeadRatio must be in [0.0, 1.0]: " + compactionDeadRatio);
+            }
+            this.compactionDeadRatio = compactionDeadRatio;
+            return this;
+        }
+
+        /**
+         * 온라인 컴팩션 페이지 보존 시간 설정
+         *
+         * @param compactionRetentionMillis 보존 시간 (밀리초), 0 이상
+         * @throws FxException compactionRetentionMillis < 0
+         * @since 0.10
+         */
+        public Builder compactionRetentionMillis(long compactionRetentionMillis) {
+            if (compactionRetentionMillis < 0) {
+                throw FxException.illegalArgument(
+                    "compactionRetentionMillis cannot be negative: " + compactionRetentionMillis);
+            }
+            this.compactionRetentionMillis = compactionRetentionMillis;
+            return this;
+        }
+
+        /**
+         * compactTo 병렬 복사 스레드 수 설정
+         *
+         * @param compactionParallelism 스레드 수, 0이면 사용 가능한 프로세서 수
+         * @throws FxException compactionParallelism < 0
+         * @since 0.10
+         */
+        public Builder compactionParallelism(int compactionParallelism) {
+            if (compactionParallelism < 0) {
+                throw FxException.illegalArgument(
+                    "compactionParallelism cannot be negative: " + compactionParallelism);
+            }
+            this.compactionParallelism = compactionParallelism;
+            return this;
+        }
+
+        /**
+         * verify(DEEP) 병렬 검증 스레드 수 설정
+         *
+         * @param verifyParallelism 스레드 수, 0이면 사용 가능한 프로세서 수
+         * @throws FxException verifyParallelism < 0
+         * @since 0.10
+         */
+        public Builder verifyParallelism(int verifyParallelism) {
+            if (verifyParallelism < 0) {
+                throw FxException.illegalArgument(
+                    "verifyParallelism cannot be negative: " + verifyParallelism);
+            }
+            this.verifyParallelism = verifyParallelism;
+            return this;
+        }
+
         public FxOptions build() {
             // codecUpgradeHook 설정 시 allowCodecUpgrade 필수 검증
             if (codecUpgradeHook != null && !allowCodecUpgrade) {
@@ -1,6 +1,8 @@
 package com.snoworca.fxstore.api;
 
+import java.util.Collection;
 import java.util.Deque;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.NavigableMap;
@@ -67,6 +69,24 @@ public interface FxReadTransaction extends AutoCloseable {
      */
     <K, V> boolean containsKey(NavigableMap<K, V> map, K key);
 
+    /**
+     * Map에서 여러 키의 값을 한 번에 조회
+     *
+     * <p>인코딩된 키를 정렬해 스냅샷 루트에서 한 번의 병합 하강으로 찾고,
+     * 값 레코드는 파일 오프셋 순으로 읽습니다. 키마다 {@link #get}을 호출하는 것보다
+     * 공유 내부 노드와 리프 방문이 줄어듭니다.</p>
+     *
+     * @param map 대상 Map
+     * @param keys 조회할 키 (중복 허용)
+     * @param <K> 키 타입
+     * @param <V> 값 타입
+     * @return 존재하는 키만 담은 Map (keys의 순회 순서)
+     * @throws IllegalStateException 트랜잭션이 이미 닫힌 경우
+     * @throws NullPointerException keys 또는 키가 null인 경우
+     * @since 0.10
+     */
+    <K, V> Map<K, V> getAll(NavigableMap<K, V> map, Collection<? extends K> keys);
+
     /**
      * Map의 첫 번째 엔트리 조회
      *
@@ -100,6 +120,51 @@ public interface FxReadTransaction extends AutoCloseable {
      */
     <K, V> int size(NavigableMap<K, V> map);
 
+    /**
+     * Map의 키 범위를 오름차순으로 순회
+     *
+     * <p>반환된 Iterator는 트랜잭션 스냅샷의 루트에 고정되어 있어, 순회 중
+     * 다른 스레드의 쓰기가 발생해도 결과가 바뀌지 않습니다. 값은 반환 시점에
+     * 읽습니다. 트랜잭션을 닫은 뒤 Iterator를 사용하면 예외가 발생합니다.</p>
+     *
+     * @param map 대상 Map
+     * @param fromKey 하한 키 (null이면 처음부터)
+     * @param fromInclusive 하한 키 포함 여부
+     * @param toKey 상한 키 (null이면 끝까지)
+     * @param toInclusive 상한 키 포함 여부
+     * @param <K> 키 타입
+     * @param <V> 값 타입
+     * @return 읽기 전용 엔트리 Iterator
+     * @throws IllegalStateException 트랜잭션이 이미 닫힌 경우
+     * @throws IllegalArgumentException fromKey가 toKey보다 큰 경우
+     * @since 0.10
+     */
+    <K, V> Iterator<Map.Entry<K, V>> entries(NavigableMap<K, V> map,
+                                             K fromKey, boolean fromInclusive,
+                                             K toKey, boolean toInclusive);
+
+    /**
+     * Map의 키 범위를 내림차순으로 순회
+     *
+     * <p>범위 인자는 {@link #entries}와 같이 오름차순 기준(fromKey &lt;= toKey)으로
+     * 지정하며, toKey 쪽부터 반환합니다.</p>
+     *
+     * @param map 대상 Map
+     * @param fromKey 하한 키 (null이면 처음부터)
+     * @param fromInclusive 하한 키 포함 여부
+     * @param toKey 상한 키 (null이면 끝까지)
+     * @param toInclusive 상한 키 포함 여부
+     * @param <K> 키 타입
+     * @param <V> 값 타입
+     * @return 읽기 전용 엔트리 Iterator
+     * @throws IllegalStateException 트랜잭션이 이미 닫힌 경우
+     * @throws IllegalArgumentException fromKey가 toKey보다 큰 경우
+     * @since 0.10
+     */
+    <K, V> Iterator<Map.Entry<K, V>> descendingEntries(NavigableMap<K, V> map,
+                                                       K fromKey, boolean fromInclusive,
+                                                       K toKey, boolean toInclusive);
+
     // ==================== Set 연산 ====================
 
     /**
@@ -143,6 +208,46 @@ public interface FxReadTransaction extends AutoCloseable {
      */
     <E> int size(NavigableSet<E> set);
 
+    /**
+     * Set의 요소 범위를 오름차순으로 순회
+     *
+     * <p>트랜잭션 스냅샷에 고정된 Iterator를 반환합니다.</p>
+     *
+     * @param set 대상 Set
+     * @param fromElement 하한 요소 (null이면 처음부터)
+     * @param fromInclusive 하한 요소 포함 여부
+     * @param toElement 상한 요소 (null이면 끝까지)
+     * @param toInclusive 상한 요소 포함 여부
+     * @param <E> 요소 타입
+     * @return 읽기 전용 요소 Iterator
+     * @throws IllegalStateException 트랜잭션이 이미 닫힌 경우
+     * @throws IllegalArgumentException fromElement가 toElement보다 큰 경우
+     * @since 0.10
+     */
+    <E> Iterator<E> elements(NavigableSet<E> set,
+                             E fromElement, boolean fromInclusive,
+                             E toElement, boolean toInclusive);
+
+    /**
+     * Set의 요소 범위를 내림차순으로 순회
+     *
+     * <p>범위 인자는 오름차순 기준으로 지정하며, toElement 쪽부터 반환합니다.</p>
+     *
+     * @param set 대상 Set
+     * @param fromElement 하한 요소 (null이면 처음부터)
+     * @param fromInclusive 하한 요소 포함 여부
+     * @param toElement 상한 요소 (null이면 끝까지)
+     * @param toInclusive 상한 요소 포함 여부
+     * @param <E> 요소 타입
+     * @return 읽기 전용 요소 Iterator
+     * @throws IllegalStateException 트랜잭션이 이미 닫힌 경우
+     * @throws IllegalArgumentException fromElement가 toElement보다 큰 경우
+     * @since 0.10
+     */
+    <E> Iterator<E> descendingElements(NavigableSet<E> set,
+                                       E fromElement, boolean fromInclusive,
+                                       E toElement, boolean toInclusive);
+
     // ==================== List 연산 ====================
 
     /**
@@ -178,6 +283,22 @@ public interface FxReadTransaction extends AutoCloseable {
      */
     <E> int indexOf(List<E> list, E element);
 
+    /**
+     * List의 인덱스 구간 [fromIndex, toIndex)를 순회
+     *
+     * <p>트랜잭션 스냅샷의 OST 루트에 고정된 커서로 리프를 순차 순회합니다.</p>
+     *
+     * @param list 대상 List
+     * @param fromIndex 시작 인덱스 (포함)
+     * @param toIndex 종료 인덱스 (미포함)
+     * @param <E> 요소 타입
+     * @return 읽기 전용 요소 Iterator
+     * @throws IllegalStateException 트랜잭션이 이미 닫힌 경우
+     * @throws IndexOutOfBoundsException 구간이 스냅샷 크기를 벗어나거나 fromIndex &gt; toIndex인 경우
+     * @since 0.10
+     */
+    <E> Iterator<E> iterator(List<E> list, int fromIndex, int toIndex);
+
     // ==================== Deque 연산 ====================
 
     /**
@@ -210,6 +331,28 @@ public interface FxReadTransaction extends AutoCloseable {
      */
     <E> int size(Deque<E> deque);
 
+    /**
+     * Deque를 앞쪽부터 순회
+     *
+     * @param deque 대상 Deque
+     * @param <E> 요소 타입
+     * @return 트랜잭션 스냅샷 기준 읽기 전용 Iterator
+     * @throws IllegalStateException 트랜잭션이 이미 닫힌 경우
+     * @since 0.10
+     */
+    <E> Iterator<E> iterator(Deque<E> deque);
+
+    /**
+     * Deque를 뒤쪽부터 순회
+     *
+     * @param deque 대상 Deque
+     * @param <E> 요소 타입
+     * @return 트랜잭션 스냅샷 기준 읽기 전용 Iterator
+     * @throws IllegalStateException 트랜잭션이 이미 닫힌 경우
+     * @since 0.10
+     */
+    <E> Iterator<E> descendingIterator(Deque<E> deque);
+
     // ==================== 트랜잭션 관리 ====================
 
     /**
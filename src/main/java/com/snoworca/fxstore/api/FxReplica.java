@@ -0,0 +1,62 @@
+package com.snoworca.fxstore.api;
+
+/**
+ * 읽기 전용 복제 Store (Follower)
+ *
+ * <p>리더 Store가 보낸 {@link ReplicationFrame}의 페이지와 CommitHeader를 파일에
+ * 그대로 쓰고, 새 스냅샷을 원자적으로 게시합니다. 트리는 직접 다시 쓰지 않으며
+ * 컬렉션 생성/변경, commit, compactStep 등 쓰기 연산은 UNSUPPORTED 예외를
+ * 던집니다. 읽기({@link #beginRead()}, 컬렉션 조회, stats, verify, 백업)는
+ * 적용 중에도 Lock 없이 계속됩니다.</p>
+ *
+ * <h3>시작</h3>
+ * <pre>{@code
+ * long from = leader.addReplicationSink(log);   // 이후 커밋은 log로 전달됨
+ * leader.backupTo(followerPath);                 // from 이후 커밋일 수 있음
+ * try (FxReplica replica = FxStoreImpl.openReplica(followerPath, options)) {
+ *     replica.pump(log, 100);                    // 백업보다 오래된 프레임은 건너뜀
+ * }
+ * }</pre>
+ *
+ * <p>리더가 이전 커밋의 페이지를 재사용하거나 파일을 줄인 프레임
+ * ({@link ReplicationFrame#reusesPages()})은 이전 스냅샷의 읽기 트랜잭션이
+ * 끝나고 {@link FxOptions#compactionRetentionMillis()}가 지난 뒤 적용합니다.
+ * 지연은 그 시간과 가장 긴 읽기 트랜잭션으로 제한됩니다. 세그먼트 링 Deque의
+ * 제자리 쓰기만 있는 프레임({@link ReplicationFrame#writesInPlaceOnly()})은
+ * 이전 스냅샷의 읽기 트랜잭션만 기다립니다.</p>
+ *
+ * @since 0.10
+ */
+public interface FxReplica extends FxStore {
+
+    /**
+     * 프레임 적용
+     *
+     * <p>이미 반영된 seqNo의 프레임은 무시합니다. 여러 프레임으로 나뉜 커밋은
+     * 마지막 프레임에서 CommitHeader를 쓰고 게시하며, 그 전까지는 이전 커밋
+     * seqNo를 반환합니다.</p>
+     *
+     * @param frame 리더 커밋 프레임
+     * @return 적용 후 커밋 seqNo
+     * @throws FxException 다른 Store의 프레임이면 ILLEGAL_ARGUMENT, seqNo가 건너뛰면
+     *         ILLEGAL_STATE, 헤더가 손상되었으면 CORRUPTION
+     */
+    long apply(ReplicationFrame frame);
+
+    /**
+     * 도착하는 프레임을 차례로 적용
+     *
+     * <p>timeoutMillis 동안 새 프레임이 없으면 반환합니다.</p>
+     *
+     * @param source 전송 계층
+     * @param timeoutMillis 프레임 사이 최대 대기 시간
+     * @return 게시한 커밋 수 (건너뛴 프레임과 나뉜 커밋의 앞 프레임 제외)
+     * @throws InterruptedException 대기 중 인터럽트된 경우
+     */
+    int pump(ReplicationSource source, long timeoutMillis) throws InterruptedException;
+
+    /**
+     * 마지막으로 게시한 커밋 seqNo
+     */
+    long replicatedSeqNo();
+}
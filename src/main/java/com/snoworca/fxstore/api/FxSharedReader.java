@@ -0,0 +1,58 @@
+package com.snoworca.fxstore.api;
+
+/**
+ * 다중 프로세스 공유 읽기 전용 Store
+ *
+ * <p>한 프로세스가 커밋하는 파일을 여러 프로세스가 읽기 전용으로 엽니다.
+ * {@link #refresh()}는 CommitHeader A/B 슬롯을 읽어 더 새 커밋이 있으면
+ * catalog/state를 다시 읽고 새 스냅샷을 원자적으로 게시합니다. catalog 루트가
+ * 바뀌지 않았으면 catalog는 다시 읽지 않습니다. 컬렉션 생성/변경, commit,
+ * compactStep 등 쓰기 연산은 UNSUPPORTED 예외를 던집니다.</p>
+ *
+ * <pre>{@code
+ * // 작성 프로세스: FileLockMode.PROCESS (기본값)
+ * FxStore writer = FxStore.open(path, options);
+ *
+ * // 읽기 프로세스들
+ * try (FxSharedReader reader = FxStoreImpl.openShared(path, options)) {
+ *     while (running) {
+ *         reader.refresh();
+ *         try (FxReadTransaction tx = reader.beginRead()) { ... }
+ *     }
+ * }
+ * }</pre>
+ *
+ * <h3>페이지 회수와 임대</h3>
+ * <p>읽기 프로세스는 게시한 커밋의 회수 세대를 임대합니다 ({@link FileLockMode#SHARED_READER}
+ * 잠금의 파일 임대 바이트). 작성 프로세스의 온라인 컴팩션은 이전 커밋이 참조하던
+ * 페이지를 재사용하거나 잘라내기 전에 회수 세대를 올린 커밋을 쓰고, 이전 세대를
+ * 임대한 프로세스가 없어질 때까지 기다립니다. 따라서 갱신하지 않는 읽기 프로세스는
+ * 틀린 데이터를 읽는 대신 작성 프로세스의 공간 회수를 늦춥니다. {@link #refresh()}는
+ * 새 세대로 바꾼 뒤 그 전에 시작된 읽기 트랜잭션이 끝나고
+ * {@link FxOptions#compactionRetentionMillis()}가 지나면 이전 세대의 임대를 놓으므로
+ * 주기적으로 호출해야 합니다. 회수 세대가 바뀐 refresh는 catalog를 포함해 모두 다시
+ * 읽고 열린 컬렉션 인스턴스 캐시를 버립니다.</p>
+ *
+ * <p>{@link FileLockMode#NONE}으로 연 읽기 프로세스는 임대하지 않으므로 보존 시간보다
+ * 짧은 간격으로 refresh를 호출하고 각 읽기 트랜잭션도 그 안에 끝내야 합니다.</p>
+ *
+ * @since 0.10
+ */
+public interface FxSharedReader extends FxStore {
+
+    /**
+     * 최신 커밋으로 갱신
+     *
+     * <p>새 커밋이 없으면 슬롯 두 개만 읽고 반환합니다. 이미 시작한 읽기
+     * 트랜잭션은 이전 스냅샷을 계속 봅니다.</p>
+     *
+     * @return 갱신 후 커밋 seqNo
+     * @throws FxException 두 슬롯이 모두 손상되었으면 CORRUPTION
+     */
+    long refresh();
+
+    /**
+     * 마지막으로 게시한 커밋 seqNo
+     */
+    long refreshedSeqNo();
+}
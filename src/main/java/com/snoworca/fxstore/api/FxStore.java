@@ -339,6 +339,20 @@ public interface FxStore extends AutoCloseable {
      * @return 검증 결과
      */
     VerifyResult verify();
+
+    /**
+     * 무결성 검증 (모드 지정)
+     *
+     * <p>{@link VerifyMode#DEEP}은 마지막 커밋의 모든 컬렉션 트리와 catalog/state
+     * 트리를 {@link FxOptions#verifyParallelism()}개 스레드로 나눠 순회하며 노드
+     * 불변식, 값 레코드 범위, live 페이지 집계를 검사합니다. 파일 크기에 비례하는
+     * 비용이 들며, 검증 중에도 읽기와 쓰기는 계속할 수 있습니다.</p>
+     *
+     * @param mode 검증 모드
+     * @return 검증 결과
+     * @since 0.10
+     */
+    VerifyResult verify(VerifyMode mode);
     
     // ==================== 유지보수 ====================
     
@@ -349,7 +363,168 @@ public interface FxStore extends AutoCloseable {
      * @throws FxException BATCH 모드에서 pending 변경 있으면 ILLEGAL_ARGUMENT
      */
     void compactTo(Path newFile);
-    
+
+    /**
+     * 온라인 컴팩션 한 단계 수행 (같은 파일, 서비스 중단 없음)
+     *
+     * <p>파일 끝 쪽의 살아 있는 페이지를 앞쪽의 dead 페이지로 옮기고, 옮긴 노드의
+     * 부모를 일반 COW로 다시 써서 루트까지 반영한 뒤 파일 끝을 잘라냅니다. 각 단계는
+     * 짧은 Write Lock 구간에서 최대 maxPages 페이지만 기록하므로 쓰기와 읽기를
+     * 멈추지 않습니다. 백그라운드 스레드는 없으며, 호출자가 반환값이 false가 될
+     * 때까지 주기적으로 호출합니다.</p>
+     *
+     * <p>dead 비율이 {@link FxOptions#compactionDeadRatio()} 미만이면 새 주기를
+     * 시작하지 않습니다. 열린 읽기 트랜잭션이나 보존 시간
+     * ({@link FxOptions#compactionRetentionMillis()})이 지나지 않은 스냅샷이 있으면
+     * 해당 단계는 아무것도 하지 않고 true를 반환합니다.</p>
+     *
+     * @param maxPages 이번 단계에서 기록할 최대 페이지 수 (1 이상)
+     * @return 컴팩션 주기가 진행 중이면 true, 할 일이 없으면 false
+     * @throws FxException maxPages가 1 미만이면 ILLEGAL_ARGUMENT
+     * @since 0.10
+     */
+    boolean compactStep(int maxPages);
+
+    /**
+     * 핫 전체 백업
+     *
+     * <p>마지막 커밋의 페이지를 그대로 대상 파일로 복사합니다(가능하면
+     * {@link java.nio.channels.FileChannel#transferTo} 사용). 백업 중에도 읽기와
+     * 쓰기는 계속할 수 있으며, 결과 파일은 호출 시점의 마지막 커밋을 담은 Store
+     * 파일로 그대로 열 수 있습니다. BATCH 모드의 커밋되지 않은 변경은 포함하지
+     * 않습니다.</p>
+     *
+     * @param target 백업 파일 경로 (있으면 덮어씀)
+     * @return 백업한 커밋의 seqNo ({@link #backupIncremental}의 fromSeqNo)
+     * @throws FxException target이 null이거나 원본 파일이면 ILLEGAL_ARGUMENT, 쓰기 실패 시 IO
+     * @since 0.10
+     */
+    long backupTo(Path target);
+
+    /**
+     * 핫 증분 백업
+     *
+     * <p>{@link #backupTo}(또는 이전 증분 백업)로 만든 백업 파일을 마지막 커밋으로
+     * 갱신합니다. fromSeqNo 이후 커밋에서 바뀐 페이지만 복사하므로 비용은 그 사이
+     * 쓰기 양에 비례합니다. 백업 이후 Store를 다시 열었다면 이전 백업의 파일 끝
+     * 아래 구간은 백업 파일과 비교하여 다른 페이지만 씁니다. 갱신이 중단된 백업
+     * 파일은 열리지 않으므로 {@link #backupTo}로 다시 만들어야 합니다.</p>
+     *
+     * @param target 기존 백업 파일 경로
+     * @param fromSeqNo 백업 파일에 담긴 커밋의 seqNo
+     * @return 갱신된 백업의 커밋 seqNo
+     * @throws FxException 백업 파일이 없으면 NOT_FOUND, 이 Store의 백업이 아니거나
+     *         seqNo가 다르면 ILLEGAL_ARGUMENT, 쓰기 실패 시 IO
+     * @since 0.10
+     */
+    long backupIncremental(Path target, long fromSeqNo);
+
+    /**
+     * 읽기 전용 배포용 고정(frozen) 파일 내보내기
+     *
+     * <p>마지막 커밋을 다시 배치하여 대상 파일에 씁니다. 리프와 내부 노드는 꽉 채우고,
+     * 컬렉션마다 내부 노드를 파일 앞쪽 색인 영역에 연속으로 두며, 값 레코드는 페이지
+     * 정렬 없이 참조하는 리프 옆에 이어 붙입니다. 결과 파일은
+     * {@code FxStoreImpl.openFrozen}으로 메모리 매핑하여 열며 쓰기를 받지 않습니다.
+     * 다시 쓰려면 그 Store에서 {@link #compactTo}로 일반 파일을 만듭니다.
+     * 내보내는 중에도 읽기와 쓰기는 계속할 수 있습니다.</p>
+     *
+     * @param target 고정 파일 경로 (있으면 바꿈)
+     * @return 내보낸 커밋의 seqNo
+     * @throws FxException target이 null이거나 원본 파일이면 ILLEGAL_ARGUMENT, 쓰기 실패 시 IO
+     * @since 0.10
+     */
+    long exportFrozen(Path target);
+
+    // ==================== 복제 ====================
+
+    /**
+     * 복제 Sink 등록 (리더)
+     *
+     * <p>이후 커밋마다 그 커밋이 쓴 페이지와 CommitHeader를 담은
+     * {@link ReplicationFrame}을 sink로 보냅니다. 등록 시점의 커밋까지는 포함하지
+     * 않으므로, Follower 파일은 등록 후 {@link #backupTo}로 만듭니다.</p>
+     *
+     * @param sink 전송 계층
+     * @return 등록 시점의 커밋 seqNo (첫 프레임은 이보다 1 큼)
+     * @throws FxException sink가 null이면 ILLEGAL_ARGUMENT
+     * @since 0.10
+     * @see FxReplica
+     */
+    long addReplicationSink(ReplicationSink sink);
+
+    /**
+     * 복제 Sink 해제
+     *
+     * @param sink 등록된 전송 계층
+     * @return 등록되어 있었으면 true
+     * @since 0.10
+     */
+    boolean removeReplicationSink(ReplicationSink sink);
+
+    // ==================== 변경 스트림 ====================
+
+    /**
+     * 컬렉션 변경 구독
+     *
+     * <p>이후 이 컬렉션을 바꾼 커밋마다 키(또는 List 인덱스, Deque 위치)와
+     * 이전/새 값을 담은 {@link FxChangeBatch}를 listener로 보냅니다. 변경은
+     * 커밋된 두 상태의 트리를 비교해 구하며, 공유 서브트리는 건너뛰므로 비용은
+     * 바뀐 양에 비례합니다. 비교와 전달은 Store의 전달 스레드에서 Lock 없이
+     * 일어나고, 전달이 밀리면 대기 중인 커밋을 하나의 범위로 합쳐 메모리를
+     * 제한합니다. 비교할 이전 상태는 읽기 트랜잭션처럼 온라인 컴팩션으로부터
+     * 보호됩니다.</p>
+     *
+     * <p>재시작 후 이어 받으려면 {@link com.snoworca.fxstore.storage.FileChangeLog}를
+     * listener로 등록하고, 소비자는 마지막으로 처리한 seqNo부터 읽습니다. 쓰는 쪽이
+     * 재시작하면 {@link #subscribe(String, FxChangeListener, long)}로 로그의 마지막
+     * seqNo부터 다시 구독합니다. 이 로그는 지속 수신자({@link FxChangeListener#isDurable()})이므로
+     * 커밋은 로그가 이전 커밋까지 기록하기를 기다리며, 작성자가 중단되어도 로그는 한 커밋
+     * 이상 뒤처지지 않습니다. {@link #close()}는 {@link OnClosePolicy#COMMIT}으로
+     * 만드는 마지막 커밋까지 대기 중인 변경을 모두 전달한 뒤 닫습니다.</p>
+     *
+     * <p>B+Tree 형식의 Deque는 위치를 키에서 바로 알 수 없으므로 지원하지 않습니다
+     * ({@link com.snoworca.fxstore.migration.DequeMigrator#migrateToSegmentRing}로
+     * 옮긴 뒤 구독).</p>
+     *
+     * @param name 컬렉션 이름 (커밋된 컬렉션)
+     * @param listener 변경 수신자
+     * @return 구독 핸들 (startSeqNo는 구독 시점의 마지막 커밋)
+     * @throws FxException 컬렉션이 없으면 NOT_FOUND, listener가 null이면
+     *         ILLEGAL_ARGUMENT, B+Tree 형식 Deque 또는 복제/공유 읽기 Store면 UNSUPPORTED,
+     *         Map/Set의 키 코덱이 등록되지 않았으면 CODEC_NOT_FOUND
+     * @since 0.10
+     */
+    FxSubscription subscribe(String name, FxChangeListener listener);
+
+    /**
+     * 지정한 커밋 이후의 변경 구독
+     *
+     * <p>fromSeqNo 시점의 상태와 마지막 커밋 상태의 차이를 첫 범위(첫 배치의
+     * fromSeqNo가 fromSeqNo)로 보낸 뒤 {@link #subscribe(String, FxChangeListener)}와
+     * 같이 이어 보냅니다. 그 사이 컬렉션이 바뀌지 않았으면 다음 변경부터 보냅니다.</p>
+     *
+     * <p>이전 상태는 다음 중 하나여야 합니다.</p>
+     * <ul>
+     *   <li>이 Store에서 변경 스트림을 처음 사용한 뒤 커밋된, 컬렉션당 최근 64개 상태
+     *       (그 사이 온라인 컴팩션이 페이지를 회수하지 않은 경우)</li>
+     *   <li>Store를 연 뒤 첫 구독 시점의 마지막 커밋과 직전 커밋(다른 헤더 슬롯)의 상태가
+     *       유효했던 seqNo (컬렉션 내용을 마지막으로 바꾼 커밋부터)</li>
+     * </ul>
+     * <p>그 밖의 seqNo는 비교할 페이지가 이미 재사용되었을 수 있으므로 거부합니다.
+     * 이 경우 소비자는 전체를 다시 읽어 동기화해야 합니다.</p>
+     *
+     * @param name 컬렉션 이름 (커밋된 컬렉션)
+     * @param listener 변경 수신자
+     * @param fromSeqNo 소비자가 이미 반영한 마지막 커밋 seqNo
+     * @return 구독 핸들 (startSeqNo는 fromSeqNo)
+     * @throws FxException fromSeqNo가 음수이거나 마지막 커밋보다 크면 ILLEGAL_ARGUMENT,
+     *         그 시점의 상태를 보관하지 않았거나 컬렉션이 없었으면 ILLEGAL_STATE,
+     *         그 밖에는 {@link #subscribe(String, FxChangeListener)}와 같음
+     * @since 0.10
+     */
+    FxSubscription subscribe(String name, FxChangeListener listener, long fromSeqNo);
+
     // ==================== 닫기 ====================
     
     /**
@@ -0,0 +1,42 @@
+package com.snoworca.fxstore.api;
+
+/**
+ * 변경 구독 핸들
+ *
+ * <p>{@link FxStore#subscribe}가 반환합니다. 닫으면 아직 전달하지 않은 변경을
+ * 버리고 이후 커밋을 더 받지 않습니다.</p>
+ *
+ * @since 0.10
+ * @see FxChangeListener
+ */
+public interface FxSubscription extends AutoCloseable {
+
+    /**
+     * 구독한 컬렉션 이름
+     */
+    String collection();
+
+    /**
+     * 구독 시작 시점의 커밋 seqNo (첫 배치의 fromSeqNo)
+     */
+    long startSeqNo();
+
+    /**
+     * 변경을 모두 전달한 마지막 커밋 seqNo
+     */
+    long deliveredSeqNo();
+
+    /**
+     * 구독이 유효한지 여부
+     *
+     * @return 닫혔거나, 수신자가 예외를 던졌거나, 컬렉션이 삭제되었거나,
+     *         Store가 닫혔으면 false
+     */
+    boolean isActive();
+
+    /**
+     * 구독 해제 (멱등)
+     */
+    @Override
+    void close();
+}
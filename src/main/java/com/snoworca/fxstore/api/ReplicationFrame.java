@@ -0,0 +1,243 @@
+package com.snoworca.fxstore.api;
+
+import com.snoworca.fxstore.util.CRC32C;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * One commit of a leader store, as shipped to replicas.
+ *
+ * <p>Holds the encoded commit header and the byte ranges the commit wrote:
+ * newly allocated pages, pages reused by online compaction, in-place segment
+ * ring slot writes and superblock rewrites. Applying the ranges and then the
+ * header to a file at the previous commit yields the leader file at this
+ * commit.</p>
+ *
+ * <p>A large commit is shipped as several frames with the same seqNo, each
+ * holding at most about 16 MiB of ranges, so that neither side holds the whole
+ * commit in memory. Every part carries the header; all but the last report
+ * {@link #hasMoreParts()} and replicas apply the header only with the last.</p>
+ *
+ * <p>Binary layout of {@link #encode()} (little-endian): magic "FXRF", storeId,
+ * seqNo, flags, header length + bytes, range count, per range offset + length +
+ * bytes, CRC32C of everything before it.</p>
+ *
+ * @since 0.10
+ */
+public final class ReplicationFrame {
+
+    private static final int MAGIC = 0x46525846;  // "FXRF"
+
+    private static final int FLAG_REUSES_PAGES = 1;
+    private static final int FLAG_MORE_PARTS = 2;
+    private static final int FLAG_WRITES_IN_PLACE = 4;
+
+    private final long storeId;
+    private final long seqNo;
+    private final boolean reusesPages;
+    private final boolean writesInPlace;
+    private final boolean moreParts;
+    private final byte[] header;
+    private final long[] offsets;
+    private final byte[][] data;
+
+    /**
+     * @param storeId identity of the leader store (superblock creation time)
+     * @param seqNo commit sequence number
+     * @param reusesPages whether the commit overwrote pages that earlier commits could still reference
+     * @param header encoded commit header
+     * @param offsets byte offset of each range
+     * @param data bytes of each range
+     */
+    public ReplicationFrame(long storeId, long seqNo, boolean reusesPages, byte[] header,
+                            long[] offsets, byte[][] data) {
+        this(storeId, seqNo, reusesPages, false, false, header, offsets, data);
+    }
+
+    /**
+     * @param storeId identity of the leader store (superblock creation time)
+     * @param seqNo commit sequence number
+     * @param reusesPages whether the commit reused pages below the previous allocation tail
+     *                    or shrank the file
+     * @param writesInPlace whether the commit wrote segment ring slots into existing pages
+     * @param moreParts whether more frames of the same commit follow
+     * @param header encoded commit header
+     * @param offsets byte offset of each range
+     * @param data bytes of each range
+     */
+    public ReplicationFrame(long storeId, long seqNo, boolean reusesPages, boolean writesInPlace,
+                            boolean moreParts, byte[] header, long[] offsets, byte[][] data) {
+        if (offsets.length != data.length) {
+            throw FxException.illegalArgument("offsets and data length differ");
+        }
+        this.storeId = storeId;
+        this.seqNo = seqNo;
+        this.reusesPages = reusesPages;
+        this.writesInPlace = writesInPlace;
+        this.moreParts = moreParts;
+        this.header = header;
+        this.offsets = offsets;
+        this.data = data;
+    }
+
+    /**
+     * Identity of the leader store
+     */
+    public long storeId() {
+        return storeId;
+    }
+
+    /**
+     * Commit sequence number
+     */
+    public long seqNo() {
+        return seqNo;
+    }
+
+    /**
+     * Whether the commit overwrote pages that earlier commits could still reference:
+     * pages below the previous allocation tail, a shrunk file, or segment ring slots
+     * written into existing pages. Replicas wait for older readers before applying
+     * such frames.
+     */
+    public boolean reusesPages() {
+        return reusesPages || writesInPlace;
+    }
+
+    /**
+     * Whether the only overwrites are segment ring slot writes into existing pages.
+     *
+     * <p>Those slots lie outside every published [head, tail) range, so replicas wait
+     * only for registered readers and not for the retention time.</p>
+     */
+    public boolean writesInPlaceOnly() {
+        return writesInPlace && !reusesPages;
+    }
+
+    /**
+     * Whether more frames of the same commit follow (the header is applied with the last)
+     */
+    public boolean hasMoreParts() {
+        return moreParts;
+    }
+
+    /**
+     * Encoded commit header (not copied)
+     */
+    public byte[] header() {
+        return header;
+    }
+
+    /**
+     * Number of byte ranges
+     */
+    public int rangeCount() {
+        return offsets.length;
+    }
+
+    /**
+     * File offset of a range
+     */
+    public long rangeOffset(int index) {
+        return offsets[index];
+    }
+
+    /**
+     * Bytes of a range (not copied)
+     */
+    public byte[] rangeData(int index) {
+        return data[index];
+    }
+
+    /**
+     * Total bytes of all ranges
+     */
+    public long dataBytes() {
+        long total = 0;
+        for (byte[] range : data) {
+            total += range.length;
+        }
+        return total;
+    }
+
+    /**
+     * Serialize for a byte-oriented transport
+     */
+    public byte[] encode() {
+        long size = 4 + 8 + 8 + 4 + 4 + header.length + 4 + 4;
+        for (byte[] range : data) {
+            size += 8 + 4 + range.length;
+        }
+        if (size > Integer.MAX_VALUE) {
+            throw FxException.illegalArgument("Frame too large: " + size + " bytes");
+        }
+        ByteBuffer buf = ByteBuffer.allocate((int) size).order(ByteOrder.LITTLE_ENDIAN);
+        buf.putInt(MAGIC);
+        buf.putLong(storeId);
+        buf.putLong(seqNo);
+        buf.putInt((reusesPages ? FLAG_REUSES_PAGES : 0)
+            | (writesInPlace ? FLAG_WRITES_IN_PLACE : 0)
+            | (moreParts ? FLAG_MORE_PARTS : 0));
+        buf.putInt(header.length);
+        buf.put(header);
+        buf.putInt(offsets.length);
+        for (int i = 0; i < offsets.length; i++) {
+            buf.putLong(offsets[i]);
+            buf.putInt(data[i].length);
+            buf.put(data[i]);
+        }
+        buf.putInt(CRC32C.compute(buf.array(), 0, buf.position()));
+        return buf.array();
+    }
+
+    /**
+     * Deserialize a frame produced by {@link #encode()}
+     *
+     * @throws FxException CORRUPTION if the bytes are truncated or fail the checksum
+     */
+    public static ReplicationFrame decode(byte[] bytes) {
+        try {
+            ByteBuffer buf = ByteBuffer.wrap(bytes).order(ByteOrder.LITTLE_ENDIAN);
+            if (bytes.length < 4 || buf.getInt() != MAGIC) {
+                throw FxException.corruption("Invalid replication frame magic");
+            }
+            int crcOffset = bytes.length - 4;
+            int storedCrc = ByteBuffer.wrap(bytes, crcOffset, 4).order(ByteOrder.LITTLE_ENDIAN).getInt();
+            if (storedCrc != CRC32C.compute(bytes, 0, crcOffset)) {
+                throw FxException.corruption("Replication frame checksum mismatch");
+            }
+            long storeId = buf.getLong();
+            long seqNo = buf.getLong();
+            int flags = buf.getInt();
+            byte[] header = new byte[buf.getInt()];
+            buf.get(header);
+            int count = buf.getInt();
+            long[] offsets = new long[count];
+            byte[][] data = new byte[count][];
+            for (int i = 0; i < count; i++) {
+                offsets[i] = buf.getLong();
+                data[i] = new byte[buf.getInt()];
+                buf.get(data[i]);
+            }
+            if (buf.position() != crcOffset) {
+                throw FxException.corruption("Replication frame has trailing bytes");
+            }
+            return new ReplicationFrame(storeId, seqNo, (flags & FLAG_REUSES_PAGES) != 0,
+                (flags & FLAG_WRITES_IN_PLACE) != 0, (flags & FLAG_MORE_PARTS) != 0,
+                header, offsets, data);
+        } catch (RuntimeException e) {
+            if (e instanceof FxException) {
+                throw e;
+            }
+            throw FxException.corruption("Truncated replication frame: " + e);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "ReplicationFrame{seqNo=" + seqNo + ", ranges=" + offsets.length
+            + ", bytes=" + dataBytes() + ", reusesPages=" + reusesPages()
+            + ", moreParts=" + moreParts + '}';
+    }
+}
@@ -0,0 +1,28 @@
+package com.snoworca.fxstore.api;
+
+/**
+ * 복제 프레임 송신측 전송 계층
+ *
+ * <p>리더 Store는 커밋마다 {@link ReplicationFrame}을 만들어 등록된 Sink에
+ * 커밋 순서대로 전달합니다({@link FxStore#addReplicationSink}). 전달은 커밋과
+ * 같은 Write Lock 구간에서 일어나므로, 느린 전송(네트워크 등)은 구현체가
+ * 버퍼링해야 합니다. 큰 커밋은 약 16 MiB 이하의 프레임 여러 개로 나뉘어
+ * 차례로 전달되므로 커밋 전체를 한 번에 담지 않습니다
+ * ({@link ReplicationFrame#hasMoreParts()}).</p>
+ *
+ * <p>send가 예외를 던지면 커밋은 그대로 유지되고 Sink는 분리됩니다. 이후
+ * 프레임을 받지 못한 Follower는 seqNo 공백으로 이를 감지합니다.</p>
+ *
+ * @since 0.10
+ * @see ReplicationSource
+ */
+@FunctionalInterface
+public interface ReplicationSink {
+
+    /**
+     * 커밋 프레임 전달
+     *
+     * @param frame 커밋 프레임 (seqNo 오름차순, 공백 없음)
+     */
+    void send(ReplicationFrame frame);
+}
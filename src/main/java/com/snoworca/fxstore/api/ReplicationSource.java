@@ -0,0 +1,23 @@
+package com.snoworca.fxstore.api;
+
+/**
+ * 복제 프레임 수신측 전송 계층
+ *
+ * <p>{@link FxReplica#pump}가 프레임을 받아 적용합니다. 프레임은 리더가
+ * {@link ReplicationSink}로 보낸 순서대로 반환해야 합니다.</p>
+ *
+ * @since 0.10
+ * @see ReplicationSink
+ */
+@FunctionalInterface
+public interface ReplicationSource {
+
+    /**
+     * 다음 프레임 수신
+     *
+     * @param timeoutMillis 최대 대기 시간 (0이면 대기하지 않음)
+     * @return 다음 프레임, 시간 안에 도착하지 않으면 null
+     * @throws InterruptedException 대기 중 인터럽트된 경우
+     */
+    ReplicationFrame receive(long timeoutMillis) throws InterruptedException;
+}
@@ -1,5 +1,9 @@
 package com.snoworca.fxstore.api;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Store statistics.
  */
@@ -9,14 +13,26 @@ public final class Stats {
     private final long deadBytesEstimate;
     private final double deadRatio;
     private final int collectionCount;
+    private final Map<String, Long> collectionLiveBytes;
 
     public Stats(long fileBytes, long liveBytesEstimate, long deadBytesEstimate,
                  double deadRatio, int collectionCount) {
+        this(fileBytes, liveBytesEstimate, deadBytesEstimate, deadRatio, collectionCount,
+             Collections.<String, Long>emptyMap());
+    }
+
+    /**
+     * @param collectionLiveBytes live bytes per committed collection name
+     * @since 0.10
+     */
+    public Stats(long fileBytes, long liveBytesEstimate, long deadBytesEstimate,
+                 double deadRatio, int collectionCount, Map<String, Long> collectionLiveBytes) {
         this.fileBytes = fileBytes;
         this.liveBytesEstimate = liveBytesEstimate;
         this.deadBytesEstimate = deadBytesEstimate;
         this.deadRatio = deadRatio;
         this.collectionCount = collectionCount;
+        this.collectionLiveBytes = Collections.unmodifiableMap(new HashMap<>(collectionLiveBytes));
     }
 
     /**
@@ -54,6 +70,20 @@ public final class Stats {
         return collectionCount;
     }
 
+    /**
+     * Live bytes of each committed collection (tree nodes, segments and value records).
+     *
+     * <p>Empty for stores written before v0.10 until their first commit.
+     * The fixed header area and catalog/state trees are included in
+     * {@link #liveBytesEstimate()} only.</p>
+     *
+     * @return unmodifiable map of collection name to live bytes
+     * @since 0.10
+     */
+    public Map<String, Long> collectionLiveBytes() {
+        return collectionLiveBytes;
+    }
+
     @Override
     public String toString() {
         return "Stats{" +
@@ -4,8 +4,13 @@ package com.snoworca.fxstore.api;
  * Statistics calculation mode.
  */
 public enum StatsMode {
-    /** Estimate-based fast calculation */
+    /**
+     * Reads the live page counters kept up to date by every commit.
+     *
+     * <p>Exact for the last commit since v0.10; files written by older versions
+     * fall back to an allocTail-based estimate until their first commit.</p>
+     */
     FAST,
-    /** Full scan based accurate calculation */
+    /** Full scan of the last commit; recomputes what FAST reads from counters */
     DEEP
 }
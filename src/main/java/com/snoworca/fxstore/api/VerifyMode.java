@@ -0,0 +1,20 @@
+package com.snoworca.fxstore.api;
+
+/**
+ * Integrity verification mode.
+ *
+ * @since 0.10
+ */
+public enum VerifyMode {
+    /** Superblock, commit header slots, allocation bounds and catalog/state consistency */
+    QUICK,
+    /**
+     * QUICK checks plus a parallel traversal of every tree of the last commit.
+     *
+     * <p>Validates node invariants (key order, separator bounds, child counts,
+     * leaf depth, order-statistic counts), value record bounds, segment ring
+     * directories and the live page counters; reports pages outside the
+     * allocated area or referenced twice.</p>
+     */
+    DEEP
+}
@@ -2,9 +2,10 @@ package com.snoworca.fxstore.btree;
 
 import com.snoworca.fxstore.api.FxErrorCode;
 import com.snoworca.fxstore.api.FxException;
-import com.snoworca.fxstore.storage.Allocator;
+import com.snoworca.fxstore.storage.PageAllocator;
 import com.snoworca.fxstore.storage.Storage;
 
+import java.util.Arrays;
 import java.util.Comparator;
 
 /**
@@ -47,7 +48,7 @@ public class BTree {
     /**
      * 외부 할당자 (선택적)
      */
-    private final Allocator allocator;
+    private final PageAllocator allocator;
 
     /**
      * 현재 allocTail (Stateless API 지원)
@@ -59,6 +60,19 @@ public class BTree {
      */
     private long currentAllocTail;
 
+    /**
+     * 리프 페이지 prefix 압축 여부 (Superblock 기능 플래그로 결정)
+     */
+    private boolean prefixCompression;
+
+    /**
+     * 리프 분할 시 최단 분리자 키(suffix truncation) 사용 여부
+     *
+     * <p>키 비교자가 unsigned 바이트 사전순일 때만 안전합니다.
+     * 잘린 키를 디코딩하거나 다른 순서로 비교하는 비교자에서는 사용하면 안 됩니다.</p>
+     */
+    private boolean separatorTruncation;
+
     /**
      * 생성자
      *
@@ -91,7 +105,7 @@ public class BTree {
      * @param rootPageId 루트 페이지 ID
      * @param allocator 외부 할당자 (null이면 내부 할당 사용)
      */
-    public BTree(Storage storage, int pageSize, Comparator<byte[]> keyComparator, long rootPageId, Allocator allocator) {
+    public BTree(Storage storage, int pageSize, Comparator<byte[]> keyComparator, long rootPageId, PageAllocator allocator) {
         this.storage = storage;
         this.pageSize = pageSize;
         this.keyComparator = keyComparator;
@@ -141,6 +155,21 @@ public class BTree {
         this.currentAllocTail = allocTail;
     }
 
+    /**
+     * 키 압축 설정
+     *
+     * <p>prefix 압축은 쓰기 시 리프 페이지 형식을 결정하며, 읽기는 페이지의
+     * 형식 바이트를 보고 자동으로 처리합니다. 분리자 축약은 바이트 사전순
+     * 비교자에서만 활성화해야 합니다.</p>
+     *
+     * @param prefixCompression 리프 prefix 압축 여부
+     * @param separatorTruncation 최단 분리자 키 사용 여부
+     */
+    public void setKeyCompression(boolean prefixCompression, boolean separatorTruncation) {
+        this.prefixCompression = prefixCompression;
+        this.separatorTruncation = separatorTruncation;
+    }
+
     /**
      * 키 검색
      * 
@@ -219,7 +248,9 @@ public class BTree {
 
         if (level == 0) {
             // 리프 노드 (level=0)
-            return BTreeLeaf.fromPage(page, pageSize, pageId);
+            BTreeLeaf leaf = BTreeLeaf.fromPage(page, pageSize, pageId);
+            leaf.setPrefixCompressed(prefixCompression);
+            return leaf;
         } else {
             // 내부 노드 (level>0)
             return BTreeInternal.fromPage(page, pageSize, pageId);
@@ -319,10 +350,10 @@ public class BTree {
      * @param pageId 현재 노드 페이지 ID
      * @param key 삽입할 키
      * @param valueRecordId 값 레코드 ID
-     * @param isRootPath 루트 경로 여부 (분할 처리용)
+     * @param rightEdge 루트부터 항상 마지막 자식을 따라온 경로인지 여부 (append 분할 판단용)
      * @return 삽입 결과 (분할 여부, 페이지 ID 등)
      */
-    private InsertResult insertRecursive(long pageId, byte[] key, long valueRecordId, boolean isRootPath) {
+    private InsertResult insertRecursive(long pageId, byte[] key, long valueRecordId, boolean rightEdge) {
         BTreeNode node = readNode(pageId);
         
         if (node.isLeaf()) {
@@ -346,25 +377,28 @@ public class BTree {
             // 삽입 위치 계산 (find가 음수 반환)
             int insertPos = -(index + 1);
             
-            // 공간 확인
-            if (!leaf.isFull()) {
-                // 공간 있음: 단순 삽입
-                BTreeLeaf newLeaf = leaf.copy();
-                newLeaf.insert(insertPos, key, valueRecordId);
+            // 먼저 키를 삽입한 복사본 생성
+            BTreeLeaf tempLeaf = leaf.copy();
+            tempLeaf.insert(insertPos, key, valueRecordId);
 
+            // 공간 확인 (prefix 압축 시 새 키가 공통 prefix를 줄여 페이지가 커질 수 있음)
+            if (!leaf.isFull() && tempLeaf.fitsInPage()) {
+                // 공간 있음: 단순 삽입
                 long newPageId = allocatePageId();
-                writeNode(newLeaf, newPageId);
+                writeNode(tempLeaf, newPageId);
 
                 return new InsertResult(false, newPageId, 0L, null);
 
             } else {
                 // 공간 없음: 분할 필요
-                // 먼저 키를 삽입한 후 분할
-                BTreeLeaf tempLeaf = leaf.copy();
-                tempLeaf.insert(insertPos, key, valueRecordId);
 
                 // 분할 수행
-                BTreeLeaf.SplitResult splitResult = tempLeaf.split();
+                // 트리 오른쪽 끝에 추가되는 키(시퀀스, 타임스탬프 등)는 왼쪽 리프를
+                // 가득 채운 채로 두고 새 키만 오른쪽으로 보냄 (반쪽짜리 리프 방지)
+                boolean append = rightEdge && insertPos == leaf.size();
+                BTreeLeaf.SplitResult splitResult = append
+                        ? tempLeaf.splitAt(tempLeaf.size() - 1)
+                        : tempLeaf.split();
 
                 // BUG-V11-002 수정: 페이지 ID 선할당 후 단일 쓰기
                 // 1. 페이지 ID 선할당
@@ -380,7 +414,7 @@ public class BTree {
                 // 4. 오른쪽 리프 저장
                 writeNode(splitResult.rightLeaf, rightPageId);
 
-                return new InsertResult(true, leftPageId, rightPageId, splitResult.splitKey);
+                return new InsertResult(true, leftPageId, rightPageId, separatorKey(splitResult));
             }
             
         } else {
@@ -392,7 +426,8 @@ public class BTree {
             long childPageId = internal.getChildPageId(childIndex);
             
             // 재귀 삽입
-            InsertResult childResult = insertRecursive(childPageId, key, valueRecordId, false);
+            boolean childRightEdge = rightEdge && childIndex == internal.getChildCount() - 1;
+            InsertResult childResult = insertRecursive(childPageId, key, valueRecordId, childRightEdge);
             
             if (!childResult.split) {
                 // 자식에서 분할 없음: 자식 포인터만 갱신 (COW)
@@ -423,8 +458,11 @@ public class BTree {
                     tempInternal.setChildPageId(childIndex, childResult.leftPageId);
                     tempInternal.insertChild(childIndex, childResult.splitKey, childResult.rightPageId);
 
-                    // 분할 수행
-                    BTreeInternal.SplitResult internalSplit = tempInternal.split();
+                    // 분할 수행 (오른쪽 끝 append면 왼쪽 노드를 가득 채움)
+                    boolean append = childRightEdge && tempInternal.getKeyCount() >= 2;
+                    BTreeInternal.SplitResult internalSplit = append
+                            ? tempInternal.splitAt(tempInternal.getKeyCount() - 2)
+                            : tempInternal.split();
 
                     // 왼쪽 노드 저장
                     long leftPageId = allocatePageId();
@@ -450,9 +488,8 @@ public class BTree {
      */
     private long allocatePageId() {
         if (allocator != null) {
-            // 레거시 API 사용 (v0.9 전환 기간 동안 유지)
-            // allocator.allocatePage()는 offset을 반환하므로 pageId로 변환
-            long offset = allocator.allocatePage();
+            // allocator.allocatePages()는 offset을 반환하므로 pageId로 변환
+            long offset = allocator.allocatePages(1);
             return offset / pageSize;
         }
 
@@ -469,6 +506,54 @@ public class BTree {
         return newPageId;
     }
     
+    /**
+     * 리프 분할 결과의 분리자 키 결정
+     *
+     * <p>분리자 축약이 활성화되면 왼쪽 마지막 키보다 크고 오른쪽 첫 키 이하인
+     * 가장 짧은 키(오른쪽 첫 키의 prefix)를 사용하여 내부 노드 fan-out을 높입니다.</p>
+     *
+     * @param split 리프 분할 결과
+     * @return 부모에 삽입할 분리자 키
+     */
+    private byte[] separatorKey(BTreeLeaf.SplitResult split) {
+        if (!separatorTruncation) {
+            return split.splitKey;
+        }
+        return separatorKey(split.leftLeaf.getKey(split.leftLeaf.size() - 1), split.splitKey);
+    }
+
+    /**
+     * 인접한 두 리프 사이의 분리자 키 결정
+     *
+     * @param leftLast 왼쪽 리프의 마지막 키
+     * @param rightFirst 오른쪽 리프의 첫 키
+     * @return 부모에 삽입할 분리자 키
+     */
+    private byte[] separatorKey(byte[] leftLast, byte[] rightFirst) {
+        if (!separatorTruncation) {
+            return rightFirst;
+        }
+        return shortestSeparator(leftLast, rightFirst);
+    }
+
+    /**
+     * 왼쪽 마지막 키보다 크고 오른쪽 첫 키 이하인 가장 짧은 키 (오른쪽 첫 키의 prefix)
+     *
+     * <p>unsigned 바이트 사전순으로 비교하는 트리에서만 분리자로 쓸 수 있습니다.</p>
+     *
+     * @param leftLast 왼쪽 리프의 마지막 키
+     * @param rightFirst 오른쪽 리프의 첫 키
+     * @return 분리자 키
+     * @since 0.10
+     */
+    public static byte[] shortestSeparator(byte[] leftLast, byte[] rightFirst) {
+        int prefix = BTreeLeaf.commonPrefixLength(leftLast, rightFirst);
+        if (prefix + 1 >= rightFirst.length) {
+            return rightFirst;
+        }
+        return java.util.Arrays.copyOf(rightFirst, prefix + 1);
+    }
+
     /**
      * 노드를 페이지에 쓰기
      * 
@@ -476,6 +561,9 @@ public class BTree {
      * @param pageId 페이지 ID
      */
     private void writeNode(BTreeNode node, long pageId) {
+        if (node.isLeaf()) {
+            ((BTreeLeaf) node).setPrefixCompressed(prefixCompression);
+        }
         byte[] page = node.toPage();
         long offset = pageId * pageSize;
         storage.write(offset, page, 0, pageSize);
@@ -484,10 +572,10 @@ public class BTree {
     /**
      * 키 삭제 (COW)
      * 
-     * <p>docs/02.architecture.md 4.5절의 "병합 없는 단순 Delete" 구현:
-     * - 리프에서 엔트리 제거
-     * - COW로 경로상 모든 노드 복사
-     * - 병합(merge) 미구현 (컴팩션으로 공간 회수)
+     * <p>리프에서 엔트리를 제거하고 경로상 모든 노드를 COW로 복사합니다.
+     * 노드가 최소 채움률(페이지의 1/4) 아래로 내려가면 형제 노드와
+     * 병합(merge)하거나 재분배(borrow)하고, 자식이 하나만 남은 루트는
+     * 제거하여 트리 높이를 줄입니다.
      * 
      * @param key 삭제할 키
      * @return 새 루트 페이지 ID (삭제 후 빈 트리면 0)
@@ -503,8 +591,7 @@ public class BTree {
             return 0;
         }
         
-        // 루트부터 삭제 수행 (originalRoot = rootPageId)
-        DeleteResult result = deleteInternal(rootPageId, key, rootPageId);
+        DeleteResult result = deleteFromRoot(rootPageId, key);
 
         if (result.found) {
             // 삭제 성공: 새 루트로 갱신
@@ -514,16 +601,51 @@ public class BTree {
         
         return rootPageId;
     }
-    
+
+    /**
+     * 루트부터 삭제 수행 후 루트 축소(root collapse) 처리
+     *
+     * @param root 현재 루트 페이지 ID (0이 아님)
+     * @param key 삭제할 키
+     * @return 삭제 결과
+     */
+    private DeleteResult deleteFromRoot(long root, byte[] key) {
+        BTreeNode newRoot = deleteInternal(root, key);
+
+        if (newRoot == null) {
+            // 키가 없음: 변경 없음
+            return new DeleteResult(false, root);
+        }
+
+        if (newRoot.isLeaf()) {
+            if (((BTreeLeaf) newRoot).size() == 0) {
+                return new DeleteResult(true, 0); // 빈 트리
+            }
+        } else {
+            BTreeInternal internal = (BTreeInternal) newRoot;
+            if (internal.getChildCount() == 1) {
+                // 자식이 하나만 남은 루트: 자식이 새 루트 (자식은 이미 기록됨)
+                return new DeleteResult(true, internal.getChildPageId(0));
+            }
+        }
+
+        long newRootPageId = allocatePageId();
+        writeNode(newRoot, newRootPageId);
+        return new DeleteResult(true, newRootPageId);
+    }
+
     /**
      * 내부 delete 재귀 구현
      *
+     * <p>변경된 노드는 아직 기록하지 않은 채 반환합니다. 부모가 자식의
+     * underflow 여부를 보고 형제와 병합/재분배한 뒤 최종 노드만 기록하므로,
+     * 병합으로 버려질 중간 페이지를 할당하지 않습니다.</p>
+     *
      * @param nodePageId 현재 노드 페이지 ID
      * @param key 삭제할 키
-     * @param originalRoot 원래 트리의 루트 페이지 ID (빈 트리 체크용)
-     * @return 삭제 결과
+     * @return 변경된 노드 복사본 (미기록), 키가 없으면 null
      */
-    private DeleteResult deleteInternal(long nodePageId, byte[] key, long originalRoot) {
+    private BTreeNode deleteInternal(long nodePageId, byte[] key) {
         BTreeNode node = readNode(nodePageId);
 
         if (node.isLeaf()) {
@@ -533,60 +655,127 @@ public class BTree {
 
             if (index < 0) {
                 // 키가 없음: 변경 없음
-                return new DeleteResult(false, nodePageId);
+                return null;
             }
 
             // COW: 리프 복사
             BTreeLeaf newLeaf = leaf.copy();
             newLeaf.deleteEntry(index);
+            return newLeaf;
+        }
 
-            // 리프가 비어있으면?
-            if (newLeaf.size() == 0) {
-                // 빈 리프 → 루트였다면 빈 트리, 아니면 유지
-                if (nodePageId == originalRoot) {
-                    return new DeleteResult(true, 0); // 빈 트리
-                }
-            }
+        // Internal 노드: 자식으로 재귀
+        BTreeInternal internal = (BTreeInternal) node;
+        int childIndex = internal.findChildIndex(key, keyComparator);
+        long childPageId = internal.getChildPageId(childIndex);
+
+        BTreeNode newChild = deleteInternal(childPageId, key);
+        if (newChild == null) {
+            // 키가 없으면 변경 없음
+            return null;
+        }
+
+        // COW: Internal 복사
+        BTreeInternal newInternal = internal.copy();
 
-            // 새 리프 저장
-            long newLeafPageId = allocatePageId();
-            writeNode(newLeaf, newLeafPageId);
+        if (isUnderflow(newChild) && internal.getChildCount() > 1) {
+            rebalanceChild(newInternal, childIndex, newChild);
+        } else {
+            long newChildPageId = allocatePageId();
+            writeNode(newChild, newChildPageId);
+            newInternal.setChildPageId(childIndex, newChildPageId);
+        }
 
-            return new DeleteResult(true, newLeafPageId);
+        return newInternal;
+    }
 
+    /**
+     * underflow된 자식을 형제와 병합하거나 재분배
+     *
+     * <p>왼쪽 형제가 있으면 왼쪽과, 없으면 오른쪽 형제와 짝을 짓습니다.
+     * 두 노드가 한 페이지에 들어가면 병합하고 부모에서 분리자 키를 제거하며,
+     * 들어가지 않으면 엔트리를 반씩 재분배하고 분리자 키를 교체합니다.</p>
+     *
+     * @param parent 부모 노드 복사본 (갱신 대상)
+     * @param childIndex underflow된 자식의 인덱스
+     * @param child underflow된 자식 (미기록)
+     */
+    private void rebalanceChild(BTreeInternal parent, int childIndex, BTreeNode child) {
+        int leftIndex = childIndex > 0 ? childIndex - 1 : childIndex;
+        BTreeNode left;
+        BTreeNode right;
+        if (childIndex > 0) {
+            left = readNode(parent.getChildPageId(leftIndex));
+            right = child;
         } else {
-            // Internal 노드: 자식으로 재귀
-            BTreeInternal internal = (BTreeInternal) node;
-            int childIndex = internal.findChildIndex(key, keyComparator);
-            long childPageId = internal.getChildPageId(childIndex);
+            left = child;
+            right = readNode(parent.getChildPageId(childIndex + 1));
+        }
+        byte[] separatorKey = parent.getKey(leftIndex);
 
-            // 자식에서 삭제
-            DeleteResult childResult = deleteInternal(childPageId, key, originalRoot);
+        if (left.isLeaf()) {
+            BTreeLeaf leftLeaf = (BTreeLeaf) left;
+            BTreeLeaf rightLeaf = (BTreeLeaf) right;
 
-            if (!childResult.found) {
-                // 키가 없으면 변경 없음
-                return new DeleteResult(false, nodePageId);
-            }
+            if (leftLeaf.canMergeWith(rightLeaf)) {
+                // 병합: 두 리프를 하나로
+                BTreeLeaf merged = leftLeaf.merge(rightLeaf);
+                long mergedPageId = allocatePageId();
+                writeNode(merged, mergedPageId);
 
-            // 자식이 빈 트리가 되었으면?
-            if (childResult.newRootPageId == 0) {
-                // 자식 제거 필요
-                // 단순 구현: 자식을 그대로 유지 (merge 없음)
-                // 빈 리프도 구조상 유지
+                parent.removeKeyAndChild(leftIndex);
+                parent.setChildPageId(leftIndex, mergedPageId);
+            } else {
+                // 재분배: 합친 후 반으로 분할
+                BTreeLeaf combined = leftLeaf.merge(rightLeaf);
+                BTreeLeaf.SplitResult split = combined.split();
+
+                long newLeftPageId = allocatePageId();
+                long newRightPageId = allocatePageId();
+                split.leftLeaf.setNextLeafPageId(newRightPageId);
+                split.rightLeaf.setNextLeafPageId(combined.getNextLeafPageId());
+                writeNode(split.leftLeaf, newLeftPageId);
+                writeNode(split.rightLeaf, newRightPageId);
+
+                parent.setChildPageId(leftIndex, newLeftPageId);
+                parent.setChildPageId(leftIndex + 1, newRightPageId);
+                parent.setKey(leftIndex, separatorKey(split));
             }
+        } else {
+            BTreeInternal leftInternal = (BTreeInternal) left;
+            BTreeInternal rightInternal = (BTreeInternal) right;
 
-            // COW: Internal 복사하고 자식 포인터 갱신
-            BTreeInternal newInternal = internal.copy();
-            newInternal.setChildPageId(childIndex, childResult.newRootPageId);
-
-            // 새 Internal 저장
-            long newInternalPageId = allocatePageId();
-            writeNode(newInternal, newInternalPageId);
+            if (leftInternal.canMergeWith(separatorKey, rightInternal)) {
+                // 병합: 분리자 키를 끌어내려 하나로
+                BTreeInternal merged = leftInternal.merge(separatorKey, rightInternal);
+                long mergedPageId = allocatePageId();
+                writeNode(merged, mergedPageId);
 
-            return new DeleteResult(true, newInternalPageId);
+                parent.removeKeyAndChild(leftIndex);
+                parent.setChildPageId(leftIndex, mergedPageId);
+            } else {
+                // 재분배: 합친 후 중간 키를 새 분리자로 승격
+                BTreeInternal combined = leftInternal.merge(separatorKey, rightInternal);
+                BTreeInternal.SplitResult split = combined.split();
+
+                long newLeftPageId = allocatePageId();
+                writeNode(split.leftNode, newLeftPageId);
+                long newRightPageId = allocatePageId();
+                writeNode(split.rightNode, newRightPageId);
+
+                parent.setChildPageId(leftIndex, newLeftPageId);
+                parent.setChildPageId(leftIndex + 1, newRightPageId);
+                parent.setKey(leftIndex, split.splitKey);
+            }
         }
     }
 
+    private static boolean isUnderflow(BTreeNode node) {
+        return node.isLeaf()
+                ? ((BTreeLeaf) node).isUnderflow()
+                : ((BTreeInternal) node).isUnderflow();
+    }
+
     // ==================== Stateless API (Phase 8 동시성 지원) ====================
 
     /**
@@ -635,6 +824,73 @@ public class BTree {
         }
     }
 
+    /**
+     * 지정된 root에서 여러 키를 한 번의 병합 하강으로 검색 (Stateless, 읽기 전용)
+     *
+     * <p>키를 정렬한 뒤 루트부터 함께 내려갑니다. 같은 자식으로 향하는 인접 키들은
+     * 묶어서 한 번만 하강하므로, 이웃 키들이 공유하는 내부 노드와 리프는 배치당
+     * 한 번씩만 읽습니다.</p>
+     *
+     * @param rootPageId 검색 시작 root (스냅샷에서 획득)
+     * @param keys 검색 키 (정렬 불필요, 중복 허용)
+     * @return keys와 같은 순서의 값 레코드 ID (없는 키는 null)
+     * @since 0.10
+     */
+    public Long[] findAllWithRoot(long rootPageId, byte[][] keys) {
+        Long[] result = new Long[keys.length];
+        if (rootPageId == 0 || keys.length == 0) {
+            return result;
+        }
+
+        Integer[] order = new Integer[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            if (keys[i] == null) {
+                throw new NullPointerException("Key cannot be null");
+            }
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> keyComparator.compare(keys[a], keys[b]));
+
+        try {
+            findAllInNode(readNode(rootPageId), keys, order, 0, order.length, result);
+        } catch (FxException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new FxException(FxErrorCode.IO, "Failed to read B+Tree node", e);
+        }
+        return result;
+    }
+
+    /**
+     * 정렬된 키 구간 [from, to)를 node 아래에서 검색
+     */
+    private void findAllInNode(BTreeNode node, byte[][] keys, Integer[] order,
+                               int from, int to, Long[] result) {
+        if (node.isLeaf()) {
+            BTreeLeaf leaf = (BTreeLeaf) node;
+            for (int i = from; i < to; i++) {
+                int index = leaf.find(keys[order[i]], keyComparator);
+                if (index >= 0) {
+                    result[order[i]] = leaf.getValueRecordId(index);
+                }
+            }
+            return;
+        }
+
+        BTreeInternal internal = (BTreeInternal) node;
+        int i = from;
+        while (i < to) {
+            int childIndex = internal.findChildIndex(keys[order[i]], keyComparator);
+            int j = i + 1;
+            // 정렬되어 있으므로 같은 자식으로 향하는 키는 연속됨
+            while (j < to && internal.findChildIndex(keys[order[j]], keyComparator) == childIndex) {
+                j++;
+            }
+            findAllInNode(readNode(internal.getChildPageId(childIndex)), keys, order, i, j, result);
+            i = j;
+        }
+    }
+
     /**
      * 지정된 root에서 커서 생성 (Stateless, 읽기 전용)
      *
@@ -840,6 +1096,10 @@ public class BTree {
      * <p>Phase 8 동시성 지원: COW 방식으로 새 페이지를 생성하고,
      * 기존 페이지는 수정하지 않습니다.</p>
      *
+     * <p>underflow된 노드는 형제와 병합하거나 재분배하고, 자식이 하나만 남은
+     * 루트는 축소합니다. 한쪽 끝에서 삽입하고 반대쪽에서 삭제하는 큐 형태의
+     * 사용에서도 채움률과 트리 높이가 안정적으로 유지됩니다.</p>
+     *
      * @param currentRoot 현재 root (스냅샷에서 획득)
      * @param key 삭제 키
      * @return 삭제 결과 (새 root pageId 포함)
@@ -854,12 +1114,418 @@ public class BTree {
             return new StatelessDeleteResult(0, false);
         }
 
-        // 루트부터 삭제 수행 (originalRoot = currentRoot)
-        DeleteResult result = deleteInternal(currentRoot, key, currentRoot);
+        // 루트부터 삭제 수행 (병합/재분배 및 루트 축소 포함)
+        DeleteResult result = deleteFromRoot(currentRoot, key);
 
         return new StatelessDeleteResult(result.newRootPageId, result.found);
     }
 
+    /**
+     * 정렬된 키들을 트리 오른쪽 끝에 일괄 추가 (Stateless, Write Lock 하에서만 호출)
+     *
+     * <p>오른쪽 경로(spine)를 한 번만 COW 복사한 뒤 마지막 리프를 채우고, 가득 차면
+     * 새 리프를 이어 붙이며 분리자를 상위 노드로 올립니다. 키마다 루트에서 다시
+     * 하강하지 않으므로 n개 추가 비용은 O(n + log N)이고, 기록되는 페이지는
+     * 새로 채운 리프/내부 노드와 기존 오른쪽 경로뿐입니다.</p>
+     *
+     * <p>시퀀스 키처럼 항상 기존 최대 키보다 큰 키를 추가하는 경우에 사용합니다.</p>
+     *
+     * @param currentRoot 현재 root (0이면 빈 트리)
+     * @param keys 추가할 키 (오름차순, 기존 최대 키보다 커야 함)
+     * @param valueRecordIds 키별 값 레코드 ID
+     * @return 삽입 결과 (새 root pageId 포함)
+     * @throws FxException 키가 오름차순이 아니거나 기존 최대 키 이하인 경우
+     * @since 0.10
+     */
+    public StatelessInsertResult appendAllWithRoot(long currentRoot, byte[][] keys, long[] valueRecordIds) {
+        if (keys.length != valueRecordIds.length) {
+            throw FxException.illegalArgument(
+                "keys and valueRecordIds length mismatch: " + keys.length + " != " + valueRecordIds.length);
+        }
+        if (keys.length == 0) {
+            return new StatelessInsertResult(currentRoot, false);
+        }
+
+        // 오른쪽 경로 COW 복사 (spine.get(0) = 리프의 부모, 마지막 = 루트)
+        java.util.List<BTreeInternal> spine = new java.util.ArrayList<>();
+        java.util.List<Long> spineIds = new java.util.ArrayList<>();
+        BTreeLeaf leaf;
+        long leafId;
+        if (currentRoot == 0) {
+            leaf = new BTreeLeaf(pageSize);
+            leafId = allocatePageId();
+        } else {
+            BTreeNode node = readNode(currentRoot);
+            BTreeInternal parent = null;
+            while (!node.isLeaf()) {
+                BTreeInternal copy = ((BTreeInternal) node).copy();
+                long copyId = allocatePageId();
+                if (parent != null) {
+                    parent.setChildPageId(parent.getChildCount() - 1, copyId);
+                }
+                spine.add(0, copy);
+                spineIds.add(0, copyId);
+                parent = copy;
+                node = readNode(copy.getChildPageId(copy.getChildCount() - 1));
+            }
+            leaf = ((BTreeLeaf) node).copy();
+            leafId = allocatePageId();
+            if (parent != null) {
+                parent.setChildPageId(parent.getChildCount() - 1, leafId);
+            }
+        }
+
+        byte[] lastKey = leaf.size() > 0 ? leaf.getKey(leaf.size() - 1) : null;
+        for (int i = 0; i < keys.length; i++) {
+            byte[] key = keys[i];
+            if (key == null) {
+                throw new NullPointerException("Key cannot be null");
+            }
+            if (lastKey != null && keyComparator.compare(lastKey, key) >= 0) {
+                throw FxException.illegalArgument("appendAll keys must be ascending and above the current last key");
+            }
+
+            boolean full = leaf.isFull();
+            leaf.insert(leaf.size(), key, valueRecordIds[i]);
+            if (leaf.size() > 1 && (full || !leaf.fitsInPage())) {
+                // 리프 봉인: 새 키는 다음 리프로
+                leaf.remove(leaf.size() - 1);
+                BTreeLeaf next = new BTreeLeaf(pageSize);
+                next.insert(0, key, valueRecordIds[i]);
+                long nextId = allocatePageId();
+
+                leaf.setNextLeafPageId(nextId);
+                writeNode(leaf, leafId);
+                appendChild(spine, spineIds, 0, leafId, separatorKey(lastKey, key), nextId);
+
+                leaf = next;
+                leafId = nextId;
+            }
+            lastKey = key;
+        }
+
+        writeNode(leaf, leafId);
+        for (int level = 0; level < spine.size(); level++) {
+            writeNode(spine.get(level), spineIds.get(level));
+        }
+        long newRoot = spine.isEmpty() ? leafId : spineIds.get(spine.size() - 1);
+        return new StatelessInsertResult(newRoot, false);
+    }
+
+    /**
+     * 오른쪽 경로의 level 노드 끝에 (분리자, 자식) 추가
+     *
+     * <p>노드가 가득 차면 마지막 자식을 새 노드로 넘겨 자식 2개짜리 노드를 시작하고
+     * (insertRecursive의 append 분할과 동일), 봉인한 노드를 기록한 뒤 상위로 분리자를
+     * 올립니다. 루트까지 가득 차면 새 루트를 만듭니다.</p>
+     *
+     * @param leftId level-1의 봉인된 노드 페이지 ID (새 루트 생성 시 왼쪽 자식)
+     */
+    private void appendChild(java.util.List<BTreeInternal> spine, java.util.List<Long> spineIds,
+                             int level, long leftId, byte[] separator, long childId) {
+        if (level == spine.size()) {
+            BTreeInternal newRoot = new BTreeInternal(pageSize, level + 1);
+            newRoot.insertChild(0, leftId);
+            newRoot.insertKey(0, separator);
+            newRoot.insertChild(1, childId);
+            spine.add(newRoot);
+            spineIds.add(allocatePageId());
+            return;
+        }
+
+        BTreeInternal node = spine.get(level);
+        if (!node.isFull()) {
+            node.insertChild(node.getKeyCount(), separator, childId);
+            return;
+        }
+
+        int lastKeyIndex = node.getKeyCount() - 1;
+        byte[] promoted = node.getKey(lastKeyIndex);
+        long movedChild = node.getChildPageId(lastKeyIndex + 1);
+        node.removeKeyAndChild(lastKeyIndex);
+
+        BTreeInternal next = new BTreeInternal(pageSize, node.getLevel());
+        next.insertChild(0, movedChild);
+        next.insertKey(0, separator);
+        next.insertChild(1, childId);
+        long nextId = allocatePageId();
+
+        long sealedId = spineIds.get(level);
+        writeNode(node, sealedId);
+        spine.set(level, next);
+        spineIds.set(level, nextId);
+        appendChild(spine, spineIds, level + 1, sealedId, promoted, nextId);
+    }
+
+    /**
+     * toKey 미만의 모든 키를 한 번에 삭제 (Stateless, Write Lock 하에서만 호출)
+     *
+     * <p>toKey를 포함하는 경로만 따라 내려가며 그 왼쪽 서브트리를 통째로 잘라내고,
+     * 경계 리프에서 남은 엔트리만 유지합니다. 잘린 뒤 underflow된 왼쪽 경로는
+     * 오른쪽 형제와 병합/재분배하므로 큐 앞부분을 대량으로 소비해도 채움률과
+     * 트리 높이가 유지됩니다. 비용은 삭제 개수와 무관하게 O(log N) 페이지입니다.</p>
+     *
+     * @param currentRoot 현재 root (스냅샷에서 획득)
+     * @param toKey 삭제 상한 (미포함)
+     * @return 삭제 결과 (새 root pageId, 삭제된 키가 있었는지 여부)
+     * @since 0.10
+     */
+    public StatelessDeleteResult deleteHeadWithRoot(long currentRoot, byte[] toKey) {
+        if (toKey == null) {
+            throw new IllegalArgumentException("Key cannot be null");
+        }
+        if (currentRoot == 0) {
+            return new StatelessDeleteResult(0, false);
+        }
+
+        BTreeNode newRoot = deleteHead(currentRoot, toKey);
+        if (newRoot == null) {
+            return new StatelessDeleteResult(currentRoot, false);
+        }
+
+        // 루트 축소: 자식이 하나뿐인 내부 노드는 건너뜀 (자식은 이미 기록됨)
+        long rootPageId = 0;
+        BTreeNode node = newRoot;
+        while (!node.isLeaf() && ((BTreeInternal) node).getChildCount() == 1) {
+            rootPageId = ((BTreeInternal) node).getChildPageId(0);
+            node = readNode(rootPageId);
+        }
+        if (node.isLeaf() && ((BTreeLeaf) node).size() == 0) {
+            return new StatelessDeleteResult(0, true);
+        }
+        if (node == newRoot) {
+            rootPageId = allocatePageId();
+            writeNode(newRoot, rootPageId);
+        }
+        return new StatelessDeleteResult(rootPageId, true);
+    }
+
+    /**
+     * toKey 미만 키 삭제 재귀 구현
+     *
+     * <p>deleteInternal과 같이 변경된 노드를 기록하지 않은 채 반환합니다.
+     * 반환된 내부 노드의 자식이 둘 이상이면 첫 자식의 underflow는 이미 해소되어
+     * 있습니다.</p>
+     *
+     * @return 변경된 노드 복사본 (미기록, 비어 있을 수 있음), 삭제할 키가 없으면 null
+     */
+    private BTreeNode deleteHead(long nodePageId, byte[] toKey) {
+        BTreeNode node = readNode(nodePageId);
+
+        if (node.isLeaf()) {
+            BTreeLeaf leaf = (BTreeLeaf) node;
+            int index = leaf.find(toKey, keyComparator);
+            int removeCount = index >= 0 ? index : -(index + 1);
+            if (removeCount == 0) {
+                return null;
+            }
+            BTreeLeaf newLeaf = new BTreeLeaf(pageSize);
+            for (int i = removeCount; i < leaf.size(); i++) {
+                newLeaf.insert(i - removeCount, leaf.getKey(i), leaf.getValueRecordId(i));
+            }
+            newLeaf.setNextLeafPageId(leaf.getNextLeafPageId());
+            return newLeaf;
+        }
+
+        BTreeInternal internal = (BTreeInternal) node;
+        int childIndex = internal.findChildIndex(toKey, keyComparator);
+        BTreeNode newChild = deleteHead(internal.getChildPageId(childIndex), toKey);
+        if (childIndex == 0 && newChild == null) {
+            return null;
+        }
+
+        // COW: 경계 자식 왼쪽의 서브트리를 통째로 제거
+        BTreeInternal newInternal = internal.copy();
+        for (int i = 0; i < childIndex; i++) {
+            long next = newInternal.getChildPageId(1);
+            newInternal.removeKeyAndChild(0);
+            newInternal.setChildPageId(0, next);
+        }
+        if (newChild == null) {
+            // 경계 자식은 그대로: 왼쪽만 잘림
+            return newInternal;
+        }
+
+        if (isUnderflow(newChild) && newInternal.getChildCount() > 1) {
+            rebalanceChild(newInternal, 0, newChild);
+            if (!newChild.isLeaf()) {
+                repairLeftSpine(newInternal);
+            }
+        } else {
+            long newChildPageId = allocatePageId();
+            writeNode(newChild, newChildPageId);
+            newInternal.setChildPageId(0, newChildPageId);
+        }
+        return newInternal;
+    }
+
+    /**
+     * 첫 자식의 왼쪽 경로에 남은 underflow 해소
+     *
+     * <p>자식이 하나뿐이던 내부 노드가 형제와 병합/재분배되면, 그 노드가 보호하지
+     * 못했던 첫 손자가 underflow 상태로 남을 수 있습니다. 이제 형제가 생겼으므로
+     * 한 단계씩 내려가며 같은 방식으로 해소합니다.</p>
+     *
+     * @param parent 첫 자식이 이미 기록된 부모 노드 (미기록, 갱신 대상)
+     */
+    private void repairLeftSpine(BTreeInternal parent) {
+        BTreeNode node = readNode(parent.getChildPageId(0));
+        if (node.isLeaf()) {
+            return;
+        }
+        BTreeInternal internal = (BTreeInternal) node;
+        if (internal.getChildCount() < 2) {
+            return;
+        }
+        BTreeNode first = readNode(internal.getChildPageId(0));
+        if (!isUnderflow(first)) {
+            return;
+        }
+
+        BTreeInternal newInternal = internal.copy();
+        rebalanceChild(newInternal, 0, first);
+        if (!first.isLeaf()) {
+            repairLeftSpine(newInternal);
+        }
+        long newPageId = allocatePageId();
+        writeNode(newInternal, newPageId);
+        parent.setChildPageId(0, newPageId);
+    }
+
+    // ==================== 페이지 순회/재배치 (온라인 컴팩션, v0.10) ====================
+
+    /**
+     * 트리가 참조하는 모든 페이지 순회 (Stateless)
+     *
+     * <p>노드 페이지 ID와 리프의 값 레코드 ID를 각각 전달합니다. 트리 구조만
+     * 따라가므로 키는 디코딩하지 않습니다.</p>
+     *
+     * @param rootPageId 루트 페이지 ID (0이면 빈 트리)
+     * @param nodePages 노드 페이지 ID 소비자
+     * @param values 리프 값 소비자 (null이면 값은 전달하지 않음)
+     * @since 0.10
+     */
+    public void forEachPageWithRoot(long rootPageId, java.util.function.LongConsumer nodePages,
+                                    java.util.function.LongConsumer values) {
+        walkWithRoot(rootPageId, pageId -> {
+            nodePages.accept(pageId);
+            return true;
+        }, values);
+    }
+
+    /**
+     * 선택한 노드만 내려가며 페이지 순회 (Stateless)
+     *
+     * <p>루트와 방문한 내부 노드의 자식 페이지 ID를 descend에 전달하고, true를
+     * 반환한 노드만 읽습니다. 읽은 리프의 값 레코드 ID는 values로 전달합니다.
+     * 커밋 사이에 바뀐 경로만 따라가는 live 페이지 집계에 사용합니다.</p>
+     *
+     * @param rootPageId 루트 페이지 ID (0이면 빈 트리)
+     * @param descend 노드 페이지 ID → 읽고 내려갈지 여부
+     * @param values 리프 값 소비자 (null이면 값은 전달하지 않음)
+     * @since 0.10
+     */
+    public void walkWithRoot(long rootPageId, java.util.function.LongPredicate descend,
+                             java.util.function.LongConsumer values) {
+        if (rootPageId == 0 || !descend.test(rootPageId)) {
+            return;
+        }
+        BTreeNode node = readNode(rootPageId);
+        if (node.isLeaf()) {
+            if (values != null) {
+                BTreeLeaf leaf = (BTreeLeaf) node;
+                for (int i = 0; i < leaf.size(); i++) {
+                    values.accept(leaf.getValueRecordId(i));
+                }
+            }
+            return;
+        }
+        BTreeInternal internal = (BTreeInternal) node;
+        for (int i = 0; i < internal.getChildCount(); i++) {
+            walkWithRoot(internal.getChildPageId(i), descend, values);
+        }
+    }
+
+    /**
+     * 경계 이상의 페이지를 경계 아래로 옮긴 트리 생성 (Stateless, Write Lock 하에서만 호출)
+     *
+     * <p>경계 이상에 있는 노드와 바뀐 자식을 가리키는 부모만 새 페이지로 복사(COW)하고,
+     * 리프 값은 valueMover로 옮깁니다. valueMover는 값이 참조하는 페이지를 모두 경계
+     * 아래로 옮긴 ID(옮길 필요가 없으면 같은 ID)를 반환해야 합니다. 예산이 소진되면 더 내려가지 않으므로
+     * 반환된 트리에는 아직 경계 이상의 페이지가 남아 있을 수 있습니다. 루트가
+     * {@link PageRelocation#isClean(long)}이 되면 트리 전체가 완료된 것입니다.</p>
+     *
+     * @param rootPageId 현재 루트 페이지 ID (0이면 빈 트리)
+     * @param relocation 재배치 작업 상태
+     * @param valueMover 값 레코드 ID → 옮긴 레코드 ID (null이면 값은 페이지 참조가 아님)
+     * @return 새 루트 페이지 ID (바뀐 것이 없으면 rootPageId)
+     * @since 0.10
+     */
+    public long relocateWithRoot(long rootPageId, com.snoworca.fxstore.storage.PageRelocation relocation,
+                                 java.util.function.LongUnaryOperator valueMover) {
+        if (rootPageId == 0 || relocation.isClean(rootPageId) || relocation.isExhausted()) {
+            return rootPageId;
+        }
+        return relocateNode(rootPageId, relocation, valueMover);
+    }
+
+    /**
+     * 서브트리 재배치 (재귀)
+     *
+     * @return 노드의 새 페이지 ID (서브트리가 완료되면 clean으로 기록)
+     */
+    private long relocateNode(long pageId, com.snoworca.fxstore.storage.PageRelocation relocation,
+                              java.util.function.LongUnaryOperator valueMover) {
+        BTreeNode node = readNode(pageId);
+        boolean changed = false;
+        boolean complete = true;
+
+        if (node.isLeaf()) {
+            BTreeLeaf leaf = (BTreeLeaf) node;
+            for (int i = 0; valueMover != null && i < leaf.size(); i++) {
+                long value = leaf.getValueRecordId(i);
+                if (relocation.isExhausted()) {
+                    complete = false;
+                    break;
+                }
+                long moved = valueMover.applyAsLong(value);
+                if (moved != value) {
+                    leaf.setValueRecordId(i, moved);
+                    changed = true;
+                }
+                complete &= !relocation.needsMove(moved);
+            }
+        } else {
+            BTreeInternal internal = (BTreeInternal) node;
+            for (int i = 0; i < internal.getChildCount(); i++) {
+                long child = internal.getChildPageId(i);
+                if (relocation.isClean(child)) {
+                    continue;
+                }
+                if (relocation.isExhausted()) {
+                    complete = false;
+                    continue;
+                }
+                long moved = relocateNode(child, relocation, valueMover);
+                if (moved != child) {
+                    internal.setChildPageId(i, moved);
+                    changed = true;
+                }
+                complete &= relocation.isClean(moved);
+            }
+        }
+
+        if (changed || relocation.needsMove(pageId)) {
+            pageId = allocatePageId();
+            writeNode(node, pageId);
+            relocation.charge();
+        }
+        if (complete) {
+            relocation.markClean(pageId);
+        }
+        return pageId;
+    }
+
     /**
      * Stateless 삽입 결과 (Phase 8)
      */
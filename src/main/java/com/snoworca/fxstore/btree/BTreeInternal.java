@@ -117,6 +117,10 @@ public class BTreeInternal implements BTreeNode {
         children.remove(keyIndex + 1);
     }
 
+    public void setKey(int index, byte[] key) {
+        keys.set(index, Arrays.copyOf(key, key.length));
+    }
+
     public void setChildPageId(int index, long childPageId) {
         children.set(index, childPageId);
     }
@@ -152,7 +156,19 @@ public class BTreeInternal implements BTreeNode {
      * Split this internal node and return SplitResult.
      */
     public SplitResult split() {
-        int mid = keys.size() / 2;
+        return splitAt(keys.size() / 2);
+    }
+
+    /**
+     * Split this internal node promoting the key at {@code mid}.
+     * Keys before it stay left, keys after it move right.
+     *
+     * @param mid index of the promoted key (0 .. keyCount-1)
+     */
+    public SplitResult splitAt(int mid) {
+        if (mid < 0 || mid >= keys.size()) {
+            throw new IllegalArgumentException("Invalid split index " + mid + " for key count " + keys.size());
+        }
         byte[] promotedKey = keys.get(mid);
 
         BTreeInternal left = new BTreeInternal(pageSize, 0, level);
@@ -179,6 +195,13 @@ public class BTreeInternal implements BTreeNode {
         return calculateSerializedSize() > pageSize - 100;
     }
 
+    /**
+     * Whether this node can be serialized into a single page.
+     */
+    public boolean fitsInPage() {
+        return calculateSerializedSize() <= pageSize;
+    }
+
     @Override
     public boolean needsSplit(int maxKeys) {
         return isFull();
@@ -189,6 +212,37 @@ public class BTreeInternal implements BTreeNode {
         return keys.size() < minKeys;
     }
 
+    /**
+     * Whether this node is below the minimum fill factor (a quarter of the page)
+     * or has degenerated to a single child.
+     */
+    public boolean isUnderflow() {
+        return keys.isEmpty() || calculateSerializedSize() < pageSize / 4;
+    }
+
+    /**
+     * Whether this node, the parent separator and the right sibling fit into
+     * a single non-full node.
+     */
+    public boolean canMergeWith(byte[] separatorKey, BTreeInternal right) {
+        int merged = calculateSerializedSize() + right.calculateSerializedSize()
+                - CHILDREN_OFFSET + 4 + separatorKey.length;
+        return merged <= pageSize - 100;
+    }
+
+    /**
+     * Merge this node with its right sibling, pulling the parent separator down.
+     */
+    public BTreeInternal merge(byte[] separatorKey, BTreeInternal right) {
+        BTreeInternal merged = copy();
+        merged.keys.add(Arrays.copyOf(separatorKey, separatorKey.length));
+        for (byte[] key : right.keys) {
+            merged.keys.add(Arrays.copyOf(key, key.length));
+        }
+        merged.children.addAll(right.children);
+        return merged;
+    }
+
     public BTreeInternal copy() {
         BTreeInternal copy = new BTreeInternal(pageSize, pageId, level);
         for (byte[] key : keys) {
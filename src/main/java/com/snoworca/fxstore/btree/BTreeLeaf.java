@@ -10,6 +10,15 @@ import java.util.List;
 /**
  * B+Tree leaf node.
  * Contains key-value pairs where value is a reference to a record.
+ *
+ * <p>Two page formats exist, identified by the byte at {@link #PAGE_FORMAT_OFFSET}:
+ * <ul>
+ *   <li>{@link #FORMAT_PLAIN}: (int keyLen, key, long recordId)*</li>
+ *   <li>{@link #FORMAT_PREFIX_COMPRESSED}: (short prefixLen, prefix) followed by
+ *       (int suffixLen, suffix, long recordId)*, where the prefix is shared by
+ *       every key in the page</li>
+ * </ul>
+ * Keys are always held in full in memory; only the page encoding differs.
  */
 public class BTreeLeaf implements BTreeNode {
 
@@ -19,11 +28,17 @@ public class BTreeLeaf implements BTreeNode {
     private static final int NEXT_LEAF_OFFSET = 36;
     private static final int DATA_START = 44;
 
+    /** Offset of the page format byte (last byte of the reserved header area). */
+    public static final int PAGE_FORMAT_OFFSET = 31;
+    public static final byte FORMAT_PLAIN = 0;
+    public static final byte FORMAT_PREFIX_COMPRESSED = 1;
+
     private long pageId;
     private final int pageSize;
     private final List<byte[]> keys;
     private final List<Long> valueRecordIds;
     private long nextLeafPageId;
+    private boolean prefixCompressed;
 
     public BTreeLeaf(int pageSize, long pageId) {
         this.pageSize = pageSize;
@@ -69,6 +84,17 @@ public class BTreeLeaf implements BTreeNode {
         valueRecordIds.set(index, valueRecordId);
     }
 
+    public boolean isPrefixCompressed() {
+        return prefixCompressed;
+    }
+
+    /**
+     * Select the page format used by {@link #serialize()} and the fill checks.
+     */
+    public void setPrefixCompressed(boolean prefixCompressed) {
+        this.prefixCompressed = prefixCompressed;
+    }
+
     public long getNextLeafPageId() {
         return nextLeafPageId;
     }
@@ -128,6 +154,15 @@ public class BTreeLeaf implements BTreeNode {
         return calculateSerializedSize() > pageSize - 100;
     }
 
+    /**
+     * Whether this leaf can be serialized into a single page.
+     * With prefix compression an inserted key can shorten the shared prefix
+     * and grow the page, so callers must check this after inserting.
+     */
+    public boolean fitsInPage() {
+        return calculateSerializedSize() <= pageSize;
+    }
+
     @Override
     public boolean needsSplit(int maxKeys) {
         return isFull();
@@ -138,6 +173,38 @@ public class BTreeLeaf implements BTreeNode {
         return keys.size() < minKeys;
     }
 
+    /**
+     * Whether this leaf is below the minimum fill factor (a quarter of the page).
+     * Underflowing leaves are merged with or borrow from a sibling on delete.
+     */
+    public boolean isUnderflow() {
+        return keys.isEmpty() || calculateSerializedSize() < pageSize / 4;
+    }
+
+    /**
+     * Whether this leaf and its right sibling fit into a single non-full leaf.
+     */
+    public boolean canMergeWith(BTreeLeaf right) {
+        if (prefixCompressed) {
+            return merge(right).calculateSerializedSize() <= pageSize - 100;
+        }
+        return calculateSerializedSize() + right.calculateSerializedSize() - DATA_START <= pageSize - 100;
+    }
+
+    /**
+     * Merge this leaf with its right sibling into a new leaf.
+     * The result takes over the right sibling's next-leaf link.
+     */
+    public BTreeLeaf merge(BTreeLeaf right) {
+        BTreeLeaf merged = copy();
+        for (int i = 0; i < right.keys.size(); i++) {
+            merged.keys.add(right.keys.get(i));
+            merged.valueRecordIds.add(right.valueRecordIds.get(i));
+        }
+        merged.nextLeafPageId = right.nextLeafPageId;
+        return merged;
+    }
+
     public BTreeLeaf copy() {
         BTreeLeaf copy = new BTreeLeaf(pageSize, pageId);
         for (int i = 0; i < keys.size(); i++) {
@@ -145,6 +212,7 @@ public class BTreeLeaf implements BTreeNode {
             copy.valueRecordIds.add(valueRecordIds.get(i));
         }
         copy.nextLeafPageId = nextLeafPageId;
+        copy.prefixCompressed = prefixCompressed;
         return copy;
     }
 
@@ -206,7 +274,20 @@ public class BTreeLeaf implements BTreeNode {
      * Split this leaf and return SplitResult.
      */
     public SplitResult split() {
-        int mid = keys.size() / 2;
+        return splitAt(prefixCompressed ? findCompressedSplitIndex() : keys.size() / 2);
+    }
+
+    /**
+     * Split this leaf at the given index: entries before {@code mid} go left,
+     * the rest go right. Append-heavy workloads split near the end so the left
+     * leaf stays nearly full.
+     *
+     * @param mid split index (1 .. size-1)
+     */
+    public SplitResult splitAt(int mid) {
+        if (mid <= 0 || mid >= keys.size()) {
+            throw new IllegalArgumentException("Invalid split index " + mid + " for size " + keys.size());
+        }
         BTreeLeaf right = new BTreeLeaf(pageSize, 0);
 
         for (int i = mid; i < keys.size(); i++) {
@@ -222,14 +303,109 @@ public class BTreeLeaf implements BTreeNode {
             left.valueRecordIds.add(valueRecordIds.get(i));
         }
 
+        left.prefixCompressed = prefixCompressed;
+        right.prefixCompressed = prefixCompressed;
         return new SplitResult(left, right, splitKey);
     }
 
+    /**
+     * Find the split index closest to the middle for which both halves fit,
+     * taking each half's own shared prefix into account.
+     * A key that breaks the shared prefix can make a plain middle split
+     * produce a half larger than a page.
+     */
+    private int findCompressedSplitIndex() {
+        int n = keys.size();
+        byte[] first = keys.get(0);
+        byte[] last = keys.get(n - 1);
+
+        // prefixLeft[i]: shared prefix of keys[0..i], prefixRight[i]: of keys[i..n-1]
+        int[] prefixLeft = new int[n];
+        int[] prefixRight = new int[n];
+        long[] lengthSum = new long[n + 1];
+        prefixLeft[0] = first.length;
+        for (int i = 1; i < n; i++) {
+            prefixLeft[i] = Math.min(prefixLeft[i - 1], commonPrefixLength(first, keys.get(i)));
+        }
+        prefixRight[n - 1] = last.length;
+        for (int i = n - 2; i >= 0; i--) {
+            prefixRight[i] = Math.min(prefixRight[i + 1], commonPrefixLength(last, keys.get(i)));
+        }
+        for (int i = 0; i < n; i++) {
+            lengthSum[i + 1] = lengthSum[i] + keys.get(i).length;
+        }
+
+        int best = -1;
+        int bestLoose = -1;
+        int mid = n / 2;
+        for (int distance = 0; distance < n; distance++) {
+            for (int candidate : new int[]{mid - distance, mid + distance}) {
+                if (candidate <= 0 || candidate >= n) {
+                    continue;
+                }
+                long leftSize = compressedSize(candidate, lengthSum[candidate], prefixLeft[candidate - 1]);
+                long rightSize = compressedSize(n - candidate, lengthSum[n] - lengthSum[candidate],
+                        prefixRight[candidate]);
+                long larger = Math.max(leftSize, rightSize);
+                if (larger <= pageSize - 100) {
+                    best = candidate;
+                    break;
+                }
+                if (bestLoose < 0 && larger <= pageSize) {
+                    bestLoose = candidate;
+                }
+            }
+            if (best >= 0) {
+                return best;
+            }
+        }
+        return bestLoose >= 0 ? bestLoose : mid;
+    }
+
+    /**
+     * Serialized size of a prefix-compressed leaf.
+     *
+     * @param count number of keys
+     * @param keyBytes total length of the keys
+     * @param prefixLength length of the prefix shared by every key
+     */
+    public static long compressedSize(int count, long keyBytes, int prefixLength) {
+        return DATA_START + 2 + prefixLength + keyBytes - (long) count * prefixLength + 12L * count;
+    }
+
+    /**
+     * Length of the prefix shared by every key in this leaf.
+     */
+    public int commonPrefixLength() {
+        if (keys.isEmpty()) {
+            return 0;
+        }
+        byte[] first = keys.get(0);
+        int prefix = first.length;
+        for (int i = 1; i < keys.size() && prefix > 0; i++) {
+            prefix = Math.min(prefix, commonPrefixLength(first, keys.get(i)));
+        }
+        return prefix;
+    }
+
+    static int commonPrefixLength(byte[] a, byte[] b) {
+        int max = Math.min(a.length, b.length);
+        int i = 0;
+        while (i < max && a[i] == b[i]) {
+            i++;
+        }
+        return i;
+    }
+
     private int calculateSerializedSize() {
         int size = DATA_START;
         for (byte[] key : keys) {
             size += 4 + key.length + 8; // keyLen + key + valueRecordId
         }
+        if (prefixCompressed) {
+            int prefix = commonPrefixLength();
+            size += 2 + prefix - keys.size() * prefix;
+        }
         return size;
     }
 
@@ -239,11 +415,27 @@ public class BTreeLeaf implements BTreeNode {
         ByteBuffer buf = ByteBuffer.wrap(page).order(ByteOrder.LITTLE_ENDIAN);
 
         // Skip header area
+        page[PAGE_FORMAT_OFFSET] = prefixCompressed ? FORMAT_PREFIX_COMPRESSED : FORMAT_PLAIN;
         buf.position(LEVEL_OFFSET);
         buf.putShort((short) 0); // level = 0 for leaf
         buf.putShort((short) keys.size());
         buf.putLong(nextLeafPageId);
 
+        if (prefixCompressed) {
+            int prefix = commonPrefixLength();
+            buf.putShort((short) prefix);
+            if (prefix > 0) {
+                buf.put(keys.get(0), 0, prefix);
+            }
+            for (int i = 0; i < keys.size(); i++) {
+                byte[] key = keys.get(i);
+                buf.putInt(key.length - prefix);
+                buf.put(key, prefix, key.length - prefix);
+                buf.putLong(valueRecordIds.get(i));
+            }
+            return page;
+        }
+
         for (int i = 0; i < keys.size(); i++) {
             byte[] key = keys.get(i);
             buf.putInt(key.length);
@@ -265,6 +457,23 @@ public class BTreeLeaf implements BTreeNode {
         BTreeLeaf leaf = new BTreeLeaf(pageSize, pageId);
         leaf.nextLeafPageId = nextLeafPageId;
 
+        if (page[PAGE_FORMAT_OFFSET] == FORMAT_PREFIX_COMPRESSED) {
+            leaf.prefixCompressed = true;
+            int prefixLen = buf.getShort() & 0xFFFF;
+            byte[] prefix = new byte[prefixLen];
+            buf.get(prefix);
+            for (int i = 0; i < count; i++) {
+                int suffixLen = buf.getInt();
+                byte[] key = new byte[prefixLen + suffixLen];
+                System.arraycopy(prefix, 0, key, 0, prefixLen);
+                buf.get(key, prefixLen, suffixLen);
+                long valueRecordId = buf.getLong();
+                leaf.keys.add(key);
+                leaf.valueRecordIds.add(valueRecordId);
+            }
+            return leaf;
+        }
+
         for (int i = 0; i < count; i++) {
             int keyLen = buf.getInt();
             byte[] key = new byte[keyLen];
@@ -23,6 +23,27 @@ public class CollectionState {
     public static final byte SEQ_ENCODER_VERSION_LEGACY = 0;
     public static final byte SEQ_ENCODER_VERSION_ORDERED = 1;
 
+    /**
+     * Deque 저장 형식 상수
+     *
+     * <ul>
+     *   <li>DEQUE_LAYOUT_BTREE (0): 시퀀스 키 BTree</li>
+     *   <li>DEQUE_LAYOUT_SEGMENT_RING (1): 고정 크기 세그먼트 체인 (v0.10+)</li>
+     * </ul>
+     */
+    public static final byte DEQUE_LAYOUT_BTREE = 0;
+    public static final byte DEQUE_LAYOUT_SEGMENT_RING = 1;
+
+    /**
+     * live 페이지 수를 모름 (v0.10 이전 데이터 또는 아직 집계하지 않은 상태)
+     */
+    public static final long LIVE_PAGES_UNKNOWN = -1L;
+
+    /**
+     * 내용을 마지막으로 바꾼 커밋을 모름 (v0.10 이전 데이터)
+     */
+    public static final long CHANGED_SEQ_NO_UNKNOWN = -1L;
+
     private final long collectionId;
     private final CollectionKind kind;
     private final CodecRef keyCodec;
@@ -30,6 +51,12 @@ public class CollectionState {
     private final long rootPageId;
     private final long count;
     private final byte seqEncoderVersion;
+    private final byte inlineElementWidth;
+    private final byte dequeLayout;
+    private final long headPosition;
+    private final long tailPosition;
+    private final long livePages;
+    private final long changedSeqNo;
 
     public CollectionState(
             long collectionId,
@@ -49,6 +76,89 @@ public class CollectionState {
             long rootPageId,
             long count,
             byte seqEncoderVersion) {
+        this(collectionId, kind, keyCodec, valueCodec, rootPageId, count, seqEncoderVersion, (byte) 0);
+    }
+
+    /**
+     * @param inlineElementWidth List 요소 인라인 폭 (0이면 별도 값 레코드)
+     * @since 0.10
+     */
+    public CollectionState(
+            long collectionId,
+            CollectionKind kind,
+            CodecRef keyCodec,
+            CodecRef valueCodec,
+            long rootPageId,
+            long count,
+            byte seqEncoderVersion,
+            byte inlineElementWidth) {
+        this(collectionId, kind, keyCodec, valueCodec, rootPageId, count, seqEncoderVersion,
+             inlineElementWidth, DEQUE_LAYOUT_BTREE, 0L, 0L);
+    }
+
+    /**
+     * @param dequeLayout Deque 저장 형식
+     * @param headPosition 세그먼트 링 head 위치 (BTree 형식이면 무시)
+     * @param tailPosition 세그먼트 링 tail 위치 (BTree 형식이면 무시)
+     * @since 0.10
+     */
+    public CollectionState(
+            long collectionId,
+            CollectionKind kind,
+            CodecRef keyCodec,
+            CodecRef valueCodec,
+            long rootPageId,
+            long count,
+            byte seqEncoderVersion,
+            byte inlineElementWidth,
+            byte dequeLayout,
+            long headPosition,
+            long tailPosition) {
+        this(collectionId, kind, keyCodec, valueCodec, rootPageId, count, seqEncoderVersion,
+             inlineElementWidth, dequeLayout, headPosition, tailPosition, LIVE_PAGES_UNKNOWN);
+    }
+
+    /**
+     * @param livePages 커밋된 상태에서 이 컬렉션이 참조하는 페이지 수
+     *                  (트리 노드, 세그먼트, 값 레코드; 모르면 {@link #LIVE_PAGES_UNKNOWN})
+     * @since 0.10
+     */
+    public CollectionState(
+            long collectionId,
+            CollectionKind kind,
+            CodecRef keyCodec,
+            CodecRef valueCodec,
+            long rootPageId,
+            long count,
+            byte seqEncoderVersion,
+            byte inlineElementWidth,
+            byte dequeLayout,
+            long headPosition,
+            long tailPosition,
+            long livePages) {
+        this(collectionId, kind, keyCodec, valueCodec, rootPageId, count, seqEncoderVersion,
+             inlineElementWidth, dequeLayout, headPosition, tailPosition, livePages, CHANGED_SEQ_NO_UNKNOWN);
+    }
+
+    /**
+     * @param changedSeqNo 내용(루트, head/tail)을 마지막으로 바꾼 커밋 seqNo
+     *                     (모르면 {@link #CHANGED_SEQ_NO_UNKNOWN})
+     * @since 0.10
+     */
+    public CollectionState(
+            long collectionId,
+            CollectionKind kind,
+            CodecRef keyCodec,
+            CodecRef valueCodec,
+            long rootPageId,
+            long count,
+            byte seqEncoderVersion,
+            byte inlineElementWidth,
+            byte dequeLayout,
+            long headPosition,
+            long tailPosition,
+            long livePages,
+            long changedSeqNo) {
         this.collectionId = collectionId;
         this.kind = kind;
         this.keyCodec = keyCodec;
@@ -56,6 +166,12 @@ public class CollectionState {
         this.rootPageId = rootPageId;
         this.count = count;
         this.seqEncoderVersion = seqEncoderVersion;
+        this.inlineElementWidth = inlineElementWidth;
+        this.dequeLayout = dequeLayout;
+        this.headPosition = headPosition;
+        this.tailPosition = tailPosition;
+        this.livePages = livePages;
+        this.changedSeqNo = changedSeqNo;
     }
     
     public long getCollectionId() {
@@ -90,6 +206,95 @@ public class CollectionState {
     public byte getSeqEncoderVersion() {
         return seqEncoderVersion;
     }
+
+    /**
+     * List 요소 인라인 폭 반환
+     *
+     * <p>0보다 크면 OST 리프 슬롯(8바이트)에 인코딩된 요소가 직접 저장되어
+     * 있고, 0이면 슬롯은 값 레코드 ID입니다.</p>
+     *
+     * @return 인라인 폭 (바이트, 0이면 인라인 아님)
+     * @since 0.10
+     */
+    public int getInlineElementWidth() {
+        return inlineElementWidth;
+    }
+
+    /**
+     * Deque 저장 형식 반환
+     *
+     * @return DEQUE_LAYOUT_BTREE (0) 또는 DEQUE_LAYOUT_SEGMENT_RING (1)
+     * @since 0.10
+     */
+    public byte getDequeLayout() {
+        return dequeLayout;
+    }
+
+    /**
+     * 세그먼트 링 Deque 여부
+     *
+     * <p>true면 rootPageId는 세그먼트 디렉토리 BTree의 루트이고, 요소는
+     * [headPosition, tailPosition) 위치의 세그먼트 슬롯에 있습니다.</p>
+     *
+     * @since 0.10
+     */
+    public boolean isSegmentRing() {
+        return dequeLayout == DEQUE_LAYOUT_SEGMENT_RING;
+    }
+
+    /**
+     * 세그먼트 링 첫 요소 위치 (포함)
+     *
+     * @since 0.10
+     */
+    public long getHeadPosition() {
+        return headPosition;
+    }
+
+    /**
+     * 세그먼트 링 마지막 요소 다음 위치 (제외)
+     *
+     * @since 0.10
+     */
+    public long getTailPosition() {
+        return tailPosition;
+    }
+
+    /**
+     * 커밋된 상태에서 이 컬렉션이 참조하는 페이지 수
+     *
+     * <p>트리 노드, 세그먼트 페이지, 값 레코드 페이지의 합입니다. 커밋마다
+     * 바뀐 경로만 비교해 갱신하므로 stats(FAST)가 파일 크기와 무관하게
+     * 정확한 live 바이트를 반환할 수 있습니다.</p>
+     *
+     * @return 페이지 수 (모르면 {@link #LIVE_PAGES_UNKNOWN})
+     * @since 0.10
+     */
+    public long getLivePages() {
+        return livePages;
+    }
+
+    /**
+     * live 페이지 수를 아는지 여부
+     *
+     * @since 0.10
+     */
+    public boolean hasLivePages() {
+        return livePages >= 0;
+    }
+
+    /**
+     * 내용(루트, head/tail)을 마지막으로 바꾼 커밋 seqNo
+     *
+     * <p>재시작한 Store가 이후 바뀌지 않은 컬렉션의 변경 스트림을 그 seqNo부터
+     * 이어 보낼 수 있게 합니다.</p>
+     *
+     * @return seqNo (모르면 {@link #CHANGED_SEQ_NO_UNKNOWN})
+     * @since 0.10
+     */
+    public long getChangedSeqNo() {
+        return changedSeqNo;
+    }
     
     /**
      * 인코딩 형식:
@@ -100,13 +305,27 @@ public class CollectionState {
      * [...-+7]: rootPageId (8바이트 LE)
      * [...-+7]: count (8바이트 LE)
      * [...]: seqEncoderVersion (1바이트, v0.7+)
+     * [...]: inlineElementWidth (1바이트, v0.10+, 0이면서 세그먼트 링이 아니면 생략)
+     * [...]: dequeLayout + headPosition + tailPosition (17바이트, v0.10+, 세그먼트 링 또는 livePages가 있을 때)
+     * [...]: livePages (8바이트 LE, v0.10+, 알 때 또는 changedSeqNo가 있을 때)
+     * [...]: changedSeqNo (8바이트 LE, v0.10+, 알 때만)
      */
     public byte[] encode() {
         byte[] keyCodecBytes = keyCodec != null ? keyCodec.encode() : new byte[0];
         byte[] valueCodecBytes = valueCodec != null ? valueCodec.encode() : new byte[0];
 
-        // +1 for seqEncoderVersion
-        int totalSize = 8 + 1 + 4 + keyCodecBytes.length + 4 + valueCodecBytes.length + 8 + 8 + 1;
+        // +1 for seqEncoderVersion, +1 for inlineElementWidth (인라인 List 또는 세그먼트 링),
+        // +17 for 세그먼트 링 필드 (인라인 폭 바이트 뒤에 오므로 그 바이트도 항상 기록)
+        // livePages는 세그먼트 링 필드 뒤에 오므로 있으면 앞의 필드도 모두 기록
+        // changedSeqNo는 livePages 뒤에 오므로 있으면 livePages(모르면 -1)도 기록
+        boolean changed = changedSeqNo >= 0;
+        boolean live = hasLivePages() || changed;
+        boolean ring = isSegmentRing() || live;
+        int totalSize = 8 + 1 + 4 + keyCodecBytes.length + 4 + valueCodecBytes.length + 8 + 8 + 1
+                + (inlineElementWidth != 0 || ring ? 1 : 0)
+                + (ring ? 1 + 8 + 8 : 0)
+                + (live ? 8 : 0)
+                + (changed ? 8 : 0);
 
         ByteBuffer buffer = ByteBuffer.allocate(totalSize);
         buffer.order(java.nio.ByteOrder.LITTLE_ENDIAN);
@@ -123,6 +342,20 @@ public class CollectionState {
         buffer.putLong(rootPageId);
         buffer.putLong(count);
         buffer.put(seqEncoderVersion);
+        if (inlineElementWidth != 0 || ring) {
+            buffer.put(inlineElementWidth);
+        }
+        if (ring) {
+            buffer.put(dequeLayout);
+            buffer.putLong(headPosition);
+            buffer.putLong(tailPosition);
+        }
+        if (live) {
+            buffer.putLong(livePages);
+        }
+        if (changed) {
+            buffer.putLong(changedSeqNo);
+        }
 
         return buffer.array();
     }
@@ -168,7 +401,37 @@ public class CollectionState {
             seqEncoderVersion = buffer.get();
         }
 
-        return new CollectionState(collectionId, kind, keyCodec, valueCodec, rootPageId, count, seqEncoderVersion);
+        // v0.10+: inlineElementWidth 읽기 (없으면 별도 값 레코드)
+        byte inlineElementWidth = 0;
+        if (buffer.hasRemaining()) {
+            inlineElementWidth = buffer.get();
+        }
+
+        // v0.10+: 세그먼트 링 필드 읽기 (없으면 BTree 형식)
+        byte dequeLayout = DEQUE_LAYOUT_BTREE;
+        long headPosition = 0L;
+        long tailPosition = 0L;
+        if (buffer.remaining() >= 1 + 8 + 8) {
+            dequeLayout = buffer.get();
+            headPosition = buffer.getLong();
+            tailPosition = buffer.getLong();
+        }
+
+        // v0.10+: livePages 읽기 (없으면 모름)
+        long livePages = LIVE_PAGES_UNKNOWN;
+        if (buffer.remaining() >= 8) {
+            livePages = buffer.getLong();
+        }
+
+        // v0.10+: changedSeqNo 읽기 (없으면 모름)
+        long changedSeqNo = CHANGED_SEQ_NO_UNKNOWN;
+        if (buffer.remaining() >= 8) {
+            changedSeqNo = buffer.getLong();
+        }
+
+        return new CollectionState(collectionId, kind, keyCodec, valueCodec, rootPageId, count,
+                seqEncoderVersion, inlineElementWidth, dequeLayout, headPosition, tailPosition, livePages,
+                changedSeqNo);
     }
     
     @Override
@@ -181,6 +444,12 @@ public class CollectionState {
                 ", rootPageId=" + rootPageId +
                 ", count=" + count +
                 ", seqEncoderVersion=" + seqEncoderVersion +
+                ", inlineElementWidth=" + inlineElementWidth +
+                ", dequeLayout=" + dequeLayout +
+                ", headPosition=" + headPosition +
+                ", tailPosition=" + tailPosition +
+                ", livePages=" + livePages +
+                ", changedSeqNo=" + changedSeqNo +
                 '}';
     }
     
@@ -190,7 +459,8 @@ public class CollectionState {
     public CollectionState withRootPageId(long newRootPageId) {
         return new CollectionState(
                 collectionId, kind, keyCodec, valueCodec,
-                newRootPageId, count, seqEncoderVersion);
+                newRootPageId, count, seqEncoderVersion, inlineElementWidth,
+                dequeLayout, headPosition, tailPosition, livePages, changedSeqNo);
     }
 
     /**
@@ -199,7 +469,8 @@ public class CollectionState {
     public CollectionState withCount(long newCount) {
         return new CollectionState(
                 collectionId, kind, keyCodec, valueCodec,
-                rootPageId, newCount, seqEncoderVersion);
+                rootPageId, newCount, seqEncoderVersion, inlineElementWidth,
+                dequeLayout, headPosition, tailPosition, livePages, changedSeqNo);
     }
 
     /**
@@ -208,7 +479,8 @@ public class CollectionState {
     public CollectionState withRootAndCount(long newRootPageId, long newCount) {
         return new CollectionState(
                 collectionId, kind, keyCodec, valueCodec,
-                newRootPageId, newCount, seqEncoderVersion);
+                newRootPageId, newCount, seqEncoderVersion, inlineElementWidth,
+                dequeLayout, headPosition, tailPosition, livePages, changedSeqNo);
     }
 
     /**
@@ -217,6 +489,45 @@ public class CollectionState {
     public CollectionState withSeqEncoderVersion(byte newSeqEncoderVersion) {
         return new CollectionState(
                 collectionId, kind, keyCodec, valueCodec,
-                rootPageId, count, newSeqEncoderVersion);
+                rootPageId, count, newSeqEncoderVersion, inlineElementWidth,
+                dequeLayout, headPosition, tailPosition, livePages, changedSeqNo);
+    }
+
+    /**
+     * 세그먼트 링 형식으로 디렉토리 루트와 head/tail 위치를 변경한 새로운 CollectionState 생성
+     *
+     * <p>count는 tailPosition - headPosition으로 함께 갱신됩니다.</p>
+     *
+     * @since 0.10
+     */
+    public CollectionState withSegmentRing(long newRootPageId, long newHeadPosition, long newTailPosition) {
+        return new CollectionState(
+                collectionId, kind, keyCodec, valueCodec,
+                newRootPageId, newTailPosition - newHeadPosition, seqEncoderVersion, inlineElementWidth,
+                DEQUE_LAYOUT_SEGMENT_RING, newHeadPosition, newTailPosition, livePages, changedSeqNo);
+    }
+
+    /**
+     * livePages를 변경한 새로운 CollectionState 생성
+     *
+     * @since 0.10
+     */
+    public CollectionState withLivePages(long newLivePages) {
+        return new CollectionState(
+                collectionId, kind, keyCodec, valueCodec,
+                rootPageId, count, seqEncoderVersion, inlineElementWidth,
+                dequeLayout, headPosition, tailPosition, newLivePages, changedSeqNo);
+    }
+
+    /**
+     * changedSeqNo를 변경한 새로운 CollectionState 생성
+     *
+     * @since 0.10
+     */
+    public CollectionState withChangedSeqNo(long newChangedSeqNo) {
+        return new CollectionState(
+                collectionId, kind, keyCodec, valueCodec,
+                rootPageId, count, seqEncoderVersion, inlineElementWidth,
+                dequeLayout, headPosition, tailPosition, livePages, newChangedSeqNo);
     }
 }
@@ -1,6 +1,8 @@
 package com.snoworca.fxstore.codec;
 
 import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.api.FxEncodeBuffer;
+import com.snoworca.fxstore.util.ByteUtils;
 
 import java.util.Arrays;
 
@@ -45,21 +47,36 @@ public final class BytesCodec implements FxCodec<byte[]> {
         return Arrays.copyOf(bytes, bytes.length);
     }
 
+    @Override
+    public void encodeTo(byte[] value, FxEncodeBuffer out) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        out.write(value);
+    }
+
+    @Override
+    public byte[] decode(byte[] bytes, int offset, int length) {
+        if (bytes == null) {
+            throw new NullPointerException("bytes");
+        }
+        return Arrays.copyOfRange(bytes, offset, offset + length);
+    }
+
     @Override
     public int compareBytes(byte[] a, byte[] b) {
+        return compareBytes(a, 0, a.length, b, 0, b.length);
+    }
+
+    @Override
+    public int compareBytes(byte[] a, int aOffset, int aLength,
+                            byte[] b, int bOffset, int bLength) {
         // Length-prefixed ordering: shorter arrays come first
-        if (a.length != b.length) {
-            return Integer.compare(a.length, b.length);
+        if (aLength != bLength) {
+            return Integer.compare(aLength, bLength);
         }
         // Same length: unsigned lexicographic
-        for (int i = 0; i < a.length; i++) {
-            int va = a[i] & 0xFF;
-            int vb = b[i] & 0xFF;
-            if (va != vb) {
-                return va - vb;
-            }
-        }
-        return 0;
+        return ByteUtils.compareUnsigned(a, aOffset, aLength, b, bOffset, bLength);
     }
 
     @Override
@@ -1,6 +1,8 @@
 package com.snoworca.fxstore.codec;
 
 import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.api.FxEncodeBuffer;
+import com.snoworca.fxstore.util.ByteUtils;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -49,13 +51,41 @@ public final class F64Codec implements FxCodec<Double> {
         return buf.getDouble();
     }
 
+    @Override
+    public void encodeTo(Double value, FxEncodeBuffer out) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        // Same bits as ByteBuffer.putDouble (raw, NaN payload preserved)
+        out.writeLongLE(Double.doubleToRawLongBits(value));
+    }
+
+    @Override
+    public Double decode(byte[] bytes, int offset, int length) {
+        if (bytes == null) {
+            throw new NullPointerException("bytes");
+        }
+        return Double.longBitsToDouble(ByteUtils.readI64LE(bytes, offset));
+    }
+
     @Override
     public int compareBytes(byte[] a, byte[] b) {
-        double va = ByteBuffer.wrap(a).order(ByteOrder.LITTLE_ENDIAN).getDouble();
-        double vb = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN).getDouble();
+        return compareBytes(a, 0, a.length, b, 0, b.length);
+    }
+
+    @Override
+    public int compareBytes(byte[] a, int aOffset, int aLength,
+                            byte[] b, int bOffset, int bLength) {
+        double va = Double.longBitsToDouble(ByteUtils.readI64LE(a, aOffset));
+        double vb = Double.longBitsToDouble(ByteUtils.readI64LE(b, bOffset));
         return Double.compare(va, vb);
     }
 
+    @Override
+    public int fixedWidth() {
+        return 8;
+    }
+
     @Override
     public boolean equalsBytes(byte[] a, byte[] b) {
         return Arrays.equals(a, b);
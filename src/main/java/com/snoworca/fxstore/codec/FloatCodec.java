@@ -1,6 +1,7 @@
 package com.snoworca.fxstore.codec;
 
 import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.util.ByteUtils;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -51,11 +52,22 @@ public final class FloatCodec implements FxCodec<Float> {
 
     @Override
     public int compareBytes(byte[] a, byte[] b) {
-        double va = ByteBuffer.wrap(a).order(ByteOrder.LITTLE_ENDIAN).getDouble();
-        double vb = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN).getDouble();
+        return compareBytes(a, 0, a.length, b, 0, b.length);
+    }
+
+    @Override
+    public int compareBytes(byte[] a, int aOffset, int aLength,
+                            byte[] b, int bOffset, int bLength) {
+        double va = Double.longBitsToDouble(ByteUtils.readI64LE(a, aOffset));
+        double vb = Double.longBitsToDouble(ByteUtils.readI64LE(b, bOffset));
         return Double.compare(va, vb);
     }
 
+    @Override
+    public int fixedWidth() {
+        return 8;
+    }
+
     @Override
     public boolean equalsBytes(byte[] a, byte[] b) {
         return Arrays.equals(a, b);
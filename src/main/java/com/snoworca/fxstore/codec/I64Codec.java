@@ -1,6 +1,8 @@
 package com.snoworca.fxstore.codec;
 
 import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.api.FxEncodeBuffer;
+import com.snoworca.fxstore.util.ByteUtils;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -49,11 +51,36 @@ public final class I64Codec implements FxCodec<Long> {
         return buf.getLong();
     }
 
+    @Override
+    public void encodeTo(Long value, FxEncodeBuffer out) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        out.writeLongLE(value);
+    }
+
+    @Override
+    public Long decode(byte[] bytes, int offset, int length) {
+        if (bytes == null) {
+            throw new NullPointerException("bytes");
+        }
+        return ByteUtils.readI64LE(bytes, offset);
+    }
+
     @Override
     public int compareBytes(byte[] a, byte[] b) {
-        long va = ByteBuffer.wrap(a).order(ByteOrder.LITTLE_ENDIAN).getLong();
-        long vb = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN).getLong();
-        return Long.compare(va, vb);
+        return compareBytes(a, 0, a.length, b, 0, b.length);
+    }
+
+    @Override
+    public int compareBytes(byte[] a, int aOffset, int aLength,
+                            byte[] b, int bOffset, int bLength) {
+        return Long.compare(ByteUtils.readI64LE(a, aOffset), ByteUtils.readI64LE(b, bOffset));
+    }
+
+    @Override
+    public int fixedWidth() {
+        return 8;
     }
 
     @Override
@@ -1,6 +1,7 @@
 package com.snoworca.fxstore.codec;
 
 import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.util.ByteUtils;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -54,9 +55,18 @@ public final class ShortCodec implements FxCodec<Short> {
 
     @Override
     public int compareBytes(byte[] a, byte[] b) {
-        long va = ByteBuffer.wrap(a).order(ByteOrder.LITTLE_ENDIAN).getLong();
-        long vb = ByteBuffer.wrap(b).order(ByteOrder.LITTLE_ENDIAN).getLong();
-        return Long.compare(va, vb);
+        return compareBytes(a, 0, a.length, b, 0, b.length);
+    }
+
+    @Override
+    public int compareBytes(byte[] a, int aOffset, int aLength,
+                            byte[] b, int bOffset, int bLength) {
+        return Long.compare(ByteUtils.readI64LE(a, aOffset), ByteUtils.readI64LE(b, bOffset));
+    }
+
+    @Override
+    public int fixedWidth() {
+        return 8;
     }
 
     @Override
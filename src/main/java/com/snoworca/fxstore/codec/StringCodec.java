@@ -1,6 +1,8 @@
 package com.snoworca.fxstore.codec;
 
 import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.api.FxEncodeBuffer;
+import com.snoworca.fxstore.util.ByteUtils;
 
 import java.nio.charset.StandardCharsets;
 import java.util.Arrays;
@@ -46,16 +48,38 @@ public final class StringCodec implements FxCodec<String> {
     }
 
     @Override
-    public int compareBytes(byte[] a, byte[] b) {
-        int minLen = Math.min(a.length, b.length);
-        for (int i = 0; i < minLen; i++) {
-            int va = a[i] & 0xFF;
-            int vb = b[i] & 0xFF;
-            if (va != vb) {
-                return va - vb;
-            }
+    public void encodeTo(String value, FxEncodeBuffer out) {
+        if (value == null) {
+            throw new NullPointerException("value");
+        }
+        out.writeUtf8(value);
+    }
+
+    @Override
+    public String decode(byte[] bytes, int offset, int length) {
+        if (bytes == null) {
+            throw new NullPointerException("bytes");
         }
-        return Integer.compare(a.length, b.length);
+        return new String(bytes, offset, length, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int compareBytes(byte[] a, byte[] b) {
+        return ByteUtils.compareUnsigned(a, b);
+    }
+
+    @Override
+    public int compareBytes(byte[] a, int aOffset, int aLength,
+                            byte[] b, int bOffset, int bLength) {
+        return ByteUtils.compareUnsigned(a, aOffset, aLength, b, bOffset, bLength);
+    }
+
+    /**
+     * UTF-8 bytes order as unsigned lexicographic bytes.
+     */
+    @Override
+    public boolean isByteComparable() {
+        return true;
     }
 
     @Override
@@ -5,11 +5,15 @@ import com.snoworca.fxstore.btree.BTreeCursor;
 import com.snoworca.fxstore.api.FxCodec;
 import com.snoworca.fxstore.api.FxErrorCode;
 import com.snoworca.fxstore.api.FxException;
+import com.snoworca.fxstore.catalog.CollectionState;
 import com.snoworca.fxstore.core.CodecUpgradeContext;
 import com.snoworca.fxstore.core.FxStoreImpl;
 
 import java.util.*;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
 
 /**
  * BTree 기반 Deque 구현
@@ -24,6 +28,10 @@ import java.util.Objects;
  * - OrderedSeqEncoder: 바이트 순서 = 논리적 순서 (INV-DQ1)
  * - peekFirst/peekLast O(log n) 지원
  *
+ * <p>v0.10 세그먼트 링 형식({@link SegmentRing}):
+ * - headSeq/tailSeq가 세그먼트 슬롯 위치 [head, tail)를 나타냄
+ * - push/pop이 트리 경로 COW 없이 슬롯 단위로 처리됨
+ *
  * <p>SOLID 준수:
  * - SRP: Deque 연산만 담당
  * - DIP: BTree, FxCodec, SeqEncoder에 의존
@@ -51,6 +59,15 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
     private volatile long headSeq; // 앞쪽 시퀀스 (감소)
     private volatile long tailSeq; // 뒤쪽 시퀀스 (증가)
 
+    /**
+     * 세그먼트 링 엔진 (v0.10, BTree 형식이면 null)
+     *
+     * <p>null이 아니면 headSeq/tailSeq는 세그먼트 슬롯 위치이고 rootPageId는
+     * 세그먼트 디렉토리의 루트입니다. 마이그레이션 시 {@link #convertToSegmentRingUnlocked()}로
+     * 설정됩니다.</p>
+     */
+    private volatile SegmentRing ring;
+
     /**
      * IMP-003: 시퀀스 오버플로우 임계값
      *
@@ -60,6 +77,19 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
      */
     private static final long OVERFLOW_THRESHOLD = Long.MAX_VALUE / 100;
 
+    /**
+     * 블로킹 소비자 대기용 락 (v0.10)
+     *
+     * <p>스토어 Write Lock(StampedLock)은 조건 변수를 지원하지 않으므로 별도로 둡니다.
+     * j.u.c 락은 LockSupport로 파킹하므로 가상 스레드도 캐리어 스레드를 점유하지
+     * 않고 대기합니다. Write Lock을 보유한 채 이 락을 기다리는 경로는 없습니다.</p>
+     */
+    private final ReentrantLock waitLock = new ReentrantLock();
+    private final Condition notEmpty = waitLock.newCondition();
+
+    /** 대기 중인 소비자 수 (대기자가 없으면 생산자는 signal을 건너뜀) */
+    private volatile int waitingConsumers;
+
     /**
      * 생성자 (기본: LegacySeqEncoder for backward compatibility)
      *
@@ -105,6 +135,27 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
         this.seqEncoder = seqEncoder != null ? seqEncoder : OrderedSeqEncoder.getInstance();
     }
 
+    /**
+     * 생성자 (세그먼트 링 형식)
+     *
+     * @param store FxStore 구현
+     * @param collectionId 컬렉션 ID
+     * @param elementCodec 원소 코덱
+     * @param headPosition 커밋된 head 위치
+     * @param tailPosition 커밋된 tail 위치
+     * @param elementUpgradeContext 원소 업그레이드 컨텍스트 (null 가능)
+     * @param ring 세그먼트 링 엔진
+     * @since 0.10
+     */
+    public FxDequeImpl(FxStoreImpl store, long collectionId,
+                       FxCodec<E> elementCodec, long headPosition, long tailPosition,
+                       CodecUpgradeContext elementUpgradeContext,
+                       SegmentRing ring) {
+        this(store, collectionId, elementCodec, headPosition, tailPosition,
+             elementUpgradeContext, OrderedSeqEncoder.getInstance());
+        this.ring = ring;
+    }
+
     // ==================== FxCollection 구현 ====================
 
     @Override
@@ -161,11 +212,14 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
         this.seqEncoder = encoder;
     }
 
-    private byte[] encodeElement(E element) {
+    /**
+     * 요소를 값 레코드로 작성 (스레드 로컬 버퍼에 직접 인코딩)
+     */
+    private long writeElement(E element) {
         if (element == null) {
             throw new NullPointerException("Element cannot be null");
         }
-        return elementCodec.encode(element);
+        return store.writeValueRecord(elementCodec, element);
     }
 
     private E decodeElement(byte[] bytes) {
@@ -176,6 +230,18 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
         return elementCodec.decode(bytes);
     }
 
+    /**
+     * 값 레코드를 읽어 요소로 디코딩
+     *
+     * <p>업그레이드가 필요 없으면 스레드 로컬 버퍼에서 바로 디코딩합니다.</p>
+     */
+    private E readElement(long valueRecordId) {
+        if (elementUpgradeContext != null && elementUpgradeContext.isUpgradeNeeded()) {
+            return decodeElement(store.readValueRecord(valueRecordId));
+        }
+        return store.readValueRecord(valueRecordId, elementCodec);
+    }
+
     /**
      * 현재 스냅샷에서 이 컬렉션의 root page ID를 가져옵니다.
      * Wait-free read를 위해 snapshot을 통해 접근합니다.
@@ -201,14 +267,310 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
         }
     }
 
+    // ==================== 세그먼트 링 (v0.10) ====================
+
+    /**
+     * 세그먼트 링 형식 여부
+     *
+     * @since 0.10
+     */
+    public boolean isSegmentRing() {
+        return ring != null;
+    }
+
+    /**
+     * 현재 스냅샷의 세그먼트 링 상태 (BTree 형식이면 null)
+     *
+     * <p>Wait-free 읽기용: 디렉토리 root와 head/tail을 같은 스냅샷에서 얻습니다.</p>
+     */
+    private CollectionState publishedRingState() {
+        if (ring == null) {
+            return null;
+        }
+        CollectionState state = store.snapshot().getState(collectionId);
+        return state != null && state.isSegmentRing() ? state : null;
+    }
+
+    /**
+     * 세그먼트 링 상태 발행 (Write Lock 내에서)
+     *
+     * <p>디렉토리 root, head/tail 위치, count를 한 번에 발행한 뒤 AUTO 커밋합니다.</p>
+     */
+    private void publishRing(long root) {
+        CollectionState state = store.getCollectionStateById(collectionId);
+        store.updateCollectionStateAndPublish(collectionId, state.withSegmentRing(root, headSeq, tailSeq));
+        store.commitIfAuto();
+    }
+
+    /**
+     * 세그먼트 링 뒤쪽에 값 레코드 일괄 추가 (Write Lock 내에서)
+     */
+    private void ringAppend(long[] valueRecordIds) {
+        long root = ring.setRange(getBTree(), getCurrentRootPageId(), tailSeq, valueRecordIds);
+        tailSeq += valueRecordIds.length;
+        publishRing(root);
+    }
+
+    /**
+     * 세그먼트 링 앞쪽에서 count개 제거 (Write Lock 내에서)
+     *
+     * <p>head가 세그먼트 경계를 넘으면 소비된 세그먼트를 디렉토리에서 제거합니다.</p>
+     */
+    private List<E> ringPollFirst(int count) {
+        BTree directory = getBTree();
+        long root = getCurrentRootPageId();
+        long[] valueRecordIds = ring.getRange(directory, root, headSeq, headSeq + count);
+
+        List<E> elements = new ArrayList<>(count);
+        for (long valueRecordId : valueRecordIds) {
+            elements.add(readElement(valueRecordId));
+        }
+
+        long newHeadSeq = headSeq + count;
+        if (ring.segmentOf(newHeadSeq) != ring.segmentOf(headSeq)) {
+            root = ring.releaseBefore(directory, root, newHeadSeq);
+        }
+        headSeq = newHeadSeq;
+        publishRing(root);
+        return elements;
+    }
+
+    /**
+     * 스냅샷 상태의 모든 요소 (앞쪽부터)
+     */
+    private List<E> ringElements(CollectionState state) {
+        List<E> elements = new ArrayList<>();
+        if (state.getHeadPosition() >= state.getTailPosition()) {
+            return elements;
+        }
+        long[] valueRecordIds = ring.getRange(
+            getBTree(), state.getRootPageId(), state.getHeadPosition(), state.getTailPosition());
+        for (long valueRecordId : valueRecordIds) {
+            elements.add(readElement(valueRecordId));
+        }
+        return elements;
+    }
+
+    /**
+     * 남길 요소만으로 세그먼트 링 재구성 (Write Lock 내에서)
+     *
+     * <p>값 레코드는 그대로 재사용하고, 어떤 상태도 참조하지 않은 새 위치부터
+     * 빈 디렉토리에 채우므로 기존 세그먼트는 건드리지 않습니다.</p>
+     *
+     * @param keep 위치별 유지 여부 (head부터)
+     * @param valueRecordIds 위치별 값 레코드 ID (head부터)
+     */
+    private void ringRebuild(boolean[] keep, long[] valueRecordIds) {
+        int kept = 0;
+        for (boolean k : keep) {
+            if (k) {
+                kept++;
+            }
+        }
+        long[] retained = new long[kept];
+        int index = 0;
+        for (int i = 0; i < keep.length; i++) {
+            if (keep[i]) {
+                retained[index++] = valueRecordIds[i];
+            }
+        }
+
+        long from = ring.freshPosition();
+        long root = kept == 0 ? 0L : ring.setRange(getBTree(), 0L, from, retained);
+        headSeq = from;
+        tailSeq = from + kept;
+        publishRing(root);
+    }
+
+    /**
+     * 세그먼트 링에서 조건에 맞는 요소를 제거 (Write Lock 내에서)
+     *
+     * @param o 제거할 요소 (first/last 발생 제거용, retain이 null일 때)
+     * @param last true면 마지막 발생, false면 첫 번째 발생
+     * @param retain null이 아니면 이 컬렉션에 포함된 요소만 유지
+     * @return 변경되었으면 true
+     */
+    private boolean ringRemoveWhere(Object o, boolean last, Collection<?> retain) {
+        long[] valueRecordIds = ring.getRange(getBTree(), getCurrentRootPageId(), headSeq, tailSeq);
+        boolean[] keep = new boolean[valueRecordIds.length];
+        Arrays.fill(keep, true);
+
+        boolean changed = false;
+        if (retain != null) {
+            for (int i = 0; i < valueRecordIds.length; i++) {
+                if (!retain.contains(readElement(valueRecordIds[i]))) {
+                    keep[i] = false;
+                    changed = true;
+                }
+            }
+        } else {
+            int indexToRemove = -1;
+            for (int i = 0; i < valueRecordIds.length; i++) {
+                if (Objects.equals(readElement(valueRecordIds[i]), o)) {
+                    indexToRemove = i;
+                    if (!last) {
+                        break;
+                    }
+                }
+            }
+            if (indexToRemove != -1) {
+                keep[indexToRemove] = false;
+                changed = true;
+            }
+        }
+
+        if (changed) {
+            ringRebuild(keep, valueRecordIds);
+        }
+        return changed;
+    }
+
+    /**
+     * 지정된 스냅샷 상태에서 세그먼트 링의 첫/마지막 요소 조회
+     *
+     * <p>읽기 트랜잭션이 자신의 스냅샷 기준으로 조회할 때 사용합니다.</p>
+     *
+     * @param state 세그먼트 링 상태
+     * @param first true면 첫 요소, false면 마지막 요소
+     * @return 요소 또는 null (빈 경우)
+     * @since 0.10
+     */
+    public E peekSegmentRing(CollectionState state, boolean first) {
+        if (state.getHeadPosition() >= state.getTailPosition()) {
+            return null;
+        }
+        SegmentRing r = ring;
+        if (r == null) {
+            throw FxException.illegalState("Deque is not in segment ring layout");
+        }
+        long position = first ? state.getHeadPosition() : state.getTailPosition() - 1;
+        return readElement(r.get(getBTree(), state.getRootPageId(), position));
+    }
+
+    /**
+     * 지정된 스냅샷 상태의 요소를 순회하는 읽기 전용 Iterator (읽기 트랜잭션용)
+     *
+     * <p>값 레코드 ID 목록만 먼저 모으고 요소는 반환 시점에 디코딩합니다.</p>
+     * <ul>
+     *   <li>세그먼트 링: 스냅샷의 [head, tail) 위치 슬롯</li>
+     *   <li>OrderedSeqEncoder: 시퀀스 키 BTree 커서 순서 그대로</li>
+     *   <li>LegacySeqEncoder: 디코딩한 시퀀스 순으로 정렬</li>
+     * </ul>
+     *
+     * @param state 스냅샷의 컬렉션 상태
+     * @param descending true면 마지막 요소부터
+     * @return 스냅샷 Iterator
+     * @since 0.10
+     */
+    public Iterator<E> snapshotIterator(CollectionState state, boolean descending) {
+        final long[] valueRecordIds = snapshotValueRecordIds(state);
+        final int step = descending ? -1 : 1;
+        final int start = descending ? valueRecordIds.length - 1 : 0;
+        return new Iterator<E>() {
+            private int index = start;
+
+            @Override
+            public boolean hasNext() {
+                return index >= 0 && index < valueRecordIds.length;
+            }
+
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                long valueRecordId = valueRecordIds[index];
+                index += step;
+                return readElement(valueRecordId);
+            }
+        };
+    }
+
+    /**
+     * 스냅샷 상태의 값 레코드 ID (앞쪽부터)
+     */
+    private long[] snapshotValueRecordIds(CollectionState state) {
+        long rootPageId = state.getRootPageId();
+        if (state.isSegmentRing()) {
+            SegmentRing r = ring;
+            if (state.getHeadPosition() >= state.getTailPosition()) {
+                return new long[0];
+            }
+            if (r == null) {
+                throw FxException.illegalState("Deque is not in segment ring layout");
+            }
+            return r.getRange(getBTree(), rootPageId, state.getHeadPosition(), state.getTailPosition());
+        }
+        if (rootPageId == 0) {
+            return new long[0];
+        }
+
+        List<BTree.Entry> entries = new ArrayList<>();
+        BTreeCursor cursor = getBTree().cursorWithRoot(rootPageId);
+        while (cursor.hasNext()) {
+            entries.add(cursor.next());
+        }
+        final SeqEncoder encoder = seqEncoder;
+        if (!(encoder instanceof OrderedSeqEncoder)) {
+            // 레거시 인코딩은 바이트 순서가 논리 순서와 다름
+            entries.sort((a, b) -> Long.compare(encoder.decode(a.getKey()), encoder.decode(b.getKey())));
+        }
+        long[] valueRecordIds = new long[entries.size()];
+        for (int i = 0; i < valueRecordIds.length; i++) {
+            valueRecordIds[i] = entries.get(i).getValueRecordId();
+        }
+        return valueRecordIds;
+    }
+
+    /**
+     * BTree 형식 Deque를 세그먼트 링 형식으로 변환 (마이그레이션용)
+     *
+     * <p>호출자가 이미 write lock을 보유하고 있어야 합니다. 값 레코드는
+     * 재사용하며, 시퀀스 키 BTree는 참조가 끊겨 compactTo에서 회수됩니다.
+     * 커밋은 호출자가 처리합니다.</p>
+     *
+     * @since 0.10
+     */
+    public void convertToSegmentRingUnlocked() {
+        if (ring != null) {
+            return;
+        }
+
+        long currentRoot = getCurrentRootPageId();
+        BTree btree = getBTree();
+
+        // 논리 순서대로 값 레코드 수집
+        long[] valueRecordIds = new long[(int) (tailSeq - headSeq)];
+        int count = 0;
+        for (long seq = headSeq; seq < tailSeq; seq++) {
+            Long valueRecordId = btree.findWithRoot(currentRoot, encodeSeq(seq));
+            if (valueRecordId != null) {
+                valueRecordIds[count++] = valueRecordId;
+            }
+        }
+        long[] ordered = Arrays.copyOf(valueRecordIds, count);
+
+        SegmentRing newRing = new SegmentRing(
+            store.getStorage(), store.getAllocator(), store.getPageSize(), 0L, 0L);
+        long root = count == 0 ? 0L : newRing.setRange(btree, 0L, 0L, ordered);
+
+        // 엔진을 먼저 설정한 뒤 상태를 발행 (읽기 측은 발행된 상태로 형식을 판단)
+        this.ring = newRing;
+        this.seqEncoder = OrderedSeqEncoder.getInstance();
+        headSeq = 0L;
+        tailSeq = count;
+
+        CollectionState state = store.getCollectionStateById(collectionId)
+            .withSeqEncoderVersion(CollectionState.SEQ_ENCODER_VERSION_ORDERED);
+        store.updateCollectionStateAndPublish(collectionId, state.withSegmentRing(root, 0L, count));
+    }
+
     @Override
     public void addFirst(E e) {
         if (e == null) {
             throw new NullPointerException();
         }
 
-        byte[] valueBytes = encodeElement(e);
-
         // Single Writer (INV-C1): Write Lock 획득
         long stamp = store.acquireWriteLock();
         try {
@@ -219,22 +581,30 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             BTree btree = getBTree();
 
             long newHeadSeq = headSeq - 1;
-            byte[] keyBytes = encodeSeq(newHeadSeq);
-            long valueRecordId = store.writeValueRecord(valueBytes);
-
-            // COW: stateless insert
-            BTree.StatelessInsertResult result = btree.insertWithRoot(currentRoot, keyBytes, valueRecordId);
-
-            // 상태 업데이트 (Lock 내에서)
-            headSeq = newHeadSeq;
-
-            // v0.7: count도 함께 업데이트 (O(1) size 지원)
-            long newCount = tailSeq - headSeq;
-            store.updateCollectionRootCountAndPublish(collectionId, result.newRootPageId, newCount);
-            store.commitIfAuto();
+            long valueRecordId = writeElement(e);
+
+            if (ring != null) {
+                // 세그먼트 링: head 앞 슬롯 쓰기
+                long root = ring.set(btree, currentRoot, newHeadSeq, valueRecordId);
+                headSeq = newHeadSeq;
+                publishRing(root);
+            } else {
+                // COW: stateless insert
+                byte[] keyBytes = encodeSeq(newHeadSeq);
+                BTree.StatelessInsertResult result = btree.insertWithRoot(currentRoot, keyBytes, valueRecordId);
+
+                // 상태 업데이트 (Lock 내에서)
+                headSeq = newHeadSeq;
+
+                // v0.7: count도 함께 업데이트 (O(1) size 지원)
+                long newCount = tailSeq - headSeq;
+                store.updateCollectionRootCountAndPublish(collectionId, result.newRootPageId, newCount);
+                store.commitIfAuto();
+            }
         } finally {
             store.releaseWriteLock(stamp);
         }
+        signalNotEmpty();
     }
     
     @Override
@@ -250,6 +620,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
         } finally {
             store.releaseWriteLock(stamp);
         }
+        signalNotEmpty();
     }
 
     /**
@@ -270,12 +641,17 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
         // IMP-003: 오버플로우 방어 검사
         checkSequenceOverflow();
 
-        byte[] valueBytes = encodeElement(e);
+        if (ring != null) {
+            // 세그먼트 링: tail 슬롯 쓰기
+            ringAppend(new long[]{writeElement(e)});
+            return;
+        }
+
         long currentRoot = getCurrentRootPageId();
         BTree btree = getBTree();
 
         byte[] keyBytes = encodeSeq(tailSeq);
-        long valueRecordId = store.writeValueRecord(valueBytes);
+        long valueRecordId = writeElement(e);
 
         // COW: stateless insert
         BTree.StatelessInsertResult result = btree.insertWithRoot(currentRoot, keyBytes, valueRecordId);
@@ -309,6 +685,89 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
         }
     }
     
+    /**
+     * 여러 요소를 뒤쪽에 한 번에 추가합니다.
+     *
+     * <p>모든 요소를 값 레코드로 기록한 뒤 연속된 시퀀스 키로 BTree 오른쪽 끝에
+     * 일괄 추가합니다. Write Lock 획득, 스냅샷 발행, AUTO 커밋이 요소 수와 무관하게
+     * 한 번씩만 일어납니다.</p>
+     *
+     * <p>null 요소가 있으면 deque를 변경하기 전에 예외를 던집니다.</p>
+     *
+     * @param c 추가할 요소들 (컬렉션 순회 순서대로 추가)
+     * @return 요소가 하나라도 추가되었으면 true
+     * @throws NullPointerException c 또는 요소가 null인 경우
+     * @since 0.10
+     */
+    public boolean offerLastAll(Collection<? extends E> c) {
+        Object[] elements = c.toArray();
+        for (Object element : elements) {
+            if (element == null) {
+                throw new NullPointerException("Element cannot be null");
+            }
+        }
+        if (elements.length == 0) {
+            return false;
+        }
+
+        // Single Writer (INV-C1): Write Lock 획득
+        long stamp = store.acquireWriteLock();
+        try {
+            // IMP-003: 오버플로우 방어 검사
+            checkSequenceOverflow();
+
+            long[] valueRecordIds = new long[elements.length];
+            for (int i = 0; i < elements.length; i++) {
+                @SuppressWarnings("unchecked")
+                E element = (E) elements[i];
+                valueRecordIds[i] = writeElement(element);
+            }
+
+            if (ring != null) {
+                // 세그먼트 링: 연속 슬롯에 세그먼트 단위로 기록
+                ringAppend(valueRecordIds);
+            } else {
+                appendAllToBTree(valueRecordIds);
+            }
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
+        signalNotEmpty();
+        return true;
+    }
+
+    /**
+     * BTree 오른쪽 끝에 값 레코드 일괄 추가 (Write Lock 내에서)
+     */
+    private void appendAllToBTree(long[] valueRecordIds) {
+        long currentRoot = getCurrentRootPageId();
+        BTree btree = getBTree();
+
+        byte[][] keys = new byte[valueRecordIds.length][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = encodeSeq(tailSeq + i);
+        }
+
+        long root;
+        if (seqEncoder instanceof OrderedSeqEncoder) {
+            // INV-DQ1: 키 바이트 순서 = 시퀀스 순서 → 오른쪽 끝 일괄 추가
+            root = btree.appendAllWithRoot(currentRoot, keys, valueRecordIds).newRootPageId;
+        } else {
+            // Legacy 인코딩은 바이트 순서가 다르므로 키별 삽입
+            root = currentRoot;
+            for (int i = 0; i < keys.length; i++) {
+                root = btree.insertWithRoot(root, keys[i], valueRecordIds[i]).newRootPageId;
+            }
+        }
+
+        // 상태 업데이트 (Lock 내에서)
+        tailSeq += valueRecordIds.length;
+
+        long newCount = tailSeq - headSeq;
+        store.updateCollectionRootCountAndPublish(collectionId, root, newCount);
+        store.commitIfAuto();
+    }
+
     @Override
     public E removeFirst() {
         E element = pollFirst();
@@ -353,6 +812,10 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             return null;
         }
 
+        if (ring != null) {
+            return ringPollFirst(1).get(0);
+        }
+
         long currentRoot = getCurrentRootPageId();
         BTree btree = getBTree();
 
@@ -365,8 +828,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             return null;
         }
 
-        byte[] valueBytes = store.readValueRecord(valueRecordId);
-        E element = decodeElement(valueBytes);
+        E element = readElement(valueRecordId);
 
         // COW: stateless delete
         BTree.StatelessDeleteResult result = btree.deleteWithRoot(currentRoot, keyBytes);
@@ -382,6 +844,120 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
         return element;
     }
     
+    /**
+     * 첫 번째 요소를 제거하여 반환하며, 비어 있으면 요소가 추가될 때까지 대기합니다.
+     *
+     * <p>{@link java.util.concurrent.BlockingDeque#takeFirst()}와 같은 의미입니다.
+     * 생산자의 addFirst/addLast/offerLastAll은 스냅샷 발행과 Write Lock 해제 후에
+     * 대기 중인 소비자를 깨우므로, 깨어난 소비자는 항상 발행된 스냅샷을 봅니다.</p>
+     *
+     * @return 첫 번째 요소
+     * @throws InterruptedException 대기 중 인터럽트된 경우
+     * @throws FxException 대기 중 스토어가 닫힌 경우 ({@link FxErrorCode#CLOSED})
+     * @since 0.10
+     */
+    public E takeFirst() throws InterruptedException {
+        for (;;) {
+            E element = pollFirst();
+            if (element != null) {
+                return element;
+            }
+            awaitNotEmpty(Long.MAX_VALUE);
+        }
+    }
+
+    /**
+     * 첫 번째 요소를 제거하여 반환하며, 비어 있으면 지정된 시간까지 대기합니다.
+     *
+     * <p>{@link java.util.concurrent.BlockingDeque#pollFirst(long, TimeUnit)}와 같은
+     * 의미입니다.</p>
+     *
+     * @param timeout 최대 대기 시간
+     * @param unit timeout 단위
+     * @return 첫 번째 요소 또는 null (시간 초과)
+     * @throws InterruptedException 대기 중 인터럽트된 경우
+     * @throws FxException 대기 중 스토어가 닫힌 경우 ({@link FxErrorCode#CLOSED})
+     * @since 0.10
+     */
+    public E pollFirst(long timeout, TimeUnit unit) throws InterruptedException {
+        long nanos = unit.toNanos(timeout);
+        for (;;) {
+            E element = pollFirst();
+            if (element != null) {
+                return element;
+            }
+            if (nanos <= 0L) {
+                return null;
+            }
+            nanos = awaitNotEmpty(nanos);
+        }
+    }
+
+    /**
+     * deque가 비어 있지 않게 될 때까지 대기
+     *
+     * <p>대기자 수를 먼저 늘린 뒤 비어 있는지 확인하고, 생산자는 tailSeq/headSeq를
+     * 갱신한 뒤 대기자 수를 확인합니다. 둘 다 volatile이므로 어느 한쪽은 반드시
+     * 상대의 쓰기를 보게 되어 깨우기가 유실되지 않습니다.</p>
+     *
+     * @param nanos 최대 대기 시간 (나노초)
+     * @return 남은 대기 시간 (0 이하면 시간 초과)
+     */
+    private long awaitNotEmpty(long nanos) throws InterruptedException {
+        waitLock.lockInterruptibly();
+        try {
+            waitingConsumers++;
+            try {
+                while (isEmpty()) {
+                    if (store.isClosed()) {
+                        throw FxException.closed("Store is closed");
+                    }
+                    if (nanos <= 0L) {
+                        return nanos;
+                    }
+                    nanos = notEmpty.awaitNanos(nanos);
+                }
+                return nanos;
+            } finally {
+                waitingConsumers--;
+            }
+        } finally {
+            waitLock.unlock();
+        }
+    }
+
+    /**
+     * 대기 중인 소비자 깨우기 (Write Lock 해제 후 호출)
+     */
+    private void signalNotEmpty() {
+        if (waitingConsumers == 0) {
+            return;
+        }
+        waitLock.lock();
+        try {
+            notEmpty.signalAll();
+        } finally {
+            waitLock.unlock();
+        }
+    }
+
+    /**
+     * 블로킹 대기 중인 모든 소비자를 깨웁니다.
+     *
+     * <p>스토어가 닫힐 때 호출되며, 깨어난 소비자는 닫힌 스토어를 확인하고
+     * {@link FxErrorCode#CLOSED} 예외로 대기를 끝냅니다.</p>
+     *
+     * @since 0.10
+     */
+    public void wakeConsumers() {
+        waitLock.lock();
+        try {
+            notEmpty.signalAll();
+        } finally {
+            waitLock.unlock();
+        }
+    }
+
     @Override
     public E pollLast() {
         // Single Writer (INV-C1): Write Lock 획득
@@ -396,6 +972,16 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             BTree btree = getBTree();
 
             long newTailSeq = tailSeq - 1;
+
+            if (ring != null) {
+                // 세그먼트 링: tail 슬롯 읽기, 비게 된 세그먼트 제거
+                E element = readElement(ring.get(btree, currentRoot, newTailSeq));
+                long root = ring.releaseFrom(btree, currentRoot, newTailSeq);
+                tailSeq = newTailSeq;
+                publishRing(root);
+                return element;
+            }
+
             byte[] keyBytes = encodeSeq(newTailSeq);
 
             // Wait-free read within lock (stateless API)
@@ -405,8 +991,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
                 return null;
             }
 
-            byte[] valueBytes = store.readValueRecord(valueRecordId);
-            E element = decodeElement(valueBytes);
+            E element = readElement(valueRecordId);
 
             // COW: stateless delete
             BTree.StatelessDeleteResult result = btree.deleteWithRoot(currentRoot, keyBytes);
@@ -425,6 +1010,129 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
         }
     }
     
+    /**
+     * 앞에서부터 최대 n개 요소를 한 번에 제거하여 반환합니다.
+     *
+     * <p>[headSeq, headSeq + n) 키 범위를 커서로 읽은 뒤
+     * {@link BTree#deleteHeadWithRoot(long, byte[])}로 한 번에 잘라냅니다.
+     * Write Lock 획득, 스냅샷 발행, AUTO 커밋이 한 번씩만 일어납니다.</p>
+     *
+     * @param n 최대 제거 개수
+     * @return 제거된 요소 (앞쪽부터 순서대로, 비어 있으면 빈 리스트)
+     * @throws FxException n이 음수인 경우
+     * @since 0.10
+     */
+    public List<E> pollFirst(int n) {
+        if (n < 0) {
+            throw FxException.illegalArgument("n must not be negative: " + n);
+        }
+        List<E> polled = new ArrayList<>();
+        drainTo(polled, n);
+        return polled;
+    }
+
+    /**
+     * 모든 요소를 제거하여 지정된 컬렉션에 추가합니다.
+     *
+     * @param c 요소를 받을 컬렉션
+     * @return 옮긴 요소 개수
+     * @see #drainTo(Collection, int)
+     * @since 0.10
+     */
+    public int drainTo(Collection<? super E> c) {
+        return drainTo(c, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 앞에서부터 최대 maxElements개 요소를 제거하여 지정된 컬렉션에 추가합니다.
+     *
+     * <p>{@link java.util.concurrent.BlockingQueue#drainTo(Collection, int)}와 같은
+     * 의미이며, 제거는 키 범위 하나에 대한 단일 연산으로 수행됩니다. 요소는
+     * 제거가 발행된 뒤 c에 추가됩니다.</p>
+     *
+     * @param c 요소를 받을 컬렉션
+     * @param maxElements 최대 이동 개수 (0 이하면 아무것도 하지 않음)
+     * @return 옮긴 요소 개수
+     * @throws NullPointerException c가 null인 경우
+     * @throws FxException c가 이 deque인 경우
+     * @since 0.10
+     */
+    public int drainTo(Collection<? super E> c, int maxElements) {
+        Objects.requireNonNull(c, "c");
+        if (c == this) {
+            throw FxException.illegalArgument("Cannot drain a deque into itself");
+        }
+        if (maxElements <= 0) {
+            return 0;
+        }
+
+        List<E> polled;
+        // Single Writer (INV-C1): Write Lock 획득
+        long stamp = store.acquireWriteLock();
+        try {
+            polled = pollFirstUnlocked(maxElements);
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
+        c.addAll(polled);
+        return polled.size();
+    }
+
+    /**
+     * Lock 없이 앞에서부터 최대 maxElements개 요소 제거
+     *
+     * <p>호출자가 이미 write lock을 보유하고 있어야 합니다.</p>
+     *
+     * @param maxElements 최대 제거 개수 (양수)
+     * @return 제거된 요소 (앞쪽부터 순서대로)
+     */
+    private List<E> pollFirstUnlocked(int maxElements) {
+        int count = (int) Math.min(maxElements, tailSeq - headSeq);
+        if (count <= 0) {
+            return new ArrayList<>();
+        }
+
+        if (ring != null) {
+            return ringPollFirst(count);
+        }
+
+        long currentRoot = getCurrentRootPageId();
+        BTree btree = getBTree();
+
+        long newHeadSeq = headSeq + count;
+        List<E> elements = new ArrayList<>(count);
+        long root;
+        if (seqEncoder instanceof OrderedSeqEncoder) {
+            // INV-DQ1: [headSeq, newHeadSeq) 가 연속된 키 범위
+            byte[] toKey = encodeSeq(newHeadSeq);
+            BTreeCursor cursor = btree.cursorWithRoot(currentRoot, encodeSeq(headSeq), toKey, true, false);
+            while (cursor.hasNext()) {
+                elements.add(readElement(cursor.next().getValueRecordId()));
+            }
+            root = btree.deleteHeadWithRoot(currentRoot, toKey).newRootPageId;
+        } else {
+            // Legacy 인코딩은 바이트 순서가 다르므로 키별 삭제
+            root = currentRoot;
+            for (long seq = headSeq; seq < newHeadSeq; seq++) {
+                byte[] keyBytes = encodeSeq(seq);
+                Long valueRecordId = btree.findWithRoot(root, keyBytes);
+                if (valueRecordId != null) {
+                    elements.add(readElement(valueRecordId));
+                }
+                root = btree.deleteWithRoot(root, keyBytes).newRootPageId;
+            }
+        }
+
+        // 상태 업데이트 (Lock 내에서)
+        headSeq = newHeadSeq;
+
+        long newCount = tailSeq - headSeq;
+        store.updateCollectionRootCountAndPublish(collectionId, root, newCount);
+        store.commitIfAuto();
+
+        return elements;
+    }
+
     @Override
     public E getFirst() {
         E element = peekFirst();
@@ -445,6 +1153,11 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
     
     @Override
     public E peekFirst() {
+        CollectionState ringState = publishedRingState();
+        if (ringState != null) {
+            return peekSegmentRing(ringState, true);
+        }
+
         // Wait-free read (INV-C3): volatile 읽기
         long currentHeadSeq = headSeq;
         long currentTailSeq = tailSeq;
@@ -464,12 +1177,16 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             return null;
         }
 
-        byte[] valueBytes = store.readValueRecord(valueRecordId);
-        return decodeElement(valueBytes);
+        return readElement(valueRecordId);
     }
     
     @Override
     public E peekLast() {
+        CollectionState ringState = publishedRingState();
+        if (ringState != null) {
+            return peekSegmentRing(ringState, false);
+        }
+
         // Wait-free read (INV-C3): volatile 읽기
         long currentHeadSeq = headSeq;
         long currentTailSeq = tailSeq;
@@ -489,8 +1206,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             return null;
         }
 
-        byte[] valueBytes = store.readValueRecord(valueRecordId);
-        return decodeElement(valueBytes);
+        return readElement(valueRecordId);
     }
     
     /**
@@ -511,6 +1227,10 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
                 return false;
             }
 
+            if (ring != null) {
+                return ringRemoveWhere(o, false, null);
+            }
+
             long currentRoot = getCurrentRootPageId();
             BTree btree = getBTree();
 
@@ -522,8 +1242,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
                 keys.add(keyBytes);
                 Long valueRecordId = btree.findWithRoot(currentRoot, keyBytes);
                 if (valueRecordId != null) {
-                    byte[] valueBytes = store.readValueRecord(valueRecordId);
-                    elements.add(decodeElement(valueBytes));
+                    elements.add(readElement(valueRecordId));
                 }
             }
 
@@ -556,8 +1275,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             for (int i = 0; i < elements.size(); i++) {
                 if (i != indexToRemove) {
                     byte[] keyBytes = encodeSeq(tailSeq);
-                    byte[] valueBytes = encodeElement(elements.get(i));
-                    long valueRecordId = store.writeValueRecord(valueBytes);
+                    long valueRecordId = writeElement(elements.get(i));
                     BTree.StatelessInsertResult result = btree.insertWithRoot(root, keyBytes, valueRecordId);
                     root = result.newRootPageId;
                     tailSeq++;
@@ -592,6 +1310,10 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
                 return false;
             }
 
+            if (ring != null) {
+                return ringRemoveWhere(o, true, null);
+            }
+
             long currentRoot = getCurrentRootPageId();
             BTree btree = getBTree();
 
@@ -603,8 +1325,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
                 keys.add(keyBytes);
                 Long valueRecordId = btree.findWithRoot(currentRoot, keyBytes);
                 if (valueRecordId != null) {
-                    byte[] valueBytes = store.readValueRecord(valueRecordId);
-                    elements.add(decodeElement(valueBytes));
+                    elements.add(readElement(valueRecordId));
                 }
             }
 
@@ -636,8 +1357,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             for (int i = 0; i < elements.size(); i++) {
                 if (i != indexToRemove) {
                     byte[] keyBytes = encodeSeq(tailSeq);
-                    byte[] valueBytes = encodeElement(elements.get(i));
-                    long valueRecordId = store.writeValueRecord(valueBytes);
+                    long valueRecordId = writeElement(elements.get(i));
                     BTree.StatelessInsertResult result = btree.insertWithRoot(root, keyBytes, valueRecordId);
                     root = result.newRootPageId;
                     tailSeq++;
@@ -706,6 +1426,11 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             return false;
         }
 
+        CollectionState ringState = publishedRingState();
+        if (ringState != null) {
+            return ringElements(ringState).contains(o);
+        }
+
         // Wait-free read (INV-C3)
         long currentHeadSeq = headSeq;
         long currentTailSeq = tailSeq;
@@ -716,8 +1441,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             byte[] keyBytes = encodeSeq(seq);
             Long valueRecordId = btree.findWithRoot(rootPageId, keyBytes);
             if (valueRecordId != null) {
-                byte[] valueBytes = store.readValueRecord(valueRecordId);
-                E element = decodeElement(valueBytes);
+                E element = readElement(valueRecordId);
                 if (o.equals(element)) {
                     return true;
                 }
@@ -738,6 +1462,11 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
     
     @Override
     public Iterator<E> iterator() {
+        CollectionState ringState = publishedRingState();
+        if (ringState != null) {
+            return ringElements(ringState).iterator();
+        }
+
         // Wait-free read (INV-C3): 스냅샷 기반 iterator
         long currentHeadSeq = headSeq;
         long currentTailSeq = tailSeq;
@@ -749,8 +1478,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             byte[] keyBytes = encodeSeq(seq);
             Long valueRecordId = btree.findWithRoot(rootPageId, keyBytes);
             if (valueRecordId != null) {
-                byte[] valueBytes = store.readValueRecord(valueRecordId);
-                elements.add(decodeElement(valueBytes));
+                elements.add(readElement(valueRecordId));
             }
         }
         return elements.iterator();
@@ -772,19 +1500,24 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
      */
     @Override
     public Iterator<E> descendingIterator() {
-        // Wait-free read (INV-C3): 스냅샷 기반 iterator
-        long currentHeadSeq = headSeq;
-        long currentTailSeq = tailSeq;
-        long rootPageId = getCurrentRootPageId();
-        BTree btree = getBTree();
+        CollectionState ringState = publishedRingState();
+        List<E> elements;
+        if (ringState != null) {
+            elements = ringElements(ringState);
+        } else {
+            // Wait-free read (INV-C3): 스냅샷 기반 iterator
+            long currentHeadSeq = headSeq;
+            long currentTailSeq = tailSeq;
+            long rootPageId = getCurrentRootPageId();
+            BTree btree = getBTree();
 
-        List<E> elements = new ArrayList<>();
-        for (long seq = currentHeadSeq; seq < currentTailSeq; seq++) {
-            byte[] keyBytes = encodeSeq(seq);
-            Long valueRecordId = btree.findWithRoot(rootPageId, keyBytes);
-            if (valueRecordId != null) {
-                byte[] valueBytes = store.readValueRecord(valueRecordId);
-                elements.add(decodeElement(valueBytes));
+            elements = new ArrayList<>();
+            for (long seq = currentHeadSeq; seq < currentTailSeq; seq++) {
+                byte[] keyBytes = encodeSeq(seq);
+                Long valueRecordId = btree.findWithRoot(rootPageId, keyBytes);
+                if (valueRecordId != null) {
+                    elements.add(readElement(valueRecordId));
+                }
             }
         }
         Collections.reverse(elements);
@@ -821,15 +1554,14 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
         return true;
     }
     
+    /**
+     * {@inheritDoc}
+     *
+     * <p>{@link #offerLastAll(Collection)}로 한 번의 일괄 추가와 커밋으로 처리합니다.</p>
+     */
     @Override
     public boolean addAll(Collection<? extends E> c) {
-        boolean modified = false;
-        for (E e : c) {
-            if (add(e)) {
-                modified = true;
-            }
-        }
-        return modified;
+        return offerLastAll(c);
     }
     
     @Override
@@ -864,6 +1596,10 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
                 return false;
             }
 
+            if (ring != null) {
+                return ringRemoveWhere(null, false, c);
+            }
+
             long currentRoot = getCurrentRootPageId();
             BTree btree = getBTree();
 
@@ -875,8 +1611,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
                 keys.add(keyBytes);
                 Long valueRecordId = btree.findWithRoot(currentRoot, keyBytes);
                 if (valueRecordId != null) {
-                    byte[] valueBytes = store.readValueRecord(valueRecordId);
-                    elements.add(decodeElement(valueBytes));
+                    elements.add(readElement(valueRecordId));
                 }
             }
 
@@ -907,8 +1642,7 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
             // 유지할 요소만 다시 추가 (COW)
             for (E element : toRetain) {
                 byte[] keyBytes = encodeSeq(tailSeq);
-                byte[] valueBytes = encodeElement(element);
-                long valueRecordId = store.writeValueRecord(valueBytes);
+                long valueRecordId = writeElement(element);
                 BTree.StatelessInsertResult result = btree.insertWithRoot(root, keyBytes, valueRecordId);
                 root = result.newRootPageId;
                 tailSeq++;
@@ -933,6 +1667,14 @@ public class FxDequeImpl<E> implements Deque<E>, FxCollection {
                 return; // 이미 비어있음
             }
 
+            if (ring != null) {
+                // 세그먼트 링: 디렉토리를 통째로 버리고 새 위치에서 다시 시작
+                headSeq = ring.freshPosition();
+                tailSeq = headSeq;
+                publishRing(0L);
+                return;
+            }
+
             long currentRoot = getCurrentRootPageId();
             BTree btree = getBTree();
 
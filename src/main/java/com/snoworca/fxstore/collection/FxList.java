@@ -3,9 +3,12 @@ package com.snoworca.fxstore.collection;
 import com.snoworca.fxstore.api.FxCodec;
 import com.snoworca.fxstore.core.CodecUpgradeContext;
 import com.snoworca.fxstore.core.FxStoreImpl;
+import com.snoworca.fxstore.core.ReaderPin;
 import com.snoworca.fxstore.ost.OST;
+import com.snoworca.fxstore.ost.OSTCursor;
 
 import java.util.*;
+import java.util.function.UnaryOperator;
 
 /**
  * FxStore List 구현.
@@ -15,9 +18,12 @@ import java.util.*;
  * <p>주요 연산 복잡도:</p>
  * <ul>
  *   <li>get(index): O(log n)</li>
- *   <li>add(element): O(log n)</li>
+ *   <li>add(element): O(log n) - 오른쪽 끝 경로 캐시로 페이지 읽기 없음</li>
  *   <li>add(index, element): O(log n)</li>
  *   <li>remove(index): O(log n)</li>
+ *   <li>addAll(index, c): O(m + log n) - 리프 단위 일괄 삽입</li>
+ *   <li>removeRange / subList(from, to).clear(): O(log n) - 구간 서브트리 분리</li>
+ *   <li>sort / replaceAll: O(n log n) / O(n) - OST를 한 번에 재구성</li>
  *   <li>size(): O(1)</li>
  * </ul>
  *
@@ -57,6 +63,15 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
     private final RecordStore recordStore;
     private final CodecUpgradeContext elementUpgradeContext;
 
+    /**
+     * {@link #sort(Comparator)}가 한 번에 디코딩해 메모리에서 정렬하는 최대 요소 수.
+     * 이보다 긴 리스트는 run 단위로 정렬한 뒤 병합합니다.
+     */
+    static final int DEFAULT_SORT_RUN_SIZE = 64 * 1024;
+
+    /** 정렬 run 크기 (테스트에서 조정) */
+    int sortRunSize = DEFAULT_SORT_RUN_SIZE;
+
     /**
      * FxList 생성자 (동시성 지원).
      *
@@ -150,6 +165,18 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
         return codec.decode(data);
     }
 
+    /**
+     * 레코드를 읽어 요소로 디코딩
+     *
+     * <p>업그레이드가 필요 없으면 RecordStore가 버퍼에서 바로 디코딩하도록 위임합니다.</p>
+     */
+    private E readElement(long recordId) {
+        if (elementUpgradeContext != null && elementUpgradeContext.isUpgradeNeeded()) {
+            return decodeElement(recordStore.readRecord(recordId));
+        }
+        return recordStore.readRecord(recordId, codec);
+    }
+
     // ==================== Read 연산 (Wait-free) ====================
 
     @Override
@@ -176,8 +203,7 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
         }
 
         long recordId = ost.getWithRoot(rootPageId, index);
-        byte[] data = recordStore.readRecord(recordId);
-        return decodeElement(data);
+        return readElement(recordId);
     }
 
     // ==================== Write 연산 (Single Writer) ====================
@@ -188,8 +214,6 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
             throw new NullPointerException("Element cannot be null");
         }
 
-        byte[] encoded = codec.encode(element);
-
         if (!isConcurrencyEnabled()) {
             // 하위 호환: 기존 로직
             int currentSize = ost.size();
@@ -201,7 +225,7 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
             E oldValue = get(index);
 
             // 새 레코드 작성
-            long newRecordId = recordStore.writeRecord(encoded);
+            long newRecordId = recordStore.writeRecord(codec, element);
 
             // OST 업데이트 (제거 후 삽입)
             long oldRecordId = ost.get(index);
@@ -227,11 +251,10 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
 
             // 기존 값 읽기
             long oldRecordId = ost.getWithRoot(currentRoot, index);
-            byte[] oldData = recordStore.readRecord(oldRecordId);
-            E oldElement = decodeElement(oldData);
+            E oldElement = readElement(oldRecordId);
 
             // 새 레코드 작성
-            long newRecordId = recordStore.writeRecord(encoded);
+            long newRecordId = recordStore.writeRecord(codec, element);
 
             // COW: remove + insert
             OST.StatelessRemoveResult removeResult = ost.removeWithRoot(currentRoot, index);
@@ -248,10 +271,41 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
         }
     }
 
+    /**
+     * 리스트 끝에 요소를 추가합니다.
+     *
+     * <p>인덱스 기반 삽입 대신 OST의 오른쪽 끝 append 경로를 사용하므로
+     * 연속 추가 시 크기 계산과 경로 탐색을 위한 페이지 읽기가 없습니다.</p>
+     */
     @Override
     public boolean add(E element) {
-        add(size(), element);
-        return true;
+        if (element == null) {
+            throw new NullPointerException("Element cannot be null");
+        }
+
+        if (!isConcurrencyEnabled()) {
+            // 하위 호환: 기존 로직
+            long recordId = recordStore.writeRecord(codec, element);
+            ost.append(recordId);
+            return true;
+        }
+
+        // Single Writer (INV-C1): Write Lock 획득
+        long stamp = store.acquireWriteLock();
+        try {
+            long currentRoot = getCurrentRootPageId();
+            long recordId = recordStore.writeRecord(codec, element);
+
+            // COW: stateless append
+            OST.StatelessInsertResult result = ost.appendWithRoot(currentRoot, recordId);
+
+            // Atomic snapshot switch (INV-C4)
+            store.updateCollectionRootAndPublish(collectionId, result.newRootPageId);
+            store.commitIfAuto();
+            return true;
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
     }
 
     @Override
@@ -260,8 +314,6 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
             throw new NullPointerException("Element cannot be null");
         }
 
-        byte[] encoded = codec.encode(element);
-
         if (!isConcurrencyEnabled()) {
             // 하위 호환: 기존 로직
             int currentSize = ost.size();
@@ -270,7 +322,7 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
                     "Index " + index + " out of bounds for insert (size " + currentSize + ")");
             }
 
-            long recordId = recordStore.writeRecord(encoded);
+            long recordId = recordStore.writeRecord(codec, element);
             ost.insert(index, recordId);
             return;
         }
@@ -286,7 +338,7 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
                     "Index " + index + " out of bounds for insert (size " + currentSize + ")");
             }
 
-            long recordId = recordStore.writeRecord(encoded);
+            long recordId = recordStore.writeRecord(codec, element);
 
             // COW: stateless insert
             OST.StatelessInsertResult result = ost.insertWithRoot(currentRoot, index, recordId);
@@ -329,8 +381,7 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
 
             // 먼저 값을 읽음
             long recordId = ost.getWithRoot(currentRoot, index);
-            byte[] data = recordStore.readRecord(recordId);
-            E element = decodeElement(data);
+            E element = readElement(recordId);
 
             // COW: stateless remove
             OST.StatelessRemoveResult result = ost.removeWithRoot(currentRoot, index);
@@ -346,12 +397,84 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
     }
 
     @Override
-    public void clear() {
+    public boolean addAll(Collection<? extends E> c) {
+        return addAll(size(), c);
+    }
+
+    /**
+     * 컬렉션의 모든 요소를 index 위치에 순서대로 삽입합니다.
+     *
+     * <p>요소 레코드를 모두 기록한 뒤 OST에 리프 단위로 한 번에 이어 붙이므로,
+     * 잠금·스냅샷 발행·자동 커밋이 요소 수와 무관하게 한 번씩만 일어납니다.</p>
+     *
+     * @throws NullPointerException 컬렉션에 null 요소가 있는 경우 (아무것도 삽입되지 않음)
+     */
+    @Override
+    public boolean addAll(int index, Collection<? extends E> c) {
+        Object[] elements = c.toArray();
+        for (Object element : elements) {
+            if (element == null) {
+                throw new NullPointerException("Element cannot be null");
+            }
+        }
+
         if (!isConcurrencyEnabled()) {
             // 하위 호환: 기존 로직
-            while (size() > 0) {
-                remove(0);
+            int currentSize = ost.size();
+            if (index < 0 || index > currentSize) {
+                throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for insert (size " + currentSize + ")");
             }
+            if (elements.length == 0) {
+                return false;
+            }
+
+            ost.insertAll(index, writeRecords(elements));
+            return true;
+        }
+
+        // Single Writer (INV-C1): Write Lock 획득
+        long stamp = store.acquireWriteLock();
+        try {
+            long currentRoot = getCurrentRootPageId();
+            int currentSize = ost.sizeWithRoot(currentRoot);
+
+            if (index < 0 || index > currentSize) {
+                throw new IndexOutOfBoundsException(
+                    "Index " + index + " out of bounds for insert (size " + currentSize + ")");
+            }
+            if (elements.length == 0) {
+                return false;
+            }
+
+            long[] recordIds = writeRecords(elements);
+
+            // COW: stateless bulk insert
+            OST.StatelessInsertResult result = ost.insertAllWithRoot(currentRoot, index, recordIds);
+
+            // Atomic snapshot switch (INV-C4)
+            store.updateCollectionRootAndPublish(collectionId, result.newRootPageId);
+            store.commitIfAuto();
+            return true;
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private long[] writeRecords(Object[] elements) {
+        long[] recordIds = new long[elements.length];
+        for (int i = 0; i < elements.length; i++) {
+            recordIds[i] = recordStore.writeRecord(codec, (E) elements[i]);
+        }
+        return recordIds;
+    }
+
+    @Override
+    public void clear() {
+        if (!isConcurrencyEnabled()) {
+            // 하위 호환: 기존 로직
+            removeRange(0, size());
             return;
         }
 
@@ -365,21 +488,267 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
                 return; // 이미 비어있음
             }
 
-            // 모든 요소 순차 삭제 (COW) - 역순으로 삭제
-            long root = currentRoot;
-            for (int i = currentSize - 1; i >= 0; i--) {
-                OST.StatelessRemoveResult result = ost.removeWithRoot(root, i);
-                root = result.newRootPageId;
+            // COW: 전체 구간 분리 (빈 트리)
+            long newRoot = ost.removeRangeWithRoot(currentRoot, 0, currentSize);
+
+            // Atomic snapshot switch (INV-C4)
+            store.updateCollectionRootAndPublish(collectionId, newRoot);
+            store.commitIfAuto();
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
+    }
+
+    /**
+     * [fromIndex, toIndex) 구간의 요소를 삭제합니다.
+     *
+     * <p>{@code subList(from, to).clear()}와 {@link #clear()}가 이 메서드를 사용합니다.
+     * OST에서 구간 서브트리를 한 번에 분리하므로 요소별 삭제를 반복하지 않습니다.</p>
+     */
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (!isConcurrencyEnabled()) {
+            // 하위 호환: 기존 로직
+            int currentSize = ost.size();
+            if (fromIndex < 0 || toIndex > currentSize || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException(
+                    "Range [" + fromIndex + ", " + toIndex + ") out of bounds for size " + currentSize);
+            }
+
+            // 레코드 해제를 위해 삭제 대상 RecordId를 먼저 수집
+            long[] recordIds = new long[toIndex - fromIndex];
+            OSTCursor cursor = ost.cursorWithRoot(ost.getRootPageId(), fromIndex);
+            for (int i = 0; i < recordIds.length; i++) {
+                recordIds[i] = cursor.next();
+            }
+
+            ost.removeRange(fromIndex, toIndex);
+            for (long recordId : recordIds) {
+                recordStore.deleteRecord(recordId);
+            }
+            return;
+        }
+
+        // Single Writer (INV-C1): Write Lock 획득
+        long stamp = store.acquireWriteLock();
+        try {
+            long currentRoot = getCurrentRootPageId();
+            int currentSize = ost.sizeWithRoot(currentRoot);
+
+            if (fromIndex < 0 || toIndex > currentSize || fromIndex > toIndex) {
+                throw new IndexOutOfBoundsException(
+                    "Range [" + fromIndex + ", " + toIndex + ") out of bounds for size " + currentSize);
             }
+            if (fromIndex == toIndex) {
+                return;
+            }
+
+            // COW: stateless range remove
+            long newRoot = ost.removeRangeWithRoot(currentRoot, fromIndex, toIndex);
 
             // Atomic snapshot switch (INV-C4)
-            store.updateCollectionRootAndPublish(collectionId, root);
+            store.updateCollectionRootAndPublish(collectionId, newRoot);
             store.commitIfAuto();
         } finally {
             store.releaseWriteLock(stamp);
         }
     }
 
+    // ==================== 일괄 재구성 (sort / replaceAll) ====================
+
+    /**
+     * 리스트를 정렬합니다 (안정 정렬).
+     *
+     * <p>요소 레코드는 다시 쓰지 않고 RecordId 순서만 바꿉니다. 요소를
+     * {@link #DEFAULT_SORT_RUN_SIZE}개 단위의 run으로 디코딩해 정렬한 뒤,
+     * 각 run은 RecordId 배열로만 남기고 k-way 병합 시 run의 선두 요소만 다시
+     * 읽으므로 디코딩된 요소가 메모리에 한꺼번에 올라오지 않습니다.
+     * 정렬 결과로 OST를 상향식으로 새로 만들고 스냅샷을 한 번만 발행합니다.</p>
+     *
+     * @param c 비교자 (null이면 자연 순서)
+     */
+    @Override
+    public void sort(Comparator<? super E> c) {
+        if (!isConcurrencyEnabled()) {
+            // 하위 호환: 기존 로직
+            long[] sorted = sortedRecordIds(ost.getRootPageId(), c);
+            if (sorted.length > 0) {
+                ost.setRootPageId(ost.insertAllWithRoot(0L, 0, sorted).newRootPageId);
+            }
+            return;
+        }
+
+        // Single Writer (INV-C1): Write Lock 획득
+        long stamp = store.acquireWriteLock();
+        try {
+            long currentRoot = getCurrentRootPageId();
+            long[] sorted = sortedRecordIds(currentRoot, c);
+            if (sorted.length == 0) {
+                return;
+            }
+
+            // COW: 정렬된 순서로 새 트리 구성
+            long newRoot = ost.insertAllWithRoot(0L, 0, sorted).newRootPageId;
+
+            // Atomic snapshot switch (INV-C4)
+            store.updateCollectionRootAndPublish(collectionId, newRoot);
+            store.commitIfAuto();
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
+    }
+
+    /**
+     * 모든 요소를 연산 결과로 교체합니다.
+     *
+     * <p>요소를 순서대로 읽어 새 레코드를 쓰고, 새 RecordId로 OST를 상향식으로
+     * 한 번에 만든 뒤 스냅샷을 한 번만 발행합니다.</p>
+     *
+     * @throws NullPointerException 연산 결과가 null인 경우 (리스트는 변경되지 않음)
+     */
+    @Override
+    public void replaceAll(UnaryOperator<E> operator) {
+        Objects.requireNonNull(operator, "operator");
+
+        if (!isConcurrencyEnabled()) {
+            // 하위 호환: 기존 로직
+            long[] oldRecordIds = recordIds(ost.getRootPageId());
+            if (oldRecordIds.length == 0) {
+                return;
+            }
+            long[] newRecordIds = writeReplaced(oldRecordIds, operator);
+            ost.setRootPageId(ost.insertAllWithRoot(0L, 0, newRecordIds).newRootPageId);
+            for (long recordId : oldRecordIds) {
+                recordStore.deleteRecord(recordId);
+            }
+            return;
+        }
+
+        // Single Writer (INV-C1): Write Lock 획득
+        long stamp = store.acquireWriteLock();
+        try {
+            long currentRoot = getCurrentRootPageId();
+            long[] oldRecordIds = recordIds(currentRoot);
+            if (oldRecordIds.length == 0) {
+                return;
+            }
+
+            long[] newRecordIds = writeReplaced(oldRecordIds, operator);
+
+            // COW: 새 레코드로 새 트리 구성
+            long newRoot = ost.insertAllWithRoot(0L, 0, newRecordIds).newRootPageId;
+
+            // Atomic snapshot switch (INV-C4)
+            store.updateCollectionRootAndPublish(collectionId, newRoot);
+            store.commitIfAuto();
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
+    }
+
+    /**
+     * 트리의 RecordId를 순서대로 수집 (요소는 디코딩하지 않음)
+     */
+    private long[] recordIds(long rootPageId) {
+        OSTCursor cursor = ost.cursorWithRoot(rootPageId, 0);
+        long[] recordIds = new long[cursor.size()];
+        for (int i = 0; i < recordIds.length; i++) {
+            recordIds[i] = cursor.next();
+        }
+        return recordIds;
+    }
+
+    private long[] writeReplaced(long[] oldRecordIds, UnaryOperator<E> operator) {
+        long[] newRecordIds = new long[oldRecordIds.length];
+        for (int i = 0; i < oldRecordIds.length; i++) {
+            E replaced = operator.apply(readElement(oldRecordIds[i]));
+            if (replaced == null) {
+                throw new NullPointerException("Element cannot be null");
+            }
+            newRecordIds[i] = recordStore.writeRecord(codec, replaced);
+        }
+        return newRecordIds;
+    }
+
+    /**
+     * 정렬된 순서의 RecordId 배열을 만듭니다.
+     *
+     * <p>1단계에서 run마다 요소를 디코딩해 안정 정렬하고 RecordId만 남깁니다.
+     * run이 둘 이상이면 2단계에서 run 선두끼리 병합하며, 비교가 같으면 앞선
+     * run을 먼저 내보내 전체 정렬의 안정성을 유지합니다.</p>
+     */
+    @SuppressWarnings("unchecked")
+    private long[] sortedRecordIds(long rootPageId, Comparator<? super E> c) {
+        long[] recordIds = recordIds(rootPageId);
+        int n = recordIds.length;
+        if (n < 2) {
+            return recordIds;
+        }
+
+        final Comparator<? super E> comparator = c != null
+            ? c
+            : (a, b) -> ((Comparable<Object>) a).compareTo(b);
+        int runSize = Math.max(1, sortRunSize);
+
+        // 1단계: run 단위 정렬
+        List<SortEntry<E>> run = new ArrayList<>(Math.min(n, runSize));
+        for (int start = 0; start < n; start += runSize) {
+            int end = Math.min(n, start + runSize);
+            run.clear();
+            for (int i = start; i < end; i++) {
+                run.add(new SortEntry<>(readElement(recordIds[i]), recordIds[i], 0));
+            }
+            run.sort((a, b) -> comparator.compare(a.element, b.element));
+            for (int i = start; i < end; i++) {
+                recordIds[i] = run.get(i - start).recordId;
+            }
+        }
+        if (n <= runSize) {
+            return recordIds;
+        }
+
+        // 2단계: k-way 병합 (run 선두만 디코딩)
+        int runCount = (n + runSize - 1) / runSize;
+        int[] positions = new int[runCount];
+        PriorityQueue<SortEntry<E>> heads = new PriorityQueue<>(runCount, (a, b) -> {
+            int cmp = comparator.compare(a.element, b.element);
+            return cmp != 0 ? cmp : Integer.compare(a.run, b.run);
+        });
+        for (int r = 0; r < runCount; r++) {
+            positions[r] = r * runSize;
+            heads.add(new SortEntry<>(readElement(recordIds[positions[r]]), recordIds[positions[r]], r));
+        }
+
+        long[] merged = new long[n];
+        int out = 0;
+        while (!heads.isEmpty()) {
+            SortEntry<E> head = heads.poll();
+            merged[out++] = head.recordId;
+            int r = head.run;
+            int runEnd = Math.min(n, (r + 1) * runSize);
+            if (++positions[r] < runEnd) {
+                long recordId = recordIds[positions[r]];
+                heads.add(new SortEntry<>(readElement(recordId), recordId, r));
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * 정렬 항목 (요소, RecordId, 소속 run)
+     */
+    private static final class SortEntry<E> {
+        final E element;
+        final long recordId;
+        final int run;
+
+        SortEntry(E element, long recordId, int run) {
+            this.element = element;
+            this.recordId = recordId;
+            this.run = run;
+        }
+    }
+
     // ==================== Iterator (스냅샷 기반) ====================
 
     @Override
@@ -394,74 +763,131 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
 
     @Override
     public ListIterator<E> listIterator(int index) {
-        // Wait-free read: 스냅샷 기반 읽기 전용 iterator
-        long rootPageId = getCurrentRootPageId();
-        int currentSize = ost.sizeWithRoot(rootPageId);
-
-        if (index < 0 || index > currentSize) {
-            throw new IndexOutOfBoundsException("Index " + index);
+        // Wait-free read: 스냅샷 루트에 고정된 커서로 지연 디코딩
+        // 루트를 읽기 전에 읽기를 등록해야 온라인 컴팩션이 스냅샷 페이지를 회수하지 않음
+        SnapshotListIterator iterator = new SnapshotListIterator();
+        ReaderPin pin = store != null ? store.pinIterator(iterator) : null;
+        try {
+            long rootPageId = getCurrentRootPageId();
+            iterator.open(ost.cursorWithRoot(rootPageId, index), pin);
+        } catch (RuntimeException e) {
+            if (pin != null) {
+                pin.release();
+            }
+            throw e;
         }
+        return iterator;
+    }
 
-        // 스냅샷 시점의 모든 요소 수집
-        List<E> snapshot = new ArrayList<>(currentSize);
-        for (int i = 0; i < currentSize; i++) {
-            long recordId = ost.getWithRoot(rootPageId, i);
-            byte[] data = recordStore.readRecord(recordId);
-            snapshot.add(decodeElement(data));
-        }
+    /**
+     * 지정된 루트에서 인덱스로 요소 조회 (읽기 트랜잭션용)
+     *
+     * <p>인라인 형식과 코덱 업그레이드를 이 List와 동일하게 처리합니다.
+     * 인덱스 검증은 호출자가 수행합니다.</p>
+     *
+     * @param rootPageId 스냅샷의 OST 루트 페이지 ID
+     * @param index 조회할 인덱스
+     * @return 요소
+     * @since 0.10
+     */
+    public E getWithRoot(long rootPageId, int index) {
+        return readElement(ost.getWithRoot(rootPageId, index));
+    }
+
+    /**
+     * 지정된 루트의 [fromIndex, toIndex) 구간을 순회하는 읽기 전용 Iterator (읽기 트랜잭션용)
+     *
+     * <p>루트에 고정된 {@link OSTCursor}로 리프를 순차 순회하며 요소는 반환 시점에
+     * 디코딩합니다. 범위 검증은 호출자가 수행합니다.</p>
+     *
+     * @param rootPageId 스냅샷의 OST 루트 페이지 ID
+     * @param fromIndex 시작 인덱스 (포함)
+     * @param toIndex 종료 인덱스 (미포함)
+     * @return 구간 Iterator
+     * @since 0.10
+     */
+    public Iterator<E> iteratorWithRoot(long rootPageId, int fromIndex, int toIndex) {
+        final OSTCursor cursor = ost.cursorWithRoot(rootPageId, fromIndex);
+        return new Iterator<E>() {
+            @Override
+            public boolean hasNext() {
+                return cursor.nextIndex() < toIndex && cursor.hasNext();
+            }
 
-        return new SnapshotListIterator(snapshot, index);
+            @Override
+            public E next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return readElement(cursor.next());
+            }
+        };
     }
 
     /**
      * 스냅샷 기반 읽기 전용 ListIterator.
      *
      * <p>쓰기 연산(remove, set, add)은 UnsupportedOperationException을 발생시킵니다.</p>
-     * <p>스냅샷 시점의 데이터를 반환하므로, iterator 생성 후 원본이 변경되어도 반영되지 않습니다.</p>
+     * <p>생성 시점의 루트에 고정된 {@link OSTCursor}로 리프를 순차 순회하며, 요소는
+     * 반환 시점에 디코딩합니다. iterator 생성 후 원본이 변경되어도 반영되지 않습니다.</p>
+     * <p>순회 중에는 {@link ReaderPin}으로 읽기를 등록하여 온라인 컴팩션이 스냅샷 페이지를
+     * 회수하지 않게 합니다. 끝까지 순회하면 등록을 해제하고, 중간에 버려지면 GC 후
+     * Store가 해제합니다.</p>
      */
     private class SnapshotListIterator implements ListIterator<E> {
-        private final List<E> snapshot;
-        private int cursor;
+        private OSTCursor cursor;
+        private ReaderPin pin;
 
-        SnapshotListIterator(List<E> snapshot, int index) {
-            this.snapshot = snapshot;
-            this.cursor = index;
+        void open(OSTCursor cursor, ReaderPin pin) {
+            this.cursor = cursor;
+            this.pin = pin;
+            releaseIfExhausted();
+        }
+
+        private void releaseIfExhausted() {
+            if (pin != null && !cursor.hasNext()) {
+                pin.release();
+            }
+        }
+
+        private void checkReadable() {
+            if (pin != null) {
+                pin.checkReadable();
+            }
         }
 
         @Override
         public boolean hasNext() {
-            return cursor < snapshot.size();
+            return cursor.hasNext();
         }
 
         @Override
         public E next() {
-            if (!hasNext()) {
-                throw new NoSuchElementException();
-            }
-            return snapshot.get(cursor++);
+            checkReadable();
+            E element = readElement(cursor.next());
+            releaseIfExhausted();
+            return element;
         }
 
         @Override
         public boolean hasPrevious() {
-            return cursor > 0;
+            return cursor.hasPrevious();
         }
 
         @Override
         public E previous() {
-            if (!hasPrevious()) {
-                throw new NoSuchElementException();
-            }
-            return snapshot.get(--cursor);
+            checkReadable();
+            return readElement(cursor.previous());
         }
 
         @Override
         public int nextIndex() {
-            return cursor;
+            return cursor.nextIndex();
         }
 
         @Override
         public int previousIndex() {
-            return cursor - 1;
+            return cursor.previousIndex();
         }
 
         @Override
@@ -507,6 +933,33 @@ public class FxList<E> extends AbstractList<E> implements List<E>, FxCollection
          */
         byte[] readRecord(long recordId);
 
+        /**
+         * 요소를 코덱으로 인코딩하여 레코드를 작성합니다.
+         *
+         * <p>기본 구현은 {@link FxCodec#encode(Object)} 후 {@link #writeRecord(byte[])}를
+         * 호출합니다. 구현체는 재사용 버퍼로 직접 인코딩할 수 있습니다.</p>
+         *
+         * @param codec 요소 코덱
+         * @param value 요소
+         * @return 레코드 ID
+         * @since 0.10
+         */
+        default <T> long writeRecord(FxCodec<T> codec, T value) {
+            return writeRecord(codec.encode(value));
+        }
+
+        /**
+         * 레코드를 읽어 코덱으로 디코딩합니다.
+         *
+         * @param recordId 레코드 ID
+         * @param codec 요소 코덱
+         * @return 디코딩된 요소
+         * @since 0.10
+         */
+        default <T> T readRecord(long recordId, FxCodec<T> codec) {
+            return codec.decode(readRecord(recordId));
+        }
+
         /**
          * 레코드를 삭제합니다.
          *
@@ -103,13 +103,6 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
         return keyCodec.decode(keyBytes);
     }
 
-    private byte[] encodeValue(V value) {
-        if (value == null) {
-            throw new NullPointerException("Value cannot be null");
-        }
-        return valueCodec.encode(value);
-    }
-
     private V decodeValue(byte[] valueBytes) {
         // 업그레이드 적용
         if (valueUpgradeContext != null) {
@@ -117,6 +110,19 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
         }
         return valueCodec.decode(valueBytes);
     }
+
+    /**
+     * 값 레코드를 읽어 디코딩
+     *
+     * <p>업그레이드가 필요 없으면 스레드 로컬 버퍼에서 바로 디코딩하여
+     * 중간 배열 할당을 피합니다.</p>
+     */
+    private V readValue(long valueRecordId) {
+        if (valueUpgradeContext != null && valueUpgradeContext.isUpgradeNeeded()) {
+            return decodeValue(store.readValueRecord(valueRecordId));
+        }
+        return store.readValueRecord(valueRecordId, valueCodec);
+    }
     
     /**
      * 지정된 키에 매핑된 값을 반환합니다.
@@ -148,13 +154,82 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
                 return null;
             }
 
-            byte[] valueBytes = store.readValueRecord(valueRecordId);
-            return decodeValue(valueBytes);
+            return readValue(valueRecordId);
 
         } catch (ClassCastException e) {
             return null;
         }
     }
+
+    /**
+     * 여러 키의 값을 한 번에 조회합니다.
+     *
+     * <p>인코딩된 키를 정렬해 한 번의 병합 하강으로 찾으므로, 이웃 키들이 공유하는
+     * 내부 노드와 리프는 한 번씩만 읽습니다. 값 레코드는 파일 오프셋 순으로 읽습니다.</p>
+     *
+     * <p><b>INV-C3 (Wait-free Read)</b>: 모든 키는 호출 시점의 동일한 스냅샷에서 조회됩니다.</p>
+     *
+     * @param keys 조회할 키 (중복 허용)
+     * @return 존재하는 키만 담은 Map (keys의 순회 순서)
+     * @throws NullPointerException keys 또는 키가 null인 경우
+     * @since 0.10
+     */
+    public Map<K, V> getAll(Collection<? extends K> keys) {
+        return getAllWithRoot(getCurrentRootPageId(), keys);
+    }
+
+    /**
+     * 지정된 루트에서 여러 키의 값을 한 번에 조회 (읽기 트랜잭션용)
+     *
+     * @param rootPageId 스냅샷의 루트 페이지 ID
+     * @param keys 조회할 키 (중복 허용)
+     * @return 존재하는 키만 담은 Map (keys의 순회 순서)
+     * @throws NullPointerException keys 또는 키가 null인 경우
+     * @see #getAll(Collection)
+     * @since 0.10
+     */
+    public Map<K, V> getAllWithRoot(long rootPageId, Collection<? extends K> keys) {
+        if (keys == null) {
+            throw new NullPointerException("Keys cannot be null");
+        }
+        List<K> keyList = new ArrayList<>(keys);
+        byte[][] encoded = new byte[keyList.size()][];
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = encodeKey(keyList.get(i));
+        }
+
+        Long[] valueRecordIds = getBTree().findAllWithRoot(rootPageId, encoded);
+
+        // 값 레코드를 파일 오프셋 순으로 읽기 (중복 키는 한 번만)
+        List<Integer> found = new ArrayList<>();
+        for (int i = 0; i < valueRecordIds.length; i++) {
+            if (valueRecordIds[i] != null) {
+                found.add(i);
+            }
+        }
+        found.sort((a, b) -> Long.compare(valueRecordIds[a], valueRecordIds[b]));
+        Object[] values = new Object[valueRecordIds.length];
+        long lastRecordId = -1;
+        Object lastValue = null;
+        for (int i : found) {
+            long valueRecordId = valueRecordIds[i];
+            if (valueRecordId != lastRecordId) {
+                lastValue = readValue(valueRecordId);
+                lastRecordId = valueRecordId;
+            }
+            values[i] = lastValue;
+        }
+
+        Map<K, V> result = new LinkedHashMap<>();
+        for (int i = 0; i < values.length; i++) {
+            if (valueRecordIds[i] != null && !result.containsKey(keyList.get(i))) {
+                @SuppressWarnings("unchecked")
+                V value = (V) values[i];
+                result.put(keyList.get(i), value);
+            }
+        }
+        return result;
+    }
     
     /**
      * 지정된 키와 값을 이 맵에 연결합니다.
@@ -179,7 +254,6 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
         }
 
         byte[] keyBytes = encodeKey(key);
-        byte[] valueBytes = encodeValue(value);
 
         // Write Lock 획득 (INV-C1) - 모든 연산을 락 내에서 수행
         long stamp = store.acquireWriteLock();
@@ -193,13 +267,12 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
             boolean isNewKey = true;
             Long existingRecordId = btree.findWithRoot(currentRoot, keyBytes);
             if (existingRecordId != null) {
-                byte[] existingValueBytes = store.readValueRecord(existingRecordId);
-                oldValue = decodeValue(existingValueBytes);
+                oldValue = readValue(existingRecordId);
                 isNewKey = false;
             }
 
             // 값 레코드 작성 (allocator 사용)
-            long valueRecordId = store.writeValueRecord(valueBytes);
+            long valueRecordId = store.writeValueRecord(valueCodec, value);
 
             // BTree 삽입 (COW - stateless API)
             BTree.StatelessInsertResult result = btree.insertWithRoot(currentRoot, keyBytes, valueRecordId);
@@ -261,8 +334,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
                     return null;  // 키가 없으면 즉시 반환
                 }
 
-                byte[] existingValueBytes = store.readValueRecord(existingRecordId);
-                V oldValue = decodeValue(existingValueBytes);
+                V oldValue = readValue(existingRecordId);
 
                 // BTree 삭제 (COW - stateless API)
                 BTree.StatelessDeleteResult result = btree.deleteWithRoot(currentRoot, keyBytes);
@@ -323,8 +395,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
         BTreeCursor cursor = getBTree().cursor();
         while (cursor.hasNext()) {
             BTree.Entry entry = cursor.next();
-            byte[] valueBytes = store.readValueRecord(entry.getValueRecordId());
-            V v = decodeValue(valueBytes);
+            V v = readValue(entry.getValueRecordId());
             if (value.equals(v)) {
                 return true;
             }
@@ -390,8 +461,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
         BTreeCursor cursor = getBTree().cursor();
         while (cursor.hasNext()) {
             BTree.Entry entry = cursor.next();
-            byte[] valueBytes = store.readValueRecord(entry.getValueRecordId());
-            vals.add(decodeValue(valueBytes));
+            vals.add(readValue(entry.getValueRecordId()));
         }
         return vals;
     }
@@ -403,8 +473,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
         while (cursor.hasNext()) {
             BTree.Entry entry = cursor.next();
             K k = decodeKey(entry.getKey());
-            byte[] valueBytes = store.readValueRecord(entry.getValueRecordId());
-            V v = decodeValue(valueBytes);
+            V v = readValue(entry.getValueRecordId());
             entries.add(new AbstractMap.SimpleImmutableEntry<K, V>(k, v));
         }
         return entries;
@@ -448,8 +517,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
             return null;
         }
         K k = decodeKey(entry.getKey());
-        byte[] valueBytes = store.readValueRecord(entry.getValueRecordId());
-        V v = decodeValue(valueBytes);
+        V v = readValue(entry.getValueRecordId());
         return new AbstractMap.SimpleImmutableEntry<K, V>(k, v);
     }
 
@@ -469,8 +537,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
             return null;
         }
         K k = decodeKey(entry.getKey());
-        byte[] valueBytes = store.readValueRecord(entry.getValueRecordId());
-        V v = decodeValue(valueBytes);
+        V v = readValue(entry.getValueRecordId());
         return new AbstractMap.SimpleImmutableEntry<K, V>(k, v);
     }
     
@@ -502,8 +569,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
 
             BTree.Entry btreeEntry = cursor.next();
             K key = decodeKey(btreeEntry.getKey());
-            byte[] valueBytes = store.readValueRecord(btreeEntry.getValueRecordId());
-            V value = decodeValue(valueBytes);
+            V value = readValue(btreeEntry.getValueRecordId());
 
             // 락 내에서 삭제
             BTree.StatelessDeleteResult result = btree.deleteWithRoot(
@@ -554,8 +620,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
             }
 
             K key = decodeKey(lastBtreeEntry.getKey());
-            byte[] valueBytes = store.readValueRecord(lastBtreeEntry.getValueRecordId());
-            V value = decodeValue(valueBytes);
+            V value = readValue(lastBtreeEntry.getValueRecordId());
 
             // 락 내에서 삭제
             BTree.StatelessDeleteResult result = btree.deleteWithRoot(
@@ -634,8 +699,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
             K k = decodeKey(entry.getKey());
             
             if (keyComparator.compare(k, key) < 0) {
-                byte[] valueBytes = store.readValueRecord(entry.getValueRecordId());
-                V v = decodeValue(valueBytes);
+                V v = readValue(entry.getValueRecordId());
                 result = new AbstractMap.SimpleImmutableEntry<K, V>(k, v);
             } else {
                 break;
@@ -664,8 +728,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
             
             int cmp = keyComparator.compare(k, key);
             if (cmp <= 0) {
-                byte[] valueBytes = store.readValueRecord(entry.getValueRecordId());
-                V v = decodeValue(valueBytes);
+                V v = readValue(entry.getValueRecordId());
                 result = new AbstractMap.SimpleImmutableEntry<K, V>(k, v);
                 if (cmp == 0) {
                     break;
@@ -695,8 +758,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
             K k = decodeKey(entry.getKey());
             
             if (keyComparator.compare(k, key) >= 0) {
-                byte[] valueBytes = store.readValueRecord(entry.getValueRecordId());
-                V v = decodeValue(valueBytes);
+                V v = readValue(entry.getValueRecordId());
                 return new AbstractMap.SimpleImmutableEntry<K, V>(k, v);
             }
         }
@@ -721,8 +783,7 @@ public class FxNavigableMapImpl<K, V> implements NavigableMap<K, V>, FxCollectio
             K k = decodeKey(entry.getKey());
             
             if (keyComparator.compare(k, key) > 0) {
-                byte[] valueBytes = store.readValueRecord(entry.getValueRecordId());
-                V v = decodeValue(valueBytes);
+                V v = readValue(entry.getValueRecordId());
                 return new AbstractMap.SimpleImmutableEntry<K, V>(k, v);
             }
         }
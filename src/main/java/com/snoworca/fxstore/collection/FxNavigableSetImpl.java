@@ -56,6 +56,16 @@ public class FxNavigableSetImpl<E> implements NavigableSet<E>, FxCollection {
                 return Boolean.TRUE;
             }
 
+            @Override
+            public void encodeTo(Boolean value, com.snoworca.fxstore.api.FxEncodeBuffer out) {
+                out.writeByte(1);
+            }
+
+            @Override
+            public Boolean decode(byte[] bytes, int offset, int length) {
+                return Boolean.TRUE;
+            }
+
             @Override
             public int compareBytes(byte[] a, byte[] b) {
                 return 0;
@@ -0,0 +1,76 @@
+package com.snoworca.fxstore.collection;
+
+import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.api.FxException;
+
+/**
+ * 고정 폭 요소를 OST 리프 슬롯에 직접 저장하는 RecordStore.
+ *
+ * <p>리프 슬롯은 원래 값 레코드 ID를 담는 8바이트 long입니다. 인코딩 결과가
+ * 8바이트 이하인 요소는 그 바이트를 리틀 엔디언으로 슬롯에 그대로 담아,
+ * 요소마다 페이지 하나를 쓰던 값 레코드와 요소 조회 시의 추가 읽기를
+ * 없앱니다. 숫자 List는 리프 페이지 자체가 요소 배열이 됩니다.</p>
+ *
+ * <p>슬롯이 곧 값이므로 {@link #deleteRecord(long)}로 해제할 공간이 없습니다.</p>
+ *
+ * @since 0.10
+ */
+public final class InlineRecordStore implements FxList.RecordStore {
+
+    /** 슬롯에 담을 수 있는 최대 인코딩 폭 */
+    public static final int MAX_INLINE_WIDTH = 8;
+
+    private final int width;
+
+    /**
+     * @param width 요소 인코딩 폭 (1 ~ {@link #MAX_INLINE_WIDTH})
+     * @throws FxException 폭이 범위를 벗어난 경우
+     */
+    public InlineRecordStore(int width) {
+        if (width < 1 || width > MAX_INLINE_WIDTH) {
+            throw FxException.illegalArgument("Inline element width out of range: " + width);
+        }
+        this.width = width;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+
+    @Override
+    public long writeRecord(byte[] data) {
+        if (data.length != width) {
+            throw FxException.illegalArgument(
+                "Inline element must encode to " + width + " bytes, got " + data.length);
+        }
+        long slot = 0L;
+        for (int i = width - 1; i >= 0; i--) {
+            slot = (slot << 8) | (data[i] & 0xFFL);
+        }
+        return slot;
+    }
+
+    @Override
+    public byte[] readRecord(long recordId) {
+        byte[] data = new byte[width];
+        for (int i = 0; i < width; i++) {
+            data[i] = (byte) (recordId >>> (i * 8));
+        }
+        return data;
+    }
+
+    @Override
+    public <T> long writeRecord(FxCodec<T> codec, T value) {
+        return writeRecord(codec.encode(value));
+    }
+
+    @Override
+    public <T> T readRecord(long recordId, FxCodec<T> codec) {
+        return codec.decode(readRecord(recordId), 0, width);
+    }
+
+    @Override
+    public void deleteRecord(long recordId) {
+        // 슬롯 자체가 값 - 해제할 레코드 없음
+    }
+}
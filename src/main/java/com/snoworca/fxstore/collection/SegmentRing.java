@@ -0,0 +1,472 @@
+package com.snoworca.fxstore.collection;
+
+import com.snoworca.fxstore.api.FxErrorCode;
+import com.snoworca.fxstore.api.FxException;
+import com.snoworca.fxstore.btree.BTree;
+import com.snoworca.fxstore.storage.Allocator;
+import com.snoworca.fxstore.storage.PageRelocation;
+import com.snoworca.fxstore.storage.Storage;
+
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+import java.util.function.LongUnaryOperator;
+
+/**
+ * 세그먼트 링 Deque 저장 엔진
+ *
+ * <p>요소 슬롯(값 레코드 ID, 8바이트)을 고정 크기 세그먼트 페이지에 연속으로
+ * 담습니다. 논리 위치 p는 세그먼트 번호 floorDiv(p, capacity)와 슬롯
+ * floorMod(p, capacity)로 매핑되고, Deque의 요소는 [head, tail) 위치에
+ * 있습니다. 세그먼트 번호 → 페이지 ID 매핑은 {@link OrderedSeqEncoder}로
+ * 인코딩한 키의 디렉토리 BTree에 저장하며, 그 루트가 컬렉션의 rootPageId입니다.</p>
+ *
+ * <p>세그먼트 페이지 형식:</p>
+ * <pre>
+ * [0-7]  : segmentNo (8바이트 LE)
+ * [8-15] : 예약 (0)
+ * [16-]  : 슬롯 (8바이트 LE x capacity)
+ * </pre>
+ *
+ * <p><b>제자리 쓰기 규칙:</b> 발행된 어떤 상태도 참조한 적 없는 위치의 슬롯은
+ * 기존 세그먼트 페이지에 직접 씁니다. 이 인스턴스는 열린 뒤 발행된 모든
+ * [head, tail) 범위를 덮는 [lowWater, highWater) 구간과, 자신이 할당(또는
+ * COW)한 세그먼트 페이지 목록을 유지합니다. 제자리 쓰기는 자신이 할당한
+ * 페이지의 구간 밖 위치에만 허용됩니다. 이전 인스턴스(재오픈, 롤백 후 재생성)가
+ * 발행한 상태는 구간에 없으므로, 그 페이지에 처음 쓸 때는 항상 COW합니다.
+ * 뒤쪽 추가는 항상 highWater 이상, 비어 있는 앞쪽 추가는 lowWater 미만에 쓰므로
+ * FIFO 사용에서는 세그먼트마다 첫 쓰기만 COW이고 나머지는 디렉토리를 건드리지
+ * 않는 슬롯 쓰기 하나로 끝납니다. 구간 안의 위치(예: pollLast 후 addLast)를
+ * 다시 쓸 때도 세그먼트를 새 페이지로 복사(COW)하고 디렉토리를 갱신하므로
+ * 스냅샷과 읽기 트랜잭션은 항상 불변 페이지를 봅니다.</p>
+ *
+ * <p>모두 소비된 세그먼트는 디렉토리에서 통째로 제거됩니다. 제거된 페이지는
+ * 다른 dead 페이지와 같이 compactTo 또는 온라인 컴팩션에서 회수됩니다.</p>
+ *
+ * <p>동시성: 읽기 메서드는 Lock 없이 호출할 수 있고(고정된 root 기준),
+ * 쓰기 메서드는 Write Lock을 보유한 상태에서만 호출해야 합니다.</p>
+ *
+ * @since 0.10
+ */
+public final class SegmentRing {
+
+    /** 세그먼트 페이지 헤더 크기 */
+    public static final int HEADER_SIZE = 16;
+
+    /** 슬롯 크기 (값 레코드 ID) */
+    private static final int SLOT_SIZE = 8;
+
+    /** 디렉토리 조회 캐시 크기 (세그먼트 번호로 직접 매핑) */
+    private static final int CACHE_SIZE = 8;
+
+    private final Storage storage;
+    private final Allocator allocator;
+    private final int pageSize;
+    private final int capacity;
+
+    /**
+     * (디렉토리 root, 세그먼트 번호) → 페이지 ID 캐시
+     *
+     * <p>COW 디렉토리에서 root가 같으면 매핑도 같으므로 root가 일치하는 항목만
+     * 사용합니다. head와 tail 세그먼트 조회가 서로 다른 칸에 놓여 push/pop마다
+     * 디렉토리를 하강하지 않습니다. 온라인 컴팩션이 빈 페이지를 재사용하면 같은
+     * root ID가 다른 디렉토리를 가리킬 수 있으므로 재사용 세대도 비교합니다.</p>
+     */
+    private final AtomicReferenceArray<SegmentRef> cache = new AtomicReferenceArray<>(CACHE_SIZE);
+
+    // 쓰기 락 내에서만 접근
+    private long lowWater;
+    private long highWater;
+
+    /** 이 인스턴스가 할당한 세그먼트 페이지 (세그먼트 번호 → 페이지 ID, 쓰기 락 내에서만 접근) */
+    private final NavigableMap<Long, Long> ownedSegments = new TreeMap<>();
+
+    /**
+     * 생성자
+     *
+     * @param storage 저장소
+     * @param allocator 페이지 할당자
+     * @param pageSize 페이지 크기
+     * @param head 커밋된 head 위치
+     * @param tail 커밋된 tail 위치
+     */
+    public SegmentRing(Storage storage, Allocator allocator, int pageSize, long head, long tail) {
+        this.storage = storage;
+        this.allocator = allocator;
+        this.pageSize = pageSize;
+        this.capacity = (pageSize - HEADER_SIZE) / SLOT_SIZE;
+        this.lowWater = head;
+        this.highWater = tail;
+    }
+
+    /**
+     * 세그먼트당 슬롯 수
+     */
+    public int capacity() {
+        return capacity;
+    }
+
+    /**
+     * 위치가 속한 세그먼트 번호
+     */
+    public long segmentOf(long position) {
+        return Math.floorDiv(position, (long) capacity);
+    }
+
+    /**
+     * 세그먼트 번호의 디렉토리 키
+     */
+    public static byte[] segmentKey(long segmentNo) {
+        return OrderedSeqEncoder.getInstance().encode(segmentNo);
+    }
+
+    /**
+     * 어떤 상태도 참조한 적 없는 새 위치 (재구성 시 시작 위치)
+     *
+     * <p>이 위치부터 쓰면 기존 세그먼트와 겹치지 않으므로 빈 디렉토리에
+     * 새 세그먼트를 채울 수 있습니다. Write Lock 내에서만 호출합니다.</p>
+     */
+    public long freshPosition() {
+        return highWater;
+    }
+
+    // ==================== 읽기 ====================
+
+    /**
+     * 위치의 슬롯 값 조회
+     *
+     * @param directory 디렉토리 BTree
+     * @param root 디렉토리 root
+     * @param position 위치 ([head, tail) 범위)
+     * @return 슬롯 값 (값 레코드 ID)
+     * @throws FxException 세그먼트가 디렉토리에 없는 경우 (CORRUPTION)
+     */
+    public long get(BTree directory, long root, long position) {
+        long pageId = requireSegment(directory, root, segmentOf(position));
+        int slot = (int) Math.floorMod(position, (long) capacity);
+        byte[] buf = new byte[SLOT_SIZE];
+        storage.read(slotOffset(pageId, slot), buf, 0, SLOT_SIZE);
+        return readLongLE(buf, 0);
+    }
+
+    /**
+     * [from, to) 위치의 슬롯 값을 순서대로 조회
+     *
+     * <p>세그먼트마다 디렉토리 조회 한 번과 연속 읽기 한 번으로 처리합니다.</p>
+     *
+     * @param directory 디렉토리 BTree
+     * @param root 디렉토리 root
+     * @param from 시작 위치 (포함)
+     * @param to 끝 위치 (제외)
+     * @return 슬롯 값 배열 (길이 to - from)
+     */
+    public long[] getRange(BTree directory, long root, long from, long to) {
+        long[] values = new long[(int) (to - from)];
+        int filled = 0;
+        long position = from;
+        while (position < to) {
+            long segmentNo = segmentOf(position);
+            int slot = (int) Math.floorMod(position, (long) capacity);
+            int count = (int) Math.min(capacity - slot, to - position);
+
+            long pageId = requireSegment(directory, root, segmentNo);
+            byte[] buf = new byte[count * SLOT_SIZE];
+            storage.read(slotOffset(pageId, slot), buf, 0, buf.length);
+            for (int i = 0; i < count; i++) {
+                values[filled++] = readLongLE(buf, i * SLOT_SIZE);
+            }
+            position += count;
+        }
+        return values;
+    }
+
+    // ==================== 쓰기 (Write Lock 필수) ====================
+
+    /**
+     * 위치에 슬롯 값 쓰기
+     *
+     * @param directory 디렉토리 BTree
+     * @param root 현재 디렉토리 root
+     * @param position 위치
+     * @param value 슬롯 값 (값 레코드 ID)
+     * @return 새 디렉토리 root (제자리 쓰기면 root 그대로)
+     */
+    public long set(BTree directory, long root, long position, long value) {
+        return setRange(directory, root, position, new long[]{value});
+    }
+
+    /**
+     * [from, from + values.length) 위치에 슬롯 값을 순서대로 쓰기
+     *
+     * @param directory 디렉토리 BTree
+     * @param root 현재 디렉토리 root
+     * @param from 시작 위치
+     * @param values 슬롯 값
+     * @return 새 디렉토리 root
+     */
+    public long setRange(BTree directory, long root, long from, long[] values) {
+        long to = from + values.length;
+        int written = 0;
+        long position = from;
+        while (position < to) {
+            long segmentNo = segmentOf(position);
+            int slot = (int) Math.floorMod(position, (long) capacity);
+            int count = (int) Math.min(capacity - slot, to - position);
+
+            byte[] slots = new byte[count * SLOT_SIZE];
+            for (int i = 0; i < count; i++) {
+                writeLongLE(slots, i * SLOT_SIZE, values[written + i]);
+            }
+
+            Long pageId = lookup(directory, root, segmentNo);
+            if (pageId != null && pageId.equals(ownedSegments.get(segmentNo))
+                    && !overlapsWatermarks(position, position + count)) {
+                // 직접 할당한 페이지에서 발행된 상태가 참조한 적 없는 슬롯 → 제자리 쓰기
+                storage.write(slotOffset(pageId, slot), slots, 0, slots.length);
+                allocator.logInPlaceWrite(pageId);
+            } else {
+                // 새 세그먼트, 참조된 슬롯 또는 이전 인스턴스의 페이지 → 새 페이지 (COW)
+                byte[] page = new byte[pageSize];
+                if (pageId != null) {
+                    storage.read(pageId * pageSize, page, 0, pageSize);
+                } else {
+                    writeLongLE(page, 0, segmentNo);
+                }
+                System.arraycopy(slots, 0, page, HEADER_SIZE + slot * SLOT_SIZE, slots.length);
+
+                long offset = allocator.allocatePages(1);
+                storage.write(offset, page, 0, pageSize);
+                root = directory.insertWithRoot(root, segmentKey(segmentNo), offset / pageSize).newRootPageId;
+                ownedSegments.put(segmentNo, offset / pageSize);
+            }
+
+            written += count;
+            position += count;
+        }
+
+        lowWater = Math.min(lowWater, from);
+        highWater = Math.max(highWater, to);
+        return root;
+    }
+
+    /**
+     * head 앞쪽의 모두 소비된 세그먼트를 디렉토리에서 제거
+     *
+     * @param directory 디렉토리 BTree
+     * @param root 현재 디렉토리 root
+     * @param head 새 head 위치
+     * @return 새 디렉토리 root
+     */
+    public long releaseBefore(BTree directory, long root, long head) {
+        if (root == 0L) {
+            return root;
+        }
+        long headSegment = segmentOf(head);
+        ownedSegments.headMap(headSegment).clear();
+        return directory.deleteHeadWithRoot(root, segmentKey(headSegment)).newRootPageId;
+    }
+
+    /**
+     * tail에서 시작하는 빈 세그먼트를 디렉토리에서 제거
+     *
+     * <p>tail이 세그먼트 경계일 때만 그 세그먼트가 비게 됩니다.</p>
+     *
+     * @param directory 디렉토리 BTree
+     * @param root 현재 디렉토리 root
+     * @param tail 새 tail 위치
+     * @return 새 디렉토리 root
+     */
+    public long releaseFrom(BTree directory, long root, long tail) {
+        if (root == 0L || Math.floorMod(tail, (long) capacity) != 0) {
+            return root;
+        }
+        long segmentNo = segmentOf(tail);
+        if (lookup(directory, root, segmentNo) == null) {
+            return root;
+        }
+        ownedSegments.remove(segmentNo);
+        return directory.deleteWithRoot(root, segmentKey(segmentNo)).newRootPageId;
+    }
+
+    /**
+     * 세그먼트의 [head, tail) 범위 슬롯 값 순회
+     *
+     * @param pageId 세그먼트 페이지 ID
+     * @param head 컬렉션 head 위치
+     * @param tail 컬렉션 tail 위치
+     * @param values 슬롯 값 소비자
+     * @since 0.10
+     */
+    public void forEachSlot(long pageId, long head, long tail, LongConsumer values) {
+        byte[] page = new byte[pageSize];
+        storage.read(pageId * pageSize, page, 0, pageSize);
+        long first = readLongLE(page, 0) * capacity;
+        int from = (int) Math.max(0L, head - first);
+        int to = (int) Math.min((long) capacity, tail - first);
+        for (int slot = from; slot < to; slot++) {
+            values.accept(readLongLE(page, HEADER_SIZE + slot * SLOT_SIZE));
+        }
+    }
+
+    /**
+     * 세그먼트 페이지의 세그먼트 번호
+     *
+     * @param pageId 세그먼트 페이지 ID
+     * @return 세그먼트 번호
+     * @since 0.10
+     */
+    public long segmentNoOfPage(long pageId) {
+        byte[] buf = new byte[8];
+        storage.read(pageId * pageSize, buf, 0, 8);
+        return readLongLE(buf, 0);
+    }
+
+    /**
+     * [from, to) 위치의 슬롯 값 순회 (일부 세그먼트 제외)
+     *
+     * <p>skipSegment가 true를 반환한 세그먼트는 디렉토리 조회와 읽기를 하지 않습니다.</p>
+     *
+     * @param directory 디렉토리 BTree
+     * @param root 디렉토리 root
+     * @param from 시작 위치 (포함)
+     * @param to 끝 위치 (제외)
+     * @param skipSegment 세그먼트 번호 → 건너뛸지 여부
+     * @param values 슬롯 값 소비자
+     * @since 0.10
+     */
+    public void forEachSlotInRange(BTree directory, long root, long from, long to,
+                                   LongPredicate skipSegment, LongConsumer values) {
+        long position = from;
+        while (position < to) {
+            long segmentNo = segmentOf(position);
+            int slot = (int) Math.floorMod(position, (long) capacity);
+            int count = (int) Math.min(capacity - slot, to - position);
+            if (!skipSegment.test(segmentNo)) {
+                long pageId = requireSegment(directory, root, segmentNo);
+                byte[] buf = new byte[count * SLOT_SIZE];
+                storage.read(slotOffset(pageId, slot), buf, 0, buf.length);
+                for (int i = 0; i < count; i++) {
+                    values.accept(readLongLE(buf, i * SLOT_SIZE));
+                }
+            }
+            position += count;
+        }
+    }
+
+    /**
+     * 세그먼트의 라이브 슬롯이 참조하는 레코드와 세그먼트 자체를 경계 아래로 이동
+     * (온라인 컴팩션, Write Lock 필수)
+     *
+     * <p>[head, tail) 범위의 슬롯 값을 recordMover로 옮기고, 값이 바뀌었거나
+     * 세그먼트 페이지가 경계 이상이면 새 페이지로 복사(COW)합니다. 한 세그먼트는
+     * 예산과 관계없이 끝까지 처리합니다.</p>
+     *
+     * @param pageId 세그먼트 페이지 ID
+     * @param head 컬렉션 head 위치
+     * @param tail 컬렉션 tail 위치
+     * @param relocation 재배치 작업 상태
+     * @param recordMover 값 레코드 ID → 옮긴 레코드 ID
+     * @return 세그먼트의 새 페이지 ID (바뀐 것이 없으면 pageId)
+     * @since 0.10
+     */
+    public long relocateSegment(long pageId, long head, long tail,
+                                PageRelocation relocation, LongUnaryOperator recordMover) {
+        byte[] page = new byte[pageSize];
+        storage.read(pageId * pageSize, page, 0, pageSize);
+        long first = readLongLE(page, 0) * capacity;
+        int from = (int) Math.max(0L, head - first);
+        int to = (int) Math.min((long) capacity, tail - first);
+
+        boolean changed = false;
+        for (int slot = from; slot < to; slot++) {
+            int offset = HEADER_SIZE + slot * SLOT_SIZE;
+            long value = readLongLE(page, offset);
+            long moved = recordMover.applyAsLong(value);
+            if (moved != value) {
+                writeLongLE(page, offset, moved);
+                changed = true;
+            }
+        }
+        if (!changed && !relocation.needsMove(pageId)) {
+            return pageId;
+        }
+
+        long offset = allocator.allocatePages(1);
+        storage.write(offset, page, 0, pageSize);
+        relocation.charge();
+        return offset / pageSize;
+    }
+
+    /**
+     * 위치 구간과 발행된 구간의 교차 여부
+     */
+    private boolean overlapsWatermarks(long from, long to) {
+        return from < highWater && to > lowWater;
+    }
+
+    // ==================== 내부 헬퍼 ====================
+
+    private long requireSegment(BTree directory, long root, long segmentNo) {
+        Long pageId = lookup(directory, root, segmentNo);
+        if (pageId == null) {
+            throw new FxException(FxErrorCode.CORRUPTION,
+                "Deque segment missing from directory: segmentNo=" + segmentNo + ", root=" + root);
+        }
+        return pageId;
+    }
+
+    private Long lookup(BTree directory, long root, long segmentNo) {
+        if (root == 0L) {
+            return null;
+        }
+        int index = (int) Math.floorMod(segmentNo, (long) CACHE_SIZE);
+        SegmentRef ref = cache.get(index);
+        long generation = allocator.getReuseGeneration();
+        if (ref != null && ref.root == root && ref.segmentNo == segmentNo && ref.generation == generation) {
+            return ref.pageId;
+        }
+        Long pageId = directory.findWithRoot(root, segmentKey(segmentNo));
+        if (pageId != null) {
+            cache.set(index, new SegmentRef(root, segmentNo, pageId, generation));
+        }
+        return pageId;
+    }
+
+    private long slotOffset(long pageId, int slot) {
+        return pageId * pageSize + HEADER_SIZE + (long) slot * SLOT_SIZE;
+    }
+
+    private static long readLongLE(byte[] buf, int offset) {
+        long value = 0L;
+        for (int i = 7; i >= 0; i--) {
+            value = (value << 8) | (buf[offset + i] & 0xFFL);
+        }
+        return value;
+    }
+
+    private static void writeLongLE(byte[] buf, int offset, long value) {
+        for (int i = 0; i < 8; i++) {
+            buf[offset + i] = (byte) (value >>> (i * 8));
+        }
+    }
+
+    /**
+     * 디렉토리 조회 캐시 항목 (불변)
+     */
+    private static final class SegmentRef {
+        final long root;
+        final long segmentNo;
+        final long pageId;
+        /** 생성 시점의 빈 페이지 재사용 세대 */
+        final long generation;
+
+        SegmentRef(long root, long segmentNo, long pageId, long generation) {
+            this.root = root;
+            this.segmentNo = segmentNo;
+            this.pageId = pageId;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,543 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.ChangeOp;
+import com.snoworca.fxstore.api.CollectionKind;
+import com.snoworca.fxstore.api.FxChange;
+import com.snoworca.fxstore.btree.BTree;
+import com.snoworca.fxstore.btree.BTreeInternal;
+import com.snoworca.fxstore.btree.BTreeLeaf;
+import com.snoworca.fxstore.btree.BTreeNode;
+import com.snoworca.fxstore.catalog.CollectionState;
+import com.snoworca.fxstore.collection.InlineRecordStore;
+import com.snoworca.fxstore.collection.SegmentRing;
+import com.snoworca.fxstore.ost.OST;
+import com.snoworca.fxstore.ost.OSTInternal;
+import com.snoworca.fxstore.ost.OSTLeaf;
+import com.snoworca.fxstore.ost.OSTNode;
+import com.snoworca.fxstore.util.ByteUtils;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.function.Consumer;
+
+/**
+ * 커밋된 두 컬렉션 상태의 변경 계산 (변경 스트림)
+ *
+ * <p>COW 트리에서 두 상태가 공유하는 서브트리는 같은 페이지이므로, 두 트리를
+ * 왼쪽부터 동시에 내려가며 맨 앞 서브트리의 페이지 ID가 같으면 양쪽에서 통째로
+ * 건너뜁니다. 다른 서브트리는 더 높은 쪽부터 펼치고, 둘 다 리프면 읽어서
+ * 버퍼에 넣습니다. 비용은 바뀐 경로와 그 리프 수에 비례하고, 메모리는 트리
+ * 높이만큼의 스택과 리프 몇 개 분량의 버퍼로 제한됩니다.</p>
+ *
+ * <ul>
+ *   <li>Map/Set: 두 버퍼를 키 순서로 병합합니다. 한쪽에만 있는 키는
+ *       INSERT/DELETE, 값 레코드가 다르고 내용도 다른 키는 UPDATE입니다.</li>
+ *   <li>List: 공유 서브트리 사이의 구간(gap)을 앞뒤 공통 요소를 잘라 낸 뒤
+ *       UPDATE/DELETE/INSERT로 바꿉니다. 인덱스는 변경을 순서대로 적용한
+ *       리스트 기준입니다. 구간이 {@link #GAP_LIMIT}를 넘으면 앞쪽부터 내보내
+ *       메모리를 제한합니다(결과는 정확하지만 최소가 아닐 수 있음).</li>
+ *   <li>세그먼트 링 Deque: [head, tail) 범위에서 벗어난 위치는 DELETE, 새로
+ *       들어온 위치는 INSERT, 겹치는 범위는 디렉토리 트리를 같은 방식으로
+ *       비교하여 바뀐 세그먼트의 슬롯만 비교합니다.</li>
+ * </ul>
+ *
+ * <p>스레드 안전성: Lock 없이 호출합니다. 호출자는 비교하는 동안 읽기를
+ * 등록하여({@link FxStoreImpl#pinReader()}) 이전 상태의 페이지가 재사용되지
+ * 않게 해야 합니다.</p>
+ *
+ * @since 0.10
+ */
+final class ChangeDiff {
+
+    /** List 구간 버퍼의 최대 요소 수 (한쪽 기준) */
+    static final int GAP_LIMIT = 1024;
+
+    /** 세그먼트 링 범위를 한 번에 읽는 위치 수 */
+    private static final int RANGE_CHUNK = 1024;
+
+    /** 두 순회의 다음 단계 ({@link #align}) */
+    private static final int SKIP = 0;
+    private static final int EXPAND_LEFT = 1;
+    private static final int EXPAND_RIGHT = 2;
+    private static final int LOAD = 3;
+
+    private final FxStoreImpl store;
+
+    ChangeDiff(FxStoreImpl store) {
+        this.store = store;
+    }
+
+    /**
+     * from → to 변경을 적용 순서대로 전달
+     *
+     * @param from 이전 커밋 상태
+     * @param to 새 커밋 상태 (같은 컬렉션)
+     * @param keyComparator Map/Set의 키 비교자 (그 밖의 종류는 무시)
+     * @param out 변경 소비자
+     */
+    void diff(CollectionState from, CollectionState to, Comparator<byte[]> keyComparator,
+              Consumer<FxChange> out) {
+        CollectionKind kind = to.getKind();
+        switch (kind) {
+            case MAP:
+            case SET: {
+                boolean values = kind == CollectionKind.MAP;
+                BTree tree = store.newStructuralBTree();
+                diffKeyed(tree, keyComparator, from.getRootPageId(), to.getRootPageId(),
+                    (key, oldRef, newRef) -> emitKeyed(key, oldRef, newRef, values, out));
+                break;
+            }
+            case LIST:
+                diffList(from, to, out);
+                break;
+            case DEQUE:
+                diffRing(from, to, out);
+                break;
+            default:
+                throw new IllegalStateException("Unknown collection kind: " + kind);
+        }
+    }
+
+    // ==================== Map / Set ====================
+
+    /**
+     * 키 단위 차이 소비자 (oldRef/newRef가 null이면 그쪽에 키가 없음)
+     */
+    private interface KeyedDelta {
+        void accept(byte[] key, Long oldRef, Long newRef);
+    }
+
+    private void emitKeyed(byte[] key, Long oldRef, Long newRef, boolean values, Consumer<FxChange> out) {
+        if (oldRef == null) {
+            out.accept(new FxChange(ChangeOp.INSERT, -1L, key, null, values ? store.readValueRecord(newRef) : null));
+        } else if (newRef == null) {
+            out.accept(new FxChange(ChangeOp.DELETE, -1L, key, values ? store.readValueRecord(oldRef) : null, null));
+        } else if (values) {
+            byte[] oldValue = store.readValueRecord(oldRef);
+            byte[] newValue = store.readValueRecord(newRef);
+            if (!Arrays.equals(oldValue, newValue)) {
+                out.accept(new FxChange(ChangeOp.UPDATE, -1L, key, oldValue, newValue));
+            }
+        }
+    }
+
+    /**
+     * 두 BTree의 키 병합 (값 레코드 ID가 같은 키는 전달하지 않음)
+     */
+    private static void diffKeyed(BTree tree, Comparator<byte[]> comparator, long oldRoot, long newRoot,
+                                  KeyedDelta delta) {
+        if (oldRoot == newRoot) {
+            return;
+        }
+        BTreeFrontier left = new BTreeFrontier(tree, oldRoot);
+        BTreeFrontier right = new BTreeFrontier(tree, newRoot);
+        ArrayDeque<BTree.Entry> olds = new ArrayDeque<>();
+        ArrayDeque<BTree.Entry> news = new ArrayDeque<>();
+        while (true) {
+            // 양쪽 머리를 비교하면 작은 쪽 키는 상대에 더 나올 수 없음
+            while (!olds.isEmpty() && !news.isEmpty()) {
+                BTree.Entry o = olds.peekFirst();
+                BTree.Entry n = news.peekFirst();
+                int c = comparator.compare(o.key, n.key);
+                if (c < 0) {
+                    delta.accept(olds.pollFirst().key, o.valueRecordId, null);
+                } else if (c > 0) {
+                    delta.accept(news.pollFirst().key, null, n.valueRecordId);
+                } else {
+                    olds.pollFirst();
+                    news.pollFirst();
+                    if (!o.valueRecordId.equals(n.valueRecordId)) {
+                        delta.accept(n.key, o.valueRecordId, n.valueRecordId);
+                    }
+                }
+            }
+            if (left.isEmpty() && olds.isEmpty()) {
+                flushKeyed(news, false, delta);
+                if (right.isEmpty()) {
+                    return;
+                }
+                right.advance(news);
+                continue;
+            }
+            if (right.isEmpty() && news.isEmpty()) {
+                flushKeyed(olds, true, delta);
+                if (left.isEmpty()) {
+                    return;
+                }
+                left.advance(olds);
+                continue;
+            }
+            if (left.isEmpty()) {
+                right.advance(news);
+                continue;
+            }
+            if (right.isEmpty()) {
+                left.advance(olds);
+                continue;
+            }
+            int step = align(left.topId(), left.topHeight(), right.topId(), right.topHeight());
+            if (step == SKIP) {
+                // 공유 서브트리 앞의 버퍼는 모두 그보다 작은 키
+                left.pop();
+                right.pop();
+                flushKeyed(olds, true, delta);
+                flushKeyed(news, false, delta);
+            } else if (step == EXPAND_LEFT) {
+                left.expand();
+            } else if (step == EXPAND_RIGHT) {
+                right.expand();
+            } else if (olds.isEmpty()) {
+                left.load(olds);
+            } else {
+                right.load(news);
+            }
+        }
+    }
+
+    private static void flushKeyed(ArrayDeque<BTree.Entry> entries, boolean removed, KeyedDelta delta) {
+        while (!entries.isEmpty()) {
+            BTree.Entry entry = entries.pollFirst();
+            if (removed) {
+                delta.accept(entry.key, entry.valueRecordId, null);
+            } else {
+                delta.accept(entry.key, null, entry.valueRecordId);
+            }
+        }
+    }
+
+    /**
+     * 양쪽 맨 앞 서브트리로 다음 단계 결정
+     */
+    private static int align(long leftId, int leftHeight, long rightId, int rightHeight) {
+        if (leftId == rightId && leftHeight == rightHeight) {
+            return SKIP;
+        }
+        if (leftHeight > rightHeight || (leftHeight == rightHeight && leftHeight > 0)) {
+            return EXPAND_LEFT;
+        }
+        if (rightHeight > leftHeight) {
+            return EXPAND_RIGHT;
+        }
+        return LOAD;
+    }
+
+    /**
+     * BTree 왼쪽 우선 순회의 남은 서브트리 스택
+     */
+    private static final class BTreeFrontier {
+        private final BTree tree;
+        private final ArrayDeque<long[]> stack = new ArrayDeque<>();  // {pageId, height}
+
+        BTreeFrontier(BTree tree, long root) {
+            this.tree = tree;
+            if (root != 0L) {
+                BTreeNode node = tree.readNode(root);
+                stack.push(new long[]{root, node.isLeaf() ? 0 : ((BTreeInternal) node).getLevel()});
+            }
+        }
+
+        boolean isEmpty() {
+            return stack.isEmpty();
+        }
+
+        long topId() {
+            return stack.peek()[0];
+        }
+
+        int topHeight() {
+            return (int) stack.peek()[1];
+        }
+
+        void pop() {
+            stack.pop();
+        }
+
+        void expand() {
+            long[] top = stack.pop();
+            BTreeInternal node = (BTreeInternal) tree.readNode(top[0]);
+            for (int i = node.getChildCount() - 1; i >= 0; i--) {
+                stack.push(new long[]{node.getChildPageId(i), top[1] - 1});
+            }
+        }
+
+        void load(ArrayDeque<BTree.Entry> entries) {
+            BTreeLeaf leaf = (BTreeLeaf) tree.readNode(stack.pop()[0]);
+            for (int i = 0; i < leaf.size(); i++) {
+                entries.addLast(new BTree.Entry(leaf.getKey(i), leaf.getValueRecordId(i)));
+            }
+        }
+
+        void advance(ArrayDeque<BTree.Entry> entries) {
+            if (topHeight() > 0) {
+                expand();
+            } else {
+                load(entries);
+            }
+        }
+    }
+
+    // ==================== List ====================
+
+    private void diffList(CollectionState from, CollectionState to, Consumer<FxChange> out) {
+        if (from.getRootPageId() == to.getRootPageId()) {
+            return;
+        }
+        OST ost = new OST(store.getStorage(), store.getAllocator(), store.getPageSize());
+        InlineRecordStore inline = to.getInlineElementWidth() > 0
+            ? new InlineRecordStore(to.getInlineElementWidth()) : null;
+        ListGap gap = new ListGap(ref -> inline != null ? inline.readRecord(ref) : store.readValueRecord(ref), out);
+        OstFrontier left = new OstFrontier(ost, from.getRootPageId());
+        OstFrontier right = new OstFrontier(ost, to.getRootPageId());
+        while (!left.isEmpty() || !right.isEmpty()) {
+            if (left.isEmpty() || right.isEmpty()) {
+                OstFrontier side = left.isEmpty() ? right : left;
+                side.advance(side == left ? gap.olds : gap.news);
+                gap.spill();
+                continue;
+            }
+            int step = align(left.topId(), left.topHeight(), right.topId(), right.topHeight());
+            if (step == SKIP) {
+                gap.close();
+                gap.position += left.topCount();
+                left.pop();
+                right.pop();
+            } else if (step == EXPAND_LEFT) {
+                left.expand();
+            } else if (step == EXPAND_RIGHT) {
+                right.expand();
+            } else {
+                // 앞선 쪽을 기다리도록 덜 읽은 쪽부터 읽음
+                if (left.consumed <= right.consumed) {
+                    left.load(gap.olds);
+                } else {
+                    right.load(gap.news);
+                }
+                gap.spill();
+            }
+        }
+        gap.close();
+    }
+
+    /**
+     * 레코드 ID → 요소 바이트
+     */
+    private interface ElementReader {
+        byte[] read(long ref);
+    }
+
+    /**
+     * 공유 서브트리 사이의 List 구간
+     *
+     * <p>position은 지금까지 변경을 적용한 리스트에서 구간이 시작하는 인덱스입니다.</p>
+     */
+    private static final class ListGap {
+        private final ElementReader reader;
+        private final Consumer<FxChange> out;
+        final ArrayDeque<Long> olds = new ArrayDeque<>();
+        final ArrayDeque<Long> news = new ArrayDeque<>();
+        long position;
+
+        ListGap(ElementReader reader, Consumer<FxChange> out) {
+            this.reader = reader;
+            this.out = out;
+        }
+
+        private void trimPrefix() {
+            while (!olds.isEmpty() && !news.isEmpty() && olds.peekFirst().equals(news.peekFirst())) {
+                olds.pollFirst();
+                news.pollFirst();
+                position++;
+            }
+        }
+
+        /**
+         * 버퍼가 한도를 넘으면 앞쪽부터 내보냄
+         */
+        void spill() {
+            trimPrefix();
+            while (olds.size() > GAP_LIMIT || news.size() > GAP_LIMIT) {
+                if (olds.size() > GAP_LIMIT && news.size() > GAP_LIMIT) {
+                    update(olds.pollFirst(), news.pollFirst());
+                } else if (olds.size() > GAP_LIMIT) {
+                    delete(olds.pollFirst());
+                } else {
+                    insert(news.pollFirst());
+                }
+            }
+        }
+
+        /**
+         * 구간 종료 (다음은 공유 서브트리 또는 끝)
+         */
+        void close() {
+            trimPrefix();
+            int suffix = 0;
+            while (!olds.isEmpty() && !news.isEmpty() && olds.peekLast().equals(news.peekLast())) {
+                olds.pollLast();
+                news.pollLast();
+                suffix++;
+            }
+            while (!olds.isEmpty() && !news.isEmpty()) {
+                update(olds.pollFirst(), news.pollFirst());
+            }
+            while (!olds.isEmpty()) {
+                delete(olds.pollFirst());
+            }
+            while (!news.isEmpty()) {
+                insert(news.pollFirst());
+            }
+            position += suffix;
+        }
+
+        private void update(long oldRef, long newRef) {
+            byte[] oldValue = reader.read(oldRef);
+            byte[] newValue = reader.read(newRef);
+            if (!Arrays.equals(oldValue, newValue)) {
+                out.accept(new FxChange(ChangeOp.UPDATE, position, null, oldValue, newValue));
+            }
+            position++;
+        }
+
+        private void delete(long oldRef) {
+            out.accept(new FxChange(ChangeOp.DELETE, position, null, reader.read(oldRef), null));
+        }
+
+        private void insert(long newRef) {
+            out.accept(new FxChange(ChangeOp.INSERT, position, null, null, reader.read(newRef)));
+            position++;
+        }
+    }
+
+    /**
+     * OST 왼쪽 우선 순회의 남은 서브트리 스택 (노드 ID는 바이트 오프셋)
+     */
+    private static final class OstFrontier {
+        private final OST ost;
+        private final ArrayDeque<long[]> stack = new ArrayDeque<>();  // {nodeId, height, count}
+        /** 읽거나 건너뛴 요소 수 */
+        long consumed;
+
+        OstFrontier(OST ost, long root) {
+            this.ost = ost;
+            if (root != 0L) {
+                OSTNode node = ost.readNode(root);
+                int height = node.isLeaf() ? 0 : ((OSTInternal) node).getLevel();
+                stack.push(new long[]{root, height, node.subtreeCount()});
+            }
+        }
+
+        boolean isEmpty() {
+            return stack.isEmpty();
+        }
+
+        long topId() {
+            return stack.peek()[0];
+        }
+
+        int topHeight() {
+            return (int) stack.peek()[1];
+        }
+
+        int topCount() {
+            return (int) stack.peek()[2];
+        }
+
+        void pop() {
+            consumed += stack.pop()[2];
+        }
+
+        void expand() {
+            long[] top = stack.pop();
+            OSTInternal node = (OSTInternal) ost.readNode(top[0]);
+            for (int i = node.getChildCount() - 1; i >= 0; i--) {
+                stack.push(new long[]{node.getChildPageId(i), top[1] - 1, node.getChildSubtreeCount(i)});
+            }
+        }
+
+        void load(ArrayDeque<Long> refs) {
+            long[] top = stack.pop();
+            OSTLeaf leaf = (OSTLeaf) ost.readNode(top[0]);
+            for (int i = 0; i < leaf.subtreeCount(); i++) {
+                refs.addLast(leaf.getValueRef(i));
+            }
+            consumed += top[2];
+        }
+
+        void advance(ArrayDeque<Long> refs) {
+            if (topHeight() > 0) {
+                expand();
+            } else {
+                load(refs);
+            }
+        }
+    }
+
+    // ==================== 세그먼트 링 Deque ====================
+
+    private void diffRing(CollectionState from, CollectionState to, Consumer<FxChange> out) {
+        long h0 = from.getHeadPosition();
+        long t0 = from.getTailPosition();
+        long h1 = to.getHeadPosition();
+        long t1 = to.getTailPosition();
+        BTree directory = store.newStructuralBTree();
+        SegmentRing ring = new SegmentRing(store.getStorage(), store.getAllocator(), store.getPageSize(), h1, t1);
+        long lo = Math.max(h0, h1);
+        long hi = Math.min(t0, t1);
+        if (lo >= hi) {
+            // 겹치지 않음: 전부 교체
+            emitRange(ring, directory, from.getRootPageId(), h0, t0, ChangeOp.DELETE, out);
+            emitRange(ring, directory, to.getRootPageId(), h1, t1, ChangeOp.INSERT, out);
+            return;
+        }
+        emitRange(ring, directory, from.getRootPageId(), h0, lo, ChangeOp.DELETE, out);
+        emitRange(ring, directory, from.getRootPageId(), hi, t0, ChangeOp.DELETE, out);
+        // 겹치는 범위: 디렉토리에서 페이지가 바뀐 세그먼트만 슬롯 비교
+        long capacity = ring.capacity();
+        diffKeyed(directory, ByteUtils::compareUnsigned, from.getRootPageId(), to.getRootPageId(),
+            (key, oldPage, newPage) -> {
+                if (oldPage == null || newPage == null) {
+                    return;
+                }
+                long first = ring.segmentNoOfPage(newPage) * capacity;
+                long start = Math.max(lo, first);
+                long end = Math.min(hi, first + capacity);
+                if (start < end) {
+                    long[] olds = slots(ring, oldPage, start, end);
+                    long[] news = slots(ring, newPage, start, end);
+                    for (int i = 0; i < olds.length; i++) {
+                        if (olds[i] != news[i]) {
+                            byte[] oldValue = store.readValueRecord(olds[i]);
+                            byte[] newValue = store.readValueRecord(news[i]);
+                            if (!Arrays.equals(oldValue, newValue)) {
+                                out.accept(new FxChange(ChangeOp.UPDATE, start + i, null, oldValue, newValue));
+                            }
+                        }
+                    }
+                }
+            });
+        emitRange(ring, directory, to.getRootPageId(), h1, lo, ChangeOp.INSERT, out);
+        emitRange(ring, directory, to.getRootPageId(), hi, t1, ChangeOp.INSERT, out);
+    }
+
+    private static long[] slots(SegmentRing ring, long pageId, long start, long end) {
+        long[] values = new long[(int) (end - start)];
+        int[] filled = new int[1];
+        ring.forEachSlot(pageId, start, end, value -> values[filled[0]++] = value);
+        return values;
+    }
+
+    private void emitRange(SegmentRing ring, BTree directory, long root, long from, long to, ChangeOp op,
+                           Consumer<FxChange> out) {
+        for (long position = from; position < to; position += RANGE_CHUNK) {
+            long end = Math.min(to, position + RANGE_CHUNK);
+            long[] records = ring.getRange(directory, root, position, end);
+            for (int i = 0; i < records.length; i++) {
+                byte[] value = store.readValueRecord(records[i]);
+                out.accept(op == ChangeOp.DELETE
+                    ? new FxChange(op, position + i, null, value, null)
+                    : new FxChange(op, position + i, null, null, value));
+            }
+        }
+    }
+}
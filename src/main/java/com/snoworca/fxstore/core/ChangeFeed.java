@@ -0,0 +1,581 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.CollectionKind;
+import com.snoworca.fxstore.api.FxChange;
+import com.snoworca.fxstore.api.FxChangeBatch;
+import com.snoworca.fxstore.api.FxChangeListener;
+import com.snoworca.fxstore.api.FxException;
+import com.snoworca.fxstore.api.FxSubscription;
+import com.snoworca.fxstore.catalog.CollectionState;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * 커밋된 변경 구독과 전달 ({@link FxStoreImpl#subscribe})
+ *
+ * <p>커밋마다 (Write Lock 하에서) 구독한 컬렉션의 상태가 바뀌었는지만 보고,
+ * 바뀌었으면 (이전 상태, 새 상태) 쌍을 구독의 대기열에 넣습니다. 실제 비교
+ * ({@link ChangeDiff})와 수신자 호출은 전용 데몬 스레드가 Lock 없이 수행하므로
+ * 커밋은 전달을 기다리지 않습니다.</p>
+ *
+ * <h3>메모리 제한</h3>
+ * <p>대기열은 구독당 {@link #MAX_PENDING}개까지이며, 가득 차면 마지막 항목의 새
+ * 상태를 최신 커밋으로 바꿔 범위를 합칩니다. 전달은 {@link #MAX_BATCH_CHANGES}개
+ * 단위 배치로 나눕니다. 대기 항목마다 읽기를 등록하여
+ * ({@link FxStoreImpl#pinReader()}) 이전 상태의 페이지가 온라인 컴팩션에
+ * 재사용되지 않게 합니다.</p>
+ *
+ * <h3>이전 상태 보관 (fromSeqNo 구독)</h3>
+ * <p>컬렉션마다 최근 {@link #RETAINED_VERSIONS}개 상태와 각 상태가 커밋된 seqNo를
+ * 보관합니다. 대체된 상태는 대체 시점의 회수 세대와 시각을 기록해 두고, 그 뒤
+ * 온라인 컴팩션이 페이지를 회수했으면 버린 것으로 봅니다. 구독 시 대체 시각으로
+ * 읽기를 등록하므로 진행 중인 컴팩션도 그 상태를 기다립니다. 생성 시에는 직전
+ * 커밋(다른 헤더 슬롯)의 상태도 넣어 재시작한 작성자가 놓친 마지막 커밋을 다시
+ * 보낼 수 있게 합니다. 각 상태는 내용을 마지막으로 바꾼 커밋
+ * ({@link CollectionState#getChangedSeqNo()})부터 유효한 것으로 봅니다.</p>
+ *
+ * <h3>지속 수신자</h3>
+ * <p>{@link FxChangeListener#isDurable()}인 구독이 있으면 커밋은 시작할 때 그 구독이
+ * 이전 커밋까지 모두 받기를 기다립니다({@link #awaitDurable()}). 따라서 작성자가
+ * 어느 시점에 중단되어도 수신자는 마지막 커밋보다 한 커밋 이상 뒤처지지 않으며,
+ * 재시작한 작성자가 보관하는 두 커밋의 상태로 이어 보낼 수 있습니다.</p>
+ *
+ * <p>스레드 안전성: {@link #subscribe}, {@link #committed}와 보관 상태 갱신은
+ * Write Lock 하에서 호출합니다. 대기열은 monitor로 보호합니다.</p>
+ *
+ * @since 0.10
+ */
+final class ChangeFeed {
+
+    /** 구독당 대기 범위 수 (넘으면 마지막 범위에 합침) */
+    static final int MAX_PENDING = 64;
+
+    /** 배치당 최대 변경 수 */
+    static final int MAX_BATCH_CHANGES = 1024;
+
+    /** 컬렉션당 보관하는 상태 수 (fromSeqNo 구독) */
+    static final int RETAINED_VERSIONS = 64;
+
+    private final FxStoreImpl store;
+    private final ChangeDiff diff;
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final Object monitor = new Object();
+
+    // Write Lock으로 보호: 컬렉션 ID → 오래된 순 상태
+    private final Map<Long, ArrayDeque<Version>> versions = new HashMap<>();
+
+    // 지속 구독이 한 번이라도 등록되었는지 (Write Lock 하에서 설정)
+    private volatile boolean hasDurable;
+
+    // monitor로 보호
+    private Thread dispatcher;
+    private boolean closing;
+    private boolean closed;
+    private int nextIndex;
+
+    /**
+     * @param store Store
+     * @param current 마지막 커밋
+     * @param previous 직전 커밋 (다른 헤더 슬롯, Store를 연 뒤 페이지 회수가 있었으면 null)
+     */
+    ChangeFeed(FxStoreImpl store, PageAccountant.Committed current, PageAccountant.Committed previous) {
+        this.store = store;
+        this.diff = new ChangeDiff(store);
+        long seqNo = current.getHeader().getSeqNo();
+        for (CollectionState state : current.getStates().values()) {
+            ArrayDeque<Version> history = new ArrayDeque<>();
+            CollectionState before = previous == null ? null : previous.getStates().get(state.getCollectionId());
+            if (before != null && sameContent(before, state)) {
+                history.addLast(new Version(changedSince(before, seqNo - 1), state));
+            } else {
+                if (before != null) {
+                    Version replaced = new Version(changedSince(before, seqNo - 1), before);
+                    replaced.supersede(store.openedNanos(), 0L);
+                    history.addLast(replaced);
+                }
+                history.addLast(new Version(seqNo, state));
+            }
+            versions.put(state.getCollectionId(), history);
+        }
+    }
+
+    /**
+     * 구독 등록 (Write Lock 필수)
+     *
+     * @param name 컬렉션 이름
+     * @param state 마지막 커밋의 컬렉션 상태
+     * @param seqNo 마지막 커밋 seqNo
+     * @param fromSeqNo 이 커밋 이후의 변경부터 전달 (seqNo 이하)
+     * @param keyComparator Map/Set 키 비교자 (그 밖에는 null)
+     * @param listener 수신자
+     * @throws FxException fromSeqNo 시점의 상태를 보관하지 않았으면 ILLEGAL_STATE
+     */
+    FxSubscription subscribe(String name, CollectionState state, long seqNo, long fromSeqNo,
+                             Comparator<byte[]> keyComparator, FxChangeListener listener) {
+        Version base = null;
+        if (fromSeqNo < seqNo) {
+            base = versionAt(state.getCollectionId(), fromSeqNo);
+            if (base == null) {
+                throw FxException.illegalState("Changes of " + name + " after seqNo " + fromSeqNo
+                    + " are no longer available; resync from a full read");
+            }
+        }
+        synchronized (monitor) {
+            if (closing) {
+                throw FxException.closed("Store is closing");
+            }
+            Subscription subscription = new Subscription(name, base == null ? state : base.state, fromSeqNo,
+                keyComparator, listener);
+            hasDurable |= subscription.durable;
+            if (base != null && subscription.enqueue(state, seqNo, base.readSinceNanos())) {
+                startDispatcher();
+                monitor.notifyAll();
+            } else {
+                // 그 사이 바뀌지 않음: 다음 배치의 fromSeqNo는 그대로 fromSeqNo
+                subscription.deliveredSeqNo = seqNo;
+            }
+            subscriptions.add(subscription);
+            return subscription;
+        }
+    }
+
+    /**
+     * seqNo 시점의 컬렉션 상태 (Write Lock 필수)
+     *
+     * @return 보관하지 않았거나 페이지가 회수되었으면 null
+     */
+    private Version versionAt(long collectionId, long seqNo) {
+        ArrayDeque<Version> history = versions.get(collectionId);
+        if (history == null) {
+            return null;
+        }
+        Iterator<Version> it = history.descendingIterator();
+        while (it.hasNext()) {
+            Version version = it.next();
+            if (version.sinceSeqNo <= seqNo) {
+                return version.isReadable(store.reclaimGeneration()) ? version : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 새 커밋의 상태를 보관 (Write Lock 필수)
+     */
+    private void retain(PageAccountant.Committed committed) {
+        long seqNo = committed.getHeader().getSeqNo();
+        long now = System.nanoTime();
+        long generation = store.reclaimGeneration();
+        Map<Long, CollectionState> states = committed.getStates();
+        versions.keySet().retainAll(states.keySet());
+        for (CollectionState state : states.values()) {
+            ArrayDeque<Version> history = versions.get(state.getCollectionId());
+            if (history == null) {
+                history = new ArrayDeque<>();
+                versions.put(state.getCollectionId(), history);
+            } else if (sameContent(history.peekLast().state, state)) {
+                continue;
+            } else {
+                history.peekLast().supersede(now, generation);
+                if (history.size() >= RETAINED_VERSIONS) {
+                    history.pollFirst();
+                }
+            }
+            history.addLast(new Version(seqNo, state));
+        }
+    }
+
+    /**
+     * 커밋 완료 통지 (Write Lock 필수)
+     *
+     * @param committed 새 커밋의 헤더와 컬렉션 상태
+     */
+    void committed(PageAccountant.Committed committed) {
+        retain(committed);
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        long seqNo = committed.getHeader().getSeqNo();
+        synchronized (monitor) {
+            if (closed) {
+                return;
+            }
+            boolean queued = false;
+            for (Subscription subscription : subscriptions) {
+                queued |= subscription.enqueue(committed.getStates().get(subscription.collectionId), seqNo,
+                    System.nanoTime());
+            }
+            if (queued) {
+                startDispatcher();
+                monitor.notifyAll();
+            }
+        }
+    }
+
+    /**
+     * 대기 중인 변경을 모두 전달한 뒤 종료
+     *
+     * <p>수신자 안에서 호출하면(전달 스레드) 기다리지 않고 남은 변경을 버립니다.</p>
+     */
+    void close() {
+        Thread thread;
+        synchronized (monitor) {
+            closing = true;
+            monitor.notifyAll();
+            thread = dispatcher;
+        }
+        if (thread != null && thread != Thread.currentThread()) {
+            boolean interrupted = false;
+            while (thread.isAlive()) {
+                try {
+                    thread.join();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (monitor) {
+            closed = true;
+        }
+        for (Subscription subscription : subscriptions) {
+            subscription.close();
+        }
+    }
+
+    private void startDispatcher() {
+        if (dispatcher == null) {
+            dispatcher = new Thread(this::dispatchLoop, "fxstore-changes");
+            dispatcher.setDaemon(true);
+            dispatcher.start();
+        }
+    }
+
+    // ==================== 전달 스레드 ====================
+
+    private void dispatchLoop() {
+        while (true) {
+            Subscription subscription;
+            Pending pending;
+            synchronized (monitor) {
+                while ((subscription = nextReady()) == null) {
+                    if (closing) {
+                        dispatcher = null;
+                        return;
+                    }
+                    try {
+                        monitor.wait();
+                    } catch (InterruptedException e) {
+                        // closing이 설정될 때까지 계속
+                    }
+                }
+                pending = subscription.queue.pollFirst();
+                subscription.delivering = true;
+            }
+            try {
+                subscription.deliver(pending);
+            } finally {
+                synchronized (monitor) {
+                    subscription.delivering = false;
+                    monitor.notifyAll();
+                }
+            }
+        }
+    }
+
+    /**
+     * 대기 항목이 있는 구독을 돌아가며 선택 (monitor 보유)
+     */
+    private Subscription nextReady() {
+        int size = subscriptions.size();
+        for (int i = 0; i < size; i++) {
+            int index = (nextIndex + i) % size;
+            Subscription subscription = subscriptions.get(index);
+            if (!subscription.queue.isEmpty()) {
+                nextIndex = index + 1;
+                return subscription;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 지속 구독이 이전 커밋까지 모두 받기를 대기 (Write Lock 필수, 커밋 시작 시)
+     *
+     * <p>전달 스레드 자신(수신자 안에서의 커밋)은 기다리지 않습니다.</p>
+     */
+    void awaitDurable() {
+        if (!hasDurable) {
+            return;
+        }
+        boolean interrupted = false;
+        synchronized (monitor) {
+            while (!closed && dispatcher != Thread.currentThread() && durableBehind()) {
+                try {
+                    monitor.wait();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * 아직 전달하지 않은 범위가 있는 지속 구독이 있는지 (monitor 보유)
+     */
+    private boolean durableBehind() {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.durable && (!subscription.queue.isEmpty() || subscription.delivering)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 상태가 유효해진 커밋 (내용을 바꾼 커밋을 모르면 fallback)
+     */
+    private static long changedSince(CollectionState state, long fallback) {
+        long changedSeqNo = state.getChangedSeqNo();
+        return changedSeqNo >= 0 && changedSeqNo < fallback ? changedSeqNo : fallback;
+    }
+
+    static boolean sameContent(CollectionState previous, CollectionState state) {
+        return state != null
+            && previous.getRootPageId() == state.getRootPageId()
+            && previous.getHeadPosition() == state.getHeadPosition()
+            && previous.getTailPosition() == state.getTailPosition();
+    }
+
+    /**
+     * 보관한 컬렉션 상태
+     */
+    private static final class Version {
+        final long sinceSeqNo;
+        final CollectionState state;
+        boolean superseded;
+        long supersededNanos;
+        long supersededGeneration;
+
+        Version(long sinceSeqNo, CollectionState state) {
+            this.sinceSeqNo = sinceSeqNo;
+            this.state = state;
+        }
+
+        void supersede(long nanos, long generation) {
+            superseded = true;
+            supersededNanos = nanos;
+            supersededGeneration = generation;
+        }
+
+        boolean isReadable(long generation) {
+            return !superseded || supersededGeneration == generation;
+        }
+
+        /**
+         * 읽기 등록 시각 (이 상태가 마지막 커밋이던 시점)
+         */
+        long readSinceNanos() {
+            return superseded ? supersededNanos : System.nanoTime();
+        }
+    }
+
+    /**
+     * 전달할 범위 (from, to]
+     */
+    private static final class Pending {
+        final CollectionState from;
+        CollectionState to;       // null이면 컬렉션 삭제
+        long toSeqNo;
+        final long ticket;
+
+        Pending(CollectionState from, CollectionState to, long toSeqNo, long ticket) {
+            this.from = from;
+            this.to = to;
+            this.toSeqNo = toSeqNo;
+            this.ticket = ticket;
+        }
+    }
+
+    /**
+     * 구독 취소 또는 수신자 예외로 전달 중단
+     */
+    private static final class Cancelled extends RuntimeException {
+        Cancelled() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final class Subscription implements FxSubscription {
+        private final String name;
+        private final long collectionId;
+        private final CollectionKind kind;
+        private final long startSeqNo;
+        private final Comparator<byte[]> keyComparator;
+        private final FxChangeListener listener;
+        private final boolean durable;
+
+        // monitor로 보호
+        private final ArrayDeque<Pending> queue = new ArrayDeque<>();
+        private CollectionState lastQueued;
+        private boolean delivering;
+
+        // 전달 스레드에서만 갱신
+        private volatile long deliveredSeqNo;
+        private long lastBatchSeqNo;
+        private volatile boolean active = true;
+
+        Subscription(String name, CollectionState state, long seqNo, Comparator<byte[]> keyComparator,
+                     FxChangeListener listener) {
+            this.name = name;
+            this.collectionId = state.getCollectionId();
+            this.kind = state.getKind();
+            this.startSeqNo = seqNo;
+            this.keyComparator = keyComparator;
+            this.listener = listener;
+            this.durable = listener.isDurable();
+            this.lastQueued = state;
+            this.deliveredSeqNo = seqNo;
+            this.lastBatchSeqNo = seqNo;
+        }
+
+        /**
+         * 새 커밋 상태를 대기열에 추가 (monitor 보유)
+         *
+         * @param state 새 커밋의 컬렉션 상태 (삭제되었으면 null)
+         * @param sinceNanos 이전 상태가 마지막 커밋이던 시각 (읽기 등록 시각)
+         * @return 추가했으면 true
+         */
+        boolean enqueue(CollectionState state, long seqNo, long sinceNanos) {
+            if (!active || lastQueued == null || sameContent(lastQueued, state)) {
+                return false;
+            }
+            Pending last = queue.peekLast();
+            if (queue.size() >= MAX_PENDING) {
+                // 범위 합침: 이전 상태와 등록 티켓은 그대로
+                last.to = state;
+                last.toSeqNo = seqNo;
+            } else {
+                queue.addLast(new Pending(lastQueued, state, seqNo, store.pinReader(sinceNanos)));
+            }
+            lastQueued = state;
+            return true;
+        }
+
+        /**
+         * 범위 하나의 변경 계산과 전달 (전달 스레드, Lock 없음)
+         */
+        void deliver(Pending pending) {
+            try {
+                if (!active) {
+                    return;
+                }
+                if (pending.to == null) {
+                    listener.onChanges(new FxChangeBatch(name, kind, lastBatchSeqNo, pending.toSeqNo,
+                        true, true, Collections.<FxChange>emptyList()));
+                    lastBatchSeqNo = pending.toSeqNo;
+                    deliveredSeqNo = pending.toSeqNo;
+                    close();
+                    return;
+                }
+                BatchWriter writer = new BatchWriter(pending.toSeqNo);
+                diff.diff(pending.from, pending.to, keyComparator, writer);
+                writer.finish();
+                deliveredSeqNo = pending.toSeqNo;
+            } catch (RuntimeException e) {
+                // 수신자 예외, 비교 실패 또는 취소 - 구독 해제 (소비자는 fromSeqNo 공백으로 감지)
+                close();
+            } finally {
+                store.unpinReader(pending.ticket);
+            }
+        }
+
+        /**
+         * 변경을 배치로 묶어 전달 (마지막 배치만 last)
+         */
+        private final class BatchWriter implements Consumer<FxChange> {
+            private final long seqNo;
+            private List<FxChange> changes = new ArrayList<>();
+
+            BatchWriter(long seqNo) {
+                this.seqNo = seqNo;
+            }
+
+            @Override
+            public void accept(FxChange change) {
+                if (changes.size() == MAX_BATCH_CHANGES) {
+                    send(false);
+                    changes = new ArrayList<>();
+                }
+                changes.add(change);
+            }
+
+            void finish() {
+                if (!changes.isEmpty()) {
+                    send(true);
+                    lastBatchSeqNo = seqNo;
+                }
+            }
+
+            private void send(boolean last) {
+                if (!active) {
+                    throw new Cancelled();
+                }
+                listener.onChanges(new FxChangeBatch(name, kind, lastBatchSeqNo, seqNo, last, false, changes));
+            }
+        }
+
+        @Override
+        public String collection() {
+            return name;
+        }
+
+        @Override
+        public long startSeqNo() {
+            return startSeqNo;
+        }
+
+        @Override
+        public long deliveredSeqNo() {
+            return deliveredSeqNo;
+        }
+
+        @Override
+        public boolean isActive() {
+            return active;
+        }
+
+        @Override
+        public void close() {
+            active = false;
+            subscriptions.remove(this);
+            synchronized (monitor) {
+                for (Pending pending : queue) {
+                    store.unpinReader(pending.ticket);
+                }
+                queue.clear();
+                lastQueued = null;
+                monitor.notifyAll();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return "FxSubscription{" + name + ", delivered=" + deliveredSeqNo + (active ? "" : ", closed") + '}';
+        }
+    }
+}
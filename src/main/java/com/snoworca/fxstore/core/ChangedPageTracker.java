@@ -0,0 +1,112 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.storage.AllocatedPages;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 커밋별 변경 페이지 추적 (증분 백업)
+ *
+ * <p>커밋마다 그 커밋이 새로 쓴 페이지(할당한 페이지와 세그먼트 링의 제자리
+ * 쓰기)를 커밋 seqNo와 함께 기록합니다. {@link #changedSince(long)}은 주어진
+ * seqNo 이후 커밋에서 바뀐 페이지의 합집합을 반환하며, 증분 백업은 이 페이지만
+ * 복사합니다.</p>
+ *
+ * <h3>메모리 한도</h3>
+ * <p>기록된 구간 수가 {@link #MAX_RUNS}를 넘으면 모든 기록을 하나의 합집합으로
+ * 합칩니다. 이후 그 안의 어떤 seqNo를 물어도 합집합 전체를 반환하므로 결과는
+ * 실제보다 클 수 있지만(더 복사할 뿐) 빠지는 페이지는 없습니다. 합집합도 한도의
+ * 절반을 넘으면 기록을 버리고 추적 시작점을 옮기며, 그 이전 seqNo는
+ * {@link #changedSince(long)}가 null을 반환합니다. Store를 다시 열 때도 추적은
+ * 그 시점의 seqNo부터 시작합니다.</p>
+ *
+ * <p>스레드 안전성: 모든 메서드는 synchronized입니다. {@link #record}와
+ * {@link #reset}은 Write Lock 하에서 호출하고, 백업은 Lock 없이 조회합니다.</p>
+ *
+ * @since 0.10
+ */
+final class ChangedPageTracker {
+
+    /** 보관하는 최대 구간 수 */
+    static final int MAX_RUNS = 1 << 16;
+
+    /** (커밋 seqNo, 그 커밋까지의 변경 페이지), seqNo 오름차순 */
+    private final ArrayDeque<Entry> entries = new ArrayDeque<>();
+
+    /** 이 seqNo 이후의 커밋은 모두 기록됨 */
+    private long trackedSince;
+
+    private int runs;
+
+    /**
+     * 추적 시작 (open)
+     *
+     * @param seqNo 현재 커밋 seqNo
+     */
+    synchronized void reset(long seqNo) {
+        entries.clear();
+        runs = 0;
+        trackedSince = seqNo;
+    }
+
+    /**
+     * 커밋의 변경 페이지 기록
+     *
+     * @param seqNo 커밋 seqNo
+     * @param pages 이 커밋이 쓴 페이지
+     */
+    synchronized void record(long seqNo, AllocatedPages pages) {
+        if (pages.isEmpty()) {
+            return;
+        }
+        entries.addLast(new Entry(seqNo, pages));
+        runs += pages.runCount();
+        if (runs <= MAX_RUNS) {
+            return;
+        }
+        List<AllocatedPages> all = new ArrayList<>(entries.size());
+        for (Entry entry : entries) {
+            all.add(entry.pages);
+        }
+        AllocatedPages merged = AllocatedPages.union(all);
+        entries.clear();
+        if (merged.runCount() > MAX_RUNS / 2) {
+            runs = 0;
+            trackedSince = seqNo;
+            return;
+        }
+        entries.addLast(new Entry(seqNo, merged));
+        runs = merged.runCount();
+    }
+
+    /**
+     * seqNo 이후 커밋에서 바뀐 페이지
+     *
+     * @param seqNo 기준 커밋 seqNo (이 커밋의 변경은 포함하지 않음)
+     * @return 바뀐 페이지 (실제보다 클 수 있음), 추적 시작 이전이면 null
+     */
+    synchronized AllocatedPages changedSince(long seqNo) {
+        if (seqNo < trackedSince) {
+            return null;
+        }
+        List<AllocatedPages> changed = new ArrayList<>();
+        for (Entry entry : entries) {
+            if (entry.seqNo > seqNo) {
+                changed.add(entry.pages);
+            }
+        }
+        return AllocatedPages.union(changed);
+    }
+
+    private static final class Entry {
+        final long seqNo;
+        final AllocatedPages pages;
+
+        Entry(long seqNo, AllocatedPages pages) {
+            this.seqNo = seqNo;
+            this.pages = pages;
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.util.ByteUtils;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * 코덱 기반 객체 비교자
+ *
+ * <p>객체를 코덱으로 인코딩한 뒤 {@link FxCodec#compareBytes(byte[], byte[])}로 비교합니다.
+ * 범위 검사처럼 같은 경계 객체가 반복해서 비교되는 경우를 위해 최근 인코딩 결과를
+ * 객체 동일성(identity) 기준으로 캐시하여 매 비교마다의 재인코딩을 피합니다.</p>
+ *
+ * <p>캐시는 불변임이 알려진 내장 타입(String, 박싱된 기본 타입)의 작은 값에만
+ * 적용합니다. 사용자 코덱의 객체는 비교 사이에 내용이 바뀔 수 있어 캐시하면
+ * {@link Comparator} 계약이 깨지고, 큰 값은 Map이 살아 있는 동안 캐시에 붙잡혀
+ * 있게 되기 때문입니다.</p>
+ *
+ * <p>바이트 비교 가능({@link FxCodec#isByteComparable()}) 코덱은
+ * 워드 단위 unsigned 비교를 사용합니다.</p>
+ *
+ * <h3>스레드 안전성</h3>
+ * <p>캐시 슬롯은 불변 {@link Encoded} 참조만 교체하므로 경쟁 상황에서도
+ * 잘못된 인코딩을 반환하지 않습니다 (최악의 경우 캐시 미스).</p>
+ *
+ * @param <T> 비교 대상 타입
+ * @since 0.10
+ */
+final class CodecComparator<T> implements Comparator<T> {
+
+    /** 캐시하는 최대 인코딩 크기 */
+    static final int MAX_CACHED_BYTES = 64;
+
+    /** 캐시 가능한 불변 타입 (모두 final 클래스) */
+    private static final Set<Class<?>> IMMUTABLE_TYPES = new HashSet<>(Arrays.<Class<?>>asList(
+        String.class, Long.class, Integer.class, Short.class, Byte.class,
+        Double.class, Float.class, Character.class, Boolean.class));
+
+    private final FxCodec<T> codec;
+    private final boolean byteComparable;
+
+    /** 최근 인코딩 캐시 (왼쪽/오른쪽 인자 위치별 1슬롯) */
+    private volatile Encoded leftSlot;
+    private volatile Encoded rightSlot;
+
+    CodecComparator(FxCodec<T> codec) {
+        this.codec = codec;
+        this.byteComparable = codec.isByteComparable();
+    }
+
+    @Override
+    public int compare(T a, T b) {
+        byte[] aBytes = encodeCached(a, true);
+        byte[] bBytes = encodeCached(b, false);
+        if (byteComparable) {
+            return ByteUtils.compareUnsigned(aBytes, bBytes);
+        }
+        // 코덱의 compareBytes 사용 - 타입에 맞는 정확한 비교
+        return codec.compareBytes(aBytes, bBytes);
+    }
+
+    private byte[] encodeCached(T value, boolean left) {
+        Encoded l = leftSlot;
+        if (l != null && l.value == value) {
+            return l.bytes;
+        }
+        Encoded r = rightSlot;
+        if (r != null && r.value == value) {
+            return r.bytes;
+        }
+        byte[] bytes = codec.encode(value);
+        if (bytes.length <= MAX_CACHED_BYTES && IMMUTABLE_TYPES.contains(value.getClass())) {
+            Encoded encoded = new Encoded(value, bytes);
+            if (left) {
+                leftSlot = encoded;
+            } else {
+                rightSlot = encoded;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * 객체와 인코딩 결과 쌍 (불변)
+     */
+    private static final class Encoded {
+        final Object value;
+        final byte[] bytes;
+
+        Encoded(Object value, byte[] bytes) {
+            this.value = value;
+            this.bytes = bytes;
+        }
+    }
+}
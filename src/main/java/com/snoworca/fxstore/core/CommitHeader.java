@@ -22,13 +22,15 @@ import com.snoworca.fxstore.util.CRC32C;
  * [8-11]   : headerVersion (u32 LE)
  * [12-15]  : _padding1
  * [16-23]  : seqNo (u64 LE) - 단조 증가
- * [24-31]  : committedFlags (u64 LE) - bit 0: SYNC durability
+ * [24-31]  : committedFlags (u64 LE) - bit 0: SYNC durability, bit 1: 세그먼트 링 Deque 포함 (v0.10+)
  * [32-39]  : allocTail (u64 LE) - 다음 할당 오프셋
  * [40-47]  : catalogRootPageId (u64 LE)
  * [48-55]  : stateRootPageId (u64 LE)
  * [56-63]  : nextCollectionId (u64 LE)
  * [64-71]  : commitEpochMs (u64 LE) - 커밋 시각
- * [72-4091]: reserved (0x00)
+ * [72-79]  : livePages (u64 LE) - 커밋된 상태가 참조하는 페이지 수 (v0.10+, 0이면 모름)
+ * [80-87]  : reclaimEpoch (u64 LE) - 페이지 회수 세대 (v0.10+, 이전 파일은 0)
+ * [88-4091]: reserved (0x00)
  * [4092-4095]: CRC32C (u32 LE)
  */
 public class CommitHeader {
@@ -38,6 +40,19 @@ public class CommitHeader {
         0x46, 0x58, 0x48, 0x44, 0x52, 0x00, 0x00, 0x00  // "FXHDR\0\0\0"
     };
     public static final int CURRENT_VERSION = 1;
+
+    /** committedFlags: SYNC durability */
+    public static final long FLAG_SYNC = 1L;
+
+    /**
+     * committedFlags: BTree에서 변환한 세그먼트 링 Deque가 있을 수 있음 (v0.10+)
+     *
+     * <p>마이그레이션 커밋부터 이어집니다. 이 플래그를 모르는 버전은 파일을 열지 않습니다.</p>
+     */
+    public static final long FLAG_SEGMENT_RING_DEQUES = 1L << 1;
+
+    /** 이 버전이 아는 committedFlags */
+    public static final long SUPPORTED_FLAGS = FLAG_SYNC | FLAG_SEGMENT_RING_DEQUES;
     
     private final long seqNo;
     private final long committedFlags;
@@ -46,6 +61,8 @@ public class CommitHeader {
     private final long stateRootPageId;
     private final long nextCollectionId;
     private final long commitEpochMs;
+    private final long livePages;
+    private final long reclaimEpoch;
     
     public CommitHeader(
         long seqNo,
@@ -55,6 +72,46 @@ public class CommitHeader {
         long stateRootPageId,
         long nextCollectionId,
         long commitEpochMs
+    ) {
+        this(seqNo, committedFlags, allocTail, catalogRootPageId, stateRootPageId,
+             nextCollectionId, commitEpochMs, 0L);
+    }
+
+    /**
+     * @param livePages 커밋된 상태가 참조하는 페이지 수 (고정 영역, catalog/state 트리,
+     *                  모든 컬렉션 포함; 0이면 모름)
+     * @since 0.10
+     */
+    public CommitHeader(
+        long seqNo,
+        long committedFlags,
+        long allocTail,
+        long catalogRootPageId,
+        long stateRootPageId,
+        long nextCollectionId,
+        long commitEpochMs,
+        long livePages
+    ) {
+        this(seqNo, committedFlags, allocTail, catalogRootPageId, stateRootPageId,
+             nextCollectionId, commitEpochMs, livePages, 0L);
+    }
+
+    /**
+     * @param livePages 커밋된 상태가 참조하는 페이지 수 (0이면 모름)
+     * @param reclaimEpoch 페이지 회수 세대 (이전 커밋이 참조하던 페이지를 다시 쓰기 전에
+     *                     올린 값을 먼저 커밋함)
+     * @since 0.10
+     */
+    public CommitHeader(
+        long seqNo,
+        long committedFlags,
+        long allocTail,
+        long catalogRootPageId,
+        long stateRootPageId,
+        long nextCollectionId,
+        long commitEpochMs,
+        long livePages,
+        long reclaimEpoch
     ) {
         this.seqNo = seqNo;
         this.committedFlags = committedFlags;
@@ -63,6 +120,8 @@ public class CommitHeader {
         this.stateRootPageId = stateRootPageId;
         this.nextCollectionId = nextCollectionId;
         this.commitEpochMs = commitEpochMs;
+        this.livePages = livePages;
+        this.reclaimEpoch = reclaimEpoch;
     }
     
     /**
@@ -101,9 +160,15 @@ public class CommitHeader {
         
         // CommitEpochMs
         buf.putLong(commitEpochMs);
+
+        // LivePages
+        buf.putLong(livePages);
+
+        // ReclaimEpoch
+        buf.putLong(reclaimEpoch);
         
-        // Reserved (72 ~ 4091 = 4020 bytes)
-        byte[] reserved = new byte[4020];
+        // Reserved (88 ~ 4091 = 4004 bytes)
+        byte[] reserved = new byte[4004];
         Arrays.fill(reserved, (byte) 0);
         buf.put(reserved);
         
@@ -161,6 +226,8 @@ public class CommitHeader {
         long stateRootPageId = buf.getLong();
         long nextCollectionId = buf.getLong();
         long commitEpochMs = buf.getLong();
+        long livePages = buf.getLong();
+        long reclaimEpoch = buf.getLong();
         
         return new CommitHeader(
             seqNo,
@@ -169,7 +236,9 @@ public class CommitHeader {
             catalogRootPageId,
             stateRootPageId,
             nextCollectionId,
-            commitEpochMs
+            commitEpochMs,
+            livePages,
+            reclaimEpoch
         );
     }
     
@@ -270,12 +339,37 @@ public class CommitHeader {
     public long getCommitEpochMs() {
         return commitEpochMs;
     }
+
+    /**
+     * 커밋된 상태가 참조하는 페이지 수
+     *
+     * @return 페이지 수 (v0.10 이전 헤더면 0)
+     * @since 0.10
+     */
+    public long getLivePages() {
+        return livePages;
+    }
+
+    /**
+     * 페이지 회수 세대
+     *
+     * <p>온라인 컴팩션은 이전 커밋이 참조하던 페이지를 재사용하거나 잘라내기 전에
+     * 이 값을 올린 커밋을 먼저 씁니다. 같은 세대의 커밋이 참조하는 페이지는 그 세대
+     * 동안 바뀌지 않습니다.</p>
+     *
+     * @return 회수 세대 (v0.10 이전 헤더면 0)
+     * @since 0.10
+     */
+    public long getReclaimEpoch() {
+        return reclaimEpoch;
+    }
     
     @Override
     public String toString() {
         return String.format(
-            "CommitHeader{seqNo=%d, allocTail=%d, catalogRoot=%d, stateRoot=%d, nextColId=%d, epoch=%d}",
-            seqNo, allocTail, catalogRootPageId, stateRootPageId, nextCollectionId, commitEpochMs
+            "CommitHeader{seqNo=%d, allocTail=%d, catalogRoot=%d, stateRoot=%d, nextColId=%d, epoch=%d, livePages=%d, reclaimEpoch=%d}",
+            seqNo, allocTail, catalogRootPageId, stateRootPageId, nextCollectionId, commitEpochMs, livePages,
+            reclaimEpoch
         );
     }
 }
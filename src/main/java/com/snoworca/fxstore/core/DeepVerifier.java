@@ -0,0 +1,632 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.CodecRef;
+import com.snoworca.fxstore.api.CollectionKind;
+import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.api.VerifyError;
+import com.snoworca.fxstore.api.VerifyErrorKind;
+import com.snoworca.fxstore.btree.BTree;
+import com.snoworca.fxstore.btree.BTreeInternal;
+import com.snoworca.fxstore.btree.BTreeLeaf;
+import com.snoworca.fxstore.btree.BTreeNode;
+import com.snoworca.fxstore.catalog.CollectionState;
+import com.snoworca.fxstore.collection.SegmentRing;
+import com.snoworca.fxstore.ost.OST;
+import com.snoworca.fxstore.ost.OSTInternal;
+import com.snoworca.fxstore.ost.OSTLeaf;
+import com.snoworca.fxstore.ost.OSTNode;
+import com.snoworca.fxstore.storage.Storage;
+import com.snoworca.fxstore.util.ByteUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 전체 트리 병렬 검증 (verify(DEEP))
+ *
+ * <p>마지막 커밋에서 도달 가능한 모든 트리(컬렉션, catalog, state)를 fork/join
+ * 작업으로 나눠 순회합니다. 컬렉션마다 작업 하나로 시작하고, 레벨 2 이상의
+ * 내부 노드는 자식 서브트리를 다시 작업으로 나누므로 큰 컬렉션 하나도 여러
+ * 스레드가 나눠 검사합니다.</p>
+ *
+ * <h3>검사 항목</h3>
+ * <ul>
+ *   <li>BTree: 노드 내 키 오름차순, 부모 분리자 범위 [lo, hi), 자식 수 = 키 수 + 1,
+ *       자식 레벨 = 부모 레벨 - 1 (모든 리프가 같은 깊이)</li>
+ *   <li>OST: 내부 노드가 기록한 자식 서브트리 크기 = 실제 요소 수, 레벨</li>
+ *   <li>세그먼트 링: 디렉토리 키와 세그먼트 페이지의 세그먼트 번호 일치,
+ *       [head, tail) 범위의 세그먼트가 모두 존재</li>
+ *   <li>값 레코드: 길이 필드가 할당 범위(allocTail) 안</li>
+ *   <li>페이지: 고정 영역 이후 allocTail 이전, 두 번 이상 참조되지 않음</li>
+ *   <li>요소 수와 live 페이지 집계 ({@link CollectionState#getLivePages()},
+ *       {@link CommitHeader#getLivePages()})</li>
+ * </ul>
+ *
+ * <p>페이지 형식에 체크섬 필드가 없으므로 페이지 내용의 체크섬은 검사하지 않고,
+ * 위 구조 검사로 손상을 찾습니다. COW 트리는 리프 연결(nextLeafPageId)을
+ * 유지하지 않으므로 리프 연결도 검사하지 않습니다.</p>
+ *
+ * <p>스레드 안전성: 오류와 방문 페이지는 스레드 안전한 자료구조에 모으며, 발견
+ * 즉시 오류 큐에 추가합니다. 호출자는 검증하는 동안 읽기를 등록하여
+ * ({@link FxStoreImpl#pinReader()}) 온라인 컴팩션이 페이지를 재사용하지 않게 해야
+ * 합니다.</p>
+ *
+ * @since 0.10
+ */
+final class DeepVerifier {
+
+    /** 보고하는 최대 오류 수 (손상된 큰 파일에서 메모리 사용 제한) */
+    static final int MAX_ERRORS = 1000;
+
+    private final FxStoreImpl store;
+    private final Storage storage;
+    private final int pageSize;
+    private final long fixedPages;
+    private final long allocTail;
+    private final long tailPages;
+    private final boolean split;
+    /** 값 레코드 ID가 바이트 오프셋인지 여부 (고정 파일) */
+    private final boolean packedRecords;
+
+    /** 노드 읽기용 (읽기 메서드는 상태를 바꾸지 않으므로 작업 간 공유) */
+    private final BTree btree;
+    private final OST ost;
+
+    /** 방문한 페이지 비트맵 */
+    private final AtomicLongArray visited;
+
+    private final ConcurrentLinkedQueue<VerifyError> errors = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger errorCount = new AtomicInteger();
+
+    /**
+     * @param store 검증할 Store
+     * @param header 검증할 커밋 헤더
+     * @param split 서브트리를 작업으로 나눌지 여부 (병렬 실행 시 true)
+     */
+    DeepVerifier(FxStoreImpl store, CommitHeader header, boolean split) {
+        this.store = store;
+        this.storage = store.getStorage();
+        this.pageSize = store.getPageSize();
+        this.fixedPages = store.fixedPages();
+        this.allocTail = Math.min(header.getAllocTail(), storage.size());
+        this.tailPages = (allocTail + pageSize - 1) / pageSize;
+        this.split = split;
+        this.packedRecords = store.isFrozen();
+        this.btree = store.newStructuralBTree();
+        this.ost = new OST(storage, store.getAllocator(), pageSize);
+        this.visited = new AtomicLongArray((int) ((tailPages + 63) / 64));
+    }
+
+    /**
+     * 커밋된 상태 전체 검증
+     *
+     * @param header 커밋 헤더
+     * @param states 커밋된 컬렉션 상태
+     * @param pool 작업을 실행할 풀 (null이면 호출 스레드에서 실행)
+     * @return 발견한 오류 (최대 {@link #MAX_ERRORS}개)
+     */
+    List<VerifyError> verify(CommitHeader header, Collection<CollectionState> states, ForkJoinPool pool) {
+        List<Tree> trees = new ArrayList<>();
+        trees.add(Tree.metadata("catalog", header.getCatalogRootPageId(), states.size()));
+        trees.add(Tree.metadata("state", header.getStateRootPageId(), states.size()));
+        for (CollectionState state : states) {
+            trees.add(newTree(state));
+        }
+
+        RecursiveTask<Long> all = new RecursiveTask<Long>() {
+            @Override
+            protected Long compute() {
+                List<TreeTask> tasks = new ArrayList<>(trees.size());
+                for (Tree tree : trees) {
+                    tasks.add(new TreeTask(tree));
+                }
+                if (split) {
+                    invokeAll(tasks);
+                } else {
+                    for (TreeTask task : tasks) {
+                        task.invoke();
+                    }
+                }
+                return 0L;
+            }
+        };
+        if (pool != null) {
+            pool.invoke(all);
+        } else {
+            all.invoke();
+        }
+
+        long livePages = fixedPages;
+        for (Tree tree : trees) {
+            long pages = tree.pages.sum();
+            livePages += pages;
+            if (tree.state != null && tree.state.hasLivePages() && pages != tree.state.getLivePages()) {
+                report(VerifyErrorKind.PAGE, -1L, tree.id,
+                    tree.name + ": live page counter " + tree.state.getLivePages()
+                    + " but " + pages + " pages reachable");
+            }
+        }
+        if (header.getLivePages() > 0 && livePages != header.getLivePages()) {
+            report(VerifyErrorKind.PAGE, -1L, 0L,
+                "CommitHeader live page counter " + header.getLivePages()
+                + " but " + livePages + " pages reachable");
+        }
+        return new ArrayList<>(errors);
+    }
+
+    // ==================== 트리 ====================
+
+    private Tree newTree(CollectionState state) {
+        long id = state.getCollectionId();
+        String name = "collection " + id + " (" + state.getKind() + ")";
+        if (state.getKind() == CollectionKind.LIST) {
+            return new Tree(state, name, true, null, state.getInlineElementWidth() == 0, false);
+        }
+        if (state.isSegmentRing()) {
+            return new Tree(state, name, false, ByteUtils::compareUnsigned, false, true);
+        }
+        Comparator<byte[]> comparator;
+        if (state.getKind() == CollectionKind.DEQUE) {
+            // 레거시 시퀀스 인코딩은 바이트 순서와 논리 순서가 다름
+            comparator = state.getSeqEncoderVersion() == CollectionState.SEQ_ENCODER_VERSION_ORDERED
+                ? ByteUtils::compareUnsigned : null;
+        } else {
+            CodecRef keyCodec = state.getKind() == CollectionKind.MAP ? state.getKeyCodec() : state.getValueCodec();
+            comparator = codecComparator(keyCodec);
+        }
+        return new Tree(state, name, false, comparator, true, false);
+    }
+
+    /**
+     * 저장된 코덱의 키 비교자 (등록되지 않은 코덱이면 null - 순서 검사 생략)
+     */
+    private Comparator<byte[]> codecComparator(CodecRef ref) {
+        if (ref == null || ref.getCodecId() == null) {
+            return null;
+        }
+        FxCodec<?> codec = store.codecs().getById(ref.getCodecId(), ref.getCodecVersion());
+        if (codec == null) {
+            return null;
+        }
+        if (codec.isByteComparable()) {
+            return ByteUtils::compareUnsigned;
+        }
+        return codec::compareBytes;
+    }
+
+    /**
+     * 검증 대상 트리 하나
+     */
+    private static final class Tree {
+        final CollectionState state;
+        final long id;
+        final String name;
+        final long root;
+        /** 기대 요소 수 (-1이면 검사 생략) */
+        final long expectedCount;
+        final boolean ost;
+        /** null이면 키 순서 검사 생략 */
+        final Comparator<byte[]> comparator;
+        /** 리프 값이 값 레코드 ID인지 여부 */
+        final boolean records;
+        /** 리프 값이 세그먼트 페이지인지 여부 (세그먼트 링 디렉토리) */
+        final boolean ring;
+        final LongAdder pages = new LongAdder();
+        /** 세그먼트 링의 [head, tail) 슬롯 수 */
+        final LongAdder slots = new LongAdder();
+
+        Tree(CollectionState state, String name, boolean ost, Comparator<byte[]> comparator,
+             boolean records, boolean ring) {
+            this(state, state.getCollectionId(), name, state.getRootPageId(),
+                 expectedCount(state, ost, ring),
+                 ost, comparator, records, ring);
+        }
+
+        private Tree(CollectionState state, long id, String name, long root, long expectedCount,
+                     boolean ost, Comparator<byte[]> comparator, boolean records, boolean ring) {
+            this.state = state;
+            this.id = id;
+            this.name = name;
+            this.root = root;
+            this.expectedCount = expectedCount;
+            this.ost = ost;
+            this.comparator = comparator;
+            this.records = records;
+            this.ring = ring;
+        }
+
+        /**
+         * List는 상태에 요소 수를 기록하지 않으므로(OST 루트가 보유) 검사하지 않음
+         */
+        private static long expectedCount(CollectionState state, boolean ost, boolean ring) {
+            if (ost) {
+                return -1L;
+            }
+            return ring ? state.getTailPosition() - state.getHeadPosition() : state.getCount();
+        }
+
+        static Tree metadata(String name, long root, long entries) {
+            return new Tree(null, 0L, name + " tree", root, entries, false,
+                            ByteUtils::compareUnsigned, true, false);
+        }
+    }
+
+    /**
+     * 트리 하나의 검증 (루트 작업)
+     */
+    private final class TreeTask extends RecursiveTask<Long> {
+        private final Tree tree;
+
+        TreeTask(Tree tree) {
+            this.tree = tree;
+        }
+
+        @Override
+        protected Long compute() {
+            long entries = 0L;
+            if (tree.root != 0L) {
+                entries = tree.ost
+                    ? new OstTask(tree, tree.root, -1, -1).invoke()
+                    : new BTreeTask(tree, tree.root, null, null, -1).invoke();
+            }
+            if (tree.ring) {
+                // 디렉토리 엔트리는 세그먼트이므로 요소 수는 슬롯 수
+                entries = entries < 0 ? entries : tree.slots.sum();
+            }
+            if (entries >= 0 && tree.expectedCount >= 0 && entries != tree.expectedCount) {
+                report(tree.ost ? VerifyErrorKind.OST : VerifyErrorKind.BTREE, tree.root * pageSize, tree.id,
+                    tree.name + ": expected " + tree.expectedCount + " entries but found " + entries);
+            }
+            if (tree.ring && tree.root != 0L) {
+                verifyRingCoverage(tree);
+            }
+            return entries;
+        }
+    }
+
+    /**
+     * BTree 서브트리 검증
+     *
+     * <p>반환값은 서브트리의 엔트리 수이며, 노드를 읽지 못하면 -1입니다.</p>
+     */
+    private final class BTreeTask extends RecursiveTask<Long> {
+        private final Tree tree;
+        private final long pageId;
+        /** 키 하한 (포함, null이면 없음) */
+        private final byte[] lo;
+        /** 키 상한 (제외, null이면 없음) */
+        private final byte[] hi;
+        /** 기대 레벨 (-1이면 루트) */
+        private final int level;
+
+        BTreeTask(Tree tree, long pageId, byte[] lo, byte[] hi, int level) {
+            this.tree = tree;
+            this.pageId = pageId;
+            this.lo = lo;
+            this.hi = hi;
+            this.level = level;
+        }
+
+        @Override
+        protected Long compute() {
+            long offset = pageId * pageSize;
+            if (!claim(tree, pageId, VerifyErrorKind.BTREE)) {
+                return -1L;
+            }
+            BTreeNode node;
+            try {
+                node = btree.readNode(pageId);
+            } catch (RuntimeException e) {
+                report(VerifyErrorKind.BTREE, offset, pageId, tree.name + ": unreadable node: " + e.getMessage());
+                return -1L;
+            }
+            int nodeLevel = node.isLeaf() ? 0 : ((BTreeInternal) node).getLevel();
+            if (level >= 0 && nodeLevel != level) {
+                report(VerifyErrorKind.BTREE, offset, pageId,
+                    tree.name + ": node level " + nodeLevel + ", expected " + level);
+                return -1L;
+            }
+
+            if (node.isLeaf()) {
+                BTreeLeaf leaf = (BTreeLeaf) node;
+                int size = leaf.size();
+                checkKeys(size, leaf::getKey);
+                for (int i = 0; i < size; i++) {
+                    long value = leaf.getValueRecordId(i);
+                    if (tree.ring) {
+                        verifySegment(tree, leaf.getKey(i), value);
+                    } else if (tree.records) {
+                        verifyRecord(tree, value);
+                    }
+                }
+                return (long) size;
+            }
+
+            BTreeInternal internal = (BTreeInternal) node;
+            int keyCount = internal.getKeyCount();
+            if (internal.getChildCount() != keyCount + 1) {
+                report(VerifyErrorKind.BTREE, offset, pageId, tree.name + ": " + internal.getChildCount()
+                    + " children for " + keyCount + " keys");
+                return -1L;
+            }
+            checkKeys(keyCount, internal::getKey);
+
+            List<BTreeTask> children = new ArrayList<>(keyCount + 1);
+            for (int i = 0; i <= keyCount; i++) {
+                byte[] childLo = i == 0 ? lo : internal.getKey(i - 1);
+                byte[] childHi = i == keyCount ? hi : internal.getKey(i);
+                children.add(new BTreeTask(tree, internal.getChildPageId(i), childLo, childHi, nodeLevel - 1));
+            }
+            return runAll(children, nodeLevel);
+        }
+
+        /**
+         * 노드 안 키의 오름차순과 [lo, hi) 범위 검사
+         */
+        private void checkKeys(int count, java.util.function.IntFunction<byte[]> keys) {
+            Comparator<byte[]> comparator = tree.comparator;
+            if (comparator == null || count == 0) {
+                return;
+            }
+            byte[] previous = null;
+            for (int i = 0; i < count; i++) {
+                byte[] key = keys.apply(i);
+                if (previous != null && comparator.compare(previous, key) >= 0) {
+                    report(VerifyErrorKind.BTREE, pageId * pageSize, pageId,
+                        tree.name + ": keys out of order at index " + i);
+                    return;
+                }
+                previous = key;
+            }
+            if (lo != null && comparator.compare(keys.apply(0), lo) < 0) {
+                report(VerifyErrorKind.BTREE, pageId * pageSize, pageId,
+                    tree.name + ": first key below parent separator");
+            }
+            if (hi != null && comparator.compare(keys.apply(count - 1), hi) >= 0) {
+                report(VerifyErrorKind.BTREE, pageId * pageSize, pageId,
+                    tree.name + ": last key not below parent separator");
+            }
+        }
+    }
+
+    /**
+     * OST 서브트리 검증
+     *
+     * <p>반환값은 서브트리의 요소 수이며, 노드를 읽지 못하면 -1입니다.</p>
+     */
+    private final class OstTask extends RecursiveTask<Long> {
+        private final Tree tree;
+        private final long nodeId;
+        /** 부모가 기록한 서브트리 크기 (-1이면 루트) */
+        private final int recordedCount;
+        /** 기대 레벨 (-1이면 루트) */
+        private final int level;
+
+        OstTask(Tree tree, long nodeId, int recordedCount, int level) {
+            this.tree = tree;
+            this.nodeId = nodeId;
+            this.recordedCount = recordedCount;
+            this.level = level;
+        }
+
+        @Override
+        protected Long compute() {
+            if (nodeId % pageSize != 0) {
+                report(VerifyErrorKind.OST, nodeId, nodeId, tree.name + ": node offset not page aligned");
+                return -1L;
+            }
+            long pageId = nodeId / pageSize;
+            if (!claim(tree, pageId, VerifyErrorKind.OST)) {
+                return -1L;
+            }
+            OSTNode node;
+            try {
+                node = ost.readNode(nodeId);
+            } catch (RuntimeException e) {
+                report(VerifyErrorKind.OST, nodeId, pageId, tree.name + ": unreadable node: " + e.getMessage());
+                return -1L;
+            }
+            int nodeLevel = node.isLeaf() ? 0 : ((OSTInternal) node).getLevel();
+            if (level >= 0 && nodeLevel != level) {
+                report(VerifyErrorKind.OST, nodeId, pageId,
+                    tree.name + ": node level " + nodeLevel + ", expected " + level);
+                return -1L;
+            }
+
+            long count;
+            if (node.isLeaf()) {
+                OSTLeaf leaf = (OSTLeaf) node;
+                count = leaf.subtreeCount();
+                if (tree.records) {
+                    for (int i = 0; i < count; i++) {
+                        verifyRecord(tree, leaf.getValueRef(i));
+                    }
+                }
+            } else {
+                OSTInternal internal = (OSTInternal) node;
+                if (nodeLevel < 1 || internal.getChildCount() == 0) {
+                    report(VerifyErrorKind.OST, nodeId, pageId, tree.name + ": internal node level "
+                        + nodeLevel + " with " + internal.getChildCount() + " children");
+                    return -1L;
+                }
+                List<OstTask> children = new ArrayList<>(internal.getChildCount());
+                for (int i = 0; i < internal.getChildCount(); i++) {
+                    children.add(new OstTask(tree, internal.getChildPageId(i),
+                        internal.getChildSubtreeCount(i), nodeLevel - 1));
+                }
+                count = runAll(children, nodeLevel);
+            }
+            if (count >= 0 && recordedCount >= 0 && count != recordedCount) {
+                report(VerifyErrorKind.OST, nodeId, pageId, tree.name + ": parent records subtree count "
+                    + recordedCount + " but node holds " + count);
+            }
+            return count;
+        }
+    }
+
+    /**
+     * 자식 작업 실행 (레벨 2 이상이면 나눠서 실행)
+     *
+     * @return 자식 결과 합계 (하나라도 -1이면 -1)
+     */
+    private long runAll(List<? extends RecursiveTask<Long>> children, int nodeLevel) {
+        if (split && nodeLevel >= 2) {
+            RecursiveTask.invokeAll(children);
+        } else {
+            for (RecursiveTask<Long> child : children) {
+                child.invoke();
+            }
+        }
+        long total = 0L;
+        for (RecursiveTask<Long> child : children) {
+            long count = child.join();
+            if (count < 0 || total < 0) {
+                total = -1L;
+            } else {
+                total += count;
+            }
+        }
+        return total;
+    }
+
+    // ==================== 값 레코드, 세그먼트 ====================
+
+    /**
+     * 값 레코드의 길이 필드와 차지하는 페이지 검사
+     */
+    private void verifyRecord(Tree tree, long recordId) {
+        if (packedRecords) {
+            verifyPackedRecord(tree, recordId);
+            return;
+        }
+        if (!claim(tree, recordId, VerifyErrorKind.RECORD)) {
+            return;
+        }
+        long offset = recordId * pageSize;
+        byte[] lengthBuf = new byte[4];
+        storage.read(offset, lengthBuf, 0, 4);
+        int length = ByteUtils.readI32LE(lengthBuf, 0);
+        if (length < 0 || offset + 4L + length > allocTail) {
+            report(VerifyErrorKind.RECORD, offset, recordId,
+                tree.name + ": record length " + length + " exceeds allocated area");
+            return;
+        }
+        int span = store.recordPages(4L + length);
+        for (int i = 1; i < span; i++) {
+            claim(tree, recordId + i, VerifyErrorKind.RECORD);
+        }
+    }
+
+    /**
+     * 고정 파일의 값 레코드 검사 (ID가 바이트 오프셋이고 여러 레코드가 한 페이지를
+     * 나눠 쓰며 공유될 수 있으므로 페이지를 표시하지 않고 범위만 검사)
+     */
+    private void verifyPackedRecord(Tree tree, long offset) {
+        if (offset < fixedPages * pageSize || offset + 4L > allocTail) {
+            report(VerifyErrorKind.RECORD, offset, offset / pageSize,
+                tree.name + ": record offset " + offset + " outside data area");
+            return;
+        }
+        byte[] lengthBuf = new byte[4];
+        storage.read(offset, lengthBuf, 0, 4);
+        int length = ByteUtils.readI32LE(lengthBuf, 0);
+        if (length < 0 || offset + 4L + length > allocTail) {
+            report(VerifyErrorKind.RECORD, offset, offset / pageSize,
+                tree.name + ": record length " + length + " exceeds allocated area");
+        }
+    }
+
+    /**
+     * 세그먼트 페이지의 세그먼트 번호와 [head, tail) 슬롯의 값 레코드 검사
+     */
+    private void verifySegment(Tree tree, byte[] key, long pageId) {
+        if (!claim(tree, pageId, VerifyErrorKind.PAGE)) {
+            return;
+        }
+        SegmentRing ring = newRing(tree.state);
+        long segmentNo = ring.segmentNoOfPage(pageId);
+        if (!Arrays.equals(SegmentRing.segmentKey(segmentNo), key)) {
+            report(VerifyErrorKind.PAGE, pageId * pageSize, pageId,
+                tree.name + ": segment page holds segment " + segmentNo + " under another directory key");
+            return;
+        }
+        ring.forEachSlot(pageId, tree.state.getHeadPosition(), tree.state.getTailPosition(),
+            record -> {
+                tree.slots.increment();
+                verifyRecord(tree, record);
+            });
+    }
+
+    /**
+     * [head, tail) 범위의 모든 세그먼트가 디렉토리에 있는지 검사
+     */
+    private void verifyRingCoverage(Tree tree) {
+        long head = tree.state.getHeadPosition();
+        long tail = tree.state.getTailPosition();
+        if (head >= tail) {
+            return;
+        }
+        SegmentRing ring = newRing(tree.state);
+        for (long segmentNo = ring.segmentOf(head); segmentNo <= ring.segmentOf(tail - 1); segmentNo++) {
+            Long pageId;
+            try {
+                pageId = btree.findWithRoot(tree.root, SegmentRing.segmentKey(segmentNo));
+            } catch (RuntimeException e) {
+                // 디렉토리 손상은 트리 순회에서 이미 보고됨
+                return;
+            }
+            if (pageId == null) {
+                report(VerifyErrorKind.BTREE, tree.root * pageSize, tree.id,
+                    tree.name + ": segment " + segmentNo + " inside [head, tail) missing from directory");
+            }
+        }
+    }
+
+    private SegmentRing newRing(CollectionState state) {
+        return new SegmentRing(storage, store.getAllocator(), pageSize,
+            state.getHeadPosition(), state.getTailPosition());
+    }
+
+    // ==================== 페이지, 오류 ====================
+
+    /**
+     * 페이지가 할당 범위 안에 있고 처음 참조되었는지 확인하고 방문 표시
+     *
+     * @return 검사를 통과해 트리의 페이지로 집계했으면 true
+     */
+    private boolean claim(Tree tree, long pageId, VerifyErrorKind kind) {
+        if (pageId < fixedPages || pageId >= tailPages) {
+            report(kind, -1L, pageId, tree.name + ": page " + pageId
+                + " outside allocated area [" + fixedPages + ", " + tailPages + ")");
+            return false;
+        }
+        int word = (int) (pageId >>> 6);
+        long bit = 1L << (pageId & 63);
+        long old;
+        do {
+            old = visited.get(word);
+            if ((old & bit) != 0) {
+                report(VerifyErrorKind.PAGE, pageId * pageSize, pageId,
+                    tree.name + ": page " + pageId + " referenced more than once");
+                return false;
+            }
+        } while (!visited.compareAndSet(word, old, old | bit));
+        tree.pages.increment();
+        return true;
+    }
+
+    private void report(VerifyErrorKind kind, long fileOffset, long objectId, String message) {
+        if (errorCount.incrementAndGet() <= MAX_ERRORS) {
+            errors.add(new VerifyError(kind, fileOffset, objectId, message));
+        }
+    }
+}
@@ -0,0 +1,873 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.CodecRef;
+import com.snoworca.fxstore.api.CollectionKind;
+import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.api.FxException;
+import com.snoworca.fxstore.btree.BTree;
+import com.snoworca.fxstore.btree.BTreeCursor;
+import com.snoworca.fxstore.btree.BTreeInternal;
+import com.snoworca.fxstore.btree.BTreeLeaf;
+import com.snoworca.fxstore.catalog.CollectionState;
+import com.snoworca.fxstore.collection.LegacySeqEncoder;
+import com.snoworca.fxstore.collection.SegmentRing;
+import com.snoworca.fxstore.ost.OST;
+import com.snoworca.fxstore.ost.OSTCursor;
+import com.snoworca.fxstore.ost.OSTInternal;
+import com.snoworca.fxstore.ost.OSTLeaf;
+import com.snoworca.fxstore.storage.FileStorage;
+import com.snoworca.fxstore.storage.Storage;
+import com.snoworca.fxstore.util.ByteUtils;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * 고정(frozen) 형식 내보내기
+ *
+ * <p>마지막 커밋을 읽기 전용 배포용 파일로 씁니다. 결과는 일반 Store 파일 형식에
+ * {@link Superblock#FEATURE_FROZEN}을 더한 것으로, 다음과 같이 배치합니다.</p>
+ * <pre>
+ * [Superblock][CommitHeader A][CommitHeader B = 0]
+ * [색인 영역: 컬렉션마다 내부 노드를 루트부터 레벨 순으로 (세그먼트 링은 디렉토리 전체)]
+ * [데이터 영역: 리프 페이지와 그 리프가 참조하는 값 레코드를 번갈아]
+ * </pre>
+ *
+ * <ul>
+ *   <li>리프는 페이지에 들어가는 만큼 꽉 채웁니다 (B+Tree는 prefix 압축 형식).
+ *       내부 노드도 꽉 채우며, 분리자는 바이트 비교 가능한 키에서 가장 짧은 prefix로
+ *       줄입니다. 내부 노드가 모두 색인 영역에 연속으로 있으므로 그 구간만 메모리에
+ *       올려 두면 조회는 리프 페이지와 그 옆의 값 바이트만 읽습니다.</li>
+ *   <li>값 레코드는 페이지 단위로 할당하지 않고 이어 붙이며 레코드 ID는 바이트
+ *       오프셋입니다. 리프의 레코드는 리프 앞 페이지의 남은 공간부터 채우고 나머지는
+ *       리프 바로 뒤에 씁니다. 같은 리프에서 연속된 같은 값은 레코드 하나를 공유합니다
+ *       (Set은 리프마다 레코드 하나).</li>
+ *   <li>Deque는 모두 [0, n) 위치의 세그먼트 링으로 바꿉니다.</li>
+ *   <li>CommitHeader는 슬롯 하나만 쓰고, live 페이지 수는 기록하지 않습니다 (0).</li>
+ * </ul>
+ *
+ * <p>데이터 위치는 색인 영역의 크기에 달려 있으므로 원본을 두 번 읽습니다. 첫 번째는
+ * 리프 경계와 위치만 계산하고(계획), 색인을 쓴 뒤 두 번째에 같은 순서로 리프와
+ * 레코드를 씁니다. 파일은 임시 파일에 처음부터 끝까지 순서대로 쓴 뒤 대상 경로로
+ * 옮기므로, 기존 파일을 매핑해 읽는 프로세스는 이전 내용을 계속 봅니다.</p>
+ *
+ * <p>스레드 안전성: 호출자가 읽기를 등록한 상태에서 Lock 없이 호출합니다.</p>
+ *
+ * @since 0.10
+ */
+final class FrozenExporter {
+
+    /** 출력 버퍼 크기 */
+    private static final int CHUNK = 1 << 20;
+
+    private static final int FIXED_BYTES = Superblock.SIZE + CommitHeader.SIZE * 2;
+
+    /** 값 레코드 길이 필드 */
+    private static final int RECORD_HEADER = 4;
+
+    private enum Layout { BTREE, LIST, RING }
+
+    private final FxStoreImpl store;
+    private final Storage storage;
+    private final int pageSize;
+    private final long fixedPages;
+    private final int listLeafCapacity;
+    private final int listInternalCapacity;
+    private final int segmentCapacity;
+
+    FrozenExporter(FxStoreImpl store) {
+        this.store = store;
+        this.storage = store.getStorage();
+        this.pageSize = store.getPageSize();
+        this.fixedPages = store.fixedPages();
+        // OST 리프: 타입(1) + count(2) + nextLeaf(8) + 슬롯(8 x n)
+        this.listLeafCapacity = (pageSize - 11) / 8;
+        // OST 내부: 타입(1) + level(2) + count(2) + (자식(8) + 개수(4)) x n
+        this.listInternalCapacity = (pageSize - 5) / 12;
+        this.segmentCapacity = (pageSize - SegmentRing.HEADER_SIZE) / 8;
+    }
+
+    /**
+     * 내보내기
+     *
+     * @param target 대상 파일 (있으면 바꿈)
+     * @param header 내보낼 커밋의 헤더
+     * @param states 그 커밋의 컬렉션 상태
+     * @param featureFlags 원본에서 이어받을 기능 플래그
+     */
+    void export(Path target, CommitHeader header, Collection<CollectionState> states, long featureFlags) {
+        checkNotSource(target);
+        Path dir = target.toAbsolutePath().getParent();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(dir, target.getFileName().toString() + ".", ".tmp");
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                write(channel, header, states, featureFlags);
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | RuntimeException e) {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ioe) {
+                    // 삭제 실패 무시
+                }
+            }
+            if (e instanceof FxException) {
+                throw (FxException) e;
+            }
+            throw FxException.io("Frozen export failed: " + target, e);
+        }
+    }
+
+    private void checkNotSource(Path target) {
+        if (target == null) {
+            throw FxException.illegalArgument("target cannot be null");
+        }
+        if (storage instanceof FileStorage && Files.exists(target)) {
+            try {
+                if (Files.isSameFile(target, ((FileStorage) storage).getPath())) {
+                    throw FxException.illegalArgument("Cannot export a store onto itself: " + target);
+                }
+            } catch (IOException e) {
+                throw FxException.io("Cannot access export file: " + target, e);
+            }
+        }
+    }
+
+    private void write(FileChannel channel, CommitHeader header, Collection<CollectionState> states,
+                       long featureFlags) throws IOException {
+        // 1. 계획: 컬렉션, catalog, state 순서로 리프 경계와 상대 위치 계산
+        List<Plan> plans = new ArrayList<>();
+        for (CollectionState state : states) {
+            plans.add(collectionPlan(state));
+        }
+        Plan catalog = new Plan(Layout.BTREE, true, catalogSource(header.getCatalogRootPageId()));
+        List<CollectionState> sortedStates = new ArrayList<>(states);
+        sortedStates.sort((a, b) -> ByteUtils.compareUnsigned(stateKey(a), stateKey(b)));
+        Plan state = new Plan(Layout.BTREE, true, stateSource(sortedStates, plans));
+        List<Plan> all = new ArrayList<>(plans);
+        all.add(catalog);
+        all.add(state);
+
+        Region planning = new Region(0L, null);
+        for (Plan plan : all) {
+            pack(plan, planning, false);
+        }
+
+        // 2. 색인: 상향식으로 노드를 만들고 페이지 ID는 루트부터 배정
+        long indexPage = fixedPages;
+        for (Plan plan : all) {
+            buildIndex(plan);
+            indexPage = plan.assignIndex(indexPage);
+        }
+        long dataBase = indexPage * pageSize;
+        for (Plan plan : all) {
+            plan.dataBase = dataBase;
+        }
+
+        // 3. 색인 영역과 데이터 영역을 순서대로 쓰기
+        Output out = new Output(channel, fixedPages * pageSize);
+        for (Plan plan : all) {
+            writeIndex(plan, out);
+        }
+        Region data = new Region(dataBase, out);
+        for (Plan plan : all) {
+            pack(plan, data, true);
+        }
+        long allocTail = data.position;
+        out.padTo(allocTail);
+        out.flush();
+
+        // 4. 헤더와 Superblock (마지막에 써서 중단된 파일은 열리지 않음)
+        CommitHeader frozenHeader = new CommitHeader(header.getSeqNo(), header.getCommittedFlags(), allocTail,
+            catalog.root, state.root, header.getNextCollectionId(), header.getCommitEpochMs(), 0L);
+        byte[] fixed = new byte[FIXED_BYTES];
+        long flags = featureFlags | Superblock.FEATURE_FROZEN | Superblock.FEATURE_KEY_COMPRESSION
+            | Superblock.FEATURE_SEGMENT_RING_DEQUES;
+        Superblock superblock = new Superblock(Superblock.FORMAT_VERSION, pageSize, flags,
+            System.currentTimeMillis(), dataBase);
+        System.arraycopy(superblock.encode(), 0, fixed, 0, Superblock.SIZE);
+        System.arraycopy(frozenHeader.encode(), 0, fixed, Superblock.SIZE, CommitHeader.SIZE);
+        channel.force(false);
+        writeFully(channel, ByteBuffer.wrap(fixed), 0L);
+        channel.force(true);
+    }
+
+    private void pack(Plan plan, Region region, boolean writing) {
+        Packer packer = new Packer(plan, region, writing);
+        plan.source.scan(packer);
+        packer.finish();
+    }
+
+    // ==================== 계획 ====================
+
+    /**
+     * 원본을 순서대로 읽어 주는 함수 (계획과 쓰기에서 두 번 호출)
+     */
+    private interface Source {
+        void scan(Packer packer);
+    }
+
+    /**
+     * 트리 하나의 배치 계획
+     */
+    private final class Plan {
+        final Layout layout;
+        /** 분리자를 가장 짧은 prefix로 줄일 수 있는지 (unsigned 바이트 비교) */
+        final boolean truncate;
+        final Source source;
+        /** 컬렉션 상태 (catalog/state 트리는 null) */
+        CollectionState state;
+
+        /** 리프(세그먼트) 페이지의 데이터 영역 내 상대 위치 */
+        final List<Long> leaves = new ArrayList<>();
+        /** BTree: 리프 i 앞의 분리자 (0번은 null) */
+        final List<byte[]> separators = new ArrayList<>();
+        /** List: 리프 요소 수 */
+        final List<Integer> counts = new ArrayList<>();
+        long entries;
+
+        /** BTree 내부 노드 (0번이 리프 바로 위 레벨, 자식은 아래 레벨 인덱스) */
+        List<List<BTreeInternal>> btreeLevels = new ArrayList<>();
+        /** OST 내부 노드 (0번이 리프 바로 위 레벨) */
+        List<List<OSTInternal>> ostLevels = new ArrayList<>();
+        /** 세그먼트 링 디렉토리 리프 (값은 세그먼트 번호) */
+        List<BTreeLeaf> directory = new ArrayList<>();
+
+        long[] levelStart;
+        long directoryStart;
+        long dataBase;
+        long root;
+
+        Plan(Layout layout, boolean truncate, Source source) {
+            this.layout = layout;
+            this.truncate = truncate;
+            this.source = source;
+        }
+
+        /**
+         * 색인 페이지 ID를 루트 레벨부터 배정
+         *
+         * @return 다음 색인 페이지 ID
+         */
+        long assignIndex(long next) {
+            int height = layout == Layout.LIST ? ostLevels.size() : btreeLevels.size();
+            levelStart = new long[height];
+            for (int level = height - 1; level >= 0; level--) {
+                levelStart[level] = next;
+                next += layout == Layout.LIST ? ostLevels.get(level).size() : btreeLevels.get(level).size();
+            }
+            directoryStart = next;
+            next += directory.size();
+            return next;
+        }
+
+        /** 리프(세그먼트) 페이지 ID */
+        long leafPageId(int leaf) {
+            return (dataBase + leaves.get(leaf)) / pageSize;
+        }
+
+        /** 색인 배정 후 루트 (계획 중에는 0) */
+        long finalRoot() {
+            if (levelStart == null || leaves.isEmpty()) {
+                return 0L;
+            }
+            int height = levelStart.length;
+            switch (layout) {
+                case LIST:
+                    return (height > 0 ? levelStart[height - 1] : leafPageId(0)) * pageSize;
+                case RING:
+                    return height > 0 ? levelStart[height - 1] : directoryStart;
+                default:
+                    return height > 0 ? levelStart[height - 1] : leafPageId(0);
+            }
+        }
+    }
+
+    private Plan collectionPlan(CollectionState state) {
+        Plan plan;
+        long root = state.getRootPageId();
+        switch (state.getKind()) {
+            case MAP:
+            case SET: {
+                CodecRef keyCodec = state.getKind() == CollectionKind.MAP ? state.getKeyCodec() : state.getValueCodec();
+                plan = new Plan(Layout.BTREE, byteComparable(keyCodec), packer -> scanBTree(root, packer));
+                break;
+            }
+            case LIST: {
+                boolean inline = state.getInlineElementWidth() > 0;
+                plan = new Plan(Layout.LIST, false, packer -> scanList(root, inline, packer));
+                break;
+            }
+            case DEQUE:
+                plan = new Plan(Layout.RING, true, state.isSegmentRing()
+                    ? packer -> scanRing(state, packer)
+                    : packer -> scanBTreeDeque(state, packer));
+                break;
+            default:
+                throw FxException.unsupported("Cannot export collection kind " + state.getKind());
+        }
+        plan.state = state;
+        return plan;
+    }
+
+    /**
+     * 저장된 코덱이 바이트 비교 가능한지 (등록되지 않은 코덱이면 분리자를 줄이지 않음)
+     */
+    private boolean byteComparable(CodecRef ref) {
+        if (ref == null || ref.getCodecId() == null) {
+            return false;
+        }
+        FxCodec<?> codec = store.codecs().getById(ref.getCodecId(), ref.getCodecVersion());
+        return codec != null && codec.isByteComparable();
+    }
+
+    /**
+     * 고정 파일에 기록할 컬렉션 상태
+     */
+    private static CollectionState frozenState(Plan plan) {
+        CollectionState state = plan.state;
+        long root = plan.finalRoot();
+        switch (plan.layout) {
+            case LIST:
+                state = state.withRootPageId(root);
+                break;
+            case RING:
+                state = state.withSeqEncoderVersion(CollectionState.SEQ_ENCODER_VERSION_ORDERED)
+                    .withSegmentRing(root, 0L, plan.entries);
+                break;
+            default:
+                state = state.withRootAndCount(root, plan.entries);
+                break;
+        }
+        return state.withLivePages(CollectionState.LIVE_PAGES_UNKNOWN);
+    }
+
+    private static byte[] stateKey(CollectionState state) {
+        byte[] key = new byte[8];
+        ByteUtils.writeI64LE(key, 0, state.getCollectionId());
+        return key;
+    }
+
+    // ==================== 원본 읽기 ====================
+
+    private void scanBTree(long root, Packer packer) {
+        if (root == 0L) {
+            return;
+        }
+        BTreeCursor cursor = store.newStructuralBTree().cursorWithRoot(root);
+        while (cursor.hasNext()) {
+            BTree.Entry entry = cursor.next();
+            packer.add(entry.getKey(), store.readValueRecord(entry.getValueRecordId()), 0L);
+        }
+    }
+
+    private void scanList(long root, boolean inline, Packer packer) {
+        if (root == 0L) {
+            return;
+        }
+        OSTCursor cursor = new OST(storage, store.getAllocator(), pageSize).cursorWithRoot(root, 0);
+        while (cursor.hasNext()) {
+            long slot = cursor.next();
+            if (inline) {
+                packer.add(null, null, slot);
+            } else {
+                packer.add(null, store.readValueRecord(slot), 0L);
+            }
+        }
+    }
+
+    private void scanRing(CollectionState state, Packer packer) {
+        long head = state.getHeadPosition();
+        long tail = state.getTailPosition();
+        SegmentRing ring = new SegmentRing(storage, store.getAllocator(), pageSize, head, tail);
+        BTree directory = store.newStructuralBTree();
+        for (long position = head; position < tail; position += ring.capacity()) {
+            long[] records = ring.getRange(directory, state.getRootPageId(), position,
+                Math.min(tail, position + ring.capacity()));
+            for (long record : records) {
+                packer.add(null, store.readValueRecord(record), 0L);
+            }
+        }
+    }
+
+    /**
+     * BTree Deque를 시퀀스 순서로 읽기 (레거시 인코딩은 바이트 순서가 시퀀스 순서와 다름)
+     */
+    private void scanBTreeDeque(CollectionState state, Packer packer) {
+        if (state.getRootPageId() == 0L) {
+            return;
+        }
+        BTreeCursor cursor = store.newStructuralBTree().cursorWithRoot(state.getRootPageId());
+        if (state.getSeqEncoderVersion() == CollectionState.SEQ_ENCODER_VERSION_ORDERED) {
+            while (cursor.hasNext()) {
+                packer.add(null, store.readValueRecord(cursor.next().getValueRecordId()), 0L);
+            }
+            return;
+        }
+        List<long[]> elements = new ArrayList<>();
+        while (cursor.hasNext()) {
+            BTree.Entry entry = cursor.next();
+            elements.add(new long[] {LegacySeqEncoder.getInstance().decode(entry.getKey()), entry.getValueRecordId()});
+        }
+        elements.sort(Comparator.comparingLong(element -> element[0]));
+        for (long[] element : elements) {
+            packer.add(null, store.readValueRecord(element[1]), 0L);
+        }
+    }
+
+    /**
+     * catalog 트리 엔트리를 그대로 복사
+     */
+    private Source catalogSource(long root) {
+        return packer -> scanBTree(root, packer);
+    }
+
+    /**
+     * state 트리 엔트리 (계획 중에는 루트 0 - 인코딩 길이는 루트와 무관)
+     */
+    private Source stateSource(List<CollectionState> sortedStates, List<Plan> plans) {
+        return packer -> {
+            for (CollectionState state : sortedStates) {
+                Plan plan = null;
+                for (Plan candidate : plans) {
+                    if (candidate.state.getCollectionId() == state.getCollectionId()) {
+                        plan = candidate;
+                        break;
+                    }
+                }
+                packer.add(stateKey(state), frozenState(plan).encode(), 0L);
+            }
+        };
+    }
+
+    // ==================== 리프 배치 ====================
+
+    /**
+     * 데이터 영역의 배치 위치 (계획은 상대 위치, 쓰기는 절대 위치)
+     */
+    private final class Region {
+        long position;
+        final Output out;
+
+        Region(long position, Output out) {
+            this.position = position;
+            this.out = out;
+        }
+
+        /**
+         * 리프 하나와 그 레코드 배치
+         *
+         * <p>레코드는 순서대로 현재 페이지의 남은 공간에 들어가는 만큼 리프 앞에 두고,
+         * 나머지는 리프 뒤에 이어 씁니다.</p>
+         *
+         * @param records 레코드 값
+         * @param offsets 레코드 위치 (출력)
+         * @return 리프 위치
+         */
+        long place(List<byte[]> records, long[] offsets) {
+            long aligned = (position + pageSize - 1) / pageSize * pageSize;
+            int i = 0;
+            while (i < records.size() && position + RECORD_HEADER + records.get(i).length <= aligned) {
+                offsets[i] = position;
+                position += RECORD_HEADER + records.get(i).length;
+                i++;
+            }
+            long leaf = aligned;
+            position = leaf + pageSize;
+            for (; i < records.size(); i++) {
+                offsets[i] = position;
+                position += RECORD_HEADER + records.get(i).length;
+            }
+            return leaf;
+        }
+
+        void write(List<byte[]> records, long[] offsets, long leaf, byte[] page) throws IOException {
+            int i = 0;
+            for (; i < records.size() && offsets[i] < leaf; i++) {
+                writeRecord(records.get(i), offsets[i]);
+            }
+            out.write(leaf, page, pageSize);
+            for (; i < records.size(); i++) {
+                writeRecord(records.get(i), offsets[i]);
+            }
+        }
+
+        private void writeRecord(byte[] value, long offset) throws IOException {
+            byte[] length = new byte[RECORD_HEADER];
+            ByteUtils.writeI32LE(length, 0, value.length);
+            out.write(offset, length, RECORD_HEADER);
+            out.write(offset + RECORD_HEADER, value, value.length);
+        }
+    }
+
+    /**
+     * 원본 엔트리를 꽉 찬 리프로 묶기
+     *
+     * <p>계획과 쓰기가 같은 입력에서 같은 경계를 만들며, 쓰기는 계획한 위치와
+     * 다르면 중단합니다.</p>
+     */
+    private final class Packer {
+        private final Plan plan;
+        private final Region region;
+        private final boolean writing;
+
+        private final List<byte[]> keys = new ArrayList<>();
+        private final List<byte[]> records = new ArrayList<>();
+        /** 엔트리별 레코드 인덱스 (인라인 List는 슬롯 값) */
+        private long[] refs = new long[64];
+        private int count;
+        private long keyBytes;
+        private int prefix;
+        private byte[] previousLast;
+        private int leafNo;
+
+        Packer(Plan plan, Region region, boolean writing) {
+            this.plan = plan;
+            this.region = region;
+            this.writing = writing;
+        }
+
+        void add(byte[] key, byte[] value, long slot) {
+            if (count > 0 && !fits(key)) {
+                flush();
+            }
+            if (plan.layout == Layout.BTREE) {
+                prefix = count == 0 ? key.length : Math.min(prefix, commonPrefix(keys.get(0), key));
+                keyBytes += key.length;
+                keys.add(key);
+            }
+            if (count == refs.length) {
+                refs = Arrays.copyOf(refs, count * 2);
+            }
+            if (value == null) {
+                refs[count] = slot;
+            } else {
+                // 리프 안에서 연속된 같은 값은 레코드 공유
+                if (records.isEmpty() || !Arrays.equals(records.get(records.size() - 1), value)) {
+                    records.add(value);
+                }
+                refs[count] = records.size() - 1;
+            }
+            count++;
+        }
+
+        private boolean fits(byte[] key) {
+            switch (plan.layout) {
+                case LIST:
+                    return count < listLeafCapacity;
+                case RING:
+                    return count < segmentCapacity;
+                default:
+                    int newPrefix = Math.min(prefix, commonPrefix(keys.get(0), key));
+                    return BTreeLeaf.compressedSize(count + 1, keyBytes + key.length, newPrefix) <= pageSize;
+            }
+        }
+
+        private void flush() {
+            long[] offsets = new long[records.size()];
+            long leaf = region.place(records, offsets);
+            if (!writing) {
+                plan.leaves.add(leaf);
+                if (plan.layout == Layout.BTREE) {
+                    plan.separators.add(leafNo == 0 ? null : separator(plan, previousLast, keys.get(0)));
+                    previousLast = keys.get(count - 1);
+                }
+                plan.counts.add(count);
+                plan.entries += count;
+            } else {
+                if (leafNo >= plan.leaves.size() || plan.dataBase + plan.leaves.get(leafNo) != leaf) {
+                    throw FxException.illegalState("Source changed during frozen export");
+                }
+                try {
+                    region.write(records, offsets, leaf, leafPage(leaf, offsets));
+                } catch (IOException e) {
+                    throw FxException.io("Frozen export write failed", e);
+                }
+            }
+            leafNo++;
+            keys.clear();
+            records.clear();
+            count = 0;
+            keyBytes = 0;
+        }
+
+        private byte[] leafPage(long leaf, long[] offsets) {
+            boolean hasNext = leafNo + 1 < plan.leaves.size();
+            switch (plan.layout) {
+                case LIST: {
+                    OSTLeaf node = new OSTLeaf(leaf);
+                    boolean inline = records.isEmpty();
+                    for (int i = 0; i < count; i++) {
+                        node.add(inline ? refs[i] : offsets[(int) refs[i]]);
+                    }
+                    node.setNextLeafPageId(hasNext ? plan.leafPageId(leafNo + 1) * pageSize : 0L);
+                    return node.toPage(pageSize);
+                }
+                case RING: {
+                    byte[] page = new byte[pageSize];
+                    ByteUtils.writeI64LE(page, 0, leafNo);
+                    for (int i = 0; i < count; i++) {
+                        ByteUtils.writeI64LE(page, SegmentRing.HEADER_SIZE + i * 8, offsets[(int) refs[i]]);
+                    }
+                    return page;
+                }
+                default: {
+                    BTreeLeaf node = new BTreeLeaf(pageSize, leaf / pageSize);
+                    node.setPrefixCompressed(true);
+                    for (int i = 0; i < count; i++) {
+                        node.insert(i, keys.get(i), offsets[(int) refs[i]]);
+                    }
+                    node.setNextLeafPageId(hasNext ? plan.leafPageId(leafNo + 1) : 0L);
+                    return node.toPage();
+                }
+            }
+        }
+
+        void finish() {
+            if (count > 0) {
+                flush();
+            }
+            if (writing && leafNo != plan.leaves.size()) {
+                throw FxException.illegalState("Source changed during frozen export");
+            }
+        }
+    }
+
+    private static byte[] separator(Plan plan, byte[] leftLast, byte[] rightFirst) {
+        return plan.truncate ? BTree.shortestSeparator(leftLast, rightFirst) : rightFirst;
+    }
+
+    private static int commonPrefix(byte[] a, byte[] b) {
+        int max = Math.min(a.length, b.length);
+        int i = 0;
+        while (i < max && a[i] == b[i]) {
+            i++;
+        }
+        return i;
+    }
+
+    // ==================== 색인 ====================
+
+    private void buildIndex(Plan plan) {
+        switch (plan.layout) {
+            case LIST:
+                plan.ostLevels = buildOstLevels(plan.counts);
+                break;
+            case RING:
+                buildDirectory(plan);
+                break;
+            default:
+                plan.btreeLevels = buildBTreeLevels(plan.separators);
+                break;
+        }
+    }
+
+    /**
+     * 꽉 채운 BTree 내부 레벨 (자식 값은 아래 레벨의 인덱스)
+     *
+     * @param separators 아래 레벨 항목 i 앞의 분리자 (0번은 null)
+     */
+    private List<List<BTreeInternal>> buildBTreeLevels(List<byte[]> separators) {
+        List<List<BTreeInternal>> levels = new ArrayList<>();
+        List<byte[]> below = separators;
+        while (below.size() > 1) {
+            List<BTreeInternal> nodes = new ArrayList<>();
+            List<byte[]> upper = new ArrayList<>();
+            BTreeInternal node = null;
+            for (int i = 0; i < below.size(); i++) {
+                if (node != null) {
+                    int keyIndex = node.getKeyCount();
+                    node.insertChild(keyIndex, below.get(i), i);
+                    if (node.fitsInPage()) {
+                        continue;
+                    }
+                    node.removeKeyAndChild(keyIndex);
+                }
+                node = new BTreeInternal(pageSize, 0L, levels.size() + 1);
+                node.insertChild(0, i);
+                nodes.add(node);
+                upper.add(below.get(i));
+            }
+            if (nodes.size() == below.size()) {
+                throw FxException.unsupported("Keys are too large for a frozen index");
+            }
+            levels.add(nodes);
+            below = upper;
+        }
+        return levels;
+    }
+
+    /**
+     * 꽉 채운 OST 내부 레벨 (자식 값은 아래 레벨의 인덱스)
+     */
+    private List<List<OSTInternal>> buildOstLevels(List<Integer> counts) {
+        List<List<OSTInternal>> levels = new ArrayList<>();
+        List<Integer> below = counts;
+        while (below.size() > 1) {
+            List<OSTInternal> nodes = new ArrayList<>();
+            List<Integer> upper = new ArrayList<>();
+            for (int i = 0; i < below.size(); i++) {
+                if (i % listInternalCapacity == 0) {
+                    nodes.add(new OSTInternal(0L, levels.size() + 1));
+                    upper.add(0);
+                }
+                nodes.get(nodes.size() - 1).addChild(i, below.get(i));
+                upper.set(upper.size() - 1, upper.get(upper.size() - 1) + below.get(i));
+            }
+            levels.add(nodes);
+            below = upper;
+        }
+        return levels;
+    }
+
+    /**
+     * 세그먼트 링 디렉토리 (세그먼트 번호 키, 값은 세그먼트 번호 - 쓸 때 페이지 ID로 바꿈)
+     */
+    private void buildDirectory(Plan plan) {
+        List<byte[]> separators = new ArrayList<>();
+        BTreeLeaf leaf = null;
+        long keyBytes = 0L;
+        int prefix = 0;
+        byte[] previousLast = null;
+        for (int segment = 0; segment < plan.leaves.size(); segment++) {
+            byte[] key = SegmentRing.segmentKey(segment);
+            if (leaf != null) {
+                int newPrefix = Math.min(prefix, commonPrefix(leaf.getKey(0), key));
+                if (BTreeLeaf.compressedSize(leaf.size() + 1, keyBytes + key.length, newPrefix) <= pageSize) {
+                    leaf.insert(leaf.size(), key, segment);
+                    keyBytes += key.length;
+                    prefix = newPrefix;
+                    continue;
+                }
+                previousLast = leaf.getKey(leaf.size() - 1);
+            }
+            leaf = new BTreeLeaf(pageSize, 0L);
+            leaf.setPrefixCompressed(true);
+            leaf.insert(0, key, segment);
+            keyBytes = key.length;
+            prefix = key.length;
+            separators.add(previousLast == null ? null : BTree.shortestSeparator(previousLast, key));
+            plan.directory.add(leaf);
+        }
+        plan.btreeLevels = buildBTreeLevels(separators);
+    }
+
+    /**
+     * 트리 하나의 색인 페이지 쓰기 (루트 레벨부터)
+     */
+    private void writeIndex(Plan plan, Output out) throws IOException {
+        for (int level = plan.levelStart.length - 1; level >= 0; level--) {
+            if (plan.layout == Layout.LIST) {
+                List<OSTInternal> nodes = plan.ostLevels.get(level);
+                for (int n = 0; n < nodes.size(); n++) {
+                    OSTInternal node = nodes.get(n);
+                    for (int i = 0; i < node.getChildCount(); i++) {
+                        int child = (int) node.getChild(i);
+                        node.setChild(i, level == 0
+                            ? plan.leafPageId(child) * pageSize
+                            : (plan.levelStart[level - 1] + child) * pageSize);
+                    }
+                    out.write((plan.levelStart[level] + n) * pageSize, node.toPage(pageSize), pageSize);
+                }
+                continue;
+            }
+            List<BTreeInternal> nodes = plan.btreeLevels.get(level);
+            for (int n = 0; n < nodes.size(); n++) {
+                BTreeInternal node = nodes.get(n);
+                for (int i = 0; i < node.getChildCount(); i++) {
+                    int child = (int) node.getChild(i);
+                    node.setChild(i, level > 0 ? plan.levelStart[level - 1] + child
+                        : plan.layout == Layout.RING ? plan.directoryStart + child : plan.leafPageId(child));
+                }
+                out.write((plan.levelStart[level] + n) * pageSize, node.toPage(), pageSize);
+            }
+        }
+        for (int n = 0; n < plan.directory.size(); n++) {
+            BTreeLeaf leaf = plan.directory.get(n);
+            for (int i = 0; i < leaf.size(); i++) {
+                leaf.setValueRecordId(i, plan.leafPageId((int) leaf.getValueRecordId(i)));
+            }
+            leaf.setNextLeafPageId(n + 1 < plan.directory.size() ? plan.directoryStart + n + 1 : 0L);
+            out.write((plan.directoryStart + n) * pageSize, leaf.toPage(), pageSize);
+        }
+        plan.root = plan.finalRoot();
+    }
+
+    // ==================== 출력 ====================
+
+    /**
+     * 순차 출력 (위치가 건너뛰면 0으로 채움)
+     */
+    private static final class Output {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocate(CHUNK);
+        private long position;
+
+        Output(FileChannel channel, long position) {
+            this.channel = channel;
+            this.position = position;
+        }
+
+        void write(long offset, byte[] data, int length) throws IOException {
+            if (offset < position) {
+                throw FxException.illegalState("Frozen export out of order at offset " + offset);
+            }
+            while (position < offset) {
+                int zeros = (int) Math.min(offset - position, buffer.remaining());
+                buffer.position(buffer.position() + zeros);
+                position += zeros;
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+            }
+            int done = 0;
+            while (done < length) {
+                int n = Math.min(length - done, buffer.remaining());
+                buffer.put(data, done, n);
+                done += n;
+                position += n;
+                if (!buffer.hasRemaining()) {
+                    flush();
+                }
+            }
+        }
+
+        void padTo(long offset) throws IOException {
+            write(offset, new byte[0], 0);
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            long start = position - buffer.remaining();
+            writeFully(channel, buffer, start);
+            // 건너뛴 구간이 0이 되도록 버퍼를 비움
+            Arrays.fill(buffer.array(), (byte) 0);
+            buffer.clear();
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+        long position = offset;
+        while (buffer.hasRemaining()) {
+            position += channel.write(buffer, position);
+        }
+    }
+}
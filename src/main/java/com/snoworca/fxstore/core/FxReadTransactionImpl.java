@@ -14,6 +14,7 @@ import com.snoworca.fxstore.collection.FxList;
 import com.snoworca.fxstore.collection.FxNavigableMapImpl;
 import com.snoworca.fxstore.collection.FxNavigableSetImpl;
 import com.snoworca.fxstore.ost.OST;
+import com.snoworca.fxstore.util.ByteUtils;
 
 import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
@@ -46,6 +47,9 @@ public class FxReadTransactionImpl implements FxReadTransaction {
     /** 트랜잭션 활성 상태 */
     private volatile boolean active = true;
 
+    /** 온라인 컴팩션 대기용 등록 티켓 (등록하지 않았으면 0) */
+    private final long readerTicket;
+
     /**
      * 읽기 트랜잭션 생성
      *
@@ -53,8 +57,21 @@ public class FxReadTransactionImpl implements FxReadTransaction {
      * @param snapshot 트랜잭션 시작 시점의 스냅샷
      */
     public FxReadTransactionImpl(FxStoreImpl store, StoreSnapshot snapshot) {
+        this(store, snapshot, 0L);
+    }
+
+    /**
+     * 읽기 트랜잭션 생성 (등록된 읽기)
+     *
+     * @param store 소유 Store
+     * @param snapshot 트랜잭션 시작 시점의 스냅샷
+     * @param readerTicket {@link FxStoreImpl#pinReader()}가 반환한 티켓 (close 시 해제)
+     * @since 0.10
+     */
+    FxReadTransactionImpl(FxStoreImpl store, StoreSnapshot snapshot, long readerTicket) {
         this.store = Objects.requireNonNull(store, "store");
         this.snapshot = Objects.requireNonNull(snapshot, "snapshot");
+        this.readerTicket = readerTicket;
     }
 
     // ==================== 공통 헬퍼 ====================
@@ -128,7 +145,7 @@ public class FxReadTransactionImpl implements FxReadTransaction {
      * @return BTree 인스턴스
      */
     private BTree createBTreeWithCodec(long collectionId, FxCodec<?> keyCodec) {
-        Comparator<byte[]> byteComparator = (a, b) -> keyCodec.compareBytes(a, b);
+        Comparator<byte[]> byteComparator = createKeyComparator(keyCodec);
         return new BTree(
             store.getStorage(),
             store.getPageSize(),
@@ -137,20 +154,66 @@ public class FxReadTransactionImpl implements FxReadTransaction {
         );
     }
 
+    /**
+     * 키 코덱의 바이트 비교자 (byte-comparable이면 unsigned 비교)
+     */
+    private Comparator<byte[]> createKeyComparator(FxCodec<?> keyCodec) {
+        return keyCodec.isByteComparable()
+            ? createUnsignedByteComparator()
+            : keyCodec::compareBytes;
+    }
+
+    /**
+     * 스냅샷 루트에 고정된 키 범위 커서 생성 (Map/Set 범위 순회용)
+     *
+     * <p>역순은 {@link BTree#descendingCursorWithRoot(long)}와 같이 범위 내 엔트리를
+     * 수집한 뒤 뒤집습니다. 수집되는 것은 키와 값 레코드 ID뿐이며 값은 읽지 않습니다.</p>
+     *
+     * @param collectionId 컬렉션 ID
+     * @param keyCodec 키 코덱
+     * @param fromKey 하한 키 (null이면 처음부터)
+     * @param fromInclusive 하한 키 포함 여부
+     * @param toKey 상한 키 (null이면 끝까지)
+     * @param toInclusive 상한 키 포함 여부
+     * @param descending 역순 여부
+     * @return BTree 엔트리 Iterator
+     * @throws IllegalArgumentException fromKey가 toKey보다 큰 경우
+     */
+    private <T> Iterator<BTree.Entry> rangeCursor(long collectionId, FxCodec<T> keyCodec,
+                                                  T fromKey, boolean fromInclusive,
+                                                  T toKey, boolean toInclusive,
+                                                  boolean descending) {
+        byte[] startKey = fromKey != null ? keyCodec.encode(fromKey) : null;
+        byte[] endKey = toKey != null ? keyCodec.encode(toKey) : null;
+        if (startKey != null && endKey != null
+                && createKeyComparator(keyCodec).compare(startKey, endKey) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+
+        long rootPageId = getRootPageId(collectionId);
+        if (rootPageId == 0) {
+            return Collections.emptyIterator();
+        }
+
+        BTree btree = createBTreeWithCodec(collectionId, keyCodec);
+        BTreeCursor cursor = btree.cursorWithRoot(rootPageId, startKey, endKey,
+                                                  fromInclusive, toInclusive);
+        if (!descending) {
+            return cursor;
+        }
+        List<BTree.Entry> entries = new ArrayList<>();
+        while (cursor.hasNext()) {
+            entries.add(cursor.next());
+        }
+        Collections.reverse(entries);
+        return entries.iterator();
+    }
+
     /**
      * Unsigned byte 비교자 생성 (Deque 등 unsigned 순서 인코딩용)
      */
     private Comparator<byte[]> createUnsignedByteComparator() {
-        return (a, b) -> {
-            int minLen = Math.min(a.length, b.length);
-            for (int i = 0; i < minLen; i++) {
-                int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
-                if (cmp != 0) {
-                    return cmp;
-                }
-            }
-            return a.length - b.length;
-        };
+        return ByteUtils::compareUnsigned;
     }
 
     // ==================== Map 연산 ====================
@@ -213,6 +276,17 @@ public class FxReadTransactionImpl implements FxReadTransaction {
         return btree.findWithRoot(rootPageId, keyBytes) != null;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> getAll(NavigableMap<K, V> map, Collection<? extends K> keys) {
+        checkActive();
+        FxCollection fxColl = validateCollection(map);
+
+        // 스냅샷 루트에서 병합 하강 (값 업그레이드는 Map 구현이 처리)
+        FxNavigableMapImpl<K, V> impl = (FxNavigableMapImpl<K, V>) map;
+        return impl.getAllWithRoot(getRootPageId(fxColl.getCollectionId()), keys);
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     public <K, V> Map.Entry<K, V> firstEntry(NavigableMap<K, V> map) {
@@ -300,6 +374,42 @@ public class FxReadTransactionImpl implements FxReadTransaction {
         return count;
     }
 
+    @Override
+    public <K, V> Iterator<Map.Entry<K, V>> entries(NavigableMap<K, V> map,
+                                                    K fromKey, boolean fromInclusive,
+                                                    K toKey, boolean toInclusive) {
+        return mapEntries(map, fromKey, fromInclusive, toKey, toInclusive, false);
+    }
+
+    @Override
+    public <K, V> Iterator<Map.Entry<K, V>> descendingEntries(NavigableMap<K, V> map,
+                                                              K fromKey, boolean fromInclusive,
+                                                              K toKey, boolean toInclusive) {
+        return mapEntries(map, fromKey, fromInclusive, toKey, toInclusive, true);
+    }
+
+    /**
+     * Map 범위 순회 (스냅샷 기반, 값은 반환 시점에 읽음)
+     */
+    @SuppressWarnings("unchecked")
+    private <K, V> Iterator<Map.Entry<K, V>> mapEntries(NavigableMap<K, V> map,
+                                                        K fromKey, boolean fromInclusive,
+                                                        K toKey, boolean toInclusive,
+                                                        boolean descending) {
+        checkActive();
+        FxCollection fxColl = validateCollection(map);
+
+        FxNavigableMapImpl<K, V> impl = (FxNavigableMapImpl<K, V>) map;
+        FxCodec<K> keyCodec = getKeyCodec(impl);
+        FxCodec<V> valueCodec = getValueCodec(impl);
+        Iterator<BTree.Entry> cursor = rangeCursor(fxColl.getCollectionId(), keyCodec,
+            fromKey, fromInclusive, toKey, toInclusive, descending);
+
+        return new SnapshotIterator<>(cursor, entry -> new AbstractMap.SimpleImmutableEntry<>(
+            keyCodec.decode(entry.getKey()),
+            valueCodec.decode(store.readValueRecord(entry.getValueRecordId()))));
+    }
+
     // ==================== Set 연산 ====================
 
     @Override
@@ -406,6 +516,39 @@ public class FxReadTransactionImpl implements FxReadTransaction {
         return count;
     }
 
+    @Override
+    public <E> Iterator<E> elements(NavigableSet<E> set,
+                                    E fromElement, boolean fromInclusive,
+                                    E toElement, boolean toInclusive) {
+        return setElements(set, fromElement, fromInclusive, toElement, toInclusive, false);
+    }
+
+    @Override
+    public <E> Iterator<E> descendingElements(NavigableSet<E> set,
+                                              E fromElement, boolean fromInclusive,
+                                              E toElement, boolean toInclusive) {
+        return setElements(set, fromElement, fromInclusive, toElement, toInclusive, true);
+    }
+
+    /**
+     * Set 범위 순회 (스냅샷 기반, 키만 디코딩)
+     */
+    @SuppressWarnings("unchecked")
+    private <E> Iterator<E> setElements(NavigableSet<E> set,
+                                        E fromElement, boolean fromInclusive,
+                                        E toElement, boolean toInclusive,
+                                        boolean descending) {
+        checkActive();
+        FxCollection fxColl = validateCollection(set);
+
+        FxNavigableSetImpl<E> impl = (FxNavigableSetImpl<E>) set;
+        FxCodec<E> elementCodec = getSetElementCodec(impl);
+        Iterator<BTree.Entry> cursor = rangeCursor(fxColl.getCollectionId(), elementCodec,
+            fromElement, fromInclusive, toElement, toInclusive, descending);
+
+        return new SnapshotIterator<>(cursor, entry -> elementCodec.decode(entry.getKey()));
+    }
+
     // ==================== List 연산 ====================
 
     @Override
@@ -434,9 +577,8 @@ public class FxReadTransactionImpl implements FxReadTransaction {
             throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
         }
 
-        long recordId = ost.getWithRoot(rootPageId, index);
-        byte[] data = readListRecord(recordId);
-        return decodeListElement(impl, data);
+        // FxList의 디코딩 경로 사용 (인라인 슬롯, 코덱 업그레이드 포함)
+        return impl.getWithRoot(rootPageId, index);
     }
 
     @Override
@@ -477,11 +619,10 @@ public class FxReadTransactionImpl implements FxReadTransaction {
         OST ost = new OST(store.getStorage(), store.getAllocator(), store.getPageSize());
         int size = ost.sizeWithRoot(rootPageId);
 
-        for (int i = 0; i < size; i++) {
-            long recordId = ost.getWithRoot(rootPageId, i);
-            byte[] data = readListRecord(recordId);
-            E current = decodeListElement(impl, data);
-            if (element.equals(current)) {
+        // 리프 순차 커서로 순회 (인덱스마다 루트부터 하강하지 않음)
+        Iterator<E> it = impl.iteratorWithRoot(rootPageId, 0, size);
+        for (int i = 0; it.hasNext(); i++) {
+            if (element.equals(it.next())) {
                 return i;
             }
         }
@@ -489,6 +630,32 @@ public class FxReadTransactionImpl implements FxReadTransaction {
         return -1;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public <E> Iterator<E> iterator(List<E> list, int fromIndex, int toIndex) {
+        checkActive();
+        FxCollection fxColl = validateCollection(list);
+
+        FxList<E> impl = (FxList<E>) list;
+        long rootPageId = getRootPageId(fxColl.getCollectionId());
+
+        int size = 0;
+        if (rootPageId != 0) {
+            OST ost = new OST(store.getStorage(), store.getAllocator(), store.getPageSize());
+            size = ost.sizeWithRoot(rootPageId);
+        }
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                "fromIndex: " + fromIndex + ", toIndex: " + toIndex + ", Size: " + size);
+        }
+        if (fromIndex == toIndex) {
+            return Collections.emptyIterator();
+        }
+
+        // FxList의 디코딩 경로 사용 (인라인 슬롯, 코덱 업그레이드 포함)
+        return new SnapshotIterator<>(impl.iteratorWithRoot(rootPageId, fromIndex, toIndex), e -> e);
+    }
+
     // ==================== Deque 연산 ====================
 
     /**
@@ -514,6 +681,11 @@ public class FxReadTransactionImpl implements FxReadTransaction {
             return null;
         }
 
+        // v0.10: 세그먼트 링은 스냅샷의 head/tail 위치 슬롯을 직접 조회 (O(1))
+        com.snoworca.fxstore.catalog.CollectionState state = snapshot.getState(collectionId);
+        if (state != null && state.isSegmentRing()) {
+            return impl.peekSegmentRing(state, true);
+        }
         BTree btree = createBTree(collectionId);
 
         // v0.7: OrderedSeqEncoder 사용 시 O(log n)
@@ -572,6 +744,11 @@ public class FxReadTransactionImpl implements FxReadTransaction {
             return null;
         }
 
+        // v0.10: 세그먼트 링은 스냅샷의 head/tail 위치 슬롯을 직접 조회 (O(1))
+        com.snoworca.fxstore.catalog.CollectionState state = snapshot.getState(collectionId);
+        if (state != null && state.isSegmentRing()) {
+            return impl.peekSegmentRing(state, false);
+        }
         BTree btree = createBTree(collectionId);
 
         // v0.7: OrderedSeqEncoder 사용 시 O(log n)
@@ -636,6 +813,33 @@ public class FxReadTransactionImpl implements FxReadTransaction {
         return count;
     }
 
+    @Override
+    public <E> Iterator<E> iterator(Deque<E> deque) {
+        return dequeIterator(deque, false);
+    }
+
+    @Override
+    public <E> Iterator<E> descendingIterator(Deque<E> deque) {
+        return dequeIterator(deque, true);
+    }
+
+    /**
+     * Deque 순회 (스냅샷 상태 기반)
+     */
+    @SuppressWarnings("unchecked")
+    private <E> Iterator<E> dequeIterator(Deque<E> deque, boolean descending) {
+        checkActive();
+        FxCollection fxColl = validateCollection(deque);
+
+        FxDequeImpl<E> impl = (FxDequeImpl<E>) deque;
+        com.snoworca.fxstore.catalog.CollectionState state =
+            snapshot.getState(fxColl.getCollectionId());
+        if (state == null) {
+            return Collections.emptyIterator();
+        }
+        return new SnapshotIterator<>(impl.snapshotIterator(state, descending), e -> e);
+    }
+
     /**
      * Deque가 OrderedSeqEncoder를 사용하는지 확인
      *
@@ -662,6 +866,7 @@ public class FxReadTransactionImpl implements FxReadTransaction {
     public void close() {
         // 멱등성: 이미 닫힌 경우 무시
         active = false;
+        store.unpinReader(readerTicket);
     }
 
     // ==================== 코덱 헬퍼 (리플렉션 기반) ====================
@@ -735,42 +940,37 @@ public class FxReadTransactionImpl implements FxReadTransaction {
     }
 
     /**
-     * Map 값 디코딩
+     * Map의 valueCodec 조회
+     *
+     * @param map 대상 Map
+     * @return valueCodec
      */
     @SuppressWarnings("unchecked")
-    private <K, V> V decodeValue(FxNavigableMapImpl<K, V> map, byte[] valueBytes) {
+    private <K, V> FxCodec<V> getValueCodec(FxNavigableMapImpl<K, V> map) {
         try {
             java.lang.reflect.Field field = FxNavigableMapImpl.class.getDeclaredField("valueCodec");
             field.setAccessible(true);
-            FxCodec<V> codec = (FxCodec<V>) field.get(map);
-            return codec.decode(valueBytes);
+            return (FxCodec<V>) field.get(map);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to decode value", e);
+            throw new RuntimeException("Failed to get valueCodec", e);
         }
     }
 
     /**
-     * List 요소 디코딩
+     * Map 값 디코딩
      */
     @SuppressWarnings("unchecked")
-    private <E> E decodeListElement(FxList<E> list, byte[] data) {
+    private <K, V> V decodeValue(FxNavigableMapImpl<K, V> map, byte[] valueBytes) {
         try {
-            java.lang.reflect.Field field = FxList.class.getDeclaredField("codec");
+            java.lang.reflect.Field field = FxNavigableMapImpl.class.getDeclaredField("valueCodec");
             field.setAccessible(true);
-            FxCodec<E> codec = (FxCodec<E>) field.get(list);
-            return codec.decode(data);
+            FxCodec<V> codec = (FxCodec<V>) field.get(map);
+            return codec.decode(valueBytes);
         } catch (Exception e) {
-            throw new RuntimeException("Failed to decode list element", e);
+            throw new RuntimeException("Failed to decode value", e);
         }
     }
 
-    /**
-     * List 레코드 읽기
-     */
-    private byte[] readListRecord(long recordId) {
-        return store.readValueRecord(recordId);
-    }
-
     /**
      * Deque 요소 디코딩
      */
@@ -836,4 +1036,37 @@ public class FxReadTransactionImpl implements FxReadTransaction {
         buf.order(ByteOrder.LITTLE_ENDIAN);
         return buf.getLong();
     }
+
+    // ==================== 스냅샷 Iterator ====================
+
+    /**
+     * 트랜잭션 스냅샷에 고정된 읽기 전용 Iterator
+     *
+     * <p>원본 커서는 생성 시점의 루트만 참조하므로 다른 스레드의 쓰기와 무관합니다.
+     * 매 호출마다 트랜잭션 활성 상태를 확인하여 close() 후 사용을 막습니다 (INV-RT4).</p>
+     *
+     * @param <S> 원본 커서 요소 타입
+     * @param <T> 반환 요소 타입
+     */
+    private final class SnapshotIterator<S, T> implements Iterator<T> {
+        private final Iterator<S> source;
+        private final java.util.function.Function<S, T> decoder;
+
+        SnapshotIterator(Iterator<S> source, java.util.function.Function<S, T> decoder) {
+            this.source = source;
+            this.decoder = decoder;
+        }
+
+        @Override
+        public boolean hasNext() {
+            checkActive();
+            return source.hasNext();
+        }
+
+        @Override
+        public T next() {
+            checkActive();
+            return decoder.apply(source.next());
+        }
+    }
 }
@@ -7,13 +7,21 @@ import com.snoworca.fxstore.api.CodecRef;
 import com.snoworca.fxstore.storage.Storage;
 import com.snoworca.fxstore.storage.MemoryStorage;
 import com.snoworca.fxstore.storage.FileStorage;
+import com.snoworca.fxstore.storage.MappedStorage;
 import com.snoworca.fxstore.storage.Allocator;
+import com.snoworca.fxstore.storage.ExtentAllocator;
+import com.snoworca.fxstore.storage.PageAllocator;
+import com.snoworca.fxstore.storage.AllocatedPages;
 import com.snoworca.fxstore.catalog.CatalogEntry;
 import com.snoworca.fxstore.catalog.CollectionState;
+import com.snoworca.fxstore.util.ByteUtils;
 
 import java.nio.file.Path;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.StampedLock;
 
 /**
@@ -48,7 +56,14 @@ import java.util.concurrent.locks.StampedLock;
  *
  * @since 0.3 (v0.4에서 스레드 안전성 추가)
  */
-public class FxStoreImpl implements FxStore {
+public class FxStoreImpl implements FxStore, FxReplica, FxSharedReader {
+
+    /** 값 레코드 인코딩/디코딩용 스레드 로컬 버퍼 (v0.10+) */
+    private static final ThreadLocal<FxEncodeBuffer> RECORD_BUFFER =
+        ThreadLocal.withInitial(FxEncodeBuffer::new);
+
+    /** 스레드 로컬 버퍼가 유지할 최대 크기 (초과 시 사용 후 해제) */
+    private static final int MAX_RETAINED_RECORD_BUFFER = 64 * 1024;
 
     // ==================== 핵심 인프라 (불변) ====================
     private final Storage storage;
@@ -72,6 +87,101 @@ public class FxStoreImpl implements FxStore {
      */
     private volatile StoreSnapshot currentSnapshot;
 
+    /**
+     * 열린 읽기 트랜잭션과 Iterator (티켓 → 시작 시각 nanoTime)
+     *
+     * <p>온라인 컴팩션은 dead 페이지를 재사용하거나 파일 끝을 자르기 전에
+     * 그 이전에 시작된 읽기가 모두 끝나기를 기다립니다.</p>
+     *
+     * @since 0.10
+     */
+    private final Map<Long, Long> pinnedReaders = new ConcurrentHashMap<>();
+
+    /** 읽기 트랜잭션 티켓 발급기 */
+    private final AtomicLong readerTickets = new AtomicLong();
+
+    /** Iterator 읽기 등록 (티켓 → 등록, 소유자가 GC되면 abandonedPins로 들어옴) */
+    private final Map<Long, ReaderPin> iteratorPins = new ConcurrentHashMap<>();
+    private final java.lang.ref.ReferenceQueue<Object> abandonedPins = new java.lang.ref.ReferenceQueue<>();
+
+    /** 온라인 컴팩션이 페이지를 회수(재사용 등록, 파일 절단)할 때마다 증가 */
+    private final AtomicLong reclaimGeneration = new AtomicLong();
+
+    /** Store를 연 시각 (이 프로세스의 어떤 컴팩션 표시보다 이름) */
+    private final long openedNanos = System.nanoTime();
+
+    /** 온라인 컴팩션 진행 상태 (v0.10+) */
+    private final OnlineCompactor onlineCompactor = new OnlineCompactor(this);
+
+    /** 커밋별 변경 페이지 (증분 백업, v0.10+) */
+    private final ChangedPageTracker changedPages = new ChangedPageTracker();
+
+    /** 커밋마다 프레임을 받는 복제 Sink (리더, v0.10+) */
+    private final List<ReplicationSink> replicationSinks = new CopyOnWriteArrayList<>();
+
+    /** 변경 구독 (첫 subscribe에서 생성, Write Lock 하에서 설정, v0.10+) */
+    private volatile ChangeFeed changeFeed;
+
+    /**
+     * 복제 Store 여부 (Follower, v0.10+)
+     *
+     * <p>복제 Store는 사용자 쓰기를 거부하고 {@link #apply}로만 바뀝니다.</p>
+     */
+    private final boolean replica;
+
+    /**
+     * 다중 프로세스 공유 읽기 Store 여부 (v0.10+)
+     *
+     * <p>파일을 읽기 전용으로 열고 사용자 쓰기를 거부하며 {@link #refresh}로만 바뀝니다.</p>
+     */
+    private final boolean sharedReader;
+
+    /**
+     * 고정(frozen) 파일 Store 여부 (v0.10+)
+     *
+     * <p>{@link FrozenExporter}가 쓴 파일을 메모리 매핑으로 열며 어떤 쓰기도 받지 않습니다.
+     * 값 레코드 ID는 페이지 ID가 아니라 바이트 오프셋입니다.</p>
+     */
+    private final boolean frozen;
+
+    /** 고정 파일 색인 영역의 끝 오프셋 (Superblock에서 읽음) */
+    private long frozenIndexEnd;
+
+    /** Superblock 생성 시각 (복제 프레임의 Store 식별자, 처음 사용할 때 읽음) */
+    private volatile long storeId;
+
+    /** 마지막으로 스냅샷을 게시한 시각 nanoTime (Follower) */
+    private volatile long lastPublishNanos;
+
+    /** 헤더를 아직 쓰지 않은 커밋에서 적용한 구간 (Follower, Write Lock 하에서만 접근) */
+    private final List<AllocatedPages> appliedParts = new ArrayList<>();
+
+    /** appliedParts 중 Superblock을 쓴 것이 있는지 여부 (Follower) */
+    private boolean partsChangedSuperblock;
+
+    /** 공유 읽기가 임대한 회수 세대 (-1이면 없음, Write Lock 하에서만 접근) */
+    private long leasedEpoch = -1L;
+
+    /** 새 세대로 바꾼 뒤 아직 놓지 않은 이전 임대 {세대, 교체 시각 nanoTime} (공유 읽기) */
+    private final ArrayDeque<long[]> retiredLeases = new ArrayDeque<>();
+
+    /**
+     * 마지막 커밋 이후 catalog 변경 여부 (Write Lock 하에서만 접근)
+     *
+     * <p>변경이 없으면 커밋은 이전 catalog 트리를 그대로 가리키므로 공유 읽기
+     * 프로세스가 catalog를 다시 읽지 않습니다.</p>
+     */
+    private boolean catalogDirty;
+
+    /** 다음 커밋에서 회수 세대를 올릴지 여부 (Write Lock 하에서만 접근) */
+    private boolean reclaimEpochAdvance;
+
+    /**
+     * 다음 커밋에 {@link CommitHeader#FLAG_SEGMENT_RING_DEQUES}를 기록할지 여부
+     * (Deque 마이그레이션, rollback 시 폐기, Write Lock 하에서만 접근)
+     */
+    private boolean segmentRingDequesPending;
+
     // ==================== 캐시 필드 ====================
     /**
      * DESIGN DECISION: 레거시 필드 유지 (v0.4)
@@ -132,12 +242,53 @@ public class FxStoreImpl implements FxStore {
      * @since 0.9
      */
     private volatile long workingAllocTail;
+
+    /**
+     * B+Tree 키 압축 사용 여부 (Superblock 기능 플래그에서 결정)
+     *
+     * <p>새 Store는 {@link FxOptions#keyCompression()}을, 기존 Store는
+     * 생성 시 Superblock에 기록된 플래그를 따릅니다.</p>
+     *
+     * @since 0.10
+     */
+    private boolean keyCompression;
+
+    /**
+     * 고정 폭 List 요소 인라인 저장 사용 여부 (Superblock 기능 플래그에서 결정)
+     *
+     * <p>새 List에만 적용되며, 각 List의 실제 형식은
+     * {@link CollectionState#getInlineElementWidth()}에 기록됩니다.</p>
+     *
+     * @since 0.10
+     */
+    private boolean inlineListElements;
+
+    /**
+     * Deque 세그먼트 링 저장 사용 여부 (Superblock 기능 플래그에서 결정)
+     *
+     * <p>새 Deque에만 적용되며, 각 Deque의 실제 형식은
+     * {@link CollectionState#getDequeLayout()}에 기록됩니다. 기존 Deque의
+     * 마이그레이션은 이 기본값을 바꾸지 않습니다.</p>
+     *
+     * @since 0.10
+     */
+    private boolean segmentRingDeques;
+
+    /**
+     * 커밋 단위 live 페이지 집계 (stats, 온라인 컴팩션 계획)
+     *
+     * @since 0.10
+     */
+    private final PageAccountant pageAccountant = new PageAccountant(this);
     
     /**
      * 메모리 기반 Store 생성자
      */
     private FxStoreImpl(FxOptions options) {
         this.options = Objects.requireNonNull(options, "options");
+        this.replica = false;
+        this.sharedReader = false;
+        this.frozen = false;
         // 메모리 저장소는 옵션의 memoryLimitBytes 사용
         this.storage = new MemoryStorage(options.memoryLimitBytes());
         this.pageCache = new PageCache(options.cacheBytes(), options.pageSize().bytes());
@@ -152,6 +303,7 @@ public class FxStoreImpl implements FxStore {
 
         // 초기 Superblock/CommitHeader 작성
         initializeNewStore();
+        startPageAccounting();
 
         // 초기 스냅샷 생성 (동시성 지원)
         this.currentSnapshot = createInitialSnapshot();
@@ -159,10 +311,23 @@ public class FxStoreImpl implements FxStore {
     
     /**
      * 파일 기반 Store 생성자
+     *
+     * @param replica 복제 Store (Follower) 여부
+     * @param sharedReader 공유 읽기 Store 여부 (파일을 읽기 전용으로 엶)
+     * @param frozen 고정 파일 Store 여부 (파일을 메모리 매핑으로 엶)
      */
-    private FxStoreImpl(Path file, FxOptions options) {
+    private FxStoreImpl(Path file, FxOptions options, boolean replica, boolean sharedReader, boolean frozen) {
         this.options = Objects.requireNonNull(options, "options");
-        this.storage = new FileStorage(file, false, options.fileLock()); // readOnly = false, with lock mode
+        this.replica = replica;
+        this.sharedReader = sharedReader;
+        this.frozen = frozen;
+        if (frozen) {
+            this.storage = new MappedStorage(file);
+        } else {
+            this.storage = sharedReader
+                ? new FileStorage(file, true, sharedLockMode(options.fileLock()))
+                : new FileStorage(file, false, options.fileLock()); // readOnly = false, with lock mode
+        }
         this.pageCache = new PageCache(options.cacheBytes(), options.pageSize().bytes());
         this.codecRegistry = FxCodecs.global();
         this.catalog = new ConcurrentHashMap<>();
@@ -176,13 +341,36 @@ public class FxStoreImpl implements FxStore {
             initializeNewStore();
         } else {
             // 기존 파일 로드
-            loadExistingStore();
+            try {
+                CommitHeader loaded = loadExistingStore();
+                // 임대 전에 읽은 세대가 그 사이 회수되었으면 다시 읽음
+                while (sharedReader && !leaseReclaimEpoch(loaded.getReclaimEpoch())) {
+                    loaded = loadExistingStore();
+                }
+            } catch (RuntimeException e) {
+                storage.close();
+                throw e;
+            }
             CommitHeader header = getCurrentCommitHeader();
             this.allocator = new Allocator(options.pageSize().bytes(), header.getAllocTail());
+            if (frozen) {
+                // 색인 영역(내부 노드)을 미리 올려 조회가 리프만 읽게 함
+                long indexStart = fixedPages() * options.pageSize().bytes();
+                ((MappedStorage) storage).load(indexStart, frozenIndexEnd - indexStart);
+            }
         }
+        startPageAccounting();
 
         // 초기 스냅샷 생성 (동시성 지원)
         this.currentSnapshot = createInitialSnapshot();
+        this.lastPublishNanos = System.nanoTime();
+    }
+
+    /**
+     * 공유 읽기에 쓸 잠금 모드 (PROCESS → SHARED_READER)
+     */
+    private static FileLockMode sharedLockMode(FileLockMode lockMode) {
+        return lockMode == FileLockMode.PROCESS ? FileLockMode.SHARED_READER : lockMode;
     }
     
     /**
@@ -196,14 +384,109 @@ public class FxStoreImpl implements FxStore {
      * 파일 Store 팩토리 메서드
      */
     public static FxStore open(Path file, FxOptions options) {
-        return new FxStoreImpl(file, options);
+        return new FxStoreImpl(file, options, false, false, false);
+    }
+
+    /**
+     * 복제 Store 팩토리 메서드 (Follower)
+     *
+     * <p>리더의 {@link FxStore#backupTo} 결과 파일을 엽니다. 이후 내용은
+     * {@link FxReplica#apply}로만 바뀝니다.</p>
+     *
+     * @param file 리더 백업 파일
+     * @param options 옵션 (commitMode, onClosePolicy는 무시)
+     * @return 복제 Store
+     * @throws FxException 파일이 없거나 비어 있으면 NOT_FOUND
+     * @since 0.10
+     */
+    public static FxReplica openReplica(Path file, FxOptions options) {
+        try {
+            if (!java.nio.file.Files.isRegularFile(file) || java.nio.file.Files.size(file) == 0) {
+                throw FxException.notFound("Replica file not found: " + file);
+            }
+        } catch (java.io.IOException e) {
+            throw FxException.io("Cannot access replica file: " + file, e);
+        }
+        return new FxStoreImpl(file, options, true, false, false);
+    }
+
+    /**
+     * 공유 읽기 Store 팩토리 메서드
+     *
+     * <p>다른 프로세스가 커밋 중인 파일을 읽기 전용으로 엽니다.
+     * {@link FxOptions#fileLock()}이 PROCESS이면 작성 프로세스와 공존하는
+     * {@link FileLockMode#SHARED_READER} 잠금을 잡습니다. 이후 커밋은
+     * {@link FxSharedReader#refresh}로 반영합니다.</p>
+     *
+     * @param file Store 파일
+     * @param options 옵션 (commitMode, onClosePolicy, durability는 무시)
+     * @return 공유 읽기 Store
+     * @throws FxException 파일이 없거나 비어 있으면 NOT_FOUND, 잠금 충돌이면 LOCK_FAILED
+     * @since 0.10
+     */
+    public static FxSharedReader openShared(Path file, FxOptions options) {
+        try {
+            if (!java.nio.file.Files.isRegularFile(file) || java.nio.file.Files.size(file) == 0) {
+                throw FxException.notFound("Store file not found: " + file);
+            }
+        } catch (java.io.IOException e) {
+            throw FxException.io("Cannot access store file: " + file, e);
+        }
+        return new FxStoreImpl(file, options, false, true, false);
+    }
+
+    /**
+     * 고정 파일 Store 팩토리 메서드
+     *
+     * <p>{@link FxStore#exportFrozen}이 쓴 파일을 읽기 전용 메모리 매핑으로 엽니다.
+     * 파일 잠금을 잡지 않으므로 여러 프로세스가 같은 파일을 동시에 열 수 있으며,
+     * 색인 영역은 여는 시점에 메모리에 올립니다. 모든 쓰기는 UNSUPPORTED로 거부합니다.</p>
+     *
+     * @param file 고정 파일
+     * @param options 옵션 (pageSize만 사용, 파일과 같아야 함)
+     * @return 읽기 전용 Store
+     * @throws FxException 파일이 없거나 비어 있으면 NOT_FOUND,
+     *         고정 파일이 아니면 ILLEGAL_ARGUMENT
+     * @since 0.10
+     */
+    public static FxStore openFrozen(Path file, FxOptions options) {
+        try {
+            if (!java.nio.file.Files.isRegularFile(file) || java.nio.file.Files.size(file) == 0) {
+                throw FxException.notFound("Frozen store file not found: " + file);
+            }
+        } catch (java.io.IOException e) {
+            throw FxException.io("Cannot access store file: " + file, e);
+        }
+        return new FxStoreImpl(file, options, false, false, true);
     }
     
     // ==================== 초기화 ====================
+
+    /**
+     * 커밋된 상태를 live 페이지 집계 기준으로 설정하고 할당 기록 시작
+     */
+    private void startPageAccounting() {
+        allocator.startAllocationLog();
+        pageAccountant.reset(getCurrentCommitHeader(), collectionStates.values());
+        changedPages.reset(getCurrentCommitHeader().getSeqNo());
+    }
     
     private void initializeNewStore() {
         // Superblock 작성
-        Superblock sb = Superblock.create(options.pageSize().bytes());
+        long featureFlags = 0L;
+        if (options.keyCompression()) {
+            featureFlags |= Superblock.FEATURE_KEY_COMPRESSION;
+        }
+        if (options.inlineListElements()) {
+            featureFlags |= Superblock.FEATURE_INLINE_LIST_ELEMENTS;
+        }
+        if (options.segmentRingDeques()) {
+            featureFlags |= Superblock.FEATURE_SEGMENT_RING_DEQUES;
+        }
+        Superblock sb = Superblock.create(options.pageSize().bytes(), featureFlags);
+        this.keyCompression = sb.hasFeature(Superblock.FEATURE_KEY_COMPRESSION);
+        this.inlineListElements = sb.hasFeature(Superblock.FEATURE_INLINE_LIST_ELEMENTS);
+        this.segmentRingDeques = sb.hasFeature(Superblock.FEATURE_SEGMENT_RING_DEQUES);
         byte[] sbBytes = sb.encode();
         storage.write(0L, sbBytes, 0, sbBytes.length);
 
@@ -216,7 +499,8 @@ public class FxStoreImpl implements FxStore {
             0L,  // catalogRootPageId
             0L,  // stateRootPageId
             1L,  // nextCollectionId
-            System.currentTimeMillis()  // commitEpochMs
+            System.currentTimeMillis(),  // commitEpochMs
+            fixedPages()  // livePages (Superblock + CommitHeader A/B)
         );
         byte[] chBytes = ch.encode();
         storage.write(Superblock.SIZE, chBytes, 0, chBytes.length);
@@ -231,28 +515,75 @@ public class FxStoreImpl implements FxStore {
         }
     }
     
-    private void loadExistingStore() {
+    private CommitHeader loadExistingStore() {
         // Superblock 검증
-        byte[] sbData = new byte[Superblock.SIZE];
-        storage.read(0L, sbData, 0, Superblock.SIZE);
-        Superblock sb = Superblock.decode(sbData);
+        loadFeatureFlags();
         
         // CommitHeader 로드
         CommitHeader ch = getCurrentCommitHeader();
+        checkCommittedFlags(ch);
         this.nextCollectionId = ch.getNextCollectionId();
         
-        // Catalog 로드
+        // Catalog 로드 (롤백 시 커밋되지 않은 컬렉션은 제거)
+        Map<String, CatalogEntry> loadedCatalog = new HashMap<>();
         if (ch.getCatalogRootPageId() != 0L) {
-            loadCatalog(ch.getCatalogRootPageId());
+            loadCatalog(ch.getCatalogRootPageId(), loadedCatalog);
         }
+        catalog.keySet().retainAll(loadedCatalog.keySet());
+        catalog.putAll(loadedCatalog);
+        catalogDirty = false;
         
         // State 로드
+        Map<Long, CollectionState> loadedStates = new HashMap<>();
         if (ch.getStateRootPageId() != 0L) {
-            loadState(ch.getStateRootPageId());
+            loadState(ch.getStateRootPageId(), loadedStates);
         }
+        collectionStates.keySet().retainAll(loadedStates.keySet());
+        collectionStates.putAll(loadedStates);
+        return ch;
     }
     
-    private CommitHeader getCurrentCommitHeader() {
+    /**
+     * 커밋 플래그 확인 (알 수 없는 플래그 → 이 버전으로 읽을 수 없는 커밋)
+     */
+    private static void checkCommittedFlags(CommitHeader ch) {
+        long unknownFlags = ch.getCommittedFlags() & ~CommitHeader.SUPPORTED_FLAGS;
+        if (unknownFlags != 0) {
+            throw new FxException(FxErrorCode.VERSION_MISMATCH,
+                "Unsupported commit header flags: 0x" + Long.toHexString(unknownFlags));
+        }
+    }
+
+    /**
+     * Superblock 기능 플래그 로드
+     */
+    private void loadFeatureFlags() {
+        byte[] sbData = new byte[Superblock.SIZE];
+        storage.read(0L, sbData, 0, Superblock.SIZE);
+        Superblock sb = Superblock.decode(sbData);
+
+        // 알 수 없는 기능 플래그 → 이 버전으로 읽을 수 없는 페이지 형식
+        long unknownFeatures = sb.getFeatureFlags() & ~Superblock.SUPPORTED_FEATURES;
+        if (unknownFeatures != 0) {
+            throw new FxException(FxErrorCode.VERSION_MISMATCH,
+                "Unsupported superblock feature flags: 0x" + Long.toHexString(unknownFeatures));
+        }
+        this.keyCompression = sb.hasFeature(Superblock.FEATURE_KEY_COMPRESSION);
+        this.inlineListElements = sb.hasFeature(Superblock.FEATURE_INLINE_LIST_ELEMENTS);
+        this.segmentRingDeques = sb.hasFeature(Superblock.FEATURE_SEGMENT_RING_DEQUES);
+
+        // 고정 파일은 값 레코드 배치가 달라 openFrozen으로만 엶
+        boolean frozenFile = sb.hasFeature(Superblock.FEATURE_FROZEN);
+        if (frozenFile && !frozen) {
+            throw FxException.unsupported("Frozen store file is read-only: open it with openFrozen");
+        }
+        if (!frozenFile && frozen) {
+            throw FxException.illegalArgument("Not a frozen store file");
+        }
+        this.frozenIndexEnd = sb.getFrozenIndexEnd();
+    }
+
+    CommitHeader getCurrentCommitHeader() {
         // Slot A와 B 중 seqNo가 큰 유효한 것 선택
         byte[] slotA = new byte[CommitHeader.SIZE];
         byte[] slotB = new byte[CommitHeader.SIZE];
@@ -272,8 +603,37 @@ public class FxStoreImpl implements FxStore {
             return CommitHeader.decode(slotB);
         }
     }
+
+    /**
+     * 직전 커밋 (다른 헤더 슬롯)의 헤더와 컬렉션 상태
+     *
+     * @return 슬롯이 유효하지 않거나 마지막 커밋의 바로 앞 seqNo가 아니면 null
+     */
+    PageAccountant.Committed previousCommitted() {
+        long seqNo = getCurrentCommitHeader().getSeqNo() - 1;
+        if (seqNo < 0) {
+            return null;
+        }
+        byte[] slot = new byte[CommitHeader.SIZE];
+        storage.read(seqNo % 2 == 0 ? Superblock.SIZE : Superblock.SIZE + CommitHeader.SIZE,
+            slot, 0, CommitHeader.SIZE);
+        CommitHeader header;
+        try {
+            header = CommitHeader.decode(slot);
+        } catch (Exception e) {
+            return null;
+        }
+        if (header.getSeqNo() != seqNo) {
+            return null;
+        }
+        Map<Long, CollectionState> states = new HashMap<>();
+        if (header.getStateRootPageId() != 0L) {
+            loadState(header.getStateRootPageId(), states);
+        }
+        return new PageAccountant.Committed(header, Collections.unmodifiableMap(states));
+    }
     
-    private void loadCatalog(long catalogRootPageId) {
+    private void loadCatalog(long catalogRootPageId, Map<String, CatalogEntry> into) {
         // Catalog BTree 생성 (String 키 비교자 사용)
         Comparator<byte[]> stringComparator = createLexicographicComparator();
         BTree catalogTree = new BTree(storage, options.pageSize().bytes(),
@@ -286,11 +646,11 @@ public class FxStoreImpl implements FxStore {
             // Value는 별도 레코드에 저장됨
             byte[] valueBytes = readValueRecord(entry.getValueRecordId());
             CatalogEntry catalogEntry = CatalogEntry.decode(valueBytes);
-            catalog.put(catalogEntry.getName(), catalogEntry);
+            into.put(catalogEntry.getName(), catalogEntry);
         }
     }
 
-    private void loadState(long stateRootPageId) {
+    private void loadState(long stateRootPageId, Map<Long, CollectionState> into) {
         // State BTree 생성 (Long 키 비교자 사용 - 8바이트 LE)
         Comparator<byte[]> longComparator = createLexicographicComparator();
         BTree stateTree = new BTree(storage, options.pageSize().bytes(),
@@ -303,7 +663,7 @@ public class FxStoreImpl implements FxStore {
             // Value는 별도 레코드에 저장됨
             byte[] valueBytes = readValueRecord(entry.getValueRecordId());
             CollectionState state = CollectionState.decode(valueBytes);
-            collectionStates.put(state.getCollectionId(), state);
+            into.put(state.getCollectionId(), state);
         }
     }
 
@@ -318,6 +678,7 @@ public class FxStoreImpl implements FxStore {
         Comparator<byte[]> stringComparator = createLexicographicComparator();
         BTree catalogTree = new BTree(storage, options.pageSize().bytes(),
                                        stringComparator, 0L, allocator);
+        catalogTree.setKeyCompression(keyCompression, keyCompression);
 
         for (CatalogEntry entry : catalog.values()) {
             byte[] keyBytes = entry.getName().getBytes(java.nio.charset.StandardCharsets.UTF_8);
@@ -340,6 +701,7 @@ public class FxStoreImpl implements FxStore {
         Comparator<byte[]> longComparator = createLexicographicComparator();
         BTree stateTree = new BTree(storage, options.pageSize().bytes(),
                                     longComparator, 0L, allocator);
+        stateTree.setKeyCompression(keyCompression, keyCompression);
 
         for (CollectionState state : collectionStates.values()) {
             // collectionId를 8바이트 LE로 인코딩
@@ -366,19 +728,7 @@ public class FxStoreImpl implements FxStore {
      * Lexicographic 바이트 비교자 생성
      */
     private Comparator<byte[]> createLexicographicComparator() {
-        return new Comparator<byte[]>() {
-            @Override
-            public int compare(byte[] a, byte[] b) {
-                int minLen = Math.min(a.length, b.length);
-                for (int i = 0; i < minLen; i++) {
-                    int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
-                    if (cmp != 0) {
-                        return cmp;
-                    }
-                }
-                return a.length - b.length;
-            }
-        };
+        return ByteUtils::compareUnsigned;
     }
     
     // ==================== 코덱 관리 ====================
@@ -430,6 +780,7 @@ public class FxStoreImpl implements FxStore {
             if (entry == null) {
                 return false;
             }
+            catalogDirty = true;
 
             collectionStates.remove(entry.getCollectionId());
             openCollections.remove(name);
@@ -464,6 +815,7 @@ public class FxStoreImpl implements FxStore {
 
             CatalogEntry entry = catalog.remove(from);
             catalog.put(to, new CatalogEntry(to, entry.getCollectionId()));
+            catalogDirty = true;
 
             Object collection = openCollections.remove(from);
             if (collection != null) {
@@ -536,6 +888,7 @@ public class FxStoreImpl implements FxStore {
             long collectionId = nextCollectionId++;
             CatalogEntry catalogEntry = new CatalogEntry(name, collectionId);
             catalog.put(name, catalogEntry);
+            catalogDirty = true;
 
             // CollectionState 생성
             CodecRef keyCodecRef = new CodecRef(keyCodec.id(), keyCodec.version(), null);
@@ -655,6 +1008,7 @@ public class FxStoreImpl implements FxStore {
             long collectionId = nextCollectionId++;
             CatalogEntry catalogEntry = new CatalogEntry(name, collectionId);
             catalog.put(name, catalogEntry);
+            catalogDirty = true;
 
             // CollectionState 생성 (Set은 keyCodec이 null)
             CodecRef elementCodecRef = new CodecRef(elementCodec.id(), elementCodec.version(), null);
@@ -770,16 +1124,20 @@ public class FxStoreImpl implements FxStore {
             long collectionId = nextCollectionId++;
             CatalogEntry catalogEntry = new CatalogEntry(name, collectionId);
             catalog.put(name, catalogEntry);
+            catalogDirty = true;
 
             // CollectionState 생성 (List는 keyCodec 없음)
             CodecRef elementCodecRef = new CodecRef(elementCodec.id(), elementCodec.version(), null);
+            int inlineWidth = inlineElementWidth(elementCodec);
             CollectionState state = new CollectionState(
                 collectionId,
                 CollectionKind.LIST,
                 null,  // List는 keyCodec 없음
                 elementCodecRef,
                 0L,  // 빈 rootPageId
-                0L   // count
+                0L,  // count
+                CollectionState.SEQ_ENCODER_VERSION_LEGACY,
+                (byte) inlineWidth
             );
             collectionStates.put(collectionId, state);
 
@@ -787,7 +1145,7 @@ public class FxStoreImpl implements FxStore {
 
             // FxList 생성 및 캐시 (새 컬렉션이므로 업그레이드 불필요)
             com.snoworca.fxstore.ost.OST ost = new com.snoworca.fxstore.ost.OST(storage, allocator, options.pageSize().bytes());
-            com.snoworca.fxstore.collection.FxList.RecordStore recordStore = createRecordStore(collectionId);
+            com.snoworca.fxstore.collection.FxList.RecordStore recordStore = createRecordStore(collectionId, inlineWidth);
             com.snoworca.fxstore.collection.FxList<E> list =
                 new com.snoworca.fxstore.collection.FxList<>(this, collectionId, ost, elementCodec, recordStore, null);
             openCollections.put(name, list);
@@ -830,7 +1188,8 @@ public class FxStoreImpl implements FxStore {
                 storage, allocator, options.pageSize().bytes(), state.getRootPageId());
 
             // FxList 생성
-            com.snoworca.fxstore.collection.FxList.RecordStore recordStore = createRecordStore(entry.getCollectionId());
+            com.snoworca.fxstore.collection.FxList.RecordStore recordStore =
+                createRecordStore(entry.getCollectionId(), state.getInlineElementWidth());
             return new com.snoworca.fxstore.collection.FxList<>(this, entry.getCollectionId(), ost, elementCodec, recordStore, elementUpgradeContext);
         });
 
@@ -858,19 +1217,38 @@ public class FxStoreImpl implements FxStore {
         }
     }
 
+    /**
+     * 새 List의 요소 인라인 폭 결정
+     *
+     * <p>인라인 기능이 켜진 Store에서 코덱이 8바이트 이하 고정 폭을 보고하면
+     * 그 폭을, 아니면 0(별도 값 레코드)을 반환합니다.</p>
+     */
+    private int inlineElementWidth(com.snoworca.fxstore.api.FxCodec<?> elementCodec) {
+        if (!inlineListElements) {
+            return 0;
+        }
+        int width = elementCodec.fixedWidth();
+        return width >= 1 && width <= com.snoworca.fxstore.collection.InlineRecordStore.MAX_INLINE_WIDTH
+            ? width : 0;
+    }
+
     /**
      * List용 RecordStore 생성
      *
      * @param collectionId 컬렉션 ID
+     * @param inlineWidth 요소 인라인 폭 (0이면 값 레코드 사용)
      * @return RecordStore 인스턴스
      */
-    private com.snoworca.fxstore.collection.FxList.RecordStore createRecordStore(long collectionId) {
+    private com.snoworca.fxstore.collection.FxList.RecordStore createRecordStore(long collectionId, int inlineWidth) {
+        if (inlineWidth > 0) {
+            return new com.snoworca.fxstore.collection.InlineRecordStore(inlineWidth);
+        }
         return new com.snoworca.fxstore.collection.FxList.RecordStore() {
+            // 레코드는 FxList가 OST 루트를 갱신한 뒤 commitIfAuto()로 함께 커밋됨
+            // (레코드만 쓴 중간 상태를 커밋하지 않음)
             @Override
             public long writeRecord(byte[] data) {
-                long recordId = writeValueRecord(data);
-                markPendingChanges();
-                return recordId;
+                return writeValueRecord(data);
             }
 
             @Override
@@ -878,6 +1256,16 @@ public class FxStoreImpl implements FxStore {
                 return readValueRecord(recordId);
             }
 
+            @Override
+            public <T> long writeRecord(com.snoworca.fxstore.api.FxCodec<T> codec, T value) {
+                return writeValueRecord(codec, value);
+            }
+
+            @Override
+            public <T> T readRecord(long recordId, com.snoworca.fxstore.api.FxCodec<T> codec) {
+                return readValueRecord(recordId, codec);
+            }
+
             @Override
             public void deleteRecord(long recordId) {
                 // 현재 구현에서는 dead space로 남김 (compactTo에서 정리)
@@ -916,6 +1304,7 @@ public class FxStoreImpl implements FxStore {
             long collectionId = nextCollectionId++;
             CatalogEntry catalogEntry = new CatalogEntry(name, collectionId);
             catalog.put(name, catalogEntry);
+            catalogDirty = true;
 
             // CollectionState 생성 (v0.7+: OrderedSeqEncoder 사용)
             CodecRef elementCodecRef = new CodecRef(elementCodec.id(), elementCodec.version(), null);
@@ -928,13 +1317,19 @@ public class FxStoreImpl implements FxStore {
                 0L,  // count
                 CollectionState.SEQ_ENCODER_VERSION_ORDERED  // v0.7+: O(log n) 지원
             );
+            if (segmentRingDeques) {
+                // v0.10: 세그먼트 링 형식 (빈 디렉토리, head = tail = 0)
+                state = state.withSegmentRing(0L, 0L, 0L);
+            }
             collectionStates.put(collectionId, state);
 
             markPendingChanges();
 
             // FxDequeImpl 생성 및 캐시 (v0.7+: OrderedSeqEncoder 사용)
-            com.snoworca.fxstore.collection.FxDequeImpl<E> deque =
-                new com.snoworca.fxstore.collection.FxDequeImpl<>(
+            com.snoworca.fxstore.collection.FxDequeImpl<E> deque = segmentRingDeques
+                ? new com.snoworca.fxstore.collection.FxDequeImpl<>(
+                    this, collectionId, elementCodec, 0L, 0L, null, createSegmentRing(0L, 0L))
+                : new com.snoworca.fxstore.collection.FxDequeImpl<>(
                     this, collectionId, elementCodec, 0L, 0L, null,
                     com.snoworca.fxstore.collection.OrderedSeqEncoder.getInstance());
             openCollections.put(name, deque);
@@ -972,6 +1367,14 @@ public class FxStoreImpl implements FxStore {
             // 코덱 검증 및 업그레이드 컨텍스트 생성
             CodecUpgradeContext elementUpgradeContext = validateCodec(state.getValueCodec(), elementCodec, key);
 
+            // v0.10: 세그먼트 링은 head/tail 위치가 상태에 있으므로 스캔 없이 복원
+            if (state.isSegmentRing()) {
+                return new com.snoworca.fxstore.collection.FxDequeImpl<>(
+                    this, entry.getCollectionId(), elementCodec,
+                    state.getHeadPosition(), state.getTailPosition(), elementUpgradeContext,
+                    createSegmentRing(state.getHeadPosition(), state.getTailPosition()));
+            }
+
             // v0.7: 저장된 인코더 버전에 따라 SeqEncoder 선택
             com.snoworca.fxstore.collection.SeqEncoder seqEncoder;
             if (state.getSeqEncoderVersion() == CollectionState.SEQ_ENCODER_VERSION_ORDERED) {
@@ -1022,6 +1425,46 @@ public class FxStoreImpl implements FxStore {
         return result;
     }
     
+    /**
+     * 세그먼트 링 엔진 생성
+     *
+     * @param head 커밋된 head 위치
+     * @param tail 커밋된 tail 위치
+     * @return 세그먼트 링 엔진
+     */
+    private com.snoworca.fxstore.collection.SegmentRing createSegmentRing(long head, long tail) {
+        return new com.snoworca.fxstore.collection.SegmentRing(
+            storage, allocator, options.pageSize().bytes(), head, tail);
+    }
+
+    /**
+     * 새 Deque를 세그먼트 링으로 생성하는지 여부
+     *
+     * @return Superblock에 세그먼트 링 기능 플래그가 있으면 true
+     * @since 0.10
+     */
+    public boolean isSegmentRingDequesEnabled() {
+        return segmentRingDeques;
+    }
+
+    /**
+     * 다음 커밋에 세그먼트 링 Deque 포함 표시 (Write Lock 필수)
+     *
+     * <p>{@link CommitHeader#FLAG_SEGMENT_RING_DEQUES}를 변환과 같은 커밋으로
+     * 기록하므로, 그 커밋부터 이 파일은 플래그를 모르는 이전 버전에서 열리지 않습니다.
+     * 커밋 전에 rollback하면 표시도 폐기됩니다. 새 Deque의 형식(Store 기본값)은
+     * 바꾸지 않습니다. {@link com.snoworca.fxstore.migration.DequeMigrator}가 기존
+     * Deque를 변환하기 전에 호출합니다.</p>
+     *
+     * @since 0.10
+     */
+    public void markSegmentRingDeques() {
+        long committedFlags = pageAccountant.committed().getHeader().getCommittedFlags();
+        if ((committedFlags & CommitHeader.FLAG_SEGMENT_RING_DEQUES) == 0) {
+            segmentRingDequesPending = true;
+        }
+    }
+
     /**
      * Deque 생성 또는 열기 (Thread-safe)
      *
@@ -1068,26 +1511,60 @@ public class FxStoreImpl implements FxStore {
     }
 
     /**
-     * 실제 커밋 수행 (내부용)
+     * 실제 커밋 수행 (내부용, Write Lock 필수)
      */
-    private void doCommit() {
+    void doCommit() {
+        // 지속 변경 수신자가 이전 커밋까지 받기를 대기 (중단 후에도 한 커밋 이내로 뒤처짐)
+        ChangeFeed feed = changeFeed;
+        if (feed != null) {
+            feed.awaitDurable();
+        }
+        CommitHeader current = getCurrentCommitHeader();
+        long newSeqNo = current.getSeqNo() + 1;
+
+        // 컬렉션별 live 페이지 집계 (마지막 커밋 이후 할당된 페이지로 바뀐 경로만 비교)
+        // 내용이 바뀐 컬렉션에는 이 커밋 seqNo를 기록 (재시작 후 fromSeqNo 구독)
+        AllocatedPages fresh = allocator.drainAllocationLog();
+        Map<Long, CollectionState> committedStates = pageAccountant.committed().getStates();
+        long livePages = fixedPages();
+        for (CollectionState state : collectionStates.values()) {
+            CollectionState counted = pageAccountant.account(state, fresh);
+            CollectionState before = committedStates.get(counted.getCollectionId());
+            if (before == null || !ChangeFeed.sameContent(before, counted)) {
+                counted = counted.withChangedSeqNo(newSeqNo);
+            }
+            if (counted != state) {
+                collectionStates.put(counted.getCollectionId(), counted);
+            }
+            livePages += counted.getLivePages();
+        }
+
         // Catalog와 State를 BTree에 저장
-        long newCatalogRootPageId = saveCatalog();
+        // catalog가 그대로면 이전 트리를 가리킴. 단 온라인 컴팩션이 빈 페이지를 등록한
+        // 동안에는 다시 써서 경계 아래로 옮김 (경계 위 페이지가 남지 않도록)
+        long newCatalogRootPageId = catalogDirty || allocator.getFreePageCount() > 0
+            ? saveCatalog()
+            : current.getCatalogRootPageId();
+        catalogDirty = false;
         long newStateRootPageId = saveState();
+        livePages += pageAccountant.countMetadataTree(newCatalogRootPageId)
+            + pageAccountant.countMetadataTree(newStateRootPageId);
 
         // CommitHeader 갱신
-        CommitHeader current = getCurrentCommitHeader();
-        long newSeqNo = current.getSeqNo() + 1;
-
         CommitHeader updated = new CommitHeader(
             newSeqNo,
-            current.getCommittedFlags(),
+            current.getCommittedFlags()
+                | (segmentRingDequesPending ? CommitHeader.FLAG_SEGMENT_RING_DEQUES : 0L),
             allocator.getAllocTail(),  // 레거시 API 사용 (v0.9 전환 기간)
             newCatalogRootPageId,
             newStateRootPageId,
             nextCollectionId,
-            System.currentTimeMillis()
+            System.currentTimeMillis(),
+            livePages,
+            current.getReclaimEpoch() + (reclaimEpochAdvance ? 1L : 0L)
         );
+        reclaimEpochAdvance = false;
+        segmentRingDequesPending = false;
 
         // Slot A/B 교체 (seqNo가 짝수면 A, 홀수면 B)
         long slotOffset = (newSeqNo % 2 == 0)
@@ -1101,6 +1578,28 @@ public class FxStoreImpl implements FxStore {
             storage.force(true);
         }
 
+        // catalog/state 페이지는 커밋마다 새로 만들므로 다음 집계에서 제외
+        AllocatedPages metadata = allocator.drainAllocationLog();
+        AllocatedPages inPlace = allocator.drainInPlaceWriteLog();
+        AllocatedPages written = AllocatedPages.union(Arrays.asList(fresh, metadata, inPlace));
+        changedPages.record(newSeqNo, written);
+        pageAccountant.reset(updated, collectionStates.values());
+        if (changeFeed != null) {
+            changeFeed.committed(pageAccountant.committed());
+        }
+        if (!replicationSinks.isEmpty()) {
+            // 이전 커밋이 참조할 수 있는 페이지를 다시 썼는지 (온라인 컴팩션)
+            long previousTailPage = current.getAllocTail() / getPageSize();
+            boolean reusesPages = updated.getAllocTail() < current.getAllocTail()
+                || startsBelow(fresh, previousTailPage) || startsBelow(metadata, previousTailPage);
+            shipReplicationFrames(updated, chBytes, written, reusesPages, !inPlace.isEmpty());
+        }
+
+        // 스냅샷 allocTail을 커밋된 값으로 맞춤 (catalog/state 페이지, 세그먼트 링 할당 반영)
+        if (currentSnapshot.getAllocTail() != updated.getAllocTail()) {
+            publishSnapshot(currentSnapshot.withAllocTail(updated.getAllocTail()));
+        }
+
         hasPendingChanges = false;
     }
     
@@ -1130,6 +1629,12 @@ public class FxStoreImpl implements FxStore {
             CommitHeader header = getCurrentCommitHeader();
             this.workingAllocTail = header.getAllocTail();
 
+            // 폐기한 할당은 dead 페이지로 남음
+            allocator.drainAllocationLog();
+            allocator.drainInPlaceWriteLog();
+            pageAccountant.reset(header, collectionStates.values());
+            segmentRingDequesPending = false;
+
             // 스냅샷 재생성
             this.currentSnapshot = createInitialSnapshot();
 
@@ -1156,180 +1661,244 @@ public class FxStoreImpl implements FxStore {
     @Override
     public com.snoworca.fxstore.api.FxReadTransaction beginRead() {
         checkNotClosed();
+        // 스냅샷을 읽기 전에 등록해야 온라인 컴팩션이 이 읽기를 놓치지 않음
+        long ticket = pinReader();
         // Wait-free: 현재 스냅샷 참조만 획득 (volatile read)
         StoreSnapshot snap = snapshot();
-        return new FxReadTransactionImpl(this, snap);
+        return new FxReadTransactionImpl(this, snap, ticket);
     }
 
-    // ==================== 운영 ====================
-    
     /**
-     * 통계 조회 (Wait-free, FAST 모드)
+     * 읽기 등록 (온라인 컴팩션 대기 대상)
      *
-     * <p>INV-C3: 어떤 락도 획득하지 않음</p>
-     *
-     * @return 스토어 통계
+     * @return 해제에 사용할 티켓
      */
-    @Override
-    public Stats stats() {
-        return stats(StatsMode.FAST);
+    long pinReader() {
+        return pinReader(System.nanoTime());
     }
 
     /**
-     * 통계 조회 (Wait-free)
+     * 이전 커밋 상태의 읽기 등록
      *
-     * <p>INV-C3: 어떤 락도 획득하지 않음</p>
+     * <p>컴팩션은 등록 시각 이후에 표시한 경우에만 등록을 기다리지 않으므로,
+     * 이미 대체된 상태를 읽을 때는 그 상태가 마지막 커밋이던 시각으로 등록합니다.</p>
      *
-     * @param mode 통계 모드 (FAST 또는 DEEP)
-     * @return 스토어 통계
+     * @param sinceNanos 읽을 상태가 마지막 커밋이던 시각 (nanoTime)
+     * @return 해제에 사용할 티켓
      */
-    @Override
-    public Stats stats(StatsMode mode) {
-        checkNotClosed();
-
-        // Wait-free: volatile read only (INV-C3)
-        StoreSnapshot snap = snapshot();
-
-        long fileBytes = storage.size();
-        int collectionCount = snap.getCatalog().size();
-
-        // 고정 오버헤드: Superblock + CommitHeader A + CommitHeader B
-        long overhead = Superblock.SIZE + CommitHeader.SIZE * 2;
-
-        // 할당된 영역 (allocTail까지) - snapshot에서 획득
-        long allocatedBytes = snap.getAllocTail();
-
-        // FAST 모드: 추정치 사용
-        // - liveBytes: 할당된 바이트 전체 (dead 포함)
-        // - deadBytes: 파일 크기에서 할당된 영역을 뺀 트레일링 공간
-        //   (실제 dead bytes는 DEEP 스캔 없이 정확히 알 수 없음)
-        long liveBytes;
-        long deadBytes;
-
-        if (mode == StatsMode.FAST) {
-            // FAST: allocTail까지의 모든 데이터를 live로 간주
-            liveBytes = allocatedBytes;
-            // trailing space만 dead로 간주 (실제 내부 dead는 미계산)
-            deadBytes = fileBytes - allocatedBytes;
-        } else {
-            // DEEP: 실제 라이브 데이터 스캔
-            // Catalog와 State의 모든 페이지와 레코드를 순회하여 실제 사용량 계산
-            liveBytes = calculateLiveBytes(overhead);
-            deadBytes = allocatedBytes - liveBytes;
-        }
-
-        // 음수 방지
-        if (deadBytes < 0) {
-            deadBytes = 0;
-        }
+    long pinReader(long sinceNanos) {
+        long ticket = readerTickets.incrementAndGet();
+        pinnedReaders.put(ticket, sinceNanos);
+        return ticket;
+    }
 
-        // deadRatio 계산 (allocatedBytes 기준)
-        double deadRatio = (allocatedBytes > 0) ?
-            (double) deadBytes / allocatedBytes : 0.0;
+    /**
+     * Store를 연 시각 (nanoTime)
+     */
+    long openedNanos() {
+        return openedNanos;
+    }
 
-        return new Stats(fileBytes, liveBytes, deadBytes, deadRatio, collectionCount);
+    /**
+     * 읽기 등록 해제 (멱등)
+     *
+     * @param ticket {@link #pinReader()}가 반환한 티켓
+     */
+    void unpinReader(long ticket) {
+        pinnedReaders.remove(ticket);
     }
 
     /**
-     * DEEP 모드: 실제 라이브 바이트 계산
+     * 호출 범위보다 오래 사는 스냅샷 읽기 등록 (Iterator용)
      *
-     * <p>Catalog, State, 모든 컬렉션의 루트 페이지를 순회하여
-     * 실제로 사용 중인 바이트 수를 계산합니다.</p>
+     * <p>스냅샷 루트를 읽기 전에 호출해야 합니다. 소유자가 등록을 해제하지 않고
+     * GC되면 다음 등록이나 컴팩션 검사 시 해제합니다.</p>
      *
-     * @param overhead 고정 오버헤드 (Superblock + CommitHeaders)
-     * @return 라이브 바이트 수
+     * @param owner 등록을 보유하는 객체 (약하게 참조)
+     * @return 읽기 등록
+     * @since 0.10
      */
-    private long calculateLiveBytes(long overhead) {
-        long liveBytes = overhead;
-
-        try {
-            CommitHeader header = getCurrentCommitHeader();
+    public ReaderPin pinIterator(Object owner) {
+        releaseAbandonedPins();
+        ReaderPin pin = new ReaderPin(this, owner, abandonedPins, pinReader());
+        iteratorPins.put(pin.getTicket(), pin);
+        return pin;
+    }
 
-            // Catalog Tree 페이지 계산
-            if (header.getCatalogRootPageId() != 0) {
-                liveBytes += countTreeBytes(header.getCatalogRootPageId());
-            }
+    void releasePin(ReaderPin pin) {
+        iteratorPins.remove(pin.getTicket());
+        unpinReader(pin.getTicket());
+    }
 
-            // State Tree 페이지 계산
-            if (header.getStateRootPageId() != 0) {
-                liveBytes += countTreeBytes(header.getStateRootPageId());
-            }
+    /**
+     * 소유자가 GC된 Iterator 등록 해제
+     */
+    private void releaseAbandonedPins() {
+        java.lang.ref.Reference<?> reference;
+        while ((reference = abandonedPins.poll()) != null) {
+            releasePin((ReaderPin) reference);
+        }
+    }
 
-            // 각 컬렉션의 데이터 페이지 계산
-            for (CollectionState state : collectionStates.values()) {
-                long rootPageId = state.getRootPageId();
-                if (rootPageId != 0) {
-                    liveBytes += countTreeBytes(rootPageId);
-                }
-            }
+    /**
+     * 온라인 컴팩션의 페이지 회수 세대
+     */
+    long reclaimGeneration() {
+        return reclaimGeneration.get();
+    }
 
-        } catch (FxException e) {
-            // 오류 시 스냅샷 기반 추정치 사용 (v0.9: Stateless API)
-            return currentSnapshot.getAllocTail();
-        }
+    /**
+     * 페이지 회수 직전 호출 (해제된 Iterator가 회수된 페이지를 읽지 않게 함)
+     */
+    void beginReclaim() {
+        reclaimGeneration.incrementAndGet();
+    }
 
-        return liveBytes;
+    /**
+     * 회수 세대를 올린 커밋 (온라인 컴팩션, Write Lock 필수)
+     *
+     * <p>이전 커밋이 참조하던 페이지를 재사용하거나 잘라내기 전에 호출합니다. 공유 읽기
+     * 프로세스는 읽는 커밋의 세대를 임대하므로, 이 커밋 이후
+     * {@link #sharedReadersReleased()}가 true이면 이전 세대를 읽는 프로세스가 없습니다.</p>
+     */
+    void advanceReclaimEpoch() {
+        reclaimEpochAdvance = true;
+        doCommit();
     }
 
     /**
-     * B-Tree/OST 페이지 바이트 수 계산 (재귀)
+     * 마지막 커밋 이전 회수 세대를 임대한 공유 읽기가 없는지 (Write Lock 필수)
      *
-     * <p>루트부터 시작하여 모든 노드 페이지의 바이트 수를 합산합니다.</p>
+     * @return 다른 프로세스의 읽기가 이전 세대의 페이지를 보지 않으면 true
+     */
+    boolean sharedReadersReleased() {
+        long epoch = pageAccountant.committed().getHeader().getReclaimEpoch();
+        return epoch == 0L || !(storage instanceof FileStorage)
+            || ((FileStorage) storage).isReaderLeaseFree(epoch - 1);
+    }
+
+    /**
+     * 가장 오래된 등록 읽기의 시작 시각
      *
-     * @param rootPageId 루트 페이지 ID
-     * @return 트리가 사용하는 총 바이트 수
+     * @return nanoTime (등록된 읽기가 없으면 Long.MAX_VALUE)
      */
-    private long countTreeBytes(long rootPageId) {
-        if (rootPageId == 0) {
-            return 0;
+    long oldestPinnedReaderNanos() {
+        releaseAbandonedPins();
+        long oldest = Long.MAX_VALUE;
+        for (Long started : pinnedReaders.values()) {
+            oldest = Math.min(oldest, started);
         }
+        return oldest;
+    }
 
-        int pageSize = options.pageSize().bytes();
-        long totalBytes = pageSize;  // 루트 페이지 자체
+    // ==================== 운영 ====================
+    
+    /**
+     * 통계 조회 (Wait-free, FAST 모드)
+     *
+     * <p>INV-C3: 어떤 락도 획득하지 않음</p>
+     *
+     * @return 스토어 통계
+     */
+    @Override
+    public Stats stats() {
+        return stats(StatsMode.FAST);
+    }
 
-        try {
-            byte[] pageData = new byte[pageSize];
-            long offset = rootPageId * pageSize;
-            storage.read(offset, pageData, 0, pageSize);
-
-            // 페이지 타입 확인 (첫 바이트)
-            int pageType = pageData[0] & 0xFF;
-
-            // BTree Internal 또는 OST Internal 노드인 경우 자식 순회
-            if (pageType == 1 || pageType == 3) {  // BTreeInternal or OSTInternal
-                // 자식 페이지 수 (오프셋 4-7에 int로 저장됨)
-                int childCount = ((pageData[4] & 0xFF)) |
-                                ((pageData[5] & 0xFF) << 8) |
-                                ((pageData[6] & 0xFF) << 16) |
-                                ((pageData[7] & 0xFF) << 24);
-
-                // 자식 페이지 ID들 순회 (오프셋 8부터 각 8바이트)
-                for (int i = 0; i < childCount && i < 200; i++) {  // 최대 200개 제한
-                    int childOffset = 8 + (i * 8);
-                    if (childOffset + 8 <= pageSize) {
-                        long childPageId =
-                            ((long)(pageData[childOffset] & 0xFF)) |
-                            ((long)(pageData[childOffset + 1] & 0xFF) << 8) |
-                            ((long)(pageData[childOffset + 2] & 0xFF) << 16) |
-                            ((long)(pageData[childOffset + 3] & 0xFF) << 24) |
-                            ((long)(pageData[childOffset + 4] & 0xFF) << 32) |
-                            ((long)(pageData[childOffset + 5] & 0xFF) << 40) |
-                            ((long)(pageData[childOffset + 6] & 0xFF) << 48) |
-                            ((long)(pageData[childOffset + 7] & 0xFF) << 56);
-
-                        if (childPageId != 0) {
-                            totalBytes += countTreeBytes(childPageId);
-                        }
+    /**
+     * 통계 조회 (Wait-free)
+     *
+     * <p>INV-C3: 어떤 락도 획득하지 않음</p>
+     *
+     * @param mode 통계 모드 (FAST 또는 DEEP)
+     * @return 스토어 통계
+     */
+    @Override
+    public Stats stats(StatsMode mode) {
+        checkNotClosed();
+
+        // Wait-free: volatile read only (INV-C3)
+        StoreSnapshot snap = snapshot();
+        PageAccountant.Committed committed = pageAccountant.committed();
+
+        long fileBytes = storage.size();
+        int collectionCount = snap.getCatalog().size();
+
+        // 할당된 영역 (allocTail까지) - snapshot에서 획득
+        long allocatedBytes = snap.getAllocTail();
+
+        // live 바이트는 마지막 커밋 기준 (커밋되지 않은 BATCH 쓰기는 dead로 집계)
+        long liveBytes;
+        long deadBytes;
+        Map<Long, Long> livePagesById = new HashMap<>();
+
+        // 고정 파일은 레코드가 페이지 단위가 아니므로 항상 FAST (allocTail까지가 live)
+        if (mode == StatsMode.FAST || frozen) {
+            long livePages = committed.getHeader().getLivePages();
+            if (livePages > 0) {
+                // FAST: 커밋마다 갱신되는 live 페이지 수 (O(컬렉션 수))
+                liveBytes = livePagesToBytes(livePages);
+                deadBytes = allocatedBytes - liveBytes;
+                for (CollectionState state : committed.getStates().values()) {
+                    if (state.hasLivePages()) {
+                        livePagesById.put(state.getCollectionId(), state.getLivePages());
                     }
                 }
+            } else {
+                // v0.10 이전 파일: 첫 커밋 전까지는 allocTail까지를 live로 간주하고
+                // trailing space만 dead로 간주
+                liveBytes = allocatedBytes;
+                deadBytes = fileBytes - allocatedBytes;
+            }
+        } else {
+            // DEEP: 커밋된 상태의 모든 트리와 레코드를 다시 순회 (증분 값 검증용)
+            long ticket = pinReader();
+            try {
+                long livePages = pageAccountant.countCommitted(committed.getHeader(),
+                    committed.getStates().values(), livePagesById);
+                liveBytes = livePagesToBytes(livePages);
+            } finally {
+                unpinReader(ticket);
             }
-            // Leaf 노드는 추가 순회 불필요 (이미 pageSize 추가됨)
+            deadBytes = allocatedBytes - liveBytes;
+        }
 
-        } catch (Exception e) {
-            // 페이지 읽기 실패 시 현재까지 계산된 값 반환
+        // 음수 방지
+        if (deadBytes < 0) {
+            deadBytes = 0;
         }
 
-        return totalBytes;
+        // deadRatio 계산 (allocatedBytes 기준)
+        double deadRatio = (allocatedBytes > 0) ?
+            (double) deadBytes / allocatedBytes : 0.0;
+
+        Map<String, Long> collectionLiveBytes = new HashMap<>();
+        for (CatalogEntry entry : snap.getCatalog().values()) {
+            Long pages = livePagesById.get(entry.getCollectionId());
+            if (pages != null) {
+                collectionLiveBytes.put(entry.getName(), pages * options.pageSize().bytes());
+            }
+        }
+
+        return new Stats(fileBytes, liveBytes, deadBytes, deadRatio, collectionCount, collectionLiveBytes);
+    }
+
+    /**
+     * 고정 영역(Superblock + CommitHeader A/B)이 차지하는 페이지 수
+     *
+     * @since 0.10
+     */
+    long fixedPages() {
+        int pageSize = options.pageSize().bytes();
+        return (Superblock.SIZE + CommitHeader.SIZE * 2L + pageSize - 1) / pageSize;
+    }
+
+    /**
+     * live 페이지 수를 바이트로 변환 (고정 영역은 실제 크기로 계산)
+     */
+    private long livePagesToBytes(long livePages) {
+        long overhead = Superblock.SIZE + CommitHeader.SIZE * 2L;
+        return overhead + (livePages - fixedPages()) * options.pageSize().bytes();
     }
     
     @Override
@@ -1353,6 +1922,58 @@ public class FxStoreImpl implements FxStore {
         return new VerifyResult(errors.isEmpty(), errors);
     }
 
+    /**
+     * 무결성 검증 (모드 지정)
+     *
+     * <p>DEEP은 QUICK 검사에 더해 마지막 커밋의 모든 트리를 {@link DeepVerifier}로
+     * 순회합니다. 커밋되지 않은 BATCH 변경은 검사하지 않습니다.</p>
+     */
+    @Override
+    public VerifyResult verify(VerifyMode mode) {
+        if (mode == null) {
+            throw FxException.illegalArgument("mode cannot be null");
+        }
+        VerifyResult quick = verify();
+        if (mode == VerifyMode.QUICK) {
+            return quick;
+        }
+        List<com.snoworca.fxstore.api.VerifyError> errors = new ArrayList<>(quick.errors());
+        verifyTrees(errors);
+        return new VerifyResult(errors.isEmpty(), errors);
+    }
+
+    /**
+     * 마지막 커밋의 모든 트리 검증 (verify(DEEP))
+     *
+     * <p>{@link FxOptions#verifyParallelism()}이 1보다 크면 전용 ForkJoinPool에서
+     * 트리와 서브트리를 나눠 동시에 검사합니다. 검증하는 동안 읽기로 등록하여
+     * 온라인 컴팩션이 순회 중인 페이지를 재사용하지 않게 합니다.</p>
+     */
+    private void verifyTrees(List<com.snoworca.fxstore.api.VerifyError> errors) {
+        int parallelism = options.verifyParallelism() > 0
+            ? options.verifyParallelism()
+            : Runtime.getRuntime().availableProcessors();
+
+        long ticket = pinReader();
+        try {
+            PageAccountant.Committed committed = pageAccountant.committed();
+            CommitHeader header = committed.getHeader();
+            DeepVerifier verifier = new DeepVerifier(this, header, parallelism > 1);
+            if (parallelism <= 1) {
+                errors.addAll(verifier.verify(header, committed.getStates().values(), null));
+                return;
+            }
+            java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(parallelism);
+            try {
+                errors.addAll(verifier.verify(header, committed.getStates().values(), pool));
+            } finally {
+                pool.shutdownNow();
+            }
+        } finally {
+            unpinReader(ticket);
+        }
+    }
+
     /**
      * Superblock 무결성 검증
      */
@@ -1568,92 +2189,876 @@ public class FxStoreImpl implements FxStore {
             long collectionId = entry.getKey();
             boolean foundInCatalog = false;
 
-            for (CatalogEntry catEntry : catalog.values()) {
-                if (catEntry.getCollectionId() == collectionId) {
-                    foundInCatalog = true;
-                    break;
+            for (CatalogEntry catEntry : catalog.values()) {
+                if (catEntry.getCollectionId() == collectionId) {
+                    foundInCatalog = true;
+                    break;
+                }
+            }
+
+            if (!foundInCatalog) {
+                errors.add(new com.snoworca.fxstore.api.VerifyError(
+                    VerifyErrorKind.RECORD,
+                    0L,
+                    collectionId,
+                    "CollectionState (id=" + collectionId +
+                    ") has no matching Catalog entry"
+                ));
+            }
+        }
+    }
+    
+    @Override
+    public void compactTo(Path destination) {
+        checkNotClosed();
+
+        // BATCH 모드에서 pending 변경이 있으면 에러
+        if (options.commitMode() == CommitMode.BATCH && hasPendingChanges) {
+            throw FxException.illegalArgument(
+                "Cannot compact with pending changes. Commit or rollback first."
+            );
+        }
+
+        // 원본은 시작 시점 스냅샷의 루트로 읽음 (온라인 컴팩션이 페이지를 재사용하지 않도록 등록)
+        long ticket = pinReader();
+        StoreSnapshot source = snapshot();
+
+        // 새 Store 생성 (BATCH - 모든 컬렉션을 채운 뒤 한 번만 커밋하고 fsync)
+        FxOptions compactOptions = FxOptions.defaults()
+            .withCommitMode(CommitMode.BATCH)
+            .durability(Durability.ASYNC)  // fsync는 마지막 커밋 후 한 번만
+            .onClosePolicy(OnClosePolicy.ROLLBACK)  // 실패 시 미완성 상태 폐기
+            .pageSize(options.pageSize())
+            .fileLock(FileLockMode.NONE)  // 임시 파일이므로 락 불필요
+            .keyCompression(keyCompression)
+            .inlineListElements(inlineListElements)
+            .segmentRingDeques(segmentRingDeques)
+            .build();
+
+        try (FxStoreImpl targetStore = (FxStoreImpl) FxStoreImpl.open(destination, compactOptions)) {
+            // 대상 컬렉션 생성, 재인코딩 경로 복사 (호출 스레드)
+            List<BulkCopy> bulkCopies = new ArrayList<>();
+            for (CollectionInfo info : list()) {
+                BulkCopy bulkCopy = copyCollection(info, source, targetStore);
+                if (bulkCopy != null) {
+                    bulkCopies.add(bulkCopy);
+                }
+            }
+            // 구조 복사 (컬렉션마다 fork/join 작업 하나)
+            runBulkCopies(bulkCopies, targetStore);
+            targetStore.commit();
+            targetStore.storage.force(true);
+        } catch (Exception e) {
+            // 실패 시 대상 파일 삭제 시도
+            try {
+                java.nio.file.Files.deleteIfExists(destination);
+            } catch (java.io.IOException ioe) {
+                // 삭제 실패 무시
+            }
+
+            if (e instanceof FxException) {
+                throw (FxException) e;
+            }
+            throw new FxException(FxErrorCode.IO, "Compaction failed", e);
+        } finally {
+            unpinReader(ticket);
+        }
+    }
+
+    /**
+     * 온라인 컴팩션 한 단계 수행
+     *
+     * <p>진행 상태는 {@link OnlineCompactor}가 유지하며, 각 단계는 필요한 동안만
+     * Write Lock을 보유합니다.</p>
+     */
+    @Override
+    public boolean compactStep(int maxPages) {
+        checkNotClosed();
+        if (maxPages < 1) {
+            throw FxException.illegalArgument("maxPages must be positive: " + maxPages);
+        }
+        return onlineCompactor.step(maxPages);
+    }
+
+    /**
+     * 핫 전체 백업
+     *
+     * <p>읽기를 등록하여 마지막 커밋의 페이지가 온라인 컴팩션에 재사용되지 않게
+     * 한 뒤 Lock 없이 복사합니다 ({@link StoreBackup}).</p>
+     */
+    @Override
+    public long backupTo(Path target) {
+        checkNotClosed();
+        long ticket = pinReader();
+        try {
+            CommitHeader header = pageAccountant.committed().getHeader();
+            new StoreBackup(storage, getPageSize()).full(target, header);
+            return header.getSeqNo();
+        } finally {
+            unpinReader(ticket);
+        }
+    }
+
+    /**
+     * 핫 증분 백업
+     *
+     * <p>헤더를 먼저 읽고 변경 페이지를 조회하므로, 조회 결과는 백업할 커밋까지의
+     * 변경을 모두 포함합니다(그 뒤 커밋의 변경이 섞이면 더 복사할 뿐입니다).</p>
+     */
+    @Override
+    public long backupIncremental(Path target, long fromSeqNo) {
+        checkNotClosed();
+        long ticket = pinReader();
+        try {
+            CommitHeader header = pageAccountant.committed().getHeader();
+            AllocatedPages changed = changedPages.changedSince(fromSeqNo);
+            new StoreBackup(storage, getPageSize()).incremental(target, fromSeqNo, header, changed);
+            return header.getSeqNo();
+        } finally {
+            unpinReader(ticket);
+        }
+    }
+
+    /**
+     * 고정 파일 내보내기
+     *
+     * <p>읽기를 등록하여 마지막 커밋의 페이지가 재사용되지 않게 한 뒤 Lock 없이
+     * 다시 배치합니다 ({@link FrozenExporter}).</p>
+     */
+    @Override
+    public long exportFrozen(Path target) {
+        checkNotClosed();
+        long ticket = pinReader();
+        try {
+            PageAccountant.Committed committed = pageAccountant.committed();
+            CommitHeader header = committed.getHeader();
+            long featureFlags = inlineListElements ? Superblock.FEATURE_INLINE_LIST_ELEMENTS : 0L;
+            new FrozenExporter(this).export(target, header, committed.getStates().values(), featureFlags);
+            return header.getSeqNo();
+        } finally {
+            unpinReader(ticket);
+        }
+    }
+
+    // ==================== 복제 ====================
+
+    /** 복제 프레임 하나에 담는 구간의 최대 합계 크기 (큰 커밋은 여러 프레임으로 나눔) */
+    private static final int MAX_FRAME_RANGE = 1 << 24;
+
+    @Override
+    public long addReplicationSink(ReplicationSink sink) {
+        checkNotClosed();
+        if (sink == null) {
+            throw FxException.illegalArgument("sink cannot be null");
+        }
+        // 커밋과 원자적으로 등록 (반환한 seqNo 다음 커밋부터 빠짐없이 전달)
+        long stamp = acquireWriteLock();
+        try {
+            readStoreId();
+            replicationSinks.add(sink);
+            return pageAccountant.committed().getHeader().getSeqNo();
+        } finally {
+            releaseWriteLock(stamp);
+        }
+    }
+
+    @Override
+    public boolean removeReplicationSink(ReplicationSink sink) {
+        return replicationSinks.remove(sink);
+    }
+
+    /**
+     * 커밋이 쓴 페이지와 헤더를 프레임으로 만들어 Sink에 전달 (Write Lock 필수)
+     *
+     * <p>CommitHeader 슬롯은 Follower가 직접 쓰므로 제외하고, Superblock은 바뀐
+     * 경우에만 포함합니다. 구간을 최대 {@link #MAX_FRAME_RANGE}바이트씩 읽어 그만큼
+     * 모이면 바로 보내므로 큰 커밋도 한 번에 메모리에 올리지 않습니다.</p>
+     */
+    private void shipReplicationFrames(CommitHeader header, byte[] headerBytes, AllocatedPages written,
+                                       boolean reusesPages, boolean writesInPlace) {
+        FramePart part = new FramePart(header.getSeqNo(), reusesPages, writesInPlace, headerBytes);
+        int pageSize = getPageSize();
+        long fixedEnd = fixedPages() * pageSize;
+        for (int i = 0; i < written.runCount(); i++) {
+            long from = written.runStart(i) * pageSize;
+            long to = Math.min(written.runEnd(i) * pageSize, header.getAllocTail());
+            if (from < Superblock.SIZE) {
+                part.add(from, Math.min(to, Superblock.SIZE));
+            }
+            for (long pos = Math.max(from, fixedEnd); pos < to; pos += MAX_FRAME_RANGE) {
+                part.add(pos, Math.min(to, pos + MAX_FRAME_RANGE));
+            }
+        }
+        part.send(false);
+    }
+
+    /**
+     * 보내기 전의 프레임 구간 (한 커밋의 일부)
+     */
+    private final class FramePart {
+        private final long seqNo;
+        private final boolean reusesPages;
+        private final boolean writesInPlace;
+        private final byte[] headerBytes;
+        private final List<Long> offsets = new ArrayList<>();
+        private final List<byte[]> data = new ArrayList<>();
+        private long bytes;
+
+        FramePart(long seqNo, boolean reusesPages, boolean writesInPlace, byte[] headerBytes) {
+            this.seqNo = seqNo;
+            this.reusesPages = reusesPages;
+            this.writesInPlace = writesInPlace;
+            this.headerBytes = headerBytes;
+        }
+
+        void add(long from, long to) {
+            if (bytes > 0 && bytes + (to - from) > MAX_FRAME_RANGE) {
+                send(true);
+            }
+            byte[] range = new byte[(int) (to - from)];
+            storage.read(from, range, 0, range.length);
+            offsets.add(from);
+            data.add(range);
+            bytes += range.length;
+        }
+
+        void send(boolean moreParts) {
+            long[] offsetArray = new long[offsets.size()];
+            for (int i = 0; i < offsetArray.length; i++) {
+                offsetArray[i] = offsets.get(i);
+            }
+            ReplicationFrame frame = new ReplicationFrame(storeId, seqNo, reusesPages, writesInPlace,
+                moreParts, headerBytes, offsetArray, data.toArray(new byte[0][]));
+            offsets.clear();
+            data.clear();
+            bytes = 0;
+            for (ReplicationSink sink : replicationSinks) {
+                try {
+                    sink.send(frame);
+                } catch (RuntimeException e) {
+                    // 커밋은 이미 완료됨 - Follower는 seqNo 공백으로 분리를 감지
+                    replicationSinks.remove(sink);
+                }
+            }
+        }
+    }
+
+    private static boolean startsBelow(AllocatedPages pages, long pageId) {
+        return !pages.isEmpty() && pages.runStart(0) < pageId;
+    }
+
+    private void readStoreId() {
+        if (storeId == 0L) {
+            byte[] sbData = new byte[Superblock.SIZE];
+            storage.read(0L, sbData, 0, Superblock.SIZE);
+            storeId = Superblock.decode(sbData).getCreatedAtEpochMs();
+        }
+    }
+
+    /**
+     * 리더 커밋 프레임 적용 (Follower)
+     *
+     * <p>페이지를 쓰고 CommitHeader를 해당 슬롯에 쓴 뒤 catalog/state를 다시 읽어
+     * 새 스냅샷을 게시합니다. 이전 스냅샷의 읽기는 새로 쓴 페이지(allocTail 너머)를
+     * 보지 않으므로 Lock 없이 계속됩니다. 페이지를 재사용한 프레임은 그 전에
+     * 이전 스냅샷의 읽기가 끝나기를 기다립니다.</p>
+     */
+    @Override
+    public long apply(ReplicationFrame frame) {
+        checkNotClosed();
+        if (!replica) {
+            throw FxException.illegalState("Store is not a replica");
+        }
+        if (frame == null) {
+            throw FxException.illegalArgument("frame cannot be null");
+        }
+        long stamp = lockForWrite();
+        try {
+            CommitHeader current = pageAccountant.committed().getHeader();
+            readStoreId();
+            if (frame.storeId() != storeId) {
+                throw FxException.illegalArgument("Frame " + frame.seqNo() + " is from another store");
+            }
+            if (frame.seqNo() <= current.getSeqNo()) {
+                return current.getSeqNo();  // 백업에 이미 포함됨
+            }
+            if (frame.seqNo() != current.getSeqNo() + 1) {
+                throw FxException.illegalState("Replication gap: replica is at seqNo "
+                    + current.getSeqNo() + " but received " + frame.seqNo());
+            }
+            byte[] headerBytes = frame.header();
+            CommitHeader header = CommitHeader.decode(headerBytes);
+            if (!header.verify(headerBytes) || header.getSeqNo() != frame.seqNo()) {
+                throw FxException.corruption("Invalid commit header in frame " + frame.seqNo());
+            }
+            if (frame.reusesPages()) {
+                awaitReplicaReaders(!frame.writesInPlaceOnly());
+            }
+
+            int pageSize = getPageSize();
+            long fixedEnd = Superblock.SIZE + CommitHeader.SIZE * 2L;
+            boolean superblockChanged = false;
+            long[] startPages = new long[frame.rangeCount()];
+            long[] endPages = new long[frame.rangeCount()];
+            for (int i = 0; i < frame.rangeCount(); i++) {
+                long offset = frame.rangeOffset(i);
+                byte[] data = frame.rangeData(i);
+                if (offset < fixedEnd && offset + data.length > Superblock.SIZE) {
+                    throw FxException.corruption("Frame " + frame.seqNo() + " overlaps the commit header slots");
+                }
+                storage.write(offset, data, 0, data.length);
+                superblockChanged |= offset < Superblock.SIZE;
+                startPages[i] = offset / pageSize;
+                endPages[i] = (offset + data.length + pageSize - 1) / pageSize;
+            }
+            appliedParts.add(AllocatedPages.of(startPages, endPages));
+            partsChangedSuperblock |= superblockChanged;
+            if (frame.hasMoreParts()) {
+                // 헤더는 마지막 프레임과 함께 씀 (그 전까지 이전 커밋이 그대로 보임)
+                return current.getSeqNo();
+            }
+
+            long slotOffset = (header.getSeqNo() % 2 == 0)
+                ? Superblock.SIZE
+                : Superblock.SIZE + CommitHeader.SIZE;
+            storage.write(slotOffset, headerBytes, 0, headerBytes.length);
+            if (options.durability() == Durability.SYNC) {
+                storage.force(true);
+            }
+
+            publishReplicated(header, partsChangedSuperblock);
+            changedPages.record(header.getSeqNo(), AllocatedPages.union(appliedParts));
+            appliedParts.clear();
+            partsChangedSuperblock = false;
+            if (frame.reusesPages() && storage.size() > header.getAllocTail()) {
+                storage.truncate(header.getAllocTail());
+            }
+            return header.getSeqNo();
+        } finally {
+            releaseWriteLock(stamp);
+        }
+    }
+
+    @Override
+    public int pump(ReplicationSource source, long timeoutMillis) throws InterruptedException {
+        if (source == null) {
+            throw FxException.illegalArgument("source cannot be null");
+        }
+        int applied = 0;
+        ReplicationFrame frame;
+        while ((frame = source.receive(timeoutMillis)) != null) {
+            long before = replicatedSeqNo();
+            if (apply(frame) != before) {
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    @Override
+    public long replicatedSeqNo() {
+        return pageAccountant.committed().getHeader().getSeqNo();
+    }
+
+    /**
+     * 적용한 커밋을 다시 읽어 스냅샷 게시 (Write Lock 필수)
+     *
+     * <p>catalog/state는 임시 Map에 읽어 스냅샷을 한 번에 교체한 뒤 레거시 캐시에
+     * 반영합니다. 이름이 다른 컬렉션을 가리키게 된 캐시 인스턴스는 버립니다.</p>
+     */
+    private void publishReplicated(CommitHeader header, boolean superblockChanged) {
+        if (superblockChanged) {
+            loadFeatureFlags();
+        }
+        Map<String, CatalogEntry> loadedCatalog = new HashMap<>();
+        if (header.getCatalogRootPageId() != 0L) {
+            loadCatalog(header.getCatalogRootPageId(), loadedCatalog);
+        }
+        Map<Long, CollectionState> loadedStates = new HashMap<>();
+        if (header.getStateRootPageId() != 0L) {
+            loadState(header.getStateRootPageId(), loadedStates);
+        }
+        publishLoaded(header, loadedCatalog, loadedStates);
+    }
+
+    /**
+     * 다시 읽은 catalog/state로 스냅샷 게시 (Write Lock 필수)
+     *
+     * <p>B+Tree Deque는 head/tail을 인스턴스에 보관하므로 상태가 바뀐 것은
+     * 캐시에서 버립니다 (다시 열면 새 상태로 복원).</p>
+     */
+    private void publishLoaded(CommitHeader header, Map<String, CatalogEntry> loadedCatalog,
+                               Map<Long, CollectionState> loadedStates) {
+        Map<Long, Long> rootPageIds = new HashMap<>();
+        for (CollectionState state : loadedStates.values()) {
+            rootPageIds.put(state.getCollectionId(), state.getRootPageId());
+        }
+
+        // 스냅샷을 먼저 게시 (컬렉션 읽기는 스냅샷의 루트를 따름)
+        allocator.syncTail(header.getAllocTail());
+        this.currentSnapshot = new StoreSnapshot(0L, header.getAllocTail(), loadedCatalog,
+            loadedStates, rootPageIds, header.getNextCollectionId());
+        this.lastPublishNanos = System.nanoTime();
+
+        for (Map.Entry<String, CatalogEntry> entry : catalog.entrySet()) {
+            CatalogEntry loaded = loadedCatalog.get(entry.getKey());
+            if (loaded == null || loaded.getCollectionId() != entry.getValue().getCollectionId()) {
+                openCollections.remove(entry.getKey());
+                continue;
+            }
+            CollectionState before = collectionStates.get(loaded.getCollectionId());
+            CollectionState after = loadedStates.get(loaded.getCollectionId());
+            if (after != null && after.getKind() == CollectionKind.DEQUE && !after.isSegmentRing()
+                    && (before == null || before.getRootPageId() != after.getRootPageId())) {
+                openCollections.remove(entry.getKey());
+            }
+        }
+        catalog.keySet().retainAll(loadedCatalog.keySet());
+        catalog.putAll(loadedCatalog);
+        collectionStates.keySet().retainAll(loadedStates.keySet());
+        collectionStates.putAll(loadedStates);
+        nextCollectionId = header.getNextCollectionId();
+        pageAccountant.reset(header, collectionStates.values());
+    }
+
+    /**
+     * 최신 커밋으로 갱신 (공유 읽기)
+     *
+     * <p>작성 프로세스는 페이지를 모두 쓴 뒤 CommitHeader를 쓰므로 유효한 헤더가
+     * 가리키는 트리는 완성되어 있습니다. 쓰는 중인 슬롯은 CRC가 맞지 않아
+     * {@link CommitHeader#selectHeader}가 다른 슬롯을 고릅니다.</p>
+     *
+     * <p>회수 세대가 바뀐 커밋은 읽은 뒤 그 세대를 임대합니다. 임대 후에도 최신
+     * 세대가 같으면 작성 프로세스가 그 세대의 페이지를 아직 회수하지 않은 것이므로
+     * 읽은 내용이 유효하고, 다르면 다시 읽습니다.</p>
+     */
+    @Override
+    public long refresh() {
+        checkNotClosed();
+        if (!sharedReader) {
+            throw FxException.illegalState("Store is not a shared reader");
+        }
+        long stamp = lockForWrite();
+        try {
+            releaseRetiredLeases();
+            CommitHeader current = pageAccountant.committed().getHeader();
+            while (true) {
+                byte[] slotA = new byte[CommitHeader.SIZE];
+                byte[] slotB = new byte[CommitHeader.SIZE];
+                storage.read(Superblock.SIZE, slotA, 0, CommitHeader.SIZE);
+                storage.read(Superblock.SIZE + CommitHeader.SIZE, slotB, 0, CommitHeader.SIZE);
+                CommitHeader latest = CommitHeader.selectHeader(slotA, slotB);
+                if (latest.getSeqNo() <= current.getSeqNo()) {
+                    return current.getSeqNo();
+                }
+
+                // 회수 세대가 바뀌었으면 같은 페이지 ID가 다른 내용일 수 있음
+                boolean stale = latest.getReclaimEpoch() != current.getReclaimEpoch();
+                Map<String, CatalogEntry> loadedCatalog;
+                if (!stale && latest.getCatalogRootPageId() == current.getCatalogRootPageId()) {
+                    loadedCatalog = new HashMap<>(currentSnapshot.getCatalog());
+                } else {
+                    loadedCatalog = new HashMap<>();
+                    if (latest.getCatalogRootPageId() != 0L) {
+                        loadCatalog(latest.getCatalogRootPageId(), loadedCatalog);
+                    }
+                }
+                Map<Long, CollectionState> loadedStates = new HashMap<>();
+                if (latest.getStateRootPageId() != 0L) {
+                    loadState(latest.getStateRootPageId(), loadedStates);
+                }
+                if (!leaseReclaimEpoch(latest.getReclaimEpoch())) {
+                    continue;
+                }
+                if (stale) {
+                    openCollections.clear();
+                }
+                // 페이지 ID 캐시 세대를 올림
+                allocator.installFreePages(new long[0]);
+                publishLoaded(latest, loadedCatalog, loadedStates);
+                return latest.getSeqNo();
+            }
+        } finally {
+            releaseWriteLock(stamp);
+        }
+    }
+
+    /**
+     * 읽은 커밋의 회수 세대 임대 (공유 읽기, Write Lock 필수)
+     *
+     * @param epoch 읽은 커밋의 회수 세대
+     * @return 임대했으면 true, 읽는 동안 작성 프로세스가 세대를 올렸으면 false (다시 읽어야 함)
+     */
+    private boolean leaseReclaimEpoch(long epoch) {
+        if (epoch == leasedEpoch || !(storage instanceof FileStorage)) {
+            return true;
+        }
+        FileStorage file = (FileStorage) storage;
+        file.acquireReaderLease(epoch);
+        if (getCurrentCommitHeader().getReclaimEpoch() != epoch) {
+            file.releaseReaderLease(epoch);
+            return false;
+        }
+        if (leasedEpoch >= 0L) {
+            retiredLeases.addLast(new long[]{leasedEpoch, System.nanoTime()});
+        }
+        leasedEpoch = epoch;
+        return true;
+    }
+
+    /**
+     * 교체 전에 시작된 읽기가 끝나고 보존 시간이 지난 이전 세대 임대를 놓음 (Write Lock 필수)
+     */
+    private void releaseRetiredLeases() {
+        long retention = TimeUnit.MILLISECONDS.toNanos(options.compactionRetentionMillis());
+        long oldest = oldestPinnedReaderNanos();
+        while (!retiredLeases.isEmpty()) {
+            long[] retired = retiredLeases.peekFirst();
+            if (System.nanoTime() - retired[1] < retention
+                    || (oldest != Long.MAX_VALUE && oldest - retired[1] < 0)) {
+                return;
+            }
+            ((FileStorage) storage).releaseReaderLease(retired[0]);
+            retiredLeases.removeFirst();
+        }
+    }
+
+    @Override
+    public long refreshedSeqNo() {
+        return pageAccountant.committed().getHeader().getSeqNo();
+    }
+
+    /**
+     * 마지막 게시 이전에 시작된 읽기가 끝나고 보존 시간이 지나기를 대기
+     *
+     * <p>온라인 컴팩션의 대기 조건과 같습니다. 그 이후의 읽기는 최신 스냅샷을
+     * 보며, 리더는 최신 커밋에서 dead인 페이지만 재사용합니다. 이 파일을 공유 읽기로
+     * 연 프로세스가 이전 회수 세대의 임대를 놓을 때까지도 기다립니다.</p>
+     *
+     * @param retained 보존 시간도 기다릴지 여부 (세그먼트 링 제자리 쓰기만 있는 프레임은
+     *                 발행된 [head, tail) 밖의 슬롯만 쓰므로 등록된 읽기만 기다림)
+     */
+    private void awaitReplicaReaders(boolean retained) {
+        long retention = retained ? TimeUnit.MILLISECONDS.toNanos(options.compactionRetentionMillis()) : 0L;
+        while (true) {
+            long published = lastPublishNanos;
+            long oldest = oldestPinnedReaderNanos();
+            if (System.nanoTime() - published >= retention
+                    && (oldest == Long.MAX_VALUE || oldest - published >= 0)
+                    && sharedReadersReleased()) {
+                return;
+            }
+            java.util.concurrent.locks.LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            if (Thread.currentThread().isInterrupted()) {
+                throw FxException.illegalState("Interrupted while waiting for replica readers");
+            }
+        }
+    }
+
+    /**
+     * 개별 컬렉션을 대상 Store로 복사
+     *
+     * <p>Map/Set/List는 원본 트리를 키(인덱스) 순서로 순회하며 키 바이트와 값 레코드를
+     * 디코딩 없이 옮기고, 대상 트리는 꽉 채운 리프부터 상향식으로 구성합니다
+     * ({@link #bulkCopyBTree}, {@link #bulkCopyList}). 이 구조 복사는 바로 하지 않고
+     * 작업으로 반환하여 {@link #runBulkCopies}가 다른 컬렉션과 동시에 수행합니다.
+     * 원본 코덱 버전이 현재 코덱과 달라 재인코딩이 필요한 컬렉션과 Deque는 호출
+     * 스레드에서 공개 API로 바로 복사합니다. 어느 경우든 대상은 BATCH 모드이므로
+     * 요소마다 커밋하지 않습니다.</p>
+     *
+     * @param info 컬렉션 정보
+     * @param source 원본 스냅샷
+     * @param targetStore 대상 Store
+     * @return 구조 복사 작업, 이미 복사를 마쳤으면 null
+     */
+    @SuppressWarnings("unchecked")
+    private BulkCopy copyCollection(CollectionInfo info, StoreSnapshot source, FxStoreImpl targetStore) {
+        String name = info.name();
+        CollectionKind kind = info.kind();
+        CatalogEntry entry = catalog.get(name);
+        CollectionState sourceState = entry != null ? source.getState(entry.getCollectionId()) : null;
+        if (sourceState == null) {
+            return null;
+        }
+        // 루트는 상태 객체가 아닌 스냅샷의 루트 맵이 최신
+        Long rootPageId = source.getRootPageId(sourceState.getCollectionId());
+        long sourceRoot = rootPageId != null ? rootPageId : 0L;
+
+        switch (kind) {
+            case MAP: {
+                Class<?> keyClass = codecRefToClass(info.keyCodec());
+                Class<?> valueClass = codecRefToClass(info.valueCodec());
+                NavigableMap<Object, Object> targetMap =
+                    (NavigableMap<Object, Object>) targetStore.createMap(name, keyClass, valueClass);
+                BulkCopy bulkCopy = bulkCopyBTree(sourceState, sourceRoot, targetStore, name,
+                    codecRegistry.get(keyClass));
+                if (bulkCopy != null) {
+                    return bulkCopy;
+                }
+                copyMap(name, keyClass, valueClass, targetMap);
+                break;
+            }
+            case SET: {
+                // Set은 valueCodec를 element 타입으로 사용
+                Class<?> elementClass = codecRefToClass(info.valueCodec());
+                NavigableSet<Object> targetSet =
+                    (NavigableSet<Object>) targetStore.createSet(name, elementClass);
+                BulkCopy bulkCopy = bulkCopyBTree(sourceState, sourceRoot, targetStore, name,
+                    codecRegistry.get(elementClass));
+                if (bulkCopy != null) {
+                    return bulkCopy;
+                }
+                copySet(name, elementClass, targetSet);
+                break;
+            }
+            case LIST: {
+                Class<?> elementClass = codecRefToClass(info.valueCodec());
+                List<Object> targetList = (List<Object>) targetStore.createList(name, elementClass);
+                BulkCopy bulkCopy = bulkCopyList(sourceState, sourceRoot, targetStore, name);
+                if (bulkCopy != null) {
+                    return bulkCopy;
+                }
+                copyList(name, elementClass, targetList);
+                break;
+            }
+            case DEQUE: {
+                Class<?> elementClass = codecRefToClass(info.valueCodec());
+                Deque<Object> targetDeque = (Deque<Object>) targetStore.createDeque(name, elementClass);
+                copyDeque(name, elementClass, targetDeque);
+                break;
+            }
+            default:
+                // 알 수 없는 종류는 스킵
+                break;
+        }
+        return null;
+    }
+
+    /**
+     * compactTo 구조 복사 시 한 번에 대상 트리에 붙이는 요소 수
+     *
+     * <p>이어 붙일 때마다 대상 트리의 오른쪽 경로만 다시 쓰므로, 묶음이 클수록
+     * 버려지는 페이지가 줄고 작을수록 메모리 사용이 줄어듭니다.</p>
+     */
+    private static final int COMPACT_CHUNK_SIZE = 65536;
+
+    /**
+     * compactTo 구조 복사 작업이 대상 파일에서 한 번에 예약하는 페이지 수
+     *
+     * <p>작업마다 이 크기의 구간을 받아 잠금 없이 페이지를 나눠 씁니다. 작업이 끝나고
+     * 남은 구간은 다음 작업과 대상 Store의 최종 커밋이 이어서 사용합니다.</p>
+     */
+    private static final int COMPACT_EXTENT_PAGES = 64;
+
+    /**
+     * compactTo 구조 복사 작업 (컬렉션 하나)
+     *
+     * <p>{@link #copier}는 원본 스냅샷을 읽고 주어진 할당자로 대상 파일에 새 트리를
+     * 쓴 뒤 {루트, 요소 수}를 반환합니다. 대상 Store의 상태는 건드리지 않으므로
+     * 여러 작업을 동시에 실행할 수 있고, 결과는 모든 작업이 끝난 뒤
+     * {@link #runBulkCopies}가 호출 스레드에서 반영합니다.</p>
+     */
+    private static final class BulkCopy {
+        private final long targetId;
+        private final boolean countTracked;
+        private final java.util.function.Function<PageAllocator, long[]> copier;
+
+        BulkCopy(long targetId, boolean countTracked, java.util.function.Function<PageAllocator, long[]> copier) {
+            this.targetId = targetId;
+            this.countTracked = countTracked;
+            this.copier = copier;
+        }
+    }
+
+    /**
+     * 구조 복사 작업 실행 및 결과 반영
+     *
+     * <p>작업이 둘 이상이고 {@link FxOptions#compactionParallelism()}이 1보다 크면
+     * 전용 ForkJoinPool에서 동시에 실행합니다. 각 작업은 자기
+     * {@link ExtentAllocator}로 대상 파일의 서로 다른 구간에 쓰므로 대상 Store의
+     * 쓰기 락이나 할당자를 공유하지 않습니다. 그동안 호출 스레드가 대상 Store의
+     * 쓰기 락을 보유하여 다른 할당을 막습니다.</p>
+     *
+     * @param bulkCopies 구조 복사 작업
+     * @param targetStore 대상 Store
+     */
+    private void runBulkCopies(List<BulkCopy> bulkCopies, FxStoreImpl targetStore) {
+        if (bulkCopies.isEmpty()) {
+            return;
+        }
+        int parallelism = options.compactionParallelism() > 0
+            ? options.compactionParallelism()
+            : Runtime.getRuntime().availableProcessors();
+        parallelism = Math.min(parallelism, bulkCopies.size());
+
+        long stamp = targetStore.acquireWriteLock();
+        try {
+            ExtentAllocator.Pool extents = new ExtentAllocator.Pool(targetStore.allocator, COMPACT_EXTENT_PAGES);
+            List<long[]> results = new ArrayList<>(bulkCopies.size());
+            if (parallelism <= 1) {
+                for (BulkCopy bulkCopy : bulkCopies) {
+                    results.add(runBulkCopy(bulkCopy, extents));
+                }
+            } else {
+                List<java.util.concurrent.Callable<long[]>> tasks = new ArrayList<>(bulkCopies.size());
+                for (BulkCopy bulkCopy : bulkCopies) {
+                    tasks.add(() -> runBulkCopy(bulkCopy, extents));
+                }
+                java.util.concurrent.ForkJoinPool pool = new java.util.concurrent.ForkJoinPool(parallelism);
+                try {
+                    for (java.util.concurrent.Future<long[]> future : pool.invokeAll(tasks)) {
+                        results.add(future.get());
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new FxException(FxErrorCode.IO, "Compaction interrupted", e);
+                } catch (java.util.concurrent.ExecutionException e) {
+                    Throwable cause = e.getCause();
+                    if (cause instanceof FxException) {
+                        throw (FxException) cause;
+                    }
+                    throw new FxException(FxErrorCode.IO, "Compaction failed", cause);
+                } finally {
+                    pool.shutdownNow();
                 }
             }
 
-            if (!foundInCatalog) {
-                errors.add(new com.snoworca.fxstore.api.VerifyError(
-                    VerifyErrorKind.RECORD,
-                    0L,
-                    collectionId,
-                    "CollectionState (id=" + collectionId +
-                    ") has no matching Catalog entry"
-                ));
+            // 구조 복사 작업들이 쓰지 않고 남긴 페이지: 파일 끝에 이어진 것은 allocTail을
+            // 되돌리고, 나머지는 빈 페이지로 등록하여 카탈로그/상태 트리 커밋이 채우게 함
+            targetStore.allocator.reclaimPages(extents.drainSparePages());
+            for (int i = 0; i < bulkCopies.size(); i++) {
+                BulkCopy bulkCopy = bulkCopies.get(i);
+                long[] result = results.get(i);
+                if (bulkCopy.countTracked) {
+                    targetStore.updateCollectionRootCountAndPublish(bulkCopy.targetId, result[0], result[1]);
+                } else {
+                    targetStore.updateCollectionRootAndPublish(bulkCopy.targetId, result[0]);
+                }
             }
+            targetStore.commitIfAuto();
+        } finally {
+            targetStore.releaseWriteLock(stamp);
         }
     }
-    
-    @Override
-    public void compactTo(Path destination) {
-        checkNotClosed();
 
-        // BATCH 모드에서 pending 변경이 있으면 에러
-        if (options.commitMode() == CommitMode.BATCH && hasPendingChanges) {
-            throw FxException.illegalArgument(
-                "Cannot compact with pending changes. Commit or rollback first."
-            );
+    /**
+     * 구조 복사 작업 하나를 새 구간 할당자로 실행
+     */
+    private static long[] runBulkCopy(BulkCopy bulkCopy, ExtentAllocator.Pool extents) {
+        ExtentAllocator allocator = extents.newAllocator();
+        try {
+            return bulkCopy.copier.apply(allocator);
+        } finally {
+            allocator.release();
         }
+    }
 
-        // 새 Store 생성 (AUTO 커밋 모드로 - 각 컬렉션 복사 후 자동 커밋)
-        FxOptions compactOptions = FxOptions.defaults()
-            .withCommitMode(CommitMode.AUTO)
-            .durability(Durability.SYNC)  // 안전한 동기화
-            .pageSize(options.pageSize())
-            .fileLock(FileLockMode.NONE)  // 임시 파일이므로 락 불필요
-            .build();
+    /**
+     * Map/Set BTree 구조 복사 작업 생성 (compactTo 전용)
+     *
+     * <p>작업은 원본 BTree를 키 순서로 순회하며 키 바이트와 값 레코드 바이트를 그대로
+     * 옮기고, 대상 트리는 {@link BTree#appendAllWithRoot}로 리프를 꽉 채우며 상향식으로
+     * 쌓습니다. 요소마다 루트 경로를 COW 복사하지 않습니다.</p>
+     *
+     * @param sourceState 원본 스냅샷의 컬렉션 상태
+     * @param sourceRoot 원본 스냅샷의 루트 페이지 ID
+     * @param targetStore 대상 Store
+     * @param name 컬렉션 이름 (대상에 이미 생성되어 있어야 함)
+     * @param keyCodec 키 코덱 (트리 비교자 결정)
+     * @return 구조 복사 작업, 코덱이 달라 재인코딩이 필요하면 null
+     */
+    private BulkCopy bulkCopyBTree(CollectionState sourceState, long sourceRoot, FxStoreImpl targetStore,
+                                   String name, com.snoworca.fxstore.api.FxCodec<?> keyCodec) {
+        CollectionState targetState = targetStore.getCollectionState(name);
+        if (!Objects.equals(sourceState.getKeyCodec(), targetState.getKeyCodec())
+                || !Objects.equals(sourceState.getValueCodec(), targetState.getValueCodec())) {
+            return null;
+        }
 
-        try (FxStore targetStore = FxStoreImpl.open(destination, compactOptions)) {
-            // 모든 컬렉션 복사
-            for (CollectionInfo info : list()) {
-                copyCollection(info, targetStore);
+        BTree sourceTree = getBTreeForCollection(sourceState.getCollectionId(), keyCodec);
+        return new BulkCopy(targetState.getCollectionId(), true, allocator -> {
+            if (sourceRoot == 0) {
+                return new long[] {0L, 0L};
             }
-        } catch (Exception e) {
-            // 실패 시 대상 파일 삭제 시도
-            try {
-                java.nio.file.Files.deleteIfExists(destination);
-            } catch (java.io.IOException ioe) {
-                // 삭제 실패 무시
+            BTree targetTree = targetStore.newCodecBTree(0L, keyCodec, allocator);
+            com.snoworca.fxstore.btree.BTreeCursor cursor = sourceTree.cursorWithRoot(sourceRoot);
+
+            byte[][] keys = new byte[COMPACT_CHUNK_SIZE][];
+            long[] valueRecordIds = new long[COMPACT_CHUNK_SIZE];
+            long root = 0L;
+            long count = 0L;
+            int n = 0;
+            while (cursor.hasNext()) {
+                BTree.Entry entry = cursor.next();
+                keys[n] = entry.getKey();
+                valueRecordIds[n] = targetStore.writeValueRecord(allocator,
+                    readValueRecord(entry.getValueRecordId()));
+                if (++n == COMPACT_CHUNK_SIZE) {
+                    root = targetTree.appendAllWithRoot(root, keys, valueRecordIds).newRootPageId;
+                    count += n;
+                    n = 0;
+                }
             }
-
-            if (e instanceof FxException) {
-                throw (FxException) e;
+            if (n > 0) {
+                root = targetTree.appendAllWithRoot(root,
+                    Arrays.copyOf(keys, n), Arrays.copyOf(valueRecordIds, n)).newRootPageId;
+                count += n;
             }
-            throw new FxException(FxErrorCode.IO, "Compaction failed", e);
-        }
+            return new long[] {root, count};
+        });
     }
 
     /**
-     * 개별 컬렉션을 대상 Store로 복사
+     * List OST 구조 복사 작업 생성 (compactTo 전용)
      *
-     * @param info 컬렉션 정보
+     * <p>작업은 원본 OST 리프를 인덱스 순서로 순회하며 값 레코드(인라인 형식이면 슬롯
+     * 값)를 그대로 옮기고, 대상 OST는 {@link com.snoworca.fxstore.ost.OST#insertAllWithRoot}로
+     * 꽉 채운 리프부터 상향식으로 구성합니다.</p>
+     *
+     * @param sourceState 원본 스냅샷의 컬렉션 상태
+     * @param sourceRoot 원본 스냅샷의 루트 페이지 ID
      * @param targetStore 대상 Store
-     */
-    @SuppressWarnings("unchecked")
-    private void copyCollection(CollectionInfo info, FxStore targetStore) {
-        String name = info.name();
-        CollectionKind kind = info.kind();
-
-        switch (kind) {
-            case MAP:
-                copyMap(name, info, targetStore);
-                break;
-            case SET:
-                copySet(name, info, targetStore);
-                break;
-            case LIST:
-                copyList(name, info, targetStore);
-                break;
-            case DEQUE:
-                copyDeque(name, info, targetStore);
-                break;
-            default:
-                // 알 수 없는 종류는 스킵
-                break;
+     * @param name 컬렉션 이름 (대상에 이미 생성되어 있어야 함)
+     * @return 구조 복사 작업, 코덱이나 저장 형식이 달라 재인코딩이 필요하면 null
+     */
+    private BulkCopy bulkCopyList(CollectionState sourceState, long sourceRoot,
+                                  FxStoreImpl targetStore, String name) {
+        CollectionState targetState = targetStore.getCollectionState(name);
+        if (!Objects.equals(sourceState.getValueCodec(), targetState.getValueCodec())
+                || sourceState.getInlineElementWidth() != targetState.getInlineElementWidth()) {
+            return null;
         }
+
+        boolean inline = sourceState.getInlineElementWidth() > 0;
+        return new BulkCopy(targetState.getCollectionId(), false, allocator -> {
+            if (sourceRoot == 0) {
+                return new long[] {0L, 0L};
+            }
+            com.snoworca.fxstore.ost.OST sourceOst =
+                new com.snoworca.fxstore.ost.OST(storage, this.allocator, options.pageSize().bytes());
+            com.snoworca.fxstore.ost.OST targetOst = new com.snoworca.fxstore.ost.OST(
+                targetStore.storage, allocator, targetStore.options.pageSize().bytes());
+            com.snoworca.fxstore.ost.OSTCursor cursor = sourceOst.cursorWithRoot(sourceRoot, 0);
+
+            long[] recordIds = new long[COMPACT_CHUNK_SIZE];
+            long root = 0L;
+            int size = 0;
+            int n = 0;
+            while (cursor.hasNext()) {
+                long slot = cursor.next();
+                recordIds[n] = inline ? slot : targetStore.writeValueRecord(allocator, readValueRecord(slot));
+                if (++n == COMPACT_CHUNK_SIZE) {
+                    root = targetOst.insertAllWithRoot(root, size, recordIds).newRootPageId;
+                    size += n;
+                    n = 0;
+                }
+            }
+            if (n > 0) {
+                root = targetOst.insertAllWithRoot(root, size, Arrays.copyOf(recordIds, n)).newRootPageId;
+                size += n;
+            }
+            return new long[] {root, size};
+        });
     }
 
     /**
@@ -1705,74 +3110,70 @@ public class FxStoreImpl implements FxStore {
     }
 
     /**
-     * Map 컬렉션 복사
+     * Map 컬렉션 복사 (재인코딩 경로)
      */
     @SuppressWarnings("unchecked")
-    private void copyMap(String name, CollectionInfo info, FxStore targetStore) {
-        Class<?> keyClass = codecRefToClass(info.keyCodec());
-        Class<?> valueClass = codecRefToClass(info.valueCodec());
-
+    private void copyMap(String name, Class<?> keyClass, Class<?> valueClass,
+                         NavigableMap<Object, Object> targetMap) {
         NavigableMap<Object, Object> sourceMap =
             (NavigableMap<Object, Object>) openMap(name, keyClass, valueClass);
 
-        NavigableMap<Object, Object> targetMap =
-            (NavigableMap<Object, Object>) targetStore.createMap(name, keyClass, valueClass);
-
         for (Map.Entry<Object, Object> entry : sourceMap.entrySet()) {
             targetMap.put(entry.getKey(), entry.getValue());
         }
     }
 
     /**
-     * Set 컬렉션 복사
+     * Set 컬렉션 복사 (재인코딩 경로)
      */
     @SuppressWarnings("unchecked")
-    private void copySet(String name, CollectionInfo info, FxStore targetStore) {
-        // Set은 valueCodec를 element 타입으로 사용
-        Class<?> elementClass = codecRefToClass(info.valueCodec());
-
+    private void copySet(String name, Class<?> elementClass, NavigableSet<Object> targetSet) {
         NavigableSet<Object> sourceSet =
             (NavigableSet<Object>) openSet(name, elementClass);
 
-        NavigableSet<Object> targetSet =
-            (NavigableSet<Object>) targetStore.createSet(name, elementClass);
-
         for (Object element : sourceSet) {
             targetSet.add(element);
         }
     }
 
     /**
-     * List 컬렉션 복사
+     * List 컬렉션 복사 (재인코딩 경로)
      */
     @SuppressWarnings("unchecked")
-    private void copyList(String name, CollectionInfo info, FxStore targetStore) {
-        Class<?> elementClass = codecRefToClass(info.valueCodec());
-
+    private void copyList(String name, Class<?> elementClass, List<Object> targetList) {
         List<Object> sourceList =
             (List<Object>) openList(name, elementClass);
 
-        List<Object> targetList =
-            (List<Object>) targetStore.createList(name, elementClass);
-
         targetList.addAll(sourceList);
     }
 
+    /**
+     * compactTo Deque 복사 시 한 번에 offerLastAll로 추가하는 요소 수
+     */
+    private static final int COMPACT_DEQUE_CHUNK = 1024;
+
     /**
      * Deque 컬렉션 복사
+     *
+     * <p>원본을 순회하며 {@link #COMPACT_DEQUE_CHUNK}개씩 offerLastAll로 추가하므로
+     * 대상 형식(BTree/세그먼트 링)에 맞게 일괄 구성되면서도 원본 전체를 메모리에
+     * 올리지 않습니다.</p>
      */
     @SuppressWarnings("unchecked")
-    private void copyDeque(String name, CollectionInfo info, FxStore targetStore) {
-        Class<?> elementClass = codecRefToClass(info.valueCodec());
-
+    private void copyDeque(String name, Class<?> elementClass, Deque<Object> targetDeque) {
         Deque<Object> sourceDeque =
             (Deque<Object>) openDeque(name, elementClass);
 
-        Deque<Object> targetDeque =
-            (Deque<Object>) targetStore.createDeque(name, elementClass);
-
+        List<Object> chunk = new ArrayList<>(COMPACT_DEQUE_CHUNK);
         for (Object element : sourceDeque) {
-            targetDeque.addLast(element);
+            chunk.add(element);
+            if (chunk.size() == COMPACT_DEQUE_CHUNK) {
+                targetDeque.addAll(chunk);
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            targetDeque.addAll(chunk);
         }
     }
     
@@ -1789,21 +3190,29 @@ public class FxStoreImpl implements FxStore {
             return;
         }
 
-        long stamp = acquireWriteLock();
+        // 마지막 커밋도 구독자에게 전달되도록 변경 스트림보다 먼저 처리
+        long stamp = lockForWrite();
         try {
-            if (options.commitMode() == CommitMode.BATCH && hasPendingChanges) {
-                switch (options.onClosePolicy()) {
-                    case ERROR:
-                        throw FxException.illegalArgument("Pending changes exist on close");
-                    case COMMIT:
-                        // 이미 Write Lock을 잡았으므로 doCommit() 직접 호출
-                        doCommit();
-                        break;
-                    case ROLLBACK:
-                        // Pending 변경사항 폐기 (재로드)
-                        loadExistingStore();
-                        hasPendingChanges = false;
-                        break;
+            settlePendingChangesOnClose();
+        } finally {
+            releaseWriteLock(stamp);
+        }
+
+        // 대기 중인 변경 전달 (수신자가 Store를 쓸 수 있으므로 Lock 없이 기다림)
+        ChangeFeed feed = changeFeed;
+        if (feed != null) {
+            feed.close();
+        }
+
+        stamp = lockForWrite();
+        try {
+            // 전달을 기다리는 동안 다른 스레드가 남긴 변경
+            settlePendingChangesOnClose();
+
+            List<com.snoworca.fxstore.collection.FxDequeImpl<?>> deques = new ArrayList<>();
+            for (Object collection : openCollections.values()) {
+                if (collection instanceof com.snoworca.fxstore.collection.FxDequeImpl) {
+                    deques.add((com.snoworca.fxstore.collection.FxDequeImpl<?>) collection);
                 }
             }
 
@@ -1814,11 +3223,119 @@ public class FxStoreImpl implements FxStore {
                 // Close exception은 무시 (리소스는 이미 해제됨)
             }
             closed = true;
+
+            // takeFirst 등으로 대기 중인 소비자가 닫힘을 확인하도록 깨움
+            for (com.snoworca.fxstore.collection.FxDequeImpl<?> deque : deques) {
+                deque.wakeConsumers();
+            }
         } finally {
             releaseWriteLock(stamp);
         }
     }
     
+    /**
+     * BATCH 모드의 미커밋 변경을 OnClosePolicy에 따라 처리 (Write Lock 필수)
+     */
+    private void settlePendingChangesOnClose() {
+        if (options.commitMode() == CommitMode.BATCH && hasPendingChanges) {
+            switch (options.onClosePolicy()) {
+                case ERROR:
+                    throw FxException.illegalArgument("Pending changes exist on close");
+                case COMMIT:
+                    // 이미 Write Lock을 잡았으므로 doCommit() 직접 호출
+                    doCommit();
+                    break;
+                case ROLLBACK:
+                    // Pending 변경사항 폐기 (재로드)
+                    loadExistingStore();
+                    hasPendingChanges = false;
+                    break;
+            }
+        }
+    }
+    
+    // ==================== 변경 스트림 ====================
+
+    @Override
+    public FxSubscription subscribe(String name, FxChangeListener listener) {
+        return subscribe(name, listener, -1L, true);
+    }
+
+    @Override
+    public FxSubscription subscribe(String name, FxChangeListener listener, long fromSeqNo) {
+        if (fromSeqNo < 0) {
+            throw FxException.illegalArgument("fromSeqNo cannot be negative: " + fromSeqNo);
+        }
+        return subscribe(name, listener, fromSeqNo, false);
+    }
+
+    private FxSubscription subscribe(String name, FxChangeListener listener, long fromSeqNo, boolean fromLast) {
+        checkNotClosed();
+        if (listener == null) {
+            throw FxException.illegalArgument("listener cannot be null");
+        }
+        // 커밋과 원자적으로 등록 (시작 seqNo 다음 커밋부터 빠짐없이 전달)
+        long stamp = acquireWriteLock();
+        try {
+            PageAccountant.Committed committed = pageAccountant.committed();
+            long seqNo = committed.getHeader().getSeqNo();
+            if (fromLast) {
+                fromSeqNo = seqNo;
+            } else if (fromSeqNo > seqNo) {
+                throw FxException.illegalArgument("fromSeqNo " + fromSeqNo + " is after the last commit " + seqNo);
+            }
+            CatalogEntry entry = catalog.get(name);
+            CollectionState state = entry == null ? null : committed.getStates().get(entry.getCollectionId());
+            if (state == null) {
+                throw FxException.notFound("Collection not found: " + name);
+            }
+            Comparator<byte[]> keyComparator = null;
+            switch (state.getKind()) {
+                case MAP:
+                    keyComparator = changeKeyComparator(state.getKeyCodec(), name);
+                    break;
+                case SET:
+                    // Set은 valueCodec를 element 타입으로 사용
+                    keyComparator = changeKeyComparator(state.getValueCodec(), name);
+                    break;
+                case DEQUE:
+                    if (!state.isSegmentRing()) {
+                        throw FxException.unsupported(
+                            "Change subscription needs a segment ring deque (DequeMigrator.migrateToSegmentRing): " + name);
+                    }
+                    break;
+                default:
+                    break;
+            }
+            if (changeFeed == null) {
+                // 직전 커밋은 이 프로세스에서 페이지를 회수한 적이 없을 때만 읽을 수 있음
+                changeFeed = new ChangeFeed(this, committed,
+                    reclaimGeneration() == 0L ? previousCommitted() : null);
+            }
+            return changeFeed.subscribe(name, state, seqNo, fromSeqNo, keyComparator, listener);
+        } finally {
+            releaseWriteLock(stamp);
+        }
+    }
+
+    /**
+     * 변경 비교용 키 비교자 (트리와 같은 순서)
+     *
+     * <p>저장된 코덱 ID/버전으로 찾고, 없으면 내장 타입으로 찾습니다.</p>
+     */
+    private Comparator<byte[]> changeKeyComparator(CodecRef codecRef, String name) {
+        com.snoworca.fxstore.api.FxCodec<?> codec = codecRef == null ? null
+            : codecRegistry.getById(codecRef.getCodecId(), codecRef.getCodecVersion());
+        if (codec == null) {
+            Class<?> type = codecRefToClass(codecRef);
+            if (type == Object.class) {
+                throw FxException.codecNotFound("Key codec not registered for " + name + ": " + codecRef);
+            }
+            codec = codecRegistry.get(type);
+        }
+        return codec.isByteComparable() ? createUnsignedByteComparator() : codec::compareBytes;
+    }
+
     // ==================== 내부 메서드 ====================
     
     /**
@@ -1842,6 +3359,52 @@ public class FxStoreImpl implements FxStore {
         }
     }
     
+    /**
+     * @return Store 옵션
+     */
+    FxOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * 커밋되지 않은 변경 존재 여부 (BATCH 모드)
+     *
+     * @return pending 변경이 있으면 true
+     */
+    boolean hasUncommittedChanges() {
+        return hasPendingChanges;
+    }
+
+    /**
+     * 현재 컬렉션 상태 목록 (Write Lock 필수)
+     *
+     * @return 컬렉션 상태 복사본
+     */
+    List<CollectionState> collectionStatesCopy() {
+        return new ArrayList<>(collectionStates.values());
+    }
+
+    /**
+     * 페이지 순회/재배치용 BTree (키를 비교하지 않고 구조만 다룸)
+     *
+     * @return root가 0인 BTree
+     */
+    BTree newStructuralBTree() {
+        BTree btree = new BTree(storage, options.pageSize().bytes(), createUnsignedByteComparator(), 0L, allocator);
+        btree.setKeyCompression(keyCompression, keyCompression);
+        return btree;
+    }
+
+    /**
+     * 스토어가 닫혔는지 여부
+     *
+     * @return close() 이후면 true
+     * @since 0.10
+     */
+    public boolean isClosed() {
+        return closed;
+    }
+
     private void checkNotClosed() {
         if (closed) {
             throw FxException.illegalState("Store is closed");
@@ -2036,7 +3599,10 @@ public class FxStoreImpl implements FxStore {
 
         // allocator를 전달하여 페이지 할당 일관성 유지
         // (레거시 API 사용 - allocator가 내부적으로 allocTail 관리)
-        return new BTree(storage, options.pageSize().bytes(), byteComparator, rootPageId, allocator);
+        BTree btree = new BTree(storage, options.pageSize().bytes(), byteComparator, rootPageId, allocator);
+        // unsigned 바이트 사전순 비교이므로 분리자 축약도 안전
+        btree.setKeyCompression(keyCompression, keyCompression);
+        return btree;
     }
 
     /**
@@ -2059,31 +3625,36 @@ public class FxStoreImpl implements FxStore {
             throw FxException.notFound("Collection not found: id=" + collectionId);
         }
 
-        long rootPageId = state.getRootPageId();
+        return newCodecBTree(state.getRootPageId(), keyCodec, allocator);
+    }
 
+    /**
+     * 코덱 기반 비교 BTree 생성 (할당자 지정)
+     *
+     * @param rootPageId 루트 페이지 ID
+     * @param keyCodec 키 코덱 (compareBytes 사용)
+     * @param pageAllocator 새 페이지를 할당할 할당자
+     * @return BTree 인스턴스
+     */
+    private BTree newCodecBTree(long rootPageId, com.snoworca.fxstore.api.FxCodec<?> keyCodec,
+                                PageAllocator pageAllocator) {
         // 코덱의 compareBytes 사용 - 타입에 맞는 정확한 비교
-        Comparator<byte[]> byteComparator = (a, b) -> keyCodec.compareBytes(a, b);
+        // 바이트 비교 가능 코덱은 워드 단위 unsigned 비교 사용
+        Comparator<byte[]> byteComparator = keyCodec.isByteComparable()
+            ? createUnsignedByteComparator()
+            : keyCodec::compareBytes;
 
-        return new BTree(storage, options.pageSize().bytes(), byteComparator, rootPageId, allocator);
+        BTree btree = new BTree(storage, options.pageSize().bytes(), byteComparator, rootPageId, pageAllocator);
+        // 분리자 축약은 잘린 키를 사전순으로 비교할 수 있는 코덱에서만 사용
+        btree.setKeyCompression(keyCompression, keyCompression && keyCodec.isByteComparable());
+        return btree;
     }
 
     /**
      * Unsigned byte 비교자 생성 (Deque 등 unsigned 순서 인코딩용)
      */
     private Comparator<byte[]> createUnsignedByteComparator() {
-        return new Comparator<byte[]>() {
-            @Override
-            public int compare(byte[] a, byte[] b) {
-                int minLen = Math.min(a.length, b.length);
-                for (int i = 0; i < minLen; i++) {
-                    int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
-                    if (cmp != 0) {
-                        return cmp;
-                    }
-                }
-                return a.length - b.length;
-            }
-        };
+        return ByteUtils::compareUnsigned;
     }
     
     /**
@@ -2095,9 +3666,22 @@ public class FxStoreImpl implements FxStore {
      * @return 페이지 ID (offset / pageSize)
      */
     public long writeValueRecord(byte[] valueBytes) {
+        return writeValueRecord(allocator, valueBytes);
+    }
+
+    /**
+     * 값 레코드 작성 (할당자 지정)
+     *
+     * <p>병렬 compactTo 작업이 자기 구간 할당자로 레코드를 쓸 때 사용합니다.</p>
+     *
+     * @param pageAllocator 레코드 페이지를 할당할 할당자
+     * @param valueBytes 저장할 값 바이트
+     * @return 페이지 ID (offset / pageSize)
+     */
+    private long writeValueRecord(PageAllocator pageAllocator, byte[] valueBytes) {
         // 레거시 API 사용 (v0.9 전환 기간 동안 유지)
-        // allocator.allocatePage()는 offset을 반환
-        long offset = allocator.allocatePage();
+        // allocator.allocatePages()는 offset을 반환
+        long offset = pageAllocator.allocatePages(recordPages(4 + valueBytes.length));
         long pageId = offset / options.pageSize().bytes();
 
         // 간단한 값 레코드: 길이(4) + 데이터
@@ -2113,11 +3697,43 @@ public class FxStoreImpl implements FxStore {
         return pageId;
     }
     
+    /**
+     * 값 레코드가 차지하는 페이지 수
+     *
+     * <p>한 페이지를 넘는 레코드는 연속 페이지에 기록해야 다음 할당(또는 재사용된
+     * 빈 페이지)과 겹치지 않습니다.</p>
+     *
+     * @param recordBytes 길이 필드를 포함한 레코드 크기
+     * @return 페이지 수 (1 이상)
+     */
+    int recordPages(long recordBytes) {
+        int pageSize = options.pageSize().bytes();
+        return (int) Math.max(1L, (recordBytes + pageSize - 1) / pageSize);
+    }
+
+    /**
+     * 값 레코드 ID의 파일 오프셋 (고정 파일은 ID가 곧 오프셋)
+     *
+     * @since 0.10
+     */
+    long valueRecordOffset(long recordId) {
+        return frozen ? recordId : recordId * options.pageSize().bytes();
+    }
+
+    /**
+     * 고정 파일 Store 여부
+     *
+     * @since 0.10
+     */
+    boolean isFrozen() {
+        return frozen;
+    }
+
     /**
      * 값 레코드 읽기 (내부용)
      */
     public byte[] readValueRecord(long pageId) {
-        long offset = pageId * options.pageSize().bytes();
+        long offset = valueRecordOffset(pageId);
         
         // 길이 읽기
         byte[] lenBytes = new byte[4];
@@ -2134,6 +3750,64 @@ public class FxStoreImpl implements FxStore {
         
         return valueBytes;
     }
+
+    /**
+     * 값 레코드 작성 (코덱으로 스레드 로컬 버퍼에 직접 인코딩)
+     *
+     * <p>{@link #writeValueRecord(byte[])}와 동일한 레코드를 기록하지만
+     * 값마다 정확한 크기의 배열과 레코드 배열을 따로 할당하지 않습니다.</p>
+     *
+     * <p><b>전제조건:</b> 쓰기 락을 보유한 상태에서 호출해야 합니다.</p>
+     *
+     * @param codec 값 코덱
+     * @param value 저장할 값
+     * @return 페이지 ID (offset / pageSize)
+     * @since 0.10
+     */
+    public <T> long writeValueRecord(com.snoworca.fxstore.api.FxCodec<T> codec, T value) {
+        FxEncodeBuffer buffer = RECORD_BUFFER.get();
+        buffer.reset();
+        try {
+            // 길이(4) 자리를 먼저 확보한 뒤 값을 이어서 인코딩
+            buffer.writeIntLE(0);
+            codec.encodeTo(value, buffer);
+            buffer.setIntLE(0, buffer.length() - 4);
+
+            long offset = allocator.allocatePages(recordPages(buffer.length()));
+            storage.write(offset, buffer.array(), 0, buffer.length());
+            return offset / options.pageSize().bytes();
+        } finally {
+            buffer.trim(MAX_RETAINED_RECORD_BUFFER);
+        }
+    }
+
+    /**
+     * 값 레코드 읽기 (스레드 로컬 버퍼로 읽어 코덱으로 바로 디코딩)
+     *
+     * <p>반환되는 값 객체 외에 중간 배열을 할당하지 않습니다.</p>
+     *
+     * @param pageId 값 레코드 페이지 ID
+     * @param codec 값 코덱
+     * @return 디코딩된 값
+     * @since 0.10
+     */
+    public <T> T readValueRecord(long pageId, com.snoworca.fxstore.api.FxCodec<T> codec) {
+        long offset = valueRecordOffset(pageId);
+        FxEncodeBuffer buffer = RECORD_BUFFER.get();
+        try {
+            byte[] data = buffer.array();
+            storage.read(offset, data, 0, 4);
+            int len = ByteUtils.readI32LE(data, 0);
+
+            buffer.reset();
+            buffer.ensureWritable(len);
+            data = buffer.array();
+            storage.read(offset + 4, data, 0, len);
+            return codec.decode(data, 0, len);
+        } finally {
+            buffer.trim(MAX_RETAINED_RECORD_BUFFER);
+        }
+    }
     
     /**
      * 키 비교자 생성 (코덱 기반)
@@ -2141,19 +3815,13 @@ public class FxStoreImpl implements FxStore {
      * <p>BUG-V12-001 수정: 코덱의 compareBytes()를 사용하여 signed 숫자 타입에서
      * 올바른 정렬 순서를 보장합니다.</p>
      *
+     * <p>반복 비교되는 객체는 인코딩 결과를 재사용합니다 ({@link CodecComparator}).</p>
+     *
      * @param codec 키 코덱
      * @return 키 비교자
      */
     private <K> Comparator<K> createComparator(com.snoworca.fxstore.api.FxCodec<K> codec) {
-        return new Comparator<K>() {
-            @Override
-            public int compare(K a, K b) {
-                byte[] aBytes = codec.encode(a);
-                byte[] bBytes = codec.encode(b);
-                // 코덱의 compareBytes 사용 - 타입에 맞는 정확한 비교
-                return codec.compareBytes(aBytes, bBytes);
-            }
-        };
+        return new CodecComparator<>(codec);
     }
 
     // ==================== 동시성 인프라 메서드 (v0.4+) ====================
@@ -2217,6 +3885,22 @@ public class FxStoreImpl implements FxStore {
      * @return 락 해제에 필요한 stamp 값
      */
     public long acquireWriteLock() {
+        if (replica) {
+            throw FxException.unsupported("Read-only replica: changes come from the leader only");
+        }
+        if (sharedReader) {
+            throw FxException.unsupported("Shared read-only store: changes come from the writer process only");
+        }
+        if (frozen) {
+            throw FxException.unsupported("Frozen store is read-only");
+        }
+        return lockForWrite();
+    }
+
+    /**
+     * 쓰기 락 획득 (복제 Store 검사 없음, close와 복제 적용용)
+     */
+    private long lockForWrite() {
         long stamp = lock.writeLock();
         // 쓰기 연산 시작 시 workingAllocTail 초기화 (v0.9 Stateless API 지원)
         workingAllocTail = currentSnapshot.getAllocTail();
@@ -2333,6 +4017,26 @@ public class FxStoreImpl implements FxStore {
         publishSnapshot(newSnapshot);
     }
 
+    /**
+     * 컬렉션 상태 전체 교체 후 스냅샷 게시 (원자적)
+     *
+     * <p><b>전제조건:</b> 쓰기 락을 보유한 상태에서 호출해야 합니다.</p>
+     *
+     * <p>세그먼트 링 Deque는 디렉토리 루트, count, head/tail 위치를 함께
+     * 바꾸므로 상태 객체를 통째로 교체합니다. 스냅샷의 allocTail은 그대로 두며
+     * 다음 커밋이 커밋된 값으로 맞춥니다.</p>
+     *
+     * @param collectionId 컬렉션 ID
+     * @param newState 새 상태
+     * @since 0.10
+     */
+    public void updateCollectionStateAndPublish(long collectionId, CollectionState newState) {
+        collectionStates.put(collectionId, newState);
+
+        StoreSnapshot newSnapshot = currentSnapshot.withStateAndRoot(collectionId, newState);
+        publishSnapshot(newSnapshot);
+    }
+
     /**
      * 컬렉션 연산 후 커밋 처리
      *
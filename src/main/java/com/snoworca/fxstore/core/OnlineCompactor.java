@@ -0,0 +1,465 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.CollectionKind;
+import com.snoworca.fxstore.api.FxException;
+import com.snoworca.fxstore.btree.BTree;
+import com.snoworca.fxstore.catalog.CollectionState;
+import com.snoworca.fxstore.collection.SegmentRing;
+import com.snoworca.fxstore.ost.OST;
+import com.snoworca.fxstore.storage.Allocator;
+import com.snoworca.fxstore.storage.PageRelocation;
+import com.snoworca.fxstore.storage.Storage;
+import com.snoworca.fxstore.util.ByteUtils;
+
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 온라인 증분 컴팩션 (같은 파일, 서비스 중단 없음)
+ *
+ * <p>파일 끝 쪽의 살아 있는 페이지를 앞쪽의 dead 페이지(빈 페이지)로 옮긴 뒤
+ * 파일을 잘라냅니다. 한 주기는 다음 단계로 진행되며, {@link FxStoreImpl#compactStep(int)}
+ * 호출마다 한 단계씩 나아갑니다.</p>
+ *
+ * <ol>
+ *   <li><b>IDLE</b>: 커밋 헤더의 live 페이지 수로 본 dead 비율이 기준 미만이면
+ *       순회 없이 끝납니다. 기준 이상이면 커밋된 상태를 잡아 살아 있는 페이지를
+ *       표시하고(Lock 없이 순회) 경계 페이지(cut)를 정합니다. 경계 아래의 빈
+ *       페이지 수가 경계 이상의 살아 있는 페이지를 옮기기에 충분한 가장 낮은
+ *       위치입니다.</li>
+ *   <li><b>WAITING</b>: 표시 시점 이전에 시작된 읽기가 끝나고 보존 시간이 지나면
+ *       회수 세대를 올린 커밋을 쓰고, 이전 세대를 임대한 공유 읽기 프로세스가
+ *       없어지면 경계 아래의 빈 페이지를 할당자에 등록합니다.</li>
+ *   <li><b>RELOCATING</b>: Write Lock 구간마다 최대 maxPages 페이지를 기록하며
+ *       각 컬렉션 트리를 {@link PageRelocation}으로 재배치하고 커밋합니다.
+ *       모든 루트가 clean이 되면 다음 단계로 넘어갑니다.</li>
+ *   <li><b>DRAINING</b>: 경계 이상을 가리키던 마지막 스냅샷 이후 다시 읽기와 보존
+ *       시간을 기다리고, 회수 세대를 올린 커밋 뒤 이전 세대의 공유 읽기가 없어지면
+ *       allocTail을 경계로 낮추고 커밋, fsync 후 파일을 자릅니다.</li>
+ * </ol>
+ *
+ * <p>빈 페이지 등록 이후 allocTail 뒤에 덧붙인 할당이 생기면(빈 페이지 소진,
+ * 여러 페이지 레코드 등) 경계 이상에 새 데이터가 생긴 것이므로 주기를 중단합니다.
+ * 이미 옮긴 페이지와 재사용된 빈 페이지는 정상 데이터이므로 손실은 없습니다.</p>
+ *
+ * <p>읽기 트랜잭션과 스냅샷 Iterator(List의 지연 디코딩 Iterator)는 읽기를 등록하므로
+ * 끝날 때까지 기다립니다 ({@link ReaderPin}). 등록하지 않는 단일 컬렉션 메서드 호출은
+ * 호출 안에서 끝나는 읽기이므로
+ * {@link com.snoworca.fxstore.api.FxOptions#compactionRetentionMillis()} 동안의 보존
+ * 시간으로 보호합니다. 등록을 해제한 뒤에도 쓰이는 Iterator는 회수 세대를 확인하여
+ * 회수된 페이지를 읽는 대신 실패합니다.</p>
+ *
+ * <p>스레드 안전성: {@link #step(int)}은 동기화되며, 상태 변경은 Write Lock 하에서
+ * 수행합니다.</p>
+ *
+ * @since 0.10
+ */
+final class OnlineCompactor {
+
+    /** 새 주기를 시작할 최소 회수 페이지 수 */
+    private static final int MIN_RECLAIM_PAGES = 16;
+
+    /** 경계 계획 시 커밋마다 다시 쓰는 catalog/state 트리 등을 위한 여유 빈 페이지 */
+    private static final int RESERVE_PAGES = 64;
+
+    /** Superblock + CommitHeader A/B */
+    private static final long FIXED_BYTES = Superblock.SIZE + CommitHeader.SIZE * 2L;
+
+    private enum Phase { IDLE, WAITING, RELOCATING, DRAINING }
+
+    private final FxStoreImpl store;
+
+    private Phase phase = Phase.IDLE;
+    private long cutPageId;
+    private long[] holes;
+    private BitSet clean;
+    private long markNanos;
+    private long appendedAtInstall;
+    /** 이번 단계의 회수 세대를 올린 커밋을 썼는지 여부 */
+    private boolean epochAdvanced;
+
+    OnlineCompactor(FxStoreImpl store) {
+        this.store = store;
+    }
+
+    /**
+     * 한 단계 진행
+     *
+     * @param maxPages 이번 단계에서 기록할 최대 페이지 수
+     * @return 주기가 진행 중이면 true
+     */
+    synchronized boolean step(int maxPages) {
+        switch (phase) {
+            case IDLE:
+                return plan();
+            case WAITING:
+                return install();
+            case RELOCATING:
+                return relocate(maxPages);
+            case DRAINING:
+                return drain();
+            default:
+                throw FxException.illegalState("Unknown compaction phase: " + phase);
+        }
+    }
+
+    // ==================== IDLE: 표시 및 경계 계획 ====================
+
+    private boolean plan() {
+        Allocator allocator = store.getAllocator();
+        int pageSize = store.getPageSize();
+        List<CollectionState> states;
+        CommitHeader header;
+        PageAccountant.Committed previous;
+        long tailPages;
+
+        long stamp = store.acquireWriteLock();
+        try {
+            if (store.hasUncommittedChanges()) {
+                throw FxException.illegalArgument(
+                    "Cannot compact with pending changes. Commit or rollback first.");
+            }
+            // 이전 주기의 남은 빈 페이지는 이번 표시에서 다시 dead로 집계
+            allocator.clearFreePages();
+            states = store.collectionStatesCopy();
+            header = store.getCurrentCommitHeader();
+            previous = store.previousCommitted();
+            // 미커밋 변경이 없으므로 커밋 헤더의 allocTail이 현재 파일 끝
+            tailPages = (header.getAllocTail() + pageSize - 1) / pageSize;
+            markNanos = System.nanoTime();
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
+
+        // 커밋 헤더의 live 페이지 수로 먼저 판단 (v0.10 이전 파일은 0 → 표시로 판단)
+        long fixedPages = (FIXED_BYTES + pageSize - 1) / pageSize;
+        if (header.getLivePages() > 0 && !worthCompacting(tailPages - header.getLivePages(), tailPages, fixedPages)) {
+            return false;
+        }
+
+        // 표시: 잡은 상태에서 도달 가능한 페이지 (이후 쓰기는 새 페이지에만 기록됨)
+        LiveSet live = new LiveSet(store, tailPages);
+        live.pages.set(0, (int) fixedPages);
+        BTree walker = store.newStructuralBTree();
+        walker.forEachPageWithRoot(header.getCatalogRootPageId(), live::markPage, live::markRecord);
+        walker.forEachPageWithRoot(header.getStateRootPageId(), live::markPage, live::markRecord);
+        for (CollectionState state : states) {
+            markCollection(state, walker, live);
+        }
+        // 직전 커밋(다른 헤더 슬롯)도 보존: 재사용 쓰기 중 중단되어도 재시작 후
+        // 변경 스트림이 직전 커밋부터 다시 비교할 수 있음
+        if (previous != null) {
+            markPrevious(previous, states, walker, live);
+        }
+
+        long totalLive = live.pages.cardinality();
+        if (!worthCompacting(tailPages - totalLive, tailPages, fixedPages)) {
+            return false;
+        }
+
+        // 경계: 아래쪽 빈 페이지가 위쪽 살아 있는 페이지의 두 배(부모 경로 재기록 포함)와
+        // 여유분 이상이 되는 가장 낮은 위치
+        long reserve = RESERVE_PAGES + 4L * states.size();
+        long holesBelow = 0;
+        long liveBelow = fixedPages;
+        long cut = -1;
+        for (long c = fixedPages; c <= tailPages; c++) {
+            long liveAbove = totalLive - liveBelow;
+            if (c >= live.minCut && holesBelow >= 2 * liveAbove + reserve) {
+                cut = c;
+                break;
+            }
+            if (live.pages.get((int) c)) {
+                liveBelow++;
+            } else {
+                holesBelow++;
+            }
+        }
+        if (cut < 0 || tailPages - cut < MIN_RECLAIM_PAGES) {
+            return false;
+        }
+
+        long[] free = new long[(int) holesBelow];
+        int n = 0;
+        for (int p = live.pages.nextClearBit((int) fixedPages); p < cut; p = live.pages.nextClearBit(p + 1)) {
+            free[n++] = p;
+        }
+        this.cutPageId = cut;
+        this.holes = free;
+        this.phase = Phase.WAITING;
+        return true;
+    }
+
+    /**
+     * dead 페이지 비율이 기준 이상인지 여부
+     */
+    private boolean worthCompacting(long dead, long tailPages, long fixedPages) {
+        double deadRatio = tailPages > fixedPages ? (double) dead / (tailPages - fixedPages) : 0.0;
+        return dead > 0 && deadRatio >= store.getOptions().compactionDeadRatio();
+    }
+
+    private void markCollection(CollectionState state, BTree walker, LiveSet live) {
+        long root = state.getRootPageId();
+        if (root == 0L) {
+            return;
+        }
+        if (state.getKind() == CollectionKind.LIST) {
+            OST ost = new OST(store.getStorage(), store.getAllocator(), store.getPageSize());
+            ost.forEachPageWithRoot(root, live::markPage,
+                state.getInlineElementWidth() > 0 ? null : live::markRecord);
+        } else if (state.isSegmentRing()) {
+            SegmentRing ring = newRing(state);
+            walker.forEachPageWithRoot(root, live::markPage, segment -> {
+                live.markPage(segment);
+                ring.forEachSlot(segment, state.getHeadPosition(), state.getTailPosition(), live::markRecord);
+            });
+        } else {
+            walker.forEachPageWithRoot(root, live::markPage, live::markRecord);
+        }
+    }
+
+    private void markPrevious(PageAccountant.Committed previous, List<CollectionState> states,
+                              BTree walker, LiveSet live) {
+        CommitHeader header = previous.getHeader();
+        walker.forEachPageWithRoot(header.getCatalogRootPageId(), live::markPage, live::markRecord);
+        walker.forEachPageWithRoot(header.getStateRootPageId(), live::markPage, live::markRecord);
+        Map<Long, CollectionState> current = new HashMap<>();
+        for (CollectionState state : states) {
+            current.put(state.getCollectionId(), state);
+        }
+        for (CollectionState state : previous.getStates().values()) {
+            CollectionState now = current.get(state.getCollectionId());
+            if (now == null || now.getRootPageId() != state.getRootPageId()
+                    || now.getHeadPosition() != state.getHeadPosition()
+                    || now.getTailPosition() != state.getTailPosition()) {
+                markCollection(state, walker, live);
+            }
+        }
+    }
+
+    // ==================== WAITING: 빈 페이지 등록 ====================
+
+    private boolean install() {
+        if (!readersDrained()) {
+            return true;
+        }
+        long stamp = store.acquireWriteLock();
+        try {
+            // Lock 밖의 검사 이후 이전 상태를 읽기 시작한 구독이 있을 수 있음
+            if (!readersDrained() || !reclaimEpochReleased()) {
+                return true;
+            }
+            Allocator allocator = store.getAllocator();
+            store.beginReclaim();
+            allocator.installFreePages(holes);
+            appendedAtInstall = allocator.getAppendedPageCount();
+            clean = new BitSet((int) cutPageId);
+            holes = null;
+            epochAdvanced = false;
+            phase = Phase.RELOCATING;
+            return true;
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
+    }
+
+    // ==================== RELOCATING: 재배치 ====================
+
+    private boolean relocate(int maxPages) {
+        long stamp = store.acquireWriteLock();
+        try {
+            if (appendedSinceInstall()) {
+                return abort();
+            }
+            if (store.hasUncommittedChanges()) {
+                // 사용자 배치가 커밋될 때까지 대기
+                return true;
+            }
+
+            PageRelocation relocation = new PageRelocation(cutPageId, clean, maxPages);
+            BTree tree = store.newStructuralBTree();
+            OST ost = new OST(store.getStorage(), store.getAllocator(), store.getPageSize());
+            boolean changed = false;
+            boolean allClean = true;
+            for (CollectionState state : store.collectionStatesCopy()) {
+                long root = state.getRootPageId();
+                long moved = relocateCollection(state, tree, ost, relocation);
+                if (moved != root) {
+                    store.updateCollectionStateAndPublish(state.getCollectionId(), state.withRootPageId(moved));
+                    changed = true;
+                }
+                allClean &= moved == 0L || relocation.isClean(rootPageNo(state, moved));
+            }
+
+            if (changed || allClean) {
+                store.doCommit();
+            }
+            if (appendedSinceInstall()) {
+                return abort();
+            }
+            if (allClean) {
+                markNanos = System.nanoTime();
+                phase = Phase.DRAINING;
+            }
+            return true;
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
+    }
+
+    private long relocateCollection(CollectionState state, BTree tree, OST ost, PageRelocation relocation) {
+        long root = state.getRootPageId();
+        if (state.getKind() == CollectionKind.LIST) {
+            return ost.relocateWithRoot(root, relocation,
+                state.getInlineElementWidth() > 0 ? null : id -> moveRecord(id, relocation));
+        }
+        if (state.isSegmentRing()) {
+            SegmentRing ring = newRing(state);
+            return tree.relocateWithRoot(root, relocation, segment -> ring.relocateSegment(
+                segment, state.getHeadPosition(), state.getTailPosition(), relocation,
+                id -> moveRecord(id, relocation)));
+        }
+        return tree.relocateWithRoot(root, relocation, id -> moveRecord(id, relocation));
+    }
+
+    /**
+     * 경계 이상의 값 레코드를 빈 페이지로 복사
+     */
+    private long moveRecord(long recordId, PageRelocation relocation) {
+        if (!relocation.needsMove(recordId)) {
+            return recordId;
+        }
+        byte[] data = store.readValueRecord(recordId);
+        if (store.recordPages(4L + data.length) > 1) {
+            // 여러 페이지 레코드는 빈 페이지로 옮길 수 없음 (경계는 이들 위에 정해짐)
+            return recordId;
+        }
+        long moved = store.writeValueRecord(data);
+        relocation.charge();
+        return moved;
+    }
+
+    private long rootPageNo(CollectionState state, long root) {
+        // OST 노드 ID는 바이트 오프셋
+        return state.getKind() == CollectionKind.LIST ? root / store.getPageSize() : root;
+    }
+
+    // ==================== DRAINING: 파일 끝 회수 ====================
+
+    private boolean drain() {
+        if (!readersDrained()) {
+            return true;
+        }
+        long stamp = store.acquireWriteLock();
+        try {
+            if (appendedSinceInstall()) {
+                return abort();
+            }
+            if (store.hasUncommittedChanges() || !readersDrained() || !reclaimEpochReleased()) {
+                return true;
+            }
+
+            long newTail = cutPageId * store.getPageSize();
+            store.getAllocator().rewindTail(newTail);
+            store.publishSnapshot(store.snapshot().withAllocTail(newTail));
+            // A/B 두 슬롯 모두 낮아진 allocTail을 가리키도록 두 번 커밋
+            store.doCommit();
+            store.doCommit();
+
+            Storage storage = store.getStorage();
+            storage.force(true);
+            store.beginReclaim();
+            storage.truncate(store.getCurrentCommitHeader().getAllocTail());
+
+            clean = null;
+            epochAdvanced = false;
+            phase = Phase.IDLE;
+            return false;
+        } finally {
+            store.releaseWriteLock(stamp);
+        }
+    }
+
+    // ==================== 헬퍼 ====================
+
+    /**
+     * 표시 시점 이전에 시작된 읽기가 모두 끝났는지 여부
+     */
+    private boolean readersDrained() {
+        long retention = TimeUnit.MILLISECONDS.toNanos(store.getOptions().compactionRetentionMillis());
+        if (System.nanoTime() - markNanos < retention) {
+            return false;
+        }
+        long oldest = store.oldestPinnedReaderNanos();
+        return oldest == Long.MAX_VALUE || oldest - markNanos >= 0;
+    }
+
+    /**
+     * 회수 세대를 올린 커밋을 쓰고 이전 세대의 공유 읽기가 없는지 확인 (Write Lock 필수)
+     *
+     * <p>다른 프로세스는 읽는 커밋의 회수 세대를 임대하므로, 세대를 올린 커밋 이후
+     * 이전 세대의 임대가 없으면 이전 커밋이 참조하던 페이지를 읽는 프로세스가 없습니다.
+     * 미커밋 변경이 있으면 커밋할 수 없으므로 다음 단계에서 다시 시도합니다.</p>
+     */
+    private boolean reclaimEpochReleased() {
+        if (!epochAdvanced) {
+            if (store.hasUncommittedChanges()) {
+                return false;
+            }
+            store.advanceReclaimEpoch();
+            epochAdvanced = true;
+        }
+        return store.sharedReadersReleased();
+    }
+
+    private boolean appendedSinceInstall() {
+        return store.getAllocator().getAppendedPageCount() != appendedAtInstall;
+    }
+
+    private boolean abort() {
+        store.getAllocator().clearFreePages();
+        clean = null;
+        holes = null;
+        epochAdvanced = false;
+        phase = Phase.IDLE;
+        return false;
+    }
+
+    private SegmentRing newRing(CollectionState state) {
+        return new SegmentRing(store.getStorage(), store.getAllocator(), store.getPageSize(),
+            state.getHeadPosition(), state.getTailPosition());
+    }
+
+    /**
+     * 살아 있는 페이지 집합 (표시 단계 전용)
+     */
+    private static final class LiveSet {
+        final FxStoreImpl store;
+        final BitSet pages;
+        final byte[] lengthBuf = new byte[4];
+        /** 여러 페이지 레코드의 끝 (경계는 이 위치 이상) */
+        long minCut;
+
+        LiveSet(FxStoreImpl store, long tailPages) {
+            this.store = store;
+            this.pages = new BitSet((int) tailPages);
+        }
+
+        void markPage(long pageId) {
+            pages.set((int) pageId);
+        }
+
+        void markRecord(long recordId) {
+            int pageSize = store.getPageSize();
+            store.getStorage().read(recordId * pageSize, lengthBuf, 0, 4);
+            int span = store.recordPages(4L + ByteUtils.readI32LE(lengthBuf, 0));
+            pages.set((int) recordId, (int) (recordId + span));
+            if (span > 1) {
+                minCut = Math.max(minCut, recordId + span);
+            }
+        }
+    }
+}
@@ -0,0 +1,371 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.CollectionKind;
+import com.snoworca.fxstore.btree.BTree;
+import com.snoworca.fxstore.catalog.CollectionState;
+import com.snoworca.fxstore.collection.SegmentRing;
+import com.snoworca.fxstore.ost.OST;
+import com.snoworca.fxstore.storage.AllocatedPages;
+import com.snoworca.fxstore.util.ByteUtils;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.LongConsumer;
+import java.util.function.LongPredicate;
+
+/**
+ * 커밋 단위 live 페이지 집계
+ *
+ * <p>커밋된 상태에서 도달 가능한 페이지(트리 노드, 세그먼트, 값 레코드) 수를
+ * 컬렉션별로 {@link CollectionState#getLivePages()}에, 전체 합계를
+ * {@link CommitHeader#getLivePages()}에 기록합니다. stats(FAST)와 온라인
+ * 컴팩션 계획은 이 값으로 파일 크기와 무관하게 정확한 dead 비율을 얻습니다.</p>
+ *
+ * <h3>증분 갱신</h3>
+ * <p>COW 트리에서 커밋 사이에 바뀐 노드는 모두 그 구간에 새로 할당된 페이지입니다.
+ * 커밋마다 {@link AllocatedPages}(할당 기록)를 받아, 루트가 바뀐 컬렉션에 대해서만
+ * 다음을 비교합니다.</p>
+ * <ol>
+ *   <li>새 트리: 새로 할당된 노드만 내려가며 더하고, 그 노드가 가리키는 기존
+ *       노드(공유 서브트리)를 기록합니다. 새 리프의 값 중 새로 할당된 레코드를
+ *       더합니다.</li>
+ *   <li>이전 트리: 공유 서브트리에서 멈추며 나머지 노드를 빼고, 제거된 리프의
+ *       값 중 새 리프에 없는 레코드를 뺍니다.</li>
+ * </ol>
+ * <p>비용은 바뀐 경로 길이에 비례합니다. 세그먼트 링 Deque는 디렉토리를 같은
+ * 방식으로 비교하고, 바뀐 세그먼트와 head/tail 경계의 슬롯만 비교합니다.</p>
+ *
+ * <p>이전 값이 없으면(v0.10 이전 파일, 새 컬렉션, 형식 변경) 전체를 순회해
+ * 한 번 집계합니다. {@link #countCommitted(CommitHeader, Collection, Map)}는 항상
+ * 전체를 순회하며 stats(DEEP)에서 사용합니다.</p>
+ *
+ * <p>스레드 안전성: {@link #account}와 {@link #reset}은 Write Lock 하에서만
+ * 호출합니다. {@link #committed()}는 Lock 없이 읽을 수 있습니다.</p>
+ *
+ * @since 0.10
+ */
+final class PageAccountant {
+
+    private final FxStoreImpl store;
+
+    /** 마지막 커밋의 헤더와 컬렉션 상태 */
+    private volatile Committed committed;
+
+    PageAccountant(FxStoreImpl store) {
+        this.store = store;
+    }
+
+    /**
+     * 커밋된 상태로 초기화 (open, rollback, 커밋 완료)
+     *
+     * @param header 커밋 헤더
+     * @param states 커밋된 컬렉션 상태
+     */
+    void reset(CommitHeader header, Collection<CollectionState> states) {
+        Map<Long, CollectionState> map = new HashMap<>();
+        for (CollectionState state : states) {
+            map.put(state.getCollectionId(), state);
+        }
+        this.committed = new Committed(header, Collections.unmodifiableMap(map));
+    }
+
+    /**
+     * 마지막 커밋의 헤더와 컬렉션 상태
+     */
+    Committed committed() {
+        return committed;
+    }
+
+    /**
+     * 커밋할 컬렉션 상태의 livePages 계산
+     *
+     * @param state 커밋할 상태
+     * @param fresh 마지막 커밋 이후 할당된 페이지
+     * @return livePages가 채워진 상태
+     */
+    CollectionState account(CollectionState state, AllocatedPages fresh) {
+        CollectionState previous = committed.states.get(state.getCollectionId());
+        if (previous == null || !previous.hasLivePages()
+                || previous.getKind() != state.getKind()
+                || previous.getDequeLayout() != state.getDequeLayout()
+                || previous.getInlineElementWidth() != state.getInlineElementWidth()) {
+            return state.withLivePages(countCollection(state));
+        }
+        boolean sameRing = !state.isSegmentRing()
+            || (previous.getHeadPosition() == state.getHeadPosition()
+                && previous.getTailPosition() == state.getTailPosition());
+        if (previous.getRootPageId() == state.getRootPageId() && sameRing) {
+            return state.getLivePages() == previous.getLivePages()
+                ? state : state.withLivePages(previous.getLivePages());
+        }
+        long delta = state.isSegmentRing()
+            ? diffRing(previous, state, fresh)
+            : diffTree(walker(state), previous.getRootPageId(), state.getRootPageId(), fresh,
+                       hasRecords(state));
+        return state.withLivePages(previous.getLivePages() + delta);
+    }
+
+    /**
+     * catalog 또는 state 트리의 페이지 수 (노드 + 값 레코드)
+     *
+     * @param rootPageId 트리 루트 (0이면 빈 트리)
+     */
+    long countMetadataTree(long rootPageId) {
+        return countTree(store.newStructuralBTree()::walkWithRoot, rootPageId, true);
+    }
+
+    /**
+     * 커밋된 상태 전체를 순회해 live 페이지 집계 (증분 값과 무관)
+     *
+     * @param header 커밋 헤더
+     * @param states 커밋된 컬렉션 상태
+     * @param perCollection 컬렉션 ID → 페이지 수 (채워짐, null 가능)
+     * @return 고정 영역을 포함한 전체 페이지 수
+     */
+    long countCommitted(CommitHeader header, Collection<CollectionState> states,
+                        Map<Long, Long> perCollection) {
+        long total = store.fixedPages()
+            + countMetadataTree(header.getCatalogRootPageId())
+            + countMetadataTree(header.getStateRootPageId());
+        for (CollectionState state : states) {
+            long pages = countCollection(state);
+            if (perCollection != null) {
+                perCollection.put(state.getCollectionId(), pages);
+            }
+            total += pages;
+        }
+        return total;
+    }
+
+    // ==================== 전체 집계 ====================
+
+    private long countCollection(CollectionState state) {
+        long root = state.getRootPageId();
+        if (root == 0L) {
+            return 0L;
+        }
+        if (!state.isSegmentRing()) {
+            return countTree(walker(state), root, hasRecords(state));
+        }
+        SegmentRing ring = newRing(state);
+        long[] pages = new long[1];
+        store.newStructuralBTree().walkWithRoot(root, page -> {
+            pages[0]++;
+            return true;
+        }, segment -> {
+            pages[0]++;
+            ring.forEachSlot(segment, state.getHeadPosition(), state.getTailPosition(),
+                record -> pages[0] += recordSpan(record));
+        });
+        return pages[0];
+    }
+
+    private long countTree(TreeWalker walker, long root, boolean records) {
+        long[] pages = new long[1];
+        walker.walk(root, page -> {
+            pages[0]++;
+            return true;
+        }, records ? record -> pages[0] += recordSpan(record) : null);
+        return pages[0];
+    }
+
+    // ==================== 증분 집계 ====================
+
+    /**
+     * 이전 트리와 새 트리의 페이지 수 차이
+     *
+     * @param records 리프 값이 값 레코드 ID인지 여부
+     */
+    private long diffTree(TreeWalker walker, long oldRoot, long newRoot, AllocatedPages fresh,
+                          boolean records) {
+        TreeDiff diff = new TreeDiff(fresh);
+        diff.walk(walker, oldRoot, newRoot, records ? diff.newValues::add : null);
+        long delta = diff.delta;
+        if (records) {
+            for (long value : diff.newValues) {
+                if (fresh.contains(value)) {
+                    delta += recordSpan(value);
+                }
+            }
+            for (long value : diff.removedValues) {
+                if (!diff.newValues.contains(value)) {
+                    delta -= recordSpan(value);
+                }
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * 세그먼트 링 Deque의 페이지 수 차이
+     *
+     * <p>디렉토리는 트리와 같이 비교하고 리프 값(세그먼트 페이지)은 한 페이지로
+     * 셉니다. 슬롯은 바뀐 세그먼트의 [head, tail) 슬롯과 head/tail이 움직인
+     * 경계의 슬롯만 양쪽에서 모아 레코드 ID로 비교합니다. 그 밖의 위치는 같은
+     * 세그먼트 페이지의 같은 슬롯이므로(발행된 범위는 제자리 쓰기 대상이 아님)
+     * 값이 같습니다.</p>
+     */
+    private long diffRing(CollectionState previous, CollectionState state, AllocatedPages fresh) {
+        BTree directory = store.newStructuralBTree();
+        TreeDiff diff = new TreeDiff(fresh);
+        diff.walk(directory::walkWithRoot, previous.getRootPageId(), state.getRootPageId(), diff.newValues::add);
+
+        long delta = diff.delta;
+        SegmentRing oldRing = newRing(previous);
+        Set<Long> changedSegments = new HashSet<>();
+        for (long segment : diff.newValues) {
+            if (fresh.contains(segment)) {
+                delta++;
+                changedSegments.add(oldRing.segmentNoOfPage(segment));
+            }
+        }
+        for (long segment : diff.removedValues) {
+            if (!diff.newValues.contains(segment)) {
+                delta--;
+                changedSegments.add(oldRing.segmentNoOfPage(segment));
+            }
+        }
+
+        long h0 = previous.getHeadPosition();
+        long t0 = previous.getTailPosition();
+        long h1 = state.getHeadPosition();
+        long t1 = state.getTailPosition();
+        Set<Long> oldRecords = new HashSet<>();
+        Set<Long> newRecords = new HashSet<>();
+        collectSlots(oldRing, directory, previous.getRootPageId(), h0, t0, h1, t1, changedSegments, oldRecords);
+        collectSlots(newRing(state), directory, state.getRootPageId(), h1, t1, h0, t0, changedSegments, newRecords);
+        for (long record : newRecords) {
+            if (!oldRecords.contains(record)) {
+                delta += recordSpan(record);
+            }
+        }
+        for (long record : oldRecords) {
+            if (!newRecords.contains(record)) {
+                delta -= recordSpan(record);
+            }
+        }
+        return delta;
+    }
+
+    /**
+     * [from, to) 중 바뀐 세그먼트의 슬롯과 [otherFrom, otherTo) 밖의 슬롯 값 수집
+     */
+    private static void collectSlots(SegmentRing ring, BTree directory, long root, long from, long to,
+                                     long otherFrom, long otherTo, Set<Long> changedSegments,
+                                     Set<Long> records) {
+        if (root == 0L || from >= to) {
+            return;
+        }
+        LongConsumer add = records::add;
+        ring.forEachSlotInRange(directory, root, from, to,
+            segmentNo -> !changedSegments.contains(segmentNo), add);
+        // 상대 범위와 겹치지 않는 앞뒤 경계
+        long lowEnd = Math.min(to, otherFrom);
+        if (from < lowEnd) {
+            ring.forEachSlotInRange(directory, root, from, lowEnd, segmentNo -> false, add);
+        }
+        long highStart = Math.max(from, otherTo);
+        if (highStart < to) {
+            ring.forEachSlotInRange(directory, root, highStart, to, segmentNo -> false, add);
+        }
+    }
+
+    // ==================== 도우미 ====================
+
+    /**
+     * 값 레코드가 차지하는 페이지 수 (4바이트 길이 필드 기준)
+     */
+    private long recordSpan(long recordId) {
+        // stats(DEEP)는 Lock 없이 호출되므로 버퍼를 공유하지 않음
+        byte[] lengthBuf = new byte[4];
+        store.getStorage().read(recordId * store.getPageSize(), lengthBuf, 0, 4);
+        return store.recordPages(4L + ByteUtils.readI32LE(lengthBuf, 0));
+    }
+
+    private TreeWalker walker(CollectionState state) {
+        if (state.getKind() == CollectionKind.LIST) {
+            return new OST(store.getStorage(), store.getAllocator(), store.getPageSize())::walkWithRoot;
+        }
+        return store.newStructuralBTree()::walkWithRoot;
+    }
+
+    private static boolean hasRecords(CollectionState state) {
+        return state.getKind() != CollectionKind.LIST || state.getInlineElementWidth() == 0;
+    }
+
+    private SegmentRing newRing(CollectionState state) {
+        return new SegmentRing(store.getStorage(), store.getAllocator(), store.getPageSize(),
+            state.getHeadPosition(), state.getTailPosition());
+    }
+
+    /**
+     * 마지막 커밋 (불변)
+     */
+    static final class Committed {
+        private final CommitHeader header;
+        private final Map<Long, CollectionState> states;
+
+        Committed(CommitHeader header, Map<Long, CollectionState> states) {
+            this.header = header;
+            this.states = states;
+        }
+
+        CommitHeader getHeader() {
+            return header;
+        }
+
+        /**
+         * 컬렉션 ID → 커밋된 상태 (livePages 포함, 수정 불가)
+         */
+        Map<Long, CollectionState> getStates() {
+            return states;
+        }
+    }
+
+    /**
+     * BTree/OST의 walkWithRoot
+     */
+    private interface TreeWalker {
+        void walk(long root, LongPredicate descend, LongConsumer values);
+    }
+
+    /**
+     * 두 트리의 노드 차이와 리프 값 집합
+     */
+    private static final class TreeDiff {
+        final AllocatedPages fresh;
+        /** 새 노드가 가리키는 기존 노드 (공유 서브트리 루트) */
+        final Set<Long> shared = new HashSet<>();
+        /** 새 리프의 값 */
+        final Set<Long> newValues = new HashSet<>();
+        /** 제거된 리프의 값 */
+        final Set<Long> removedValues = new HashSet<>();
+        long delta;
+
+        TreeDiff(AllocatedPages fresh) {
+            this.fresh = fresh;
+        }
+
+        void walk(TreeWalker walker, long oldRoot, long newRoot, LongConsumer newLeafValues) {
+            walker.walk(newRoot, page -> {
+                if (!fresh.contains(page)) {
+                    shared.add(page);
+                    return false;
+                }
+                delta++;
+                return true;
+            }, newLeafValues);
+            walker.walk(oldRoot, page -> {
+                if (shared.contains(page)) {
+                    return false;
+                }
+                delta--;
+                return true;
+            }, newLeafValues == null ? null : removedValues::add);
+        }
+    }
+}
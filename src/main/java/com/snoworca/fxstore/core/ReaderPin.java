@@ -0,0 +1,66 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.FxException;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+
+/**
+ * 호출 범위보다 오래 사는 스냅샷 읽기(Iterator)의 읽기 등록
+ *
+ * <p>온라인 컴팩션은 등록된 읽기가 끝나기 전에는 빈 페이지를 재사용하거나 파일을
+ * 자르지 않습니다. 소유자(Iterator)가 끝까지 순회하면 {@link #release()}로 해제하고,
+ * 끝까지 순회하지 않고 버려지면 소유자가 GC된 뒤 Store가 해제합니다
+ * ({@link FxStoreImpl#pinIterator(Object)}).</p>
+ *
+ * <p>해제 후에도 소유자는 계속 쓰일 수 있으므로(ListIterator의 previous 등)
+ * 해제 시점의 회수 세대를 기록해 두고, 그 뒤 컴팩션이 페이지를 회수했으면
+ * {@link #checkReadable()}이 다른 트리의 바이트를 읽는 대신 실패합니다.</p>
+ *
+ * <p>등록 객체는 소유자를 약하게 참조하며, 소유자가 이 객체를 강하게 참조합니다.</p>
+ *
+ * @since 0.10
+ */
+public final class ReaderPin extends WeakReference<Object> {
+
+    private final FxStoreImpl store;
+    private final long ticket;
+    private volatile boolean released;
+    private volatile long releasedGeneration;
+
+    ReaderPin(FxStoreImpl store, Object owner, ReferenceQueue<Object> queue, long ticket) {
+        super(owner, queue);
+        this.store = store;
+        this.ticket = ticket;
+    }
+
+    long getTicket() {
+        return ticket;
+    }
+
+    /**
+     * 읽기 등록 해제 (멱등)
+     */
+    public void release() {
+        if (released) {
+            return;
+        }
+        // 등록을 풀기 전에 세대를 기록해야 이후 회수를 놓치지 않음
+        releasedGeneration = store.reclaimGeneration();
+        released = true;
+        store.releasePin(this);
+    }
+
+    /**
+     * 스냅샷 페이지를 아직 읽을 수 있는지 검사
+     *
+     * @throws FxException 해제 후 온라인 컴팩션이 페이지를 회수했으면 ILLEGAL_STATE
+     */
+    public void checkReadable() {
+        if (released && store.reclaimGeneration() != releasedGeneration) {
+            throw FxException.illegalState(
+                "Snapshot pages were reclaimed by online compaction after the iterator finished; "
+                + "create a new iterator");
+        }
+    }
+}
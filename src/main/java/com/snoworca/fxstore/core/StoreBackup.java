@@ -0,0 +1,264 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.FxException;
+import com.snoworca.fxstore.storage.AllocatedPages;
+import com.snoworca.fxstore.storage.FileStorage;
+import com.snoworca.fxstore.storage.Storage;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * 핫 백업 (전체/증분)
+ *
+ * <p>커밋된 페이지는 COW로 다시 쓰이지 않으므로, 읽기를 등록(pin)한 상태에서
+ * 마지막 커밋의 [0, allocTail) 구간을 그대로 복사하면 일관된 Store 파일이
+ * 됩니다. 백업 중에도 쓰기는 계속되며, 그 사이 새 커밋이 바꾼 CommitHeader
+ * 슬롯은 복사 후 백업 대상 커밋의 헤더로 덮어씁니다.</p>
+ *
+ * <h3>증분 백업</h3>
+ * <p>기존 백업 파일의 커밋 이후 바뀐 페이지만 복사합니다. 바뀐 페이지는
+ * {@link ChangedPageTracker}가 제공하며, 새로 할당된 페이지뿐 아니라 세그먼트
+ * 링의 제자리 쓰기와 온라인 컴팩션이 재사용한 페이지도 포함합니다. 추적 기록이
+ * 없으면(백업 이후 Store를 다시 연 경우) 이전 allocTail 아래 구간은 백업 파일과
+ * 비교하여 다른 페이지만 씁니다.</p>
+ *
+ * <p>갱신 중 중단되어도 반쯤 갱신된 파일이 열리지 않도록, 페이지를 쓰기 전에
+ * 백업 파일의 CommitHeader 두 슬롯을 지우고 마지막에 새 헤더를 씁니다.</p>
+ *
+ * <p>스레드 안전성: 호출자가 읽기를 등록한 상태에서 Lock 없이 호출합니다.</p>
+ *
+ * @since 0.10
+ */
+final class StoreBackup {
+
+    /** 복사/비교 단위 */
+    private static final int CHUNK = 1 << 20;
+
+    private static final int FIXED_BYTES = Superblock.SIZE + CommitHeader.SIZE * 2;
+
+    private final Storage storage;
+    private final int pageSize;
+
+    StoreBackup(Storage storage, int pageSize) {
+        this.storage = storage;
+        this.pageSize = pageSize;
+    }
+
+    /**
+     * 전체 백업
+     *
+     * @param target 백업 파일 (있으면 덮어씀)
+     * @param header 백업할 커밋의 헤더
+     */
+    void full(Path target, CommitHeader header) {
+        checkNotSource(target);
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            copy(0L, header.getAllocTail(), out);
+            writeHeader(out, header);
+            out.force(true);
+        } catch (IOException | RuntimeException e) {
+            try {
+                Files.deleteIfExists(target);
+            } catch (IOException ioe) {
+                // 삭제 실패 무시
+            }
+            throw failure(target, e);
+        }
+    }
+
+    /**
+     * 증분 백업
+     *
+     * @param target 기존 백업 파일
+     * @param fromSeqNo 백업 파일의 커밋 seqNo
+     * @param header 백업할 커밋의 헤더
+     * @param changed fromSeqNo 이후 바뀐 페이지 (추적 기록이 없으면 null)
+     */
+    void incremental(Path target, long fromSeqNo, CommitHeader header, AllocatedPages changed) {
+        checkNotSource(target);
+        if (!Files.isRegularFile(target)) {
+            throw FxException.notFound("Backup file not found: " + target);
+        }
+        if (header.getSeqNo() < fromSeqNo) {
+            throw FxException.illegalArgument("fromSeqNo " + fromSeqNo
+                + " is newer than the last commit " + header.getSeqNo());
+        }
+        try (FileChannel out = FileChannel.open(target, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            CommitHeader previous = readBackupHeader(out, target);
+            if (previous.getSeqNo() != fromSeqNo) {
+                throw FxException.illegalArgument("Backup " + target + " is at seqNo "
+                    + previous.getSeqNo() + ", not " + fromSeqNo);
+            }
+            if (header.getSeqNo() == fromSeqNo) {
+                return;
+            }
+
+            // 중단 시 열리지 않도록 헤더부터 무효화
+            out.write(ByteBuffer.wrap(new byte[CommitHeader.SIZE * 2]), Superblock.SIZE);
+            out.force(false);
+
+            long tail = header.getAllocTail();
+            long fixedEnd = Math.min(tail, FIXED_BYTES);
+            copy(0L, fixedEnd, out);  // Superblock은 제자리에서 바뀔 수 있음
+            long fixedPages = (FIXED_BYTES + pageSize - 1) / pageSize;
+            if (changed != null) {
+                for (int i = 0; i < changed.runCount(); i++) {
+                    long from = Math.max(changed.runStart(i), fixedPages) * pageSize;
+                    long to = Math.min(changed.runEnd(i) * pageSize, tail);
+                    if (from < to) {
+                        copy(from, to, out);
+                    }
+                }
+            } else {
+                long previousTail = previous.getAllocTail();
+                copyDifferent(fixedPages * pageSize, Math.min(previousTail, tail), out);
+                if (previousTail < tail) {
+                    copy(previousTail, tail, out);
+                }
+            }
+            if (out.size() > tail) {
+                out.truncate(tail);
+            }
+            out.force(false);
+            writeHeader(out, header);
+            out.force(true);
+        } catch (FxException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw failure(target, e);
+        }
+    }
+
+    private void checkNotSource(Path target) {
+        if (target == null) {
+            throw FxException.illegalArgument("target cannot be null");
+        }
+        if (storage instanceof FileStorage && Files.exists(target)) {
+            try {
+                if (Files.isSameFile(target, ((FileStorage) storage).getPath())) {
+                    throw FxException.illegalArgument("Cannot back up a store onto itself: " + target);
+                }
+            } catch (IOException e) {
+                throw FxException.io("Cannot access backup file: " + target, e);
+            }
+        }
+    }
+
+    /**
+     * 백업 파일이 이 Store의 것인지 확인하고 커밋 헤더 읽기
+     */
+    private CommitHeader readBackupHeader(FileChannel out, Path target) throws IOException {
+        byte[] fixed = new byte[FIXED_BYTES];
+        if (readFully(out, 0L, fixed, FIXED_BYTES) < FIXED_BYTES) {
+            throw FxException.corruption("Backup file is truncated: " + target);
+        }
+        byte[] sbData = new byte[Superblock.SIZE];
+        System.arraycopy(fixed, 0, sbData, 0, Superblock.SIZE);
+        Superblock backup = Superblock.decode(sbData);
+
+        byte[] sourceData = new byte[Superblock.SIZE];
+        storage.read(0L, sourceData, 0, Superblock.SIZE);
+        Superblock source = Superblock.decode(sourceData);
+        if (backup.getPageSize() != source.getPageSize()
+                || backup.getCreatedAtEpochMs() != source.getCreatedAtEpochMs()) {
+            throw FxException.illegalArgument("Not a backup of this store: " + target);
+        }
+
+        byte[] slotA = new byte[CommitHeader.SIZE];
+        byte[] slotB = new byte[CommitHeader.SIZE];
+        System.arraycopy(fixed, Superblock.SIZE, slotA, 0, CommitHeader.SIZE);
+        System.arraycopy(fixed, Superblock.SIZE + CommitHeader.SIZE, slotB, 0, CommitHeader.SIZE);
+        return CommitHeader.selectHeader(slotA, slotB);
+    }
+
+    /**
+     * 헤더를 seqNo에 해당하는 슬롯에 쓰고 다른 슬롯은 비움
+     */
+    private static void writeHeader(FileChannel out, CommitHeader header) throws IOException {
+        byte[] slots = new byte[CommitHeader.SIZE * 2];
+        byte[] encoded = header.encode();
+        int slot = header.getSeqNo() % 2 == 0 ? 0 : CommitHeader.SIZE;
+        System.arraycopy(encoded, 0, slots, slot, encoded.length);
+        writeFully(out, Superblock.SIZE, ByteBuffer.wrap(slots));
+    }
+
+    /**
+     * [from, to) 구간을 같은 위치로 복사
+     */
+    private void copy(long from, long to, FileChannel out) throws IOException {
+        if (storage instanceof FileStorage) {
+            ((FileStorage) storage).transferTo(from, to - from, out, from);
+            return;
+        }
+        byte[] buffer = new byte[(int) Math.min(CHUNK, to - from)];
+        for (long pos = from; pos < to; pos += buffer.length) {
+            int len = (int) Math.min(buffer.length, to - pos);
+            storage.read(pos, buffer, 0, len);
+            writeFully(out, pos, ByteBuffer.wrap(buffer, 0, len));
+        }
+    }
+
+    /**
+     * [from, to) 구간에서 백업 파일과 다른 페이지만 복사
+     */
+    private void copyDifferent(long from, long to, FileChannel out) throws IOException {
+        if (from >= to) {
+            return;
+        }
+        int chunk = CHUNK - CHUNK % pageSize;
+        byte[] source = new byte[(int) Math.min(chunk, to - from)];
+        byte[] backup = new byte[source.length];
+        for (long pos = from; pos < to; pos += source.length) {
+            int len = (int) Math.min(source.length, to - pos);
+            storage.read(pos, source, 0, len);
+            int read = readFully(out, pos, backup, len);
+            for (int page = 0; page < len; page += pageSize) {
+                int pageLen = Math.min(pageSize, len - page);
+                if (page + pageLen > read || !samePage(source, backup, page, pageLen)) {
+                    writeFully(out, pos + page, ByteBuffer.wrap(source, page, pageLen));
+                }
+            }
+        }
+    }
+
+    private static boolean samePage(byte[] a, byte[] b, int offset, int length) {
+        for (int i = offset; i < offset + length; i++) {
+            if (a[i] != b[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int readFully(FileChannel in, long position, byte[] buffer, int length) throws IOException {
+        ByteBuffer bb = ByteBuffer.wrap(buffer, 0, length);
+        while (bb.hasRemaining()) {
+            int n = in.read(bb, position + bb.position());
+            if (n < 0) {
+                break;
+            }
+        }
+        return bb.position();
+    }
+
+    private static void writeFully(FileChannel out, long position, ByteBuffer bb) throws IOException {
+        long pos = position;
+        while (bb.hasRemaining()) {
+            pos += out.write(bb, pos);
+        }
+    }
+
+    private static FxException failure(Path target, Exception e) {
+        if (e instanceof FxException) {
+            return (FxException) e;
+        }
+        return FxException.io("Backup failed: " + target, e);
+    }
+}
@@ -215,6 +215,34 @@ public final class StoreSnapshot {
         );
     }
 
+    /**
+     * CollectionState와 루트 페이지 ID를 함께 변경한 새 스냅샷 생성
+     *
+     * <p>세그먼트 링 Deque처럼 루트, count 외의 상태 필드도 한 번에 바뀌는
+     * 연산에서 사용합니다.</p>
+     *
+     * @param collectionId 컬렉션 ID
+     * @param newState 새로운 상태 (rootPageId도 이 값으로 반영)
+     * @return 변경된 새 스냅샷 (원본 불변)
+     * @since 0.10
+     */
+    public StoreSnapshot withStateAndRoot(long collectionId, CollectionState newState) {
+        Map<Long, Long> newRoots = new HashMap<>(this.rootPageIds);
+        newRoots.put(collectionId, newState.getRootPageId());
+
+        Map<Long, CollectionState> newStates = new HashMap<>(this.states);
+        newStates.put(collectionId, newState);
+
+        return new StoreSnapshot(
+            this.seqNo + 1,
+            this.allocTail,
+            this.catalog,
+            newStates,
+            newRoots,
+            this.nextCollectionId
+        );
+    }
+
     /**
      * CollectionState를 변경한 새 스냅샷 생성
      *
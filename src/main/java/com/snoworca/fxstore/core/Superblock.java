@@ -19,27 +19,70 @@ public class Superblock {
     public static final byte[] MAGIC = "FXSTORE\0".getBytes(StandardCharsets.US_ASCII);
     public static final int FORMAT_VERSION = 1;
 
+    /**
+     * Feature flag: B+Tree leaf pages may use the prefix-compressed format
+     * and separator keys may be truncated.
+     */
+    public static final long FEATURE_KEY_COMPRESSION = 1L;
+
+    /**
+     * Feature flag: lists with a fixed-width element codec may store encoded
+     * elements directly in OST leaf slots instead of value records.
+     */
+    public static final long FEATURE_INLINE_LIST_ELEMENTS = 1L << 1;
+
+    /**
+     * Feature flag: deques may be stored as a chain of fixed-size segment
+     * pages with head/tail positions in their collection state.
+     */
+    public static final long FEATURE_SEGMENT_RING_DEQUES = 1L << 2;
+
+    /**
+     * Feature flag: immutable export written by {@code exportFrozen}. Value
+     * record IDs are byte offsets (records are packed, not page-aligned), all
+     * internal index pages lie in [fixed area, {@link #getFrozenIndexEnd()}),
+     * and the file is opened only through the read-only mapped path.
+     */
+    public static final long FEATURE_FROZEN = 1L << 3;
+
+    /** Feature flags understood by this version. */
+    public static final long SUPPORTED_FEATURES =
+        FEATURE_KEY_COMPRESSION | FEATURE_INLINE_LIST_ELEMENTS | FEATURE_SEGMENT_RING_DEQUES
+        | FEATURE_FROZEN;
+
     private static final int MAGIC_OFFSET = 0;
     private static final int FORMAT_VERSION_OFFSET = 8;
     private static final int PAGE_SIZE_OFFSET = 12;
     private static final int FEATURE_FLAGS_OFFSET = 16;
     private static final int CREATED_AT_OFFSET = 24;
+    private static final int FROZEN_INDEX_END_OFFSET = 32;
     private static final int CRC_OFFSET = 4092;
 
     private final int formatVersion;
     private final int pageSize;
     private final long featureFlags;
     private final long createdAtEpochMs;
+    private final long frozenIndexEnd;
 
     public Superblock(int pageSize) {
         this(FORMAT_VERSION, pageSize, 0, System.currentTimeMillis());
     }
 
     public Superblock(int formatVersion, int pageSize, long featureFlags, long createdAtEpochMs) {
+        this(formatVersion, pageSize, featureFlags, createdAtEpochMs, 0L);
+    }
+
+    /**
+     * @param frozenIndexEnd end offset of the index region of a frozen store (0 otherwise)
+     * @since 0.10
+     */
+    public Superblock(int formatVersion, int pageSize, long featureFlags, long createdAtEpochMs,
+                      long frozenIndexEnd) {
         this.formatVersion = formatVersion;
         this.pageSize = pageSize;
         this.featureFlags = featureFlags;
         this.createdAtEpochMs = createdAtEpochMs;
+        this.frozenIndexEnd = frozenIndexEnd;
     }
 
     /**
@@ -49,6 +92,13 @@ public class Superblock {
         return new Superblock(pageSize);
     }
 
+    /**
+     * Create a new Superblock with the given feature flags.
+     */
+    public static Superblock create(int pageSize, long featureFlags) {
+        return new Superblock(FORMAT_VERSION, pageSize, featureFlags, System.currentTimeMillis());
+    }
+
     public int getFormatVersion() {
         return formatVersion;
     }
@@ -61,10 +111,24 @@ public class Superblock {
         return featureFlags;
     }
 
+    public boolean hasFeature(long feature) {
+        return (featureFlags & feature) == feature;
+    }
+
     public long getCreatedAtEpochMs() {
         return createdAtEpochMs;
     }
 
+    /**
+     * End offset of the contiguous internal index pages of a frozen store.
+     *
+     * @return byte offset, or 0 if this is not a frozen store
+     * @since 0.10
+     */
+    public long getFrozenIndexEnd() {
+        return frozenIndexEnd;
+    }
+
     public byte[] serialize() {
         byte[] data = new byte[SIZE];
 
@@ -83,6 +147,9 @@ public class Superblock {
         // Created at
         ByteUtils.writeI64LE(data, CREATED_AT_OFFSET, createdAtEpochMs);
 
+        // Frozen index end
+        ByteUtils.writeI64LE(data, FROZEN_INDEX_END_OFFSET, frozenIndexEnd);
+
         // CRC
         int crc = CRC32C.compute(data, 0, CRC_OFFSET);
         ByteUtils.writeI32LE(data, CRC_OFFSET, crc);
@@ -122,8 +189,9 @@ public class Superblock {
         int pageSize = ByteUtils.readI32LE(data, PAGE_SIZE_OFFSET);
         long featureFlags = ByteUtils.readI64LE(data, FEATURE_FLAGS_OFFSET);
         long createdAtEpochMs = ByteUtils.readI64LE(data, CREATED_AT_OFFSET);
+        long frozenIndexEnd = ByteUtils.readI64LE(data, FROZEN_INDEX_END_OFFSET);
 
-        return new Superblock(formatVersion, pageSize, featureFlags, createdAtEpochMs);
+        return new Superblock(formatVersion, pageSize, featureFlags, createdAtEpochMs, frozenIndexEnd);
     }
 
     public static boolean verify(byte[] data) {
@@ -1,5 +1,6 @@
 package com.snoworca.fxstore.migration;
 
+import com.snoworca.fxstore.api.CollectionKind;
 import com.snoworca.fxstore.api.FxStore;
 import com.snoworca.fxstore.catalog.CollectionState;
 import com.snoworca.fxstore.collection.FxDequeImpl;
@@ -30,6 +31,9 @@ import java.util.Deque;
  * }
  * }</pre>
  *
+ * <p>v0.10부터는 BTree 형식 Deque를 세그먼트 링 형식으로 변환할 수 있습니다
+ * ({@link #migrateToSegmentRing(FxStore, String, Class)}).</p>
+ *
  * @since 0.7
  */
 public final class DequeMigrator {
@@ -133,4 +137,68 @@ public final class DequeMigrator {
         // 7. 커밋
         store.commitIfAuto();
     }
+
+    /**
+     * Deque를 세그먼트 링 형식으로 변환해야 하는지 확인
+     *
+     * <p>BTree 형식 Deque인 경우 true 반환</p>
+     *
+     * @param store FxStore 인스턴스
+     * @param dequeName Deque 이름
+     * @return 변환 필요 여부
+     * @since 0.10
+     */
+    public static boolean needsSegmentRingMigration(FxStore store, String dequeName) {
+        if (!(store instanceof FxStoreImpl)) {
+            return false;
+        }
+
+        FxStoreImpl impl = (FxStoreImpl) store;
+        CollectionState state = impl.getCollectionState(dequeName);
+        return state != null
+            && state.getKind() == CollectionKind.DEQUE
+            && !state.isSegmentRing();
+    }
+
+    /**
+     * BTree 형식 Deque를 세그먼트 링 형식으로 변환
+     *
+     * <p>요소의 값 레코드는 그대로 두고 슬롯만 세그먼트에 옮기므로 요소를
+     * 다시 인코딩하지 않습니다. LEGACY 인코딩 Deque도 바로 변환됩니다.
+     * 이전 시퀀스 키 BTree는 참조가 끊겨 compactTo에서 회수됩니다.</p>
+     *
+     * <p>변환을 커밋할 때 CommitHeader에 세그먼트 링 플래그를 함께 기록하므로, 그 뒤의
+     * 파일은 플래그를 모르는 이전 버전에서 열 수 없습니다. 변환은 다른 Deque나 새로
+     * 만드는 Deque의 형식을 바꾸지 않습니다.</p>
+     *
+     * @param store FxStore 인스턴스
+     * @param dequeName Deque 이름
+     * @param elementClass 요소 타입
+     * @param <E> 요소 타입
+     * @throws com.snoworca.fxstore.api.FxException 변환 실패 시
+     * @since 0.10
+     */
+    @SuppressWarnings("unchecked")
+    public static <E> void migrateToSegmentRing(FxStore store, String dequeName, Class<E> elementClass) {
+        if (!(store instanceof FxStoreImpl)) {
+            throw new IllegalArgumentException("FxStoreImpl required");
+        }
+
+        if (!needsSegmentRingMigration(store, dequeName)) {
+            return; // 이미 세그먼트 링
+        }
+
+        FxStoreImpl storeImpl = (FxStoreImpl) store;
+
+        // 쓰기 락 획득
+        long stamp = storeImpl.acquireWriteLock();
+        try {
+            storeImpl.markSegmentRingDeques();
+            FxDequeImpl<E> impl = (FxDequeImpl<E>) storeImpl.openDeque(dequeName, elementClass);
+            impl.convertToSegmentRingUnlocked();
+            storeImpl.commitIfAuto();
+        } finally {
+            storeImpl.releaseWriteLock(stamp);
+        }
+    }
 }
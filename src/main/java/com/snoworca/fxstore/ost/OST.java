@@ -1,6 +1,6 @@
 package com.snoworca.fxstore.ost;
 
-import com.snoworca.fxstore.storage.Allocator;
+import com.snoworca.fxstore.storage.PageAllocator;
 import com.snoworca.fxstore.storage.Storage;
 
 import java.util.ArrayList;
@@ -53,10 +53,24 @@ public class OST {
         }
     }
 
+    // ==================== 상수 ====================
+
+    /** 리프당 최대 원소 수 */
+    private static final int MAX_LEAF_ELEMENTS = 100;
+
+    /** 내부 노드당 최대 자식 수 */
+    private static final int MAX_INTERNAL_CHILDREN = 128;
+
+    /** 리프 최소 원소 수 (이보다 적으면 형제와 병합/재분배) */
+    private static final int MIN_LEAF_ELEMENTS = MAX_LEAF_ELEMENTS / 4;
+
+    /** 내부 노드 최소 자식 수 (이보다 적으면 형제와 병합/재분배) */
+    private static final int MIN_INTERNAL_CHILDREN = MAX_INTERNAL_CHILDREN / 4;
+
     // ==================== 필드 ====================
 
     private final Storage storage;
-    private final Allocator allocator;
+    private final PageAllocator allocator;
     private final int pageSize;
 
     private long rootPageId;
@@ -70,6 +84,17 @@ public class OST {
      * @since 0.9 (Stateless Allocator API 지원)
      */
     private long currentAllocTail;
+
+    /**
+     * 오른쪽 끝 경로 캐시 ({@link #appendWithRoot(long, long)} 전용)
+     *
+     * <p>마지막 append가 만든 루트와 그 루트에서 가장 오른쪽 리프까지의 노드를
+     * 보관합니다. 다음 append의 root가 같으면 페이지를 다시 읽지 않습니다.
+     * 불변 객체로 교체하므로 Single Writer 외의 스레드가 봐도 안전합니다.</p>
+     *
+     * @since 0.10
+     */
+    private volatile RightEdge rightEdge;
     
     /**
      * OST 생성자.
@@ -78,7 +103,7 @@ public class OST {
      * @param allocator 할당자
      * @param pageSize 페이지 크기
      */
-    public OST(Storage storage, Allocator allocator, int pageSize) {
+    public OST(Storage storage, PageAllocator allocator, int pageSize) {
         this.storage = storage;
         this.allocator = allocator;
         this.pageSize = pageSize;
@@ -210,7 +235,7 @@ public class OST {
      * @param pageId 페이지 ID
      * @return OSTNode 인스턴스
      */
-    private OSTNode loadNode(long pageId) {
+    OSTNode loadNode(long pageId) {
         byte[] page = new byte[pageSize];
         storage.read(pageId, page, 0, pageSize);
         
@@ -227,6 +252,18 @@ public class OST {
         }
     }
     
+    /**
+     * 노드 ID로 노드를 읽습니다. (검증용)
+     *
+     * @param nodeId 노드 ID (오프셋)
+     * @return OSTNode 인스턴스
+     * @throws IllegalStateException 페이지 타입이 OST 노드가 아닌 경우
+     * @since 0.10
+     */
+    public OSTNode readNode(long nodeId) {
+        return loadNode(nodeId);
+    }
+
     /**
      * OSTNode를 저장하고 오프셋을 반환합니다.
      *
@@ -234,9 +271,8 @@ public class OST {
      * @return 저장된 오프셋 (storage.write의 첫 번째 인자)
      */
     private long saveNode(OSTNode node) {
-        // 레거시 API 사용 (v0.9 전환 기간 동안 유지)
-        // allocator.allocatePage()는 offset을 반환 (pageId가 아님!)
-        long offset = allocator.allocatePage();
+        // allocator.allocatePages()는 offset을 반환 (pageId가 아님!)
+        long offset = allocator.allocatePages(1);
         byte[] page = node.toPage(pageSize);
         storage.write(offset, page, 0, pageSize);
         return offset;
@@ -250,7 +286,7 @@ public class OST {
      * @param pageSize 페이지 크기
      * @return OST 인스턴스
      */
-    public static OST createEmpty(Storage storage, Allocator allocator, int pageSize) {
+    public static OST createEmpty(Storage storage, PageAllocator allocator, int pageSize) {
         return new OST(storage, allocator, pageSize);
     }
     
@@ -263,7 +299,7 @@ public class OST {
      * @param rootPageId 루트 페이지 ID
      * @return OST 인스턴스
      */
-    public static OST open(Storage storage, Allocator allocator, int pageSize, long rootPageId) {
+    public static OST open(Storage storage, PageAllocator allocator, int pageSize, long rootPageId) {
         OST ost = new OST(storage, allocator, pageSize);
         ost.setRootPageId(rootPageId);
         return ost;
@@ -342,6 +378,23 @@ public class OST {
         return leaf.getElementRecordId(remaining);
     }
 
+    /**
+     * 지정된 root에 고정된 양방향 커서를 생성합니다.
+     * Wait-free read를 위한 stateless API입니다.
+     *
+     * <p>시작 위치까지 한 번만 하강하고 이후에는 인접 리프로 순차 이동하므로,
+     * 인덱스마다 {@link #getWithRoot(long, int)}를 호출하는 것보다 순회 비용이 작습니다.</p>
+     *
+     * @param rootPageId 순회할 트리의 root page ID (0이면 빈 트리)
+     * @param index 시작 위치 (0 ~ size)
+     * @return 커서
+     * @throws IndexOutOfBoundsException 인덱스가 범위를 벗어난 경우
+     * @since 0.10
+     */
+    public OSTCursor cursorWithRoot(long rootPageId, int index) {
+        return new OSTCursor(this, rootPageId, index);
+    }
+
     /**
      * 지정된 root에서 요소를 삽입하고 새 root를 반환합니다.
      * COW 방식으로 기존 트리는 변경되지 않습니다.
@@ -369,40 +422,10 @@ public class OST {
 
         // 1. 검색 경로 수집
         List<OSTPathFrame> path = new ArrayList<>();
-        int remaining = index;
-
-        OSTNode node = loadNode(rootPageId);
-
-        while (!node.isLeaf()) {
-            OSTInternal internal = (OSTInternal) node;
-            int childCount = internal.getChildCount();
-            int targetChild = -1;
-            int accum = 0;
-
-            // 목표 인덱스를 포함하는 자식 찾기
-            for (int i = 0; i < childCount; i++) {
-                int count = internal.getSubtreeCount(i);
-                if (remaining < accum + count) {
-                    targetChild = i;
-                    remaining -= accum;
-                    break;
-                }
-                accum += count;
-            }
-
-            // 경계 케이스: 마지막 자식 뒤에 삽입 (append)
-            if (targetChild < 0) {
-                targetChild = childCount - 1;
-                remaining -= (accum - internal.getSubtreeCount(childCount - 1));
-            }
-
-            path.add(new OSTPathFrame(internal, targetChild, remaining));
-            node = loadNode(internal.getChildPageId(targetChild));
-        }
+        OSTLeaf leaf = descendForInsert(rootPageId, index, path);
 
         // 2. 리프에 삽입
-        OSTLeaf leaf = (OSTLeaf) node;
-        int localIndex = remaining;
+        int localIndex = path.isEmpty() ? index : path.get(path.size() - 1).getLocalPosition();
 
         if (localIndex > leaf.subtreeCount()) {
             throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + currentSize);
@@ -410,7 +433,7 @@ public class OST {
 
         long newRootPageId;
         // 리프에 공간 있는지 확인 (최대 100개 원소)
-        if (leaf.subtreeCount() < 100) {
+        if (leaf.subtreeCount() < MAX_LEAF_ELEMENTS) {
             // 공간 있음: 단순 삽입
             OSTLeaf newLeaf = new OSTLeaf();
             for (int i = 0; i < leaf.subtreeCount(); i++) {
@@ -437,6 +460,9 @@ public class OST {
      * 지정된 root에서 요소를 삭제하고 새 root를 반환합니다.
      * COW 방식으로 기존 트리는 변경되지 않습니다.
      *
+     * <p>리프나 내부 노드가 최소 채움(최대치의 1/4) 아래로 내려가면 형제와
+     * 병합하거나 재분배하고, 자식이 하나만 남은 루트는 축소합니다.</p>
+     *
      * @param rootPageId 현재 root page ID
      * @param index 삭제할 인덱스 (0-based)
      * @return 새 root page ID와 삭제된 요소 RecordId를 포함한 결과
@@ -495,24 +521,210 @@ public class OST {
             }
         }
 
-        long newRootPageId;
-        if (newLeaf.subtreeCount() == 0) {
-            // 리프가 비었음
-            if (path.isEmpty()) {
-                // 루트 리프가 비었음 - 빈 트리
-                newRootPageId = 0L;
+        long newRootPageId = rebalanceAndPropagate(path, newLeaf);
+
+        return new StatelessRemoveResult(newRootPageId, removedRecordId);
+    }
+
+    /**
+     * 지정된 root의 끝에 요소를 추가하고 새 root를 반환합니다.
+     * COW 방식으로 기존 트리는 변경되지 않습니다.
+     *
+     * <p>{@code insertWithRoot(root, size, id)}와 결과는 같지만, 인덱스 계산 없이
+     * 가장 오른쪽 경로만 따라가며 직전 append가 만든 경로를 캐시에서 재사용하므로
+     * 연속 append 시 페이지 읽기가 없습니다. 마지막 리프가 가득 차면 반으로
+     * 나누지 않고 그대로 둔 채 새 리프를 시작하므로(내부 노드도 동일) 순차
+     * append로 만든 리프는 꽉 찬 상태를 유지합니다.</p>
+     *
+     * @param rootPageId 현재 root page ID (0이면 빈 트리)
+     * @param elementRecordId 추가할 요소의 RecordId
+     * @return 새 root page ID를 포함한 결과
+     * @since 0.10
+     */
+    public StatelessInsertResult appendWithRoot(long rootPageId, long elementRecordId) {
+        if (rootPageId == 0L) {
+            OSTLeaf newLeaf = new OSTLeaf();
+            newLeaf.addElement(elementRecordId);
+            long newRootPageId = saveNode(newLeaf);
+            rightEdge = new RightEdge(newRootPageId, new OSTInternal[0], newLeaf, allocator.getReuseGeneration());
+            return new StatelessInsertResult(newRootPageId);
+        }
+
+        RightEdge edge = rightEdge;
+        if (edge == null || edge.rootPageId != rootPageId
+                || edge.generation != allocator.getReuseGeneration()) {
+            edge = loadRightEdge(rootPageId);
+        }
+        OSTInternal[] path = edge.path;
+        OSTLeaf leaf = edge.leaf;
+
+        // 리프: 공간이 있으면 복사 후 추가, 가득 찼으면 새 리프 시작
+        OSTLeaf newLeaf = new OSTLeaf();
+        boolean added = leaf.subtreeCount() >= MAX_LEAF_ELEMENTS;
+        if (!added) {
+            for (int i = 0; i < leaf.subtreeCount(); i++) {
+                newLeaf.addElement(leaf.getElementRecordId(i));
+            }
+        }
+        newLeaf.addElement(elementRecordId);
+
+        OSTNode child = newLeaf;
+        long childPageId = saveNode(newLeaf);
+        OSTInternal[] newPath = new OSTInternal[path.length];
+
+        // 경로를 거슬러 올라가며 마지막 자식 갱신 또는 새 자식 추가
+        for (int i = path.length - 1; i >= 0; i--) {
+            OSTInternal parent = path[i];
+            List<Long> children = new ArrayList<>(parent.getChildCount() + 1);
+            List<Integer> counts = new ArrayList<>(parent.getChildCount() + 1);
+
+            if (added && parent.getChildCount() >= MAX_INTERNAL_CHILDREN) {
+                // 가득 찬 내부 노드는 그대로 두고 새 형제 시작
+                children.add(childPageId);
+                counts.add(child.subtreeCount());
             } else {
-                // 부모가 있는데 리프가 비었음 - 부모에서 자식 제거
-                long newLeafPageId = saveNode(newLeaf);
-                newRootPageId = propagateOstCow(path, newLeafPageId, -1);
+                for (int j = 0; j < parent.getChildCount(); j++) {
+                    children.add(parent.getChildPageId(j));
+                    counts.add(parent.getSubtreeCount(j));
+                }
+                if (added) {
+                    children.add(childPageId);
+                    counts.add(child.subtreeCount());
+                    added = false;
+                } else {
+                    int last = children.size() - 1;
+                    children.set(last, childPageId);
+                    counts.set(last, counts.get(last) + 1);
+                }
             }
-        } else {
-            // 리프에 요소 남음
-            long newLeafPageId = saveNode(newLeaf);
-            newRootPageId = propagateOstCow(path, newLeafPageId, -1);
+
+            OSTInternal node = new OSTInternal(parent.getLevel(), children, counts);
+            newPath[i] = node;
+            child = node;
+            childPageId = saveNode(node);
         }
 
-        return new StatelessRemoveResult(newRootPageId, removedRecordId);
+        if (added) {
+            // 모든 레벨이 가득 참: 기존 루트를 왼쪽 자식으로 하는 새 루트
+            int oldRootCount = path.length > 0 ? path[0].subtreeCount() : leaf.subtreeCount();
+            int level = path.length > 0 ? path[0].getLevel() + 1 : 1;
+            List<Long> children = new ArrayList<>(2);
+            List<Integer> counts = new ArrayList<>(2);
+            children.add(rootPageId);
+            counts.add(oldRootCount);
+            children.add(childPageId);
+            counts.add(child.subtreeCount());
+
+            OSTInternal newRoot = new OSTInternal(level, children, counts);
+            OSTInternal[] grown = new OSTInternal[newPath.length + 1];
+            grown[0] = newRoot;
+            System.arraycopy(newPath, 0, grown, 1, newPath.length);
+            newPath = grown;
+            childPageId = saveNode(newRoot);
+        }
+
+        rightEdge = new RightEdge(childPageId, newPath, newLeaf, allocator.getReuseGeneration());
+        return new StatelessInsertResult(childPageId);
+    }
+
+    /**
+     * 지정된 root의 index 위치에 여러 요소를 한 번에 삽입하고 새 root를 반환합니다.
+     * COW 방식으로 기존 트리는 변경되지 않습니다.
+     *
+     * <p>삽입 위치의 리프 원소와 새 원소를 합쳐 꽉 채운 리프들로 다시 만든 뒤,
+     * 경로를 따라 올라가며 부모의 해당 자식 자리에 이어 붙입니다(splice).
+     * 넘치는 부모는 필요한 만큼 균등 분할됩니다. 요소마다 경로 COW를 반복하지
+     * 않으므로 m개 삽입 비용은 O(m + log n)입니다.</p>
+     *
+     * @param rootPageId 현재 root page ID (0이면 빈 트리)
+     * @param index 삽입 위치 (0-based)
+     * @param elementRecordIds 삽입할 요소들의 RecordId (순서대로)
+     * @return 새 root page ID를 포함한 결과 (요소가 없으면 기존 root)
+     * @throws IndexOutOfBoundsException 인덱스가 범위를 벗어난 경우
+     * @since 0.10
+     */
+    public StatelessInsertResult insertAllWithRoot(long rootPageId, int index, long[] elementRecordIds) {
+        int currentSize = sizeWithRoot(rootPageId);
+        if (index < 0 || index > currentSize) {
+            throw new IndexOutOfBoundsException(
+                "Index " + index + " out of bounds for size " + currentSize);
+        }
+        if (elementRecordIds.length == 0) {
+            return new StatelessInsertResult(rootPageId);
+        }
+
+        List<Long> nodes = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+
+        if (rootPageId == 0L) {
+            // 빈 트리 - 리프부터 상향식으로 구성
+            packLeaves(elementRecordIds, nodes, counts);
+            return new StatelessInsertResult(
+                spliceIntoParents(new ArrayList<OSTPathFrame>(), nodes, counts, elementRecordIds.length));
+        }
+
+        List<OSTPathFrame> path = new ArrayList<>();
+        OSTLeaf leaf = descendForInsert(rootPageId, index, path);
+        int localIndex = path.isEmpty() ? index : path.get(path.size() - 1).getLocalPosition();
+
+        // 리프 원소 사이에 새 원소를 끼워 넣은 전체 배열
+        int leafSize = leaf.subtreeCount();
+        long[] merged = new long[leafSize + elementRecordIds.length];
+        for (int i = 0; i < localIndex; i++) {
+            merged[i] = leaf.getElementRecordId(i);
+        }
+        System.arraycopy(elementRecordIds, 0, merged, localIndex, elementRecordIds.length);
+        for (int i = localIndex; i < leafSize; i++) {
+            merged[elementRecordIds.length + i] = leaf.getElementRecordId(i);
+        }
+
+        packLeaves(merged, nodes, counts);
+        return new StatelessInsertResult(
+            spliceIntoParents(path, nodes, counts, elementRecordIds.length));
+    }
+
+    /**
+     * 지정된 root에서 [fromIndex, toIndex) 구간의 요소를 삭제하고 새 root를 반환합니다.
+     * COW 방식으로 기존 트리는 변경되지 않습니다.
+     *
+     * <p>구간에 완전히 포함되는 서브트리는 읽지 않고 통째로 떼어내고, 구간의
+     * 양 끝을 지나는 두 경계 경로의 노드만 새로 만들며 subtreeCount를 갱신합니다.
+     * 경계에서 얇아진 노드는 인접 형제와 병합/재분배합니다. 삭제 개수와 무관하게
+     * O(log n)개의 노드만 다시 씁니다.</p>
+     *
+     * @param rootPageId 현재 root page ID
+     * @param fromIndex 삭제 시작 인덱스 (포함)
+     * @param toIndex 삭제 끝 인덱스 (제외)
+     * @return 새 root page ID (빈 트리면 0)
+     * @throws IndexOutOfBoundsException 구간이 범위를 벗어난 경우
+     * @since 0.10
+     */
+    public long removeRangeWithRoot(long rootPageId, int fromIndex, int toIndex) {
+        int currentSize = sizeWithRoot(rootPageId);
+        if (fromIndex < 0 || toIndex > currentSize || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException(
+                "Range [" + fromIndex + ", " + toIndex + ") out of bounds for size " + currentSize);
+        }
+        if (fromIndex == toIndex) {
+            return rootPageId;
+        }
+        if (fromIndex == 0 && toIndex == currentSize) {
+            return 0L;
+        }
+
+        OSTNode newRoot = removeRangeFrom(loadNode(rootPageId), fromIndex, toIndex);
+
+        // 자식이 하나만 남은 루트 축소 (자식은 이미 저장됨)
+        if (newRoot.isLeaf() || ((OSTInternal) newRoot).getChildCount() > 1) {
+            return saveNode(newRoot);
+        }
+        long pageId = ((OSTInternal) newRoot).getChildPageId(0);
+        OSTNode node = loadNode(pageId);
+        while (!node.isLeaf() && ((OSTInternal) node).getChildCount() == 1) {
+            pageId = ((OSTInternal) node).getChildPageId(0);
+            node = loadNode(pageId);
+        }
+        return pageId;
     }
 
     // ==================== Legacy API (Stateful) ====================
@@ -547,6 +759,48 @@ public class OST {
         this.rootPageId = result.newRootPageId;
         return result.removedRecordId;
     }
+
+    /**
+     * 끝에 요소를 추가합니다.
+     *
+     * <p>내부적으로 {@link #appendWithRoot(long, long)}를 호출합니다.</p>
+     *
+     * @param elementRecordId 추가할 요소의 RecordId
+     * @since 0.10
+     */
+    public void append(long elementRecordId) {
+        StatelessInsertResult result = appendWithRoot(rootPageId, elementRecordId);
+        this.rootPageId = result.newRootPageId;
+    }
+
+    /**
+     * 지정된 인덱스에 여러 요소를 한 번에 삽입합니다.
+     *
+     * <p>내부적으로 {@link #insertAllWithRoot(long, int, long[])}를 호출합니다.</p>
+     *
+     * @param index 삽입 위치 (0-based)
+     * @param elementRecordIds 삽입할 요소들의 RecordId
+     * @throws IndexOutOfBoundsException 인덱스가 범위를 벗어난 경우
+     * @since 0.10
+     */
+    public void insertAll(int index, long[] elementRecordIds) {
+        StatelessInsertResult result = insertAllWithRoot(rootPageId, index, elementRecordIds);
+        this.rootPageId = result.newRootPageId;
+    }
+
+    /**
+     * [fromIndex, toIndex) 구간의 요소를 삭제합니다.
+     *
+     * <p>내부적으로 {@link #removeRangeWithRoot(long, int, int)}를 호출합니다.</p>
+     *
+     * @param fromIndex 삭제 시작 인덱스 (포함)
+     * @param toIndex 삭제 끝 인덱스 (제외)
+     * @throws IndexOutOfBoundsException 구간이 범위를 벗어난 경우
+     * @since 0.10
+     */
+    public void removeRange(int fromIndex, int toIndex) {
+        this.rootPageId = removeRangeWithRoot(rootPageId, fromIndex, toIndex);
+    }
     
     /**
      * COW 전파 (subtreeCount 갱신 포함).
@@ -583,6 +837,153 @@ public class OST {
         return childPageId;
     }
     
+    /**
+     * 삭제 후 COW 전파 (병합/재분배 및 루트 축소 포함).
+     *
+     * <p>변경된 노드를 아직 저장하지 않은 채 경로를 거슬러 올라가며,
+     * underflow된 노드는 인접 형제와 병합(합쳐서 최대치 이하일 때)하거나
+     * 반씩 재분배합니다. 각 조상의 subtreeCount는 새 자식의 실제 크기로
+     * 갱신되므로 INV-7이 유지됩니다.</p>
+     *
+     * @param path 검색 경로
+     * @param changed 변경된 리프 (미저장)
+     * @return 새 루트 페이지 ID (빈 트리면 0)
+     */
+    private long rebalanceAndPropagate(List<OSTPathFrame> path, OSTNode changed) {
+        OSTNode current = changed;
+
+        for (int i = path.size() - 1; i >= 0; i--) {
+            OSTPathFrame frame = path.get(i);
+            OSTInternal parent = frame.node;
+            int childIndex = frame.childIndex;
+
+            List<Long> children = new ArrayList<>();
+            List<Integer> counts = new ArrayList<>();
+            for (int j = 0; j < parent.getChildCount(); j++) {
+                children.add(parent.getChildPageId(j));
+                counts.add(parent.getSubtreeCount(j));
+            }
+
+            if (isUnderflow(current) && parent.getChildCount() > 1) {
+                int leftIndex = childIndex > 0 ? childIndex - 1 : childIndex;
+                OSTNode left;
+                OSTNode right;
+                if (childIndex > 0) {
+                    left = loadNode(parent.getChildPageId(leftIndex));
+                    right = current;
+                } else {
+                    left = current;
+                    right = loadNode(parent.getChildPageId(childIndex + 1));
+                }
+
+                List<OSTNode> rebalanced = mergeOrRedistribute(left, right);
+
+                children.remove(leftIndex + 1);
+                counts.remove(leftIndex + 1);
+                children.set(leftIndex, saveNode(rebalanced.get(0)));
+                counts.set(leftIndex, rebalanced.get(0).subtreeCount());
+                if (rebalanced.size() == 2) {
+                    children.add(leftIndex + 1, saveNode(rebalanced.get(1)));
+                    counts.add(leftIndex + 1, rebalanced.get(1).subtreeCount());
+                }
+            } else {
+                children.set(childIndex, saveNode(current));
+                counts.set(childIndex, current.subtreeCount());
+            }
+
+            current = new OSTInternal(parent.getLevel(), children, counts);
+        }
+
+        // 루트 처리
+        if (current.isLeaf()) {
+            if (current.subtreeCount() == 0) {
+                return 0L; // 빈 트리
+            }
+        } else {
+            OSTInternal root = (OSTInternal) current;
+            if (root.getChildCount() == 1) {
+                // 자식이 하나만 남은 루트: 자식이 새 루트 (자식은 이미 저장됨)
+                return root.getChildPageId(0);
+            }
+        }
+        return saveNode(current);
+    }
+
+    private static boolean isUnderflow(OSTNode node) {
+        if (node.isLeaf()) {
+            return node.subtreeCount() < MIN_LEAF_ELEMENTS;
+        }
+        return ((OSTInternal) node).getChildCount() < MIN_INTERNAL_CHILDREN;
+    }
+
+    /**
+     * 인접한 두 형제 노드를 병합하거나 재분배합니다.
+     *
+     * @param left 왼쪽 노드
+     * @param right 오른쪽 노드
+     * @return 병합 시 노드 1개, 재분배 시 노드 2개 (미저장)
+     */
+    private static List<OSTNode> mergeOrRedistribute(OSTNode left, OSTNode right) {
+        List<OSTNode> result = new ArrayList<>(2);
+
+        if (left.isLeaf()) {
+            OSTLeaf leftLeaf = (OSTLeaf) left;
+            OSTLeaf rightLeaf = (OSTLeaf) right;
+            List<Long> all = new ArrayList<>(leftLeaf.subtreeCount() + rightLeaf.subtreeCount());
+            for (int i = 0; i < leftLeaf.subtreeCount(); i++) {
+                all.add(leftLeaf.getElementRecordId(i));
+            }
+            for (int i = 0; i < rightLeaf.subtreeCount(); i++) {
+                all.add(rightLeaf.getElementRecordId(i));
+            }
+
+            int splitPoint = all.size() <= MAX_LEAF_ELEMENTS ? all.size() : all.size() / 2;
+            OSTLeaf first = new OSTLeaf();
+            for (int i = 0; i < splitPoint; i++) {
+                first.addElement(all.get(i));
+            }
+            result.add(first);
+            if (splitPoint < all.size()) {
+                OSTLeaf second = new OSTLeaf();
+                for (int i = splitPoint; i < all.size(); i++) {
+                    second.addElement(all.get(i));
+                }
+                result.add(second);
+            }
+            return result;
+        }
+
+        OSTInternal leftInternal = (OSTInternal) left;
+        OSTInternal rightInternal = (OSTInternal) right;
+        List<Long> children = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        for (int i = 0; i < leftInternal.getChildCount(); i++) {
+            children.add(leftInternal.getChildPageId(i));
+            counts.add(leftInternal.getSubtreeCount(i));
+        }
+        for (int i = 0; i < rightInternal.getChildCount(); i++) {
+            children.add(rightInternal.getChildPageId(i));
+            counts.add(rightInternal.getSubtreeCount(i));
+        }
+
+        return splitInternals(leftInternal.getLevel(), children, counts);
+    }
+
+    /**
+     * 병합된 자식 목록을 내부 노드 1개(최대치 이하) 또는 반씩 나눈 2개로 만듭니다 (미저장).
+     */
+    private static List<OSTNode> splitInternals(int level, List<Long> children, List<Integer> counts) {
+        List<OSTNode> result = new ArrayList<>(2);
+        int splitPoint = children.size() <= MAX_INTERNAL_CHILDREN ? children.size() : children.size() / 2;
+        result.add(new OSTInternal(level, children.subList(0, splitPoint), counts.subList(0, splitPoint)));
+        if (splitPoint < children.size()) {
+            result.add(new OSTInternal(level,
+                    children.subList(splitPoint, children.size()),
+                    counts.subList(splitPoint, counts.size())));
+        }
+        return result;
+    }
+
     /**
      * 리프 분할을 동반한 삽입.
      * 
@@ -684,7 +1085,7 @@ public class OST {
         }
         
         // 부모에 공간 있는지 확인 (최대 128 자식)
-        if (newChildren.size() <= 128) {
+        if (newChildren.size() <= MAX_INTERNAL_CHILDREN) {
             OSTInternal newParent = new OSTInternal(parent.getLevel(), newChildren, newCounts);
             long newParentPageId = saveNode(newParent);
             
@@ -728,4 +1129,421 @@ public class OST {
         return insertIntoParent(path, leftPageId, leftInternal.subtreeCount(), 
                                rightPageId, rightInternal.subtreeCount());
     }
+
+    /**
+     * 삽입 위치를 포함하는 리프까지 하강하며 검색 경로를 수집합니다.
+     *
+     * <p>index가 마지막 자식 뒤를 가리키면(append) 가장 오른쪽 리프의 끝으로
+     * 향합니다. 리프 내 위치는 마지막 프레임의 localPosition(경로가 비었으면
+     * index)입니다.</p>
+     *
+     * @param rootPageId root page ID (0이 아님)
+     * @param index 삽입 위치
+     * @param path 수집할 검색 경로 (출력)
+     * @return 삽입 대상 리프
+     */
+    private OSTLeaf descendForInsert(long rootPageId, int index, List<OSTPathFrame> path) {
+        int remaining = index;
+        OSTNode node = loadNode(rootPageId);
+
+        while (!node.isLeaf()) {
+            OSTInternal internal = (OSTInternal) node;
+            int childCount = internal.getChildCount();
+            int targetChild = -1;
+            int accum = 0;
+
+            // 목표 인덱스를 포함하는 자식 찾기
+            for (int i = 0; i < childCount; i++) {
+                int count = internal.getSubtreeCount(i);
+                if (remaining < accum + count) {
+                    targetChild = i;
+                    remaining -= accum;
+                    break;
+                }
+                accum += count;
+            }
+
+            // 경계 케이스: 마지막 자식 뒤에 삽입 (append)
+            if (targetChild < 0) {
+                targetChild = childCount - 1;
+                remaining -= (accum - internal.getSubtreeCount(childCount - 1));
+            }
+
+            path.add(new OSTPathFrame(internal, targetChild, remaining));
+            node = loadNode(internal.getChildPageId(targetChild));
+        }
+
+        return (OSTLeaf) node;
+    }
+
+    /**
+     * 원소 배열을 균등하게 꽉 채운 리프들로 저장합니다.
+     *
+     * @param elements 원소 RecordId 배열 (1개 이상)
+     * @param pageIds 저장된 리프 페이지 ID (출력)
+     * @param counts 각 리프의 원소 수 (출력)
+     */
+    private void packLeaves(long[] elements, List<Long> pageIds, List<Integer> counts) {
+        int leafCount = (elements.length + MAX_LEAF_ELEMENTS - 1) / MAX_LEAF_ELEMENTS;
+        int base = elements.length / leafCount;
+        int extra = elements.length % leafCount;
+        int pos = 0;
+        for (int i = 0; i < leafCount; i++) {
+            int size = base + (i < extra ? 1 : 0);
+            OSTLeaf leaf = new OSTLeaf();
+            for (int j = 0; j < size; j++) {
+                leaf.addElement(elements[pos++]);
+            }
+            pageIds.add(saveNode(leaf));
+            counts.add(size);
+        }
+    }
+
+    /**
+     * 경로의 가장 아래 자식 자리를 여러 노드로 대체하며 루트까지 전파합니다.
+     *
+     * <p>{@link #insertIntoParent}의 일반화입니다. 한 부모에 들어가지 않으면
+     * 부모를 필요한 개수만큼 균등 분할하고, 루트 위로도 넘치면 새 레벨을
+     * 만듭니다. 노드가 하나로 모이면 나머지 경로는 카운트만 갱신합니다.</p>
+     *
+     * @param path 검색 경로 (비어 있으면 nodes가 최상위)
+     * @param nodes 대체할 노드 페이지 ID (저장됨)
+     * @param counts 각 노드의 subtreeCount
+     * @param countDelta 전체 원소 수 변화량
+     * @return 새 루트 페이지 ID
+     */
+    private long spliceIntoParents(List<OSTPathFrame> path, List<Long> nodes,
+                                   List<Integer> counts, int countDelta) {
+        int childLevel = 0;
+        for (int depth = path.size(); depth > 0; depth--) {
+            if (nodes.size() == 1) {
+                return propagateOstCow(path.subList(0, depth), nodes.get(0), countDelta);
+            }
+            OSTPathFrame frame = path.get(depth - 1);
+            OSTInternal parent = frame.node;
+
+            List<Long> children = new ArrayList<>(parent.getChildCount() + nodes.size());
+            List<Integer> childCounts = new ArrayList<>(parent.getChildCount() + nodes.size());
+            for (int i = 0; i < parent.getChildCount(); i++) {
+                if (i == frame.childIndex) {
+                    children.addAll(nodes);
+                    childCounts.addAll(counts);
+                } else {
+                    children.add(parent.getChildPageId(i));
+                    childCounts.add(parent.getSubtreeCount(i));
+                }
+            }
+
+            nodes = new ArrayList<>();
+            counts = new ArrayList<>();
+            packInternals(parent.getLevel(), children, childCounts, nodes, counts);
+            childLevel = parent.getLevel();
+        }
+
+        // 루트 위로 새 레벨 생성
+        while (nodes.size() > 1) {
+            List<Long> children = nodes;
+            List<Integer> childCounts = counts;
+            nodes = new ArrayList<>();
+            counts = new ArrayList<>();
+            packInternals(++childLevel, children, childCounts, nodes, counts);
+        }
+        return nodes.get(0);
+    }
+
+    /**
+     * 자식 목록을 최대 자식 수 이하의 내부 노드들로 균등 분할하여 저장합니다.
+     */
+    private void packInternals(int level, List<Long> children, List<Integer> counts,
+                               List<Long> pageIds, List<Integer> totals) {
+        int nodeCount = (children.size() + MAX_INTERNAL_CHILDREN - 1) / MAX_INTERNAL_CHILDREN;
+        int base = children.size() / nodeCount;
+        int extra = children.size() % nodeCount;
+        int pos = 0;
+        for (int i = 0; i < nodeCount; i++) {
+            int size = base + (i < extra ? 1 : 0);
+            OSTInternal internal = new OSTInternal(level,
+                    children.subList(pos, pos + size), counts.subList(pos, pos + size));
+            pageIds.add(saveNode(internal));
+            totals.add(internal.subtreeCount());
+            pos += size;
+        }
+    }
+
+    /**
+     * 노드에서 [from, to) 구간을 제거한 새 노드를 만듭니다 (미저장).
+     *
+     * <p>호출자는 노드가 구간에 부분적으로만 걸칠 때만 호출하므로 결과는
+     * 비어 있지 않습니다. 구간에 완전히 포함되는 자식은 로드하지 않고 버리고,
+     * 걸치는 자식(최대 2개)만 재귀적으로 처리한 뒤 underflow를 복구합니다.</p>
+     */
+    private OSTNode removeRangeFrom(OSTNode node, int from, int to) {
+        if (node.isLeaf()) {
+            OSTLeaf leaf = (OSTLeaf) node;
+            OSTLeaf newLeaf = new OSTLeaf();
+            for (int i = 0; i < leaf.subtreeCount(); i++) {
+                if (i < from || i >= to) {
+                    newLeaf.addElement(leaf.getElementRecordId(i));
+                }
+            }
+            return newLeaf;
+        }
+
+        OSTInternal internal = (OSTInternal) node;
+        List<Long> children = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        int firstTouched = -1;
+        int lastTouched = -1;
+        int start = 0;
+
+        for (int i = 0; i < internal.getChildCount(); i++) {
+            int count = internal.getSubtreeCount(i);
+            int end = start + count;
+            if (end <= from || start >= to) {
+                children.add(internal.getChildPageId(i));
+                counts.add(count);
+            } else if (start < from || end > to) {
+                // 경계 경로: 부분 삭제
+                OSTNode child = removeRangeFrom(loadNode(internal.getChildPageId(i)),
+                        Math.max(from, start) - start, Math.min(to, end) - start);
+                children.add(saveNode(child));
+                counts.add(child.subtreeCount());
+                if (firstTouched < 0) {
+                    firstTouched = children.size() - 1;
+                }
+                lastTouched = children.size() - 1;
+            }
+            // 그 외: 구간에 완전히 포함된 서브트리는 분리
+            start = end;
+        }
+
+        if (firstTouched >= 0) {
+            repairUnderflow(children, counts, firstTouched, lastTouched);
+        }
+        return new OSTInternal(internal.getLevel(), children, counts);
+    }
+
+    /**
+     * children[lo..hi] 중 underflow된 자식을 인접 형제와 병합/재분배합니다.
+     *
+     * <p>병합 결과가 여전히 부족하면 다음 형제와 다시 병합합니다. 자식이
+     * 하나뿐이면 상위 레벨에서 처리되도록 그대로 둡니다.</p>
+     */
+    private void repairUnderflow(List<Long> children, List<Integer> counts, int lo, int hi) {
+        int i = lo;
+        while (i <= hi && i < children.size() && children.size() > 1) {
+            OSTNode child = loadNode(children.get(i));
+            if (!isUnderflow(child)) {
+                i++;
+                continue;
+            }
+
+            int leftIndex = i > 0 ? i - 1 : i;
+            OSTNode left = leftIndex == i ? child : loadNode(children.get(leftIndex));
+            OSTNode right = leftIndex == i ? loadNode(children.get(i + 1)) : child;
+            List<OSTNode> rebalanced = mergeAndRepair(left, right);
+
+            children.remove(leftIndex + 1);
+            counts.remove(leftIndex + 1);
+            children.set(leftIndex, saveNode(rebalanced.get(0)));
+            counts.set(leftIndex, rebalanced.get(0).subtreeCount());
+            if (rebalanced.size() == 2) {
+                children.add(leftIndex + 1, saveNode(rebalanced.get(1)));
+                counts.add(leftIndex + 1, rebalanced.get(1).subtreeCount());
+            } else {
+                hi--;
+            }
+            // 병합된 노드부터 다시 검사
+            i = leftIndex;
+            hi = Math.max(hi, leftIndex);
+        }
+    }
+
+    /**
+     * 두 형제를 병합/재분배하되, 내부 노드이면 이음새 양쪽 자식의 underflow도 복구합니다.
+     *
+     * <p>범위 삭제의 경계 경로는 여러 레벨에 걸쳐 얇아질 수 있어, 상위에서
+     * 병합한 뒤 이음새에 모인 얇은 자식들을 한 레벨 아래에서 다시 흡수합니다.</p>
+     */
+    private List<OSTNode> mergeAndRepair(OSTNode left, OSTNode right) {
+        if (left.isLeaf()) {
+            return mergeOrRedistribute(left, right);
+        }
+
+        OSTInternal leftInternal = (OSTInternal) left;
+        OSTInternal rightInternal = (OSTInternal) right;
+        List<Long> children = new ArrayList<>();
+        List<Integer> counts = new ArrayList<>();
+        for (int i = 0; i < leftInternal.getChildCount(); i++) {
+            children.add(leftInternal.getChildPageId(i));
+            counts.add(leftInternal.getSubtreeCount(i));
+        }
+        for (int i = 0; i < rightInternal.getChildCount(); i++) {
+            children.add(rightInternal.getChildPageId(i));
+            counts.add(rightInternal.getSubtreeCount(i));
+        }
+
+        int seam = leftInternal.getChildCount();
+        repairUnderflow(children, counts, seam - 1, seam);
+        return splitInternals(leftInternal.getLevel(), children, counts);
+    }
+
+    // ==================== 페이지 순회/재배치 (온라인 컴팩션, v0.10) ====================
+
+    /**
+     * 트리가 참조하는 모든 페이지를 순회합니다.
+     *
+     * <p>노드는 페이지 번호(오프셋 / pageSize)로, 리프 슬롯은 저장된 값 그대로
+     * 전달합니다.</p>
+     *
+     * @param rootPageId 루트 노드 ID (0이면 빈 트리)
+     * @param nodePages 노드 페이지 번호 소비자
+     * @param values 리프 슬롯 값 소비자 (null이면 전달하지 않음)
+     * @since 0.10
+     */
+    public void forEachPageWithRoot(long rootPageId, java.util.function.LongConsumer nodePages,
+                                    java.util.function.LongConsumer values) {
+        walkWithRoot(rootPageId, pageNo -> {
+            nodePages.accept(pageNo);
+            return true;
+        }, values);
+    }
+
+    /**
+     * 선택한 노드만 내려가며 페이지를 순회합니다.
+     *
+     * <p>{@link com.snoworca.fxstore.btree.BTree#walkWithRoot}와 같은 규칙이며,
+     * descend에는 노드 ID(오프셋)가 아닌 페이지 번호를 전달합니다.</p>
+     *
+     * @param rootPageId 루트 노드 ID (0이면 빈 트리)
+     * @param descend 노드 페이지 번호 → 읽고 내려갈지 여부
+     * @param values 리프 슬롯 값 소비자 (null이면 전달하지 않음)
+     * @since 0.10
+     */
+    public void walkWithRoot(long rootPageId, java.util.function.LongPredicate descend,
+                             java.util.function.LongConsumer values) {
+        if (rootPageId == 0L || !descend.test(rootPageId / pageSize)) {
+            return;
+        }
+        OSTNode node = loadNode(rootPageId);
+        if (node.isLeaf()) {
+            if (values != null) {
+                OSTLeaf leaf = (OSTLeaf) node;
+                for (int i = 0; i < leaf.subtreeCount(); i++) {
+                    values.accept(leaf.getValueRef(i));
+                }
+            }
+            return;
+        }
+        OSTInternal internal = (OSTInternal) node;
+        for (int i = 0; i < internal.getChildCount(); i++) {
+            walkWithRoot(internal.getChildPageId(i), descend, values);
+        }
+    }
+
+    /**
+     * 경계 이상의 페이지를 경계 아래로 옮긴 트리를 만들고 새 root를 반환합니다.
+     * (Stateless, Write Lock 하에서만 호출)
+     *
+     * <p>{@link com.snoworca.fxstore.btree.BTree#relocateWithRoot}와 같은 규칙을
+     * 따르며, 노드 ID(오프셋)는 페이지 번호로 바꿔 경계와 비교합니다.</p>
+     *
+     * @param rootPageId 현재 루트 노드 ID (0이면 빈 트리)
+     * @param relocation 재배치 작업 상태
+     * @param valueMover 요소 레코드 ID → 옮긴 레코드 ID (null이면 슬롯이 인라인 값)
+     * @return 새 root page ID (바뀐 것이 없으면 rootPageId)
+     * @since 0.10
+     */
+    public long relocateWithRoot(long rootPageId, com.snoworca.fxstore.storage.PageRelocation relocation,
+                                 java.util.function.LongUnaryOperator valueMover) {
+        if (rootPageId == 0L || relocation.isClean(rootPageId / pageSize) || relocation.isExhausted()) {
+            return rootPageId;
+        }
+        return relocateNode(rootPageId, relocation, valueMover);
+    }
+
+    private long relocateNode(long nodeId, com.snoworca.fxstore.storage.PageRelocation relocation,
+                              java.util.function.LongUnaryOperator valueMover) {
+        OSTNode node = loadNode(nodeId);
+        boolean changed = false;
+        boolean complete = true;
+
+        if (node.isLeaf()) {
+            OSTLeaf leaf = (OSTLeaf) node;
+            for (int i = 0; valueMover != null && i < leaf.subtreeCount(); i++) {
+                long value = leaf.getValueRef(i);
+                if (relocation.isExhausted()) {
+                    complete = false;
+                    break;
+                }
+                long moved = valueMover.applyAsLong(value);
+                if (moved != value) {
+                    leaf.setValueRef(i, moved);
+                    changed = true;
+                }
+                complete &= !relocation.needsMove(moved);
+            }
+        } else {
+            OSTInternal internal = (OSTInternal) node;
+            for (int i = 0; i < internal.getChildCount(); i++) {
+                long child = internal.getChildPageId(i);
+                if (relocation.isClean(child / pageSize)) {
+                    continue;
+                }
+                if (relocation.isExhausted()) {
+                    complete = false;
+                    continue;
+                }
+                long moved = relocateNode(child, relocation, valueMover);
+                if (moved != child) {
+                    internal.setChild(i, moved);
+                    changed = true;
+                }
+                complete &= relocation.isClean(moved / pageSize);
+            }
+        }
+
+        if (changed || relocation.needsMove(nodeId / pageSize)) {
+            nodeId = saveNode(node);
+            relocation.charge();
+        }
+        if (complete) {
+            relocation.markClean(nodeId / pageSize);
+        }
+        return nodeId;
+    }
+
+    /**
+     * 루트에서 가장 오른쪽 리프까지의 경로를 읽습니다.
+     */
+    private RightEdge loadRightEdge(long rootPageId) {
+        List<OSTInternal> path = new ArrayList<>();
+        OSTNode node = loadNode(rootPageId);
+        while (!node.isLeaf()) {
+            OSTInternal internal = (OSTInternal) node;
+            path.add(internal);
+            node = loadNode(internal.getChildPageId(internal.getChildCount() - 1));
+        }
+        return new RightEdge(rootPageId, path.toArray(new OSTInternal[0]), (OSTLeaf) node,
+            allocator.getReuseGeneration());
+    }
+
+    /**
+     * 오른쪽 끝 경로 스냅샷 (불변)
+     */
+    private static final class RightEdge {
+        final long rootPageId;
+        /** 루트부터 리프 부모까지의 내부 노드 */
+        final OSTInternal[] path;
+        final OSTLeaf leaf;
+        /** 생성 시점의 빈 페이지 재사용 세대 (다르면 같은 root ID가 다른 트리일 수 있음) */
+        final long generation;
+
+        RightEdge(long rootPageId, OSTInternal[] path, OSTLeaf leaf, long generation) {
+            this.rootPageId = rootPageId;
+            this.path = path;
+            this.leaf = leaf;
+            this.generation = generation;
+        }
+    }
 }
@@ -0,0 +1,196 @@
+package com.snoworca.fxstore.ost;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.NoSuchElementException;
+
+/**
+ * OST 양방향 순회 Cursor
+ *
+ * <p>시작 인덱스까지 루트에서 한 번만 하강한 뒤, 경로 스택을 이용해
+ * 인접 리프로 순차 이동합니다. 요소마다 루트에서 다시 하강하지 않으므로
+ * 전체 순회 비용은 O(n)이고, 메모리는 트리 높이만큼의 경로만 유지합니다.</p>
+ *
+ * <p>COW 트리에서는 리프의 nextLeaf 링크가 최신이 아닐 수 있으므로
+ * {@link com.snoworca.fxstore.btree.BTreeCursor}와 같이 경로 스택 기반으로
+ * 형제 리프를 찾습니다.</p>
+ *
+ * <p>생성 시 지정한 rootPageId에 고정되므로 순회 중 원본 리스트가 변경되어도
+ * 생성 시점의 스냅샷을 일관되게 반환합니다.</p>
+ *
+ * <p>커서 위치는 {@link java.util.ListIterator}와 같이 두 요소 사이를 가리킵니다.</p>
+ *
+ * @since 0.10
+ */
+public class OSTCursor {
+
+    private final OST ost;
+    private final int size;
+
+    /** 경로 스택 (루트에 가까운 프레임이 아래쪽) */
+    private final Deque<StackEntry> traversalStack;
+
+    private OSTLeaf currentLeaf;
+    /** currentLeaf 내 위치 (다음에 반환할 요소의 인덱스) */
+    private int leafPosition;
+    /** 전체 리스트 기준 다음 인덱스 */
+    private int nextIndex;
+
+    /**
+     * 생성자
+     *
+     * @param ost OST
+     * @param rootPageId 고정할 루트 페이지 ID (0이면 빈 트리)
+     * @param index 시작 위치 (0 ~ size)
+     * @throws IndexOutOfBoundsException 인덱스가 범위를 벗어난 경우
+     */
+    OSTCursor(OST ost, long rootPageId, int index) {
+        this.ost = ost;
+        this.traversalStack = new ArrayDeque<>();
+
+        if (rootPageId == 0L) {
+            this.size = 0;
+        } else {
+            OSTNode root = ost.loadNode(rootPageId);
+            this.size = root.subtreeCount();
+            if (index >= 0 && index <= size) {
+                descendTo(root, index);
+            }
+        }
+
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        this.nextIndex = index;
+    }
+
+    /**
+     * 순회 대상 요소 개수 (고정된 스냅샷 기준)
+     */
+    public int size() {
+        return size;
+    }
+
+    public boolean hasNext() {
+        return nextIndex < size;
+    }
+
+    public boolean hasPrevious() {
+        return nextIndex > 0;
+    }
+
+    public int nextIndex() {
+        return nextIndex;
+    }
+
+    public int previousIndex() {
+        return nextIndex - 1;
+    }
+
+    /**
+     * 다음 요소의 RecordId를 반환하고 커서를 전진시킵니다.
+     */
+    public long next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException("No more elements");
+        }
+        while (leafPosition >= currentLeaf.getValueCount()) {
+            currentLeaf = siblingLeaf(true);
+            leafPosition = 0;
+        }
+        nextIndex++;
+        return currentLeaf.getElementRecordId(leafPosition++);
+    }
+
+    /**
+     * 이전 요소의 RecordId를 반환하고 커서를 후퇴시킵니다.
+     */
+    public long previous() {
+        if (!hasPrevious()) {
+            throw new NoSuchElementException("No previous element");
+        }
+        while (leafPosition == 0) {
+            currentLeaf = siblingLeaf(false);
+            leafPosition = currentLeaf.getValueCount();
+        }
+        nextIndex--;
+        return currentLeaf.getElementRecordId(--leafPosition);
+    }
+
+    /**
+     * 루트에서 index 위치까지 하강하며 경로 스택 구성
+     *
+     * <p>index == size인 경우 마지막 리프의 끝에 위치합니다.</p>
+     */
+    private void descendTo(OSTNode root, int index) {
+        OSTNode node = root;
+        int remaining = index;
+
+        while (!node.isLeaf()) {
+            OSTInternal internal = (OSTInternal) node;
+            int childCount = internal.getChildCount();
+            int target = childCount - 1;
+            for (int i = 0; i < childCount - 1; i++) {
+                int count = internal.getSubtreeCount(i);
+                if (remaining < count) {
+                    target = i;
+                    break;
+                }
+                remaining -= count;
+            }
+            traversalStack.push(new StackEntry(internal, target));
+            node = ost.loadNode(internal.getChildPageId(target));
+        }
+
+        currentLeaf = (OSTLeaf) node;
+        leafPosition = remaining;
+    }
+
+    /**
+     * 경로 스택을 이용해 인접 리프로 이동
+     *
+     * @param forward true면 오른쪽, false면 왼쪽 형제
+     * @return 인접 리프
+     */
+    private OSTLeaf siblingLeaf(boolean forward) {
+        // 이동 가능한 형제가 있는 가장 가까운 레벨 찾기
+        while (!traversalStack.isEmpty()) {
+            StackEntry entry = traversalStack.peek();
+            int sibling = forward ? entry.childIndex + 1 : entry.childIndex - 1;
+            if (sibling >= 0 && sibling < entry.internal.getChildCount()) {
+                entry.childIndex = sibling;
+                return descendToEdge(entry.internal.getChildPageId(sibling), forward);
+            }
+            traversalStack.pop();
+        }
+        // hasNext()/hasPrevious()로 보호되므로 도달하지 않음
+        throw new IllegalStateException("OST cursor ran past tree boundary");
+    }
+
+    /**
+     * 서브트리의 가장 왼쪽(forward) 또는 가장 오른쪽 리프까지 하강
+     */
+    private OSTLeaf descendToEdge(long pageId, boolean leftmost) {
+        OSTNode node = ost.loadNode(pageId);
+        while (!node.isLeaf()) {
+            OSTInternal internal = (OSTInternal) node;
+            int child = leftmost ? 0 : internal.getChildCount() - 1;
+            traversalStack.push(new StackEntry(internal, child));
+            node = ost.loadNode(internal.getChildPageId(child));
+        }
+        return (OSTLeaf) node;
+    }
+
+    /**
+     * 스택 엔트리 (internal 노드와 현재 child index)
+     */
+    private static class StackEntry {
+        final OSTInternal internal;
+        int childIndex;
+
+        StackEntry(OSTInternal internal, int childIndex) {
+            this.internal = internal;
+            this.childIndex = childIndex;
+        }
+    }
+}
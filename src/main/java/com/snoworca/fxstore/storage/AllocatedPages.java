@@ -0,0 +1,139 @@
+package com.snoworca.fxstore.storage;
+
+import java.util.Arrays;
+
+/**
+ * 한 커밋 구간 동안 할당되거나 바뀐 페이지 집합 (live 페이지 집계, 증분 백업, v0.10)
+ *
+ * <p>{@link Allocator#drainAllocationLog()}가 반환합니다. 할당 구간을 시작
+ * 페이지 순으로 정렬해 두고 이진 탐색으로 포함 여부를 판단하므로, 크기는 할당
+ * 횟수가 아니라 불연속 구간 수에 비례합니다.</p>
+ *
+ * <p>스레드 안전성: 불변</p>
+ *
+ * @since 0.10
+ */
+public final class AllocatedPages {
+
+    /** 빈 집합 */
+    public static final AllocatedPages EMPTY = new AllocatedPages(new long[0], 0);
+
+    /** 시작 페이지 (오름차순) */
+    private final long[] starts;
+
+    /** starts[i]에서 시작하는 구간의 끝 (미포함) */
+    private final long[] ends;
+
+    /**
+     * @param log (시작 페이지, 페이지 수) 쌍 배열
+     * @param length 사용 중인 long 수 (짝수)
+     */
+    AllocatedPages(long[] log, int length) {
+        int runs = length / 2;
+        long[][] pairs = new long[runs][];
+        for (int i = 0; i < runs; i++) {
+            pairs[i] = new long[] {log[i * 2], log[i * 2] + log[i * 2 + 1]};
+        }
+        Arrays.sort(pairs, (a, b) -> Long.compare(a[0], b[0]));
+
+        // 겹치거나 맞닿은 구간 병합 (구간 할당자가 예약한 뒤 남겨 빈 페이지로
+        // 등록된 페이지는 다시 할당되어 두 번 기록될 수 있음)
+        long[] mergedStarts = new long[runs];
+        long[] mergedEnds = new long[runs];
+        int n = 0;
+        for (long[] pair : pairs) {
+            if (n > 0 && pair[0] <= mergedEnds[n - 1]) {
+                mergedEnds[n - 1] = Math.max(mergedEnds[n - 1], pair[1]);
+            } else {
+                mergedStarts[n] = pair[0];
+                mergedEnds[n] = pair[1];
+                n++;
+            }
+        }
+        this.starts = Arrays.copyOf(mergedStarts, n);
+        this.ends = Arrays.copyOf(mergedEnds, n);
+    }
+
+    /**
+     * 페이지가 이 구간 동안 할당되었는지 여부
+     *
+     * @param pageId 페이지 번호
+     * @return 할당되었으면 true
+     */
+    public boolean contains(long pageId) {
+        int index = Arrays.binarySearch(starts, pageId);
+        if (index >= 0) {
+            return true;
+        }
+        int before = -index - 2;
+        return before >= 0 && pageId < ends[before];
+    }
+
+    /**
+     * 할당이 없었는지 여부
+     */
+    public boolean isEmpty() {
+        return starts.length == 0;
+    }
+
+    /**
+     * 불연속 구간 수
+     */
+    public int runCount() {
+        return starts.length;
+    }
+
+    /**
+     * i번째 구간의 시작 페이지
+     */
+    public long runStart(int index) {
+        return starts[index];
+    }
+
+    /**
+     * i번째 구간의 끝 페이지 (미포함)
+     */
+    public long runEnd(int index) {
+        return ends[index];
+    }
+
+    /**
+     * 구간 목록으로 집합 생성
+     *
+     * @param startPages 구간 시작 페이지
+     * @param endPages 구간 끝 페이지 (미포함)
+     * @return 겹치거나 맞닿은 구간을 병합한 집합
+     * @since 0.10
+     */
+    public static AllocatedPages of(long[] startPages, long[] endPages) {
+        long[] log = new long[startPages.length * 2];
+        for (int i = 0; i < startPages.length; i++) {
+            log[i * 2] = startPages[i];
+            log[i * 2 + 1] = endPages[i] - startPages[i];
+        }
+        return log.length == 0 ? EMPTY : new AllocatedPages(log, log.length);
+    }
+
+    /**
+     * 여러 집합의 합집합
+     *
+     * @param sets 페이지 집합
+     * @return 겹치거나 맞닿은 구간을 병합한 합집합
+     * @since 0.10
+     */
+    public static AllocatedPages union(java.util.Collection<AllocatedPages> sets) {
+        int total = 0;
+        for (AllocatedPages pages : sets) {
+            total += pages.starts.length;
+        }
+        long[] log = new long[total * 2];
+        int n = 0;
+        for (AllocatedPages pages : sets) {
+            for (int i = 0; i < pages.starts.length; i++) {
+                log[n++] = pages.starts[i];
+                log[n++] = pages.ends[i] - pages.starts[i];
+            }
+        }
+        return n == 0 ? EMPTY : new AllocatedPages(log, n);
+    }
+}
@@ -38,7 +38,7 @@ package com.snoworca.fxstore.storage;
  * @since 1.0
  * @see com.snoworca.fxstore.core.StoreSnapshot
  */
-public class Allocator {
+public class Allocator implements PageAllocator {
 
     /** 유효한 페이지 크기 */
     private static final int[] VALID_PAGE_SIZES = {4096, 8192, 16384};
@@ -65,6 +65,37 @@ public class Allocator {
     /** BATCH 모드(pending) 활성화 여부 - Legacy */
     private boolean pendingActive;
 
+    // ============================================================
+    // 빈 페이지 재사용 (온라인 컴팩션, v0.10)
+    // ============================================================
+
+    /** 재사용할 빈 페이지 번호 (오름차순) */
+    private long[] freePages = new long[0];
+
+    /** 다음에 꺼낼 freePages 위치 */
+    private int freeIndex;
+
+    /** allocTail 뒤에 덧붙여 할당한 페이지 수 (누적) */
+    private long appendedPages;
+
+    /**
+     * 빈 페이지 목록 교체 횟수
+     *
+     * <p>페이지 ID를 키로 쓰는 캐시(루트 ID 등)는 이 값이 바뀌면 같은 ID가
+     * 다른 내용을 가리킬 수 있으므로 무효화해야 합니다.</p>
+     */
+    private volatile long reuseGeneration;
+
+    // ============================================================
+    // 할당 기록 (live 페이지 집계, v0.10)
+    // ============================================================
+
+    /** 기록 중인 할당 구간, null이면 기록하지 않음 */
+    private PageLog allocationLog;
+
+    /** 기록 중인 제자리 쓰기 구간 (백업 변경 추적), null이면 기록하지 않음 */
+    private PageLog inPlaceWriteLog;
+
     /**
      * Allocator 생성자
      *
@@ -207,9 +238,18 @@ public class Allocator {
      *
      * @return 할당된 페이지의 오프셋
      * @throws IllegalStateException allocTail 오버플로우 발생 시
+     * <p>{@link #installFreePages(long[])}로 등록한 빈 페이지가 남아 있으면
+     * 낮은 번호부터 재사용하고, 없으면 allocTail 뒤에 덧붙입니다.</p>
+     *
      * @deprecated Phase 8에서는 {@link #allocatePage(long)} 사용 권장
      */
     public long allocatePage() {
+        if (freeIndex < freePages.length) {
+            long pageId = freePages[freeIndex++];
+            logAllocation(pageId, 1);
+            return pageId * pageSize;
+        }
+
         long aligned = alignUp(currentAllocTail, pageSize);
         long newTail = aligned + pageSize;
 
@@ -221,6 +261,8 @@ public class Allocator {
         }
 
         currentAllocTail = newTail;
+        appendedPages++;
+        logAllocation(aligned / pageSize, 1);
 
         // Pending 모드가 아니면 즉시 커밋
         if (!pendingActive) {
@@ -344,6 +386,271 @@ public class Allocator {
         return pendingActive;
     }
 
+    // ============================================================
+    // 빈 페이지 재사용 API (온라인 컴팩션, v0.10)
+    // ============================================================
+
+    /**
+     * 연속된 여러 페이지 할당 (Legacy, 상태 기반)
+     *
+     * <p>한 페이지보다 큰 값 레코드용입니다. 빈 페이지는 연속성이 보장되지
+     * 않으므로 2페이지 이상은 항상 allocTail 뒤에 덧붙입니다.</p>
+     *
+     * @param count 페이지 수 (1 이상)
+     * @return 첫 페이지의 오프셋
+     * @since 0.10
+     */
+    @Override
+    public long allocatePages(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        if (count == 1) {
+            return allocatePage();
+        }
+
+        long aligned = alignUp(currentAllocTail, pageSize);
+        long newTail = aligned + (long) pageSize * count;
+        if (aligned > OVERFLOW_THRESHOLD || newTail < aligned) {
+            throw new IllegalStateException(
+                "Allocation overflow: cannot allocate " + count + " pages at offset " + aligned
+            );
+        }
+
+        currentAllocTail = newTail;
+        appendedPages += count;
+        logAllocation(aligned / pageSize, count);
+        if (!pendingActive) {
+            committedAllocTail = newTail;
+        }
+        return aligned;
+    }
+
+    /**
+     * 재사용할 빈 페이지 목록 등록 (기존 목록 대체)
+     *
+     * <p>등록된 페이지는 어떤 스냅샷이나 커밋 헤더, 진행 중인 읽기에서도
+     * 참조되지 않는다는 것을 호출자가 보장해야 합니다. 각 페이지는 한 번만
+     * 할당됩니다. 쓰기 락 하에서만 호출해야 합니다.</p>
+     *
+     * @param pageIds 빈 페이지 번호 (오름차순, allocTail 미만)
+     * @since 0.10
+     */
+    public void installFreePages(long[] pageIds) {
+        this.freePages = pageIds.clone();
+        this.freeIndex = 0;
+        this.reuseGeneration++;
+    }
+
+    /**
+     * 할당했지만 쓰지 않은 페이지 반환 (기존 빈 페이지 목록 대체)
+     *
+     * <p>allocTail 바로 앞까지 이어진 페이지는 allocTail을 되돌려 회수하고, 나머지는
+     * {@link #installFreePages(long[])}처럼 빈 페이지로 등록합니다. 반환한 페이지가
+     * 기록된 적이 없고 어디서도 참조되지 않는다는 것을 호출자가 보장해야 합니다.
+     * 쓰기 락 하에서만 호출해야 합니다.</p>
+     *
+     * @param pageIds 반환할 페이지 번호 (오름차순, allocTail 미만)
+     * @since 0.10
+     */
+    public void reclaimPages(long[] pageIds) {
+        long tailPage = currentAllocTail / pageSize;
+        int keep = pageIds.length;
+        while (keep > 0 && pageIds[keep - 1] == tailPage - 1) {
+            keep--;
+            tailPage--;
+        }
+        if (keep < pageIds.length) {
+            rewindTail(tailPage * pageSize);
+        }
+        installFreePages(java.util.Arrays.copyOf(pageIds, keep));
+    }
+
+    /**
+     * 남은 빈 페이지 목록 폐기 (이후 할당은 모두 덧붙이기)
+     *
+     * @since 0.10
+     */
+    public void clearFreePages() {
+        this.freePages = new long[0];
+        this.freeIndex = 0;
+    }
+
+    /**
+     * 아직 할당되지 않은 빈 페이지 수
+     *
+     * @return 남은 빈 페이지 수
+     * @since 0.10
+     */
+    public int getFreePageCount() {
+        return freePages.length - freeIndex;
+    }
+
+    /**
+     * allocTail 뒤에 덧붙여 할당한 페이지 수 (누적)
+     *
+     * <p>두 시점의 값이 같으면 그 사이의 모든 페이지 할당이 빈 페이지
+     * 재사용으로 처리된 것입니다.</p>
+     *
+     * @return 누적 덧붙이기 할당 수
+     * @since 0.10
+     */
+    public long getAppendedPageCount() {
+        return appendedPages;
+    }
+
+    /**
+     * 빈 페이지 목록 교체 횟수
+     *
+     * <p>페이지 ID를 키로 하는 캐시는 생성 시점의 값과 다르면 항목을 버려야 합니다.</p>
+     *
+     * @return 교체 횟수
+     * @since 0.10
+     */
+    @Override
+    public long getReuseGeneration() {
+        return reuseGeneration;
+    }
+
+    /**
+     * allocTail을 낮춤 (파일 끝 회수)
+     *
+     * <p>INV-9의 컴팩션 예외입니다. newTail 이상 영역에 살아 있는 페이지가 없고
+     * 진행 중인 읽기도 없다는 것을 호출자가 보장해야 합니다. 남은 빈 페이지 중
+     * newTail 이상인 것은 버립니다.</p>
+     *
+     * @param newTail 새 allocTail
+     * @throws IllegalArgumentException newTail이 음수이거나 현재 allocTail보다 큰 경우
+     * @since 0.10
+     */
+    public void rewindTail(long newTail) {
+        if (newTail < 0 || newTail > currentAllocTail) {
+            throw new IllegalArgumentException(
+                "newTail must be in [0, " + currentAllocTail + "], but was: " + newTail);
+        }
+        int end = freePages.length;
+        while (end > freeIndex && freePages[end - 1] * pageSize >= newTail) {
+            end--;
+        }
+        if (end < freePages.length) {
+            freePages = java.util.Arrays.copyOf(freePages, end);
+        }
+        currentAllocTail = newTail;
+        committedAllocTail = newTail;
+    }
+
+    /**
+     * allocTail을 주어진 값으로 맞춤 (복제 Store)
+     *
+     * <p>복제 Store는 페이지를 직접 할당하지 않고 리더의 CommitHeader를 그대로
+     * 적용하므로, 그 allocTail로 현재/커밋된 값을 함께 바꾸고 빈 페이지를 버립니다.</p>
+     *
+     * @param newTail 새 allocTail
+     * @since 0.10
+     */
+    public void syncTail(long newTail) {
+        if (newTail < 0) {
+            throw new IllegalArgumentException("newTail must be non-negative: " + newTail);
+        }
+        clearFreePages();
+        currentAllocTail = newTail;
+        committedAllocTail = newTail;
+    }
+
+    /**
+     * 페이지 할당 기록 시작 (이미 기록 중이면 기존 기록 폐기)
+     *
+     * <p>이후 {@link #allocatePage()}와 {@link #allocatePages(int)}로 할당한 페이지를
+     * {@link #drainAllocationLog()}까지 기록합니다. 커밋 사이에 새로 쓴 페이지를
+     * 구분하는 live 페이지 집계용입니다.</p>
+     *
+     * @since 0.10
+     */
+    public void startAllocationLog() {
+        this.allocationLog = new PageLog();
+        this.inPlaceWriteLog = new PageLog();
+    }
+
+    /**
+     * 지금까지 기록한 할당을 반환하고 기록을 비움
+     *
+     * @return 기록된 페이지 집합 (기록 중이 아니면 빈 집합)
+     * @since 0.10
+     */
+    public AllocatedPages drainAllocationLog() {
+        return allocationLog == null ? AllocatedPages.EMPTY : allocationLog.drain();
+    }
+
+    /**
+     * 이미 할당된 페이지에 제자리로 쓴 것을 기록
+     *
+     * <p>세그먼트 링의 제자리 슬롯 쓰기처럼 새 페이지를 할당하지 않고 기존 페이지
+     * 내용을 바꿀 때 호출합니다. live 페이지 집계와 무관하며 증분 백업의 변경
+     * 페이지 추적에만 쓰입니다. {@link #startAllocationLog()} 이후에만 기록합니다.</p>
+     *
+     * @param pageId 페이지 번호
+     * @since 0.10
+     */
+    public void logInPlaceWrite(long pageId) {
+        if (inPlaceWriteLog != null) {
+            inPlaceWriteLog.add(pageId, 1);
+        }
+    }
+
+    /**
+     * 지금까지 기록한 제자리 쓰기를 반환하고 기록을 비움
+     *
+     * @return 기록된 페이지 집합 (기록 중이 아니면 빈 집합)
+     * @since 0.10
+     */
+    public AllocatedPages drainInPlaceWriteLog() {
+        return inPlaceWriteLog == null ? AllocatedPages.EMPTY : inPlaceWriteLog.drain();
+    }
+
+    private void logAllocation(long pageId, int count) {
+        if (allocationLog != null) {
+            allocationLog.add(pageId, count);
+        }
+    }
+
+    /**
+     * 페이지 구간 기록 (시작 페이지, 페이지 수 쌍)
+     */
+    private static final class PageLog {
+        private long[] log = new long[16];
+        private int size;
+
+        void add(long pageId, int count) {
+            // 바로 앞 구간에 이어지거나 같은 페이지면 합침 (덧붙이기 할당은 대부분 연속)
+            if (size > 0) {
+                long start = log[size - 2];
+                long end = start + log[size - 1];
+                if (end == pageId) {
+                    log[size - 1] += count;
+                    return;
+                }
+                if (start <= pageId && pageId + count <= end) {
+                    return;
+                }
+            }
+            if (size == log.length) {
+                log = java.util.Arrays.copyOf(log, size * 2);
+            }
+            log[size++] = pageId;
+            log[size++] = count;
+        }
+
+        AllocatedPages drain() {
+            if (size == 0) {
+                return AllocatedPages.EMPTY;
+            }
+            AllocatedPages pages = new AllocatedPages(log, size);
+            this.log = new long[16];
+            this.size = 0;
+            return pages;
+        }
+    }
+
     // ============================================================
     // 유틸리티 메서드
     // ============================================================
@@ -0,0 +1,175 @@
+package com.snoworca.fxstore.storage;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 작업별 페이지 구간(extent) 할당자 (병렬 컴팩션, v0.10)
+ *
+ * <p>여러 스레드가 한 파일에 동시에 트리를 쓸 때, 각 스레드는 자기 ExtentAllocator로
+ * 페이지를 할당합니다 ({@link PageAllocator}). 공유 할당자에서는 {@link Pool}을 통해 연속 페이지 구간을
+ * 통째로 예약하고, 구간 안의 페이지는 잠금 없이 차례로 나눠 줍니다.</p>
+ *
+ * <h3>남은 구간</h3>
+ * <p>작업이 끝나면 {@link #release()}로 다 쓰지 못한 구간을 풀에 돌려주고, 다음
+ * 작업이 먼저 가져갑니다. 모든 작업이 끝난 뒤 남은 페이지는
+ * {@link Pool#drainSparePages()}로 꺼내 {@link Allocator#reclaimPages(long[])}로
+ * 공유 할당자에 돌려줄 수 있습니다.</p>
+ *
+ * <p>스레드 안전성: 인스턴스는 한 스레드에서만 사용합니다. {@link Pool}은
+ * 스레드 안전합니다. 구간을 예약하는 동안 공유 할당자는 풀 외부에서 사용하면
+ * 안 됩니다.</p>
+ *
+ * @since 0.10
+ */
+public final class ExtentAllocator implements PageAllocator {
+
+    private final Pool pool;
+    private final int pageSize;
+
+    /** 다음에 나눠 줄 페이지 번호 */
+    private long next;
+
+    /** 현재 구간의 끝 (미포함) */
+    private long end;
+
+    private ExtentAllocator(Pool pool) {
+        this.pool = pool;
+        this.pageSize = pool.parent.getPageSize();
+    }
+
+    /**
+     * 연속된 여러 페이지 할당
+     *
+     * <p>현재 구간에 남은 페이지가 부족하면 남은 부분을 풀에 돌려주고 새 구간을
+     * 예약합니다. 구간 크기보다 큰 요청은 그 크기만큼의 구간을 따로 예약합니다.</p>
+     *
+     * @param count 페이지 수 (1 이상)
+     * @return 첫 페이지의 오프셋
+     */
+    @Override
+    public long allocatePages(int count) {
+        if (count < 1) {
+            throw new IllegalArgumentException("count must be positive: " + count);
+        }
+        if (end - next < count) {
+            if (count >= pool.extentPages) {
+                long[] extent = pool.reserve(count);
+                pool.giveBack(extent[0] + count, extent[1]);
+                return extent[0] * pageSize;
+            }
+            pool.giveBack(next, end);
+            long[] extent = pool.reserve(count);
+            next = extent[0];
+            end = extent[1];
+        }
+        long pageId = next;
+        next += count;
+        return pageId * pageSize;
+    }
+
+    /**
+     * 구간 안의 페이지는 이 작업만 쓰고 다시 나눠 주지 않으므로 항상 0
+     */
+    @Override
+    public long getReuseGeneration() {
+        return 0L;
+    }
+
+    /**
+     * 다 쓰지 못한 구간을 풀에 반환
+     *
+     * <p>이후 할당은 다시 새 구간을 예약합니다.</p>
+     */
+    public void release() {
+        pool.giveBack(next, end);
+        next = 0;
+        end = 0;
+    }
+
+    /**
+     * 공유 할당자에서 구간을 예약하는 풀
+     */
+    public static final class Pool {
+
+        private final Allocator parent;
+        private final int extentPages;
+
+        /** 반환된 구간 [start, end) (parent로 보호) */
+        private final List<long[]> spares = new ArrayList<>();
+
+        /**
+         * @param parent 실제 allocTail을 관리하는 공유 할당자
+         * @param extentPages 한 번에 예약하는 페이지 수 (1 이상)
+         */
+        public Pool(Allocator parent, int extentPages) {
+            if (extentPages < 1) {
+                throw new IllegalArgumentException("extentPages must be positive: " + extentPages);
+            }
+            this.parent = parent;
+            this.extentPages = extentPages;
+        }
+
+        /**
+         * 새 작업용 할당자 생성
+         *
+         * @return 구간 할당자
+         */
+        public ExtentAllocator newAllocator() {
+            return new ExtentAllocator(this);
+        }
+
+        /**
+         * 반환된 구간 중 남은 페이지 번호 (오름차순)
+         *
+         * <p>반환한 페이지는 풀에서 제거됩니다.</p>
+         *
+         * @return 페이지 번호 배열
+         */
+        public long[] drainSparePages() {
+            synchronized (parent) {
+                long total = 0;
+                for (long[] spare : spares) {
+                    total += spare[1] - spare[0];
+                }
+                long[] pages = new long[(int) total];
+                int n = 0;
+                for (long[] spare : spares) {
+                    for (long p = spare[0]; p < spare[1]; p++) {
+                        pages[n++] = p;
+                    }
+                }
+                spares.clear();
+                java.util.Arrays.sort(pages);
+                return pages;
+            }
+        }
+
+        /**
+         * 최소 count 페이지 구간 예약 (반환된 구간 우선)
+         */
+        private long[] reserve(int count) {
+            synchronized (parent) {
+                for (int i = spares.size() - 1; i >= 0; i--) {
+                    long[] spare = spares.get(i);
+                    if (spare[1] - spare[0] >= count) {
+                        spares.remove(i);
+                        return spare;
+                    }
+                }
+                int pages = Math.max(count, extentPages);
+                long start = parent.allocatePages(pages) / parent.getPageSize();
+                return new long[] {start, start + pages};
+            }
+        }
+
+        private void giveBack(long start, long end) {
+            if (start >= end) {
+                return;
+            }
+            synchronized (parent) {
+                spares.add(new long[] {start, end});
+            }
+        }
+    }
+}
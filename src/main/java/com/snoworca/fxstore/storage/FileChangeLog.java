@@ -0,0 +1,277 @@
+package com.snoworca.fxstore.storage;
+
+import com.snoworca.fxstore.api.FxChangeBatch;
+import com.snoworca.fxstore.api.FxChangeListener;
+import com.snoworca.fxstore.api.FxErrorCode;
+import com.snoworca.fxstore.api.FxException;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file log of change batches, used as a durable, resumable cursor.
+ *
+ * <p>Register it on the writer with {@link com.snoworca.fxstore.api.FxStore#subscribe}
+ * to append every {@link FxChangeBatch} as a 4-byte little-endian length followed
+ * by {@link FxChangeBatch#encode()}. A consumer (in this or another process) opens
+ * the same file, calls {@link #seekAfter(long)} with the last seqNo it finished
+ * processing, and then reads batches in order with {@link #receive(long)}, polling
+ * for new ones. Nothing is ever removed.</p>
+ *
+ * <p>Batches are appended by the store's delivery thread, so a writer that stops
+ * abruptly may not have logged its last commit. The log is a durable listener
+ * ({@link #isDurable()}): each commit waits until the log holds every earlier
+ * commit, so it never falls more than one commit behind, and the restarted store
+ * still holds the states needed to resume from there. Use {@code sync} to keep
+ * that bound across a power loss as well as a process crash. On restart the writer calls
+ * {@link #recover()} and subscribes again from the returned seqNo with
+ * {@link com.snoworca.fxstore.api.FxStore#subscribe(String, FxChangeListener, long)},
+ * which re-sends everything after it. A range that was only partly logged is then
+ * logged again from the start, so a consumer applies a range only once its last
+ * batch arrives and drops a buffered partial range when a batch with the same
+ * fromSeqNo begins again. If the store can no longer serve that seqNo, subscribe
+ * fails and the consumer has to resync from a full read; a batch whose fromSeqNo
+ * is greater than the consumer's cursor is likewise a gap.</p>
+ *
+ * <p>Thread safety: onChanges and receive may be called concurrently; each side
+ * is serialized on its own lock.</p>
+ *
+ * @since 0.10
+ */
+public class FileChangeLog implements FxChangeListener, Closeable {
+
+    /** Polling interval while waiting for the writer */
+    private static final long POLL_MILLIS = 1L;
+
+    /** Encoded bytes needed to read a batch's seqNo and flags */
+    private static final int PEEK_BYTES = 24;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean sync;
+    private final Object writeLock = new Object();
+    private final Object readLock = new Object();
+    private long readPosition;
+
+    /**
+     * Open (or create) a log without fsync per batch.
+     */
+    public FileChangeLog(Path path) {
+        this(path, false);
+    }
+
+    /**
+     * Open (or create) a log.
+     *
+     * @param path log file
+     * @param sync fsync after every batch
+     */
+    public FileChangeLog(Path path, boolean sync) {
+        this.path = path;
+        this.sync = sync;
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new FxException("Failed to open change log: " + path, e, FxErrorCode.IO);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    /**
+     * Always true: commits wait for the log to catch up with the previous commit.
+     */
+    @Override
+    public boolean isDurable() {
+        return true;
+    }
+
+    @Override
+    public void onChanges(FxChangeBatch batch) {
+        byte[] encoded = batch.encode();
+        ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        length.putInt(encoded.length).flip();
+        ByteBuffer[] buffers = {length, ByteBuffer.wrap(encoded)};
+        synchronized (writeLock) {
+            try {
+                channel.position(channel.size());
+                while (buffers[1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+                if (sync) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                throw new FxException("Failed to append change batch " + batch.seqNo(), e, FxErrorCode.IO);
+            }
+        }
+    }
+
+    /**
+     * Prepare the log for a restarted writer
+     *
+     * <p>Cuts off a batch the previous writer left half-written and returns the seqNo
+     * to resume from. Call it on the writer side only, before subscribing again;
+     * readers never move past an incomplete batch, so the cut cannot strand them.</p>
+     *
+     * @return seqNo of the last complete range (a batch with
+     *         {@link FxChangeBatch#isLast()} set), or -1 if there is none
+     */
+    public long recover() {
+        synchronized (writeLock) {
+            long lastSeqNo = -1L;
+            long position = 0;
+            try {
+                ByteBuffer header = ByteBuffer.allocate(4 + PEEK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                long size = channel.size();
+                while (size >= position + header.capacity()) {
+                    header.clear();
+                    readFully(header, position);
+                    int batchLength = header.getInt(0);
+                    if (batchLength < PEEK_BYTES || size < position + 4 + batchLength) {
+                        break;  // torn append
+                    }
+                    byte[] peek = new byte[PEEK_BYTES];
+                    System.arraycopy(header.array(), 4, peek, 0, PEEK_BYTES);
+                    if (FxChangeBatch.peekLast(peek)) {
+                        lastSeqNo = FxChangeBatch.peekSeqNo(peek);
+                    }
+                    position += 4 + batchLength;
+                }
+                if (size > position) {
+                    channel.truncate(position);
+                    if (sync) {
+                        channel.force(false);
+                    }
+                }
+            } catch (IOException e) {
+                throw new FxException("Failed to recover change log: " + path, e, FxErrorCode.IO);
+            }
+            return lastSeqNo;
+        }
+    }
+
+    /**
+     * Next batch in log order
+     *
+     * @param timeoutMillis maximum wait (0 to not wait)
+     * @return next batch, or null if none arrived in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public FxChangeBatch receive(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        synchronized (readLock) {
+            while (true) {
+                FxChangeBatch batch = readNext();
+                if (batch != null) {
+                    return batch;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    return null;
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Position the reader after every complete batch with seqNo at most the given one
+     *
+     * <p>Scans from the beginning reading only each batch's header. Use the seqNo of
+     * the last batch the consumer finished with {@link FxChangeBatch#isLast()} set.</p>
+     *
+     * @param seqNo last processed commit seqNo
+     * @return byte offset of the next batch to be received
+     */
+    public long seekAfter(long seqNo) {
+        synchronized (readLock) {
+            readPosition = 0;
+            try {
+                ByteBuffer header = ByteBuffer.allocate(4 + PEEK_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+                long size = channel.size();
+                while (size >= readPosition + header.capacity()) {
+                    header.clear();
+                    readFully(header, readPosition);
+                    int batchLength = checkLength(header.getInt(0));
+                    if (size < readPosition + 4 + batchLength) {
+                        break;  // batch still being written
+                    }
+                    byte[] peek = new byte[PEEK_BYTES];
+                    System.arraycopy(header.array(), 4, peek, 0, PEEK_BYTES);
+                    if (FxChangeBatch.peekSeqNo(peek) > seqNo) {
+                        break;
+                    }
+                    readPosition += 4 + batchLength;
+                }
+            } catch (IOException e) {
+                throw new FxException("Failed to read change log: " + path, e, FxErrorCode.IO);
+            }
+            return readPosition;
+        }
+    }
+
+    /**
+     * Byte offset of the next batch to be received
+     */
+    public long getReadPosition() {
+        synchronized (readLock) {
+            return readPosition;
+        }
+    }
+
+    private FxChangeBatch readNext() {
+        try {
+            long size = channel.size();
+            if (size < readPosition + 4) {
+                return null;
+            }
+            ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(length, readPosition);
+            int batchLength = checkLength(length.getInt(0));
+            if (size < readPosition + 4 + batchLength) {
+                return null;  // batch still being written
+            }
+            ByteBuffer encoded = ByteBuffer.allocate(batchLength);
+            readFully(encoded, readPosition + 4);
+            FxChangeBatch batch = FxChangeBatch.decode(encoded.array());
+            readPosition += 4 + batchLength;
+            return batch;
+        } catch (IOException e) {
+            throw new FxException("Failed to read change log: " + path, e, FxErrorCode.IO);
+        }
+    }
+
+    private int checkLength(int batchLength) {
+        if (batchLength < PEEK_BYTES) {
+            throw new FxException("Invalid change batch length " + batchLength
+                + " at offset " + readPosition, FxErrorCode.CORRUPTION);
+        }
+        return batchLength;
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                throw new FxException("Unexpected EOF in change log at " + position, FxErrorCode.IO);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Ignore close errors
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.snoworca.fxstore.storage;
+
+import com.snoworca.fxstore.api.FxErrorCode;
+import com.snoworca.fxstore.api.FxException;
+import com.snoworca.fxstore.api.ReplicationFrame;
+import com.snoworca.fxstore.api.ReplicationSink;
+import com.snoworca.fxstore.api.ReplicationSource;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Append-only file transport for replication frames.
+ *
+ * <p>Each frame is stored as a 4-byte little-endian length followed by
+ * {@link ReplicationFrame#encode()}. The leader appends with
+ * {@link #send(ReplicationFrame)}; a follower (in this or another process)
+ * opens the same file and reads frames in order with {@link #receive(long)},
+ * polling for new ones. Nothing is ever removed, so a follower seeded from a
+ * backup can start reading at the beginning and skip frames it already has.</p>
+ *
+ * <p>Thread safety: send and receive may be called concurrently; each side
+ * is serialized on its own lock.</p>
+ *
+ * @since 0.10
+ */
+public class FileReplicationLog implements ReplicationSink, ReplicationSource, Closeable {
+
+    /** Polling interval while waiting for the writer */
+    private static final long POLL_MILLIS = 1L;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final boolean sync;
+    private final Object writeLock = new Object();
+    private final Object readLock = new Object();
+    private long readPosition;
+
+    /**
+     * Open (or create) a log without fsync per frame.
+     */
+    public FileReplicationLog(Path path) {
+        this(path, false);
+    }
+
+    /**
+     * Open (or create) a log.
+     *
+     * @param path log file
+     * @param sync fsync after every frame
+     */
+    public FileReplicationLog(Path path, boolean sync) {
+        this.path = path;
+        this.sync = sync;
+        try {
+            this.channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+        } catch (IOException e) {
+            throw new FxException("Failed to open replication log: " + path, e, FxErrorCode.IO);
+        }
+    }
+
+    public Path getPath() {
+        return path;
+    }
+
+    @Override
+    public void send(ReplicationFrame frame) {
+        byte[] encoded = frame.encode();
+        ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+        length.putInt(encoded.length).flip();
+        ByteBuffer[] buffers = {length, ByteBuffer.wrap(encoded)};
+        synchronized (writeLock) {
+            try {
+                channel.position(channel.size());
+                while (buffers[1].hasRemaining()) {
+                    channel.write(buffers);
+                }
+                if (sync) {
+                    channel.force(false);
+                }
+            } catch (IOException e) {
+                throw new FxException("Failed to append replication frame " + frame.seqNo(), e,
+                    FxErrorCode.IO);
+            }
+        }
+    }
+
+    @Override
+    public ReplicationFrame receive(long timeoutMillis) throws InterruptedException {
+        long deadline = System.nanoTime() + timeoutMillis * 1_000_000L;
+        synchronized (readLock) {
+            while (true) {
+                ReplicationFrame frame = readNext();
+                if (frame != null) {
+                    return frame;
+                }
+                if (System.nanoTime() - deadline >= 0) {
+                    return null;
+                }
+                Thread.sleep(POLL_MILLIS);
+            }
+        }
+    }
+
+    /**
+     * Byte offset of the next frame to be received
+     */
+    public long getReadPosition() {
+        synchronized (readLock) {
+            return readPosition;
+        }
+    }
+
+    private ReplicationFrame readNext() {
+        try {
+            long size = channel.size();
+            if (size < readPosition + 4) {
+                return null;
+            }
+            ByteBuffer length = ByteBuffer.allocate(4).order(ByteOrder.LITTLE_ENDIAN);
+            readFully(length, readPosition);
+            int frameLength = length.getInt(0);
+            if (frameLength <= 0) {
+                throw new FxException("Invalid replication frame length " + frameLength
+                    + " at offset " + readPosition, FxErrorCode.CORRUPTION);
+            }
+            if (size < readPosition + 4 + frameLength) {
+                return null;  // frame still being written
+            }
+            ByteBuffer encoded = ByteBuffer.allocate(frameLength);
+            readFully(encoded, readPosition + 4);
+            ReplicationFrame frame = ReplicationFrame.decode(encoded.array());
+            readPosition += 4 + frameLength;
+            return frame;
+        } catch (IOException e) {
+            throw new FxException("Failed to read replication log: " + path, e, FxErrorCode.IO);
+        }
+    }
+
+    private void readFully(ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) {
+            int n = channel.read(buffer, position + buffer.position());
+            if (n < 0) {
+                throw new FxException("Unexpected EOF in replication log at " + position, FxErrorCode.IO);
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Ignore close errors
+        }
+    }
+}
@@ -12,17 +12,50 @@ import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardOpenOption;
 import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Objects;
 
 /**
  * File-based storage implementation.
+ *
+ * <p>Process locks are byte-range locks on positions past any data, so that
+ * mandatory locking platforms do not block reads of the locked file:</p>
+ * <ul>
+ *   <li>{@link FileLockMode#PROCESS} writer: exclusive lock on {@link #WRITER_LOCK_POSITION}</li>
+ *   <li>{@link FileLockMode#PROCESS} read-only: shared lock on the whole range (excludes writers)</li>
+ *   <li>{@link FileLockMode#SHARED_READER}: shared lock on {@link #READER_LOCK_POSITION}
+ *       (coexists with a writer, excludes whole-file exclusive locks)</li>
+ * </ul>
+ *
+ * <p>{@link FileLockMode#SHARED_READER} storage can also hold reader leases: a shared
+ * lock on one of two bytes at {@link #LEASE_LOCK_POSITION}, chosen by the parity of the
+ * reclaim epoch whose pages the reader uses. A writer probes the byte with an exclusive
+ * {@link FileChannel#tryLock} before it overwrites pages of an older epoch. Since file
+ * locks belong to the whole JVM, the leases of all storages of one file in this JVM are
+ * reference counted on one channel.</p>
  */
 public class FileStorage implements Storage {
 
+    /** Byte position locked exclusively by a {@link FileLockMode#PROCESS} writer */
+    static final long WRITER_LOCK_POSITION = Long.MAX_VALUE - 2;
+
+    /** Byte position locked shared by {@link FileLockMode#SHARED_READER} readers */
+    static final long READER_LOCK_POSITION = Long.MAX_VALUE - 1;
+
+    /** First of the two reader lease bytes (even epochs, then odd epochs) */
+    static final long LEASE_LOCK_POSITION = Long.MAX_VALUE - 4;
+
+    /** Lease tables of the files with open {@link FileLockMode#SHARED_READER} storage, by real path */
+    private static final Map<Path, LeaseTable> LEASES = new HashMap<>();
+
     private final Path path;
     private final FileChannel channel;
     private final FileLock lock;
     private final boolean readOnly;
+    private final Path leaseKey;
+    private final LeaseTable leaseTable;
+    private final int[] leaseHolds = new int[2];
     private boolean closed;
 
     /**
@@ -48,6 +81,9 @@ public class FileStorage implements Storage {
         this.readOnly = readOnly;
 
         FileLockMode effectiveLockMode = lockMode != null ? lockMode : FileLockMode.NONE;
+        if (effectiveLockMode == FileLockMode.SHARED_READER && !readOnly) {
+            throw new IllegalArgumentException("SHARED_READER lock requires read-only storage");
+        }
 
         try {
             boolean exists = Files.exists(path);
@@ -68,20 +104,35 @@ public class FileStorage implements Storage {
             this.channel = FileChannel.open(path, options);
             this.closed = false;
 
-            if (effectiveLockMode == FileLockMode.PROCESS) {
+            FileLock acquired = null;
+            if (effectiveLockMode != FileLockMode.NONE) {
                 try {
-                    FileLock acquired = readOnly ? channel.tryLock(0, Long.MAX_VALUE, true) : channel.tryLock();
+                    if (effectiveLockMode == FileLockMode.SHARED_READER) {
+                        acquired = channel.tryLock(READER_LOCK_POSITION, 1, true);
+                    } else if (readOnly) {
+                        acquired = channel.tryLock(0, Long.MAX_VALUE, true);
+                    } else {
+                        acquired = channel.tryLock(WRITER_LOCK_POSITION, 1, false);
+                    }
                     if (acquired == null) {
                         channel.close();
                         throw new FxException("Failed to acquire file lock: " + path, FxErrorCode.LOCK_FAILED);
                     }
-                    this.lock = acquired;
                 } catch (java.nio.channels.OverlappingFileLockException e) {
-                    try { channel.close(); } catch (IOException ignored) {}
-                    throw new FxException("File lock conflict: " + path, e, FxErrorCode.LOCK_FAILED);
+                    // Another shared reader in this JVM already holds the process' reader lock
+                    if (effectiveLockMode != FileLockMode.SHARED_READER) {
+                        try { channel.close(); } catch (IOException ignored) {}
+                        throw new FxException("File lock conflict: " + path, e, FxErrorCode.LOCK_FAILED);
+                    }
                 }
-            } else {
-                this.lock = null;
+            }
+            this.lock = acquired;
+            try {
+                this.leaseKey = path.toRealPath();
+                this.leaseTable = effectiveLockMode == FileLockMode.SHARED_READER ? attachLeases(leaseKey) : null;
+            } catch (IOException e) {
+                channel.close();
+                throw e;
             }
         } catch (IOException e) {
             throw new FxException("Failed to open file: " + path, e, FxErrorCode.IO);
@@ -219,6 +270,35 @@ public class FileStorage implements Storage {
         }
     }
 
+    /**
+     * Copy a byte range of this file into another channel.
+     *
+     * <p>Uses {@link FileChannel#transferTo} so the bytes do not pass through the
+     * Java heap (the kernel may copy them directly between the files).</p>
+     *
+     * @param offset source byte offset
+     * @param length number of bytes to copy
+     * @param target destination channel
+     * @param targetOffset destination byte offset
+     * @since 0.10
+     */
+    public void transferTo(long offset, long length, FileChannel target, long targetOffset) {
+        checkClosed();
+        try {
+            target.position(targetOffset);
+            long done = 0;
+            while (done < length) {
+                long n = channel.transferTo(offset + done, length - done, target);
+                if (n <= 0) {
+                    throw new FxException("Unexpected EOF at offset " + (offset + done), FxErrorCode.IO);
+                }
+                done += n;
+            }
+        } catch (IOException e) {
+            throw new FxException("Transfer failed at offset " + offset, e, FxErrorCode.IO);
+        }
+    }
+
     @Override
     public void truncate(long newSize) {
         checkClosed();
@@ -230,11 +310,121 @@ public class FileStorage implements Storage {
         }
     }
 
+    // ==================== Reader leases ====================
+
+    /**
+     * Take a reader lease on the pages of a reclaim epoch.
+     *
+     * <p>Blocks while a writer is probing the lease byte. No-op unless this storage was
+     * opened with {@link FileLockMode#SHARED_READER}.</p>
+     *
+     * @param epoch reclaim epoch of the commits the reader uses
+     * @since 0.10
+     */
+    public void acquireReaderLease(long epoch) {
+        checkClosed();
+        if (leaseTable == null) {
+            return;
+        }
+        int parity = (int) (epoch & 1L);
+        synchronized (LEASES) {
+            leaseTable.acquire(parity);
+            leaseHolds[parity]++;
+        }
+    }
+
+    /**
+     * Release a lease taken by {@link #acquireReaderLease(long)}.
+     *
+     * @param epoch reclaim epoch passed to acquireReaderLease
+     * @since 0.10
+     */
+    public void releaseReaderLease(long epoch) {
+        if (leaseTable == null || closed) {
+            return;
+        }
+        int parity = (int) (epoch & 1L);
+        synchronized (LEASES) {
+            if (leaseHolds[parity] > 0) {
+                leaseHolds[parity]--;
+                leaseTable.release(parity);
+            }
+        }
+    }
+
+    /**
+     * Whether no reader in any process holds a lease on a reclaim epoch.
+     *
+     * <p>Leases of epochs with the same parity share a byte, so a reader of epoch
+     * {@code epoch + 2} also counts. Writers call this only for the epoch before
+     * their last committed one, which no reader can lease any more.</p>
+     *
+     * @param epoch reclaim epoch whose pages are about to be overwritten
+     * @return true if the pages may be overwritten
+     * @since 0.10
+     */
+    public boolean isReaderLeaseFree(long epoch) {
+        checkClosed();
+        checkWritable();
+        int parity = (int) (epoch & 1L);
+        synchronized (LEASES) {
+            LeaseTable table = LEASES.get(leaseKey);
+            if (table != null && table.holds[parity] > 0) {
+                return false;
+            }
+            try {
+                FileLock probe = channel.tryLock(LEASE_LOCK_POSITION + parity, 1, false);
+                if (probe == null) {
+                    return false;
+                }
+                probe.release();
+                return true;
+            } catch (java.nio.channels.OverlappingFileLockException e) {
+                return false;
+            } catch (IOException e) {
+                throw new FxException("Failed to probe reader lease: " + path, e, FxErrorCode.IO);
+            }
+        }
+    }
+
+    private static LeaseTable attachLeases(Path key) throws IOException {
+        synchronized (LEASES) {
+            LeaseTable table = LEASES.get(key);
+            if (table == null) {
+                table = new LeaseTable(FileChannel.open(key, StandardOpenOption.READ));
+                LEASES.put(key, table);
+            }
+            table.users++;
+            return table;
+        }
+    }
+
+    private void detachLeases() {
+        synchronized (LEASES) {
+            for (int parity = 0; parity < 2; parity++) {
+                for (; leaseHolds[parity] > 0; leaseHolds[parity]--) {
+                    leaseTable.release(parity);
+                }
+            }
+            if (--leaseTable.users == 0) {
+                LEASES.remove(leaseKey);
+                try {
+                    leaseTable.channel.close();
+                } catch (IOException e) {
+                    // Ignore close errors
+                }
+            }
+        }
+    }
+
     @Override
     public void close() {
         if (closed) {
             return;
         }
+        if (leaseTable != null) {
+            detachLeases();
+        }
         closed = true;
         try {
             if (lock != null) {
@@ -245,4 +435,48 @@ public class FileStorage implements Storage {
             // Ignore close errors
         }
     }
+
+    /**
+     * Reader lease locks of one file in this JVM (guarded by {@link #LEASES}).
+     */
+    private static final class LeaseTable {
+        final FileChannel channel;
+        final FileLock[] locks = new FileLock[2];
+        final int[] holds = new int[2];
+        int users;
+
+        LeaseTable(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        void acquire(int parity) {
+            if (holds[parity]++ > 0) {
+                return;
+            }
+            try {
+                FileLock acquired;
+                while ((acquired = channel.tryLock(LEASE_LOCK_POSITION + parity, 1, true)) == null) {
+                    // A writer in another process is probing the byte
+                    java.util.concurrent.locks.LockSupport.parkNanos(1_000_000L);
+                }
+                locks[parity] = acquired;
+            } catch (IOException e) {
+                holds[parity]--;
+                throw new FxException("Failed to acquire reader lease", e, FxErrorCode.IO);
+            }
+        }
+
+        void release(int parity) {
+            if (--holds[parity] > 0) {
+                return;
+            }
+            try {
+                locks[parity].release();
+            } catch (IOException e) {
+                // Closing the channel releases the lock anyway
+            } finally {
+                locks[parity] = null;
+            }
+        }
+    }
 }
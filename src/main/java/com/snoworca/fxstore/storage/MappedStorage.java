@@ -0,0 +1,183 @@
+package com.snoworca.fxstore.storage;
+
+import com.snoworca.fxstore.api.FxErrorCode;
+import com.snoworca.fxstore.api.FxException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Objects;
+
+/**
+ * Read-only memory-mapped storage for immutable (frozen) store files.
+ *
+ * <p>The whole file is mapped at open in chunks of {@link #CHUNK_SIZE} bytes.
+ * Reads copy from a duplicate of the chunk buffer, so they take no lock and
+ * make no system call; a page not yet resident is faulted in by the OS.
+ * {@link #load(long, long)} touches a range up front so that, for example, the
+ * index pages of a frozen store are resident before the first lookup.</p>
+ *
+ * <p>The file must not change while it is mapped. No file lock is taken: a frozen
+ * file is never written in place (re-exporting replaces it with a new file, and
+ * existing mappings keep reading the old one).</p>
+ *
+ * <p>The JDK offers no portable way to unmap a buffer, so the mapping is released
+ * when the buffers are garbage collected; {@link #close()} closes the channel and
+ * rejects further reads.</p>
+ *
+ * @since 0.10
+ */
+public class MappedStorage implements Storage {
+
+    /** Bytes per mapped chunk (a single buffer is limited to 2 GiB) */
+    static final long CHUNK_SIZE = 1L << 30;
+
+    /** Stride used to touch mapped pages in {@link #load} */
+    private static final int TOUCH_STRIDE = 4096;
+
+    private final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer[] chunks;
+    private final long size;
+    private volatile boolean closed;
+
+    /**
+     * Map an existing file read-only.
+     *
+     * @throws FxException with IO if the file cannot be opened or mapped
+     */
+    public MappedStorage(Path path) {
+        Objects.requireNonNull(path, "path");
+        this.path = path;
+        FileChannel opened = null;
+        try {
+            opened = FileChannel.open(path, StandardOpenOption.READ);
+            this.size = opened.size();
+            int count = (int) ((size + CHUNK_SIZE - 1) / CHUNK_SIZE);
+            this.chunks = new MappedByteBuffer[count];
+            for (int i = 0; i < count; i++) {
+                long start = i * CHUNK_SIZE;
+                chunks[i] = opened.map(FileChannel.MapMode.READ_ONLY, start, Math.min(CHUNK_SIZE, size - start));
+            }
+            this.channel = opened;
+        } catch (IOException e) {
+            if (opened != null) {
+                try {
+                    opened.close();
+                } catch (IOException ignored) {
+                    // Ignore close errors
+                }
+            }
+            throw new FxException("Failed to map file: " + path, e, FxErrorCode.IO);
+        }
+    }
+
+    /**
+     * Get the file path.
+     */
+    public Path getPath() {
+        return path;
+    }
+
+    private void checkClosed() {
+        if (closed) {
+            throw new FxException("Storage is closed", FxErrorCode.CLOSED);
+        }
+    }
+
+    @Override
+    public void read(long offset, byte[] buffer, int bufOffset, int length) {
+        checkClosed();
+        Objects.requireNonNull(buffer, "buffer");
+        if (offset < 0) {
+            throw new IllegalArgumentException("offset must be non-negative");
+        }
+        if (bufOffset < 0) {
+            throw new IllegalArgumentException("bufOffset must be non-negative");
+        }
+        if (length < 0) {
+            throw new IllegalArgumentException("length must be non-negative");
+        }
+        if (bufOffset + length > buffer.length) {
+            throw new IllegalArgumentException("buffer overflow: bufOffset + length > buffer.length");
+        }
+        if (offset + length > size) {
+            throw new FxException("Unexpected EOF at offset " + Math.max(offset, size), FxErrorCode.IO);
+        }
+
+        long position = offset;
+        int done = 0;
+        while (done < length) {
+            int chunk = (int) (position / CHUNK_SIZE);
+            int inChunk = (int) (position % CHUNK_SIZE);
+            ByteBuffer view = chunks[chunk].duplicate();
+            int n = Math.min(length - done, view.capacity() - inChunk);
+            view.position(inChunk);
+            view.get(buffer, bufOffset + done, n);
+            done += n;
+            position += n;
+        }
+    }
+
+    /**
+     * Fault in the pages of a byte range.
+     *
+     * @param offset start of the range
+     * @param length number of bytes
+     */
+    public void load(long offset, long length) {
+        checkClosed();
+        long end = Math.min(size, offset + length);
+        long position = Math.max(0L, offset);
+        while (position < end) {
+            chunks[(int) (position / CHUNK_SIZE)].get((int) (position % CHUNK_SIZE));
+            position += TOUCH_STRIDE;
+        }
+    }
+
+    @Override
+    public void write(long offset, byte[] buffer, int bufOffset, int length) {
+        checkClosed();
+        throw new FxException("Storage is read-only", FxErrorCode.IO);
+    }
+
+    @Override
+    public void force(boolean metadata) {
+        checkClosed();
+        // Nothing to flush
+    }
+
+    @Override
+    public long size() {
+        checkClosed();
+        return size;
+    }
+
+    @Override
+    public void extend(long newSize) {
+        checkClosed();
+        throw new FxException("Storage is read-only", FxErrorCode.IO);
+    }
+
+    @Override
+    public void truncate(long newSize) {
+        checkClosed();
+        throw new FxException("Storage is read-only", FxErrorCode.IO);
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            channel.close();
+        } catch (IOException e) {
+            // Ignore close errors
+        }
+    }
+}
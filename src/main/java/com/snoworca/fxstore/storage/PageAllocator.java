@@ -0,0 +1,30 @@
+package com.snoworca.fxstore.storage;
+
+/**
+ * 페이지 단위 할당 인터페이스
+ *
+ * <p>BTree, OST, 값 레코드 쓰기가 새 페이지를 얻는 데 필요한 연산만 모았습니다.
+ * Store의 공유 {@link Allocator}와 작업별 {@link ExtentAllocator}가 구현합니다.</p>
+ *
+ * @since 0.10
+ */
+public interface PageAllocator {
+
+    /**
+     * 연속된 여러 페이지 할당
+     *
+     * @param count 페이지 수 (1 이상)
+     * @return 첫 페이지의 오프셋
+     */
+    long allocatePages(int count);
+
+    /**
+     * 빈 페이지 목록 교체 횟수
+     *
+     * <p>페이지 ID를 키로 하는 캐시는 생성 시점의 값과 다르면 항목을 버려야 합니다.
+     * 이미 쓴 페이지를 다시 나눠 주지 않는 할당자는 항상 같은 값을 반환합니다.</p>
+     *
+     * @return 교체 횟수
+     */
+    long getReuseGeneration();
+}
@@ -0,0 +1,93 @@
+package com.snoworca.fxstore.storage;
+
+import java.util.BitSet;
+
+/**
+ * 온라인 컴팩션의 페이지 재배치 작업 단위
+ *
+ * <p>경계 페이지({@code cutPageId}) 이상에 있는 살아 있는 페이지를 그 아래의
+ * 빈 페이지로 옮기는 작업에서 트리 구현(BTree, OST, 세그먼트 링)이 공유하는
+ * 상태입니다. 각 트리는 옮겨야 할 노드와 바뀐 자식을 가리키는 부모만 COW로
+ * 다시 쓰고, 한 번의 Write Lock 구간에서 기록할 페이지 수를 예산으로 제한합니다.</p>
+ *
+ * <h3>clean 집합</h3>
+ * <p>서브트리 전체가 경계 아래에 있는 노드의 페이지 번호를 기록합니다. COW
+ * 노드는 불변이고, 컴팩션 주기 동안 한 번 할당된 페이지는 다시 할당되지
+ * 않으므로 다음 단계에서는 clean 노드를 읽지 않고 건너뛸 수 있습니다.
+ * 사용자 쓰기로 생긴 새 경로만 다시 내려가므로 재개 위치를 따로 둘 필요가
+ * 없습니다.</p>
+ *
+ * <p>페이지 번호는 바이트 오프셋 / pageSize입니다. 노드 ID로 오프셋을 쓰는
+ * 트리(OST)는 변환해서 전달해야 합니다.</p>
+ *
+ * <p>스레드 안전성: Write Lock 내에서만 사용합니다.</p>
+ *
+ * @since 0.10
+ */
+public final class PageRelocation {
+
+    private final long cutPageId;
+    private final BitSet clean;
+    private int budget;
+    private int written;
+
+    /**
+     * @param cutPageId 경계 페이지 번호 (이 번호 이상의 페이지를 옮김)
+     * @param clean 이전 단계에서 완료된 노드의 페이지 번호 집합 (갱신됨)
+     * @param budget 이번 단계에서 기록할 최대 페이지 수
+     */
+    public PageRelocation(long cutPageId, BitSet clean, int budget) {
+        this.cutPageId = cutPageId;
+        this.clean = clean;
+        this.budget = budget;
+    }
+
+    public long getCutPageId() {
+        return cutPageId;
+    }
+
+    /**
+     * 페이지가 경계 이상에 있어 옮겨야 하는지 여부
+     */
+    public boolean needsMove(long pageId) {
+        return pageId >= cutPageId;
+    }
+
+    /**
+     * 서브트리 전체가 경계 아래에 있는 것으로 확인된 노드인지 여부
+     */
+    public boolean isClean(long pageId) {
+        return pageId < cutPageId && clean.get((int) pageId);
+    }
+
+    /**
+     * 서브트리 전체가 경계 아래에 있는 노드로 기록
+     */
+    public void markClean(long pageId) {
+        if (pageId < cutPageId) {
+            clean.set((int) pageId);
+        }
+    }
+
+    /**
+     * 예산 소진 여부 (소진되면 새 서브트리로 내려가지 않음)
+     */
+    public boolean isExhausted() {
+        return budget <= 0;
+    }
+
+    /**
+     * 페이지 하나를 기록했음을 반영
+     */
+    public void charge() {
+        budget--;
+        written++;
+    }
+
+    /**
+     * 지금까지 기록한 페이지 수
+     */
+    public int getWrittenPages() {
+        return written;
+    }
+}
@@ -29,7 +29,58 @@ public final class ByteUtils {
     }
 
     public static long readI64LE(byte[] data, int offset) {
-        return ByteBuffer.wrap(data, offset, 8).order(ByteOrder.LITTLE_ENDIAN).getLong();
+        return (data[offset] & 0xFFL) |
+                ((data[offset + 1] & 0xFFL) << 8) |
+                ((data[offset + 2] & 0xFFL) << 16) |
+                ((data[offset + 3] & 0xFFL) << 24) |
+                ((data[offset + 4] & 0xFFL) << 32) |
+                ((data[offset + 5] & 0xFFL) << 40) |
+                ((data[offset + 6] & 0xFFL) << 48) |
+                ((long) data[offset + 7] << 56);
+    }
+
+    private static long readI64BE(byte[] data, int offset) {
+        return ((long) data[offset] << 56) |
+                ((data[offset + 1] & 0xFFL) << 48) |
+                ((data[offset + 2] & 0xFFL) << 40) |
+                ((data[offset + 3] & 0xFFL) << 32) |
+                ((data[offset + 4] & 0xFFL) << 24) |
+                ((data[offset + 5] & 0xFFL) << 16) |
+                ((data[offset + 6] & 0xFFL) << 8) |
+                (data[offset + 7] & 0xFFL);
+    }
+
+    // ==================== Unsigned Comparison ====================
+
+    /**
+     * Unsigned lexicographic comparison (shorter prefix first).
+     */
+    public static int compareUnsigned(byte[] a, byte[] b) {
+        return compareUnsigned(a, 0, a.length, b, 0, b.length);
+    }
+
+    /**
+     * Unsigned lexicographic comparison of two array ranges.
+     * Compares 8 bytes per step as big-endian words, then the remaining tail bytewise.
+     */
+    public static int compareUnsigned(byte[] a, int aOffset, int aLength,
+                                      byte[] b, int bOffset, int bLength) {
+        int minLen = Math.min(aLength, bLength);
+        int i = 0;
+        for (; i + 8 <= minLen; i += 8) {
+            long wa = readI64BE(a, aOffset + i);
+            long wb = readI64BE(b, bOffset + i);
+            if (wa != wb) {
+                return Long.compareUnsigned(wa, wb);
+            }
+        }
+        for (; i < minLen; i++) {
+            int cmp = (a[aOffset + i] & 0xFF) - (b[bOffset + i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return aLength - bLength;
     }
 
     // ==================== Little-Endian Write ====================
@@ -0,0 +1,87 @@
+package com.snoworca.fxstore.api;
+
+import org.junit.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.Assert.*;
+
+/**
+ * FxEncodeBuffer 테스트
+ */
+public class FxEncodeBufferTest {
+
+    @Test
+    public void write_shouldGrowBeyondInitialCapacity() {
+        FxEncodeBuffer buffer = new FxEncodeBuffer(2);
+        for (int i = 0; i < 1000; i++) {
+            buffer.writeByte(i);
+        }
+        assertEquals(1000, buffer.length());
+        assertTrue(buffer.capacity() >= 1000);
+        assertEquals((byte) 999, buffer.array()[999]);
+    }
+
+    @Test
+    public void writeLongLE_shouldMatchByteBuffer() {
+        FxEncodeBuffer buffer = new FxEncodeBuffer(0);
+        buffer.writeLongLE(0x0102030405060708L);
+        byte[] expected = ByteBuffer.allocate(8).order(ByteOrder.LITTLE_ENDIAN)
+            .putLong(0x0102030405060708L).array();
+        assertArrayEquals(expected, buffer.toByteArray());
+    }
+
+    @Test
+    public void setIntLE_shouldPatchHeader() {
+        FxEncodeBuffer buffer = new FxEncodeBuffer();
+        buffer.writeIntLE(0);
+        buffer.write(new byte[]{9, 9, 9});
+        buffer.setIntLE(0, buffer.length() - 4);
+        assertArrayEquals(new byte[]{3, 0, 0, 0, 9, 9, 9}, buffer.toByteArray());
+    }
+
+    @Test
+    public void writeUtf8_shouldMatchStringGetBytes() {
+        String[] samples = {
+            "",
+            "plain ascii",
+            "café",
+            "한글 키",
+            "emoji 😀 pair",
+            "lone high \uD83D end",
+            "lone low \uDE00 end",
+            "trailing high \uD83D"
+        };
+        for (String sample : samples) {
+            FxEncodeBuffer buffer = new FxEncodeBuffer(1);
+            buffer.writeUtf8(sample);
+            assertArrayEquals(sample, sample.getBytes(StandardCharsets.UTF_8), buffer.toByteArray());
+        }
+    }
+
+    @Test
+    public void reset_shouldKeepCapacity() {
+        FxEncodeBuffer buffer = new FxEncodeBuffer(4);
+        buffer.write(new byte[100]);
+        int capacity = buffer.capacity();
+        buffer.reset();
+        assertEquals(0, buffer.length());
+        assertEquals(capacity, buffer.capacity());
+    }
+
+    @Test
+    public void trim_shouldReleaseOversizedArray() {
+        FxEncodeBuffer buffer = new FxEncodeBuffer();
+        buffer.write(new byte[100_000]);
+        buffer.trim(64 * 1024);
+        assertEquals(0, buffer.length());
+        assertTrue(buffer.capacity() <= 64 * 1024);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void constructor_negativeCapacity_shouldThrow() {
+        new FxEncodeBuffer(-1);
+    }
+}
@@ -1,5 +1,6 @@
 package com.snoworca.fxstore.btree;
 
+import com.snoworca.fxstore.api.FxException;
 import com.snoworca.fxstore.storage.MemoryStorage;
 import org.junit.Before;
 import org.junit.Test;
@@ -71,6 +72,69 @@ public class BTreeStatelessTest {
         btree.findWithRoot(0, null);
     }
 
+    // ==================== findAllWithRoot 테스트 ====================
+
+    @Test
+    public void testFindAllWithRoot_ShouldMatchFindWithRoot() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long root = 0;
+        for (int i = 0; i < 3000; i += 2) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+        }
+
+        // 정렬되지 않은 순서, 없는 키(홀수), 중복 키 포함
+        java.util.Random random = new java.util.Random(3);
+        byte[][] keys = new byte[700][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key(random.nextInt(3100));
+        }
+        keys[699] = keys[0];
+
+        Long[] results = tree.findAllWithRoot(root, keys);
+        assertEquals(keys.length, results.length);
+        for (int i = 0; i < keys.length; i++) {
+            assertEquals(tree.findWithRoot(root, keys[i]), results[i]);
+        }
+        assertNull(tree.findAllWithRoot(0, keys)[0]);
+    }
+
+    @Test
+    public void testFindAllWithRoot_ShouldReadSharedPagesOnce() {
+        final int[] pageReads = {0};
+        MemoryStorage counting = new MemoryStorage() {
+            @Override
+            public void read(long offset, byte[] buffer, int bufOffset, int length) {
+                pageReads[0]++;
+                super.read(offset, buffer, bufOffset, length);
+            }
+        };
+        BTree tree = new BTree(counting, PAGE_SIZE, comparator);
+        long root = 0;
+        for (int i = 0; i < 5000; i++) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+        }
+        int height = treeHeight(tree, root);
+        assertTrue(height > 1);
+
+        byte[][] keys = new byte[1000][];
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key(1000 + i);
+        }
+
+        pageReads[0] = 0;
+        tree.findAllWithRoot(root, keys);
+        int batched = pageReads[0];
+
+        pageReads[0] = 0;
+        for (byte[] k : keys) {
+            tree.findWithRoot(root, k);
+        }
+        int individual = pageReads[0];
+
+        assertEquals(keys.length * height, individual);
+        assertTrue("batched=" + batched + ", individual=" + individual, batched * 10 < individual);
+    }
+
     // ==================== insertWithRoot 테스트 ====================
 
     @Test
@@ -276,4 +340,453 @@ public class BTreeStatelessTest {
         assertEquals(Long.valueOf(1L), btree.find(key1));
         assertEquals(Long.valueOf(2L), btree.find(key2));
     }
+    // ==================== 병합/재분배 테스트 ====================
+
+    @Test
+    public void testDeleteWithRoot_DeleteAll_CollapsesToEmptyTree() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long root = 0;
+        for (int i = 0; i < 2000; i++) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+        }
+        assertTrue("Tree should have internal levels", treeHeight(tree, root) > 1);
+
+        for (int i = 0; i < 2000; i++) {
+            BTree.StatelessDeleteResult result = tree.deleteWithRoot(root, key(i));
+            assertTrue(result.deleted);
+            root = result.newRootPageId;
+            if (i + 1 < 2000) {
+                assertEquals(Long.valueOf(i + 1), tree.findWithRoot(root, key(i + 1)));
+            }
+        }
+
+        assertEquals("All keys deleted: tree should be empty", 0, root);
+    }
+
+    @Test
+    public void testDeleteWithRoot_SparseDeletes_MergesLeaves() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long root = 0;
+        for (int i = 0; i < 4000; i++) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+        }
+        int leavesBefore = leafCount(tree, root);
+
+        // 10개 중 9개 삭제
+        for (int i = 0; i < 4000; i++) {
+            if (i % 10 != 0) {
+                root = tree.deleteWithRoot(root, key(i)).newRootPageId;
+            }
+        }
+
+        int leavesAfter = leafCount(tree, root);
+        assertTrue("Leaves should be merged: before=" + leavesBefore + ", after=" + leavesAfter,
+                leavesAfter <= leavesBefore / 4);
+
+        for (int i = 0; i < 4000; i++) {
+            Long value = tree.findWithRoot(root, key(i));
+            if (i % 10 == 0) {
+                assertEquals(Long.valueOf(i), value);
+            } else {
+                assertNull(value);
+            }
+        }
+
+        // 커서 순서 검증
+        BTreeCursor cursor = tree.cursorWithRoot(root);
+        int expected = 0;
+        while (cursor.hasNext()) {
+            assertEquals(Long.valueOf(expected), cursor.next().valueRecordId);
+            expected += 10;
+        }
+        assertEquals(4000, expected);
+    }
+
+    @Test
+    public void testDeleteWithRoot_QueuePattern_KeepsTreeDense() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        int window = 500;
+        long root = 0;
+        int maxLeaves = 0;
+
+        // 한쪽 끝에서 삽입, 반대쪽 끝에서 삭제
+        for (int i = 0; i < 10000; i++) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+            if (i >= window) {
+                BTree.StatelessDeleteResult result = tree.deleteWithRoot(root, key(i - window));
+                assertTrue(result.deleted);
+                root = result.newRootPageId;
+            }
+            if (i % 1000 == 999) {
+                maxLeaves = Math.max(maxLeaves, leafCount(tree, root));
+            }
+        }
+
+        assertTrue("Leaf count should stay bounded: " + maxLeaves, maxLeaves <= 10);
+        assertEquals(2, treeHeight(tree, root));
+        assertEquals(Long.valueOf(10000 - window), tree.firstEntryWithRoot(root).valueRecordId);
+        assertEquals(Long.valueOf(9999), tree.lastEntryWithRoot(root).valueRecordId);
+    }
+
+    @Test
+    public void testDelete_LegacyAPI_UsesRebalancing() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        for (int i = 0; i < 1000; i++) {
+            tree.insert(key(i), i);
+        }
+        for (int i = 999; i >= 0; i--) {
+            tree.delete(key(i));
+        }
+        assertTrue(tree.isEmpty());
+    }
+
+    // ==================== Append 분할 테스트 ====================
+
+    @Test
+    public void testInsertWithRoot_SequentialKeys_FillsLeftLeaves() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long root = 0;
+        for (int i = 0; i < 20000; i++) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+        }
+
+        // 리프당 약 188개 엔트리: 50/50 분할이면 ~213개, append 분할이면 ~107개
+        int leaves = leafCount(tree, root);
+        assertTrue("Sequential inserts should leave full leaves: " + leaves, leaves <= 20000 / 150);
+
+        BTreeCursor cursor = tree.cursorWithRoot(root);
+        for (int i = 0; i < 20000; i++) {
+            assertTrue(cursor.hasNext());
+            BTree.Entry entry = cursor.next();
+            assertArrayEquals(key(i), entry.key);
+            assertEquals(Long.valueOf(i), entry.valueRecordId);
+        }
+        assertFalse(cursor.hasNext());
+    }
+
+    @Test
+    public void testInsertWithRoot_MiddleInserts_StillCorrect() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long root = 0;
+        // 짝수 키를 순차 삽입한 뒤 홀수 키를 중간에 삽입
+        for (int i = 0; i < 4000; i += 2) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+        }
+        for (int i = 1; i < 4000; i += 2) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+        }
+        for (int i = 0; i < 4000; i++) {
+            assertEquals(Long.valueOf(i), tree.findWithRoot(root, key(i)));
+        }
+    }
+
+    // ==================== 키 압축 테스트 ====================
+
+    @Test
+    public void testKeyCompression_LeavesHoldMoreEntries() {
+        BTree plain = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        BTree compressed = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        compressed.setKeyCompression(true, true);
+
+        long plainRoot = 0;
+        long compressedRoot = 0;
+        for (int i = 0; i < 5000; i++) {
+            byte[] k = longPrefixKey(i);
+            plainRoot = plain.insertWithRoot(plainRoot, k, i).newRootPageId;
+            compressedRoot = compressed.insertWithRoot(compressedRoot, k, i).newRootPageId;
+        }
+
+        int plainLeaves = leafCount(plain, plainRoot);
+        int compressedLeaves = leafCount(compressed, compressedRoot);
+        assertTrue("Compressed leaves should be fewer: " + compressedLeaves + " vs " + plainLeaves,
+                compressedLeaves * 2 < plainLeaves);
+
+        for (int i = 0; i < 5000; i++) {
+            assertEquals(Long.valueOf(i), compressed.findWithRoot(compressedRoot, longPrefixKey(i)));
+        }
+    }
+
+    @Test
+    public void testKeyCompression_PrefixBreakingInsert_DoesNotOverflow() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        tree.setKeyCompression(true, true);
+        long root = 0;
+        // 공통 접두사가 긴 키로 리프를 채운 뒤 접두사를 깨는 키를 삽입
+        for (int i = 0; i < 300; i++) {
+            root = tree.insertWithRoot(root, longPrefixKey(i), i).newRootPageId;
+        }
+        byte[] breaker = "a".getBytes(StandardCharsets.UTF_8);
+        root = tree.insertWithRoot(root, breaker, -1L).newRootPageId;
+
+        assertEquals(Long.valueOf(-1L), tree.findWithRoot(root, breaker));
+        for (int i = 0; i < 300; i++) {
+            assertEquals(Long.valueOf(i), tree.findWithRoot(root, longPrefixKey(i)));
+        }
+    }
+
+    @Test
+    public void testKeyCompression_MixedPageFormats_AreReadable() {
+        MemoryStorage shared = new MemoryStorage();
+        BTree tree = new BTree(shared, PAGE_SIZE, comparator);
+        long root = 0;
+        for (int i = 0; i < 1000; i++) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+        }
+
+        // 압축 모드로 전환 후 계속 수정 → 일반/압축 페이지 혼재
+        tree.setKeyCompression(true, true);
+        for (int i = 1000; i < 2000; i++) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+        }
+        for (int i = 0; i < 2000; i += 3) {
+            root = tree.deleteWithRoot(root, key(i)).newRootPageId;
+        }
+
+        // 압축 설정이 없는 인스턴스도 페이지 마커로 두 형식을 모두 읽음
+        BTree reader = new BTree(shared, PAGE_SIZE, comparator);
+        for (int i = 0; i < 2000; i++) {
+            Long expected = (i % 3 == 0) ? null : Long.valueOf(i);
+            assertEquals(expected, reader.findWithRoot(root, key(i)));
+        }
+    }
+
+    @Test
+    public void testKeyCompression_SeparatorsAreTruncated() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        tree.setKeyCompression(true, true);
+        long root = 0;
+        // 구분 자릿수 뒤에 긴 꼬리가 붙은 키: 분리자는 꼬리 없이 충분
+        int keyLength = taggedKey(0).length;
+        for (int i = 0; i < 3000; i++) {
+            root = tree.insertWithRoot(root, taggedKey(i), i).newRootPageId;
+        }
+
+        BTreeNode node = tree.readNode(root);
+        assertFalse(node.isLeaf());
+        BTreeInternal internal = (BTreeInternal) node;
+        for (int i = 0; i < internal.getKeyCount(); i++) {
+            assertTrue("Separator should be shorter than full key",
+                    internal.getKey(i).length < keyLength);
+        }
+        for (int i = 0; i < 3000; i++) {
+            assertEquals(Long.valueOf(i), tree.findWithRoot(root, taggedKey(i)));
+        }
+    }
+
+    private static byte[] longPrefixKey(int i) {
+        return String.format("tenant/0001/orders/2024/region-north/%08d", i)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static byte[] taggedKey(int i) {
+        return String.format("%06d/attachment/original/content.bin", i)
+                .getBytes(StandardCharsets.UTF_8);
+    }
+
+    // ==================== 일괄 추가/앞부분 삭제 테스트 ====================
+
+    @Test
+    public void testAppendAllWithRoot_EmptyTree_BuildsMultiLevelTree() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long root = tree.appendAllWithRoot(0, keys(0, 100000), values(0, 100000)).newRootPageId;
+
+        assertEquals(3, treeHeight(tree, root));
+        assertUniformHeight(tree, root);
+        assertCursorRange(tree, root, 0, 100000);
+        assertEquals(Long.valueOf(54321), tree.findWithRoot(root, key(54321)));
+    }
+
+    @Test
+    public void testAppendAllWithRoot_ExistingTree_ExtendsRightEdge() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long root = 0;
+        for (int i = 0; i < 1000; i++) {
+            root = tree.insertWithRoot(root, key(i), i).newRootPageId;
+        }
+        long before = root;
+
+        root = tree.appendAllWithRoot(root, keys(1000, 5000), values(1000, 5000)).newRootPageId;
+
+        assertUniformHeight(tree, root);
+        assertCursorRange(tree, root, 0, 5000);
+        // COW: 이전 루트는 그대로
+        assertCursorRange(tree, before, 0, 1000);
+
+        // 이후 단건 삽입/삭제도 정상 동작
+        root = tree.insertWithRoot(root, key(5000), 5000).newRootPageId;
+        root = tree.deleteWithRoot(root, key(0)).newRootPageId;
+        assertCursorRange(tree, root, 1, 5001);
+    }
+
+    @Test
+    public void testAppendAllWithRoot_DenseLeaves() {
+        BTree bulk = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long bulkRoot = bulk.appendAllWithRoot(0, keys(0, 10000), values(0, 10000)).newRootPageId;
+
+        BTree single = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long singleRoot = 0;
+        for (int i = 0; i < 10000; i++) {
+            singleRoot = single.insertWithRoot(singleRoot, key(i), i).newRootPageId;
+        }
+
+        assertEquals(leafCount(single, singleRoot), leafCount(bulk, bulkRoot));
+    }
+
+    @Test(expected = FxException.class)
+    public void testAppendAllWithRoot_KeyNotAboveLast_ShouldThrow() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long root = tree.appendAllWithRoot(0, keys(0, 10), values(0, 10)).newRootPageId;
+        tree.appendAllWithRoot(root, keys(5, 6), values(5, 6));
+    }
+
+    @Test(expected = FxException.class)
+    public void testAppendAllWithRoot_UnsortedKeys_ShouldThrow() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        tree.appendAllWithRoot(0, new byte[][]{key(2), key(1)}, new long[]{2, 1});
+    }
+
+    @Test
+    public void testDeleteHeadWithRoot_VariousCutPoints() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        int n = 100000;
+        long root = tree.appendAllWithRoot(0, keys(0, n), values(0, n)).newRootPageId;
+
+        int[] cuts = {0, 1, 150, 199, 200, 5000, 60000, 60001, 99999, n};
+        for (int cut : cuts) {
+            BTree.StatelessDeleteResult result = tree.deleteHeadWithRoot(root, key(cut));
+            assertEquals("cut=" + cut, cut > 0, result.deleted);
+            if (cut == n) {
+                assertEquals(0, result.newRootPageId);
+                continue;
+            }
+            assertUniformHeight(tree, result.newRootPageId);
+            assertLeftEdgeDense(tree, result.newRootPageId);
+            assertCursorRange(tree, result.newRootPageId, cut, n);
+            assertNull(tree.findWithRoot(result.newRootPageId, key(cut - 1)));
+        }
+        // COW: 원본 루트는 그대로
+        assertCursorRange(tree, root, 0, n);
+    }
+
+    @Test
+    public void testDeleteHeadWithRoot_QueuePattern_KeepsTreeDense() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long root = 0;
+        int head = 0;
+        int maxLeaves = 0;
+
+        // 배치 추가 후 배치 소비
+        for (int tail = 0; tail < 50000; tail += 1000) {
+            root = tree.appendAllWithRoot(root, keys(tail, tail + 1000), values(tail, tail + 1000)).newRootPageId;
+            if (tail >= 3000) {
+                head += 1000;
+                root = tree.deleteHeadWithRoot(root, key(head)).newRootPageId;
+            }
+            maxLeaves = Math.max(maxLeaves, leafCount(tree, root));
+            assertUniformHeight(tree, root);
+        }
+
+        assertTrue("Leaf count should stay bounded: " + maxLeaves, maxLeaves <= 40);
+        assertCursorRange(tree, root, head, 50000);
+    }
+
+    @Test
+    public void testDeleteHeadWithRoot_KeyBelowFirst_NoChange() {
+        BTree tree = new BTree(new MemoryStorage(), PAGE_SIZE, comparator);
+        long root = tree.appendAllWithRoot(0, keys(100, 200), values(100, 200)).newRootPageId;
+
+        BTree.StatelessDeleteResult result = tree.deleteHeadWithRoot(root, key(50));
+
+        assertFalse(result.deleted);
+        assertEquals(root, result.newRootPageId);
+    }
+
+    private static byte[][] keys(int from, int to) {
+        byte[][] keys = new byte[to - from][];
+        for (int i = from; i < to; i++) {
+            keys[i - from] = key(i);
+        }
+        return keys;
+    }
+
+    private static long[] values(int from, int to) {
+        long[] values = new long[to - from];
+        for (int i = from; i < to; i++) {
+            values[i - from] = i;
+        }
+        return values;
+    }
+
+    private static void assertCursorRange(BTree tree, long root, int from, int to) {
+        BTreeCursor cursor = tree.cursorWithRoot(root);
+        int expected = from;
+        while (cursor.hasNext()) {
+            BTree.Entry entry = cursor.next();
+            assertArrayEquals(key(expected), entry.key);
+            assertEquals(Long.valueOf(expected), entry.valueRecordId);
+            expected++;
+        }
+        assertEquals(to, expected);
+    }
+
+    private static int assertUniformHeight(BTree tree, long pageId) {
+        BTreeNode node = tree.readNode(pageId);
+        if (node.isLeaf()) {
+            assertTrue("Empty leaf in tree", ((BTreeLeaf) node).size() > 0);
+            return 1;
+        }
+        BTreeInternal internal = (BTreeInternal) node;
+        assertEquals(internal.getKeyCount() + 1, internal.getChildCount());
+        int height = -1;
+        for (int i = 0; i < internal.getChildCount(); i++) {
+            int childHeight = assertUniformHeight(tree, internal.getChildPageId(i));
+            if (height >= 0) {
+                assertEquals("Subtree heights differ", height, childHeight);
+            }
+            height = childHeight;
+        }
+        return height + 1;
+    }
+
+    private static void assertLeftEdgeDense(BTree tree, long root) {
+        BTreeNode node = tree.readNode(root);
+        while (!node.isLeaf()) {
+            BTreeInternal internal = (BTreeInternal) node;
+            BTreeNode first = tree.readNode(internal.getChildPageId(0));
+            if (internal.getChildCount() > 1) {
+                boolean underflow = first.isLeaf()
+                        ? ((BTreeLeaf) first).isUnderflow()
+                        : ((BTreeInternal) first).isUnderflow();
+                assertFalse("Left edge node underflows", underflow);
+            }
+            node = first;
+        }
+    }
+
+    private static byte[] key(int i) {
+        return String.format("key%06d", i).getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int treeHeight(BTree tree, long root) {
+        int height = 1;
+        BTreeNode node = tree.readNode(root);
+        while (!node.isLeaf()) {
+            node = tree.readNode(((BTreeInternal) node).getChildPageId(0));
+            height++;
+        }
+        return height;
+    }
+
+    private static int leafCount(BTree tree, long root) {
+        BTreeNode node = tree.readNode(root);
+        if (node.isLeaf()) {
+            return 1;
+        }
+        BTreeInternal internal = (BTreeInternal) node;
+        int count = 0;
+        for (int i = 0; i < internal.getChildCount(); i++) {
+            count += leafCount(tree, internal.getChildPageId(i));
+        }
+        return count;
+    }
 }
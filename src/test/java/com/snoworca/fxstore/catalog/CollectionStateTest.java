@@ -0,0 +1,91 @@
+package com.snoworca.fxstore.catalog;
+
+import com.snoworca.fxstore.api.CodecRef;
+import com.snoworca.fxstore.api.CollectionKind;
+import com.snoworca.fxstore.api.FxType;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * CollectionState 인코딩 테스트
+ *
+ * <ul>
+ *   <li>inlineElementWidth 왕복 및 with* 복사 시 보존</li>
+ *   <li>인라인이 아닌 상태는 기존 형식 그대로 인코딩</li>
+ *   <li>세그먼트 링 head/tail 위치 왕복 및 with* 복사 시 보존</li>
+ *   <li>changedSeqNo 왕복 (livePages를 모를 때도) 및 with* 복사 시 보존</li>
+ * </ul>
+ */
+public class CollectionStateTest {
+
+    private static final CodecRef I64 = new CodecRef("fx:i64", 1, FxType.I64);
+
+    @Test
+    public void encode_inlineList_shouldRoundTripWidth() {
+        CollectionState state = new CollectionState(7L, CollectionKind.LIST, null, I64,
+                4096L, 10L, CollectionState.SEQ_ENCODER_VERSION_LEGACY, (byte) 8);
+
+        CollectionState decoded = CollectionState.decode(state.encode());
+
+        assertEquals(8, decoded.getInlineElementWidth());
+        assertEquals(4096L, decoded.getRootPageId());
+        assertEquals(8, decoded.withRootAndCount(8192L, 11L).getInlineElementWidth());
+    }
+
+    @Test
+    public void encode_recordList_shouldKeepLegacyLayout() {
+        CollectionState state = new CollectionState(7L, CollectionKind.LIST, null, I64, 4096L, 10L);
+        byte[] encoded = state.encode();
+
+        // 인라인 폭 바이트 없이 seqEncoderVersion으로 끝남
+        CollectionState legacy = CollectionState.decode(encoded);
+        assertEquals(0, legacy.getInlineElementWidth());
+        assertEquals(CollectionState.SEQ_ENCODER_VERSION_LEGACY, encoded[encoded.length - 1]);
+    }
+
+    @Test
+    public void encode_segmentRingDeque_shouldRoundTripPositions() {
+        CollectionState state = new CollectionState(9L, CollectionKind.DEQUE, null, I64,
+                0L, 0L, CollectionState.SEQ_ENCODER_VERSION_ORDERED)
+                .withSegmentRing(8192L, -3L, 1021L);
+
+        CollectionState decoded = CollectionState.decode(state.encode());
+
+        assertTrue(decoded.isSegmentRing());
+        assertEquals(8192L, decoded.getRootPageId());
+        assertEquals(-3L, decoded.getHeadPosition());
+        assertEquals(1021L, decoded.getTailPosition());
+        assertEquals(1024L, decoded.getCount());
+        assertEquals(0, decoded.getInlineElementWidth());
+        assertEquals(CollectionState.SEQ_ENCODER_VERSION_ORDERED, decoded.getSeqEncoderVersion());
+        assertTrue(decoded.withRootPageId(4096L).isSegmentRing());
+        assertEquals(1021L, decoded.withCount(5L).getTailPosition());
+    }
+
+    @Test
+    public void encode_btreeDeque_shouldOmitRingFields() {
+        CollectionState state = new CollectionState(9L, CollectionKind.DEQUE, null, I64,
+                4096L, 3L, CollectionState.SEQ_ENCODER_VERSION_ORDERED);
+        byte[] encoded = state.encode();
+
+        assertEquals(CollectionState.SEQ_ENCODER_VERSION_ORDERED, encoded[encoded.length - 1]);
+        assertFalse(CollectionState.decode(encoded).isSegmentRing());
+    }
+
+    @Test
+    public void encode_changedSeqNo_shouldRoundTripWithoutLivePages() {
+        CollectionState state = new CollectionState(7L, CollectionKind.MAP, I64, I64, 4096L, 10L)
+                .withChangedSeqNo(42L);
+
+        CollectionState decoded = CollectionState.decode(state.encode());
+
+        assertEquals(42L, decoded.getChangedSeqNo());
+        assertFalse(decoded.hasLivePages());
+        assertFalse(decoded.isSegmentRing());
+        assertEquals(42L, decoded.withLivePages(3L).withRootAndCount(8192L, 11L).getChangedSeqNo());
+        assertEquals(CollectionState.CHANGED_SEQ_NO_UNKNOWN,
+                CollectionState.decode(decoded.withChangedSeqNo(CollectionState.CHANGED_SEQ_NO_UNKNOWN)
+                        .withLivePages(3L).encode()).getChangedSeqNo());
+    }
+}
@@ -388,4 +388,88 @@ public class CodecTest {
                 codec.compareBytes(encoded[i], encoded[i + 1]) < 0);
         }
     }
+
+    // ==================== 범위 비교 / 바이트 비교 가능 테스트 ====================
+
+    @Test
+    public void testCompareBytesRange_MatchesArrayCompare() {
+        assertRangeCompareConsistent(I64Codec.INSTANCE, new Long[]{Long.MIN_VALUE, -5L, 0L, 3L, Long.MAX_VALUE});
+        assertRangeCompareConsistent(F64Codec.INSTANCE, new Double[]{-1e300, -0.5, 0.0, 2.5, Double.NaN});
+        assertRangeCompareConsistent(IntegerCodec.INSTANCE, new Integer[]{Integer.MIN_VALUE, -1, 0, 42});
+        assertRangeCompareConsistent(StringCodec.INSTANCE, new String[]{"", "a", "abcdefghij", "abcdefghik", "\uD55C"});
+        assertRangeCompareConsistent(BytesCodec.INSTANCE, new byte[][]{{}, {(byte) 0xFF}, {0, 1}, {0, 2}});
+    }
+
+    @Test
+    public void testIsByteComparable() {
+        assertTrue(StringCodec.INSTANCE.isByteComparable());
+        assertFalse(I64Codec.INSTANCE.isByteComparable());
+        assertFalse(F64Codec.INSTANCE.isByteComparable());
+        // 길이 우선 정렬이므로 사전순이 아님
+        assertFalse(BytesCodec.INSTANCE.isByteComparable());
+    }
+
+    @Test
+    public void testFixedWidth() {
+        assertEquals(8, I64Codec.INSTANCE.fixedWidth());
+        assertEquals(8, F64Codec.INSTANCE.fixedWidth());
+        assertEquals(8, IntegerCodec.INSTANCE.fixedWidth());
+        assertEquals(8, ShortCodec.INSTANCE.fixedWidth());
+        assertEquals(8, ByteCodec.INSTANCE.fixedWidth());
+        assertEquals(8, FloatCodec.INSTANCE.fixedWidth());
+        assertEquals(I64Codec.INSTANCE.fixedWidth(), I64Codec.INSTANCE.encode(-7L).length);
+        assertEquals(FloatCodec.INSTANCE.fixedWidth(), FloatCodec.INSTANCE.encode(1.5f).length);
+        assertEquals(-1, StringCodec.INSTANCE.fixedWidth());
+        assertEquals(-1, BytesCodec.INSTANCE.fixedWidth());
+    }
+
+    private static <T> void assertRangeCompareConsistent(com.snoworca.fxstore.api.FxCodec<T> codec, T[] values) {
+        for (T x : values) {
+            for (T y : values) {
+                byte[] a = codec.encode(x);
+                byte[] b = codec.encode(y);
+                // 앞뒤에 쓰레기 바이트를 둔 배열 안에서 비교
+                byte[] paddedA = new byte[a.length + 5];
+                byte[] paddedB = new byte[b.length + 3];
+                Arrays.fill(paddedA, (byte) 0x5A);
+                Arrays.fill(paddedB, (byte) 0xA5);
+                System.arraycopy(a, 0, paddedA, 2, a.length);
+                System.arraycopy(b, 0, paddedB, 1, b.length);
+                int expected = Integer.signum(codec.compareBytes(a, b));
+                int actual = Integer.signum(codec.compareBytes(paddedA, 2, a.length, paddedB, 1, b.length));
+                assertEquals(codec.id() + " " + x + " vs " + y, expected, actual);
+            }
+        }
+    }
+
+    // ==================== 버퍼 인코딩 / 슬라이스 디코딩 테스트 ====================
+
+    @Test
+    public void testEncodeTo_MatchesEncode() {
+        assertEncodeToConsistent(I64Codec.INSTANCE, new Long[]{Long.MIN_VALUE, -1L, 0L, 123456789L});
+        assertEncodeToConsistent(F64Codec.INSTANCE, new Double[]{-0.0, 1.5, Double.NaN, Double.MAX_VALUE});
+        assertEncodeToConsistent(StringCodec.INSTANCE, new String[]{"", "abc", "\uD55C\uAE00", "\uD83D\uDE00"});
+        assertEncodeToConsistent(BytesCodec.INSTANCE, new byte[][]{{}, {1, 2, 3}});
+        // 기본 구현 (encode 위임)
+        assertEncodeToConsistent(IntegerCodec.INSTANCE, new Integer[]{-7, 0, 7});
+    }
+
+    private static <T> void assertEncodeToConsistent(com.snoworca.fxstore.api.FxCodec<T> codec, T[] values) {
+        com.snoworca.fxstore.api.FxEncodeBuffer buffer = new com.snoworca.fxstore.api.FxEncodeBuffer(1);
+        for (T value : values) {
+            byte[] expected = codec.encode(value);
+
+            // 앞에 다른 바이트가 있는 상태에서 이어 쓰기
+            buffer.reset();
+            buffer.write(new byte[]{7, 7, 7});
+            codec.encodeTo(value, buffer);
+            assertEquals(codec.id(), 3 + expected.length, buffer.length());
+            assertArrayEquals(codec.id(), expected,
+                Arrays.copyOfRange(buffer.array(), 3, buffer.length()));
+
+            // 슬라이스 디코딩은 전체 배열 디코딩과 같은 값
+            T decoded = codec.decode(buffer.array(), 3, expected.length);
+            assertArrayEquals(codec.id(), expected, codec.encode(decoded));
+        }
+    }
 }
@@ -0,0 +1,225 @@
+package com.snoworca.fxstore.collection;
+
+import com.snoworca.fxstore.api.FxErrorCode;
+import com.snoworca.fxstore.api.FxException;
+import com.snoworca.fxstore.api.FxOptions;
+import com.snoworca.fxstore.api.FxStore;
+import com.snoworca.fxstore.core.FxStoreImpl;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.Assert.*;
+
+/**
+ * FxDequeImpl 블로킹 소비자 API 테스트
+ *
+ * <ul>
+ *   <li>takeFirst / pollFirst(timeout) 대기 및 깨우기</li>
+ *   <li>인터럽트, 스토어 close 시 대기 종료</li>
+ *   <li>다중 생산자/소비자 간 유실/중복 없는 전달</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxDequeBlockingTest {
+
+    private FxStore store;
+    private FxDequeImpl<Long> deque;
+
+    @Before
+    public void setUp() {
+        store = FxStoreImpl.openMemory(FxOptions.defaults());
+        deque = (FxDequeImpl<Long>) store.createDeque("jobs", Long.class);
+    }
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            try { store.close(); } catch (Exception e) { /* ignore */ }
+        }
+    }
+
+    @Test
+    public void pollFirstTimeout_nonEmpty_shouldReturnImmediately() throws Exception {
+        deque.addLast(1L);
+        assertEquals(Long.valueOf(1L), deque.pollFirst(0, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    public void pollFirstTimeout_empty_shouldReturnNullAfterTimeout() throws Exception {
+        long start = System.nanoTime();
+        assertNull(deque.pollFirst(50, TimeUnit.MILLISECONDS));
+        long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue("Should wait about the timeout: " + elapsedMs, elapsedMs >= 40);
+    }
+
+    @Test
+    public void takeFirst_shouldWakeOnAddLast() throws Exception {
+        AtomicReference<Long> taken = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                taken.set(deque.takeFirst());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        awaitWaiting(consumer);
+
+        deque.addLast(42L);
+
+        consumer.join(5000);
+        assertFalse("Consumer should have been woken", consumer.isAlive());
+        assertEquals(Long.valueOf(42L), taken.get());
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void pollFirstTimeout_shouldWakeOnOfferLastAll() throws Exception {
+        AtomicReference<Long> taken = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                taken.set(deque.pollFirst(10, TimeUnit.SECONDS));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        consumer.start();
+        awaitWaiting(consumer);
+
+        deque.offerLastAll(Arrays.asList(7L, 8L, 9L));
+
+        consumer.join(5000);
+        assertFalse(consumer.isAlive());
+        assertEquals(Long.valueOf(7L), taken.get());
+        assertEquals(2, deque.size());
+    }
+
+    @Test
+    public void takeFirst_interrupted_shouldThrow() throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                deque.takeFirst();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        consumer.start();
+        awaitWaiting(consumer);
+
+        consumer.interrupt();
+
+        consumer.join(5000);
+        assertFalse(consumer.isAlive());
+        assertTrue(failure.get() instanceof InterruptedException);
+    }
+
+    @Test
+    public void takeFirst_storeClosed_shouldThrowClosed() throws Exception {
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread consumer = new Thread(() -> {
+            try {
+                deque.takeFirst();
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        consumer.start();
+        awaitWaiting(consumer);
+
+        store.close();
+
+        consumer.join(5000);
+        assertFalse(consumer.isAlive());
+        assertTrue(failure.get() instanceof FxException);
+        assertEquals(FxErrorCode.CLOSED, ((FxException) failure.get()).getCode());
+    }
+
+    @Test
+    public void producersAndConsumers_shouldHandOffEveryElementOnce() throws Exception {
+        final int producers = 2;
+        final int consumers = 3;
+        final int perProducer = 500;
+        final int total = producers * perProducer;
+
+        ConcurrentLinkedQueue<Long> received = new ConcurrentLinkedQueue<>();
+        CountDownLatch done = new CountDownLatch(total);
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+
+        Thread[] consumerThreads = new Thread[consumers];
+        for (int c = 0; c < consumers; c++) {
+            consumerThreads[c] = new Thread(() -> {
+                try {
+                    while (true) {
+                        Long value = deque.pollFirst(100, TimeUnit.MILLISECONDS);
+                        if (value != null) {
+                            received.add(value);
+                            done.countDown();
+                        } else if (done.getCount() == 0) {
+                            return;
+                        }
+                    }
+                } catch (Throwable t) {
+                    failure.compareAndSet(null, t);
+                }
+            });
+            consumerThreads[c].start();
+        }
+
+        Thread[] producerThreads = new Thread[producers];
+        for (int p = 0; p < producers; p++) {
+            final long base = (long) p * perProducer;
+            producerThreads[p] = new Thread(() -> {
+                for (long i = 0; i < perProducer; i++) {
+                    if (i % 100 == 0) {
+                        deque.offerLastAll(Collections.singletonList(base + i));
+                    } else {
+                        deque.addLast(base + i);
+                    }
+                }
+            });
+            producerThreads[p].start();
+        }
+
+        for (Thread producer : producerThreads) {
+            producer.join(30000);
+        }
+        assertTrue("All elements should be consumed", done.await(30, TimeUnit.SECONDS));
+        for (Thread consumer : consumerThreads) {
+            consumer.join(5000);
+        }
+
+        assertNull(failure.get());
+        List<Long> values = Arrays.asList(received.toArray(new Long[0]));
+        Set<Long> unique = new HashSet<>(values);
+        assertEquals(total, values.size());
+        assertEquals(total, unique.size());
+        assertTrue(deque.isEmpty());
+    }
+
+    /**
+     * 소비자 스레드가 대기 상태에 들어갈 때까지 대기
+     */
+    private static void awaitWaiting(Thread thread) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 5000;
+        while (thread.getState() != Thread.State.WAITING
+                && thread.getState() != Thread.State.TIMED_WAITING) {
+            if (System.currentTimeMillis() > deadline) {
+                fail("Consumer did not start waiting: " + thread.getState());
+            }
+            Thread.sleep(1);
+        }
+    }
+}
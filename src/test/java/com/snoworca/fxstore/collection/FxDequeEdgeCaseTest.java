@@ -8,7 +8,9 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.util.ArrayList;
 import java.util.Deque;
+import java.util.List;
 import java.util.NoSuchElementException;
 
 import static org.junit.Assert.*;
@@ -65,6 +67,32 @@ public class FxDequeEdgeCaseTest {
         assertNull(deque.poll());
     }
 
+    @Test
+    public void pollFirstN_emptyDeque_shouldReturnEmptyList() {
+        FxDequeImpl<String> deque = (FxDequeImpl<String>) store.createDeque("test", String.class);
+        assertTrue(deque.pollFirst(5).isEmpty());
+    }
+
+    @Test
+    public void batchOperations_shouldPersistAcrossReopen() throws Exception {
+        FxDequeImpl<Long> deque = (FxDequeImpl<Long>) store.createDeque("jobs", Long.class);
+        List<Long> jobs = new ArrayList<>();
+        for (long i = 0; i < 2000; i++) {
+            jobs.add(i);
+        }
+        deque.offerLastAll(jobs);
+        assertEquals(700, deque.drainTo(new ArrayList<Long>(), 700));
+
+        store.close();
+        store = FxStore.open(storeFile.toPath());
+
+        Deque<Long> reopened = store.openDeque("jobs", Long.class);
+        assertEquals(1300, reopened.size());
+        assertEquals(Long.valueOf(700), reopened.peekFirst());
+        assertEquals(Long.valueOf(1999), reopened.peekLast());
+        assertEquals(jobs.subList(700, 2000), new ArrayList<>(reopened));
+    }
+
     // ==================== peek null 반환 테스트 ====================
 
     @Test
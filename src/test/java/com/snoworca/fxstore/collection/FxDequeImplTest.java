@@ -492,6 +492,102 @@ public class FxDequeImplTest {
         }
     }
 
+    // ==================== 일괄 poll/drain/offer 테스트 ====================
+
+    @Test
+    public void offerLastAll_shouldAppendInOrder() {
+        deque.addLast("head");
+        assertTrue(dequeImpl.offerLastAll(Arrays.asList("a", "b", "c")));
+        assertEquals(Arrays.asList("head", "a", "b", "c"), new ArrayList<>(deque));
+        assertEquals("c", deque.peekLast());
+    }
+
+    @Test
+    public void offerLastAll_empty_shouldReturnFalse() {
+        assertFalse(dequeImpl.offerLastAll(Collections.<String>emptyList()));
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test
+    public void offerLastAll_nullElement_shouldNotModify() {
+        deque.addLast("x");
+        try {
+            dequeImpl.offerLastAll(Arrays.asList("a", null));
+            fail("Expected NullPointerException");
+        } catch (NullPointerException expected) {
+            // 예상됨
+        }
+        assertEquals(Collections.singletonList("x"), new ArrayList<>(deque));
+    }
+
+    @Test
+    public void pollFirstN_shouldRemoveFromHead() {
+        for (int i = 0; i < 5000; i++) {
+            deque.addLast("item" + i);
+        }
+        deque.addFirst("first");
+
+        List<String> polled = dequeImpl.pollFirst(1001);
+
+        assertEquals(1001, polled.size());
+        assertEquals("first", polled.get(0));
+        assertEquals("item999", polled.get(1000));
+        assertEquals(4000, deque.size());
+        assertEquals("item1000", deque.peekFirst());
+        assertEquals("item4999", deque.peekLast());
+    }
+
+    @Test
+    public void pollFirstN_moreThanSize_shouldDrainAll() {
+        dequeImpl.offerLastAll(Arrays.asList("a", "b"));
+        assertEquals(Arrays.asList("a", "b"), dequeImpl.pollFirst(10));
+        assertTrue(deque.isEmpty());
+        assertTrue(dequeImpl.pollFirst(10).isEmpty());
+
+        // 비운 뒤 다시 사용 가능
+        deque.addLast("c");
+        deque.addFirst("z");
+        assertEquals(Arrays.asList("z", "c"), new ArrayList<>(deque));
+    }
+
+    @Test
+    public void drainTo_maxElements_shouldMoveToCollection() {
+        List<String> items = new ArrayList<>();
+        for (int i = 0; i < 3000; i++) {
+            items.add("item" + i);
+        }
+        dequeImpl.offerLastAll(items);
+
+        List<String> sink = new ArrayList<>();
+        assertEquals(0, dequeImpl.drainTo(sink, 0));
+        assertEquals(1500, dequeImpl.drainTo(sink, 1500));
+        assertEquals(items.subList(0, 1500), sink);
+
+        assertEquals(1500, dequeImpl.drainTo(sink));
+        assertEquals(items, sink);
+        assertTrue(deque.isEmpty());
+    }
+
+    @Test(expected = FxException.class)
+    public void drainTo_self_shouldThrow() {
+        dequeImpl.drainTo(deque, 1);
+    }
+
+    @Test
+    public void batchOperations_legacyEncoder_shouldFallBackToPerKey() {
+        dequeImpl.setSeqEncoder(LegacySeqEncoder.getInstance());
+        List<String> items = new ArrayList<>();
+        for (int i = -300; i < 300; i++) {
+            items.add("item" + i);
+        }
+        deque.addFirst("first");
+        dequeImpl.offerLastAll(items);
+
+        assertEquals("first", deque.pollFirst());
+        assertEquals(items.subList(0, 400), dequeImpl.pollFirst(400));
+        assertEquals(items.subList(400, 600), new ArrayList<>(deque));
+    }
+
     // ==================== 긴 문자열 테스트 ====================
 
     @Test
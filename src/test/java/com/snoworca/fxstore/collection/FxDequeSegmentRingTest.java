@@ -0,0 +1,356 @@
+package com.snoworca.fxstore.collection;
+
+import com.snoworca.fxstore.api.CommitMode;
+import com.snoworca.fxstore.api.FxOptions;
+import com.snoworca.fxstore.api.FxReadTransaction;
+import com.snoworca.fxstore.api.FxStore;
+import com.snoworca.fxstore.catalog.CollectionState;
+import com.snoworca.fxstore.core.CommitHeader;
+import com.snoworca.fxstore.core.FxStoreImpl;
+import com.snoworca.fxstore.core.Superblock;
+import com.snoworca.fxstore.migration.DequeMigrator;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.Assert.*;
+
+/**
+ * 세그먼트 링 형식 FxDequeImpl 테스트
+ *
+ * <ul>
+ *   <li>세그먼트 경계를 넘는 무작위 연산의 ArrayDeque 동등성</li>
+ *   <li>FIFO 사용 시 페이지 할당량, 소비된 세그먼트 해제</li>
+ *   <li>재오픈 시 head/tail 복원, 읽기 트랜잭션 스냅샷 격리</li>
+ *   <li>BTree 형식 Deque 변환 (DequeMigrator), 커밋 플래그 기록과 rollback</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxDequeSegmentRingTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private FxStore store;
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            try { store.close(); } catch (Exception e) { /* ignore */ }
+        }
+    }
+
+    private static FxOptions ringOptions() {
+        return FxOptions.defaults().withSegmentRingDeques(true).build();
+    }
+
+    @Test
+    public void createDeque_withOption_shouldUseSegmentRing() {
+        store = FxStoreImpl.openMemory(ringOptions());
+        FxDequeImpl<Long> deque = (FxDequeImpl<Long>) store.createDeque("q", Long.class);
+
+        assertTrue(deque.isSegmentRing());
+        assertTrue(((FxStoreImpl) store).getCollectionState("q").isSegmentRing());
+        assertNull(deque.peekFirst());
+        assertNull(deque.pollLast());
+    }
+
+    @Test
+    public void randomOperations_shouldMatchArrayDeque() {
+        store = FxStoreImpl.openMemory(ringOptions());
+        FxDequeImpl<Long> deque = (FxDequeImpl<Long>) store.createDeque("q", Long.class);
+        ArrayDeque<Long> ref = new ArrayDeque<>();
+        Random random = new Random(7);
+
+        long next = 0;
+        for (int op = 0; op < 6000; op++) {
+            int choice = random.nextInt(10);
+            if (choice < 4) {
+                deque.addLast(next);
+                ref.addLast(next++);
+            } else if (choice < 5) {
+                deque.addFirst(next);
+                ref.addFirst(next++);
+            } else if (choice < 6) {
+                List<Long> batch = new ArrayList<>();
+                for (int i = random.nextInt(700); i > 0; i--) {
+                    batch.add(next++);
+                }
+                deque.offerLastAll(batch);
+                ref.addAll(batch);
+            } else if (choice < 8) {
+                assertEquals(ref.pollFirst(), deque.pollFirst());
+            } else if (choice < 9) {
+                assertEquals(ref.pollLast(), deque.pollLast());
+            } else {
+                int n = random.nextInt(600);
+                List<Long> expected = new ArrayList<>();
+                for (int i = 0; i < n && !ref.isEmpty(); i++) {
+                    expected.add(ref.pollFirst());
+                }
+                assertEquals(expected, deque.pollFirst(n));
+            }
+            assertEquals(ref.size(), deque.size());
+            assertEquals(ref.peekFirst(), deque.peekFirst());
+            assertEquals(ref.peekLast(), deque.peekLast());
+        }
+
+        assertEquals(new ArrayList<>(ref), new ArrayList<>(deque));
+    }
+
+    @Test
+    public void fifo_shouldNotCopyTreePathPerOperation() {
+        // BATCH 모드로 커밋 비용을 빼고 Deque 자체의 페이지 쓰기만 비교
+        FxOptions batch = FxOptions.defaults().withCommitMode(CommitMode.BATCH).build();
+        FxStoreImpl ringStore = (FxStoreImpl) FxStoreImpl.openMemory(
+            FxOptions.defaults().withCommitMode(CommitMode.BATCH).segmentRingDeques(true).build());
+        FxStoreImpl treeStore = (FxStoreImpl) FxStoreImpl.openMemory(batch);
+        try {
+            long ringGrowth = fifoAllocGrowth(ringStore);
+            long treeGrowth = fifoAllocGrowth(treeStore);
+
+            // 세그먼트 링: 요소당 값 레코드 1페이지 + 세그먼트 분할 상환
+            // BTree: 값 레코드 + push/pop마다 리프 경로 COW
+            assertTrue("ring=" + ringGrowth + ", tree=" + treeGrowth, ringGrowth * 2 < treeGrowth);
+        } finally {
+            ringStore.close();
+            treeStore.close();
+        }
+    }
+
+    private static long fifoAllocGrowth(FxStoreImpl target) {
+        Deque<Long> deque = target.createDeque("q", Long.class);
+        for (long i = 0; i < 100; i++) {
+            deque.addLast(i);
+        }
+        long before = target.getAllocator().getAllocTail();
+        for (long i = 0; i < 3000; i++) {
+            deque.addLast(i);
+            assertNotNull(deque.pollFirst());
+        }
+        long growth = target.getAllocator().getAllocTail() - before;
+        target.commit();
+        return growth;
+    }
+
+    @Test
+    public void fifo_shouldReleaseConsumedSegments() {
+        store = FxStoreImpl.openMemory(ringOptions());
+        FxDequeImpl<Long> deque = (FxDequeImpl<Long>) store.createDeque("q", Long.class);
+        FxStoreImpl impl = (FxStoreImpl) store;
+
+        for (long i = 0; i < 5000; i++) {
+            deque.addLast(i);
+            if (i >= 10) {
+                assertEquals(Long.valueOf(i - 10), deque.pollFirst());
+            }
+        }
+
+        // 살아 있는 10개 요소는 최대 두 세그먼트에 걸침
+        CollectionState state = impl.getCollectionState("q");
+        int segments = 0;
+        com.snoworca.fxstore.btree.BTreeCursor cursor =
+            impl.getBTreeForCollection(state.getCollectionId()).cursorWithRoot(state.getRootPageId());
+        while (cursor.hasNext()) {
+            cursor.next();
+            segments++;
+        }
+        assertTrue("segments=" + segments, segments <= 2);
+        assertEquals(10L, state.getCount());
+    }
+
+    @Test
+    public void reopen_shouldRestorePositionsWithoutScan() throws Exception {
+        File file = tempFolder.newFile("ring.fxs");
+        file.delete();
+
+        store = FxStore.open(file.toPath(), ringOptions());
+        Deque<String> deque = store.createDeque("q", String.class);
+        for (int i = 0; i < 1200; i++) {
+            deque.addLast("v" + i);
+        }
+        for (int i = 0; i < 700; i++) {
+            deque.pollFirst();
+        }
+        deque.addFirst("front");
+        store.close();
+
+        // 기본 옵션으로 다시 열어도 Deque 형식은 상태에 기록된 대로 유지
+        store = FxStore.open(file.toPath());
+        FxDequeImpl<String> reopened = (FxDequeImpl<String>) store.openDeque("q", String.class);
+        assertTrue(reopened.isSegmentRing());
+        assertEquals(501, reopened.size());
+        assertEquals("front", reopened.peekFirst());
+        assertEquals("v1199", reopened.peekLast());
+
+        reopened.addLast("tail");
+        assertEquals("front", reopened.pollFirst());
+        assertEquals("v700", reopened.pollFirst());
+        assertEquals("tail", reopened.pollLast());
+        assertEquals(499, reopened.size());
+    }
+
+    @Test
+    public void readTransaction_shouldSeeSnapshotAcrossInPlaceWrites() {
+        store = FxStoreImpl.openMemory(ringOptions());
+        Deque<Long> deque = store.createDeque("q", Long.class);
+        deque.addLast(1L);
+        deque.addLast(2L);
+
+        try (FxReadTransaction tx = store.beginRead()) {
+            deque.pollLast();
+            deque.addLast(20L);
+            deque.pollFirst();
+            deque.addFirst(10L);
+
+            assertEquals(Long.valueOf(1L), tx.peekFirst(deque));
+            assertEquals(Long.valueOf(2L), tx.peekLast(deque));
+            assertEquals(2, tx.size(deque));
+        }
+        assertEquals(Arrays.asList(10L, 20L), new ArrayList<>(deque));
+    }
+
+    @Test
+    public void rollback_shouldNotOverwriteSlotsSeenByReadTransaction() {
+        store = FxStoreImpl.openMemory(
+            FxOptions.defaults().withCommitMode(CommitMode.BATCH).segmentRingDeques(true).build());
+        Deque<String> deque = store.createDeque("q", String.class);
+        deque.addLast("a");
+        store.commit();
+        deque.addLast("x");
+
+        try (FxReadTransaction tx = store.beginRead()) {
+            assertEquals("x", tx.peekLast(deque));
+
+            // 롤백으로 다시 만든 링은 이전 인스턴스가 쓴 세그먼트에 처음 쓸 때 COW
+            store.rollback();
+            Deque<String> reopened = store.openDeque("q", String.class);
+            reopened.addLast("y");
+
+            assertEquals("x", tx.peekLast(deque));
+            assertEquals(2, tx.size(deque));
+            assertEquals(Arrays.asList("a", "y"), new ArrayList<>(reopened));
+        }
+    }
+
+    @Test
+    public void iterator_shouldBeSnapshot() {
+        store = FxStoreImpl.openMemory(ringOptions());
+        Deque<Long> deque = store.createDeque("q", Long.class);
+        deque.addAll(Arrays.asList(1L, 2L, 3L));
+
+        java.util.Iterator<Long> it = deque.iterator();
+        java.util.Iterator<Long> desc = deque.descendingIterator();
+        deque.clear();
+        deque.addLast(9L);
+
+        assertEquals(Long.valueOf(1L), it.next());
+        assertEquals(Long.valueOf(3L), desc.next());
+        assertEquals(Arrays.asList(9L), new ArrayList<>(deque));
+    }
+
+    @Test
+    public void removeOccurrenceAndRetainAll_shouldRebuildRing() {
+        store = FxStoreImpl.openMemory(ringOptions());
+        Deque<Long> deque = store.createDeque("q", Long.class);
+        deque.addAll(Arrays.asList(1L, 2L, 3L, 2L, 4L));
+
+        assertTrue(deque.removeFirstOccurrence(2L));
+        assertEquals(Arrays.asList(1L, 3L, 2L, 4L), new ArrayList<>(deque));
+        assertTrue(deque.removeLastOccurrence(4L));
+        assertFalse(deque.remove(7L));
+        assertTrue(deque.retainAll(Arrays.asList(1L, 2L)));
+        assertEquals(Arrays.asList(1L, 2L), new ArrayList<>(deque));
+        assertTrue(deque.contains(2L));
+
+        deque.addFirst(0L);
+        deque.addLast(3L);
+        assertEquals(Arrays.asList(0L, 1L, 2L, 3L), new ArrayList<>(deque));
+        assertEquals(4L, ((FxStoreImpl) store).getCollectionState("q").getCount());
+    }
+
+    @Test
+    public void migrateToSegmentRing_shouldConvertBTreeDeque() throws Exception {
+        File file = tempFolder.newFile("migrate.fxs");
+        file.delete();
+
+        store = FxStore.open(file.toPath());
+        Deque<String> deque = store.createDeque("q", String.class);
+        for (int i = 0; i < 1500; i++) {
+            deque.addLast("v" + i);
+        }
+        deque.addFirst("front");
+        assertTrue(DequeMigrator.needsSegmentRingMigration(store, "q"));
+
+        DequeMigrator.migrateToSegmentRing(store, "q", String.class);
+
+        assertFalse(DequeMigrator.needsSegmentRingMigration(store, "q"));
+        assertTrue(((FxDequeImpl<String>) deque).isSegmentRing());
+        assertEquals(1501, deque.size());
+        assertEquals("front", deque.pollFirst());
+        deque.addLast("last");
+        store.close();
+        assertTrue((committedFlags(file) & CommitHeader.FLAG_SEGMENT_RING_DEQUES) != 0);
+
+        store = FxStore.open(file.toPath());
+        FxDequeImpl<String> reopened = (FxDequeImpl<String>) store.openDeque("q", String.class);
+        assertTrue(reopened.isSegmentRing());
+        assertEquals(1501, reopened.size());
+        assertEquals("v0", reopened.peekFirst());
+        assertEquals("last", reopened.peekLast());
+
+        // 변환은 커밋 플래그로 기록되고 Store 기본값(새 Deque 형식)은 그대로
+        assertFalse(((FxStoreImpl) store).isSegmentRingDequesEnabled());
+        FxDequeImpl<String> created = (FxDequeImpl<String>) store.createDeque("q2", String.class);
+        assertFalse(created.isSegmentRing());
+    }
+
+    @Test
+    public void migrateToSegmentRing_rollback_shouldDiscardFlag() throws Exception {
+        File file = tempFolder.newFile("migrate-rollback.fxs");
+        file.delete();
+
+        store = FxStore.open(file.toPath(), FxOptions.defaults().withCommitMode(CommitMode.BATCH).build());
+        Deque<String> deque = store.createDeque("q", String.class);
+        deque.addLast("a");
+        deque.addLast("b");
+        store.commit();
+
+        DequeMigrator.migrateToSegmentRing(store, "q", String.class);
+        assertFalse(DequeMigrator.needsSegmentRingMigration(store, "q"));
+        store.rollback();
+
+        assertTrue(DequeMigrator.needsSegmentRingMigration(store, "q"));
+        assertFalse(((FxStoreImpl) store).isSegmentRingDequesEnabled());
+        assertFalse(((FxDequeImpl<String>) store.createDeque("q2", String.class)).isSegmentRing());
+        store.openDeque("q", String.class).addLast("c");
+        store.commit();
+        store.close();
+        assertEquals(0L, committedFlags(file) & CommitHeader.FLAG_SEGMENT_RING_DEQUES);
+
+        store = FxStore.open(file.toPath());
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(store.openDeque("q", String.class)));
+        assertTrue(DequeMigrator.needsSegmentRingMigration(store, "q"));
+    }
+
+    /**
+     * 파일의 최신 CommitHeader 플래그
+     */
+    private static long committedFlags(File file) throws Exception {
+        byte[] bytes = java.nio.file.Files.readAllBytes(file.toPath());
+        byte[] slotA = Arrays.copyOfRange(bytes, Superblock.SIZE, Superblock.SIZE + CommitHeader.SIZE);
+        byte[] slotB = Arrays.copyOfRange(bytes, Superblock.SIZE + CommitHeader.SIZE,
+            Superblock.SIZE + CommitHeader.SIZE * 2);
+        return CommitHeader.selectHeader(slotA, slotB).getCommittedFlags();
+    }
+}
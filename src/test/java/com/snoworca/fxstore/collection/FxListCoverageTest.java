@@ -542,8 +542,8 @@ public class FxListCoverageTest {
 
     // ==================== subList clear 테스트 ====================
 
-    @Test(expected = UnsupportedOperationException.class)
-    public void list_subList_clear_shouldThrow() {
+    @Test
+    public void list_subList_clear_shouldRemoveRange() {
         List<String> list = store.createList("test", String.class);
         list.add("a");
         list.add("b");
@@ -552,7 +552,12 @@ public class FxListCoverageTest {
         list.add("e");
 
         List<String> sub = list.subList(1, 4); // b, c, d
-        sub.clear(); // FxList subList doesn't support clear
+        sub.clear(); // removeRange로 구간 삭제
+
+        assertTrue(sub.isEmpty());
+        assertEquals(2, list.size());
+        assertEquals("a", list.get(0));
+        assertEquals("e", list.get(1));
     }
 
     // ==================== 대용량 리스트 테스트 ====================
@@ -8,6 +8,9 @@ import org.junit.Test;
 import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.Assert.*;
@@ -250,4 +253,89 @@ public class FxListEdgeCaseTest {
         list.add("b");
         list.subList(2, 1);
     }
+
+    @Test
+    public void subList_clear_shouldRemoveRangeAndPersist() throws Exception {
+        List<String> list = store.createList("test", String.class);
+        List<String> batch = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            batch.add("item" + i);
+        }
+        list.addAll(batch);
+
+        list.subList(100, 1900).clear();
+
+        assertEquals(200, list.size());
+        assertEquals("item99", list.get(99));
+        assertEquals("item1900", list.get(100));
+
+        store.close();
+        store = FxStore.open(storeFile.toPath());
+        List<String> reopened = store.openList("test", String.class);
+        assertEquals(200, reopened.size());
+        assertEquals("item1999", reopened.get(199));
+    }
+
+    // ==================== addAll() 테스트 ====================
+
+    @Test
+    public void addAll_atIndex_shouldInsertInOrder() {
+        List<String> list = store.createList("test", String.class);
+        list.add("a");
+        list.add("z");
+
+        assertTrue(list.addAll(1, Arrays.asList("b", "c", "d")));
+
+        assertEquals(Arrays.asList("a", "b", "c", "d", "z"), new ArrayList<>(list));
+    }
+
+    @Test
+    public void addAll_nullElement_shouldThrowWithoutInserting() {
+        List<String> list = store.createList("test", String.class);
+        list.add("a");
+        try {
+            list.addAll(Arrays.asList("b", null));
+            fail("Expected NullPointerException");
+        } catch (NullPointerException expected) {
+            // 기대한 예외
+        }
+        assertEquals(1, list.size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void addAll_indexGreaterThanSize_shouldThrow() {
+        List<String> list = store.createList("test", String.class);
+        list.addAll(1, Arrays.asList("a"));
+    }
+
+    // ==================== sort() / replaceAll() 테스트 ====================
+
+    @Test
+    public void sort_shouldReorderAndPersist() throws Exception {
+        List<String> list = store.createList("test", String.class);
+        list.addAll(Arrays.asList("delta", "alpha", "charlie", "bravo"));
+
+        Collections.sort(list);
+
+        assertEquals(Arrays.asList("alpha", "bravo", "charlie", "delta"), new ArrayList<>(list));
+        store.close();
+        store = FxStore.open(storeFile.toPath());
+        assertEquals("alpha", store.openList("test", String.class).get(0));
+    }
+
+    @Test
+    public void replaceAll_nullResult_shouldLeaveListUnchanged() {
+        List<String> list = store.createList("test", String.class);
+        list.addAll(Arrays.asList("a", "b", "c"));
+        try {
+            list.replaceAll(v -> v.equals("b") ? null : v.toUpperCase());
+            fail("Expected NullPointerException");
+        } catch (NullPointerException expected) {
+            // 기대한 예외
+        }
+        assertEquals(Arrays.asList("a", "b", "c"), new ArrayList<>(list));
+
+        list.replaceAll(String::toUpperCase);
+        assertEquals(Arrays.asList("A", "B", "C"), new ArrayList<>(list));
+    }
 }
@@ -231,12 +231,48 @@ public class FxListIteratorTest {
         it.set("X"); // 예외 발생
     }
 
+    /**
+     * 여러 리프에 걸친 리스트의 양방향 순회와 지연 디코딩.
+     */
+    @Test
+    public void testListIterator_LargeList_LazyBidirectional() {
+        // Given: 여러 리프에 걸친 리스트 (COW 삽입을 위해 큰 저장소 사용)
+        MemoryStorage bigStorage = new MemoryStorage(64 * 1024 * 1024);
+        OST bigOst = OST.createEmpty(bigStorage, new Allocator(PAGE_SIZE, 12288), PAGE_SIZE);
+        SimpleRecordStore counting = new SimpleRecordStore();
+        FxList<String> bigList = new FxList<>(bigOst, StringCodec.INSTANCE, counting);
+        int n = 2000;
+        for (int i = 0; i < n; i++) {
+            bigList.add("v" + i);
+        }
+        counting.reads = 0;
+
+        // When: 중간에서 생성
+        ListIterator<String> it = bigList.listIterator(1000);
+
+        // Then: 생성 시 레코드를 읽지 않음
+        assertEquals(0, counting.reads);
+        assertEquals("v1000", it.next());
+        assertEquals(1, counting.reads);
+
+        for (int i = 1001; i < n; i++) {
+            assertEquals("v" + i, it.next());
+        }
+        assertFalse(it.hasNext());
+        for (int i = n - 1; i >= 0; i--) {
+            assertEquals(i, it.previousIndex());
+            assertEquals("v" + i, it.previous());
+        }
+        assertFalse(it.hasPrevious());
+    }
+
     /**
      * 간단한 RecordStore 구현.
      */
     private static class SimpleRecordStore implements FxList.RecordStore {
         private final Map<Long, byte[]> records = new HashMap<>();
         private long nextId = 1L;
+        int reads;
         
         @Override
         public long writeRecord(byte[] data) {
@@ -247,6 +283,7 @@ public class FxListIteratorTest {
         
         @Override
         public byte[] readRecord(long recordId) {
+            reads++;
             byte[] data = records.get(recordId);
             if (data == null) {
                 throw new IllegalArgumentException("Record not found: " + recordId);
@@ -609,6 +609,33 @@ public class FxNavigableMapCoverageTest {
         assertEquals("new", map.get(1L));
     }
 
+    // ==================== getAll 테스트 ====================
+
+    @Test
+    public void getAll_shouldReturnPresentKeysInRequestOrder() {
+        FxNavigableMapImpl<Long, String> map =
+            (FxNavigableMapImpl<Long, String>) store.createMap("test", Long.class, String.class);
+        for (long i = -500; i < 500; i += 2) {
+            map.put(i, "value" + i);
+        }
+
+        List<Long> keys = Arrays.asList(400L, -500L, 3L, 0L, 400L, 498L, 999L, -2L);
+        Map<Long, String> result = map.getAll(keys);
+
+        assertEquals(Arrays.asList(400L, -500L, 0L, 498L, -2L), new ArrayList<>(result.keySet()));
+        for (Map.Entry<Long, String> entry : result.entrySet()) {
+            assertEquals(map.get(entry.getKey()), entry.getValue());
+        }
+        assertTrue(map.getAll(Collections.<Long>emptyList()).isEmpty());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void getAll_nullKey_shouldThrow() {
+        FxNavigableMapImpl<Long, String> map =
+            (FxNavigableMapImpl<Long, String>) store.createMap("test", Long.class, String.class);
+        map.getAll(Arrays.asList(1L, null));
+    }
+
     // ==================== headMap/tailMap 단일 인자 테스트 ====================
 
     @Test
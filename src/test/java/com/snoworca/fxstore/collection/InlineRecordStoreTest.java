@@ -0,0 +1,62 @@
+package com.snoworca.fxstore.collection;
+
+import com.snoworca.fxstore.api.FxException;
+import com.snoworca.fxstore.codec.F64Codec;
+import com.snoworca.fxstore.codec.I64Codec;
+import com.snoworca.fxstore.codec.StringCodec;
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * InlineRecordStore 테스트
+ *
+ * <ul>
+ *   <li>슬롯 왕복 (경계값, 부동소수점)</li>
+ *   <li>슬롯 값이 코덱 인코딩의 리틀 엔디언 해석과 일치</li>
+ *   <li>폭 불일치 거부</li>
+ * </ul>
+ */
+public class InlineRecordStoreTest {
+
+    private final InlineRecordStore store = new InlineRecordStore(8);
+
+    @Test
+    public void roundTrip_longs_shouldPreserveValues() {
+        long[] samples = {0L, 1L, -1L, Long.MIN_VALUE, Long.MAX_VALUE, 0x0102030405060708L};
+        for (long sample : samples) {
+            long slot = store.writeRecord(I64Codec.INSTANCE, sample);
+            assertEquals(sample, slot);
+            assertEquals(Long.valueOf(sample), store.readRecord(slot, I64Codec.INSTANCE));
+            assertArrayEquals(I64Codec.INSTANCE.encode(sample), store.readRecord(slot));
+        }
+    }
+
+    @Test
+    public void roundTrip_doubles_shouldPreserveBits() {
+        double[] samples = {0.0, -0.0, Double.NaN, Double.MIN_VALUE, Double.NEGATIVE_INFINITY, 3.25};
+        for (double sample : samples) {
+            long slot = store.writeRecord(F64Codec.INSTANCE, sample);
+            Double decoded = store.readRecord(slot, F64Codec.INSTANCE);
+            assertEquals(Double.doubleToRawLongBits(sample), Double.doubleToRawLongBits(decoded));
+        }
+    }
+
+    @Test
+    public void narrowWidth_shouldUseLowBytes() {
+        InlineRecordStore narrow = new InlineRecordStore(2);
+        long slot = narrow.writeRecord(new byte[]{(byte) 0xFE, 0x01});
+        assertEquals(0x01FEL, slot);
+        assertArrayEquals(new byte[]{(byte) 0xFE, 0x01}, narrow.readRecord(slot));
+    }
+
+    @Test(expected = FxException.class)
+    public void writeRecord_wrongWidth_shouldThrow() {
+        store.writeRecord(StringCodec.INSTANCE, "too long for a slot");
+    }
+
+    @Test(expected = FxException.class)
+    public void constructor_widthAboveSlot_shouldThrow() {
+        new InlineRecordStore(9);
+    }
+}
@@ -276,6 +276,107 @@ public class ListEquivalenceTest {
         assertArrayEquals(refArray, fxArray);
     }
     
+    /**
+     * 시나리오 12.8: addAll 일괄 삽입 일치.
+     */
+    @Test
+    public void testEquivalence_AddAll() {
+        List<Integer> batch = new ArrayList<>();
+        for (int i = 0; i < 1500; i++) {
+            batch.add(i);
+        }
+
+        assertTrue(fxList.addAll(batch));
+        refList.addAll(batch);
+        assertTrue(fxList.addAll(0, batch.subList(0, 7)));
+        refList.addAll(0, batch.subList(0, 7));
+        assertTrue(fxList.addAll(800, batch));
+        refList.addAll(800, batch);
+        assertFalse(fxList.addAll(10, Collections.<Integer>emptyList()));
+
+        assertListsEqual();
+    }
+
+    /**
+     * 시나리오 12.9: subList clear (removeRange) 일치 및 레코드 해제.
+     */
+    @Test
+    public void testEquivalence_SubListClear() {
+        for (int i = 0; i < 3000; i++) {
+            refList.add(i);
+        }
+        fxList.addAll(refList);
+
+        while (!refList.isEmpty()) {
+            int from = random.nextInt(refList.size());
+            int to = from + random.nextInt(Math.min(refList.size() - from, 700) + 1);
+            fxList.subList(from, to).clear();
+            refList.subList(from, to).clear();
+            assertListsEqual();
+            assertEquals(refList.size(), recordStore.records.size());
+        }
+    }
+
+    /**
+     * 시나리오 12.10: sort 일치 (단일 run / 다중 run 병합).
+     */
+    @Test
+    public void testEquivalence_Sort() {
+        for (int i = 0; i < 1000; i++) {
+            int value = random.nextInt(300);
+            fxList.add(value);
+            refList.add(value);
+        }
+
+        fxList.sort(null);
+        Collections.sort(refList);
+        assertListsEqual();
+
+        // run 크기를 줄여 병합 경로 검증
+        fxList.sortRunSize = 97;
+        Comparator<Integer> descending = Comparator.reverseOrder();
+        fxList.sort(descending);
+        refList.sort(descending);
+        assertListsEqual();
+        // 레코드는 다시 쓰지 않음
+        assertEquals(refList.size(), recordStore.records.size());
+    }
+
+    /**
+     * 시나리오 12.11: 다중 run 병합 시 안정 정렬 유지.
+     */
+    @Test
+    public void testEquivalence_SortIsStable() {
+        for (int i = 0; i < 1000; i++) {
+            fxList.add(i);
+            refList.add(i);
+        }
+        fxList.sortRunSize = 64;
+        Comparator<Integer> byBucket = Comparator.comparingInt(v -> v % 7);
+
+        fxList.sort(byBucket);
+        refList.sort(byBucket);
+
+        assertListsEqual();
+    }
+
+    /**
+     * 시나리오 12.12: replaceAll 일치 및 구 레코드 해제.
+     */
+    @Test
+    public void testEquivalence_ReplaceAll() {
+        for (int i = 0; i < 700; i++) {
+            fxList.add(i);
+            refList.add(i);
+        }
+
+        fxList.replaceAll(v -> v * 3 + 1);
+        refList.replaceAll(v -> v * 3 + 1);
+
+        assertListsEqual();
+        assertEquals(refList.size(), recordStore.records.size());
+    }
+
     /**
      * FxList와 ArrayList가 동일한지 검증.
      */
@@ -0,0 +1,160 @@
+package com.snoworca.fxstore.collection;
+
+import com.snoworca.fxstore.btree.BTree;
+import com.snoworca.fxstore.storage.Allocator;
+import com.snoworca.fxstore.storage.MemoryStorage;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Comparator;
+
+import static org.junit.Assert.*;
+
+/**
+ * SegmentRing 저장 엔진 테스트
+ *
+ * <ul>
+ *   <li>세그먼트 경계를 넘는 연속 쓰기/읽기 (음수 위치 포함)</li>
+ *   <li>참조되지 않은 슬롯의 제자리 쓰기와 참조된 슬롯의 COW</li>
+ *   <li>소비된 세그먼트 제거</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class SegmentRingTest {
+
+    private static final int PAGE_SIZE = 4096;
+
+    private MemoryStorage storage;
+    private Allocator allocator;
+    private BTree directory;
+
+    @Before
+    public void setUp() {
+        storage = new MemoryStorage(16 * 1024 * 1024);
+        allocator = new Allocator(PAGE_SIZE, PAGE_SIZE);
+        Comparator<byte[]> unsigned = (a, b) -> {
+            int len = Math.min(a.length, b.length);
+            for (int i = 0; i < len; i++) {
+                int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
+                if (cmp != 0) return cmp;
+            }
+            return a.length - b.length;
+        };
+        directory = new BTree(storage, PAGE_SIZE, unsigned, 0L, allocator);
+    }
+
+    @Test
+    public void capacity_shouldFillPageAfterHeader() {
+        SegmentRing ring = new SegmentRing(storage, allocator, PAGE_SIZE, 0L, 0L);
+        assertEquals((PAGE_SIZE - SegmentRing.HEADER_SIZE) / 8, ring.capacity());
+        assertEquals(-1L, ring.segmentOf(-1L));
+        assertEquals(0L, ring.segmentOf(ring.capacity() - 1));
+        assertEquals(1L, ring.segmentOf(ring.capacity()));
+    }
+
+    @Test
+    public void setRange_acrossSegments_shouldReadBack() {
+        SegmentRing ring = new SegmentRing(storage, allocator, PAGE_SIZE, 0L, 0L);
+        int n = ring.capacity() * 3 + 17;
+        long from = -ring.capacity() - 5;
+        long[] values = new long[n];
+        for (int i = 0; i < n; i++) {
+            values[i] = 1000L + i;
+        }
+
+        long root = ring.setRange(directory, 0L, from, values);
+
+        assertArrayEquals(values, ring.getRange(directory, root, from, from + n));
+        assertEquals(1000L, ring.get(directory, root, from));
+        assertEquals(1000L + n - 1, ring.get(directory, root, from + n - 1));
+    }
+
+    @Test
+    public void set_unreferencedSlots_shouldWriteInPlace() {
+        SegmentRing ring = new SegmentRing(storage, allocator, PAGE_SIZE, 0L, 0L);
+        long root = ring.set(directory, 0L, 0L, 42L);
+        long allocTail = allocator.getAllocTail();
+
+        // 같은 세그먼트의 뒤쪽 슬롯 → 디렉토리와 할당 변화 없음
+        for (long p = 1; p < 100; p++) {
+            assertEquals(root, ring.set(directory, root, p, 42L + p));
+        }
+        assertEquals(allocTail, allocator.getAllocTail());
+        assertEquals(141L, ring.get(directory, root, 99L));
+    }
+
+    @Test
+    public void set_referencedSlot_shouldCopySegment() {
+        SegmentRing ring = new SegmentRing(storage, allocator, PAGE_SIZE, 0L, 0L);
+        long oldRoot = ring.setRange(directory, 0L, 0L, new long[]{1L, 2L, 3L});
+
+        // 위치 1은 이미 발행된 범위 → 새 세그먼트 페이지와 새 디렉토리 root
+        long newRoot = ring.set(directory, oldRoot, 1L, 99L);
+
+        assertNotEquals(oldRoot, newRoot);
+        assertEquals(2L, ring.get(directory, oldRoot, 1L));
+        assertEquals(99L, ring.get(directory, newRoot, 1L));
+        assertEquals(3L, ring.get(directory, newRoot, 2L));
+    }
+
+    @Test
+    public void set_afterReopen_shouldCopyFirstWriteIntoExistingSegment() {
+        // 다시 연 링: [10, 20)이 커밋된 범위, 9는 이전 인스턴스가 발행했을 수 있는 슬롯
+        SegmentRing writer = new SegmentRing(storage, allocator, PAGE_SIZE, 0L, 0L);
+        long[] values = new long[20];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        long committed = writer.setRange(directory, 0L, 0L, values);
+
+        SegmentRing reopened = new SegmentRing(storage, allocator, PAGE_SIZE, 10L, 20L);
+        long root = reopened.set(directory, committed, 9L, 900L);
+        assertNotEquals("First write into an existing segment must copy", committed, root);
+        assertEquals(9L, reopened.get(directory, committed, 9L));
+        assertEquals(900L, reopened.get(directory, root, 9L));
+
+        // 복사한 세그먼트는 이 인스턴스 소유: 구간 밖 위치는 제자리 쓰기
+        long copied = root;
+        root = reopened.set(directory, root, 8L, 800L);
+        assertEquals("Position 8 was outside the published range", copied, root);
+        root = reopened.set(directory, root, 15L, 1500L);
+
+        assertNotEquals(copied, root);
+        assertEquals(15L, reopened.get(directory, committed, 15L));
+        assertEquals(15L, reopened.get(directory, copied, 15L));
+        assertEquals(1500L, reopened.get(directory, root, 15L));
+    }
+
+    @Test
+    public void releaseBefore_shouldDropConsumedSegments() {
+        SegmentRing ring = new SegmentRing(storage, allocator, PAGE_SIZE, 0L, 0L);
+        int cap = ring.capacity();
+        long[] values = new long[cap * 3];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = i;
+        }
+        long root = ring.setRange(directory, 0L, 0L, values);
+
+        long head = cap * 2L + 1;
+        root = ring.releaseBefore(directory, root, head);
+
+        assertNull(directory.findWithRoot(root, SegmentRing.segmentKey(0L)));
+        assertNull(directory.findWithRoot(root, SegmentRing.segmentKey(1L)));
+        assertNotNull(directory.findWithRoot(root, SegmentRing.segmentKey(2L)));
+        assertEquals(head, ring.get(directory, root, head));
+    }
+
+    @Test
+    public void releaseFrom_shouldDropOnlyEmptyTailSegment() {
+        SegmentRing ring = new SegmentRing(storage, allocator, PAGE_SIZE, 0L, 0L);
+        int cap = ring.capacity();
+        long root = ring.setRange(directory, 0L, 0L, new long[cap + 1]);
+
+        assertEquals(root, ring.releaseFrom(directory, root, cap + 1L));
+
+        long released = ring.releaseFrom(directory, root, cap);
+        assertNull(directory.findWithRoot(released, SegmentRing.segmentKey(1L)));
+        assertNotNull(directory.findWithRoot(released, SegmentRing.segmentKey(0L)));
+    }
+}
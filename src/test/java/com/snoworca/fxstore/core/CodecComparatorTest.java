@@ -0,0 +1,173 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.FxCodec;
+import com.snoworca.fxstore.codec.I64Codec;
+import com.snoworca.fxstore.codec.StringCodec;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+/**
+ * CodecComparator 테스트
+ *
+ * <ul>
+ *   <li>코덱 순서와의 일치 (signed 숫자, 바이트 비교 가능 문자열)</li>
+ *   <li>반복 비교 시 인코딩 캐시 재사용 (불변 내장 타입만)</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class CodecComparatorTest {
+
+    @Test
+    public void compare_signedLongs_shouldFollowCodecOrder() {
+        CodecComparator<Long> comparator = new CodecComparator<>(I64Codec.INSTANCE);
+        assertTrue(comparator.compare(-1L, 1L) < 0);
+        assertTrue(comparator.compare(Long.MAX_VALUE, Long.MIN_VALUE) > 0);
+        assertEquals(0, comparator.compare(42L, 42L));
+    }
+
+    @Test
+    public void compare_strings_shouldUseUnsignedByteOrder() {
+        CodecComparator<String> comparator = new CodecComparator<>(StringCodec.INSTANCE);
+        assertTrue(comparator.compare("abc", "abd") < 0);
+        assertTrue(comparator.compare("abc", "ab") > 0);
+        // U+00E9는 UTF-8에서 0xC3으로 시작 → ASCII보다 큼
+        assertTrue(comparator.compare("é", "z") > 0);
+    }
+
+    @Test
+    public void compare_repeatedBound_shouldEncodeOnce() {
+        AtomicInteger encodes = new AtomicInteger();
+        CodecComparator<String> comparator = new CodecComparator<>(countingCodec(encodes));
+
+        String bound = "m";
+        for (int i = 0; i < 100; i++) {
+            comparator.compare("key" + i, bound);
+        }
+        // 매 비교마다 왼쪽 키만 인코딩, 경계는 한 번
+        assertEquals(101, encodes.get());
+    }
+
+    @Test
+    public void compare_byteArrays_shouldNotCacheMutableKeys() {
+        CodecComparator<byte[]> comparator =
+            new CodecComparator<>(com.snoworca.fxstore.codec.BytesCodec.INSTANCE);
+        byte[] key = {1};
+        byte[] other = {2};
+        assertTrue(comparator.compare(key, other) < 0);
+        key[0] = 3;
+        assertTrue(comparator.compare(key, other) > 0);
+    }
+
+    @Test
+    public void compare_mutableCustomKeys_shouldSeeChanges() {
+        CodecComparator<Box> comparator = new CodecComparator<>(new BoxCodec());
+        Box x = new Box(1);
+        Box y = new Box(2);
+        assertEquals(-1, Integer.signum(comparator.compare(x, y)));
+        x.v = 5;
+        assertEquals(1, Integer.signum(comparator.compare(x, y)));
+    }
+
+    @Test
+    public void compare_largeStrings_shouldNotBeCached() {
+        AtomicInteger encodes = new AtomicInteger();
+        CodecComparator<String> comparator = new CodecComparator<>(countingCodec(encodes));
+        char[] chars = new char[CodecComparator.MAX_CACHED_BYTES + 1];
+        Arrays.fill(chars, 'x');
+        String bound = new String(chars);
+        comparator.compare("a", bound);
+        comparator.compare("b", bound);
+        assertEquals(4, encodes.get());
+    }
+
+    /** 내용이 바뀌는 키 */
+    private static final class Box {
+        int v;
+
+        Box(int v) {
+            this.v = v;
+        }
+    }
+
+    private static final class BoxCodec implements FxCodec<Box> {
+        @Override
+        public String id() {
+            return "test.box";
+        }
+
+        @Override
+        public int version() {
+            return 1;
+        }
+
+        @Override
+        public byte[] encode(Box value) {
+            return new byte[] {(byte) value.v};
+        }
+
+        @Override
+        public Box decode(byte[] bytes) {
+            return new Box(bytes[0]);
+        }
+
+        @Override
+        public int compareBytes(byte[] a, byte[] b) {
+            return Byte.compare(a[0], b[0]);
+        }
+
+        @Override
+        public boolean equalsBytes(byte[] a, byte[] b) {
+            return a[0] == b[0];
+        }
+
+        @Override
+        public int hashBytes(byte[] bytes) {
+            return bytes[0];
+        }
+    }
+
+    private static FxCodec<String> countingCodec(AtomicInteger counter) {
+        return new FxCodec<String>() {
+            @Override
+            public String id() {
+                return StringCodec.CODEC_ID;
+            }
+
+            @Override
+            public int version() {
+                return StringCodec.VERSION;
+            }
+
+            @Override
+            public byte[] encode(String value) {
+                counter.incrementAndGet();
+                return StringCodec.INSTANCE.encode(value);
+            }
+
+            @Override
+            public String decode(byte[] bytes) {
+                return StringCodec.INSTANCE.decode(bytes);
+            }
+
+            @Override
+            public int compareBytes(byte[] a, byte[] b) {
+                return StringCodec.INSTANCE.compareBytes(a, b);
+            }
+
+            @Override
+            public boolean equalsBytes(byte[] a, byte[] b) {
+                return StringCodec.INSTANCE.equalsBytes(a, b);
+            }
+
+            @Override
+            public int hashBytes(byte[] bytes) {
+                return StringCodec.INSTANCE.hashBytes(bytes);
+            }
+        };
+    }
+}
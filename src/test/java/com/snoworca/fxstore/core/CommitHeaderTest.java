@@ -149,6 +149,21 @@ public class CommitHeaderTest {
         assertEquals(original.getAllocTail(), decoded.getAllocTail());
     }
 
+    @Test
+    public void encode_decode_reclaimEpoch_shouldRoundTrip() {
+        // Given
+        CommitHeader original = new CommitHeader(7L, 0L, 16384L, 4L, 5L, 3L, 0L, 12L, 9L);
+
+        // When
+        CommitHeader decoded = CommitHeader.decode(original.encode());
+
+        // Then
+        assertEquals(12L, decoded.getLivePages());
+        assertEquals(9L, decoded.getReclaimEpoch());
+        // 이전 생성자는 세대 0
+        assertEquals(0L, new CommitHeader(1L, 0L, 0L, 0L, 0L, 0L, 0L).getReclaimEpoch());
+    }
+
     @Test(expected = FxException.class)
     public void decode_tooSmall_shouldThrow() {
         // Given
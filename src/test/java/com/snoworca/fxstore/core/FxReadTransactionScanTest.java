@@ -0,0 +1,287 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * FxReadTransaction 스냅샷 범위 순회 테스트
+ *
+ * <ul>
+ *   <li>Map/Set 범위 순회 (포함/미포함, 무한 경계, 역순)</li>
+ *   <li>List 인덱스 구간 순회, Deque 순회</li>
+ *   <li>순회 중 쓰기가 발생해도 스냅샷 결과 유지</li>
+ *   <li>트랜잭션 close 후 Iterator 사용 시 예외</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxReadTransactionScanTest {
+
+    private FxStore store;
+
+    @Before
+    public void setUp() {
+        store = FxStoreImpl.openMemory(FxOptions.defaults());
+    }
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            try { store.close(); } catch (Exception e) { /* ignore */ }
+        }
+    }
+
+    private static <T> List<T> drain(Iterator<T> it) {
+        List<T> result = new ArrayList<>();
+        while (it.hasNext()) {
+            result.add(it.next());
+        }
+        return result;
+    }
+
+    private static List<Long> keys(Iterator<Map.Entry<Long, String>> it) {
+        List<Long> result = new ArrayList<>();
+        while (it.hasNext()) {
+            result.add(it.next().getKey());
+        }
+        return result;
+    }
+
+    // ==================== Map ====================
+
+    @Test
+    public void entries_shouldMatchTreeMapSubMap() {
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        TreeMap<Long, String> ref = new TreeMap<>();
+        for (long k = -50; k < 500; k += 3) {
+            map.put(k, "v" + k);
+            ref.put(k, "v" + k);
+        }
+
+        try (FxReadTransaction tx = store.beginRead()) {
+            long[][] ranges = {{-50, 499}, {-2, 10}, {1, 1}, {100, 101}, {7, 301}};
+            for (long[] r : ranges) {
+                for (int flags = 0; flags < 4; flags++) {
+                    boolean fromInc = (flags & 1) != 0;
+                    boolean toInc = (flags & 2) != 0;
+                    NavigableMap<Long, String> expected = ref.subMap(r[0], fromInc, r[1], toInc);
+                    assertEquals(new ArrayList<>(expected.keySet()),
+                        keys(tx.entries(map, r[0], fromInc, r[1], toInc)));
+                    assertEquals(new ArrayList<>(expected.descendingKeySet()),
+                        keys(tx.descendingEntries(map, r[0], fromInc, r[1], toInc)));
+                }
+            }
+
+            Map.Entry<Long, String> first = tx.entries(map, null, true, null, true).next();
+            assertEquals(Long.valueOf(-50L), first.getKey());
+            assertEquals("v-50", first.getValue());
+            assertEquals(new ArrayList<>(ref.headMap(10L, true).keySet()),
+                keys(tx.entries(map, null, false, 10L, true)));
+            assertEquals(new ArrayList<>(ref.tailMap(400L, false).descendingKeySet()),
+                keys(tx.descendingEntries(map, 400L, false, null, false)));
+        }
+    }
+
+    @Test
+    public void entries_shouldIgnoreWritesAfterBegin() {
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        for (long k = 0; k < 1000; k++) {
+            map.put(k, "v" + k);
+        }
+
+        try (FxReadTransaction tx = store.beginRead()) {
+            Iterator<Map.Entry<Long, String>> it = tx.entries(map, null, true, null, true);
+            assertEquals(Long.valueOf(0L), it.next().getKey());
+
+            // 순회 도중 삭제/갱신/추가
+            for (long k = 0; k < 1000; k += 2) {
+                map.remove(k);
+            }
+            map.put(1L, "changed");
+            map.put(5000L, "new");
+
+            List<Map.Entry<Long, String>> rest = drain(it);
+            assertEquals(999, rest.size());
+            assertEquals(Long.valueOf(1L), rest.get(0).getKey());
+            assertEquals("v1", rest.get(0).getValue());
+            assertEquals(Long.valueOf(999L), rest.get(998).getKey());
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void entries_fromGreaterThanTo_shouldThrow() {
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        try (FxReadTransaction tx = store.beginRead()) {
+            tx.entries(map, 10L, true, 5L, true);
+        }
+    }
+
+    @Test
+    public void entries_emptyMap_shouldBeEmpty() {
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        try (FxReadTransaction tx = store.beginRead()) {
+            assertFalse(tx.entries(map, null, true, null, true).hasNext());
+            assertFalse(tx.descendingEntries(map, 1L, true, 2L, true).hasNext());
+        }
+    }
+
+    @Test
+    public void iterator_afterClose_shouldThrow() {
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        map.put(1L, "one");
+        FxReadTransaction tx = store.beginRead();
+        Iterator<Map.Entry<Long, String>> it = tx.entries(map, null, true, null, true);
+        tx.close();
+
+        try {
+            it.hasNext();
+            fail("Iterator should not outlive its transaction");
+        } catch (IllegalStateException expected) {
+            // INV-RT4
+        }
+    }
+
+    @Test
+    public void getAll_shouldReadSnapshotValues() {
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        for (long k = 0; k < 2000; k++) {
+            map.put(k, "v" + k);
+        }
+
+        try (FxReadTransaction tx = store.beginRead()) {
+            map.put(10L, "changed");
+            map.remove(1501L);
+
+            List<Long> keys = new ArrayList<>();
+            for (long k = 1999; k >= 0; k -= 3) {
+                keys.add(k);
+            }
+            keys.add(5000L);
+            Map<Long, String> result = tx.getAll(map, keys);
+
+            assertEquals(keys.size() - 1, result.size());
+            assertEquals("v10", result.get(10L));
+            assertEquals("v1501", result.get(1501L));
+            assertEquals(Long.valueOf(1999L), result.keySet().iterator().next());
+            assertFalse(result.containsKey(5000L));
+        }
+    }
+
+    // ==================== Set ====================
+
+    @Test
+    public void elements_shouldMatchTreeSetSubSet() {
+        NavigableSet<String> set = store.createSet("s", String.class);
+        TreeSet<String> ref = new TreeSet<>();
+        for (int i = 0; i < 300; i++) {
+            String value = String.format("k%04d", i * 7 % 300);
+            set.add(value);
+            ref.add(value);
+        }
+
+        try (FxReadTransaction tx = store.beginRead()) {
+            set.clear();
+
+            assertEquals(new ArrayList<>(ref.subSet("k0010", true, "k0100", false)),
+                drain(tx.elements(set, "k0010", true, "k0100", false)));
+            assertEquals(new ArrayList<>(ref.subSet("k0010", false, "k0100", true).descendingSet()),
+                drain(tx.descendingElements(set, "k0010", false, "k0100", true)));
+            assertEquals(new ArrayList<>(ref), drain(tx.elements(set, null, true, null, true)));
+        }
+    }
+
+    // ==================== List ====================
+
+    @Test
+    public void iteratorList_shouldReturnIndexRangeOfSnapshot() {
+        List<String> list = store.createList("l", String.class);
+        for (int i = 0; i < 450; i++) {
+            list.add("e" + i);
+        }
+
+        try (FxReadTransaction tx = store.beginRead()) {
+            list.remove(0);
+            list.add(0, "x");
+
+            assertEquals(Arrays.asList("e0", "e1", "e2"), drain(tx.iterator(list, 0, 3)));
+            List<String> middle = drain(tx.iterator(list, 95, 305));
+            assertEquals(210, middle.size());
+            assertEquals("e95", middle.get(0));
+            assertEquals("e304", middle.get(209));
+            assertEquals(Collections.singletonList("e449"), drain(tx.iterator(list, 449, 450)));
+            assertFalse(tx.iterator(list, 450, 450).hasNext());
+        }
+    }
+
+    @Test
+    public void list_inlineElements_shouldDecodeSlots() {
+        store.close();
+        store = FxStoreImpl.openMemory(FxOptions.defaults().withInlineListElements(true).build());
+        List<Long> list = store.createList("l", Long.class);
+        for (long i = 0; i < 250; i++) {
+            list.add(i * 10);
+        }
+
+        try (FxReadTransaction tx = store.beginRead()) {
+            assertEquals(Long.valueOf(1230L), tx.get(list, 123));
+            assertEquals(123, tx.indexOf(list, 1230L));
+            assertEquals(Arrays.asList(990L, 1000L), drain(tx.iterator(list, 99, 101)));
+        }
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void iteratorList_beyondSize_shouldThrow() {
+        List<String> list = store.createList("l", String.class);
+        list.add("only");
+        try (FxReadTransaction tx = store.beginRead()) {
+            tx.iterator(list, 0, 2);
+        }
+    }
+
+    // ==================== Deque ====================
+
+    @Test
+    public void iteratorDeque_shouldFollowSnapshotOrder() {
+        Deque<Long> deque = store.createDeque("d", Long.class);
+        for (long i = 0; i < 5; i++) {
+            deque.addLast(i);
+        }
+        deque.addFirst(-1L);
+
+        try (FxReadTransaction tx = store.beginRead()) {
+            deque.pollFirst();
+            deque.addLast(100L);
+
+            assertEquals(Arrays.asList(-1L, 0L, 1L, 2L, 3L, 4L), drain(tx.iterator(deque)));
+            assertEquals(Arrays.asList(4L, 3L, 2L, 1L, 0L, -1L), drain(tx.descendingIterator(deque)));
+        }
+    }
+
+    @Test
+    public void iteratorDeque_segmentRing_shouldFollowSnapshotOrder() {
+        store.close();
+        store = FxStoreImpl.openMemory(FxOptions.defaults().withSegmentRingDeques(true).build());
+        Deque<Long> deque = store.createDeque("d", Long.class);
+        for (long i = 0; i < 1200; i++) {
+            deque.addLast(i);
+        }
+        deque.addFirst(-1L);
+
+        try (FxReadTransaction tx = store.beginRead()) {
+            deque.clear();
+            deque.addLast(7L);
+
+            List<Long> ascending = drain(tx.iterator(deque));
+            assertEquals(1201, ascending.size());
+            assertEquals(Long.valueOf(-1L), ascending.get(0));
+            assertEquals(Long.valueOf(1199L), ascending.get(1200));
+            assertEquals(Long.valueOf(1199L), tx.descendingIterator(deque).next());
+        }
+    }
+}
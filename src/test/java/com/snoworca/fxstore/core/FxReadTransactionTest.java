@@ -443,6 +443,25 @@ public class FxReadTransactionTest {
         }
     }
 
+    @Test
+    public void testListGetAndIndexOf_inlineElements() {
+        FxStore inlineStore = FxStoreImpl.openMemory(FxOptions.defaults().withInlineListElements(true).build());
+        try {
+            List<Long> numbers = inlineStore.createList("numbers", Long.class);
+            for (long i = 0; i < 300; i++) {
+                numbers.add(i * 7 - 1000);
+            }
+            try (FxReadTransaction tx = inlineStore.beginRead()) {
+                assertEquals(Long.valueOf(-1000L), tx.get(numbers, 0));
+                assertEquals(Long.valueOf(299 * 7 - 1000L), tx.get(numbers, 299));
+                assertEquals(150, tx.indexOf(numbers, 150 * 7 - 1000L));
+                assertEquals(-1, tx.indexOf(numbers, 3L));
+            }
+        } finally {
+            inlineStore.close();
+        }
+    }
+
     @Test
     public void testListSnapshotIsolation_addsAfterTransactionStart() {
         try (FxReadTransaction tx = store.beginRead()) {
@@ -0,0 +1,341 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.RandomAccessFile;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.snoworca.fxstore.core.StoreTestSupport.big;
+import static com.snoworca.fxstore.core.StoreTestSupport.closeQuietly;
+import static com.snoworca.fxstore.core.StoreTestSupport.compactingOptions;
+import static com.snoworca.fxstore.core.StoreTestSupport.newStoreFile;
+import static org.junit.Assert.*;
+
+/**
+ * backupTo / backupIncremental 핫 백업 테스트
+ *
+ * <ul>
+ *   <li>전체 백업은 마지막 커밋과 같은 내용으로 열림 (파일/메모리 Store)</li>
+ *   <li>증분 백업: Map 쓰기, 세그먼트 링 제자리 쓰기, 온라인 컴팩션 재사용/잘라내기, 재오픈 후 비교 경로</li>
+ *   <li>잘못된 fromSeqNo, 다른 Store의 백업, 중단된 갱신</li>
+ *   <li>백업 중 동시 쓰기</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxStoreBackupTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File file;
+    private File backup;
+    private FxStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        file = newStoreFile(tempFolder, "source.fx");
+        backup = newStoreFile(tempFolder, "backup.fx");
+    }
+
+    @After
+    public void tearDown() {
+        closeQuietly(store);
+    }
+
+    /**
+     * 백업 파일을 열어 원본과 같은 내용인지 확인
+     */
+    private void assertBackupMatches(FxStore source) {
+        try (FxStore copy = FxStoreImpl.open(backup.toPath(), compactingOptions().build())) {
+            VerifyResult result = copy.verify(VerifyMode.DEEP);
+            assertTrue(result.errors().toString(), result.ok());
+            assertEquals(names(source), names(copy));
+            for (CollectionInfo info : source.list()) {
+                String name = info.name();
+                switch (info.kind()) {
+                    case MAP:
+                        assertEquals(name, new TreeMap<>(source.openMap(name, Long.class, String.class)),
+                            new TreeMap<>(copy.openMap(name, Long.class, String.class)));
+                        break;
+                    case LIST:
+                        assertEquals(name, new ArrayList<>(source.openList(name, String.class)),
+                            new ArrayList<>(copy.openList(name, String.class)));
+                        break;
+                    case DEQUE:
+                        assertEquals(name, new ArrayList<>(source.openDeque(name, String.class)),
+                            new ArrayList<>(copy.openDeque(name, String.class)));
+                        break;
+                    default:
+                        fail("unexpected kind " + info.kind());
+                }
+            }
+        }
+    }
+
+    private static Set<String> names(FxStore store) {
+        Set<String> names = new TreeSet<>();
+        for (CollectionInfo info : store.list()) {
+            names.add(info.name());
+        }
+        return names;
+    }
+
+    private void populate(FxStore store, int round) {
+        NavigableMap<Long, String> map = store.openMap("map", Long.class, String.class);
+        List<String> list = store.openList("list", String.class);
+        Deque<String> ring = store.openDeque("ring", String.class);
+        Random random = new Random(46 + round);
+        for (int i = 0; i < 500; i++) {
+            map.put((long) random.nextInt(3000), i % 100 == 0 ? big(i) : "v" + round + "-" + i);
+            if (random.nextBoolean()) {
+                map.remove((long) random.nextInt(3000));
+            }
+            list.add(random.nextInt(list.size() + 1), "e" + round + "-" + i);
+            ring.addLast("r" + round + "-" + i);
+            if (random.nextInt(3) == 0) {
+                ring.pollFirst();
+            }
+        }
+    }
+
+    private FxStore openWithCollections() {
+        FxStore opened = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        opened.createMap("map", Long.class, String.class);
+        opened.createList("list", String.class);
+        opened.createDeque("ring", String.class);
+        return opened;
+    }
+
+    // ==================== 전체 백업 ====================
+
+    @Test
+    public void backupTo_shouldOpenWithSameContent() {
+        store = openWithCollections();
+        populate(store, 0);
+        long seqNo = store.backupTo(backup.toPath());
+        assertEquals(((FxStoreImpl) store).getCurrentCommitHeader().getSeqNo(), seqNo);
+        assertBackupMatches(store);
+    }
+
+    @Test
+    public void backupTo_memoryStore_shouldWriteOpenableFile() {
+        store = FxStoreImpl.openMemory(compactingOptions().build());
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        for (long k = 0; k < 1000; k++) {
+            map.put(k, k % 200 == 0 ? big((int) k) : "v" + k);
+        }
+        store.backupTo(backup.toPath());
+        assertBackupMatches(store);
+    }
+
+    @Test
+    public void backupTo_batchMode_shouldContainOnlyCommitted() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().commitMode(CommitMode.BATCH).build());
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        for (long k = 0; k < 500; k++) {
+            map.put(k, "v" + k);
+        }
+        store.commit();
+        map.put(1000L, "pending");
+        store.backupTo(backup.toPath());
+
+        try (FxStore copy = FxStoreImpl.open(backup.toPath(), compactingOptions().build())) {
+            NavigableMap<Long, String> copied = copy.openMap("map", Long.class, String.class);
+            assertEquals(500, copied.size());
+            assertFalse(copied.containsKey(1000L));
+        }
+    }
+
+    @Test
+    public void backupTo_concurrentWrites_shouldCaptureConsistentCommit() throws Exception {
+        store = openWithCollections();
+        populate(store, 0);
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = new Thread(() -> {
+            try {
+                int round = 1;
+                while (!done.get()) {
+                    populate(store, round++);
+                    store.compactStep(32);
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        writer.start();
+        try {
+            for (int i = 0; i < 5; i++) {
+                store.backupTo(backup.toPath());
+                try (FxStore copy = FxStoreImpl.open(backup.toPath(), compactingOptions().build())) {
+                    VerifyResult result = copy.verify(VerifyMode.DEEP);
+                    assertTrue(result.errors().toString(), result.ok());
+                }
+            }
+        } finally {
+            done.set(true);
+            writer.join();
+        }
+        assertNull(failure.get());
+    }
+
+    @Test(expected = FxException.class)
+    public void backupTo_sourceFile_shouldThrow() {
+        store = openWithCollections();
+        store.backupTo(file.toPath());
+    }
+
+    // ==================== 증분 백업 ====================
+
+    @Test
+    public void backupIncremental_afterWrites_shouldMatchSource() {
+        store = openWithCollections();
+        populate(store, 0);
+        long seqNo = store.backupTo(backup.toPath());
+        for (int round = 1; round <= 3; round++) {
+            populate(store, round);
+            seqNo = store.backupIncremental(backup.toPath(), seqNo);
+            assertEquals(((FxStoreImpl) store).getCurrentCommitHeader().getSeqNo(), seqNo);
+            assertBackupMatches(store);
+        }
+        // 변경이 없으면 그대로
+        assertEquals(seqNo, store.backupIncremental(backup.toPath(), seqNo));
+    }
+
+    @Test
+    public void backupIncremental_ringInPlaceWrites_shouldBeCopied() {
+        store = openWithCollections();
+        Deque<String> ring = store.openDeque("ring", String.class);
+        ring.addLast("a");
+        long seqNo = store.backupTo(backup.toPath());
+
+        // 같은 세그먼트 페이지의 빈 슬롯에 제자리로 기록됨
+        ring.addLast("b");
+        ring.addFirst("z");
+        seqNo = store.backupIncremental(backup.toPath(), seqNo);
+        assertBackupMatches(store);
+        assertEquals(Arrays.asList("z", "a", "b"), new ArrayList<>(store.openDeque("ring", String.class)));
+    }
+
+    @Test
+    public void backupIncremental_afterOnlineCompaction_shouldMatchSource() {
+        store = openWithCollections();
+        populate(store, 0);
+        NavigableMap<Long, String> map = store.openMap("map", Long.class, String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, "value-" + k);
+        }
+        long seqNo = store.backupTo(backup.toPath());
+
+        for (long k = 0; k < 2800; k++) {
+            map.remove(k);
+        }
+        long before = file.length();
+        while (store.compactStep(64)) {
+            // 재사용한 앞쪽 페이지와 잘린 파일 끝 모두 반영되어야 함
+        }
+        assertTrue(file.length() < before);
+        seqNo = store.backupIncremental(backup.toPath(), seqNo);
+        assertBackupMatches(store);
+        assertEquals(((FxStoreImpl) store).getCurrentCommitHeader().getAllocTail(), backup.length());
+    }
+
+    @Test
+    public void backupIncremental_afterReopen_shouldCompareAndMatchSource() {
+        store = openWithCollections();
+        populate(store, 0);
+        long seqNo = store.backupTo(backup.toPath());
+        store.close();
+
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        populate(store, 1);
+        Deque<String> ring = store.openDeque("ring", String.class);
+        ring.addFirst("front");
+        NavigableMap<Long, String> map = store.openMap("map", Long.class, String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.remove(k);
+        }
+        while (store.compactStep(64)) {
+            // 추적 기록이 없는 구간은 비교로 찾아야 함
+        }
+        seqNo = store.backupIncremental(backup.toPath(), seqNo);
+        assertBackupMatches(store);
+
+        populate(store, 2);
+        store.backupIncremental(backup.toPath(), seqNo);
+        assertBackupMatches(store);
+    }
+
+    @Test
+    public void backupIncremental_wrongSeqNo_shouldThrowAndKeepBackup() {
+        store = openWithCollections();
+        populate(store, 0);
+        long seqNo = store.backupTo(backup.toPath());
+        populate(store, 1);
+        try {
+            store.backupIncremental(backup.toPath(), seqNo - 1);
+            fail("expected FxException");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_ARGUMENT, e.getCode());
+        }
+        // 실패한 호출은 백업을 건드리지 않음
+        store.backupIncremental(backup.toPath(), seqNo);
+        assertBackupMatches(store);
+    }
+
+    @Test
+    public void backupIncremental_otherStore_shouldThrow() throws Exception {
+        store = openWithCollections();
+        File other = tempFolder.newFile("other.fx");
+        other.delete();
+        long otherSeqNo;
+        Thread.sleep(5);  // createdAt이 달라지도록
+        try (FxStore otherStore = FxStoreImpl.open(other.toPath(), compactingOptions().build())) {
+            otherStore.createMap("map", Long.class, String.class);
+            otherSeqNo = otherStore.backupTo(backup.toPath());
+        }
+        try {
+            store.backupIncremental(backup.toPath(), otherSeqNo);
+            fail("expected FxException");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_ARGUMENT, e.getCode());
+        }
+    }
+
+    @Test
+    public void backupIncremental_missingFile_shouldThrowNotFound() {
+        store = openWithCollections();
+        try {
+            store.backupIncremental(backup.toPath(), 1L);
+            fail("expected FxException");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.NOT_FOUND, e.getCode());
+        }
+    }
+
+    @Test
+    public void backupIncremental_interruptedBackup_shouldNotOpen() throws Exception {
+        store = openWithCollections();
+        populate(store, 0);
+        store.backupTo(backup.toPath());
+        // 증분 갱신 도중 중단된 상태: 두 헤더 슬롯이 지워짐
+        try (RandomAccessFile raf = new RandomAccessFile(backup, "rw")) {
+            raf.seek(Superblock.SIZE);
+            raf.write(new byte[CommitHeader.SIZE * 2]);
+        }
+        try (FxStore copy = FxStoreImpl.open(backup.toPath(), compactingOptions().build())) {
+            fail("interrupted backup must not open");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.CORRUPTION, e.getCode());
+        }
+    }
+}
@@ -0,0 +1,878 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.*;
+import com.snoworca.fxstore.storage.FileChangeLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.Assert.*;
+
+/**
+ * 커밋된 변경 스트림 (subscribe) 테스트
+ *
+ * <ul>
+ *   <li>Map/Set/List/세그먼트 링 Deque: 배치를 순서대로 적용한 사본이 Store와 같음</li>
+ *   <li>큰 변경의 배치 분할, 느린 수신자의 범위 합침과 fromSeqNo 연결</li>
+ *   <li>BATCH 모드 커밋/롤백, drop, 수신자 예외, 구독 해제, 닫을 때의 마지막 커밋</li>
+ *   <li>fromSeqNo 구독: 보관한 상태에서 따라잡기, 재시작 후 직전 커밋부터 다시 보내기</li>
+ *   <li>FileChangeLog: 로그 재생과 seqNo 이후부터 이어 읽기, 작성자 재시작, 로그가 밀린 채 중단</li>
+ *   <li>거부: 없는 컬렉션, B+Tree Deque, 공유 읽기 Store, 보관하지 않은 fromSeqNo</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxStoreChangeFeedTest {
+
+    private static final long TIMEOUT_MILLIS = 10_000L;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File storeFile;
+    private FxStore store;
+    private FileChangeLog log;
+
+    @Before
+    public void setUp() throws Exception {
+        storeFile = tempFolder.newFile("feed.fx");
+        storeFile.delete();
+        store = FxStoreImpl.open(storeFile.toPath(), options().build());
+    }
+
+    @After
+    public void tearDown() {
+        for (AutoCloseable closeable : Arrays.<AutoCloseable>asList(store, log)) {
+            if (closeable != null) {
+                try { closeable.close(); } catch (Exception e) { /* ignore */ }
+            }
+        }
+    }
+
+    private static FxOptions.Builder options() {
+        return FxOptions.defaults()
+            .withCompactionRetentionMillis(0)
+            .inlineListElements(true)
+            .segmentRingDeques(true);
+    }
+
+    private long seqNo() {
+        return ((FxStoreImpl) store).getCurrentCommitHeader().getSeqNo();
+    }
+
+    private void awaitDelivered(FxSubscription subscription) throws InterruptedException {
+        long target = seqNo();
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+        while (subscription.deliveredSeqNo() < target && subscription.isActive()) {
+            assertTrue("delivery timed out at " + subscription, System.nanoTime() < deadline);
+            Thread.sleep(1);
+        }
+    }
+
+    /**
+     * 배치를 적용해 만드는 사본 (전달 스레드에서 갱신)
+     */
+    private static final class Mirror implements FxChangeListener {
+        final TreeMap<Long, String> map = new TreeMap<>();
+        final TreeSet<String> set = new TreeSet<>();
+        final List<String> list = new ArrayList<>();
+        final TreeMap<Long, String> deque = new TreeMap<>();
+        final List<FxChangeBatch> batches = new CopyOnWriteArrayList<>();
+        volatile String error;
+
+        @Override
+        public void onChanges(FxChangeBatch batch) {
+            batches.add(batch);
+            try {
+                apply(batch);
+            } catch (AssertionError e) {
+                error = e.toString();
+            }
+        }
+
+        void apply(FxChangeBatch batch) {
+            for (FxChange change : batch.changes()) {
+                String oldValue = change.oldValue(String.class);
+                String newValue = change.newValue(String.class);
+                switch (batch.kind()) {
+                    case MAP: {
+                        Long key = change.key(Long.class);
+                        String previous = change.op() == ChangeOp.DELETE ? map.remove(key) : map.put(key, newValue);
+                        assertEquals(change.toString(), oldValue, previous);
+                        break;
+                    }
+                    case SET: {
+                        String element = change.key(String.class);
+                        assertEquals(change.toString(), change.op() == ChangeOp.INSERT,
+                            change.op() == ChangeOp.INSERT ? set.add(element) : !set.remove(element));
+                        break;
+                    }
+                    case LIST: {
+                        int index = (int) change.index();
+                        if (change.op() == ChangeOp.INSERT) {
+                            list.add(index, newValue);
+                        } else if (change.op() == ChangeOp.DELETE) {
+                            assertEquals(change.toString(), oldValue, list.remove(index));
+                        } else {
+                            assertEquals(change.toString(), oldValue, list.set(index, newValue));
+                        }
+                        break;
+                    }
+                    case DEQUE: {
+                        String previous = change.op() == ChangeOp.DELETE
+                            ? deque.remove(change.index()) : deque.put(change.index(), newValue);
+                        assertEquals(change.toString(), oldValue, previous);
+                        break;
+                    }
+                    default:
+                        fail("unexpected kind " + batch.kind());
+                }
+            }
+        }
+
+        void assertClean() {
+            assertNull(error, error);
+        }
+    }
+
+    // ==================== 종류별 ====================
+
+    @Test
+    public void map_shouldMirrorCommittedChanges() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        for (long k = 0; k < 2000; k++) {
+            map.put(k, "initial-" + k);
+        }
+        Mirror mirror = new Mirror();
+        mirror.map.putAll(map);
+        FxSubscription subscription = store.subscribe("map", mirror);
+        assertEquals(seqNo(), subscription.startSeqNo());
+
+        Random random = new Random(49);
+        for (int i = 0; i < 3000; i++) {
+            long key = random.nextInt(4000);
+            if (random.nextInt(3) == 0) {
+                map.remove(key);
+            } else {
+                map.put(key, "v" + i);
+            }
+        }
+        map.put(5L, map.get(5L));  // 같은 값으로 덮어쓰기는 변경 없음
+        awaitDelivered(subscription);
+
+        mirror.assertClean();
+        assertEquals(new TreeMap<>(map), mirror.map);
+        assertTrue(subscription.isActive());
+        for (FxChangeBatch batch : mirror.batches) {
+            assertEquals("map", batch.collection());
+            assertTrue(batch.fromSeqNo() < batch.seqNo());
+            for (FxChange change : batch.changes()) {
+                assertEquals(-1L, change.index());
+                assertNotNull(change.keyBytes());
+            }
+        }
+    }
+
+    @Test
+    public void set_shouldMirrorCommittedChanges() throws Exception {
+        NavigableSet<String> set = store.createSet("set", String.class);
+        Mirror mirror = new Mirror();
+        FxSubscription subscription = store.subscribe("set", mirror);
+
+        Random random = new Random(490);
+        for (int i = 0; i < 2000; i++) {
+            String element = "e" + random.nextInt(1500);
+            if (random.nextInt(4) == 0) {
+                set.remove(element);
+            } else {
+                set.add(element);
+            }
+        }
+        awaitDelivered(subscription);
+
+        mirror.assertClean();
+        assertEquals(new TreeSet<>(set), mirror.set);
+        for (FxChangeBatch batch : mirror.batches) {
+            for (FxChange change : batch.changes()) {
+                assertNotEquals(ChangeOp.UPDATE, change.op());
+                assertNull(change.newValueBytes());
+            }
+        }
+    }
+
+    @Test
+    public void list_shouldMirrorCommittedChanges() throws Exception {
+        List<String> list = store.createList("list", String.class);
+        for (int i = 0; i < 3000; i++) {
+            list.add("initial-" + i);
+        }
+        Mirror mirror = new Mirror();
+        mirror.list.addAll(list);
+        FxSubscription subscription = store.subscribe("list", mirror);
+
+        Random random = new Random(4900);
+        for (int i = 0; i < 2000; i++) {
+            int op = random.nextInt(4);
+            if (op == 0 && !list.isEmpty()) {
+                list.remove(random.nextInt(list.size()));
+            } else if (op == 1 && !list.isEmpty()) {
+                list.set(random.nextInt(list.size()), "set-" + i);
+            } else {
+                list.add(random.nextInt(list.size() + 1), "add-" + i);
+            }
+        }
+        list.subList(100, 2500).clear();
+        awaitDelivered(subscription);
+
+        mirror.assertClean();
+        assertEquals(new ArrayList<>(list), mirror.list);
+    }
+
+    @Test
+    public void ringDeque_shouldMirrorPositions() throws Exception {
+        Deque<String> deque = store.createDeque("ring", String.class);
+        Mirror mirror = new Mirror();
+        FxSubscription subscription = store.subscribe("ring", mirror);
+        for (int i = 0; i < 1500; i++) {
+            deque.addLast("initial-" + i);
+        }
+
+        Random random = new Random(49000);
+        for (int i = 0; i < 3000; i++) {
+            switch (random.nextInt(5)) {
+                case 0:
+                    deque.pollFirst();
+                    break;
+                case 1:
+                    deque.pollLast();
+                    break;
+                case 2:
+                    deque.addFirst("first-" + i);
+                    break;
+                default:
+                    deque.addLast("last-" + i);
+                    break;
+            }
+        }
+        awaitDelivered(subscription);
+
+        mirror.assertClean();
+        assertEquals(new ArrayList<>(deque), new ArrayList<>(mirror.deque.values()));
+    }
+
+    @Test
+    public void ringDeque_fromEmpty_shouldRebuildDeque() throws Exception {
+        Deque<String> deque = store.createDeque("ring", String.class);
+        Mirror mirror = new Mirror();
+        FxSubscription subscription = store.subscribe("ring", mirror);
+
+        Random random = new Random(7);
+        for (int i = 0; i < 4000; i++) {
+            if (random.nextInt(3) == 0) {
+                deque.pollFirst();
+            } else if (random.nextInt(5) == 0) {
+                deque.pollLast();
+                deque.addLast("replaced-" + i);
+            } else {
+                deque.addLast("v" + i);
+            }
+        }
+        deque.addFirst("front");
+        awaitDelivered(subscription);
+
+        mirror.assertClean();
+        assertEquals(new ArrayList<>(deque), new ArrayList<>(mirror.deque.values()));
+    }
+
+    // ==================== 배치 ====================
+
+    @Test
+    public void largeChange_shouldSplitIntoBatches() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        for (long k = 0; k < 5000; k++) {
+            map.put(k, "v" + k);
+        }
+        Mirror mirror = new Mirror();
+        mirror.map.putAll(map);
+        FxSubscription subscription = store.subscribe("map", mirror);
+
+        map.clear();
+        awaitDelivered(subscription);
+
+        mirror.assertClean();
+        assertTrue(mirror.map.isEmpty());
+        assertTrue(mirror.batches.size() >= 5);
+        for (int i = 0; i < mirror.batches.size(); i++) {
+            FxChangeBatch batch = mirror.batches.get(i);
+            assertTrue(batch.changes().size() <= ChangeFeed.MAX_BATCH_CHANGES);
+            assertEquals(seqNo(), batch.seqNo());
+            assertEquals(subscription.startSeqNo(), batch.fromSeqNo());
+            assertEquals(i == mirror.batches.size() - 1, batch.isLast());
+        }
+    }
+
+    @Test
+    public void slowListener_shouldMergeCommitsIntoRanges() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        CountDownLatch release = new CountDownLatch(1);
+        Mirror mirror = new Mirror();
+        FxSubscription subscription = store.subscribe("map", batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            mirror.onChanges(batch);
+        });
+
+        int commits = ChangeFeed.MAX_PENDING * 4;
+        for (int i = 0; i < commits; i++) {
+            map.put((long) (i % 50), "v" + i);
+        }
+        release.countDown();
+        awaitDelivered(subscription);
+
+        mirror.assertClean();
+        assertEquals(new TreeMap<>(map), mirror.map);
+        assertTrue(mirror.batches.size() < commits);
+        long cursor = subscription.startSeqNo();
+        for (FxChangeBatch batch : mirror.batches) {
+            assertEquals(cursor, batch.fromSeqNo());
+            cursor = batch.seqNo();
+        }
+        assertEquals(seqNo(), cursor);
+    }
+
+    @Test
+    public void batchMode_shouldDeliverOnlyCommits() throws Exception {
+        store.close();
+        store = FxStoreImpl.open(storeFile.toPath(), options().commitMode(CommitMode.BATCH).build());
+        store.createMap("map", Long.class, String.class).put(1L, "a");
+        store.commit();
+        Mirror mirror = new Mirror();
+        mirror.map.put(1L, "a");
+        FxSubscription subscription = store.subscribe("map", mirror);
+        NavigableMap<Long, String> map = store.openMap("map", Long.class, String.class);
+
+        map.put(2L, "discarded");
+        store.rollback();
+        map = store.openMap("map", Long.class, String.class);
+        map.put(3L, "c");
+        map.put(1L, "a2");
+        long beforeCommit = seqNo();
+        Thread.sleep(20);
+        assertEquals(beforeCommit, subscription.deliveredSeqNo());
+        store.commit();
+        awaitDelivered(subscription);
+
+        mirror.assertClean();
+        assertEquals(1, mirror.batches.size());
+        assertEquals(new TreeMap<>(map), mirror.map);
+    }
+
+    // ==================== 수명 ====================
+
+    @Test
+    public void drop_shouldEndSubscription() throws Exception {
+        store.createMap("map", Long.class, String.class).put(1L, "a");
+        Mirror mirror = new Mirror();
+        FxSubscription subscription = store.subscribe("map", mirror);
+
+        store.drop("map");
+        store.createMap("map", Long.class, String.class).put(2L, "b");
+        awaitDelivered(subscription);
+
+        assertFalse(subscription.isActive());
+        FxChangeBatch last = mirror.batches.get(mirror.batches.size() - 1);
+        assertTrue(last.isDropped());
+        assertTrue(last.changes().isEmpty());
+    }
+
+    @Test
+    public void rename_shouldFollowCollection() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        Mirror mirror = new Mirror();
+        FxSubscription subscription = store.subscribe("map", mirror);
+
+        store.rename("map", "renamed");
+        store.openMap("renamed", Long.class, String.class).put(1L, "a");
+        awaitDelivered(subscription);
+
+        assertTrue(subscription.isActive());
+        assertEquals(Collections.singletonMap(1L, "a"), mirror.map);
+    }
+
+    @Test
+    public void listenerFailure_shouldDetachOnlyThatSubscription() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        FxSubscription failing = store.subscribe("map", batch -> {
+            throw new IllegalStateException("boom");
+        });
+        Mirror mirror = new Mirror();
+        FxSubscription healthy = store.subscribe("map", mirror);
+
+        map.put(1L, "a");
+        map.put(2L, "b");
+        awaitDelivered(healthy);
+        awaitDelivered(failing);
+
+        assertFalse(failing.isActive());
+        assertTrue(healthy.isActive());
+        assertEquals(new TreeMap<>(map), mirror.map);
+    }
+
+    @Test
+    public void close_shouldStopDelivery() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        Mirror mirror = new Mirror();
+        FxSubscription subscription = store.subscribe("map", mirror);
+        map.put(1L, "a");
+        awaitDelivered(subscription);
+
+        subscription.close();
+        subscription.close();
+        map.put(2L, "b");
+        Thread.sleep(20);
+        assertFalse(subscription.isActive());
+        assertEquals(Collections.singletonMap(1L, "a"), mirror.map);
+    }
+
+    @Test
+    public void storeClose_shouldDeliverPendingChanges() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        Mirror mirror = new Mirror();
+        FxSubscription subscription = store.subscribe("map", mirror);
+        for (long k = 0; k < 200; k++) {
+            map.put(k, "v" + k);
+        }
+        long last = seqNo();
+        store.close();
+
+        assertEquals(last, subscription.deliveredSeqNo());
+        assertEquals(200, mirror.map.size());
+        assertFalse(subscription.isActive());
+    }
+
+    @Test
+    public void storeClose_commitPolicy_shouldDeliverFinalCommit() throws Exception {
+        store.close();
+        store = FxStoreImpl.open(storeFile.toPath(), options()
+            .commitMode(CommitMode.BATCH).onClosePolicy(OnClosePolicy.COMMIT).build());
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        store.commit();
+        Mirror mirror = new Mirror();
+        FxSubscription subscription = store.subscribe("map", mirror);
+        map.put(1L, "a");
+        map.put(2L, "b");
+        long beforeClose = seqNo();
+        store.close();
+
+        mirror.assertClean();
+        assertEquals(beforeClose + 1, subscription.deliveredSeqNo());
+        assertEquals(2, mirror.map.size());
+        assertFalse(subscription.isActive());
+    }
+
+    @Test
+    public void onlineCompaction_shouldWaitForPendingDelta() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, "v" + k);
+        }
+        Mirror mirror = new Mirror();
+        mirror.map.putAll(map);
+        CountDownLatch release = new CountDownLatch(1);
+        FxSubscription subscription = store.subscribe("map", batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            mirror.onChanges(batch);
+        });
+
+        for (long k = 0; k < 3000; k += 2) {
+            map.remove(k);
+        }
+        for (int i = 0; i < 200 && store.compactStep(64); i++) {
+            // 이전 상태를 비교할 때까지 재사용하지 않아야 함
+        }
+        release.countDown();
+        awaitDelivered(subscription);
+
+        mirror.assertClean();
+        assertEquals(new TreeMap<>(map), mirror.map);
+    }
+
+    // ==================== fromSeqNo ====================
+
+    @Test
+    public void subscribeFrom_shouldCatchUpFromRetainedState() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        Mirror mirror = new Mirror();
+        FxSubscription first = store.subscribe("map", mirror);
+        for (long k = 0; k < 100; k++) {
+            map.put(k, "v" + k);
+        }
+        awaitDelivered(first);
+        first.close();
+        long cursor = first.deliveredSeqNo();
+
+        for (long k = 0; k < 50; k++) {
+            map.remove(k);
+        }
+        map.put(7L, "again");
+        mirror.batches.clear();
+        FxSubscription resumed = store.subscribe("map", mirror, cursor);
+        assertEquals(cursor, resumed.startSeqNo());
+        map.put(1000L, "late");
+        awaitDelivered(resumed);
+
+        mirror.assertClean();
+        assertEquals(new TreeMap<>(map), mirror.map);
+        assertEquals(cursor, mirror.batches.get(0).fromSeqNo());
+    }
+
+    @Test
+    public void subscribeFrom_unchangedCollection_shouldContinueFromSeqNo() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        NavigableMap<Long, String> other = store.createMap("other", Long.class, String.class);
+        // 이전 상태는 변경 스트림을 처음 쓴 뒤부터 보관
+        store.subscribe("other", batch -> { });
+        map.put(1L, "a");
+        long cursor = seqNo();
+        for (long k = 0; k < 20; k++) {
+            other.put(k, "o" + k);
+        }
+
+        Mirror mirror = new Mirror();
+        mirror.map.put(1L, "a");
+        FxSubscription subscription = store.subscribe("map", mirror, cursor);
+        assertEquals(seqNo(), subscription.deliveredSeqNo());
+        map.put(2L, "b");
+        awaitDelivered(subscription);
+
+        mirror.assertClean();
+        assertEquals(1, mirror.batches.size());
+        assertEquals(cursor, mirror.batches.get(0).fromSeqNo());
+        assertEquals(new TreeMap<>(map), mirror.map);
+    }
+
+    @Test
+    public void subscribeFrom_unavailable_shouldBeRejected() throws Exception {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        Deque<String> ring = store.createDeque("ring", String.class);
+        map.put(1L, "a");
+        ring.addLast("r0");
+        long first = seqNo();
+        ring.addLast("r1");
+        assertSubscribeFails("map", -1L, FxErrorCode.ILLEGAL_ARGUMENT);
+        assertSubscribeFails("map", seqNo() + 1, FxErrorCode.ILLEGAL_ARGUMENT);
+        // 변경 스트림을 쓰기 전의 커밋은 보관하지 않음 (직전 커밋 제외)
+        assertSubscribeFails("map", 1L, FxErrorCode.ILLEGAL_STATE);
+        store.subscribe("map", batch -> { }, seqNo() - 1).close();
+
+        // 재시작: 직전 커밋은 다른 헤더 슬롯에서 읽음 (세그먼트 링 포함)
+        store.close();
+        store = FxStoreImpl.open(storeFile.toPath(), options().build());
+        assertEquals(first, seqNo() - 1);
+        List<FxChangeBatch> ringBatches = new CopyOnWriteArrayList<>();
+        FxSubscription ringSubscription = store.subscribe("ring", ringBatches::add, first);
+        awaitDelivered(ringSubscription);
+        ringSubscription.close();
+        assertEquals(1, ringBatches.size());
+        assertEquals(1, ringBatches.get(0).changes().size());
+        assertEquals("r1", ringBatches.get(0).changes().get(0).newValue(String.class));
+        store.subscribe("map", batch -> { }, first).close();
+
+        // 온라인 컴팩션이 페이지를 회수하면 대체된 상태는 버림
+        map = store.openMap("map", Long.class, String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, "v" + k);
+        }
+        for (long k = 0; k < 3000; k += 2) {
+            map.remove(k);
+        }
+        long cursor = seqNo();
+        map.put(-1L, "x");
+        store.subscribe("map", batch -> { }, cursor).close();
+        for (int i = 0; i < 200 && store.compactStep(64); i++) {
+            // 주기 완료까지
+        }
+        assertTrue(((FxStoreImpl) store).reclaimGeneration() > 0);
+        assertSubscribeFails("map", cursor, FxErrorCode.ILLEGAL_STATE);
+    }
+
+    private void assertSubscribeFails(String name, long fromSeqNo, FxErrorCode expected) {
+        try {
+            store.subscribe(name, batch -> { }, fromSeqNo).close();
+            fail("expected " + expected + " for fromSeqNo " + fromSeqNo);
+        } catch (FxException e) {
+            assertEquals(expected, e.getCode());
+        }
+    }
+
+    // ==================== FileChangeLog ====================
+
+    @Test
+    public void fileChangeLog_shouldReplayAndResumeAfterSeqNo() throws Exception {
+        File logFile = tempFolder.newFile("changes.log");
+        log = new FileChangeLog(logFile.toPath());
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        FxSubscription subscription = store.subscribe("map", log);
+
+        for (long k = 0; k < 100; k++) {
+            map.put(k, "v" + k);
+        }
+        awaitDelivered(subscription);
+        long cursor = seqNo();
+        for (long k = 0; k < 50; k++) {
+            map.remove(k);
+        }
+        map.put(1000L, "late");
+        store.close();
+
+        // 처음부터 재생
+        try (FileChangeLog reader = new FileChangeLog(logFile.toPath())) {
+            Mirror mirror = new Mirror();
+            FxChangeBatch batch;
+            while ((batch = reader.receive(0)) != null) {
+                mirror.onChanges(batch);
+            }
+            mirror.assertClean();
+            assertEquals(51, mirror.map.size());
+            assertEquals("late", mirror.map.get(1000L));
+        }
+
+        // 처리한 seqNo 이후부터 이어 읽기
+        try (FileChangeLog reader = new FileChangeLog(logFile.toPath())) {
+            assertTrue(reader.seekAfter(cursor) > 0);
+            FxChangeBatch first = reader.receive(0);
+            assertNotNull(first);
+            assertEquals(cursor, first.fromSeqNo());
+            int batches = 1;
+            while (reader.receive(0) != null) {
+                batches++;
+            }
+            assertEquals(51, batches);
+        }
+    }
+
+    @Test
+    public void fileChangeLog_restartedWriter_shouldResendMissedCommit() throws Exception {
+        File logFile = tempFolder.newFile("changes.log");
+        log = new FileChangeLog(logFile.toPath());
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        FxSubscription subscription = store.subscribe("map", log);
+        for (long k = 0; k < 100; k++) {
+            map.put(k, "v" + k);
+        }
+        awaitDelivered(subscription);
+        long logged = seqNo();
+
+        // 작성자가 마지막 커밋을 기록하던 중 중단: 반쯤 쓴 배치만 남음
+        subscription.close();
+        map.put(1000L, "late");
+        store.close();
+        log.close();
+        long complete = Files.size(logFile.toPath());
+        Files.write(logFile.toPath(), new byte[]{100, 0, 0, 0, 1, 2, 3}, StandardOpenOption.APPEND);
+
+        store = FxStoreImpl.open(storeFile.toPath(), options().build());
+        log = new FileChangeLog(logFile.toPath());
+        assertEquals(logged, log.recover());
+        assertEquals(complete, Files.size(logFile.toPath()));
+        subscription = store.subscribe("map", log, logged);
+        map = store.openMap("map", Long.class, String.class);
+        map.remove(3L);
+        awaitDelivered(subscription);
+        store.close();
+
+        try (FileChangeLog reader = new FileChangeLog(logFile.toPath())) {
+            Mirror mirror = new Mirror();
+            long cursor = -1L;
+            FxChangeBatch batch;
+            while ((batch = reader.receive(0)) != null) {
+                if (cursor >= 0) {
+                    assertEquals(cursor, batch.fromSeqNo());
+                }
+                cursor = batch.seqNo();
+                mirror.onChanges(batch);
+            }
+            mirror.assertClean();
+            assertEquals(100, mirror.map.size());
+            assertEquals("late", mirror.map.get(1000L));
+            assertFalse(mirror.map.containsKey(3L));
+        }
+    }
+
+    @Test
+    public void fileChangeLog_crashWithLaggingLog_shouldResumeAfterRestart() throws Exception {
+        File logFile = tempFolder.newFile("changes.log");
+        log = new FileChangeLog(logFile.toPath());
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        NavigableMap<Long, String> other = store.createMap("other", Long.class, String.class);
+        CountDownLatch stalled = new CountDownLatch(1);
+        CountDownLatch released = new CountDownLatch(1);
+        long[] stallAt = {Long.MAX_VALUE};
+        store.subscribe("map", new FxChangeListener() {
+            @Override
+            public void onChanges(FxChangeBatch batch) {
+                if (batch.seqNo() >= stallAt[0]) {
+                    stalled.countDown();
+                    try {
+                        released.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+                log.onChanges(batch);
+            }
+
+            @Override
+            public boolean isDurable() {
+                return log.isDurable();
+            }
+        });
+        for (long k = 0; k < 20; k++) {
+            map.put(k, "v" + k);
+            other.put(k, "o" + k);
+        }
+
+        // 로그가 멈춘 동안 작성자는 다음 커밋에서 기다림
+        stallAt[0] = seqNo() + 1;
+        Thread writer = new Thread(() -> {
+            for (long k = 20; k < 40; k++) {
+                map.put(k, "v" + k);
+                other.put(k, "o" + k);
+            }
+        });
+        writer.start();
+        File crashedStore = tempFolder.newFile("crashed.fx");
+        File crashedLog = tempFolder.newFile("crashed.log");
+        try {
+            assertTrue(stalled.await(TIMEOUT_MILLIS, TimeUnit.MILLISECONDS));
+            Thread.sleep(50);
+            assertEquals(stallAt[0], seqNo());
+            // 중단: 이 시점의 파일만 남음 (로그는 map을 바꾼 직전 커밋까지)
+            Files.copy(storeFile.toPath(), crashedStore.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            Files.copy(logFile.toPath(), crashedLog.toPath(), StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            released.countDown();
+            writer.join();
+        }
+
+        try (FxStore restarted = FxStoreImpl.open(crashedStore.toPath(), options().build());
+             FileChangeLog restartedLog = new FileChangeLog(crashedLog.toPath())) {
+            long logged = restartedLog.recover();
+            assertEquals(stallAt[0] - 2, logged);
+            FxSubscription subscription = restarted.subscribe("map", restartedLog, logged);
+            long target = ((FxStoreImpl) restarted).getCurrentCommitHeader().getSeqNo();
+            long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(TIMEOUT_MILLIS);
+            while (subscription.deliveredSeqNo() < target) {
+                assertTrue("delivery timed out at " + subscription, System.nanoTime() < deadline);
+                Thread.sleep(1);
+            }
+
+            Mirror mirror = new Mirror();
+            try (FileChangeLog reader = new FileChangeLog(crashedLog.toPath())) {
+                FxChangeBatch batch;
+                while ((batch = reader.receive(0)) != null) {
+                    mirror.onChanges(batch);
+                }
+            }
+            mirror.assertClean();
+            assertEquals(new TreeMap<>(restarted.openMap("map", Long.class, String.class)), mirror.map);
+            assertEquals(21, mirror.map.size());
+        }
+    }
+
+    @Test
+    public void batchEncoding_shouldRoundTrip() {
+        List<FxChange> changes = Arrays.asList(
+            new FxChange(ChangeOp.INSERT, -1L, new byte[]{1, 2}, null, new byte[]{3}),
+            new FxChange(ChangeOp.UPDATE, 7L, null, new byte[0], new byte[]{4, 5}),
+            new FxChange(ChangeOp.DELETE, 9L, null, new byte[]{6}, null));
+        FxChangeBatch batch = new FxChangeBatch("이름", CollectionKind.LIST, 3, 5, true, false, changes);
+
+        byte[] encoded = batch.encode();
+        FxChangeBatch decoded = FxChangeBatch.decode(encoded);
+        assertEquals("이름", decoded.collection());
+        assertEquals(CollectionKind.LIST, decoded.kind());
+        assertEquals(3, decoded.fromSeqNo());
+        assertEquals(5, decoded.seqNo());
+        assertEquals(5, FxChangeBatch.peekSeqNo(encoded));
+        assertTrue(decoded.isLast());
+        assertFalse(decoded.isDropped());
+        for (int i = 0; i < changes.size(); i++) {
+            assertEquals(changes.get(i).op(), decoded.changes().get(i).op());
+            assertEquals(changes.get(i).index(), decoded.changes().get(i).index());
+            assertArrayEquals(changes.get(i).keyBytes(), decoded.changes().get(i).keyBytes());
+            assertArrayEquals(changes.get(i).oldValueBytes(), decoded.changes().get(i).oldValueBytes());
+            assertArrayEquals(changes.get(i).newValueBytes(), decoded.changes().get(i).newValueBytes());
+        }
+
+        encoded[encoded.length / 2] ^= 1;
+        try {
+            FxChangeBatch.decode(encoded);
+            fail("expected CORRUPTION");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.CORRUPTION, e.getCode());
+        }
+    }
+
+    // ==================== 거부 ====================
+
+    @Test
+    public void subscribe_invalid_shouldThrow() {
+        try {
+            store.subscribe("missing", batch -> { });
+            fail("expected NOT_FOUND");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.NOT_FOUND, e.getCode());
+        }
+        store.createMap("map", Long.class, String.class);
+        try {
+            store.subscribe("map", null);
+            fail("expected ILLEGAL_ARGUMENT");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_ARGUMENT, e.getCode());
+        }
+    }
+
+    @Test
+    public void subscribe_btreeDeque_shouldBeUnsupported() throws Exception {
+        store.close();
+        storeFile.delete();
+        store = FxStoreImpl.open(storeFile.toPath(), FxOptions.defaults());
+        store.createDeque("deque", String.class).addLast("a");
+        try {
+            store.subscribe("deque", batch -> { });
+            fail("expected UNSUPPORTED");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.UNSUPPORTED, e.getCode());
+        }
+    }
+
+    @Test
+    public void subscribe_sharedReader_shouldBeUnsupported() {
+        store.createMap("map", Long.class, String.class);
+        try (FxSharedReader reader = FxStoreImpl.openShared(storeFile.toPath(), options().build())) {
+            reader.subscribe("map", batch -> { });
+            fail("expected UNSUPPORTED");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.UNSUPPORTED, e.getCode());
+        }
+    }
+}
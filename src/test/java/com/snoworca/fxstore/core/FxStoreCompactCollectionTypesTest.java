@@ -143,6 +143,31 @@ public class FxStoreCompactCollectionTypesTest {
         }
     }
 
+    @Test
+    public void compactTo_withLargeDeque_shouldCopyInChunksPreservingOrder() throws Exception {
+        // Given: 복사 묶음(1024개) 여러 개에 걸치고 나머지가 남는 Deque
+        int count = 1024 * 3 + 17;
+        try (FxStore source = FxStore.open(sourceFile.toPath())) {
+            Deque<Long> deque = source.createDeque("queue", Long.class);
+            for (long i = 0; i < count; i++) {
+                deque.addLast(i);
+            }
+
+            // When: compactTo(newFile)
+            source.compactTo(targetFile.toPath());
+        }
+
+        // Then: 묶음 경계와 관계없이 순서 유지
+        try (FxStore target = FxStore.open(targetFile.toPath())) {
+            Deque<Long> copiedDeque = target.openDeque("queue", Long.class);
+            assertEquals(count, copiedDeque.size());
+            long expected = 0;
+            for (Long element : copiedDeque) {
+                assertEquals(Long.valueOf(expected++), element);
+            }
+        }
+    }
+
     // ==================== 모든 컬렉션 타입 혼합 테스트 ====================
 
     @Test
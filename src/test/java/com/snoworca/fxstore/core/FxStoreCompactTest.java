@@ -9,7 +9,9 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.NavigableMap;
+import java.util.NavigableSet;
 
 import static org.junit.Assert.*;
 
@@ -156,4 +158,96 @@ public class FxStoreCompactTest {
             source.compactTo(null);
         }
     }
+
+    // ==================== 구조 복사 경로 테스트 ====================
+
+    @Test
+    public void compactTo_largeCollections_shouldCopyStructurally() throws Exception {
+        FxOptions options = FxOptions.defaults().withInlineListElements(true).build();
+        try (FxStore source = FxStore.open(sourceFile.toPath(), options)) {
+            NavigableMap<Long, String> map = source.createMap("map", Long.class, String.class);
+            NavigableSet<String> set = source.createSet("set", String.class);
+            List<Long> inline = source.createList("inline", Long.class);
+            List<String> list = source.createList("list", String.class);
+            for (long i = 0; i < 5000; i++) {
+                map.put(i, "v" + i);
+                set.add(String.format("s%05d", i));
+                inline.add(i * 3);
+                list.add("e" + i);
+            }
+            for (long i = 0; i < 5000; i += 2) {
+                map.remove(i);
+            }
+
+            source.compactTo(targetFile.toPath());
+            assertTrue(targetFile.length() < sourceFile.length());
+        }
+
+        try (FxStore target = FxStore.open(targetFile.toPath())) {
+            NavigableMap<Long, String> map = target.openMap("map", Long.class, String.class);
+            assertEquals(2500, map.size());
+            assertEquals("v1", map.firstEntry().getValue());
+            assertEquals("v4999", map.get(4999L));
+            assertNull(map.get(4998L));
+
+            NavigableSet<String> set = target.openSet("set", String.class);
+            assertEquals(5000, set.size());
+            assertEquals("s02500", set.ceiling("s02500"));
+
+            List<Long> inline = target.openList("inline", Long.class);
+            assertEquals(5000, inline.size());
+            assertEquals(Long.valueOf(14997L), inline.get(4999));
+
+            List<String> list = target.openList("list", String.class);
+            assertEquals(5000, list.size());
+            assertEquals("e0", list.get(0));
+            assertEquals("e4999", list.get(4999));
+
+            // 복사된 트리에 대한 후속 쓰기
+            map.put(10000L, "new");
+            list.add("tail");
+            assertEquals("new", map.lastEntry().getValue());
+            assertEquals("tail", list.get(5000));
+        }
+    }
+
+    @Test
+    public void compactTo_manyCollectionsInParallel_shouldCopyAll() throws Exception {
+        FxOptions options = FxOptions.defaults().withCompactionParallelism(4).build();
+        char[] big = new char[6000];
+        java.util.Arrays.fill(big, 'b');
+        String bigValue = new String(big);
+        try (FxStore source = FxStore.open(sourceFile.toPath(), options)) {
+            for (int c = 0; c < 24; c++) {
+                NavigableMap<Long, String> map = source.createMap("map" + c, Long.class, String.class);
+                List<String> list = source.createList("list" + c, String.class);
+                for (long i = 0; i < 300 + c * 40; i++) {
+                    map.put(i, "m" + c + "-" + i);
+                    list.add("l" + c + "-" + i);
+                }
+                // 여러 페이지에 걸친 값 레코드
+                map.put(-1L, bigValue + c);
+            }
+            source.createSet("empty", String.class);
+            source.createDeque("deque", Long.class).addLast(7L);
+
+            source.compactTo(targetFile.toPath());
+        }
+
+        try (FxStore target = FxStore.open(targetFile.toPath())) {
+            assertTrue(target.verify().ok());
+            for (int c = 0; c < 24; c++) {
+                NavigableMap<Long, String> map = target.openMap("map" + c, Long.class, String.class);
+                List<String> list = target.openList("list" + c, String.class);
+                int n = 300 + c * 40;
+                assertEquals(n + 1, map.size());
+                assertEquals(n, list.size());
+                assertEquals(bigValue + c, map.get(-1L));
+                assertEquals("m" + c + "-" + (n - 1), map.lastEntry().getValue());
+                assertEquals("l" + c + "-" + (n - 1), list.get(n - 1));
+            }
+            assertTrue(target.openSet("empty", String.class).isEmpty());
+            assertEquals(Long.valueOf(7L), target.openDeque("deque", Long.class).peekFirst());
+        }
+    }
 }
@@ -0,0 +1,251 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.*;
+import com.snoworca.fxstore.btree.BTreeInternal;
+import com.snoworca.fxstore.btree.BTreeLeaf;
+import com.snoworca.fxstore.btree.BTreeNode;
+import com.snoworca.fxstore.catalog.CollectionState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.*;
+
+import static com.snoworca.fxstore.core.StoreTestSupport.big;
+import static com.snoworca.fxstore.core.StoreTestSupport.closeQuietly;
+import static com.snoworca.fxstore.core.StoreTestSupport.compactingOptions;
+import static com.snoworca.fxstore.core.StoreTestSupport.newStoreFile;
+import static org.junit.Assert.*;
+
+/**
+ * verify(DEEP) 전체 트리 병렬 검증 테스트
+ *
+ * <ul>
+ *   <li>모든 컬렉션 종류, 키 압축, 컴팩션 후 정상 파일은 오류 없음</li>
+ *   <li>순차/병렬 실행 결과 일치</li>
+ *   <li>손상된 노드, 잘못된 분리자 범위, 값 레코드 길이, OST 노드 탐지</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxStoreDeepVerifyTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File file;
+    private FxStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        file = newStoreFile(tempFolder, "deep.fx");
+    }
+
+    @After
+    public void tearDown() {
+        closeQuietly(store);
+    }
+
+    private static void assertDeepOk(FxStore store) {
+        VerifyResult result = store.verify(VerifyMode.DEEP);
+        assertTrue(result.errors().toString(), result.ok());
+    }
+
+    private void populate(FxStore store) {
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        NavigableSet<String> set = store.createSet("set", String.class);
+        List<Long> inline = store.createList("inline", Long.class);
+        List<String> strings = store.createList("strings", String.class);
+        Deque<String> deque = store.createDeque("deque", String.class);
+        Random random = new Random(45);
+        for (int i = 0; i < 3000; i++) {
+            map.put((long) random.nextInt(5000) - 2500, i % 300 == 0 ? big(i) : "v" + i);
+            set.add("s" + random.nextInt(4000));
+            inline.add((long) i);
+            strings.add(random.nextInt(strings.size() + 1), "e" + i);
+            deque.addLast("d" + i);
+            if (i % 3 == 0) {
+                deque.pollFirst();
+                map.remove((long) random.nextInt(5000) - 2500);
+            }
+        }
+        for (int i = 0; i < 500; i++) {
+            strings.remove(random.nextInt(strings.size()));
+            inline.remove(random.nextInt(inline.size()));
+        }
+    }
+
+    private CollectionState committedState(String name) {
+        return ((FxStoreImpl) store).getCollectionState(name);
+    }
+
+    // ==================== 정상 파일 ====================
+
+    @Test
+    public void deepVerify_allCollectionKinds_shouldPass() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        populate(store);
+        assertDeepOk(store);
+        assertTrue(store.verify(VerifyMode.QUICK).ok());
+        store.close();
+
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().verifyParallelism(1).build());
+        assertDeepOk(store);
+    }
+
+    @Test
+    public void deepVerify_btreeDequeAndKeyCompression_shouldPass() {
+        store = FxStoreImpl.open(file.toPath(), FxOptions.defaults().withKeyCompression(true).build());
+        NavigableMap<String, String> map = store.createMap("m", String.class, String.class);
+        Deque<Long> deque = store.createDeque("d", Long.class);
+        for (int i = 0; i < 4000; i++) {
+            map.put("key-prefix-" + (i * 7919 % 4000), "v" + i);
+            deque.addLast((long) i);
+            if (i % 4 == 0) {
+                deque.pollFirst();
+            }
+        }
+        assertDeepOk(store);
+    }
+
+    @Test
+    public void deepVerify_batchModePendingChanges_shouldCheckLastCommit() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().commitMode(CommitMode.BATCH).build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        for (long k = 0; k < 2000; k++) {
+            map.put(k, "v" + k);
+        }
+        store.commit();
+        for (long k = 0; k < 1000; k++) {
+            map.remove(k);
+        }
+        assertDeepOk(store);
+        store.commit();
+        assertDeepOk(store);
+    }
+
+    @Test
+    public void deepVerify_afterOnlineCompactionAndCompactTo_shouldPass() throws Exception {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        populate(store);
+        NavigableMap<Long, String> map = store.openMap("map", Long.class, String.class);
+        for (long k = -2500; k < 0; k++) {
+            map.remove(k);
+        }
+        while (store.compactStep(64)) {
+            // 단계 사이에도 커밋된 상태는 일관됨
+        }
+        assertDeepOk(store);
+
+        File target = tempFolder.newFile("target.fx");
+        target.delete();
+        store.compactTo(target.toPath());
+        store.close();
+        store = FxStoreImpl.open(target.toPath(), compactingOptions().build());
+        assertDeepOk(store);
+    }
+
+    @Test
+    public void deepVerify_emptyStore_shouldPass() {
+        store = FxStoreImpl.openMemory(FxOptions.defaults());
+        assertDeepOk(store);
+        store.createMap("empty", Long.class, String.class);
+        store.createList("list", String.class);
+        assertDeepOk(store);
+    }
+
+    @Test(expected = FxException.class)
+    public void verify_nullMode_shouldThrow() {
+        store = FxStoreImpl.openMemory(FxOptions.defaults());
+        store.verify(null);
+    }
+
+    @Test(expected = FxException.class)
+    public void verifyParallelism_negative_shouldThrow() {
+        FxOptions.defaults().withVerifyParallelism(-1);
+    }
+
+    // ==================== 손상 탐지 ====================
+
+    @Test
+    public void deepVerify_leafCopiedOverSibling_shouldReportBoundsAndSharedPages() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, "v" + k);
+        }
+        FxStoreImpl impl = (FxStoreImpl) store;
+        long root = committedState("m").getRootPageId();
+        BTreeNode node = impl.newStructuralBTree().readNode(root);
+        while (((BTreeInternal) node).getLevel() > 1) {
+            node = impl.newStructuralBTree().readNode(((BTreeInternal) node).getChildPageId(0));
+        }
+        BTreeInternal parent = (BTreeInternal) node;
+        int pageSize = impl.getPageSize();
+        byte[] page = new byte[pageSize];
+        impl.getStorage().read(parent.getChildPageId(0) * pageSize, page, 0, pageSize);
+        impl.getStorage().write(parent.getChildPageId(1) * pageSize, page, 0, pageSize);
+
+        assertTrue(store.verify(VerifyMode.QUICK).ok());
+        VerifyResult result = store.verify(VerifyMode.DEEP);
+        assertFalse(result.ok());
+        assertTrue(result.errors().toString(), hasError(result, VerifyErrorKind.BTREE, "separator"));
+        assertTrue(result.errors().toString(), hasError(result, VerifyErrorKind.PAGE, "more than once"));
+    }
+
+    @Test
+    public void deepVerify_corruptRecordLength_shouldReportRecord() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().verifyParallelism(1).build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        for (long k = 0; k < 100; k++) {
+            map.put(k, "v" + k);
+        }
+        FxStoreImpl impl = (FxStoreImpl) store;
+        long root = committedState("m").getRootPageId();
+        BTreeLeaf leaf = (BTreeLeaf) impl.newStructuralBTree().readNode(root);
+        long record = leaf.getValueRecordId(5);
+        impl.getStorage().write(record * impl.getPageSize(), new byte[] {0, 0, 0, 0x7F}, 0, 4);
+
+        VerifyResult result = store.verify(VerifyMode.DEEP);
+        assertTrue(result.errors().toString(), hasError(result, VerifyErrorKind.RECORD, "exceeds"));
+        assertEquals(record, find(result, VerifyErrorKind.RECORD).objectId());
+    }
+
+    @Test
+    public void deepVerify_zeroedOstPage_shouldReportOst() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        List<String> list = store.createList("l", String.class);
+        for (int i = 0; i < 50; i++) {
+            list.add("e" + i);
+        }
+        FxStoreImpl impl = (FxStoreImpl) store;
+        long rootOffset = committedState("l").getRootPageId();
+        impl.getStorage().write(rootOffset, new byte[impl.getPageSize()], 0, impl.getPageSize());
+
+        VerifyResult result = store.verify(VerifyMode.DEEP);
+        assertTrue(result.errors().toString(), hasError(result, VerifyErrorKind.OST, "unreadable"));
+        // 읽지 못한 트리는 live 페이지 집계와도 어긋남
+        assertTrue(result.errors().toString(), hasError(result, VerifyErrorKind.PAGE, "live page counter"));
+    }
+
+    private static boolean hasError(VerifyResult result, VerifyErrorKind kind, String text) {
+        for (com.snoworca.fxstore.api.VerifyError error : result.errors()) {
+            if (error.kind() == kind && error.message().contains(text)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static com.snoworca.fxstore.api.VerifyError find(VerifyResult result, VerifyErrorKind kind) {
+        for (com.snoworca.fxstore.api.VerifyError error : result.errors()) {
+            if (error.kind() == kind) {
+                return error;
+            }
+        }
+        throw new AssertionError("no " + kind + " error: " + result.errors());
+    }
+}
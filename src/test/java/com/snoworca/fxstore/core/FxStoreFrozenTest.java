@@ -0,0 +1,251 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static com.snoworca.fxstore.core.StoreTestSupport.big;
+import static com.snoworca.fxstore.core.StoreTestSupport.closeQuietly;
+import static org.junit.Assert.*;
+
+/**
+ * 고정(frozen) 파일 내보내기와 메모리 매핑 읽기 테스트
+ *
+ * <ul>
+ *   <li>Map/Set/List(인라인, 레코드)/Deque(세그먼트 링, BTree)/빈 컬렉션 왕복</li>
+ *   <li>내부 노드가 리프보다 앞의 색인 영역에 있음, 컴팩션 결과보다 작은 파일</li>
+ *   <li>쓰기 거부, 일반 열기와 고정 열기의 파일 형식 검사</li>
+ *   <li>DEEP 검증, compactTo로 쓰기 가능한 파일 복원, 고정 Store에서 다시 내보내기</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxStoreFrozenTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private Path source;
+    private Path frozen;
+    private FxStore store;
+    private FxStore reader;
+
+    @Before
+    public void setUp() throws Exception {
+        File dir = tempFolder.newFolder();
+        source = dir.toPath().resolve("source.fx");
+        frozen = dir.toPath().resolve("frozen.fx");
+    }
+
+    @After
+    public void tearDown() {
+        closeQuietly(reader, store);
+    }
+
+    private static FxOptions.Builder options() {
+        return FxOptions.defaults()
+            .withInlineListElements(true)
+            .segmentRingDeques(true);
+    }
+
+    private void populate() {
+        store = FxStoreImpl.open(source, options().build());
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        NavigableSet<String> set = store.createSet("set", String.class);
+        List<Long> inline = store.createList("inline", Long.class);
+        List<String> strings = store.createList("strings", String.class);
+        Deque<String> ring = store.createDeque("ring", String.class);
+        store.createMap("empty", Long.class, String.class);
+        store.createList("emptyList", String.class);
+        store.createDeque("emptyDeque", String.class);
+        Random random = new Random(50);
+        for (int i = 0; i < 6000; i++) {
+            map.put((long) random.nextInt(20000) - 10000, i % 500 == 0 ? big(i) : "v" + (i % 7));
+            set.add("key-" + random.nextInt(8000));
+            inline.add(random.nextInt(inline.size() + 1), (long) i);
+            strings.add("s" + i);
+            ring.addLast("r" + i);
+            if (i % 3 == 0) {
+                ring.pollFirst();
+                map.remove((long) random.nextInt(20000) - 10000);
+            }
+        }
+    }
+
+    private void assertSameContents(FxStore expected, FxStore actual) {
+        assertEquals(new TreeMap<>(expected.openMap("map", Long.class, String.class)),
+            new TreeMap<>(actual.openMap("map", Long.class, String.class)));
+        assertEquals(new ArrayList<>(expected.openSet("set", String.class)),
+            new ArrayList<>(actual.openSet("set", String.class)));
+        assertEquals(new ArrayList<>(expected.openList("inline", Long.class)),
+            new ArrayList<>(actual.openList("inline", Long.class)));
+        assertEquals(new ArrayList<>(expected.openList("strings", String.class)),
+            new ArrayList<>(actual.openList("strings", String.class)));
+        assertEquals(new ArrayList<>(expected.openDeque("ring", String.class)),
+            new ArrayList<>(actual.openDeque("ring", String.class)));
+        assertTrue(actual.openMap("empty", Long.class, String.class).isEmpty());
+        assertTrue(actual.openList("emptyList", String.class).isEmpty());
+        assertTrue(actual.openDeque("emptyDeque", String.class).isEmpty());
+    }
+
+    @Test
+    public void roundTripPreservesAllCollections() {
+        populate();
+        long seqNo = store.exportFrozen(frozen);
+        assertEquals(seqNo, ((FxStoreImpl) store).replicatedSeqNo());
+
+        reader = FxStoreImpl.openFrozen(frozen, options().build());
+        assertSameContents(store, reader);
+
+        NavigableMap<Long, String> map = reader.openMap("map", Long.class, String.class);
+        NavigableMap<Long, String> expected = store.openMap("map", Long.class, String.class);
+        for (long key = -10000; key < 10000; key += 37) {
+            assertEquals(expected.get(key), map.get(key));
+        }
+        assertEquals(expected.ceilingKey(123L), map.ceilingKey(123L));
+        assertEquals(expected.headMap(0L).size(), map.headMap(0L).size());
+        List<Long> inline = reader.openList("inline", Long.class);
+        assertEquals(store.openList("inline", Long.class).get(4321), inline.get(4321));
+        Deque<String> ring = reader.openDeque("ring", String.class);
+        assertEquals(store.openDeque("ring", String.class).peekFirst(), ring.peekFirst());
+        assertEquals(store.openDeque("ring", String.class).peekLast(), ring.peekLast());
+
+        VerifyResult result = reader.verify(VerifyMode.DEEP);
+        assertTrue(result.errors().toString(), result.ok());
+    }
+
+    @Test
+    public void btreeDequeIsExportedInSequenceOrder() {
+        store = FxStoreImpl.open(source, FxOptions.defaults());
+        Deque<String> deque = store.createDeque("deque", String.class);
+        for (int i = 0; i < 3000; i++) {
+            deque.addFirst("f" + i);
+            deque.addLast("l" + i);
+        }
+        store.exportFrozen(frozen);
+
+        reader = FxStoreImpl.openFrozen(frozen, FxOptions.defaults());
+        assertEquals(new ArrayList<>(deque), new ArrayList<>(reader.openDeque("deque", String.class)));
+        assertTrue(reader.verify(VerifyMode.DEEP).ok());
+    }
+
+    @Test
+    public void indexPrecedesLeavesAndFileIsSmallerThanCompacted() throws Exception {
+        populate();
+        store.exportFrozen(frozen);
+        Path compacted = frozen.resolveSibling("compacted.fx");
+        store.compactTo(compacted);
+
+        byte[] sbData = new byte[Superblock.SIZE];
+        System.arraycopy(Files.readAllBytes(frozen), 0, sbData, 0, Superblock.SIZE);
+        Superblock sb = Superblock.decode(sbData);
+        assertTrue(sb.hasFeature(Superblock.FEATURE_FROZEN));
+        int pageSize = sb.getPageSize();
+        long fixedBytes = ((FxStoreImpl) store).fixedPages() * pageSize;
+        assertTrue(sb.getFrozenIndexEnd() > fixedBytes);
+
+        reader = FxStoreImpl.openFrozen(frozen, options().build());
+        CommitHeader header = ((FxStoreImpl) reader).getCurrentCommitHeader();
+        assertEquals(Files.size(frozen), header.getAllocTail());
+        assertTrue(Files.size(frozen) < Files.size(compacted));
+        // 색인 영역은 내부 노드만, 데이터 영역의 리프는 색인 뒤에 있음
+        long catalogRoot = header.getCatalogRootPageId() * pageSize;
+        assertTrue(catalogRoot >= fixedBytes);
+    }
+
+    @Test
+    public void frozenStoreRejectsWrites() {
+        populate();
+        store.exportFrozen(frozen);
+        reader = FxStoreImpl.openFrozen(frozen, options().build());
+
+        NavigableMap<Long, String> map = reader.openMap("map", Long.class, String.class);
+        List<String> strings = reader.openList("strings", String.class);
+        Deque<String> ring = reader.openDeque("ring", String.class);
+        assertUnsupported(() -> map.put(1L, "x"));
+        assertUnsupported(() -> strings.add("x"));
+        assertUnsupported(() -> ring.pollFirst());
+        assertUnsupported(() -> reader.createMap("other", Long.class, String.class));
+        assertUnsupported(() -> reader.drop("map"));
+        assertUnsupported(reader::commit);
+        assertTrue(reader.stats(StatsMode.DEEP).fileBytes() > 0);
+    }
+
+    @Test
+    public void openChecksFileFormat() {
+        populate();
+        store.exportFrozen(frozen);
+        store.close();
+        store = null;
+
+        assertUnsupported(() -> FxStoreImpl.open(frozen, options().build()));
+        try {
+            FxStoreImpl.openFrozen(source, options().build());
+            fail("expected ILLEGAL_ARGUMENT");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_ARGUMENT, e.getCode());
+        }
+        try {
+            FxStoreImpl.openFrozen(frozen.resolveSibling("missing.fx"), options().build());
+            fail("expected NOT_FOUND");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.NOT_FOUND, e.getCode());
+        }
+    }
+
+    @Test
+    public void exportRejectsInvalidTargets() {
+        populate();
+        try {
+            store.exportFrozen(null);
+            fail("expected ILLEGAL_ARGUMENT");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_ARGUMENT, e.getCode());
+        }
+        try {
+            store.exportFrozen(source);
+            fail("expected ILLEGAL_ARGUMENT");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_ARGUMENT, e.getCode());
+        }
+    }
+
+    @Test
+    public void compactToThawsAndFrozenStoreCanReexport() throws Exception {
+        populate();
+        store.exportFrozen(frozen);
+        reader = FxStoreImpl.openFrozen(frozen, options().build());
+
+        Path thawed = frozen.resolveSibling("thawed.fx");
+        reader.compactTo(thawed);
+        Path again = frozen.resolveSibling("again.fx");
+        reader.exportFrozen(again);
+        assertEquals(Files.size(frozen), Files.size(again));
+
+        try (FxStore writable = FxStoreImpl.open(thawed, options().build())) {
+            assertSameContents(store, writable);
+            writable.openMap("map", Long.class, String.class).put(99999L, "new");
+            assertTrue(writable.verify(VerifyMode.DEEP).ok());
+        }
+        try (FxStore second = FxStoreImpl.openFrozen(again, options().build())) {
+            assertSameContents(store, second);
+        }
+    }
+
+    private static void assertUnsupported(Runnable action) {
+        try {
+            action.run();
+            fail("expected UNSUPPORTED");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.UNSUPPORTED, e.getCode());
+        }
+    }
+}
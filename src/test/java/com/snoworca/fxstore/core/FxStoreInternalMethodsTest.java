@@ -354,4 +354,31 @@ public class FxStoreInternalMethodsTest {
         assertTrue(reopenedSet.isEmpty());
         assertTrue(reopenedList.isEmpty());
     }
+
+    // ==================== 값 레코드 버퍼 경로 테스트 ====================
+
+    @Test
+    public void valueRecord_codecPath_shouldMatchByteArrayPath() {
+        FxStoreImpl impl = (FxStoreImpl) store;
+        FxCodec<String> codec = com.snoworca.fxstore.codec.StringCodec.INSTANCE;
+
+        long stamp = impl.acquireWriteLock();
+        try {
+            // 코덱 경로로 쓰고 바이트 경로로 읽기
+            long id1 = impl.writeValueRecord(codec, "가나다-value");
+            assertArrayEquals(codec.encode("가나다-value"), impl.readValueRecord(id1));
+
+            // 바이트 경로로 쓰고 코덱 경로로 읽기
+            long id2 = impl.writeValueRecord(codec.encode("legacy"));
+            assertEquals("legacy", impl.readValueRecord(id2, codec));
+
+            // 큰 값 뒤에 작은 값: 재사용 버퍼 잔여 바이트가 섞이지 않아야 함
+            long id3 = impl.writeValueRecord(codec, "0123456789abcdef0123456789abcdef");
+            long id4 = impl.writeValueRecord(codec, "x");
+            assertEquals("0123456789abcdef0123456789abcdef", impl.readValueRecord(id3, codec));
+            assertEquals("x", impl.readValueRecord(id4, codec));
+        } finally {
+            impl.releaseWriteLock(stamp);
+        }
+    }
 }
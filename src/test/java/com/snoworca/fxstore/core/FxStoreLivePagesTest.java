@@ -0,0 +1,275 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.*;
+import com.snoworca.fxstore.catalog.CollectionState;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.*;
+
+import static com.snoworca.fxstore.core.StoreTestSupport.big;
+import static com.snoworca.fxstore.core.StoreTestSupport.closeQuietly;
+import static com.snoworca.fxstore.core.StoreTestSupport.compactingOptions;
+import static com.snoworca.fxstore.core.StoreTestSupport.newStoreFile;
+import static org.junit.Assert.*;
+
+/**
+ * 커밋 단위 live 페이지 집계 테스트
+ *
+ * <ul>
+ *   <li>모든 컬렉션 종류에서 증분 집계(FAST)와 전체 순회(DEEP)가 정확히 일치</li>
+ *   <li>여러 페이지 값 레코드, rollback, drop, 재오픈, 온라인 컴팩션, compactTo</li>
+ *   <li>CollectionState/CommitHeader 인코딩</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxStoreLivePagesTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File file;
+    private FxStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        file = newStoreFile(tempFolder, "live.fx");
+    }
+
+    @After
+    public void tearDown() {
+        closeQuietly(store);
+    }
+
+    private static void assertExact(FxStore store) {
+        Stats fast = store.stats(StatsMode.FAST);
+        Stats deep = store.stats(StatsMode.DEEP);
+        assertEquals("live bytes", deep.liveBytesEstimate(), fast.liveBytesEstimate());
+        assertEquals("dead bytes", deep.deadBytesEstimate(), fast.deadBytesEstimate());
+        assertEquals(deep.collectionLiveBytes(), fast.collectionLiveBytes());
+        assertTrue(fast.liveBytesEstimate() <= fast.fileBytes());
+    }
+
+    // ==================== 증분 == 전체 ====================
+
+    @Test
+    public void fastStats_mixedOperationsOnAllKinds_shouldMatchDeepScan() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        NavigableMap<Long, String> map = store.createMap("map", Long.class, String.class);
+        NavigableSet<String> set = store.createSet("set", String.class);
+        List<Long> inline = store.createList("inline", Long.class);
+        List<String> strings = store.createList("strings", String.class);
+        Deque<String> ring = store.createDeque("ring", String.class);
+        assertExact(store);
+
+        Random random = new Random(44);
+        for (int round = 0; round < 6; round++) {
+            for (int i = 0; i < 400; i++) {
+                long k = random.nextInt(2000);
+                map.put(k, random.nextInt(10) == 0 ? big(i) : "v" + i);
+                if (random.nextBoolean()) {
+                    map.remove((long) random.nextInt(2000));
+                }
+                set.add("s" + random.nextInt(1500));
+                inline.add((long) i);
+                strings.add(random.nextInt(strings.size() + 1), "e" + i);
+                ring.addLast(random.nextInt(20) == 0 ? big(i) : "r" + i);
+                if (random.nextInt(3) == 0) {
+                    ring.pollFirst();
+                }
+                if (random.nextInt(7) == 0) {
+                    ring.pollLast();
+                    ring.addFirst("f" + i);
+                }
+            }
+            for (int i = 0; i < 100 && !strings.isEmpty(); i++) {
+                strings.remove(random.nextInt(strings.size()));
+                inline.set(random.nextInt(inline.size()), -1L);
+                set.remove("s" + random.nextInt(1500));
+            }
+            assertExact(store);
+        }
+
+        Stats stats = store.stats();
+        assertEquals(new HashSet<>(Arrays.asList("map", "set", "inline", "strings", "ring")),
+            stats.collectionLiveBytes().keySet());
+        assertTrue(stats.deadBytesEstimate() > 0);
+    }
+
+    @Test
+    public void fastStats_btreeDeque_shouldMatchDeepScan() {
+        store = FxStoreImpl.open(file.toPath(), FxOptions.defaults());
+        Deque<String> deque = store.createDeque("d", String.class);
+        for (int i = 0; i < 3000; i++) {
+            deque.addLast(i % 100 == 0 ? big(i) : "d" + i);
+            if (i % 3 == 0) {
+                deque.pollFirst();
+            }
+        }
+        assertExact(store);
+
+        deque.clear();
+        assertExact(store);
+    }
+
+    @Test
+    public void fastStats_batchCommitAndRollback_shouldMatchDeepScan() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().commitMode(CommitMode.BATCH).build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        Deque<String> ring = store.createDeque("r", String.class);
+        for (long k = 0; k < 1000; k++) {
+            map.put(k, "v" + k);
+            ring.addLast("r" + k);
+        }
+        store.commit();
+        assertExact(store);
+        long committedLive = store.stats().liveBytesEstimate();
+
+        // 커밋 전 쓰기는 live에 포함되지 않음
+        for (long k = 0; k < 500; k++) {
+            map.put(k, big((int) k));
+            ring.pollFirst();
+        }
+        assertEquals(committedLive, store.stats().liveBytesEstimate());
+        store.rollback();
+        assertExact(store);
+        assertEquals(committedLive, store.stats().liveBytesEstimate());
+
+        map = store.openMap("m", Long.class, String.class);
+        ring = store.openDeque("r", String.class);
+        for (long k = 0; k < 300; k++) {
+            map.remove(k);
+            ring.pollFirst();
+            ring.addLast("n" + k);
+        }
+        store.commit();
+        assertExact(store);
+    }
+
+    @Test
+    public void fastStats_dropAndReopen_shouldMatchDeepScan() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        NavigableMap<Long, String> keep = store.createMap("keep", Long.class, String.class);
+        NavigableMap<Long, String> drop = store.createMap("drop", Long.class, String.class);
+        for (long k = 0; k < 800; k++) {
+            keep.put(k, "k" + k);
+            drop.put(k, big((int) k));
+        }
+        long before = store.stats().liveBytesEstimate();
+        store.drop("drop");
+        assertExact(store);
+        assertTrue(store.stats().liveBytesEstimate() < before / 2);
+        assertFalse(store.stats().collectionLiveBytes().containsKey("drop"));
+        long live = store.stats().liveBytesEstimate();
+        store.close();
+
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        assertEquals(live, store.stats().liveBytesEstimate());
+        keep = store.openMap("keep", Long.class, String.class);
+        for (long k = 0; k < 400; k++) {
+            keep.remove(k);
+        }
+        assertExact(store);
+    }
+
+    @Test
+    public void fastStats_afterOnlineCompaction_shouldMatchDeepScan() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        List<String> list = store.createList("l", String.class);
+        Deque<String> ring = store.createDeque("r", String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, k % 500 == 0 ? big((int) k) : "value-" + k);
+            list.add("e" + k);
+            ring.addLast("r" + k);
+        }
+        for (long k = 0; k < 2500; k++) {
+            map.remove(k);
+            ring.pollFirst();
+        }
+        Stats before = store.stats();
+        assertTrue(before.deadRatio() > 0.3);
+
+        while (store.compactStep(64)) {
+            assertExact(store);
+        }
+
+        assertExact(store);
+        Stats after = store.stats();
+        assertEquals(before.liveBytesEstimate(), after.liveBytesEstimate());
+        assertTrue(after.deadBytesEstimate() < before.deadBytesEstimate());
+    }
+
+    @Test
+    public void compactStep_lowDeadRatioFromCounters_shouldNotMark() {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        for (long k = 0; k < 2000; k++) {
+            map.put(k, "value-" + k);
+        }
+        // 덧붙이기만 한 Map은 COW로 바뀐 경로만 dead
+        double deadRatio = store.stats().deadRatio();
+        store.close();
+        store = FxStoreImpl.open(file.toPath(),
+            compactingOptions().compactionDeadRatio(Math.min(1.0, deadRatio + 0.05)).build());
+        assertFalse(store.compactStep(64));
+    }
+
+    @Test
+    public void fastStats_compactToTarget_shouldMatchDeepScan() throws Exception {
+        store = FxStoreImpl.open(file.toPath(), compactingOptions().build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        Deque<String> ring = store.createDeque("r", String.class);
+        for (long k = 0; k < 2000; k++) {
+            map.put(k, k % 400 == 0 ? big((int) k) : "v" + k);
+            ring.addLast("r" + k);
+        }
+        File target = tempFolder.newFile("target.fx");
+        target.delete();
+        store.compactTo(target.toPath());
+        store.close();
+
+        store = FxStoreImpl.open(target.toPath(), compactingOptions().build());
+        assertExact(store);
+        Stats stats = store.stats();
+        assertTrue(stats.deadRatio() < 0.05);
+    }
+
+    // ==================== 인코딩 ====================
+
+    @Test
+    public void collectionState_livePages_shouldRoundTrip() {
+        CollectionState state = new CollectionState(7L, CollectionKind.MAP, null, null, 42L, 3L)
+            .withLivePages(123L);
+        CollectionState decoded = CollectionState.decode(state.encode());
+        assertEquals(123L, decoded.getLivePages());
+        assertEquals(42L, decoded.getRootPageId());
+        assertFalse(decoded.isSegmentRing());
+
+        CollectionState ring = state.withSegmentRing(9L, -5L, 11L);
+        decoded = CollectionState.decode(ring.encode());
+        assertEquals(123L, decoded.getLivePages());
+        assertEquals(-5L, decoded.getHeadPosition());
+        assertEquals(11L, decoded.getTailPosition());
+
+        CollectionState legacy = new CollectionState(7L, CollectionKind.MAP, null, null, 42L, 3L);
+        assertFalse(CollectionState.decode(legacy.encode()).hasLivePages());
+    }
+
+    @Test
+    public void commitHeader_livePages_shouldRoundTrip() {
+        CommitHeader header = new CommitHeader(5L, 0L, 65536L, 4L, 5L, 3L, 1000L, 16L);
+        byte[] data = header.encode();
+        CommitHeader decoded = CommitHeader.decode(data);
+        assertTrue(decoded.verify(data));
+        assertEquals(16L, decoded.getLivePages());
+
+        CommitHeader legacy = new CommitHeader(5L, 0L, 65536L, 4L, 5L, 3L, 1000L);
+        assertEquals(0L, CommitHeader.decode(legacy.encode()).getLivePages());
+    }
+}
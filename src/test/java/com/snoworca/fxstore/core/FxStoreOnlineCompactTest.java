@@ -0,0 +1,325 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.*;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * 온라인 증분 컴팩션(compactStep) 테스트
+ *
+ * <ul>
+ *   <li>삭제 후 같은 파일이 줄어들고 재오픈 후에도 데이터 유지</li>
+ *   <li>열린 읽기 트랜잭션이나 순회 중인 List Iterator가 있으면 빈 페이지 재사용을 미룸</li>
+ *   <li>Set/List/인라인 List/세그먼트 링 Deque/BTree Deque 재배치</li>
+ *   <li>컴팩션 단계 사이의 쓰기</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxStoreOnlineCompactTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File file;
+    private FxStore store;
+
+    @Before
+    public void setUp() throws Exception {
+        file = tempFolder.newFile("online.fx");
+        file.delete();
+    }
+
+    @After
+    public void tearDown() {
+        if (store != null) {
+            try { store.close(); } catch (Exception e) { /* ignore */ }
+        }
+    }
+
+    private static FxOptions.Builder options() {
+        return FxOptions.defaults()
+            .withCompactionRetentionMillis(0)
+            .compactionDeadRatio(0.3);
+    }
+
+    private static String value(long k) {
+        return "value-" + k + "-" + "xxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxxx";
+    }
+
+    /**
+     * 주기가 끝날 때까지 compactStep 반복
+     *
+     * @return 수행한 단계 수
+     */
+    private static int compactFully(FxStore store, int maxPages) {
+        int steps = 0;
+        while (store.compactStep(maxPages)) {
+            steps++;
+            assertTrue("compaction did not finish", steps < 10_000);
+        }
+        return steps;
+    }
+
+    private static void assertVerified(FxStore store) {
+        VerifyResult result = store.verify(VerifyMode.DEEP);
+        assertTrue(result.errors().toString(), result.ok());
+    }
+
+    // ==================== Map ====================
+
+    @Test
+    public void compactStep_afterDeletes_shouldShrinkFileAndKeepData() {
+        store = FxStoreImpl.open(file.toPath(), options().build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, value(k));
+        }
+        // 앞쪽(먼저 쓴) 키를 지우면 살아 있는 레코드는 파일 끝 쪽에 남음
+        for (long k = 0; k < 2600; k++) {
+            map.remove(k);
+        }
+        long before = file.length();
+
+        int steps = compactFully(store, 64);
+
+        assertTrue(steps > 3);
+        assertTrue("file should shrink: " + before + " -> " + file.length(), file.length() < before / 2);
+        assertEquals(400, map.size());
+        assertEquals(value(2600), map.get(2600L));
+        assertEquals(value(2999), map.lastEntry().getValue());
+        assertVerified(store);
+
+        // 회수 후 쓰기
+        map.put(-1L, "after");
+        store.close();
+
+        store = FxStoreImpl.open(file.toPath(), options().build());
+        NavigableMap<Long, String> reopened = store.openMap("m", Long.class, String.class);
+        assertEquals(401, reopened.size());
+        assertEquals("after", reopened.get(-1L));
+        for (long k = 2600; k < 3000; k++) {
+            assertEquals(value(k), reopened.get(k));
+        }
+        assertVerified(store);
+    }
+
+    @Test
+    public void compactStep_lowDeadRatio_shouldDoNothing() {
+        store = FxStoreImpl.open(file.toPath(), options().compactionDeadRatio(1.0).build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, value(k));
+        }
+        for (long k = 0; k < 2600; k++) {
+            map.remove(k);
+        }
+        long before = file.length();
+
+        assertFalse(store.compactStep(64));
+        assertEquals(before, file.length());
+    }
+
+    @Test(expected = FxException.class)
+    public void compactStep_nonPositiveBudget_shouldThrow() {
+        store = FxStoreImpl.openMemory(options().build());
+        store.compactStep(0);
+    }
+
+    @Test
+    public void compactStep_openReadTransaction_shouldWaitForIt() {
+        store = FxStoreImpl.open(file.toPath(), options().build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        for (long k = 0; k < 2000; k++) {
+            map.put(k, value(k));
+        }
+        FxReadTransaction tx = store.beginRead();
+        for (long k = 0; k < 1800; k++) {
+            map.remove(k);
+        }
+        long before = file.length();
+
+        // 트랜잭션이 열려 있는 동안은 빈 페이지를 등록하지 않음
+        for (int i = 0; i < 20; i++) {
+            assertTrue(store.compactStep(64));
+        }
+        assertEquals(before, file.length());
+        assertEquals(value(5), tx.get(map, 5L));
+        assertEquals(2000, tx.size(map));
+        tx.close();
+
+        compactFully(store, 64);
+        assertTrue(file.length() < before);
+        assertEquals(200, map.size());
+        assertEquals(value(1999), map.get(1999L));
+    }
+
+    @Test
+    public void compactStep_openListIterator_shouldWaitForIt() {
+        store = FxStoreImpl.open(file.toPath(), options().build());
+        NavigableMap<Long, String> garbage = store.createMap("garbage", Long.class, String.class);
+        List<String> list = store.createList("l", String.class);
+        for (long k = 0; k < 2000; k++) {
+            garbage.put(k, value(k));
+            list.add(value(k));
+        }
+        Iterator<String> it = list.iterator();
+        assertEquals(value(0), it.next());
+        store.drop("garbage");
+        list.clear();
+        long before = file.length();
+
+        // Iterator가 남아 있는 동안은 빈 페이지를 등록하지 않음
+        for (int i = 0; i < 20; i++) {
+            assertTrue(store.compactStep(64));
+        }
+        assertEquals(before, file.length());
+        for (long k = 1; k < 2000; k++) {
+            assertEquals(value(k), it.next());
+        }
+        assertFalse(it.hasNext());
+
+        // 끝까지 순회하면 등록이 해제되어 주기를 마침
+        compactFully(store, 64);
+        assertTrue(file.length() < before / 2);
+        assertVerified(store);
+    }
+
+    @Test
+    public void listIterator_afterReclaim_shouldFailInsteadOfReadingReusedPages() {
+        store = FxStoreImpl.open(file.toPath(), options().build());
+        NavigableMap<Long, String> garbage = store.createMap("garbage", Long.class, String.class);
+        List<String> list = store.createList("l", String.class);
+        for (long k = 0; k < 2000; k++) {
+            garbage.put(k, value(k));
+            list.add(value(k));
+        }
+        ListIterator<String> it = list.listIterator(1999);
+        assertEquals(value(1999), it.next());
+        store.drop("garbage");
+        list.clear();
+
+        compactFully(store, 64);
+
+        assertTrue(it.hasPrevious());
+        try {
+            it.previous();
+            fail("expected ILLEGAL_STATE");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_STATE, e.getCode());
+        }
+    }
+
+    @Test
+    public void compactStep_writesBetweenSteps_shouldKeepAllWrites() {
+        store = FxStoreImpl.open(file.toPath(), options().build());
+        NavigableMap<Long, String> map = store.createMap("m", Long.class, String.class);
+        Deque<String> deque = store.createDeque("d", String.class);
+        TreeMap<Long, String> ref = new TreeMap<>();
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, value(k));
+            ref.put(k, value(k));
+        }
+        for (long k = 0; k < 2500; k++) {
+            map.remove(k);
+            ref.remove(k);
+        }
+        for (int i = 0; i < 100; i++) {
+            deque.addLast("d" + i);
+        }
+        long before = file.length();
+
+        int steps = 0;
+        long next = 10_000;
+        while (store.compactStep(64)) {
+            assertTrue(steps++ < 10_000);
+            if (steps % 4 != 0) {
+                continue;
+            }
+            // 재배치 중인 경로와 겹치는 갱신과 새 키
+            long k = 2500 + (steps * 7) % 500;
+            map.put(k, "updated-" + steps);
+            ref.put(k, "updated-" + steps);
+            map.put(next, value(next));
+            ref.put(next, value(next));
+            next++;
+            deque.pollFirst();
+            deque.addLast("n" + steps);
+        }
+
+        assertEquals(ref, new TreeMap<>(map));
+        assertEquals(100, deque.size());
+        assertVerified(store);
+        store.close();
+
+        store = FxStoreImpl.open(file.toPath(), options().build());
+        assertEquals(ref, new TreeMap<>(store.openMap("m", Long.class, String.class)));
+        assertEquals(100, store.openDeque("d", String.class).size());
+        assertTrue(file.length() < before);
+    }
+
+    // ==================== 컬렉션 종류 ====================
+
+    @Test
+    public void compactStep_allCollectionKinds_shouldRelocate() {
+        FxOptions opts = options().inlineListElements(true).segmentRingDeques(true).build();
+        store = FxStoreImpl.open(file.toPath(), opts);
+        NavigableMap<Long, String> garbage = store.createMap("garbage", Long.class, String.class);
+        for (long k = 0; k < 4000; k++) {
+            garbage.put(k, value(k));
+        }
+
+        NavigableSet<String> set = store.createSet("s", String.class);
+        List<Long> inline = store.createList("inline", Long.class);
+        List<String> strings = store.createList("strings", String.class);
+        Deque<String> ring = store.createDeque("ring", String.class);
+        for (int i = 0; i < 600; i++) {
+            set.add("s" + i);
+            inline.add((long) i * 3);
+            strings.add("e" + i);
+            ring.addLast("r" + i);
+        }
+        for (int i = 0; i < 100; i++) {
+            ring.pollFirst();
+        }
+        store.drop("garbage");
+        long before = file.length();
+
+        compactFully(store, 128);
+
+        assertTrue("file should shrink: " + before + " -> " + file.length(), file.length() < before / 2);
+        assertVerified(store);
+        store.close();
+
+        store = FxStoreImpl.open(file.toPath(), opts);
+        set = store.openSet("s", String.class);
+        inline = store.openList("inline", Long.class);
+        strings = store.openList("strings", String.class);
+        ring = store.openDeque("ring", String.class);
+        assertEquals(600, set.size());
+        assertTrue(set.contains("s599"));
+        assertEquals(600, inline.size());
+        assertEquals(Long.valueOf(1797L), inline.get(599));
+        assertEquals("e0", strings.get(0));
+        assertEquals("e599", strings.get(599));
+        assertEquals(500, ring.size());
+        assertEquals("r100", ring.peekFirst());
+        assertEquals("r599", ring.peekLast());
+
+        // 재배치된 트리에 이어서 쓰기
+        inline.add(7L);
+        strings.add(0, "head");
+        ring.addLast("tail");
+        assertEquals(Long.valueOf(7L), inline.get(600));
+        assertEquals("head", strings.get(0));
+        assertEquals("tail", ring.pollLast());
+    }
+}
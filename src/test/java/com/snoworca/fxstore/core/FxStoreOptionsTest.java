@@ -9,6 +9,7 @@ import org.junit.rules.TemporaryFolder;
 
 import java.io.File;
 import java.nio.file.Path;
+import java.util.List;
 import java.util.NavigableMap;
 
 import static org.junit.Assert.*;
@@ -105,6 +106,177 @@ public class FxStoreOptionsTest {
         assertEquals("hello", map2.get(1L));
     }
 
+    // ==================== KeyCompression 테스트 ====================
+
+    @Test
+    public void openFile_withKeyCompression_shouldPersistAndKeepFlag() throws Exception {
+        File file = tempFolder.newFile("test-keycomp.fxs");
+        file.delete();
+
+        FxOptions options = FxOptions.defaults()
+            .withKeyCompression(true)
+            .build();
+
+        store = FxStore.open(file.toPath(), options);
+        NavigableMap<String, Long> map = store.createMap("paths", String.class, Long.class);
+        for (long i = 0; i < 5000; i++) {
+            map.put(String.format("/var/data/tenant-01/objects/%08d", i), i);
+        }
+        store.close();
+
+        // 기본 옵션으로 다시 열어도 Superblock 플래그에 따라 압축 형식 유지
+        store = FxStore.open(file.toPath());
+        NavigableMap<String, Long> reopened = store.openMap("paths", String.class, Long.class);
+        assertEquals(5000, reopened.size());
+        assertEquals(Long.valueOf(1234L), reopened.get("/var/data/tenant-01/objects/00001234"));
+        assertEquals("/var/data/tenant-01/objects/00000000", reopened.firstKey());
+        reopened.put("/a", -1L);
+        assertEquals("/a", reopened.firstKey());
+        store.close();
+        store = null;
+
+        byte[] sbData = new byte[Superblock.SIZE];
+        try (java.io.RandomAccessFile raf = new java.io.RandomAccessFile(file, "r")) {
+            raf.readFully(sbData);
+        }
+        assertTrue(Superblock.decode(sbData).hasFeature(Superblock.FEATURE_KEY_COMPRESSION));
+    }
+
+    @Test
+    public void openMemory_withoutKeyCompression_shouldBeDefault() {
+        assertFalse(FxOptions.defaults().keyCompression());
+        assertTrue(FxOptions.defaults().withKeyCompression(true).build().keyCompression());
+    }
+
+    // ==================== InlineListElements 테스트 ====================
+
+    @Test
+    public void openFile_withInlineListElements_shouldStoreNumbersInLeaves() throws Exception {
+        File inlineFile = tempFolder.newFile("test-inline.fxs");
+        inlineFile.delete();
+        File recordFile = tempFolder.newFile("test-record.fxs");
+        recordFile.delete();
+
+        store = FxStore.open(inlineFile.toPath(), FxOptions.defaults().withInlineListElements(true).build());
+        List<Long> numbers = store.createList("numbers", Long.class);
+        List<String> names = store.createList("names", String.class);
+        List<Long> batch = new java.util.ArrayList<>();
+        for (long i = 0; i < 5000; i++) {
+            batch.add(i * 31 - 2500);
+        }
+        numbers.addAll(batch);
+        names.add("record-backed");
+        store.close();
+
+        store = FxStore.open(recordFile.toPath());
+        store.createList("numbers", Long.class).addAll(batch);
+        store.close();
+        store = null;
+
+        // 인라인 List는 요소별 값 레코드 페이지가 없음
+        assertTrue(inlineFile.length() * 10 < recordFile.length());
+
+        // 기본 옵션으로 다시 열어도 기록된 형식 유지
+        store = FxStore.open(inlineFile.toPath());
+        List<Long> reopened = store.openList("numbers", Long.class);
+        assertEquals(batch, new java.util.ArrayList<>(reopened));
+        reopened.set(0, Long.MIN_VALUE);
+        reopened.add(Long.MAX_VALUE);
+        assertEquals(Long.valueOf(Long.MIN_VALUE), reopened.get(0));
+        assertEquals(Long.valueOf(Long.MAX_VALUE), reopened.get(5000));
+        assertEquals("record-backed", store.openList("names", String.class).get(0));
+        store.close();
+        store = null;
+
+        byte[] sbData = new byte[Superblock.SIZE];
+        try (java.io.RandomAccessFile raf = new java.io.RandomAccessFile(inlineFile, "r")) {
+            raf.readFully(sbData);
+        }
+        assertTrue(Superblock.decode(sbData).hasFeature(Superblock.FEATURE_INLINE_LIST_ELEMENTS));
+    }
+
+    @Test
+    public void compactTo_withInlineListElements_shouldKeepValues() throws Exception {
+        store = FxStore.openMemory(FxOptions.defaults().withInlineListElements(true).build());
+        List<Double> values = store.createList("values", Double.class);
+        values.add(1.5);
+        values.add(-0.0);
+        values.add(Double.NaN);
+
+        File target = tempFolder.newFile("test-inline-compact.fxs");
+        target.delete();
+        store.compactTo(target.toPath());
+        store.close();
+
+        store = FxStore.open(target.toPath());
+        List<Double> copied = store.openList("values", Double.class);
+        assertEquals(Double.valueOf(1.5), copied.get(0));
+        assertEquals(Double.valueOf(-0.0), copied.get(1));
+        assertTrue(copied.get(2).isNaN());
+    }
+
+    @Test
+    public void openMemory_withoutInlineListElements_shouldBeDefault() {
+        assertFalse(FxOptions.defaults().inlineListElements());
+        assertTrue(FxOptions.defaults().withInlineListElements(true).build().inlineListElements());
+    }
+
+    // ==================== SegmentRingDeques 테스트 ====================
+
+    @Test
+    public void openFile_withSegmentRingDeques_shouldRecordFeature() throws Exception {
+        File ringFile = tempFolder.newFile("test-ring.fxs");
+        ringFile.delete();
+
+        store = FxStore.open(ringFile.toPath(), FxOptions.defaults().withSegmentRingDeques(true).build());
+        java.util.Deque<Long> deque = store.createDeque("queue", Long.class);
+        for (long i = 0; i < 2000; i++) {
+            deque.addLast(i);
+        }
+        for (int i = 0; i < 1500; i++) {
+            deque.pollFirst();
+        }
+        store.close();
+        store = null;
+
+        byte[] sbData = new byte[Superblock.SIZE];
+        try (java.io.RandomAccessFile raf = new java.io.RandomAccessFile(ringFile, "r")) {
+            raf.readFully(sbData);
+        }
+        assertTrue(Superblock.decode(sbData).hasFeature(Superblock.FEATURE_SEGMENT_RING_DEQUES));
+
+        store = FxStore.open(ringFile.toPath());
+        java.util.Deque<Long> reopened = store.openDeque("queue", Long.class);
+        assertEquals(500, reopened.size());
+        assertEquals(Long.valueOf(1500L), reopened.peekFirst());
+        assertEquals(Long.valueOf(1999L), reopened.peekLast());
+    }
+
+    @Test
+    public void compactTo_withSegmentRingDeques_shouldKeepValues() throws Exception {
+        store = FxStore.openMemory(FxOptions.defaults().withSegmentRingDeques(true).build());
+        java.util.Deque<String> deque = store.createDeque("queue", String.class);
+        deque.addLast("b");
+        deque.addFirst("a");
+        deque.addLast("c");
+
+        File target = tempFolder.newFile("test-ring-compact.fxs");
+        target.delete();
+        store.compactTo(target.toPath());
+        store.close();
+
+        store = FxStore.open(target.toPath());
+        java.util.Deque<String> copied = store.openDeque("queue", String.class);
+        assertEquals(java.util.Arrays.asList("a", "b", "c"), new java.util.ArrayList<>(copied));
+        assertTrue(((FxStoreImpl) store).getCollectionState("queue").isSegmentRing());
+    }
+
+    @Test
+    public void openMemory_withoutSegmentRingDeques_shouldBeDefault() {
+        assertFalse(FxOptions.defaults().segmentRingDeques());
+        assertTrue(FxOptions.defaults().withSegmentRingDeques(true).build().segmentRingDeques());
+    }
+
     // ==================== CacheSize 테스트 ====================
 
     @Test
@@ -0,0 +1,461 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.*;
+import com.snoworca.fxstore.storage.FileReplicationLog;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.*;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static com.snoworca.fxstore.core.StoreTestSupport.big;
+import static com.snoworca.fxstore.core.StoreTestSupport.closeQuietly;
+import static com.snoworca.fxstore.core.StoreTestSupport.compactingOptions;
+import static com.snoworca.fxstore.core.StoreTestSupport.newStoreFile;
+import static org.junit.Assert.*;
+
+/**
+ * 로그 전달 복제 (리더 → 읽기 전용 Follower) 테스트
+ *
+ * <ul>
+ *   <li>파일 로그/메모리 큐 전송으로 Follower가 리더와 같은 내용이 됨</li>
+ *   <li>세그먼트 링 제자리 쓰기, 온라인 컴팩션 재사용/잘라내기, drop/rename</li>
+ *   <li>백업보다 오래된 프레임 건너뜀, seqNo 공백/다른 Store 거부</li>
+ *   <li>Follower 쓰기 거부, 페이지 재사용 프레임은 이전 읽기 종료 후 적용</li>
+ *   <li>큰 커밋은 여러 프레임으로 나뉘어 마지막 프레임에서 게시</li>
+ *   <li>프레임 인코딩</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxStoreReplicationTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File leaderFile;
+    private File followerFile;
+    private File logFile;
+    private FxStore leader;
+    private FxReplica follower;
+    private FileReplicationLog log;
+
+    @Before
+    public void setUp() throws Exception {
+        leaderFile = newStoreFile(tempFolder, "leader.fx");
+        followerFile = newStoreFile(tempFolder, "follower.fx");
+        logFile = newStoreFile(tempFolder, "frames.log");
+    }
+
+    @After
+    public void tearDown() {
+        closeQuietly(follower, leader, log);
+    }
+
+    /**
+     * 리더를 열고 파일 로그를 등록한 뒤 백업으로 Follower 생성
+     */
+    private void startReplication() {
+        leader = FxStoreImpl.open(leaderFile.toPath(), compactingOptions().build());
+        leader.createMap("map", Long.class, String.class);
+        leader.createList("list", String.class);
+        leader.createDeque("ring", String.class);
+        log = new FileReplicationLog(logFile.toPath());
+        leader.addReplicationSink(log);
+        leader.backupTo(followerFile.toPath());
+        follower = FxStoreImpl.openReplica(followerFile.toPath(), compactingOptions().build());
+    }
+
+    private void populate(int round) {
+        NavigableMap<Long, String> map = leader.openMap("map", Long.class, String.class);
+        List<String> list = leader.openList("list", String.class);
+        Deque<String> ring = leader.openDeque("ring", String.class);
+        Random random = new Random(47 + round);
+        for (int i = 0; i < 300; i++) {
+            map.put((long) random.nextInt(3000), i % 100 == 0 ? big(i) : "v" + round + "-" + i);
+            if (random.nextBoolean()) {
+                map.remove((long) random.nextInt(3000));
+            }
+            list.add(random.nextInt(list.size() + 1), "e" + round + "-" + i);
+            ring.addLast("r" + round + "-" + i);
+            if (random.nextInt(3) == 0) {
+                ring.pollFirst();
+            }
+            if (random.nextInt(5) == 0) {
+                ring.addFirst("f" + round + "-" + i);
+            }
+        }
+    }
+
+    private void assertFollowerMatches() {
+        assertEquals(((FxStoreImpl) leader).getCurrentCommitHeader().getSeqNo(), follower.replicatedSeqNo());
+        VerifyResult result = follower.verify(VerifyMode.DEEP);
+        assertTrue(result.errors().toString(), result.ok());
+        assertEquals(new HashSet<>(leader.list()), new HashSet<>(follower.list()));
+        for (CollectionInfo info : leader.list()) {
+            String name = info.name();
+            switch (info.kind()) {
+                case MAP:
+                    assertEquals(name, new TreeMap<>(leader.openMap(name, Long.class, String.class)),
+                        new TreeMap<>(follower.openMap(name, Long.class, String.class)));
+                    break;
+                case LIST:
+                    assertEquals(name, new ArrayList<>(leader.openList(name, String.class)),
+                        new ArrayList<>(follower.openList(name, String.class)));
+                    break;
+                case DEQUE:
+                    assertEquals(name, new ArrayList<>(leader.openDeque(name, String.class)),
+                        new ArrayList<>(follower.openDeque(name, String.class)));
+                    break;
+                default:
+                    fail("unexpected kind " + info.kind());
+            }
+        }
+    }
+
+    // ==================== 적용 ====================
+
+    @Test
+    public void pump_fileLog_shouldTrackLeader() throws Exception {
+        startReplication();
+        NavigableMap<Long, String> followerMap = follower.openMap("map", Long.class, String.class);
+        for (int round = 0; round < 3; round++) {
+            populate(round);
+            assertTrue(follower.pump(log, 50) > 0);
+            assertFollowerMatches();
+        }
+        // 열어 둔 컬렉션 인스턴스도 새 스냅샷을 봄
+        assertEquals(new TreeMap<>(leader.openMap("map", Long.class, String.class)), new TreeMap<>(followerMap));
+
+        // Follower 파일은 닫았다 다시 열어도 같은 커밋
+        long seqNo = follower.replicatedSeqNo();
+        follower.close();
+        follower = FxStoreImpl.openReplica(followerFile.toPath(), compactingOptions().build());
+        assertEquals(seqNo, follower.replicatedSeqNo());
+        assertFollowerMatches();
+    }
+
+    @Test
+    public void pump_separateLogReader_shouldSkipFramesInBackup() throws Exception {
+        leader = FxStoreImpl.open(leaderFile.toPath(), compactingOptions().build());
+        leader.createMap("map", Long.class, String.class);
+        leader.createList("list", String.class);
+        leader.createDeque("ring", String.class);
+        log = new FileReplicationLog(logFile.toPath());
+        long registered = leader.addReplicationSink(log);
+        populate(0);
+        long backedUp = leader.backupTo(followerFile.toPath());
+        assertTrue(backedUp > registered);
+        populate(1);
+
+        follower = FxStoreImpl.openReplica(followerFile.toPath(), compactingOptions().build());
+        try (FileReplicationLog reader = new FileReplicationLog(logFile.toPath())) {
+            int applied = follower.pump(reader, 0);
+            long total = ((FxStoreImpl) leader).getCurrentCommitHeader().getSeqNo() - registered;
+            assertEquals(total - (backedUp - registered), applied);
+        }
+        assertFollowerMatches();
+    }
+
+    @Test
+    public void pump_queueTransport_memoryLeader_shouldTrackLeader() throws Exception {
+        leader = FxStoreImpl.openMemory(compactingOptions().build());
+        BlockingQueue<ReplicationFrame> queue = new LinkedBlockingQueue<>();
+        leader.addReplicationSink(queue::add);
+        leader.backupTo(followerFile.toPath());
+        follower = FxStoreImpl.openReplica(followerFile.toPath(), compactingOptions().build());
+
+        NavigableMap<Long, String> map = leader.createMap("map", Long.class, String.class);
+        for (long k = 0; k < 1000; k++) {
+            map.put(k, k % 250 == 0 ? big((int) k) : "v" + k);
+        }
+        follower.pump(timeout -> queue.poll(timeout, TimeUnit.MILLISECONDS), 0);
+        assertFollowerMatches();
+    }
+
+    @Test
+    public void pump_onlineCompaction_shouldReuseAndTruncate() throws Exception {
+        startReplication();
+        populate(0);
+        NavigableMap<Long, String> map = leader.openMap("map", Long.class, String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, "value-" + k);
+        }
+        follower.pump(log, 0);
+        for (long k = 0; k < 2900; k++) {
+            map.remove(k);
+        }
+        while (leader.compactStep(64)) {
+            follower.pump(log, 0);
+            assertFollowerMatches();
+        }
+        follower.pump(log, 0);
+        assertFollowerMatches();
+        assertEquals(leaderFile.length(), followerFile.length());
+    }
+
+    @Test
+    public void pump_dropAndRename_shouldRefreshCollections() throws Exception {
+        startReplication();
+        populate(0);
+        follower.pump(log, 0);
+        follower.openList("list", String.class);
+
+        leader.drop("list");
+        leader.rename("map", "renamed");
+        NavigableMap<Long, String> recreated = leader.createMap("map", Long.class, String.class);
+        recreated.put(1L, "new");
+        follower.pump(log, 0);
+        assertFollowerMatches();
+        assertEquals(Collections.singletonMap(1L, "new"),
+            new HashMap<>(follower.openMap("map", Long.class, String.class)));
+        try {
+            follower.openList("list", String.class);
+            fail("dropped collection must not open");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.NOT_FOUND, e.getCode());
+        }
+    }
+
+    // ==================== 읽기와 적용 ====================
+
+    @Test
+    public void apply_readTransaction_shouldKeepSnapshotAndDelayPageReuse() throws Exception {
+        startReplication();
+        NavigableMap<Long, String> map = leader.openMap("map", Long.class, String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, "value-" + k);
+        }
+        follower.pump(log, 0);
+        for (long k = 0; k < 2900; k++) {
+            map.remove(k);
+        }
+        follower.pump(log, 0);
+
+        NavigableMap<Long, String> followerMap = follower.openMap("map", Long.class, String.class);
+        FxReadTransaction tx = follower.beginRead();
+        assertEquals(100, tx.size(followerMap));
+
+        // 컴팩션 중 페이지를 재사용한 프레임은 tx가 끝날 때까지 적용되지 않음
+        while (leader.compactStep(64)) {
+            // 리더 진행
+        }
+        map.put(-1L, "after");
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        AtomicLong appliedSeqNo = new AtomicLong();
+        Thread applier = new Thread(() -> {
+            try {
+                follower.pump(log, 0);
+                appliedSeqNo.set(follower.replicatedSeqNo());
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        applier.start();
+        applier.join(300);
+        assertTrue(applier.isAlive());
+        assertEquals(100, tx.size(followerMap));
+        assertEquals("value-2950", tx.get(followerMap, 2950L));
+
+        tx.close();
+        applier.join(10_000);
+        assertFalse(applier.isAlive());
+        assertNull(failure.get());
+        assertEquals("after", followerMap.get(-1L));
+        assertFollowerMatches();
+    }
+
+    // ==================== 거부 ====================
+
+    @Test
+    public void apply_largeCommit_shouldPublishWithLastPart() throws Exception {
+        leader = FxStoreImpl.open(leaderFile.toPath(),
+            compactingOptions().commitMode(CommitMode.BATCH).build());
+        List<ReplicationFrame> frames = new ArrayList<>();
+        leader.addReplicationSink(frames::add);
+        leader.backupTo(followerFile.toPath());
+        follower = FxStoreImpl.openReplica(followerFile.toPath(), compactingOptions().build());
+
+        NavigableMap<Long, String> map = leader.createMap("map", Long.class, String.class);
+        for (long k = 0; k < 2500; k++) {
+            map.put(k, big((int) k));
+        }
+        leader.commit();
+
+        // 약 22 MiB 커밋 → 같은 seqNo의 프레임 여러 개, 마지막만 moreParts 없음
+        assertTrue(frames.size() > 1);
+        long seqNo = frames.get(0).seqNo();
+        for (int i = 0; i < frames.size(); i++) {
+            ReplicationFrame frame = frames.get(i);
+            assertEquals(seqNo, frame.seqNo());
+            assertEquals(i < frames.size() - 1, frame.hasMoreParts());
+            assertTrue(frame.dataBytes() <= 1 << 24);
+        }
+
+        long before = follower.replicatedSeqNo();
+        for (int i = 0; i < frames.size() - 1; i++) {
+            assertEquals(before, follower.apply(frames.get(i)));
+            assertFalse(follower.exists("map"));
+        }
+        assertEquals(seqNo, follower.apply(frames.get(frames.size() - 1)));
+        assertFollowerMatches();
+    }
+
+    @Test
+    public void ringInPlaceWrite_shouldFlagFrameAsReusingPages() throws Exception {
+        leader = FxStoreImpl.openMemory(compactingOptions().build());
+        Deque<String> ring = leader.createDeque("ring", String.class);
+        ring.addLast("a");
+        List<ReplicationFrame> frames = new ArrayList<>();
+        leader.addReplicationSink(frames::add);
+
+        // 첫 쓰기로 복사한 세그먼트에 이후 슬롯을 제자리로 씀
+        ring.addLast("b");
+        ring.addLast("c");
+        ReplicationFrame last = frames.get(frames.size() - 1);
+        assertTrue(last.reusesPages());
+        assertTrue(last.writesInPlaceOnly());
+
+        ReplicationFrame decoded = ReplicationFrame.decode(last.encode());
+        assertTrue(decoded.reusesPages());
+        assertTrue(decoded.writesInPlaceOnly());
+    }
+
+    @Test
+    public void follower_writes_shouldBeUnsupported() throws Exception {
+        startReplication();
+        populate(0);
+        follower.pump(log, 0);
+        NavigableMap<Long, String> map = follower.openMap("map", Long.class, String.class);
+
+        assertUnsupported(() -> follower.createMap("other", Long.class, String.class));
+        assertUnsupported(() -> map.put(1L, "x"));
+        assertUnsupported(() -> follower.openDeque("ring", String.class).addLast("x"));
+        assertUnsupported(() -> follower.drop("map"));
+        assertUnsupported(() -> follower.commit());
+        assertUnsupported(() -> follower.compactStep(16));
+        assertUnsupported(() -> follower.addReplicationSink(frame -> { }));
+        assertFollowerMatches();
+    }
+
+    @Test
+    public void apply_gap_shouldThrowIllegalState() throws Exception {
+        startReplication();
+        NavigableMap<Long, String> map = leader.openMap("map", Long.class, String.class);
+        map.put(1L, "a");
+        map.put(2L, "b");
+        log.receive(0);  // 첫 프레임 유실
+        try {
+            follower.apply(log.receive(0));
+            fail("expected FxException");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_STATE, e.getCode());
+        }
+    }
+
+    @Test
+    public void apply_frameFromOtherStore_shouldThrow() throws Exception {
+        startReplication();
+        Thread.sleep(5);  // createdAt이 달라지도록
+        List<ReplicationFrame> frames = new ArrayList<>();
+        try (FxStore other = FxStoreImpl.openMemory(compactingOptions().build())) {
+            other.addReplicationSink(frames::add);
+            other.createMap("x", Long.class, String.class);
+        }
+        try {
+            follower.apply(frames.get(0));
+            fail("expected FxException");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_ARGUMENT, e.getCode());
+        }
+    }
+
+    @Test
+    public void apply_onLeader_shouldThrow() {
+        leader = FxStoreImpl.openMemory(compactingOptions().build());
+        List<ReplicationFrame> frames = new ArrayList<>();
+        leader.addReplicationSink(frames::add);
+        leader.createMap("x", Long.class, String.class);
+        try {
+            ((FxReplica) leader).apply(frames.get(0));
+            fail("expected FxException");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_STATE, e.getCode());
+        }
+    }
+
+    @Test
+    public void failingSink_shouldBeDetachedWithoutFailingCommit() {
+        leader = FxStoreImpl.openMemory(compactingOptions().build());
+        List<ReplicationFrame> frames = new ArrayList<>();
+        ReplicationSink failing = frame -> { throw new IllegalStateException("down"); };
+        leader.addReplicationSink(failing);
+        leader.addReplicationSink(frames::add);
+        NavigableMap<Long, String> map = leader.createMap("x", Long.class, String.class);
+        map.put(1L, "a");
+        assertEquals("a", map.get(1L));
+        assertEquals(2, frames.size());
+        assertFalse(leader.removeReplicationSink(failing));
+    }
+
+    @Test
+    public void openReplica_missingFile_shouldThrowNotFound() {
+        try {
+            FxStoreImpl.openReplica(followerFile.toPath(), compactingOptions().build());
+            fail("expected FxException");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.NOT_FOUND, e.getCode());
+        }
+    }
+
+    // ==================== 인코딩 ====================
+
+    @Test
+    public void frame_encodeDecode_shouldRoundTrip() {
+        ReplicationFrame frame = new ReplicationFrame(7L, 42L, true, new byte[] {1, 2, 3},
+            new long[] {0L, 12288L}, new byte[][] {{9}, {4, 5, 6, 7}});
+        ReplicationFrame decoded = ReplicationFrame.decode(frame.encode());
+        assertEquals(7L, decoded.storeId());
+        assertEquals(42L, decoded.seqNo());
+        assertTrue(decoded.reusesPages());
+        assertArrayEquals(new byte[] {1, 2, 3}, decoded.header());
+        assertEquals(2, decoded.rangeCount());
+        assertEquals(12288L, decoded.rangeOffset(1));
+        assertArrayEquals(new byte[] {4, 5, 6, 7}, decoded.rangeData(1));
+        assertEquals(5L, decoded.dataBytes());
+        assertFalse(decoded.hasMoreParts());
+        assertFalse(decoded.writesInPlaceOnly());
+
+        ReplicationFrame part = ReplicationFrame.decode(new ReplicationFrame(7L, 43L, false, true, true,
+            new byte[] {1}, new long[0], new byte[0][]).encode());
+        assertTrue(part.hasMoreParts());
+        assertTrue(part.reusesPages());
+        assertTrue(part.writesInPlaceOnly());
+
+        byte[] corrupted = frame.encode();
+        corrupted[20] ^= 1;
+        try {
+            ReplicationFrame.decode(corrupted);
+            fail("expected FxException");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.CORRUPTION, e.getCode());
+        }
+    }
+
+    private static void assertUnsupported(Runnable action) {
+        try {
+            action.run();
+            fail("expected UNSUPPORTED");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.UNSUPPORTED, e.getCode());
+        }
+    }
+}
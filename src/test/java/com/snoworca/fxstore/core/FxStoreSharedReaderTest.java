@@ -0,0 +1,350 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.*;
+import com.snoworca.fxstore.storage.FileStorage;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+/**
+ * 다중 프로세스 공유 읽기 (한 작성자 + 여러 읽기 전용 Store) 테스트
+ *
+ * <ul>
+ *   <li>refresh로 작성자 커밋 반영, 새 커밋이 없으면 스냅샷 유지</li>
+ *   <li>catalog가 그대로인 커밋은 catalog 루트를 유지</li>
+ *   <li>refresh 중에도 읽기 트랜잭션은 이전 스냅샷을 봄</li>
+ *   <li>온라인 컴팩션은 공유 읽기가 이전 회수 세대를 놓을 때까지 페이지를 회수하지 않음</li>
+ *   <li>잠금: 작성자와 공유 읽기는 공존, 작성자끼리/읽기 전용 PROCESS와는 충돌</li>
+ *   <li>공유 읽기 Store의 쓰기 거부</li>
+ * </ul>
+ *
+ * @since 0.10
+ */
+public class FxStoreSharedReaderTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File storeFile;
+    private FxStore writer;
+    private FxSharedReader reader;
+    private FxSharedReader otherReader;
+
+    @Before
+    public void setUp() throws Exception {
+        storeFile = tempFolder.newFile("shared.fx");
+        storeFile.delete();
+    }
+
+    @After
+    public void tearDown() {
+        for (AutoCloseable closeable : Arrays.<AutoCloseable>asList(otherReader, reader, writer)) {
+            if (closeable != null) {
+                try { closeable.close(); } catch (Exception e) { /* ignore */ }
+            }
+        }
+    }
+
+    private static FxOptions.Builder options() {
+        return FxOptions.defaults()
+            .withInlineListElements(true)
+            .segmentRingDeques(true);
+    }
+
+    private void openWriter() {
+        writer = FxStoreImpl.open(storeFile.toPath(), options().build());
+        writer.createMap("map", Long.class, String.class);
+        writer.createList("list", String.class);
+        writer.createDeque("ring", String.class);
+    }
+
+    private void populate(int round) {
+        NavigableMap<Long, String> map = writer.openMap("map", Long.class, String.class);
+        List<String> list = writer.openList("list", String.class);
+        Deque<String> ring = writer.openDeque("ring", String.class);
+        Random random = new Random(48 + round);
+        for (int i = 0; i < 300; i++) {
+            map.put((long) random.nextInt(3000), "v" + round + "-" + i);
+            if (random.nextBoolean()) {
+                map.remove((long) random.nextInt(3000));
+            }
+            list.add(random.nextInt(list.size() + 1), "e" + round + "-" + i);
+            ring.addLast("r" + round + "-" + i);
+            if (random.nextInt(3) == 0) {
+                ring.pollFirst();
+            }
+        }
+    }
+
+    private long writerSeqNo() {
+        return ((FxStoreImpl) writer).getCurrentCommitHeader().getSeqNo();
+    }
+
+    private void assertReaderMatches(FxSharedReader shared) {
+        assertEquals(writerSeqNo(), shared.refreshedSeqNo());
+        assertEquals(new HashSet<>(writer.list()), new HashSet<>(shared.list()));
+        for (CollectionInfo info : writer.list()) {
+            String name = info.name();
+            switch (info.kind()) {
+                case MAP:
+                    assertEquals(name, new TreeMap<>(writer.openMap(name, Long.class, String.class)),
+                        new TreeMap<>(shared.openMap(name, Long.class, String.class)));
+                    break;
+                case LIST:
+                    assertEquals(name, new ArrayList<>(writer.openList(name, String.class)),
+                        new ArrayList<>(shared.openList(name, String.class)));
+                    break;
+                case DEQUE:
+                    assertEquals(name, new ArrayList<>(writer.openDeque(name, String.class)),
+                        new ArrayList<>(shared.openDeque(name, String.class)));
+                    break;
+                default:
+                    fail("unexpected kind " + info.kind());
+            }
+        }
+    }
+
+    // ==================== 갱신 ====================
+
+    @Test
+    public void refresh_shouldPublishWriterCommits() {
+        openWriter();
+        populate(0);
+        reader = FxStoreImpl.openShared(storeFile.toPath(), options().build());
+        otherReader = FxStoreImpl.openShared(storeFile.toPath(), options().build());
+        assertReaderMatches(reader);
+        NavigableMap<Long, String> readerMap = reader.openMap("map", Long.class, String.class);
+
+        for (int round = 1; round < 4; round++) {
+            populate(round);
+            assertEquals(writerSeqNo(), reader.refresh());
+            assertReaderMatches(reader);
+        }
+        // 열어 둔 컬렉션 인스턴스도 새 스냅샷을 봄
+        assertEquals(new TreeMap<>(writer.openMap("map", Long.class, String.class)), new TreeMap<>(readerMap));
+
+        // 다른 읽기 Store는 refresh 전까지 이전 커밋
+        assertTrue(otherReader.refreshedSeqNo() < writerSeqNo());
+        otherReader.refresh();
+        assertReaderMatches(otherReader);
+        VerifyResult result = reader.verify(VerifyMode.DEEP);
+        assertTrue(result.errors().toString(), result.ok());
+    }
+
+    @Test
+    public void refresh_withoutNewCommit_shouldKeepSnapshot() {
+        openWriter();
+        populate(0);
+        reader = FxStoreImpl.openShared(storeFile.toPath(), options().build());
+        StoreSnapshot before = ((FxStoreImpl) reader).snapshot();
+
+        assertEquals(writerSeqNo(), reader.refresh());
+        assertSame(before, ((FxStoreImpl) reader).snapshot());
+    }
+
+    @Test
+    public void commit_unchangedCatalog_shouldKeepCatalogRoot() {
+        openWriter();
+        long catalogRoot = ((FxStoreImpl) writer).getCurrentCommitHeader().getCatalogRootPageId();
+        assertTrue(catalogRoot != 0L);
+
+        populate(0);
+        assertEquals(catalogRoot, ((FxStoreImpl) writer).getCurrentCommitHeader().getCatalogRootPageId());
+
+        writer.createMap("other", Long.class, String.class);
+        assertNotEquals(catalogRoot, ((FxStoreImpl) writer).getCurrentCommitHeader().getCatalogRootPageId());
+        VerifyResult result = writer.verify(VerifyMode.DEEP);
+        assertTrue(result.errors().toString(), result.ok());
+    }
+
+    @Test
+    public void commit_rollback_shouldRewriteCatalogOnlyWhenChanged() {
+        writer = FxStoreImpl.open(storeFile.toPath(), options().commitMode(CommitMode.BATCH).build());
+        writer.createMap("map", Long.class, String.class);
+        writer.commit();
+        long catalogRoot = ((FxStoreImpl) writer).getCurrentCommitHeader().getCatalogRootPageId();
+
+        writer.createMap("discarded", Long.class, String.class);
+        writer.rollback();
+        writer.openMap("map", Long.class, String.class).put(1L, "a");
+        writer.commit();
+        assertEquals(catalogRoot, ((FxStoreImpl) writer).getCurrentCommitHeader().getCatalogRootPageId());
+        assertFalse(writer.exists("discarded"));
+    }
+
+    @Test
+    public void refresh_dropAndRename_shouldRefreshCollections() {
+        openWriter();
+        populate(0);
+        reader = FxStoreImpl.openShared(storeFile.toPath(), options().build());
+        reader.openList("list", String.class);
+
+        writer.drop("list");
+        writer.rename("map", "renamed");
+        NavigableMap<Long, String> recreated = writer.createMap("map", Long.class, String.class);
+        recreated.put(1L, "new");
+        reader.refresh();
+        assertReaderMatches(reader);
+        assertEquals(Collections.singletonMap(1L, "new"),
+            new HashMap<>(reader.openMap("map", Long.class, String.class)));
+        try {
+            reader.openList("list", String.class);
+            fail("dropped collection must not open");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.NOT_FOUND, e.getCode());
+        }
+    }
+
+    @Test
+    public void refresh_btreeDeque_shouldReopenWithNewState() {
+        writer = FxStoreImpl.open(storeFile.toPath(), FxOptions.defaults());
+        Deque<String> deque = writer.createDeque("deque", String.class);
+        deque.addLast("a");
+        reader = FxStoreImpl.openShared(storeFile.toPath(), FxOptions.defaults());
+        assertEquals(Collections.singletonList("a"), new ArrayList<>(reader.openDeque("deque", String.class)));
+
+        deque.addLast("b");
+        deque.addFirst("z");
+        reader.refresh();
+        assertEquals(Arrays.asList("z", "a", "b"), new ArrayList<>(reader.openDeque("deque", String.class)));
+    }
+
+    @Test
+    public void refresh_readTransaction_shouldKeepOldSnapshot() {
+        openWriter();
+        NavigableMap<Long, String> map = writer.openMap("map", Long.class, String.class);
+        for (long k = 0; k < 1000; k++) {
+            map.put(k, "value-" + k);
+        }
+        reader = FxStoreImpl.openShared(storeFile.toPath(), options().build());
+        NavigableMap<Long, String> readerMap = reader.openMap("map", Long.class, String.class);
+
+        try (FxReadTransaction tx = reader.beginRead()) {
+            for (long k = 0; k < 500; k++) {
+                map.remove(k);
+            }
+            map.put(5000L, "after");
+            reader.refresh();
+            assertEquals(1000, tx.size(readerMap));
+            assertEquals("value-1", tx.get(readerMap, 1L));
+            assertNull(tx.get(readerMap, 5000L));
+        }
+        assertEquals(501, readerMap.size());
+        assertEquals("after", readerMap.get(5000L));
+    }
+
+    // ==================== 회수 ====================
+
+    @Test
+    public void compaction_shouldWaitForReaderOfOlderEpoch() {
+        writer = FxStoreImpl.open(storeFile.toPath(), StoreTestSupport.compactingOptions().build());
+        NavigableMap<Long, String> map = writer.createMap("map", Long.class, String.class);
+        for (long k = 0; k < 3000; k++) {
+            map.put(k, "v" + k);
+        }
+        for (long k = 0; k < 3000; k += 2) {
+            map.remove(k);
+        }
+        reader = FxStoreImpl.openShared(storeFile.toPath(), StoreTestSupport.compactingOptions().build());
+        TreeMap<Long, String> expected = new TreeMap<>(map);
+        long sizeBefore = storeFile.length();
+
+        // 읽기 프로세스가 갱신하지 않으면 세대만 올리고 빈 페이지는 등록하지 않음
+        for (int i = 0; i < 50; i++) {
+            assertTrue(writer.compactStep(64));
+        }
+        assertEquals(1L, ((FxStoreImpl) writer).getCurrentCommitHeader().getReclaimEpoch());
+        assertEquals(expected, new TreeMap<>(reader.openMap("map", Long.class, String.class)));
+
+        // 갱신하면 이전 세대 임대를 놓으므로 주기가 끝까지 진행
+        boolean running = true;
+        for (int i = 0; i < 500 && running; i++) {
+            reader.refresh();
+            running = writer.compactStep(64);
+        }
+        assertFalse("compaction did not finish", running);
+        assertTrue(storeFile.length() < sizeBefore);
+        reader.refresh();
+        assertReaderMatches(reader);
+        VerifyResult result = reader.verify(VerifyMode.DEEP);
+        assertTrue(result.errors().toString(), result.ok());
+    }
+
+    // ==================== 잠금 ====================
+
+    @Test
+    public void locks_sharedReaders_shouldCoexistWithWriterOnly() {
+        openWriter();
+        reader = FxStoreImpl.openShared(storeFile.toPath(), options().build());
+        otherReader = FxStoreImpl.openShared(storeFile.toPath(), options().build());
+
+        try (FxStore second = FxStoreImpl.open(storeFile.toPath(), options().build())) {
+            fail("second writer must not open");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.LOCK_FAILED, e.getCode());
+        }
+        // 읽기 전용 PROCESS 잠금은 작성자를 배제하므로 함께 열리지 않음
+        try (FileStorage exclusiveReader = new FileStorage(storeFile.toPath(), true, FileLockMode.PROCESS)) {
+            fail("read-only PROCESS lock must conflict with the writer");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.LOCK_FAILED, e.getCode());
+        }
+        reader.refresh();
+        assertEquals(writerSeqNo(), reader.refreshedSeqNo());
+    }
+
+    // ==================== 거부 ====================
+
+    @Test
+    public void sharedReader_writes_shouldBeUnsupported() {
+        openWriter();
+        populate(0);
+        reader = FxStoreImpl.openShared(storeFile.toPath(), options().build());
+        NavigableMap<Long, String> map = reader.openMap("map", Long.class, String.class);
+
+        assertUnsupported(() -> reader.createMap("other", Long.class, String.class));
+        assertUnsupported(() -> map.put(1L, "x"));
+        assertUnsupported(() -> reader.openDeque("ring", String.class).addLast("x"));
+        assertUnsupported(() -> reader.drop("map"));
+        assertUnsupported(() -> reader.commit());
+        assertUnsupported(() -> reader.compactStep(16));
+        assertReaderMatches(reader);
+    }
+
+    @Test
+    public void openShared_missingFile_shouldThrowNotFound() {
+        try {
+            FxStoreImpl.openShared(storeFile.toPath(), options().build());
+            fail("expected FxException");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.NOT_FOUND, e.getCode());
+        }
+    }
+
+    @Test
+    public void refresh_onWriter_shouldThrowIllegalState() {
+        openWriter();
+        try {
+            ((FxStoreImpl) writer).refresh();
+            fail("expected FxException");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.ILLEGAL_STATE, e.getCode());
+        }
+    }
+
+    private static void assertUnsupported(Runnable action) {
+        try {
+            action.run();
+            fail("expected UNSUPPORTED");
+        } catch (FxException e) {
+            assertEquals(FxErrorCode.UNSUPPORTED, e.getCode());
+        }
+    }
+}
@@ -265,4 +265,26 @@ public class FxStoreStatsModeTest {
         assertTrue("liveBytes should be positive", deepStats.liveBytesEstimate() > 0);
         assertEquals("Should have 1 collection", 1, deepStats.collectionCount());
     }
+
+    @Test
+    public void stats_fastMode_segmentRingDeque_shouldFollowCommittedAllocTail() {
+        // Given: 세그먼트 링 Deque 연산만으로 페이지 할당
+        store.close();
+        storeFile.delete();
+        store = FxStoreImpl.open(storeFile.toPath(), FxOptions.defaults().withSegmentRingDeques(true).build());
+        Deque<Long> deque = store.createDeque("ring", Long.class);
+        for (long i = 0; i < 5000; i++) {
+            deque.addLast(i);
+        }
+
+        // When: stats(FAST) 호출
+        Stats stats = store.stats(StatsMode.FAST);
+
+        // Then: 스냅샷 allocTail이 커밋된 값과 같고 dead 바이트가 음수가 아님
+        FxStoreImpl impl = (FxStoreImpl) store;
+        long allocTail = impl.getCurrentCommitHeader().getAllocTail();
+        assertEquals(allocTail, impl.snapshot().getAllocTail());
+        assertEquals(allocTail, stats.liveBytesEstimate() + stats.deadBytesEstimate());
+        assertTrue(stats.deadBytesEstimate() >= 0);
+    }
 }
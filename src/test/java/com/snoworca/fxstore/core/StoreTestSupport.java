@@ -0,0 +1,63 @@
+package com.snoworca.fxstore.core;
+
+import com.snoworca.fxstore.api.FxOptions;
+import org.junit.rules.TemporaryFolder;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * 파일 Store 통합 테스트 공용 준비
+ *
+ * <p>live 페이지 집계, DEEP 검증, 백업, 복제, 고정 파일 테스트가 함께 씁니다.</p>
+ */
+final class StoreTestSupport {
+
+    private StoreTestSupport() {
+        // 유틸리티 클래스 - 인스턴스 생성 방지
+    }
+
+    /**
+     * 온라인 컴팩션을 바로 진행하는 옵션
+     *
+     * <p>보존 시간 0, dead 비율 기준 0.3, 인라인 List, 세그먼트 링 Deque.</p>
+     */
+    static FxOptions.Builder compactingOptions() {
+        return FxOptions.defaults()
+            .withCompactionRetentionMillis(0)
+            .compactionDeadRatio(0.3)
+            .inlineListElements(true)
+            .segmentRingDeques(true);
+    }
+
+    /**
+     * 여러 페이지에 걸치는 값 (9000자 이상)
+     */
+    static String big(int i) {
+        StringBuilder sb = new StringBuilder("big-").append(i).append('-');
+        while (sb.length() < 9000) {
+            sb.append("0123456789");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 임시 폴더 안의 아직 없는 파일 (Store가 새로 만듦)
+     */
+    static File newStoreFile(TemporaryFolder folder, String name) throws IOException {
+        File file = folder.newFile(name);
+        file.delete();
+        return file;
+    }
+
+    /**
+     * 예외를 무시하고 닫기 (null 건너뜀)
+     */
+    static void closeQuietly(AutoCloseable... closeables) {
+        for (AutoCloseable closeable : closeables) {
+            if (closeable != null) {
+                try { closeable.close(); } catch (Exception e) { /* ignore */ }
+            }
+        }
+    }
+}
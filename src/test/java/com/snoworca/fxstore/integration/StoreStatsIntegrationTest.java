@@ -22,7 +22,7 @@ import static org.junit.Assert.*;
  * <p>StatsMode.DEEP 모드는 countTreeBytes를 호출하여 실제 라이브 바이트를 계산합니다.</p>
  *
  * @see com.snoworca.fxstore.core.FxStoreImpl#stats(StatsMode)
- * @see com.snoworca.fxstore.core.FxStoreImpl#countTreeBytes(long)
+ * @see com.snoworca.fxstore.core.FxStoreImpl#stats(com.snoworca.fxstore.api.StatsMode)
  */
 public class StoreStatsIntegrationTest {
 
@@ -6,6 +6,11 @@ import com.snoworca.fxstore.storage.Storage;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.Assert.*;
 
 /**
@@ -396,4 +401,437 @@ public class OSTStatelessApiTest {
             assertEquals(1000L + i, ost.getWithRoot(rootPageId, i));
         }
     }
+    // ==================== 병합/재분배 테스트 ====================
+
+    @Test
+    public void removeWithRoot_fromFront_shouldCollapseRoot() {
+        // Given: 여러 레벨의 트리
+        long root = 0L;
+        for (int i = 0; i < 1000; i++) {
+            root = ost.insertWithRoot(root, i, 1000L + i).newRootPageId;
+        }
+        assertFalse(isLeafPage(root));
+
+        // When: 앞에서부터 대부분 삭제
+        for (int i = 0; i < 990; i++) {
+            OST.StatelessRemoveResult result = ost.removeWithRoot(root, 0);
+            assertEquals(1000L + i, result.removedRecordId);
+            root = result.newRootPageId;
+        }
+
+        // Then: 루트가 단일 리프로 축소
+        assertTrue("Root should collapse to a leaf", isLeafPage(root));
+        assertEquals(10, ost.sizeWithRoot(root));
+        for (int i = 0; i < 10; i++) {
+            assertEquals(1990L + i, ost.getWithRoot(root, i));
+        }
+    }
+
+    @Test
+    public void removeWithRoot_queuePattern_shouldKeepLeavesDense() {
+        // Given: 뒤에 추가, 앞에서 삭제 (큐 패턴)
+        int window = 300;
+        long root = 0L;
+        int maxLeaves = 0;
+
+        for (int i = 0; i < 5000; i++) {
+            int size = ost.sizeWithRoot(root);
+            root = ost.insertWithRoot(root, size, i).newRootPageId;
+            if (i >= window) {
+                OST.StatelessRemoveResult result = ost.removeWithRoot(root, 0);
+                assertEquals(i - window, result.removedRecordId);
+                root = result.newRootPageId;
+            }
+            maxLeaves = Math.max(maxLeaves, leafCount(root));
+        }
+
+        // Then: 리프 수가 윈도우 크기에 비례해 유지됨
+        assertTrue("Leaf count should stay bounded: " + maxLeaves, maxLeaves <= window / 25 + 1);
+        assertEquals(window, ost.sizeWithRoot(root));
+        for (int i = 0; i < window; i++) {
+            assertEquals(5000L - window + i, ost.getWithRoot(root, i));
+        }
+    }
+
+    @Test
+    public void removeWithRoot_alternating_shouldKeepCountsConsistent() {
+        // Given
+        long root = 0L;
+        java.util.List<Long> expected = new java.util.ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            root = ost.insertWithRoot(root, i, i).newRootPageId;
+            expected.add((long) i);
+        }
+
+        // When: 홀수 위치 원소 반복 삭제
+        for (int i = 1; i < expected.size(); i++) {
+            OST.StatelessRemoveResult result = ost.removeWithRoot(root, i);
+            assertEquals((long) expected.remove(i), result.removedRecordId);
+            root = result.newRootPageId;
+        }
+
+        // Then: INV-7 (subtreeCount 합) 및 순서 유지
+        assertEquals(expected.size(), ost.sizeWithRoot(root));
+        assertEquals(expected.size(), countElements(root));
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals((long) expected.get(i), ost.getWithRoot(root, i));
+        }
+    }
+
+    // ==================== cursorWithRoot 테스트 ====================
+
+    @Test
+    public void cursorWithRoot_forwardAndBackward_shouldVisitAllInOrder() {
+        // Given: 3레벨 이상 트리
+        long root = 0L;
+        int n = 20000;
+        for (int i = 0; i < n; i++) {
+            root = ost.insertWithRoot(root, i, i).newRootPageId;
+        }
+
+        // When/Then: 순방향
+        OSTCursor cursor = ost.cursorWithRoot(root, 0);
+        for (int i = 0; i < n; i++) {
+            assertEquals(i, cursor.nextIndex());
+            assertEquals(i, cursor.next());
+        }
+        assertFalse(cursor.hasNext());
+
+        // 역방향 (끝에서 처음까지)
+        for (int i = n - 1; i >= 0; i--) {
+            assertEquals(i, cursor.previous());
+        }
+        assertFalse(cursor.hasPrevious());
+    }
+
+    @Test
+    public void cursorWithRoot_startInMiddle_shouldMoveBothWays() {
+        long root = 0L;
+        for (int i = 0; i < 1000; i++) {
+            root = ost.insertWithRoot(root, i, i).newRootPageId;
+        }
+
+        OSTCursor cursor = ost.cursorWithRoot(root, 500);
+        assertEquals(499, cursor.previous());
+        assertEquals(499, cursor.next());
+        assertEquals(500, cursor.next());
+        // 리프 경계를 넘나드는 방향 전환
+        for (int i = 0; i < 150; i++) {
+            cursor.next();
+        }
+        for (int i = 0; i < 300; i++) {
+            cursor.previous();
+        }
+        assertEquals(351, cursor.nextIndex());
+        assertEquals(351, cursor.next());
+    }
+
+    @Test
+    public void cursorWithRoot_atEnd_shouldOnlyGoBackward() {
+        long root = 0L;
+        for (int i = 0; i < 300; i++) {
+            root = ost.insertWithRoot(root, i, i).newRootPageId;
+        }
+
+        OSTCursor cursor = ost.cursorWithRoot(root, 300);
+        assertFalse(cursor.hasNext());
+        assertEquals(299, cursor.previous());
+    }
+
+    @Test
+    public void cursorWithRoot_pinnedRoot_shouldIgnoreLaterChanges() {
+        long root = 0L;
+        for (int i = 0; i < 500; i++) {
+            root = ost.insertWithRoot(root, i, i).newRootPageId;
+        }
+        OSTCursor cursor = ost.cursorWithRoot(root, 0);
+
+        // 커서 생성 후 변경 (COW)
+        long newRoot = root;
+        for (int i = 0; i < 200; i++) {
+            newRoot = ost.removeWithRoot(newRoot, 0).newRootPageId;
+        }
+
+        for (int i = 0; i < 500; i++) {
+            assertEquals(i, cursor.next());
+        }
+        assertEquals(500, cursor.size());
+    }
+
+    @Test
+    public void cursorWithRoot_emptyTree_shouldHaveNoElements() {
+        OSTCursor cursor = ost.cursorWithRoot(0L, 0);
+        assertFalse(cursor.hasNext());
+        assertFalse(cursor.hasPrevious());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void cursorWithRoot_indexOutOfRange_shouldThrow() {
+        long root = ost.insertWithRoot(0L, 0, 1L).newRootPageId;
+        ost.cursorWithRoot(root, 2);
+    }
+
+    // ==================== appendWithRoot 테스트 ====================
+
+    @Test
+    public void appendWithRoot_sequential_shouldKeepLeavesFull() {
+        long root = 0L;
+        for (int i = 0; i < 20_000; i++) {
+            root = ost.appendWithRoot(root, i).newRootPageId;
+        }
+
+        assertEquals(20_000, countElements(root));
+        assertEquals(200, leafCount(root)); // 반 분할 없이 꽉 채움
+        assertContents(root, toList(sequence(0, 20_000)));
+    }
+
+    @Test
+    public void appendWithRoot_cachedPath_shouldNotReadPages() {
+        final int[] reads = {0};
+        storage = new MemoryStorage() {
+            @Override
+            public void read(long offset, byte[] buffer, int bufOffset, int length) {
+                reads[0]++;
+                super.read(offset, buffer, bufOffset, length);
+            }
+        };
+        ost = OST.createEmpty(storage, allocator, PAGE_SIZE);
+
+        long root = 0L;
+        for (int i = 0; i < 15_000; i++) {
+            root = ost.appendWithRoot(root, i).newRootPageId;
+        }
+
+        assertEquals(0, reads[0]);
+        assertEquals(15_000, ost.sizeWithRoot(root));
+    }
+
+    @Test
+    public void appendWithRoot_afterOtherChanges_shouldMatchModel() {
+        long root = 0L;
+        List<Long> model = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            root = ost.appendWithRoot(root, i).newRootPageId;
+            model.add((long) i);
+        }
+        // 캐시와 다른 root: 중간 삽입/삭제 후 append
+        root = ost.insertWithRoot(root, 250, 9999L).newRootPageId;
+        model.add(250, 9999L);
+        root = ost.removeWithRoot(root, model.size() - 1).newRootPageId;
+        model.remove(model.size() - 1);
+        long branchRoot = root;
+        for (int i = 0; i < 300; i++) {
+            root = ost.appendWithRoot(root, 10_000 + i).newRootPageId;
+            model.add(10_000L + i);
+        }
+        assertContents(root, model);
+        assertEquals(model.size(), countElements(root));
+
+        // COW: 과거 root에서 분기해도 기존 트리 유지
+        long other = ost.appendWithRoot(branchRoot, 42L).newRootPageId;
+        assertEquals(model.size() - 300 + 1, ost.sizeWithRoot(other));
+        assertEquals(42L, ost.getWithRoot(other, model.size() - 300));
+        assertContents(root, model);
+    }
+
+    // ==================== insertAllWithRoot / removeRangeWithRoot 테스트 ====================
+
+    @Test
+    public void insertAllWithRoot_emptyTree_shouldBuildPackedLeaves() {
+        long[] ids = sequence(0, 10_000);
+
+        long root = ost.insertAllWithRoot(0L, 0, ids).newRootPageId;
+
+        assertEquals(10_000, countElements(root));
+        assertEquals(100, leafCount(root)); // 리프당 100개로 꽉 채움
+        assertContents(root, toList(ids));
+    }
+
+    @Test
+    public void insertAllWithRoot_middle_shouldMatchModel() {
+        long root = 0L;
+        List<Long> model = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            root = ost.insertWithRoot(root, i, i).newRootPageId;
+            model.add((long) i);
+        }
+
+        long[] batch = sequence(100_000, 100_000 + 5000);
+        long newRoot = ost.insertAllWithRoot(root, 333, batch).newRootPageId;
+        model.addAll(333, toList(batch));
+
+        assertEquals(6000, countElements(newRoot));
+        assertContents(newRoot, model);
+        assertMinFill(newRoot, true);
+        // COW: 기존 root 유지
+        assertEquals(1000, ost.sizeWithRoot(root));
+        assertEquals(333L, ost.getWithRoot(root, 333));
+    }
+
+    @Test
+    public void insertAllWithRoot_atEnds_shouldMatchModel() {
+        long root = ost.insertAllWithRoot(0L, 0, sequence(0, 250)).newRootPageId;
+        List<Long> model = toList(sequence(0, 250));
+
+        root = ost.insertAllWithRoot(root, 0, sequence(1000, 1003)).newRootPageId;
+        model.addAll(0, toList(sequence(1000, 1003)));
+        root = ost.insertAllWithRoot(root, model.size(), sequence(2000, 2777)).newRootPageId;
+        model.addAll(toList(sequence(2000, 2777)));
+
+        assertContents(root, model);
+        assertEquals(model.size(), countElements(root));
+    }
+
+    @Test
+    public void insertAllWithRoot_emptyBatch_shouldKeepRoot() {
+        long root = ost.insertWithRoot(0L, 0, 7L).newRootPageId;
+        assertEquals(root, ost.insertAllWithRoot(root, 1, new long[0]).newRootPageId);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void insertAllWithRoot_indexOutOfRange_shouldThrow() {
+        long root = ost.insertWithRoot(0L, 0, 7L).newRootPageId;
+        ost.insertAllWithRoot(root, 2, new long[]{1L});
+    }
+
+    @Test
+    public void removeRangeWithRoot_randomRanges_shouldMatchModel() {
+        Random random = new Random(42);
+        long root = 0L;
+        List<Long> model = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            root = ost.insertWithRoot(root, i, i).newRootPageId;
+            model.add((long) i);
+        }
+
+        while (model.size() > 0) {
+            int from = random.nextInt(model.size());
+            int to = from + random.nextInt(Math.min(model.size() - from, 3000) + 1);
+            root = ost.removeRangeWithRoot(root, from, to);
+            model.subList(from, to).clear();
+
+            assertEquals(model.size(), ost.sizeWithRoot(root));
+            if (root != 0L) {
+                assertEquals(model.size(), countElements(root));
+                assertMinFill(root, true);
+            }
+        }
+        assertEquals(0L, root);
+    }
+
+    @Test
+    public void removeRangeWithRoot_shouldKeepOldRootIntact() {
+        long root = ost.insertAllWithRoot(0L, 0, sequence(0, 5000)).newRootPageId;
+
+        long newRoot = ost.removeRangeWithRoot(root, 100, 4900);
+
+        assertContents(newRoot, toList(concat(sequence(0, 100), sequence(4900, 5000))));
+        assertContents(root, toList(sequence(0, 5000)));
+    }
+
+    @Test
+    public void removeRangeWithRoot_fullOrEmptyRange() {
+        long root = ost.insertAllWithRoot(0L, 0, sequence(0, 300)).newRootPageId;
+        assertEquals(root, ost.removeRangeWithRoot(root, 10, 10));
+        assertEquals(0L, ost.removeRangeWithRoot(root, 0, 300));
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void removeRangeWithRoot_invalidRange_shouldThrow() {
+        long root = ost.insertAllWithRoot(0L, 0, sequence(0, 10)).newRootPageId;
+        ost.removeRangeWithRoot(root, 5, 11);
+    }
+
+    private static long[] sequence(long from, long to) {
+        long[] ids = new long[(int) (to - from)];
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = from + i;
+        }
+        return ids;
+    }
+
+    private static long[] concat(long[] a, long[] b) {
+        long[] result = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, result, a.length, b.length);
+        return result;
+    }
+
+    private static List<Long> toList(long[] ids) {
+        List<Long> list = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            list.add(id);
+        }
+        return list;
+    }
+
+    private void assertContents(long root, List<Long> expected) {
+        OSTCursor cursor = ost.cursorWithRoot(root, 0);
+        assertEquals(expected.size(), cursor.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals("index " + i, (long) expected.get(i), cursor.next());
+        }
+    }
+
+    /**
+     * 루트가 아닌 노드가 최소 채움(최대치의 1/4) 이상인지 검증
+     */
+    private void assertMinFill(long pageId, boolean isRoot) {
+        byte[] page = readPage(pageId);
+        if (page[0] == 1) {
+            if (!isRoot) {
+                assertTrue("leaf underflow", OSTLeaf.fromPage(page).subtreeCount() >= 25);
+            }
+            return;
+        }
+        OSTInternal internal = OSTInternal.fromPage(page);
+        if (!isRoot) {
+            assertTrue("internal underflow", internal.getChildCount() >= 32);
+        } else {
+            assertTrue("root with single child", internal.getChildCount() >= 2);
+        }
+        for (int i = 0; i < internal.getChildCount(); i++) {
+            assertMinFill(internal.getChildPageId(i), false);
+        }
+    }
+
+    private byte[] readPage(long pageId) {
+        byte[] page = new byte[PAGE_SIZE];
+        storage.read(pageId, page, 0, PAGE_SIZE);
+        return page;
+    }
+
+    private boolean isLeafPage(long pageId) {
+        return readPage(pageId)[0] == 1;
+    }
+
+    private int leafCount(long pageId) {
+        if (pageId == 0L) {
+            return 0;
+        }
+        byte[] page = readPage(pageId);
+        if (page[0] == 1) {
+            return 1;
+        }
+        OSTInternal internal = OSTInternal.fromPage(page);
+        int count = 0;
+        for (int i = 0; i < internal.getChildCount(); i++) {
+            count += leafCount(internal.getChildPageId(i));
+        }
+        return count;
+    }
+
+    private int countElements(long pageId) {
+        byte[] page = readPage(pageId);
+        if (page[0] == 1) {
+            return OSTLeaf.fromPage(page).subtreeCount();
+        }
+        OSTInternal internal = OSTInternal.fromPage(page);
+        int count = 0;
+        for (int i = 0; i < internal.getChildCount(); i++) {
+            int child = countElements(internal.getChildPageId(i));
+            assertEquals(internal.getSubtreeCount(i), child);
+            count += child;
+        }
+        return count;
+    }
 }
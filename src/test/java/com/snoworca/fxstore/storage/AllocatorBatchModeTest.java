@@ -477,4 +477,81 @@ public class AllocatorBatchModeTest {
         allocator.rollbackPending();
         assertEquals(INITIAL_TAIL, allocator.getAllocTail());
     }
+
+    // ==================== 빈 페이지 재사용 테스트 (v0.10) ====================
+
+    @Test
+    public void installFreePages_shouldReuseInAscendingOrderThenAppend() {
+        long gen = allocator.getReuseGeneration();
+        allocator.installFreePages(new long[]{3, 5});
+
+        assertEquals(gen + 1, allocator.getReuseGeneration());
+        assertEquals(2, allocator.getFreePageCount());
+        assertEquals(3L * PAGE_SIZE_4K, allocator.allocatePage());
+        assertEquals(5L * PAGE_SIZE_4K, allocator.allocatePage());
+        assertEquals(0L, allocator.getAppendedPageCount());
+        assertEquals(INITIAL_TAIL, allocator.getAllocTail());
+
+        // 빈 페이지 소진 후 덧붙이기
+        assertEquals(INITIAL_TAIL, allocator.allocatePage());
+        assertEquals(1L, allocator.getAppendedPageCount());
+    }
+
+    @Test
+    public void allocatePages_shouldAppendContiguousPagesIgnoringFreePages() {
+        allocator.installFreePages(new long[]{3});
+
+        long offset = allocator.allocatePages(3);
+
+        assertEquals(INITIAL_TAIL, offset);
+        assertEquals(INITIAL_TAIL + 3L * PAGE_SIZE_4K, allocator.getAllocTail());
+        assertEquals(3L, allocator.getAppendedPageCount());
+        assertEquals(1, allocator.getFreePageCount());
+    }
+
+    @Test
+    public void rewindTail_shouldLowerTailAndDropFreePagesAbove() {
+        for (int i = 0; i < 10; i++) {
+            allocator.allocatePage();
+        }
+        allocator.installFreePages(new long[]{4, 6, 9, 11});
+
+        allocator.rewindTail(8L * PAGE_SIZE_4K);
+
+        assertEquals(8L * PAGE_SIZE_4K, allocator.getAllocTail());
+        assertEquals(8L * PAGE_SIZE_4K, allocator.getCommittedAllocTail());
+        assertEquals(2, allocator.getFreePageCount());
+        assertEquals(4L * PAGE_SIZE_4K, allocator.allocatePage());
+        assertEquals(6L * PAGE_SIZE_4K, allocator.allocatePage());
+        assertEquals(8L * PAGE_SIZE_4K, allocator.allocatePage());
+    }
+
+    @Test
+    public void reclaimPages_shouldRewindTrailingRunAndReuseTheRest() {
+        for (int i = 0; i < 10; i++) {
+            allocator.allocatePage();
+        }
+        // 현재 tail은 페이지 13, 11/12는 tail 앞에 이어진 구간
+        allocator.reclaimPages(new long[]{5, 7, 11, 12});
+
+        assertEquals(11L * PAGE_SIZE_4K, allocator.getAllocTail());
+        assertEquals(2, allocator.getFreePageCount());
+        assertEquals(5L * PAGE_SIZE_4K, allocator.allocatePage());
+        assertEquals(7L * PAGE_SIZE_4K, allocator.allocatePage());
+        assertEquals(11L * PAGE_SIZE_4K, allocator.allocatePage());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void rewindTail_aboveCurrentTail_shouldThrow() {
+        allocator.rewindTail(INITIAL_TAIL + PAGE_SIZE_4K);
+    }
+
+    @Test
+    public void clearFreePages_shouldFallBackToAppend() {
+        allocator.installFreePages(new long[]{3});
+        allocator.clearFreePages();
+
+        assertEquals(0, allocator.getFreePageCount());
+        assertEquals(INITIAL_TAIL, allocator.allocatePage());
+    }
 }
@@ -0,0 +1,76 @@
+package com.snoworca.fxstore.storage;
+
+import org.junit.Test;
+
+import static org.junit.Assert.*;
+
+/**
+ * ExtentAllocator 테스트 (병렬 컴팩션 구간 할당)
+ *
+ * @since 0.10
+ */
+public class ExtentAllocatorTest {
+
+    private static final int PAGE = 4096;
+
+    @Test
+    public void allocatePage_shouldHandOutReservedExtentInOrder() {
+        Allocator parent = new Allocator(PAGE, 3L * PAGE);
+        ExtentAllocator.Pool pool = new ExtentAllocator.Pool(parent, 8);
+        ExtentAllocator a = pool.newAllocator();
+        ExtentAllocator b = pool.newAllocator();
+
+        assertEquals(3L * PAGE, a.allocatePages(1));
+        assertEquals(11L * PAGE, b.allocatePages(1));
+        assertEquals(4L * PAGE, a.allocatePages(1));
+        assertEquals(19L * PAGE, parent.getAllocTail());
+    }
+
+    @Test
+    public void allocatePages_largerThanExtent_shouldReserveSeparately() {
+        Allocator parent = new Allocator(PAGE, 0L);
+        ExtentAllocator.Pool pool = new ExtentAllocator.Pool(parent, 4);
+        ExtentAllocator a = pool.newAllocator();
+
+        assertEquals(0L, a.allocatePages(1));
+        assertEquals(4L * PAGE, a.allocatePages(6));
+        // 현재 구간은 그대로 이어서 사용
+        assertEquals(1L * PAGE, a.allocatePages(1));
+        assertEquals(10L * PAGE, parent.getAllocTail());
+    }
+
+    @Test
+    public void release_shouldReturnRemainderToNextAllocator() {
+        Allocator parent = new Allocator(PAGE, 0L);
+        ExtentAllocator.Pool pool = new ExtentAllocator.Pool(parent, 8);
+        ExtentAllocator a = pool.newAllocator();
+        a.allocatePages(3);
+        a.release();
+
+        ExtentAllocator b = pool.newAllocator();
+        assertEquals(3L * PAGE, b.allocatePages(2));
+        b.release();
+        assertEquals(8L * PAGE, parent.getAllocTail());
+
+        assertArrayEquals(new long[] {5, 6, 7}, pool.drainSparePages());
+        assertEquals(0, pool.drainSparePages().length);
+    }
+
+    @Test
+    public void drainedSparePages_shouldBeReclaimedByParent() {
+        Allocator parent = new Allocator(PAGE, 0L);
+        ExtentAllocator.Pool pool = new ExtentAllocator.Pool(parent, 4);
+        ExtentAllocator a = pool.newAllocator();
+        ExtentAllocator b = pool.newAllocator();
+        a.allocatePages(1);
+        b.allocatePages(3);
+        a.release();
+        b.release();
+
+        // a의 남은 1~3은 빈 페이지로, 파일 끝에 이어진 b의 7은 allocTail 회수
+        parent.reclaimPages(pool.drainSparePages());
+        assertEquals(7L * PAGE, parent.getAllocTail());
+        assertEquals(3, parent.getFreePageCount());
+        assertEquals(0L, a.getReuseGeneration());
+    }
+}
@@ -339,4 +339,49 @@ public class ByteUtilsTest {
         assertEquals(0x12345678, ByteUtils.readI32LE(data, 4));
         assertEquals(0x123456789ABCDEF0L, ByteUtils.readI64LE(data, 8));
     }
+
+    // ==================== Unsigned Comparison ====================
+
+    @Test
+    public void testCompareUnsigned_MatchesBytewiseOrder() {
+        java.util.Random random = new java.util.Random(7);
+        for (int n = 0; n < 2000; n++) {
+            byte[] a = new byte[random.nextInt(24)];
+            byte[] b = new byte[random.nextInt(24)];
+            random.nextBytes(a);
+            random.nextBytes(b);
+            // 공통 접두사를 만들어 워드 경계 이후 차이도 검증
+            int shared = Math.min(random.nextInt(20), Math.min(a.length, b.length));
+            System.arraycopy(a, 0, b, 0, shared);
+            assertEquals(Integer.signum(bytewise(a, b)), Integer.signum(ByteUtils.compareUnsigned(a, b)));
+        }
+    }
+
+    @Test
+    public void testCompareUnsigned_HighBitIsUnsigned() {
+        byte[] low = {0, 0, 0, 0, 0, 0, 0, 0x7F, 1};
+        byte[] high = {0, 0, 0, 0, 0, 0, 0, (byte) 0x80, 0};
+        assertTrue(ByteUtils.compareUnsigned(low, high) < 0);
+        assertTrue(ByteUtils.compareUnsigned(high, low) > 0);
+    }
+
+    @Test
+    public void testCompareUnsigned_PrefixAndRanges() {
+        byte[] data = "xxabcdefghijklmnopyy".getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+        byte[] key = "abcdefghijklmnop".getBytes(java.nio.charset.StandardCharsets.US_ASCII);
+        assertEquals(0, ByteUtils.compareUnsigned(data, 2, 16, key, 0, 16));
+        assertTrue(ByteUtils.compareUnsigned(data, 2, 15, key, 0, 16) < 0);
+        assertTrue(ByteUtils.compareUnsigned(data, 2, 17, key, 0, 16) > 0);
+    }
+
+    private static int bytewise(byte[] a, byte[] b) {
+        int minLen = Math.min(a.length, b.length);
+        for (int i = 0; i < minLen; i++) {
+            int cmp = (a[i] & 0xFF) - (b[i] & 0xFF);
+            if (cmp != 0) {
+                return cmp;
+            }
+        }
+        return a.length - b.length;
+    }
 }